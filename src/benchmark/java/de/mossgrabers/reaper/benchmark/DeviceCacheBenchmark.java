@@ -0,0 +1,303 @@
+// Written by Jürgen Moßgraber - mossgrabers.de
+// (c) 2017-2026
+// Licensed under LGPLv3 - http://www.gnu.org/licenses/lgpl-3.0.txt
+
+package de.mossgrabers.reaper.benchmark;
+
+import de.mossgrabers.framework.utils.LatencyHistogram;
+import de.mossgrabers.framework.utils.Pair;
+import de.mossgrabers.reaper.framework.IniFiles;
+import de.mossgrabers.reaper.framework.daw.data.parameter.map.ParameterMap;
+import de.mossgrabers.reaper.framework.daw.data.parameter.map.ParameterMapPage;
+import de.mossgrabers.reaper.framework.daw.data.parameter.map.ParameterMapPageParameter;
+import de.mossgrabers.reaper.framework.device.DeviceCatalogCache;
+import de.mossgrabers.reaper.framework.device.DeviceCollection;
+import de.mossgrabers.reaper.framework.device.DeviceManager;
+import de.mossgrabers.reaper.framework.device.DeviceMetadataImpl;
+import de.mossgrabers.reaper.ui.utils.LogModel;
+
+import java.io.IOException;
+import java.lang.reflect.Constructor;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+
+/**
+ * Measures the start of the device manager with generated INI files: a cold start parses the FX
+ * tags, FX folders and parameter map INI files and writes the device cache, a warm start reads the
+ * information from the cache. Both must produce identical categories, vendors, collections and
+ * parameter maps. Each start uses a new device manager to which the same plugin list is reported.
+ * Run it with 'gradlew deviceCacheBenchmark -PbenchmarkArgs="..."'. The options are:
+ *
+ * <pre>
+ * --plugins NUMBER       The number of plugins, default 20000
+ * --maps NUMBER          The number of parameter maps, default 500
+ * --items NUMBER         The number of folder items, default 200
+ * --runs NUMBER          The number of measured cold and warm starts, default 10
+ * --warmup NUMBER        The number of cold and warm starts before the measurement, default 3
+ * </pre>
+ *
+ * @author Jürgen Moßgraber
+ */
+public class DeviceCacheBenchmark
+{
+    private static final String []           VENDORS    =
+    {
+        "u-he",
+        "Native Instruments",
+        "FabFilter",
+        "Arturia",
+        "Valhalla DSP",
+        "Cockos"
+    };
+    private static final String []           CATEGORIES =
+    {
+        "Synth",
+        "Delay",
+        "Reverb",
+        "EQ",
+        "Dynamics",
+        "MIDI",
+        "Utility",
+        "Pitch Shift"
+    };
+
+    private final Path                       folder;
+    private final List<String []>            plugins   = new ArrayList<> ();
+    private final LogModel                   logModel  = new LogModel ();
+    private final LatencyHistogram           coldTimes = new LatencyHistogram ();
+    private final LatencyHistogram           warmTimes = new LatencyHistogram ();
+    private final Constructor<DeviceManager> constructor;
+
+
+    /**
+     * Start the benchmark.
+     *
+     * @param args The options, see the class description
+     */
+    public static void main (final String [] args)
+    {
+        int plugins = 20000;
+        int maps = 500;
+        int items = 200;
+        int runs = 10;
+        int warmup = 3;
+
+        try
+        {
+            for (int i = 0; i < args.length; i++)
+            {
+                switch (args[i])
+                {
+                    case "--plugins" -> plugins = Integer.parseInt (getValue (args, ++i));
+                    case "--maps" -> maps = Integer.parseInt (getValue (args, ++i));
+                    case "--items" -> items = Integer.parseInt (getValue (args, ++i));
+                    case "--runs" -> runs = Integer.parseInt (getValue (args, ++i));
+                    case "--warmup" -> warmup = Integer.parseInt (getValue (args, ++i));
+                    default -> throw new IllegalArgumentException ("Unknown option: " + args[i]);
+                }
+            }
+        }
+        catch (final IllegalArgumentException ex)
+        {
+            System.err.println (ex.getMessage ());
+            System.exit (1);
+            return;
+        }
+
+        try
+        {
+            final DeviceCacheBenchmark benchmark = new DeviceCacheBenchmark (Files.createTempDirectory ("DeviceCacheBenchmark"), plugins, maps, items);
+            if (!benchmark.run (warmup, runs))
+                System.exit (1);
+        }
+        catch (final IOException | ReflectiveOperationException ex)
+        {
+            ex.printStackTrace ();
+            System.exit (1);
+        }
+    }
+
+
+    private static String getValue (final String [] args, final int index)
+    {
+        if (index >= args.length)
+            throw new IllegalArgumentException ("Missing value for option: " + args[index - 1]);
+        return args[index];
+    }
+
+
+    /**
+     * Constructor. Generates the INI files.
+     *
+     * @param folder The folder in which to create the INI files and the cache
+     * @param numPlugins The number of plugins
+     * @param numMaps The number of parameter maps
+     * @param numItems The number of folder items
+     * @throws IOException Could not write the INI files
+     * @throws ReflectiveOperationException Could not access the constructor of the device
+     *             manager
+     */
+    private DeviceCacheBenchmark (final Path folder, final int numPlugins, final int numMaps, final int numItems) throws IOException, ReflectiveOperationException
+    {
+        this.folder = folder;
+
+        // The device manager is a singleton, a new one is required for each start
+        this.constructor = DeviceManager.class.getDeclaredConstructor ();
+        this.constructor.setAccessible (true);
+
+        final Random random = new Random (42);
+        final StringBuilder tags = new StringBuilder ("[category]\n");
+        final StringBuilder developers = new StringBuilder ("[developer]\n");
+        for (int i = 0; i < numPlugins; i++)
+        {
+            final String vendor = VENDORS[random.nextInt (VENDORS.length)];
+            final String name = "Plugin " + i;
+            final String module = "plugin_" + i + ".vst3";
+            this.plugins.add (new String []
+            {
+                "VST3" + (random.nextBoolean () ? "i" : "") + ": " + name + " (" + vendor + ")",
+                module
+            });
+            tags.append (module).append ('=').append (CATEGORIES[random.nextInt (CATEGORIES.length)]).append ('\n');
+            if (random.nextInt (4) == 0)
+                developers.append (module).append ('=').append (vendor).append ('\n');
+        }
+
+        final StringBuilder folders = new StringBuilder ("[Folders]\nNbFolders=2\nId0=0\nName0=Favourites\nId1=1\nName1=Queries\n");
+        folders.append ("[Folder0]\nNb=").append (numItems).append ('\n');
+        for (int i = 0; i < numItems; i++)
+            folders.append ("Item").append (i).append ("=C:/Program Files/VstPlugins/plugin_").append (random.nextInt (numPlugins)).append (".vst3\nType").append (i).append ("=3\n");
+        folders.append ("[Folder1]\nNb=1\nItem0=synth NOT reverb\nType0=1048576\n");
+
+        final StringBuilder parameterMaps = new StringBuilder ();
+        for (int i = 0; i < numMaps; i++)
+        {
+            parameterMaps.append ("[Plugin ").append (i).append ("]\n");
+            final int numPages = 1 + random.nextInt (4);
+            for (int p = 0; p < numPages; p++)
+            {
+                parameterMaps.append ("page").append (p).append ("=Page ").append (p + 1).append ("\nparams").append (p).append ('=');
+                for (int param = 0; param < ParameterMapPage.PARAM_COUNT; param++)
+                    parameterMaps.append (param == 0 ? "" : ",").append (random.nextInt (200)).append (",Parameter ").append (param);
+                parameterMaps.append ('\n');
+            }
+        }
+
+        Files.writeString (folder.resolve ("reaper-fxtags.ini"), tags.toString () + developers, StandardCharsets.UTF_8);
+        Files.writeString (folder.resolve ("reaper-fxfolders.ini"), folders.toString (), StandardCharsets.UTF_8);
+        Files.writeString (folder.resolve ("DrivenByMoss4Reaper-ParameterMaps.ini"), parameterMaps.toString (), StandardCharsets.UTF_8);
+    }
+
+
+    /**
+     * Run the cold and warm starts.
+     *
+     * @param warmup The number of starts before the measurement
+     * @param runs The number of measured starts
+     * @return True if all starts produced identical information
+     * @throws IOException Could not delete the cache file
+     * @throws ReflectiveOperationException Could not create a device manager
+     */
+    private boolean run (final int warmup, final int runs) throws IOException, ReflectiveOperationException
+    {
+        final Path cacheFile = this.folder.resolve (DeviceCatalogCache.FILENAME);
+        String reference = null;
+        for (int i = 0; i < warmup + runs; i++)
+        {
+            if (i == warmup)
+            {
+                this.coldTimes.reset ();
+                this.warmTimes.reset ();
+            }
+
+            Files.deleteIfExists (cacheFile);
+            final String cold = this.start (this.coldTimes);
+            if (!Files.exists (cacheFile))
+            {
+                System.err.println ("The cache file was not written.");
+                return false;
+            }
+            final String warm = this.start (this.warmTimes);
+
+            if (reference == null)
+                reference = cold;
+            if (!reference.equals (cold) || !reference.equals (warm))
+            {
+                System.err.println ("Start " + i + " produced different device information.");
+                return false;
+            }
+        }
+
+        final double cold = this.coldTimes.getStatistics ().average ();
+        final double warm = this.warmTimes.getStatistics ().average ();
+        System.out.println (String.format (Locale.US, "%d plugins, cache file %d KB", Integer.valueOf (this.plugins.size ()), Long.valueOf (Files.size (cacheFile) / 1024)));
+        System.out.println ("Cold start: " + this.coldTimes);
+        System.out.println ("Warm start: " + this.warmTimes);
+        System.out.println (String.format (Locale.US, "Speed-up: %.1f, all %d starts produced identical information", Double.valueOf (warm > 0 ? cold / warm : 0), Integer.valueOf (2 * (warmup + runs))));
+        return true;
+    }
+
+
+    /**
+     * Report the plugins to a new device manager and apply the information of the INI files.
+     *
+     * @param times Where to record the duration of applying the information
+     * @return A description of the resulting information
+     * @throws ReflectiveOperationException Could not create the device manager
+     */
+    private String start (final LatencyHistogram times) throws ReflectiveOperationException
+    {
+        final DeviceManager manager = this.constructor.newInstance ();
+        for (final String [] plugin: this.plugins)
+            manager.addDeviceInfo (plugin[0], plugin[1]);
+
+        final long start = System.nanoTime ();
+        final IniFiles iniFiles = new IniFiles ();
+        iniFiles.init (this.folder.toString (), this.logModel);
+        manager.applyDeviceInfo (iniFiles, this.logModel);
+        times.record (System.nanoTime () - start);
+
+        return describe (manager);
+    }
+
+
+    private static String describe (final DeviceManager manager)
+    {
+        final StringBuilder sb = new StringBuilder ();
+        sb.append (manager.getCategories ()).append ('\n').append (manager.getVendors ()).append ('\n');
+        for (final DeviceCollection collection: manager.getCollections ())
+        {
+            sb.append (collection.getName ());
+            for (final Pair<String, Integer> item: collection.getItems ())
+                sb.append ('|').append (item.getKey ()).append (',').append (item.getValue ());
+            sb.append ('\n');
+        }
+
+        final List<DeviceMetadataImpl> devices = new ArrayList<> (manager.getAll ());
+        devices.sort (Comparator.comparing (DeviceMetadataImpl::getModule));
+        for (final DeviceMetadataImpl device: devices)
+            sb.append (device.getModule ()).append (device.getCategories ()).append (device.getVendor ()).append (device.getType ()).append ('\n');
+
+        for (final Map.Entry<String, ParameterMap> entry: new TreeMap<> (manager.getParameterMaps ()).entrySet ())
+        {
+            sb.append (entry.getKey ());
+            for (final ParameterMapPage page: entry.getValue ().getPages ())
+            {
+                sb.append ('|').append (page.getName ());
+                for (final ParameterMapPageParameter parameter: page.getParameters ())
+                    sb.append (',').append (parameter.getIndex ()).append (parameter.getName ());
+            }
+            sb.append ('\n');
+        }
+        return sb.toString ();
+    }
+}
@@ -0,0 +1,248 @@
+// Written by Jürgen Moßgraber - mossgrabers.de
+// (c) 2017-2026
+// Licensed under LGPLv3 - http://www.gnu.org/licenses/lgpl-3.0.txt
+
+package de.mossgrabers.reaper.benchmark;
+
+import de.mossgrabers.controller.ableton.push.controller.PushDisplayEncoder;
+import de.mossgrabers.framework.controller.color.ColorEx;
+import de.mossgrabers.framework.utils.LatencyHistogram;
+import de.mossgrabers.reaper.framework.graphics.BitmapImpl;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.WritableRaster;
+import java.nio.ByteBuffer;
+import java.util.Locale;
+import java.util.Random;
+
+
+/**
+ * Compares the encoding of the Push display frames with the previous implementation: the bitmap
+ * was read pixel by pixel from the raster, converted byte by byte to 16 bit, XORed with the signal
+ * shaping pattern in a second pass and copied byte by byte into the USB memory block. For each
+ * frame a random rectangle is painted (not measured), then the frame is encoded with both
+ * implementations and the results are compared bit by bit. Run it with 'gradlew
+ * displayEncoderBenchmark -PbenchmarkArgs="..."'. The options are:
+ *
+ * <pre>
+ * --frames NUMBER        The number of measured frames, default 2000
+ * --warmup NUMBER        The number of frames before the measurement, default 500
+ * </pre>
+ *
+ * @author Jürgen Moßgraber
+ */
+public class DisplayEncoderBenchmark
+{
+    private static final int         WIDTH          = 960;
+    private static final int         HEIGHT         = 160;
+    private static final int         FRAME_SIZE     = 20 * 0x4000;
+
+    private final BitmapImpl         bitmap         = new BitmapImpl (null, WIDTH, HEIGHT);
+    private final BufferedImage      legacyImage    = new BufferedImage (WIDTH, HEIGHT, BufferedImage.TYPE_INT_ARGB);
+    private final ByteBuffer         legacyBuffer   = ByteBuffer.allocateDirect (WIDTH * HEIGHT * 4);
+    private final byte []            legacyStore    = new byte [FRAME_SIZE];
+    private final ByteBuffer         legacyBlock    = ByteBuffer.allocateDirect (FRAME_SIZE);
+    private final PushDisplayEncoder encoder        = new PushDisplayEncoder (FRAME_SIZE);
+    private final ByteBuffer         block          = ByteBuffer.allocateDirect (FRAME_SIZE);
+    private final int []             line           = new int [WIDTH];
+    private final Random             random         = new Random (42);
+
+    private final LatencyHistogram   legacyTimes    = new LatencyHistogram ();
+    private final LatencyHistogram   currentTimes   = new LatencyHistogram ();
+    private final LatencyHistogram   unchangedTimes = new LatencyHistogram ();
+
+
+    /**
+     * Start the benchmark.
+     *
+     * @param args The options, see the class description
+     */
+    public static void main (final String [] args)
+    {
+        int frames = 2000;
+        int warmup = 500;
+
+        try
+        {
+            for (int i = 0; i < args.length; i++)
+            {
+                switch (args[i])
+                {
+                    case "--frames" -> frames = Integer.parseInt (getValue (args, ++i));
+                    case "--warmup" -> warmup = Integer.parseInt (getValue (args, ++i));
+                    default -> throw new IllegalArgumentException ("Unknown option: " + args[i]);
+                }
+            }
+        }
+        catch (final IllegalArgumentException ex)
+        {
+            System.err.println (ex.getMessage ());
+            System.exit (1);
+            return;
+        }
+
+        final DisplayEncoderBenchmark benchmark = new DisplayEncoderBenchmark ();
+        if (!benchmark.run (warmup, frames))
+            System.exit (1);
+    }
+
+
+    private static String getValue (final String [] args, final int index)
+    {
+        if (index >= args.length)
+            throw new IllegalArgumentException ("Missing value for option: " + args[index - 1]);
+        return args[index];
+    }
+
+
+    /**
+     * Encode the frames.
+     *
+     * @param warmup The number of frames before the measurement
+     * @param frames The number of measured frames
+     * @return True if all frames were identical
+     */
+    private boolean run (final int warmup, final int frames)
+    {
+        for (int i = 0; i < warmup + frames; i++)
+        {
+            if (i == warmup)
+            {
+                this.legacyTimes.reset ();
+                this.currentTimes.reset ();
+                this.unchangedTimes.reset ();
+            }
+
+            this.paintFrame ();
+
+            long start = System.nanoTime ();
+            this.encodeLegacy ();
+            this.legacyTimes.record (System.nanoTime () - start);
+
+            start = System.nanoTime ();
+            this.bitmap.encode (this.encoder);
+            this.encoder.copyTo (this.block);
+            this.currentTimes.record (System.nanoTime () - start);
+
+            if (!this.legacyBlock.equals (this.block))
+            {
+                System.err.println ("Frame " + i + " differs from the previous encoding.");
+                return false;
+            }
+
+            // The same image again, only the change detection runs
+            start = System.nanoTime ();
+            this.bitmap.encode (this.encoder);
+            if (this.encoder.hasChanged ())
+                this.encoder.copyTo (this.block);
+            this.unchangedTimes.record (System.nanoTime () - start);
+        }
+
+        final double legacy = this.legacyTimes.getStatistics ().average ();
+        final double current = this.currentTimes.getStatistics ().average ();
+        System.out.println ("Previous encoding:  " + this.legacyTimes);
+        System.out.println ("Current encoding:   " + this.currentTimes);
+        System.out.println ("Unchanged frame:    " + this.unchangedTimes);
+        System.out.println (String.format (Locale.US, "Speed-up: %.1f, all %d frames are bit-exact", Double.valueOf (current > 0 ? legacy / current : 0), Integer.valueOf (frames + warmup)));
+        return true;
+    }
+
+
+    /**
+     * Paint a random rectangle into the bitmap and copy the bitmap into the image of the previous
+     * implementation.
+     */
+    private void paintFrame ()
+    {
+        final double left = this.random.nextInt (WIDTH);
+        final double top = this.random.nextInt (HEIGHT);
+        final ColorEx color = ColorEx.fromRGB (this.random.nextInt (256), this.random.nextInt (256), this.random.nextInt (256));
+        this.bitmap.render (true, gc -> gc.fillRoundedRectangle (left, top, this.random.nextInt (WIDTH / 2) + 1.0, this.random.nextInt (HEIGHT) + 1.0, 5, color));
+
+        this.bitmap.encode ( (imageBuffer, width, height) -> {
+            final ByteBuffer buffer = imageBuffer.duplicate ();
+            for (int y = 0; y < height; y++)
+            {
+                for (int x = 0; x < width; x++)
+                {
+                    final int blue = buffer.get () & 0xFF;
+                    final int green = buffer.get () & 0xFF;
+                    final int red = buffer.get () & 0xFF;
+                    buffer.get ();
+                    this.line[x] = 0xFF000000 | red << 16 | green << 8 | blue;
+                }
+                this.legacyImage.setRGB (0, y, width, 1, this.line, 0, width);
+            }
+        });
+    }
+
+
+    /**
+     * The previous implementation of BitmapImpl.encode and PushUsbDisplay.
+     */
+    private void encodeLegacy ()
+    {
+        // BitmapImpl: read the pixels from the raster
+        final WritableRaster raster = this.legacyImage.getRaster ();
+        final int [] pixel = new int [4];
+        this.legacyBuffer.clear ();
+        for (int y = 0; y < HEIGHT; y++)
+        {
+            for (int x = 0; x < WIDTH; x++)
+            {
+                raster.getPixel (x, y, pixel);
+                this.legacyBuffer.put ((byte) pixel[2]);
+                this.legacyBuffer.put ((byte) pixel[1]);
+                this.legacyBuffer.put ((byte) pixel[0]);
+                this.legacyBuffer.put ((byte) 0x00);
+            }
+        }
+        this.legacyBuffer.rewind ();
+
+        // PushUsbDisplay: convert the pixels
+        int counter = 0;
+        final int padding = (FRAME_SIZE - HEIGHT * WIDTH * 2) / HEIGHT;
+        for (int y = 0; y < HEIGHT; y++)
+        {
+            for (int x = 0; x < WIDTH; x++)
+            {
+                final int blue = this.legacyBuffer.get ();
+                final int green = this.legacyBuffer.get ();
+                final int red = this.legacyBuffer.get ();
+                this.legacyBuffer.get ();
+
+                int value = (blue & 0xF8) >> 3;
+                value <<= 6;
+                value += (green & 0xFC) >> 2;
+                value <<= 5;
+                value += (red & 0xF8) >> 3;
+
+                this.legacyStore[counter] = (byte) (value & 0x00FF);
+                this.legacyStore[counter + 1] = (byte) ((value & 0xFF00) >> 8);
+                counter += 2;
+            }
+
+            for (int x = 0; x < padding; x++)
+            {
+                this.legacyStore[counter] = (byte) 0x00;
+                counter++;
+            }
+        }
+        this.legacyBuffer.rewind ();
+
+        // Signal shaping
+        for (int pos = 0; pos < this.legacyStore.length; pos += 4)
+        {
+            this.legacyStore[pos] ^= 0xE7;
+            this.legacyStore[pos + 1] ^= 0xF3;
+            this.legacyStore[pos + 2] ^= 0xE7;
+            this.legacyStore[pos + 3] ^= 0xFF;
+        }
+
+        // Copy to the USB block
+        this.legacyBlock.clear ();
+        for (int i = 0; i < FRAME_SIZE; i++)
+            this.legacyBlock.put (this.legacyStore[i]);
+        this.legacyBlock.rewind ();
+    }
+}
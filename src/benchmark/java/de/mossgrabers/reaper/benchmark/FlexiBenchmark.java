@@ -0,0 +1,271 @@
+// Written by Jürgen Moßgraber - mossgrabers.de
+// (c) 2017-2026
+// Licensed under LGPLv3 - http://www.gnu.org/licenses/lgpl-3.0.txt
+
+package de.mossgrabers.reaper.benchmark;
+
+import de.mossgrabers.controller.generic.GenericFlexiConfiguration;
+import de.mossgrabers.controller.generic.controller.CommandCategory;
+import de.mossgrabers.controller.generic.controller.FlexiCommand;
+import de.mossgrabers.controller.generic.controller.GenericFlexiControlSurface;
+import de.mossgrabers.controller.generic.flexihandler.utils.CommandSlot;
+import de.mossgrabers.framework.controller.AbstractControlSurface;
+import de.mossgrabers.framework.controller.hardware.ChangeTracker;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.Set;
+
+
+/**
+ * Measures a Generic Flexi instance whose 300 slots are all mapped to commands which send their
+ * value. First, the slots which are found by the index for all combinations of type, number and
+ * MIDI channel are compared with a linear scan of all slots, like the lookup was implemented
+ * before, and both lookups are timed. Then, a generated stream is replayed with the
+ * ReplayBenchmark and the number of evaluated and skipped feedback passes is reported. The stream
+ * is playing and updates the VU meters and the play position with every batch. Since only the
+ * Generic Flexi is running, all passes belong to its surface. Run it with
+ * 'gradlew flexiBenchmark -PbenchmarkArgs="..."'. The options are:
+ *
+ * <pre>
+ * --lookups NUMBER       The number of timed lookups, default 1000000
+ * --duration SECONDS     The duration of the generated stream, default 60
+ * --warmup NUMBER        The number of replays before measuring, default 2
+ * --iterations NUMBER    The number of measured replays, default 5
+ * --verbose              Print all log messages
+ * </pre>
+ *
+ * @author Jürgen Moßgraber
+ */
+public class FlexiBenchmark
+{
+    private static final String               CONTROLLER = "Generic Flexi";
+    private static final Set<CommandCategory> CATEGORIES = EnumSet.of (CommandCategory.TRACK, CommandCategory.MASTER, CommandCategory.DEVICE, CommandCategory.TRACK_REMOTES);
+    private static final int []               TYPES      =
+    {
+        CommandSlot.TYPE_CC,
+        CommandSlot.TYPE_NOTE,
+        CommandSlot.TYPE_PROGRAM_CHANGE,
+        CommandSlot.TYPE_PITCH_BEND
+    };
+    private static final int                  NUM_TYPES  = CommandSlot.TYPE_MMC + 1;
+
+
+    /**
+     * Start the benchmark.
+     *
+     * @param args The options, see the class description
+     */
+    public static void main (final String [] args)
+    {
+        int lookups = 1_000_000;
+        int duration = 60;
+        int warmup = 2;
+        int iterations = 5;
+        boolean isVerbose = false;
+
+        try
+        {
+            for (int i = 0; i < args.length; i++)
+            {
+                switch (args[i])
+                {
+                    case "--lookups" -> lookups = Integer.parseInt (getValue (args, ++i));
+                    case "--duration" -> duration = Integer.parseInt (getValue (args, ++i));
+                    case "--warmup" -> warmup = Integer.parseInt (getValue (args, ++i));
+                    case "--iterations" -> iterations = Integer.parseInt (getValue (args, ++i));
+                    case "--verbose" -> isVerbose = true;
+                    default -> throw new IllegalArgumentException ("Unknown option: " + args[i]);
+                }
+            }
+        }
+        catch (final IllegalArgumentException ex)
+        {
+            System.err.println (ex.getMessage ());
+            System.exit (1);
+            return;
+        }
+
+        int exitCode = 0;
+        try
+        {
+            final ReplayBenchmark benchmark = new ReplayBenchmark (isVerbose);
+            final int numMidiInputs = benchmark.startControllers (new String []
+            {
+                CONTROLLER
+            });
+
+            GenericFlexiConfiguration configuration = null;
+            for (final AbstractControlSurface<?> surface: benchmark.getSurfaces ())
+            {
+                if (surface instanceof final GenericFlexiControlSurface flexiSurface)
+                    configuration = flexiSurface.getConfiguration ();
+            }
+            if (configuration == null)
+                throw new IllegalStateException ("The Generic Flexi surface was not found.");
+
+            final GenericFlexiConfiguration flexiConfiguration = configuration;
+            benchmark.runOnUIThread ( () -> mapSlots (flexiConfiguration, new Random (42)));
+            if (!compareLookups (configuration) || !timeLookups (configuration, lookups, new Random (4711)))
+                exitCode = 1;
+            else
+            {
+                final long evaluations = ChangeTracker.getEvaluations ();
+                final long skips = ChangeTracker.getSkips ();
+                benchmark.run (ReplayStream.generate (duration * 1000L, ReplayBenchmark.FLUSH_INTERVAL, 8, numMidiInputs, 42), 0, warmup, iterations);
+                System.out.println (String.format (Locale.US, "Feedback passes of all replays: %d evaluated, %d skipped", Long.valueOf (ChangeTracker.getEvaluations () - evaluations), Long.valueOf (ChangeTracker.getSkips () - skips)));
+            }
+            benchmark.shutdown ();
+        }
+        catch (final IOException | IllegalStateException ex)
+        {
+            System.err.println (ex.getMessage ());
+            exitCode = 1;
+        }
+
+        // The controllers might have started threads which are not daemons
+        System.exit (exitCode);
+    }
+
+
+    private static String getValue (final String [] args, final int index)
+    {
+        if (index >= args.length)
+            throw new IllegalArgumentException ("Missing value for option: " + args[index - 1]);
+        return args[index];
+    }
+
+
+    /**
+     * Map all slots to random MIDI messages and commands which send their value. Some slots listen
+     * to all MIDI channels.
+     *
+     * @param configuration The configuration
+     * @param random The random generator
+     */
+    private static void mapSlots (final GenericFlexiConfiguration configuration, final Random random)
+    {
+        final List<FlexiCommand> commands = new ArrayList<> ();
+        for (final FlexiCommand command: FlexiCommand.values ())
+        {
+            if (CATEGORIES.contains (command.getCategory ()))
+                commands.add (command);
+        }
+
+        for (final CommandSlot slot: configuration.getCommandSlots ())
+        {
+            slot.setType (TYPES[random.nextInt (TYPES.length)]);
+            slot.setNumber (random.nextInt (128));
+            slot.setMidiChannel (random.nextInt (10) == 0 ? 16 : random.nextInt (16));
+            slot.setCommand (commands.get (random.nextInt (commands.size ())));
+            slot.setSendValue (true);
+        }
+        configuration.clearNoteMap ();
+    }
+
+
+    /**
+     * Compare the slots of the index with a linear scan for all combinations of type, number and
+     * MIDI channel.
+     *
+     * @param configuration The configuration
+     * @return True if all lookups found the same slots
+     */
+    private static boolean compareLookups (final GenericFlexiConfiguration configuration)
+    {
+        int found = 0;
+        for (int type = 0; type < NUM_TYPES; type++)
+        {
+            for (int number = 0; number < 128; number++)
+            {
+                for (int channel = 0; channel < 16; channel++)
+                {
+                    final List<CommandSlot> expected = scan (configuration.getCommandSlots (), type, number, channel);
+                    if (!expected.equals (configuration.getSlotCommands (type, number, channel)))
+                    {
+                        System.err.println (String.format ("Different slots for type %d, number %d, channel %d.", Integer.valueOf (type), Integer.valueOf (number), Integer.valueOf (channel)));
+                        return false;
+                    }
+                    found += expected.size ();
+                }
+            }
+        }
+        System.out.println (String.format (Locale.US, "%d slots, %d feedback slots, all %d lookups found the same %d slots", Integer.valueOf (configuration.getCommandSlots ().length), Integer.valueOf (configuration.getFeedbackSlots ().length), Integer.valueOf (NUM_TYPES * 128 * 16), Integer.valueOf (found)));
+        return true;
+    }
+
+
+    /**
+     * Time the lookup of random MIDI messages with the index and with a linear scan. Each is
+     * repeated several times and the fastest round is reported.
+     *
+     * @param configuration The configuration
+     * @param lookups The number of lookups per round
+     * @param random The random generator
+     * @return True if both lookups found the same number of slots
+     */
+    private static boolean timeLookups (final GenericFlexiConfiguration configuration, final int lookups, final Random random)
+    {
+        final int [] keys = new int [lookups];
+        for (int i = 0; i < lookups; i++)
+            keys[i] = random.nextInt (NUM_TYPES * 128 * 16);
+
+        final CommandSlot [] slots = configuration.getCommandSlots ();
+        long indexTime = Long.MAX_VALUE;
+        long scanTime = Long.MAX_VALUE;
+        for (int round = 0; round < 5; round++)
+        {
+            long start = System.nanoTime ();
+            long indexFound = 0;
+            for (final int key: keys)
+                indexFound += configuration.getSlotCommands (key / (128 * 16), key / 16 % 128, key % 16).size ();
+            indexTime = Math.min (indexTime, System.nanoTime () - start);
+
+            start = System.nanoTime ();
+            long scanFound = 0;
+            for (final int key: keys)
+                scanFound += scan (slots, key / (128 * 16), key / 16 % 128, key % 16).size ();
+            scanTime = Math.min (scanTime, System.nanoTime () - start);
+
+            if (indexFound != scanFound)
+            {
+                System.err.println ("The index found " + indexFound + " slots, the linear scan " + scanFound + ".");
+                return false;
+            }
+        }
+
+        final double indexNanos = (double) indexTime / lookups;
+        final double scanNanos = (double) scanTime / lookups;
+        System.out.println (String.format (Locale.US, "Lookup: index %.1f ns, linear scan %.1f ns, Speed-up: %.1f", Double.valueOf (indexNanos), Double.valueOf (scanNanos), Double.valueOf (indexNanos > 0 ? scanNanos / indexNanos : 0)));
+        return true;
+    }
+
+
+    /**
+     * The previous lookup, which scanned all slots for each received MIDI message.
+     *
+     * @param slots The slots
+     * @param type The type of the MIDI message
+     * @param number The number of the CC or note
+     * @param midiChannel The MIDI channel
+     * @return The matching slots
+     */
+    private static List<CommandSlot> scan (final CommandSlot [] slots, final int type, final int number, final int midiChannel)
+    {
+        final List<CommandSlot> results = new ArrayList<> ();
+        for (final CommandSlot slot: slots)
+        {
+            if (slot.getCommand () != FlexiCommand.OFF && slot.getType () == type && (type == CommandSlot.TYPE_PITCH_BEND || slot.getNumber () == number))
+            {
+                final int channel = slot.getMidiChannel ();
+                if (channel == midiChannel || channel == 16)
+                    results.add (slot);
+            }
+        }
+        return results;
+    }
+}
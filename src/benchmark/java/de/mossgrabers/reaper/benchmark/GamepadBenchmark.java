@@ -0,0 +1,285 @@
+// Written by Jürgen Moßgraber - mossgrabers.de
+// (c) 2017-2026
+// Licensed under LGPLv3 - http://www.gnu.org/licenses/lgpl-3.0.txt
+
+package de.mossgrabers.reaper.benchmark;
+
+import de.mossgrabers.controller.gamepad.controller.GamepadControllerInputThread;
+import de.mossgrabers.controller.gamepad.controller.IGamepadCallback;
+import de.mossgrabers.framework.daw.IHost;
+import de.mossgrabers.framework.utils.ButtonEvent;
+import de.mossgrabers.framework.utils.LatencyHistogram;
+
+import com.studiohartman.jamepad.ControllerAxis;
+import com.studiohartman.jamepad.ControllerButton;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.Array;
+import java.lang.reflect.Proxy;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+
+/**
+ * Measures the CPU usage and the responsiveness of the gamepad input thread with a simulated
+ * gamepad. Reports the polling rate and the CPU time of the input thread while the gamepad is idle,
+ * in use and disconnected, as well as the time from a change of the gamepad until it reaches the
+ * callback. Run it with 'gradlew gamepadBenchmark -PbenchmarkArgs="..."'. The options are:
+ *
+ * <pre>
+ * --idle SECONDS         The duration of the idle and disconnected phases, default 10
+ * --presses NUMBER       The number of button presses while the gamepad is in use, default 1000
+ * --wakeups NUMBER       The number of button presses after the gamepad became idle, default 5
+ * </pre>
+ *
+ * @author Jürgen Moßgraber
+ */
+public class GamepadBenchmark
+{
+    /** An action which might wait. */
+    @FunctionalInterface
+    private interface Action
+    {
+        /**
+         * Execute the action.
+         *
+         * @throws InterruptedException Interrupted while waiting
+         */
+        void execute () throws InterruptedException;
+    }
+
+
+    /** The time between two button presses while the gamepad is in use. */
+    private static final long                  PRESS_INTERVAL  = 5;
+    /** Movements of the sticks at rest, smaller than the dead zone. */
+    private static final float                 JITTER          = 0.02f;
+
+    private final SimulatedGamepadSource       source          = new SimulatedGamepadSource ();
+    private final LatencyHistogram             activeLatencies = new LatencyHistogram ();
+    private final LatencyHistogram             wakeLatencies   = new LatencyHistogram ();
+    private final AtomicLong                   buttonEvents    = new AtomicLong ();
+    private final AtomicLong                   axisEvents      = new AtomicLong ();
+    private final ThreadMXBean                 threadBean      = ManagementFactory.getThreadMXBean ();
+    private final GamepadControllerInputThread inputThread;
+    private volatile LatencyHistogram          latencies       = this.activeLatencies;
+
+
+    /**
+     * Constructor.
+     */
+    public GamepadBenchmark ()
+    {
+        final IGamepadCallback callback = new IGamepadCallback ()
+        {
+            /** {@inheritDoc} */
+            @Override
+            public void process (final ControllerButton button, final ButtonEvent event)
+            {
+                GamepadBenchmark.this.latencies.record (System.nanoTime () - GamepadBenchmark.this.source.getChangeTime ());
+                GamepadBenchmark.this.buttonEvents.incrementAndGet ();
+            }
+
+
+            /** {@inheritDoc} */
+            @Override
+            public void process (final ControllerAxis continuous, final float value)
+            {
+                GamepadBenchmark.this.axisEvents.incrementAndGet ();
+            }
+        };
+
+        this.inputThread = new GamepadControllerInputThread (createHost (), this.source, callback);
+    }
+
+
+    /**
+     * Start the benchmark.
+     *
+     * @param args The options, see the class description
+     */
+    public static void main (final String [] args)
+    {
+        int idle = 10;
+        int presses = 1000;
+        int wakeups = 5;
+
+        try
+        {
+            for (int i = 0; i < args.length; i++)
+            {
+                switch (args[i])
+                {
+                    case "--idle" -> idle = Integer.parseInt (getValue (args, ++i));
+                    case "--presses" -> presses = Integer.parseInt (getValue (args, ++i));
+                    case "--wakeups" -> wakeups = Integer.parseInt (getValue (args, ++i));
+                    default -> throw new IllegalArgumentException ("Unknown option: " + args[i]);
+                }
+            }
+        }
+        catch (final IllegalArgumentException ex)
+        {
+            System.err.println (ex.getMessage ());
+            System.exit (1);
+            return;
+        }
+
+        try
+        {
+            new GamepadBenchmark ().run (idle * 1000L, presses, wakeups);
+        }
+        catch (final InterruptedException ex)
+        {
+            Thread.currentThread ().interrupt ();
+        }
+        System.exit (0);
+    }
+
+
+    private static String getValue (final String [] args, final int index)
+    {
+        if (index >= args.length)
+            throw new IllegalArgumentException ("Missing value for option: " + args[index - 1]);
+        return args[index];
+    }
+
+
+    /**
+     * Run all phases.
+     *
+     * @param idleTime The duration of the idle and disconnected phases in milliseconds
+     * @param presses The number of button presses while the gamepad is in use
+     * @param wakeups The number of button presses after the gamepad became idle
+     * @throws InterruptedException Interrupted while waiting
+     */
+    private void run (final long idleTime, final int presses, final int wakeups) throws InterruptedException
+    {
+        this.inputThread.start ();
+        final Thread thread = findThread ("Gamepad Input");
+
+        // Let the gamepad become idle
+        Thread.sleep (GamepadControllerInputThread.IDLE_TIMEOUT + 500);
+        this.measure ("Idle", thread, idleTime, () -> {
+            // Intentionally empty
+        });
+
+        final Random random = new Random (42);
+        this.measure ("In use", thread, presses * PRESS_INTERVAL, () -> {
+            for (int i = 0; i < presses; i++)
+            {
+                this.press (i % 2 == 0);
+                this.source.setAxis (ControllerAxis.LEFTX, (random.nextFloat () * 2 - 1) * JITTER);
+                Thread.sleep (PRESS_INTERVAL);
+            }
+        });
+
+        this.latencies = this.wakeLatencies;
+        for (int i = 0; i < wakeups; i++)
+        {
+            Thread.sleep (GamepadControllerInputThread.IDLE_TIMEOUT + 200);
+            this.press (i % 2 == 0);
+        }
+
+        this.source.setConnected (false);
+        Thread.sleep (GamepadControllerInputThread.DISCONNECTED_INTERVAL * 2);
+        this.measure ("Disconnected", thread, idleTime, () -> {
+            // Intentionally empty
+        });
+
+        this.inputThread.stop ();
+
+        System.out.println ();
+        System.out.println ("Button events: " + this.buttonEvents.get () + ", axis events: " + this.axisEvents.get () + " (the stick only jittered inside of the dead zone)");
+        System.out.println ("Latency in use:     " + this.activeLatencies);
+        System.out.println ("Latency after idle: " + this.wakeLatencies);
+    }
+
+
+    /**
+     * Measure the polls and the CPU time of the input thread while executing an action.
+     *
+     * @param name The name of the phase
+     * @param thread The input thread
+     * @param minDuration The minimum duration of the phase in milliseconds
+     * @param action The action to execute
+     * @throws InterruptedException Interrupted while waiting
+     */
+    private void measure (final String name, final Thread thread, final long minDuration, final Action action) throws InterruptedException
+    {
+        final long startPolls = this.inputThread.getNumPolls ();
+        final long startCpu = this.getCpuTime (thread);
+        final long start = System.nanoTime ();
+
+        action.execute ();
+        final long remaining = minDuration - (System.nanoTime () - start) / 1_000_000;
+        if (remaining > 0)
+            Thread.sleep (remaining);
+
+        final double seconds = (System.nanoTime () - start) / 1_000_000_000.0;
+        final long polls = this.inputThread.getNumPolls () - startPolls;
+        final long cpu = this.getCpuTime (thread) - startCpu;
+        System.out.println (String.format (Locale.US, "%-13s %.1f s, %.1f polls/s, input thread CPU %.3f ms/s", name + ":", Double.valueOf (seconds), Double.valueOf (polls / seconds), Double.valueOf (cpu / 1_000_000.0 / seconds)));
+    }
+
+
+    /**
+     * Press or release the A button and wait until the callback received it.
+     *
+     * @param isPressed True to press
+     * @throws InterruptedException Interrupted while waiting
+     */
+    private void press (final boolean isPressed) throws InterruptedException
+    {
+        final long count = this.buttonEvents.get ();
+        this.source.setButton (ControllerButton.A, isPressed);
+        while (this.buttonEvents.get () == count)
+            Thread.sleep (0, 100_000);
+    }
+
+
+    private long getCpuTime (final Thread thread)
+    {
+        return thread == null || !this.threadBean.isThreadCpuTimeSupported () ? 0 : this.threadBean.getThreadCpuTime (thread.threadId ());
+    }
+
+
+    private static Thread findThread (final String name)
+    {
+        for (final Thread thread: Thread.getAllStackTraces ().keySet ())
+        {
+            if (name.equals (thread.getName ()))
+                return thread;
+        }
+        return null;
+    }
+
+
+    /**
+     * A host which executes the tasks immediately and prints the errors. All other methods do
+     * nothing.
+     *
+     * @return The host
+     */
+    private static IHost createHost ()
+    {
+        return (IHost) Proxy.newProxyInstance (IHost.class.getClassLoader (), new Class<?> []
+        {
+            IHost.class
+        }, (proxy, method, args) -> {
+            switch (method.getName ())
+            {
+                case "scheduleTask" -> ((Runnable) args[0]).run ();
+                case "error" -> System.err.println (args[0]);
+                default ->
+                {
+                    // The default value of a primitive type is the content of a new array
+                    final Class<?> type = method.getReturnType ();
+                    if (type.isPrimitive () && type != void.class)
+                        return Array.get (Array.newInstance (type, 1), 0);
+                }
+            }
+            return null;
+        });
+    }
+}
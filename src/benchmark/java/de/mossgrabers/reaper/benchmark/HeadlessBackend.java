@@ -0,0 +1,268 @@
+// Written by Jürgen Moßgraber - mossgrabers.de
+// (c) 2017-2026
+// Licensed under LGPLv3 - http://www.gnu.org/licenses/lgpl-3.0.txt
+
+package de.mossgrabers.reaper.benchmark;
+
+import de.mossgrabers.reaper.communication.BackendExchange;
+import de.mossgrabers.reaper.communication.Processor;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.LongAdder;
+
+
+/**
+ * A stand-in for the C++ DLL. It provides virtual MIDI ports and only counts the commands and MIDI
+ * data which the controllers send to Reaper and to their devices.
+ *
+ * @author Jürgen Moßgraber
+ */
+public class HeadlessBackend implements BackendExchange
+{
+    private final Map<Integer, String> midiInputs  = new TreeMap<> ();
+    private final Map<Integer, String> midiOutputs = new TreeMap<> ();
+    private final LongAdder            commands    = new LongAdder ();
+    private final LongAdder            midiToHost  = new LongAdder ();
+    private final LongAdder            midiOut     = new LongAdder ();
+    private final LongAdder            midiOutData = new LongAdder ();
+
+
+    /**
+     * Add a virtual MIDI input port.
+     *
+     * @param name The name of the port
+     * @return The ID of the port
+     */
+    public int addMidiInput (final String name)
+    {
+        final int deviceID = this.midiInputs.size ();
+        this.midiInputs.put (Integer.valueOf (deviceID), name);
+        return deviceID;
+    }
+
+
+    /**
+     * Add a virtual MIDI output port.
+     *
+     * @param name The name of the port
+     * @return The ID of the port
+     */
+    public int addMidiOutput (final String name)
+    {
+        final int deviceID = this.midiOutputs.size ();
+        this.midiOutputs.put (Integer.valueOf (deviceID), name);
+        return deviceID;
+    }
+
+
+    /**
+     * Get the number of commands which were sent to Reaper.
+     *
+     * @return The number of commands
+     */
+    public long getCommands ()
+    {
+        return this.commands.sum ();
+    }
+
+
+    /**
+     * Get the number of MIDI messages which were inserted into Reapers' MIDI input queue (e.g.
+     * played notes).
+     *
+     * @return The number of messages
+     */
+    public long getMidiToHost ()
+    {
+        return this.midiToHost.sum ();
+    }
+
+
+    /**
+     * Get the number of MIDI messages which were sent to the MIDI output ports.
+     *
+     * @return The number of messages
+     */
+    public long getMidiOut ()
+    {
+        return this.midiOut.sum ();
+    }
+
+
+    /**
+     * Get the number of bytes which were sent to the MIDI output ports.
+     *
+     * @return The number of bytes
+     */
+    public long getMidiOutData ()
+    {
+        return this.midiOutData.sum ();
+    }
+
+
+    /**
+     * Reset all counters.
+     */
+    public void resetCounters ()
+    {
+        this.commands.reset ();
+        this.midiToHost.reset ();
+        this.midiOut.reset ();
+        this.midiOutData.reset ();
+    }
+
+
+    /** {@inheritDoc} */
+    @Override
+    public void processNoArg (final Processor processor, final String command)
+    {
+        this.commands.increment ();
+    }
+
+
+    /** {@inheritDoc} */
+    @Override
+    public void processStringArg (final Processor processor, final String command, final String value)
+    {
+        this.commands.increment ();
+    }
+
+
+    /** {@inheritDoc} */
+    @Override
+    public void processStringArgs (final Processor processor, final String command, final String [] values)
+    {
+        this.commands.increment ();
+    }
+
+
+    /** {@inheritDoc} */
+    @Override
+    public void processIntArg (final Processor processor, final String command, final int value)
+    {
+        this.commands.increment ();
+    }
+
+
+    /** {@inheritDoc} */
+    @Override
+    public void processDoubleArg (final Processor processor, final String command, final double value)
+    {
+        this.commands.increment ();
+    }
+
+
+    /** {@inheritDoc} */
+    @Override
+    public void delayUpdates (final Processor processor)
+    {
+        // Intentionally empty
+    }
+
+
+    /** {@inheritDoc} */
+    @Override
+    public void enableUpdates (final Processor processor, final boolean enable)
+    {
+        // Intentionally empty
+    }
+
+
+    /** {@inheritDoc} */
+    @Override
+    public void processMidiArg (final int deviceID, final int status, final int data1, final int data2)
+    {
+        this.midiToHost.increment ();
+    }
+
+
+    /** {@inheritDoc} */
+    @Override
+    public void invokeAction (final int id)
+    {
+        this.commands.increment ();
+    }
+
+
+    /** {@inheritDoc} */
+    @Override
+    public Map<Integer, String> getMidiInputs ()
+    {
+        return Collections.unmodifiableMap (this.midiInputs);
+    }
+
+
+    /** {@inheritDoc} */
+    @Override
+    public Map<Integer, String> getMidiOutputs ()
+    {
+        return Collections.unmodifiableMap (this.midiOutputs);
+    }
+
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean openMidiInput (final int deviceID)
+    {
+        return this.midiInputs.containsKey (Integer.valueOf (deviceID));
+    }
+
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean openMidiOutput (final int deviceID)
+    {
+        return this.midiOutputs.containsKey (Integer.valueOf (deviceID));
+    }
+
+
+    /** {@inheritDoc} */
+    @Override
+    public void closeMidiInput (final int deviceID)
+    {
+        // Intentionally empty
+    }
+
+
+    /** {@inheritDoc} */
+    @Override
+    public void closeMidiOutput (final int deviceID)
+    {
+        // Intentionally empty
+    }
+
+
+    /** {@inheritDoc} */
+    @Override
+    public void sendMidiData (final int deviceID, final byte [] data)
+    {
+        this.midiOut.increment ();
+        this.midiOutData.add (data.length);
+    }
+
+
+    /** {@inheritDoc} */
+    @Override
+    public void setNoteInputFilters (final int deviceID, final int noteInputIndex, final String [] backendFilters)
+    {
+        // Intentionally empty
+    }
+
+
+    /** {@inheritDoc} */
+    @Override
+    public void setNoteInputKeyTranslationTable (final int deviceID, final int noteInputIndex, final int [] table)
+    {
+        // Intentionally empty
+    }
+
+
+    /** {@inheritDoc} */
+    @Override
+    public void setNoteInputVelocityTranslationTable (final int deviceID, final int noteInputIndex, final int [] table)
+    {
+        // Intentionally empty
+    }
+}
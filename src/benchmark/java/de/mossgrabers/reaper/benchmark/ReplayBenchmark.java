@@ -0,0 +1,850 @@
+// Written by Jürgen Moßgraber - mossgrabers.de
+// (c) 2017-2026
+// Licensed under LGPLv3 - http://www.gnu.org/licenses/lgpl-3.0.txt
+
+package de.mossgrabers.reaper.benchmark;
+
+import de.mossgrabers.framework.controller.AbstractControlSurface;
+import de.mossgrabers.framework.controller.IControlSurface;
+import de.mossgrabers.framework.controller.IControllerDefinition;
+import de.mossgrabers.framework.utils.LatencyHistogram;
+import de.mossgrabers.framework.utils.LatencyTracer;
+import de.mossgrabers.framework.utils.OperatingSystem;
+import de.mossgrabers.framework.utils.Pair;
+import de.mossgrabers.reaper.communication.BinaryUpdateDecoder;
+import de.mossgrabers.reaper.communication.BinaryUpdateEncoder;
+import de.mossgrabers.reaper.communication.UpdateCommand;
+import de.mossgrabers.reaper.communication.UpdateParser;
+import de.mossgrabers.reaper.controller.ControllerInstanceManager;
+import de.mossgrabers.reaper.controller.IControllerInstance;
+import de.mossgrabers.reaper.framework.IniFiles;
+import de.mossgrabers.reaper.framework.device.DeviceManager;
+import de.mossgrabers.reaper.framework.midi.MidiAccessImpl;
+import de.mossgrabers.reaper.framework.midi.ReaperMidiDevice;
+import de.mossgrabers.reaper.ui.utils.LogModel;
+
+import com.sun.management.ThreadMXBean;
+
+import org.usb4java.LibUsb;
+
+import javax.sound.midi.InvalidMidiDataException;
+import javax.sound.midi.SysexMessage;
+import javax.swing.SwingUtilities;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.InvocationTargetException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Stream;
+
+
+/**
+ * Replays a stream of model updates and MIDI messages against real controller instances without
+ * Reaper, a display or any hardware. The updates are parsed on the calling thread and applied on
+ * the UI thread, the controllers are flushed every 30 milliseconds of stream time, like the DLL
+ * and the flush timer of the application do. The stream is replayed as fast as possible unless a
+ * speed factor is given.
+ *
+ * Reports the throughput, the memory allocation rate and the percentiles of the parse, apply and
+ * flush request times. Since the controllers process the flush asynchronously, each flush waits
+ * until the flush handlers of all surfaces have finished and reports the time from the request to
+ * the end of the handler for each surface. The latencies of the stages after a received MIDI
+ * message are reported from the LatencyTracer.
+ *
+ * The scaling mode shows how the cost of a model update batch grows with the number of controller
+ * instances. It replays only the updates of the stream, first with one of the running controllers
+ * enabled, then with two and so on. For each number of instances, it reports the average time per
+ * batch for parsing the updates (like MainApp.updateModel) and for applying them to all enabled
+ * instances (ControllerInstanceManager.applyAll). Since the parsed updates are shared by all
+ * instances, only the apply time should grow. Use --controllers to run more instances. Run it with
+ * 'gradlew benchmark -PbenchmarkArgs="..."'. The options are:
+ *
+ * <pre>
+ * --stream FILE          Replay a recorded stream, see ReplayStream for the format
+ * --save FILE            Store the replayed stream, e.g. to keep a generated one
+ * --duration SECONDS     The duration of the generated stream, default 60
+ * --tracks NUMBER        The number of tracks of the generated stream, default 8
+ * --speed FACTOR         Replay with the given speed factor, 0 (default) is as fast as possible
+ * --warmup NUMBER        The number of replays before measuring, default 2
+ * --iterations NUMBER    The number of measured replays, default 5
+ * --controllers NAMES    Comma separated names of the controllers to run
+ * --binary               Replay the updates in the binary format of the DLL instead of the text format
+ * --scaling              Measure the cost per update batch with 1 to all running controllers
+ * --verbose              Print all log messages
+ * </pre>
+ *
+ * @author Jürgen Moßgraber
+ */
+public class ReplayBenchmark
+{
+    /**
+     * The result of one replay of the stream.
+     *
+     * @param wallTime The duration of the replay in nanoseconds
+     * @param busyTime The time spent on parsing, applying, MIDI and flushing in nanoseconds
+     * @param updates The number of applied model updates
+     * @param midiEvents The number of received MIDI messages
+     * @param flushes The number of flushes
+     * @param allocated The number of bytes which were allocated by all threads
+     */
+    private record Iteration (long wallTime, long busyTime, long updates, long midiEvents, long flushes, long allocated)
+    {
+        /** {@inheritDoc} */
+        @Override
+        public String toString ()
+        {
+            final double busySeconds = this.busyTime / 1_000_000_000.0;
+            final double wallSeconds = this.wallTime / 1_000_000_000.0;
+            final double throughput = busySeconds == 0 ? 0 : (this.updates + this.midiEvents) / busySeconds;
+            final double allocationRate = wallSeconds == 0 ? 0 : this.allocated / wallSeconds / (1024.0 * 1024.0);
+            final long events = Math.max (1, this.updates + this.midiEvents);
+            return String.format (Locale.US, "%.0f ms (busy %.0f ms), %d updates, %d MIDI messages, %d flushes, %.0f events/s, %.1f MB/s allocated (%d bytes/event)", Double.valueOf (wallSeconds * 1000.0), Double.valueOf (busySeconds * 1000.0), Long.valueOf (this.updates), Long.valueOf (this.midiEvents), Long.valueOf (this.flushes), Double.valueOf (throughput), Double.valueOf (allocationRate), Long.valueOf (this.allocated / events));
+        }
+    }
+
+
+    /**
+     * A control surface whose flush is measured.
+     *
+     * @param name The name of the controller and the index of the surface
+     * @param surface The surface
+     * @param flushTimes The times from the flush request until the flush handler has finished
+     */
+    private record FlushedSurface (String name, AbstractControlSurface<?> surface, LatencyHistogram flushTimes)
+    {
+        // Intentionally empty
+    }
+
+
+    /** Writes the log messages to the console instead of the log window. */
+    private static final class ConsoleLogModel extends LogModel
+    {
+        private final boolean   isVerbose;
+        private final LongAdder errors = new LongAdder ();
+
+
+        ConsoleLogModel (final boolean isVerbose)
+        {
+            this.isVerbose = isVerbose;
+        }
+
+
+        /** {@inheritDoc} */
+        @Override
+        public void error (final String message, final Throwable exception)
+        {
+            this.errors.increment ();
+            super.error (message, exception);
+        }
+
+
+        /** {@inheritDoc} */
+        @Override
+        public void log (final String message, final boolean isError)
+        {
+            if (isError)
+                System.err.println (message);
+            else if (this.isVerbose)
+                System.out.println (message);
+        }
+    }
+
+
+    static final int                        FLUSH_INTERVAL      = 30;
+    private static final long               STARTUP_TIMEOUT     = 20_000;
+    private static final long               FLUSH_TIMEOUT       = 5_000;
+    private static final String []          DEFAULT_CONTROLLERS =
+    {
+        "Ableton Push 2",
+        "Mackie MCU - Control Universal",
+        "Novation Launchpad X",
+        "Open Sound Control OSC"
+    };
+
+    private static final String []          BENCHMARK_DEVICES   =
+    {
+        "VSTi: ReaSynth (Cockos)",
+        "VST: ReaEQ (Cockos)",
+        "VST: ReaComp (Cockos)",
+        "VST: ReaVerbate (Cockos)"
+    };
+
+    private final ConsoleLogModel           logModel;
+    private final HeadlessBackend           backend             = new HeadlessBackend ();
+    private final IniFiles                  iniFiles            = new IniFiles ();
+    private final UpdateParser              updateParser        = new UpdateParser ();
+    private final BinaryUpdateDecoder       updateDecoder       = new BinaryUpdateDecoder ();
+    private final File                      configPath;
+    private final ControllerInstanceManager instanceManager;
+    private final List<IControllerInstance> instances           = new ArrayList<> ();
+    private final LatencyHistogram          parseTimes          = new LatencyHistogram ();
+    private final LatencyHistogram          applyTimes          = new LatencyHistogram ();
+    private final LatencyHistogram          midiTimes           = new LatencyHistogram ();
+    private final LatencyHistogram          flushTimes          = new LatencyHistogram ();
+    private final List<FlushedSurface>      flushedSurfaces     = new ArrayList<> ();
+    private boolean []                      isFlushed           = new boolean [0];
+    private final ThreadMXBean              threadBean;
+    private List<ByteBuffer>                binaryUpdates;
+
+
+    /**
+     * Constructor.
+     *
+     * @param isVerbose Print all log messages if true
+     * @throws IOException Could not create the configuration folder
+     */
+    public ReplayBenchmark (final boolean isVerbose) throws IOException
+    {
+        this.logModel = new ConsoleLogModel (isVerbose);
+        this.configPath = Files.createTempDirectory ("DrivenByMoss4Reaper-Benchmark").toFile ();
+        this.iniFiles.init (this.configPath.getAbsolutePath (), this.logModel);
+        this.instanceManager = new ControllerInstanceManager (this.logModel, () -> null, this.backend, this.iniFiles, 7, 0);
+
+        if (ManagementFactory.getThreadMXBean () instanceof final ThreadMXBean bean && bean.isThreadAllocatedMemorySupported ())
+        {
+            bean.setThreadAllocatedMemoryEnabled (true);
+            this.threadBean = bean;
+        }
+        else
+            this.threadBean = null;
+    }
+
+
+    /**
+     * Start the benchmark.
+     *
+     * @param args The options, see the class description
+     */
+    public static void main (final String [] args)
+    {
+        File streamFile = null;
+        File saveFile = null;
+        int duration = 60;
+        int numTracks = 8;
+        double speed = 0;
+        int warmup = 2;
+        int iterations = 5;
+        String [] controllers = DEFAULT_CONTROLLERS;
+        boolean isVerbose = false;
+        boolean isBinary = false;
+        boolean isScaling = false;
+
+        try
+        {
+            for (int i = 0; i < args.length; i++)
+            {
+                switch (args[i])
+                {
+                    case "--stream" -> streamFile = new File (getValue (args, ++i));
+                    case "--save" -> saveFile = new File (getValue (args, ++i));
+                    case "--duration" -> duration = Integer.parseInt (getValue (args, ++i));
+                    case "--tracks" -> numTracks = Integer.parseInt (getValue (args, ++i));
+                    case "--speed" -> speed = Double.parseDouble (getValue (args, ++i));
+                    case "--warmup" -> warmup = Integer.parseInt (getValue (args, ++i));
+                    case "--iterations" -> iterations = Integer.parseInt (getValue (args, ++i));
+                    case "--controllers" -> controllers = getValue (args, ++i).split ("\\s*,\\s*");
+                    case "--verbose" -> isVerbose = true;
+                    case "--binary" -> isBinary = true;
+                    case "--scaling" -> isScaling = true;
+                    default -> throw new IllegalArgumentException ("Unknown option: " + args[i]);
+                }
+            }
+        }
+        catch (final IllegalArgumentException ex)
+        {
+            System.err.println (ex.getMessage ());
+            System.exit (1);
+            return;
+        }
+
+        int exitCode = 0;
+        try
+        {
+            final ReplayBenchmark benchmark = new ReplayBenchmark (isVerbose);
+            final int numMidiInputs = benchmark.startControllers (controllers);
+
+            final ReplayStream stream;
+            if (streamFile == null)
+                stream = ReplayStream.generate (duration * 1000L, FLUSH_INTERVAL, numTracks, numMidiInputs, 42);
+            else
+                stream = ReplayStream.read (streamFile);
+            if (saveFile != null)
+                stream.write (saveFile);
+            if (isBinary)
+                benchmark.encodeUpdates (stream);
+
+            if (isScaling)
+                benchmark.runScaling (stream, warmup, iterations);
+            else
+                benchmark.run (stream, speed, warmup, iterations);
+            benchmark.shutdown ();
+        }
+        catch (final IOException | IllegalStateException ex)
+        {
+            System.err.println (ex.getMessage ());
+            exitCode = 1;
+        }
+
+        // The controllers might have started threads which are not daemons
+        System.exit (exitCode);
+    }
+
+
+    private static String getValue (final String [] args, final int index)
+    {
+        if (index >= args.length)
+            throw new IllegalArgumentException ("Missing value for option: " + args[index - 1]);
+        return args[index];
+    }
+
+
+    /**
+     * Create the virtual MIDI ports, instantiate and start the controllers.
+     *
+     * @param names The names of the controller definitions
+     * @return The number of virtual MIDI inputs
+     * @throws IOException Could not write a controller configuration
+     */
+    int startControllers (final String [] names) throws IOException
+    {
+        final List<IControllerDefinition> definitions = new ArrayList<> ();
+        for (final String name: names)
+        {
+            final IControllerDefinition definition = this.instanceManager.getDefinitions ().stream ().filter (def -> def.toString ().equals (name)).findFirst ().orElse (null);
+            if (definition == null)
+                throw new IllegalStateException ("Unknown controller: " + name);
+            this.createPorts (definition);
+            definitions.add (definition);
+        }
+
+        // Some controllers require devices for their favorites
+        final DeviceManager deviceManager = DeviceManager.get ();
+        for (final String device: BENCHMARK_DEVICES)
+            deviceManager.addDeviceInfo (device, device.toLowerCase (Locale.US).replace (' ', '_') + ".dll");
+
+        // Controllers with a display look for their USB device, which is simply not found
+        final int result = LibUsb.init (null);
+        if (result != LibUsb.SUCCESS)
+            this.logModel.info ("Could not initialise LibUsb: " + LibUsb.errorName (result));
+
+        MidiAccessImpl.init (this.backend);
+        deviceManager.applyDeviceInfo (this.iniFiles, this.logModel);
+        MidiAccessImpl.readDeviceMetadata ();
+
+        for (final IControllerDefinition definition: definitions)
+            this.instances.add (this.instanceManager.instantiate (definition));
+        this.instanceManager.startAll ();
+
+        // The controllers finish their start on the UI thread
+        final long timeout = System.currentTimeMillis () + STARTUP_TIMEOUT;
+        while (!this.instanceManager.areRunning () && System.currentTimeMillis () < timeout)
+            LockSupport.parkNanos (TimeUnit.MILLISECONDS.toNanos (50));
+
+        int numRunning = 0;
+        for (final IControllerInstance instance: this.instances)
+        {
+            if (instance.isRunning ())
+            {
+                numRunning++;
+                System.out.println ("Running: " + instance.getDefinition ());
+
+                final List<? extends IControlSurface<?>> surfaces = instance.getControllerSetup ().getSurfaces ();
+                for (int i = 0; i < surfaces.size (); i++)
+                {
+                    if (surfaces.get (i) instanceof final AbstractControlSurface<?> surface)
+                        this.flushedSurfaces.add (new FlushedSurface (instance.getDefinition () + (surfaces.size () > 1 ? " " + (i + 1) : ""), surface, new LatencyHistogram ()));
+                }
+            }
+            else
+                System.out.println ("Not running: " + instance.getDefinition ());
+        }
+        if (numRunning == 0)
+            throw new IllegalStateException ("None of the controllers could be started.");
+        this.isFlushed = new boolean [this.flushedSurfaces.size ()];
+
+        return this.backend.getMidiInputs ().size ();
+    }
+
+
+    /**
+     * Get the surfaces of all running controllers.
+     *
+     * @return The surfaces
+     */
+    List<AbstractControlSurface<?>> getSurfaces ()
+    {
+        final List<AbstractControlSurface<?>> surfaces = new ArrayList<> (this.flushedSurfaces.size ());
+        for (final FlushedSurface flushedSurface: this.flushedSurfaces)
+            surfaces.add (flushedSurface.surface ());
+        return surfaces;
+    }
+
+
+    /**
+     * Create virtual MIDI ports for all MIDI ports of a controller and select them in the
+     * configuration of the controller. The ports get the names which are used to discover the
+     * controller, if there are any.
+     *
+     * @param definition The controller definition
+     * @throws IOException Could not write the configuration
+     */
+    private void createPorts (final IControllerDefinition definition) throws IOException
+    {
+        final List<Pair<String [], String []>> discoveryPairs = definition.getMidiDiscoveryPairs (OperatingSystem.get ());
+        final String [] inputNames = discoveryPairs.isEmpty () ? new String [0] : discoveryPairs.get (0).getKey ();
+        final String [] outputNames = discoveryPairs.isEmpty () ? new String [0] : discoveryPairs.get (0).getValue ();
+
+        final Properties configuration = new Properties ();
+        for (int i = 0; i < definition.getNumMidiInPorts (); i++)
+        {
+            final String name = i < inputNames.length ? inputNames[i] : definition.getHardwareModel () + " In " + (i + 1);
+            this.backend.addMidiInput (name);
+            configuration.setProperty ("MIDI_INPUT" + i, name);
+        }
+        for (int i = 0; i < definition.getNumMidiOutPorts (); i++)
+        {
+            final String name = i < outputNames.length ? outputNames[i] : definition.getHardwareModel () + " Out " + (i + 1);
+            this.backend.addMidiOutput (name);
+            configuration.setProperty ("MIDI_OUTPUT" + i, name);
+        }
+
+        final File configFile = new File (this.configPath, "DrivenByMoss4Reaper-" + definition.getHardwareModel ().replace (' ', '-').replace ('/', '-') + ".config");
+        try (final FileWriter writer = new FileWriter (configFile))
+        {
+            configuration.store (writer, "");
+        }
+    }
+
+
+    /**
+     * Encode the updates of all batches into the binary format, which is then replayed instead of
+     * the text. The decoding is measured as the parse time.
+     *
+     * @param stream The stream
+     */
+    private void encodeUpdates (final ReplayStream stream)
+    {
+        final BinaryUpdateEncoder encoder = new BinaryUpdateEncoder ();
+        this.binaryUpdates = new ArrayList<> (stream.getBatches ().size ());
+        for (final ReplayStream.Batch batch: stream.getBatches ())
+            this.binaryUpdates.add (encoder.encode (this.parse (batch.updates ())));
+    }
+
+
+    /**
+     * Replay the stream several times and print the results.
+     *
+     * @param stream The stream to replay
+     * @param speed The speed factor, 0 to replay as fast as possible
+     * @param warmup The number of replays before measuring
+     * @param iterations The number of measured replays
+     * @throws IOException Could not replay the stream
+     */
+    void run (final ReplayStream stream, final double speed, final int warmup, final int iterations) throws IOException
+    {
+        System.out.println (String.format (Locale.US, "Stream: %d batches, %d updates, %d MIDI messages, %.1f s", Integer.valueOf (stream.getBatches ().size ()), Long.valueOf (stream.getNumUpdates ()), Long.valueOf (stream.getNumMidiEvents ()), Double.valueOf (stream.getDuration () / 1000.0)));
+        if (stream.getMaxDeviceID () >= this.backend.getMidiInputs ().size ())
+            throw new IOException ("The stream uses MIDI input " + stream.getMaxDeviceID () + " but only " + this.backend.getMidiInputs ().size () + " are available.");
+        if (this.threadBean == null)
+            System.out.println ("Measuring the memory allocation is not supported by this JVM.");
+
+        LatencyTracer.setEnabled (true);
+        for (int i = 0; i < warmup; i++)
+            System.out.println ("Warmup " + (i + 1) + ": " + this.replay (stream, speed));
+
+        this.parseTimes.reset ();
+        this.applyTimes.reset ();
+        this.midiTimes.reset ();
+        this.flushTimes.reset ();
+        this.flushedSurfaces.forEach (flushedSurface -> flushedSurface.flushTimes ().reset ());
+        LatencyTracer.reset ();
+        this.backend.resetCounters ();
+        final long errors = this.logModel.errors.sum ();
+
+        final List<Iteration> results = new ArrayList<> ();
+        for (int i = 0; i < iterations; i++)
+        {
+            final Iteration result = this.replay (stream, speed);
+            results.add (result);
+            System.out.println ("Iteration " + (i + 1) + ": " + result);
+        }
+        if (results.isEmpty ())
+            return;
+
+        results.sort (Comparator.comparingLong (Iteration::busyTime));
+        System.out.println ();
+        System.out.println ("Median: " + results.get (results.size () / 2));
+        System.out.println ("Parse:  " + this.parseTimes);
+        System.out.println ("Apply:  " + this.applyTimes);
+        System.out.println ("MIDI:   " + this.midiTimes);
+        System.out.println ("Flush request: " + this.flushTimes);
+        for (final FlushedSurface flushedSurface: this.flushedSurfaces)
+            System.out.println ("Flush " + flushedSurface.name () + ": " + flushedSurface.flushTimes ());
+        for (final LatencyTracer.Stage stage: LatencyTracer.Stage.values ())
+            System.out.println (String.format ("MIDI to %s: %s", stage.getName ().toLowerCase (Locale.US), LatencyTracer.getStatistics (stage)));
+        System.out.println (String.format ("Sent to Reaper: %d commands, %d MIDI messages; sent to the devices: %d MIDI messages (%d bytes); %d errors", Long.valueOf (this.backend.getCommands ()), Long.valueOf (this.backend.getMidiToHost ()), Long.valueOf (this.backend.getMidiOut ()), Long.valueOf (this.backend.getMidiOutData ()), Long.valueOf (this.logModel.errors.sum () - errors)));
+    }
+
+
+    /**
+     * Replay the model updates of the stream with 1 to all running controllers enabled and print
+     * the average parse and apply time per batch for each number of instances. The MIDI messages
+     * and flushes of the stream are not replayed.
+     *
+     * @param stream The stream to replay
+     * @param warmup The number of replays before measuring
+     * @param iterations The number of measured replays
+     * @throws IOException Could not replay the stream
+     */
+    void runScaling (final ReplayStream stream, final int warmup, final int iterations) throws IOException
+    {
+        System.out.println (String.format (Locale.US, "Stream: %d batches, %d updates, %.1f s", Integer.valueOf (stream.getBatches ().size ()), Long.valueOf (stream.getNumUpdates ()), Double.valueOf (stream.getDuration () / 1000.0)));
+
+        final List<IControllerInstance> running = new ArrayList<> ();
+        for (final IControllerInstance instance: this.instances)
+        {
+            if (instance.isRunning ())
+                running.add (instance);
+        }
+
+        final long errors = this.logModel.errors.sum ();
+        for (int numInstances = 1; numInstances <= running.size (); numInstances++)
+        {
+            final int numEnabled = numInstances;
+            this.runOnUIThread ( () -> {
+                for (int i = 0; i < running.size (); i++)
+                    running.get (i).setEnabled (i < numEnabled);
+            });
+
+            for (int i = 0; i < warmup; i++)
+                this.replayUpdates (stream);
+            this.parseTimes.reset ();
+            this.applyTimes.reset ();
+            for (int i = 0; i < iterations; i++)
+                this.replayUpdates (stream);
+
+            final double parse = this.parseTimes.getStatistics ().average () * 1000.0;
+            final double apply = this.applyTimes.getStatistics ().average () * 1000.0;
+            System.out.println (String.format (Locale.US, "%d instances (%s): parse %.1f us/batch, apply %.1f us/batch (%.1f us per instance), total %.1f us/batch, parsing for each instance would add %.1f us/batch", Integer.valueOf (numInstances), running.get (numInstances - 1).getDefinition (), Double.valueOf (parse), Double.valueOf (apply), Double.valueOf (apply / numInstances), Double.valueOf (parse + apply), Double.valueOf ((numInstances - 1) * parse)));
+        }
+
+        this.runOnUIThread ( () -> running.forEach (instance -> instance.setEnabled (true)));
+        System.out.println (String.format ("%d errors", Long.valueOf (this.logModel.errors.sum () - errors)));
+    }
+
+
+    /**
+     * Parse and apply the model updates of all batches of the stream as fast as possible.
+     *
+     * @param stream The stream
+     * @throws IOException Could not replay the stream
+     */
+    private void replayUpdates (final ReplayStream stream) throws IOException
+    {
+        final List<ReplayStream.Batch> batches = stream.getBatches ();
+        for (int i = 0; i < batches.size (); i++)
+        {
+            final ReplayStream.Batch batch = batches.get (i);
+            if (batch.numUpdates () == 0)
+                continue;
+            if (this.binaryUpdates == null)
+                this.apply (batch.updates ());
+            else
+                this.apply (this.binaryUpdates.get (i));
+        }
+    }
+
+
+    /**
+     * Replay the stream once.
+     *
+     * @param stream The stream
+     * @param speed The speed factor, 0 to replay as fast as possible
+     * @return The result
+     * @throws IOException Could not replay the stream
+     */
+    private Iteration replay (final ReplayStream stream, final double speed) throws IOException
+    {
+        final long allocatedStart = this.getAllocatedBytes ();
+        final long start = System.nanoTime ();
+        long busyTime = 0;
+        long updates = 0;
+        long midiEvents = 0;
+        long flushes = 0;
+        long nextFlush = 0;
+
+        final List<ReplayStream.Batch> batches = stream.getBatches ();
+        for (int i = 0; i < batches.size (); i++)
+        {
+            final ReplayStream.Batch batch = batches.get (i);
+            if (speed > 0)
+            {
+                final long due = start + (long) (TimeUnit.MILLISECONDS.toNanos (batch.time ()) / speed);
+                long delay;
+                while ((delay = due - System.nanoTime ()) > 0)
+                    LockSupport.parkNanos (delay);
+            }
+
+            while (nextFlush <= batch.time ())
+            {
+                busyTime += this.flush ();
+                flushes++;
+                nextFlush += FLUSH_INTERVAL;
+            }
+
+            if (batch.numUpdates () > 0)
+            {
+                busyTime += this.binaryUpdates == null ? this.apply (batch.updates ()) : this.apply (this.binaryUpdates.get (i));
+                updates += batch.numUpdates ();
+            }
+
+            for (final ReplayStream.MidiEvent event: batch.midiEvents ())
+            {
+                final long midiStart = System.nanoTime ();
+                this.handleMidi (event);
+                final long midiTime = System.nanoTime () - midiStart;
+                this.midiTimes.record (midiTime);
+                busyTime += midiTime;
+                midiEvents++;
+            }
+        }
+
+        busyTime += this.flush ();
+        flushes++;
+
+        final long wallTime = System.nanoTime () - start;
+        return new Iteration (wallTime, busyTime, updates, midiEvents, flushes, this.getAllocatedBytes () - allocatedStart);
+    }
+
+
+    /**
+     * Parse the updates on the calling thread and apply them on the UI thread.
+     *
+     * @param updates The updates separated by line breaks
+     * @return The time it took in nanoseconds
+     * @throws IOException Could not apply the updates
+     */
+    private long apply (final String updates) throws IOException
+    {
+        final long parseStart = System.nanoTime ();
+        final List<UpdateCommand> commands = this.parse (updates);
+        return this.apply (commands, System.nanoTime () - parseStart);
+    }
+
+
+    /**
+     * Decode the binary updates on the calling thread and apply them on the UI thread.
+     *
+     * @param updates The encoded updates
+     * @return The time it took in nanoseconds
+     * @throws IOException Could not apply the updates
+     */
+    private long apply (final ByteBuffer updates) throws IOException
+    {
+        final long parseStart = System.nanoTime ();
+        final List<UpdateCommand> commands = this.updateDecoder.decode (updates.duplicate (), message -> this.logModel.error (message, null));
+        return this.apply (commands, System.nanoTime () - parseStart);
+    }
+
+
+    /**
+     * Parse the updates.
+     *
+     * @param updates The updates separated by line breaks
+     * @return The commands
+     */
+    private List<UpdateCommand> parse (final String updates)
+    {
+        final List<UpdateCommand> commands = new ArrayList<> ();
+        final int length = updates.length ();
+        int lineStart = 0;
+        while (lineStart < length)
+        {
+            int lineEnd = updates.indexOf ('\n', lineStart);
+            if (lineEnd < 0)
+                lineEnd = length;
+            if (lineEnd > lineStart)
+            {
+                try
+                {
+                    final UpdateCommand command = this.updateParser.parse (updates, lineStart, lineEnd);
+                    if (command == null)
+                        this.logModel.info ("Unhandled OSC address: " + updates.substring (lineStart, lineEnd));
+                    else
+                        commands.add (command);
+                }
+                catch (final IllegalArgumentException ex)
+                {
+                    this.logModel.error ("Could not parse update: " + updates.substring (lineStart, lineEnd), ex);
+                }
+            }
+            lineStart = lineEnd + 1;
+        }
+        return commands;
+    }
+
+
+    /**
+     * Apply the commands on the UI thread.
+     *
+     * @param commands The commands
+     * @param parseTime The time it took to parse the commands in nanoseconds
+     * @return The time it took to parse and apply the commands in nanoseconds
+     * @throws IOException Could not apply the updates
+     */
+    private long apply (final List<UpdateCommand> commands, final long parseTime) throws IOException
+    {
+        this.parseTimes.record (parseTime);
+
+        final long [] applyTime = new long [1];
+        this.runOnUIThread ( () -> {
+            final long applyStart = System.nanoTime ();
+            this.instanceManager.applyAll (commands);
+            applyTime[0] = System.nanoTime () - applyStart;
+        });
+        this.applyTimes.record (applyTime[0]);
+        return parseTime + applyTime[0];
+    }
+
+
+    /**
+     * Flush all controllers on the UI thread and wait until the flush handlers of all surfaces,
+     * which are executed asynchronously, have finished.
+     *
+     * @return The time from the request until the last flush handler has finished in nanoseconds
+     * @throws IOException Could not flush the controllers or a flush did not finish in time
+     */
+    private long flush () throws IOException
+    {
+        final long [] flushTime = new long [1];
+        final long start = System.nanoTime ();
+        this.runOnUIThread ( () -> {
+            final long flushStart = System.nanoTime ();
+            this.instanceManager.flushAll ();
+            flushTime[0] = System.nanoTime () - flushStart;
+        });
+        this.flushTimes.record (flushTime[0]);
+
+        Arrays.fill (this.isFlushed, false);
+        final long timeout = start + TimeUnit.MILLISECONDS.toNanos (FLUSH_TIMEOUT);
+        int numPending = this.isFlushed.length;
+        while (numPending > 0)
+        {
+            for (int i = 0; i < this.isFlushed.length; i++)
+            {
+                final FlushedSurface flushedSurface = this.flushedSurfaces.get (i);
+                if (!this.isFlushed[i] && !flushedSurface.surface ().isFlushPending ())
+                {
+                    flushedSurface.flushTimes ().record (System.nanoTime () - start);
+                    this.isFlushed[i] = true;
+                    numPending--;
+                }
+            }
+
+            if (numPending > 0)
+            {
+                if (System.nanoTime () > timeout)
+                    throw new IOException ("The flush of the controllers did not finish in " + FLUSH_TIMEOUT + " ms.");
+                Thread.onSpinWait ();
+            }
+        }
+
+        return System.nanoTime () - start;
+    }
+
+
+    /**
+     * Hand a MIDI message to the virtual input port, like the DLL does.
+     *
+     * @param event The MIDI message
+     */
+    private void handleMidi (final ReplayStream.MidiEvent event)
+    {
+        final ReaperMidiDevice input = MidiAccessImpl.getInputDevice (event.deviceID ());
+        if (input == null)
+            return;
+
+        final byte [] data = event.data ();
+        try
+        {
+            if ((data[0] & 0xFF) == 0xF0)
+                input.handleMidiMessageFromBackend (new SysexMessage (data, data.length));
+            else if (data.length == 3)
+                input.handleShortMessageFromBackend (data[0] & 0xFF, data[1] & 0xFF, data[2] & 0xFF);
+            else
+                throw new InvalidMidiDataException ("Unknown MIDI data of length " + data.length);
+        }
+        catch (final InvalidMidiDataException ex)
+        {
+            this.logModel.info (ex.getMessage ());
+        }
+    }
+
+
+    /**
+     * Execute the runnable on the UI thread and wait until it has finished.
+     *
+     * @param runnable The runnable
+     * @throws IOException The runnable failed or the waiting was interrupted
+     */
+    void runOnUIThread (final Runnable runnable) throws IOException
+    {
+        try
+        {
+            SwingUtilities.invokeAndWait (runnable);
+        }
+        catch (final InvocationTargetException ex)
+        {
+            throw new IOException ("Error on the UI thread.", ex.getCause ());
+        }
+        catch (final InterruptedException ex)
+        {
+            Thread.currentThread ().interrupt ();
+            throw new IOException ("Interrupted.", ex);
+        }
+    }
+
+
+    /**
+     * Get the number of bytes which were allocated by all living threads.
+     *
+     * @return The number of bytes, 0 if not supported
+     */
+    private long getAllocatedBytes ()
+    {
+        if (this.threadBean == null)
+            return 0;
+        return Arrays.stream (this.threadBean.getThreadAllocatedBytes (this.threadBean.getAllThreadIds ())).filter (bytes -> bytes > 0).sum ();
+    }
+
+
+    /**
+     * Stop the controllers and remove the temporary configuration folder.
+     */
+    void shutdown ()
+    {
+        this.instanceManager.stopAll ();
+
+        try (final Stream<Path> files = Files.walk (this.configPath.toPath ()))
+        {
+            files.sorted (Comparator.reverseOrder ()).map (Path::toFile).forEach (File::delete);
+        }
+        catch (final IOException ex)
+        {
+            this.logModel.error ("Could not remove the configuration folder.", ex);
+        }
+    }
+}
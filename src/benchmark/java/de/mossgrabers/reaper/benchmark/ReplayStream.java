@@ -0,0 +1,369 @@
+// Written by Jürgen Moßgraber - mossgrabers.de
+// (c) 2017-2026
+// Licensed under LGPLv3 - http://www.gnu.org/licenses/lgpl-3.0.txt
+
+package de.mossgrabers.reaper.benchmark;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+
+/**
+ * A recorded (or generated) stream of model updates from Reaper and MIDI messages from the
+ * controllers. The stream is split into batches. Each batch has a time offset and contains the
+ * updates which the DLL sent in one block, followed by the MIDI messages which were received at
+ * that time.
+ *
+ * The text format of a stream file is line based:
+ *
+ * <pre>
+ * # A comment
+ * &#64;30                          Starts a new batch 30 milliseconds after the start
+ * /track/0/volume 0.5          A model update in the pseudo OSC format
+ * midi 0 E0 00 40              A MIDI message (hex bytes) received on the MIDI input with ID 0
+ * midi 1 F0 00 20 29 F7        System exclusive messages are written the same way
+ * </pre>
+ *
+ * Lines before the first batch marker belong to a batch at time 0. A stream can be recorded in the
+ * application with the option 'Record replay stream' of the debug menu, see ReplayRecorder.
+ *
+ * @author Jürgen Moßgraber
+ */
+public class ReplayStream
+{
+    /**
+     * A MIDI message received from a controller.
+     *
+     * @param deviceID The ID of the MIDI input port
+     * @param data The bytes of the message
+     */
+    public record MidiEvent (int deviceID, byte [] data)
+    {
+        // Intentionally empty
+    }
+
+
+    /**
+     * A batch of the stream.
+     *
+     * @param time The offset from the start of the stream in milliseconds
+     * @param updates The model updates separated by line breaks, empty if there are none
+     * @param numUpdates The number of model updates
+     * @param midiEvents The received MIDI messages
+     */
+    public record Batch (long time, String updates, int numUpdates, List<MidiEvent> midiEvents)
+    {
+        // Intentionally empty
+    }
+
+
+    private static final String MIDI_TAG    = "midi";
+    private static final String TIME_TAG    = "@";
+    private static final String COMMENT     = "#";
+    private static final int    FADER_TOUCH = 0x68;
+
+    private final List<Batch>   batches;
+
+
+    /**
+     * Constructor.
+     *
+     * @param batches The batches ordered by their time
+     */
+    public ReplayStream (final List<Batch> batches)
+    {
+        this.batches = Collections.unmodifiableList (batches);
+    }
+
+
+    /**
+     * Get the batches.
+     *
+     * @return The batches ordered by their time
+     */
+    public List<Batch> getBatches ()
+    {
+        return this.batches;
+    }
+
+
+    /**
+     * Get the duration of the stream.
+     *
+     * @return The time of the last batch in milliseconds
+     */
+    public long getDuration ()
+    {
+        return this.batches.isEmpty () ? 0 : this.batches.get (this.batches.size () - 1).time ();
+    }
+
+
+    /**
+     * Get the number of model updates of all batches.
+     *
+     * @return The number of updates
+     */
+    public long getNumUpdates ()
+    {
+        long count = 0;
+        for (final Batch batch: this.batches)
+            count += batch.numUpdates ();
+        return count;
+    }
+
+
+    /**
+     * Get the number of MIDI messages of all batches.
+     *
+     * @return The number of messages
+     */
+    public long getNumMidiEvents ()
+    {
+        long count = 0;
+        for (final Batch batch: this.batches)
+            count += batch.midiEvents ().size ();
+        return count;
+    }
+
+
+    /**
+     * Get the highest ID of the MIDI input ports which are used in the stream.
+     *
+     * @return The ID or -1 if the stream does not contain MIDI messages
+     */
+    public int getMaxDeviceID ()
+    {
+        int max = -1;
+        for (final Batch batch: this.batches)
+        {
+            for (final MidiEvent event: batch.midiEvents ())
+                max = Math.max (max, event.deviceID ());
+        }
+        return max;
+    }
+
+
+    /**
+     * Read a stream from a file.
+     *
+     * @param file The file
+     * @return The stream
+     * @throws IOException Could not read the file or it contains an invalid line
+     */
+    public static ReplayStream read (final File file) throws IOException
+    {
+        final List<Batch> batches = new ArrayList<> ();
+        final HexFormat hexFormat = HexFormat.of ();
+
+        long time = 0;
+        StringBuilder updates = new StringBuilder ();
+        int numUpdates = 0;
+        List<MidiEvent> midiEvents = new ArrayList<> ();
+
+        try (final BufferedReader reader = Files.newBufferedReader (file.toPath (), StandardCharsets.UTF_8))
+        {
+            int lineNumber = 0;
+            String line;
+            while ((line = reader.readLine ()) != null)
+            {
+                lineNumber++;
+                line = line.trim ();
+                if (line.isEmpty () || line.startsWith (COMMENT))
+                    continue;
+
+                try
+                {
+                    if (line.startsWith (TIME_TAG))
+                    {
+                        final long nextTime = Long.parseLong (line.substring (TIME_TAG.length ()).trim ());
+                        if (nextTime < time)
+                            throw new IOException ("Line " + lineNumber + ": The time must not decrease.");
+                        if (numUpdates > 0 || !midiEvents.isEmpty ())
+                            batches.add (new Batch (time, updates.toString (), numUpdates, midiEvents));
+                        time = nextTime;
+                        updates = new StringBuilder ();
+                        numUpdates = 0;
+                        midiEvents = new ArrayList<> ();
+                    }
+                    else if (line.startsWith (MIDI_TAG + " "))
+                    {
+                        final String [] parts = line.split ("\\s+");
+                        if (parts.length < 3)
+                            throw new IOException ("Line " + lineNumber + ": A MIDI message requires a device ID and at least one byte.");
+                        final byte [] data = new byte [parts.length - 2];
+                        for (int i = 0; i < data.length; i++)
+                            data[i] = (byte) hexFormat.fromHexDigits (parts[i + 2]);
+                        midiEvents.add (new MidiEvent (Integer.parseInt (parts[1]), data));
+                    }
+                    else
+                    {
+                        if (numUpdates > 0)
+                            updates.append ('\n');
+                        updates.append (line);
+                        numUpdates++;
+                    }
+                }
+                catch (final IllegalArgumentException ex)
+                {
+                    throw new IOException ("Line " + lineNumber + ": " + ex.getMessage (), ex);
+                }
+            }
+        }
+
+        if (numUpdates > 0 || !midiEvents.isEmpty ())
+            batches.add (new Batch (time, updates.toString (), numUpdates, midiEvents));
+        return new ReplayStream (batches);
+    }
+
+
+    /**
+     * Write the stream to a file.
+     *
+     * @param file The file
+     * @throws IOException Could not write the file
+     */
+    public void write (final File file) throws IOException
+    {
+        final HexFormat hexFormat = HexFormat.of ().withUpperCase ();
+        try (final BufferedWriter writer = Files.newBufferedWriter (file.toPath (), StandardCharsets.UTF_8))
+        {
+            writer.write (COMMENT + " DrivenByMoss4Reaper replay stream");
+            writer.newLine ();
+            for (final Batch batch: this.batches)
+            {
+                writer.write (TIME_TAG + batch.time ());
+                writer.newLine ();
+                if (batch.numUpdates () > 0)
+                {
+                    writer.write (batch.updates ());
+                    writer.newLine ();
+                }
+                for (final MidiEvent event: batch.midiEvents ())
+                {
+                    writer.write (MIDI_TAG + " " + event.deviceID ());
+                    for (final byte b: event.data ())
+                        writer.write (" " + hexFormat.toHexDigits (b));
+                    writer.newLine ();
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Generate a stream which resembles a playing project: the play position and the VU meters
+     * are updated with every batch, volumes and parameters change from time to time. Each MIDI
+     * input receives short fader movements: a touch note, the pitch bend value and the release of
+     * the touch, like a Mackie control sends them. The same parameters always create the same
+     * stream.
+     *
+     * @param duration The duration in milliseconds
+     * @param interval The time between two batches in milliseconds
+     * @param numTracks The number of tracks
+     * @param numMidiInputs The number of MIDI inputs which receive messages
+     * @param seed The seed for the random values
+     * @return The stream
+     */
+    public static ReplayStream generate (final long duration, final int interval, final int numTracks, final int numMidiInputs, final long seed)
+    {
+        final Random random = new Random (seed);
+        final List<Batch> batches = new ArrayList<> ();
+
+        // The initial state of the project
+        final List<String> initial = new ArrayList<> ();
+        initial.add ("/project/name Benchmark");
+        initial.add ("/tempo 120");
+        initial.add ("/play 1");
+        initial.add ("/master/exists 1");
+        initial.add ("/track/count " + numTracks);
+        for (int i = 0; i < numTracks; i++)
+        {
+            initial.add ("/track/" + i + "/exists 1");
+            initial.add ("/track/" + i + "/number " + i);
+            initial.add ("/track/" + i + "/active 1");
+            initial.add ("/track/" + i + "/depth 0");
+            initial.add ("/track/" + i + "/name Track " + (i + 1));
+            initial.add ("/track/" + i + "/select " + (i == 0 ? 1 : 0));
+            initial.add ("/track/" + i + "/volume " + format (random.nextDouble ()));
+            initial.add ("/track/" + i + "/pan 0.5");
+        }
+        for (int i = 0; i < 8; i++)
+        {
+            initial.add ("/device/param/" + i + "/name Parameter " + (i + 1));
+            initial.add ("/device/param/" + i + "/value " + format (random.nextDouble ()));
+        }
+        batches.add (new Batch (0, String.join ("\n", initial), initial.size (), List.of ()));
+
+        final int [] faders = new int [numMidiInputs];
+        int tick = 0;
+        for (long time = interval; time <= duration; time += interval)
+        {
+            tick++;
+
+            final List<String> updates = new ArrayList<> ();
+            final double seconds = time / 1000.0;
+            updates.add ("/time " + format (seconds));
+            final int beat = (int) (seconds * 2);
+            updates.add ("/beat " + (beat / 4 + 1) + "." + (beat % 4 + 1) + ".00");
+            for (int i = 0; i < numTracks; i++)
+                updates.add ("/track/" + i + "/vu " + format (random.nextDouble ()));
+            updates.add ("/master/vu " + format (random.nextDouble ()));
+
+            if (tick % 10 == 0)
+            {
+                updates.add ("/track/" + random.nextInt (numTracks) + "/volume " + format (random.nextDouble ()));
+                updates.add ("/device/param/" + random.nextInt (8) + "/value " + format (random.nextDouble ()));
+            }
+            if (tick % 100 == 0)
+                updates.add ("/track/" + random.nextInt (numTracks) + "/name Track " + tick);
+
+            final List<MidiEvent> midiEvents = new ArrayList<> ();
+            if (tick % 2 == 0)
+            {
+                for (int i = 0; i < numMidiInputs; i++)
+                {
+                    faders[i] = Math.clamp (faders[i] + random.nextInt (-512, 513), 0, 16383);
+                    final int channel = random.nextInt (8);
+                    midiEvents.add (new MidiEvent (i, new byte []
+                    {
+                        (byte) 0x90,
+                        (byte) (FADER_TOUCH + channel),
+                        (byte) 127
+                    }));
+                    midiEvents.add (new MidiEvent (i, new byte []
+                    {
+                        (byte) (0xE0 | channel),
+                        (byte) (faders[i] & 0x7F),
+                        (byte) (faders[i] >> 7)
+                    }));
+                    midiEvents.add (new MidiEvent (i, new byte []
+                    {
+                        (byte) 0x90,
+                        (byte) (FADER_TOUCH + channel),
+                        0
+                    }));
+                }
+            }
+
+            batches.add (new Batch (time, String.join ("\n", updates), updates.size (), midiEvents));
+        }
+
+        return new ReplayStream (batches);
+    }
+
+
+    private static String format (final double value)
+    {
+        return String.format (Locale.US, "%.4f", Double.valueOf (value));
+    }
+}
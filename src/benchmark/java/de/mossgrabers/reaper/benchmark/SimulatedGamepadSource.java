@@ -0,0 +1,86 @@
+// Written by Jürgen Moßgraber - mossgrabers.de
+// (c) 2017-2026
+// Licensed under LGPLv3 - http://www.gnu.org/licenses/lgpl-3.0.txt
+
+package de.mossgrabers.reaper.benchmark;
+
+import de.mossgrabers.controller.gamepad.controller.IGamepadSource;
+
+import com.studiohartman.jamepad.ControllerAxis;
+import com.studiohartman.jamepad.ControllerButton;
+
+
+/**
+ * A gamepad which is operated by code instead of a player. Remembers the time of the last change to
+ * measure how long it takes until the change is reported.
+ *
+ * @author Jürgen Moßgraber
+ */
+public class SimulatedGamepadSource implements IGamepadSource
+{
+    private final boolean [] buttons     = new boolean [ControllerButton.values ().length];
+    private final float []   axes        = new float [ControllerAxis.values ().length];
+
+    private boolean          isConnected = true;
+    private long             changeTime  = System.nanoTime ();
+
+
+    /**
+     * Press or release a button.
+     *
+     * @param button The button
+     * @param isPressed True to press
+     */
+    public synchronized void setButton (final ControllerButton button, final boolean isPressed)
+    {
+        this.buttons[button.ordinal ()] = isPressed;
+        this.changeTime = System.nanoTime ();
+    }
+
+
+    /**
+     * Move an axis.
+     *
+     * @param axis The axis
+     * @param position The position in the range of [-1..1]
+     */
+    public synchronized void setAxis (final ControllerAxis axis, final float position)
+    {
+        this.axes[axis.ordinal ()] = position;
+        this.changeTime = System.nanoTime ();
+    }
+
+
+    /**
+     * Connect or disconnect the gamepad.
+     *
+     * @param isConnected True to connect
+     */
+    public synchronized void setConnected (final boolean isConnected)
+    {
+        this.isConnected = isConnected;
+    }
+
+
+    /**
+     * Get the time of the last change of a button or axis.
+     *
+     * @return The time (System.nanoTime)
+     */
+    public synchronized long getChangeTime ()
+    {
+        return this.changeTime;
+    }
+
+
+    /** {@inheritDoc} */
+    @Override
+    public synchronized boolean read (final boolean [] buttons, final float [] axes)
+    {
+        if (!this.isConnected)
+            return false;
+        System.arraycopy (this.buttons, 0, buttons, 0, this.buttons.length);
+        System.arraycopy (this.axes, 0, axes, 0, this.axes.length);
+        return true;
+    }
+}
@@ -148,6 +148,7 @@ import de.mossgrabers.framework.featuregroup.IView;
 import de.mossgrabers.framework.featuregroup.ModeManager;
 import de.mossgrabers.framework.featuregroup.ViewManager;
 import de.mossgrabers.framework.mode.Modes;
+import de.mossgrabers.framework.observer.ModelArea;
 import de.mossgrabers.framework.utils.ButtonEvent;
 import de.mossgrabers.framework.view.ColorView;
 import de.mossgrabers.framework.view.ScenePlayView;
@@ -322,7 +323,7 @@ public class PushControllerSetup extends AbstractControllerSetup<PushControlSurf
         if (this.pushVersion == PushVersion.VERSION_1)
             surface.addTextDisplay (new Push1Display (this.host, this.valueChanger.getUpperBound (), output, this.configuration));
         else
-            surface.addGraphicsDisplay (new Push2Display (this.host, this.valueChanger.getUpperBound (), this.configuration));
+            surface.addGraphicsDisplay (new Push2Display (this.host, this.valueChanger.getUpperBound (), this.configuration, surface.getLatencyTrace ()));
 
         surface.getModeManager ().setDefaultID (Modes.TRACK);
 
@@ -719,6 +720,9 @@ public class PushControllerSetup extends AbstractControllerSetup<PushControlSurf
         }
 
         this.addButton (ButtonID.BROWSE, "Browse", new BrowserCommand<> (this.model, surface), isPush3 ? PushControlSurface.PUSH_BUTTON_HOT_SWAP : PushControlSurface.PUSH_BUTTON_BROWSE, () -> modeManager.isActive (Modes.BROWSER));
+
+        this.enableChangeTracking (ModelArea.TRANSPORT, ButtonID.PLAY, ButtonID.METRONOME);
+        this.enableChangeTracking (ModelArea.PROJECT, ButtonID.UNDO, ButtonID.SAVE);
     }
 
 
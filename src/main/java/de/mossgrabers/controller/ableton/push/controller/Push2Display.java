@@ -9,6 +9,7 @@ import de.mossgrabers.framework.controller.display.AbstractGraphicDisplay;
 import de.mossgrabers.framework.daw.IHost;
 import de.mossgrabers.framework.graphics.DefaultGraphicsDimensions;
 import de.mossgrabers.framework.graphics.IBitmap;
+import de.mossgrabers.framework.utils.LatencyTracer;
 
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -33,12 +34,13 @@ public class Push2Display extends AbstractGraphicDisplay
      * @param host The host
      * @param maxParameterValue The maximum parameter value (upper bound)
      * @param configuration The Push configuration
+     * @param latencyTrace Where to stamp the sent frames if the latency tracing is enabled
      */
-    public Push2Display (final IHost host, final int maxParameterValue, final PushConfiguration configuration)
+    public Push2Display (final IHost host, final int maxParameterValue, final PushConfiguration configuration, final LatencyTracer.Trace latencyTrace)
     {
         super (host, configuration, new DefaultGraphicsDimensions (960, 160, maxParameterValue), "Push 2 Display");
 
-        this.usbDisplay = new PushUsbDisplay (host);
+        this.usbDisplay = new PushUsbDisplay (host, latencyTrace);
     }
 
 
@@ -88,6 +90,6 @@ public class Push2Display extends AbstractGraphicDisplay
     protected void send (final IBitmap image)
     {
         if (!this.isShutdown && this.usbDisplay != null)
-            this.usbDisplay.send (image);
+            this.usbDisplay.send (image, this.getChangedArea ());
     }
 }
\ No newline at end of file
@@ -0,0 +1,144 @@
+// Written by Jürgen Moßgraber - mossgrabers.de
+// (c) 2017-2026
+// Licensed under LGPLv3 - http://www.gnu.org/licenses/lgpl-3.0.txt
+
+package de.mossgrabers.controller.ableton.push.controller;
+
+import de.mossgrabers.framework.graphics.IEncoder;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+
+
+/**
+ * Encodes an image into the frame format of the Push 2/3 display: 16 bit pixels (5 bits blue, 6
+ * bits green, 5 bits red) in little endian order, each line padded to the line size of the frame
+ * and XORed with the signal shaping pattern. The image is processed line by line as integers, which
+ * also allows the JIT to vectorize the inner loop. If only some columns were rendered again, only
+ * these are encoded and the rest of the frame is kept.
+ *
+ * @author Jürgen Moßgraber
+ */
+public class PushDisplayEncoder implements IEncoder
+{
+    /**
+     * The signal shaping pattern 0xFFE7F3E7 split into the XOR masks for the pixels at even and odd
+     * positions.
+     *
+     * @see <a href=
+     *      "https://github.com/Ableton/push-interface/blob/master/doc/AbletonPush2MIDIDisplayInterface.asc#324-xoring-pixel-data">XORing
+     *      Pixel Data</a>
+     */
+    private static final int MASK_EVEN = 0xF3E7;
+    private static final int MASK_ODD  = 0xFFE7;
+
+    private final short []   frame;
+    private int []           line      = new int [0];
+    private boolean          hasChanged;
+
+
+    /**
+     * Constructor.
+     *
+     * @param frameSize The size of a frame in bytes
+     */
+    public PushDisplayEncoder (final int frameSize)
+    {
+        this.frame = new short [frameSize / 2];
+
+        // Start with a black frame
+        for (int i = 0; i < this.frame.length; i++)
+            this.frame[i] = (short) ((i & 1) == 0 ? MASK_EVEN : MASK_ODD);
+    }
+
+
+    /** {@inheritDoc} */
+    @Override
+    public void encode (final ByteBuffer imageBuffer, final int width, final int height)
+    {
+        this.encode (imageBuffer, width, height, 0, width);
+    }
+
+
+    /** {@inheritDoc} */
+    @Override
+    public void encode (final ByteBuffer imageBuffer, final int width, final int height, final int left, final int right)
+    {
+        // The image buffer contains blue, green, red and an unused byte for each pixel
+        final IntBuffer pixels = imageBuffer.duplicate ().order (ByteOrder.LITTLE_ENDIAN).asIntBuffer ();
+        if (this.line.length != width)
+            this.line = new int [width];
+        final int [] data = this.line;
+        final short [] output = this.frame;
+        final int lineSize = output.length / height;
+
+        // Start at an even column to keep the order of the masks
+        final int start = Math.max (0, left & ~1);
+        final int end = Math.min (width, right);
+
+        int difference = 0;
+        int pos = 0;
+        for (int y = 0; y < height; y++)
+        {
+            pixels.get (y * width + start, data, start, end - start);
+
+            // The line size is even, therefore the masks alternate with the pixels of a line
+            int x = start;
+            for (; x + 1 < end; x += 2)
+            {
+                final short even = encodePixel (data[x], MASK_EVEN);
+                final short odd = encodePixel (data[x + 1], MASK_ODD);
+                difference |= output[pos + x] ^ even | output[pos + x + 1] ^ odd;
+                output[pos + x] = even;
+                output[pos + x + 1] = odd;
+            }
+            if (x < end)
+            {
+                final short even = encodePixel (data[x], MASK_EVEN);
+                difference |= output[pos + x] ^ even;
+                output[pos + x] = even;
+            }
+
+            // The padding of a line does not change, it is initialized in the constructor
+            pos += lineSize;
+        }
+
+        this.hasChanged = difference != 0;
+    }
+
+
+    /**
+     * Convert a pixel to 16 bit and apply the signal shaping mask.
+     *
+     * @param pixel The pixel as an integer with 8 bits for red, green and blue
+     * @param mask The signal shaping mask
+     * @return The encoded pixel
+     */
+    private static short encodePixel (final int pixel, final int mask)
+    {
+        return (short) (((pixel & 0xF8) << 8 | pixel >> 5 & 0x07E0 | pixel >> 19 & 0x1F) ^ mask);
+    }
+
+
+    /**
+     * Check if the frame has changed with the last call to encode.
+     *
+     * @return True if it has changed
+     */
+    public boolean hasChanged ()
+    {
+        return this.hasChanged;
+    }
+
+
+    /**
+     * Copy the encoded frame into a buffer, e.g. the memory block of an USB transfer.
+     *
+     * @param buffer The buffer, must have at least the size of the frame
+     */
+    public void copyTo (final ByteBuffer buffer)
+    {
+        buffer.duplicate ().order (ByteOrder.LITTLE_ENDIAN).asShortBuffer ().put (this.frame);
+    }
+}
@@ -4,17 +4,15 @@
 
 package de.mossgrabers.controller.ableton.push.controller;
 
-import java.nio.ByteBuffer;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.TimeUnit;
-
 import de.mossgrabers.framework.daw.IHost;
 import de.mossgrabers.framework.daw.IMemoryBlock;
 import de.mossgrabers.framework.graphics.IBitmap;
+import de.mossgrabers.framework.graphics.IBounds;
 import de.mossgrabers.framework.usb.IUsbDevice;
 import de.mossgrabers.framework.usb.IUsbEndpoint;
 import de.mossgrabers.framework.usb.UsbException;
+import de.mossgrabers.framework.usb.UsbTransferPipeline;
+import de.mossgrabers.framework.utils.LatencyTracer;
 
 
 /**
@@ -29,6 +27,12 @@ public class PushUsbDisplay
 
     private static final int               TIMEOUT          = 1000;
 
+    /**
+     * The display turns black if it does not receive a frame for 2 seconds, therefore an unchanged
+     * frame is sent again after this time (in milliseconds).
+     */
+    private static final long              KEEP_ALIVE_TIME  = 1000;
+
     private static final byte []           DISPLAY_HEADER   =
     {
         (byte) 0xFF,
@@ -49,185 +53,119 @@ public class PushUsbDisplay
         0
     };
 
-    private IUsbDevice                     usbDevice;
-    private IUsbEndpoint                   usbEndpoint;
+    /** Double buffering: one frame is transferred while the next one is prepared. */
+    private static final int               NUM_BUFFERS      = 2;
+
     private final IHost                    host;
-    private final IMemoryBlock             headerBlock;
-    private final IMemoryBlock             imageBlock;
-    private final byte []                  byteStore        = new byte [DATA_SZ];
+    private final LatencyTracer.Trace      latencyTrace;
+    private final PushDisplayEncoder       encoder          = new PushDisplayEncoder (DATA_SZ);
+    private UsbTransferPipeline            pipeline;
+    private long                           lastSendTime     = 0;
+    private boolean                        isShutdown       = false;
 
     private final Object                   sendLock         = new Object ();
-    private final Object                   bufferUpdateLock = new Object ();
-    private final ScheduledExecutorService sendExecutor     = Executors.newSingleThreadScheduledExecutor ();
 
 
     /**
      * Connect to the USB port and claim the display interface.
      *
      * @param host The controller host
+     * @param latencyTrace Where to stamp the sent frames if the latency tracing is enabled
      */
-    public PushUsbDisplay (final IHost host)
+    public PushUsbDisplay (final IHost host, final LatencyTracer.Trace latencyTrace)
     {
         this.host = host;
+        this.latencyTrace = latencyTrace;
 
         try
         {
-            this.usbDevice = host.getUsbDevice (0);
-            this.usbEndpoint = this.usbDevice.getEndpoint (0, 0);
+            final IUsbDevice usbDevice = host.getUsbDevice (0);
+            final IUsbEndpoint usbEndpoint = usbDevice.getEndpoint (0, 0);
+
+            final IMemoryBlock headerBlock = host.createMemoryBlock (DISPLAY_HEADER.length);
+            headerBlock.createByteBuffer ().put (DISPLAY_HEADER);
+            this.pipeline = new UsbTransferPipeline (host, usbEndpoint, headerBlock, DATA_SZ, NUM_BUFFERS, TIMEOUT);
         }
         catch (final UsbException ex)
         {
-            this.usbDevice = null;
-            this.usbEndpoint = null;
+            this.pipeline = null;
             host.error ("Could not open USB output: " + ex.getLocalizedMessage ());
         }
-
-        this.headerBlock = host.createMemoryBlock (DISPLAY_HEADER.length);
-        this.headerBlock.createByteBuffer ().put (DISPLAY_HEADER);
-        this.imageBlock = host.createMemoryBlock (DATA_SZ);
     }
 
 
     /**
-     * Send the buffered image to the screen.
+     * Send the buffered image to the screen. The image is only transmitted if it differs from the
+     * previously sent one or to keep the display alive. The transfer is asynchronous, if the
+     * previous frame is still being transferred the new one replaces a frame which is still waiting.
      *
      * @param image An image of size 960 x 160 pixel
+     * @param changedArea The area which was rendered again since the last call, only its columns
+     *            are encoded again. Null if nothing was rendered, then the previous frame is only
+     *            sent to keep the display alive
      */
-    public void send (final IBitmap image)
+    public void send (final IBitmap image, final IBounds changedArea)
     {
-        // Copy to the buffer
-        synchronized (this.bufferUpdateLock)
+        synchronized (this.sendLock)
         {
-            image.encode ( (imageBuffer, width, height) -> {
-
-                int counter = 0;
-                final int padding = (DATA_SZ - height * width * 2) / height;
-
-                for (int y = 0; y < height; y++)
-                {
-                    for (int x = 0; x < width; x++)
-                    {
-                        final int blue = imageBuffer.get ();
-                        final int green = imageBuffer.get ();
-                        final int red = imageBuffer.get ();
-                        imageBuffer.get (); // Drop unused Alpha
-
-                        final int pixel = sPixelFromRGB (red, green, blue);
-
-                        this.byteStore[counter] = (byte) (pixel & 0x00FF);
-                        this.byteStore[counter + 1] = (byte) ((pixel & 0xFF00) >> 8);
-
-                        counter += 2;
-                    }
-
-                    for (int x = 0; x < padding; x++)
-                    {
-                        this.byteStore[counter] = (byte) 0x00;
-                        counter++;
-                    }
-                }
+            if (this.isShutdown || this.pipeline == null)
+                return;
 
-                this.signalShaping ();
+            if (changedArea != null)
+                image.encode (this.encoder, changedArea);
+            final long now = System.currentTimeMillis ();
+            if ((changedArea == null || !this.encoder.hasChanged ()) && now - this.lastSendTime < KEEP_ALIVE_TIME)
+                return;
+            this.lastSendTime = now;
 
-                imageBuffer.rewind ();
-            });
+            this.encoder.copyTo (this.pipeline.acquire ());
+            this.pipeline.submit ();
         }
 
-        synchronized (this.sendLock)
-        {
-            if (!this.sendExecutor.isShutdown ())
-                this.sendExecutor.submit (this::sendData);
-        }
+        this.latencyTrace.stamp (LatencyTracer.Stage.DISPLAY);
     }
 
 
     /**
-     * Before sending a line buffer, it must be XORED with the 32 bit signal shaping pattern
-     * 0xFFE7F3E7 (i.e. the pixel data bits at positions which are 1 in the pattern must be
-     * inverted).
-     *
-     * @see <a href=
-     *      "https://github.com/Ableton/push-interface/blob/master/doc/AbletonPush2MIDIDisplayInterface.asc#324-xoring-pixel-data">XORing
-     *      Pixel Data</a>
+     * Stops all transfers to the device.
      */
-    private void signalShaping ()
-    {
-        for (int pos = 0; pos < this.byteStore.length; pos += 4)
-        {
-            this.byteStore[pos] ^= 0xE7;
-            this.byteStore[pos + 1] ^= 0xF3;
-            this.byteStore[pos + 2] ^= 0xE7;
-            this.byteStore[pos + 3] ^= 0xFF;
-        }
-    }
-
-
-    private void sendData ()
+    public void shutdown ()
     {
-        // Copy the data from the buffer to the USB block
-        synchronized (this.bufferUpdateLock)
+        final UsbTransferPipeline p;
+        synchronized (this.sendLock)
         {
-            final ByteBuffer buffer = this.imageBlock.createByteBuffer ();
-            buffer.clear ();
-            for (int i = 0; i < DATA_SZ; i++)
-                buffer.put (this.byteStore[i]);
+            this.isShutdown = true;
+            p = this.pipeline;
+            this.pipeline = null;
         }
+        if (p == null)
+            return;
 
-        // Send the data
-        synchronized (this.sendLock)
+        // Wait outside of the lock, the transfer might need to be completed by another thread
+        try
         {
-            if (this.usbDevice == null || this.usbEndpoint == null)
-                return;
-
-            this.usbEndpoint.send (this.headerBlock, TIMEOUT);
-            this.usbEndpoint.send (this.imageBlock, TIMEOUT);
+            if (!p.close (5000))
+                this.host.error ("USB transfer did not end in 5 seconds.");
         }
-    }
-
-
-    /**
-     * Stops all transfers to the device. Nulls the device.
-     */
-    public void shutdown ()
-    {
-        synchronized (this.sendLock)
+        catch (final InterruptedException ex)
         {
-            this.usbDevice = null;
-            this.usbEndpoint = null;
-
-            this.sendExecutor.shutdown ();
-            try
-            {
-                if (!this.sendExecutor.awaitTermination (5, TimeUnit.SECONDS))
-                    this.host.error ("USB Send executor did not end in 5 seconds.");
-            }
-            catch (final InterruptedException ex)
-            {
-                this.host.error ("USB Send executor interrupted.", ex);
-                Thread.currentThread ().interrupt ();
-            }
+            this.host.error ("USB transfer interrupted.", ex);
+            Thread.currentThread ().interrupt ();
         }
+        this.host.println ("Push display transfers: " + p.getStatistics ());
     }
 
 
     /**
-     * Check if the send executor is shutdown.
+     * Check if the display is shutdown.
      *
      * @return True if shutdown
      */
     public boolean isShutdown ()
     {
-        return this.sendExecutor.isShutdown ();
-    }
-
-
-    private static int sPixelFromRGB (final int red, final int green, final int blue)
-    {
-        int pixel = (blue & 0xF8) >> 3;
-        pixel <<= 6;
-        pixel += (green & 0xFC) >> 2;
-        pixel <<= 5;
-        pixel += (red & 0xF8) >> 3;
-        return pixel;
+        synchronized (this.sendLock)
+        {
+            return this.isShutdown;
+        }
     }
 }
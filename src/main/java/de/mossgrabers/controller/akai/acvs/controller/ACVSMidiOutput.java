@@ -11,6 +11,7 @@ import java.util.Optional;
 import de.mossgrabers.controller.akai.acvs.ACVSDevice;
 import de.mossgrabers.framework.controller.color.ColorEx;
 import de.mossgrabers.framework.daw.midi.IMidiOutput;
+import de.mossgrabers.framework.daw.midi.SysExBuilder;
 
 
 /**
@@ -36,7 +37,7 @@ public class ACVSMidiOutput implements IMidiOutput
             ID_DEVICE_MAP.put (Byte.valueOf (acvsDevice.getId ()), acvsDevice);
     }
 
-    private final byte []     pingMessage   =
+    private final byte []      pingMessage   =
     {
         (byte) 0xF0,
         0x47,
@@ -46,7 +47,7 @@ public class ACVSMidiOutput implements IMidiOutput
         (byte) 0xF7
     };
 
-    private final byte []     messageHeader =
+    private final byte []      messageHeader =
     {
         (byte) 0xF0,
         0x47,
@@ -54,7 +55,8 @@ public class ACVSMidiOutput implements IMidiOutput
         0x3B
     };
 
-    private final IMidiOutput output;
+    private final IMidiOutput  output;
+    private final SysExBuilder builder       = new SysExBuilder ();
 
 
     /**
@@ -119,17 +121,15 @@ public class ACVSMidiOutput implements IMidiOutput
      */
     public void sendText (final int itemID, final String text)
     {
-        final byte [] textBytes = text.getBytes ();
-        final int size = 4 + textBytes.length;
-        final byte [] data = new byte [size];
-        // Item ID MSB / LSB
-        data[0] = (byte) (itemID >> 8 & 0x7F);
-        data[1] = (byte) (itemID & 0x7F);
-        // Text length MSB / LSB
-        data[2] = (byte) (textBytes.length >> 8 & 0x7F);
-        data[3] = (byte) (textBytes.length & 0x7F);
-        System.arraycopy (textBytes, 0, data, 4, textBytes.length);
-        this.sendSysex (MESSAGE_ID_TEXT, data);
+        synchronized (this.builder)
+        {
+            this.startMessage (MESSAGE_ID_TEXT);
+            // Item ID MSB / LSB
+            this.builder.addValue (itemID >> 8).addValue (itemID);
+            // Text length MSB / LSB
+            this.builder.addValue (text.length () >> 8).addValue (text.length ());
+            this.builder.addAscii (text).end ().send (this.output);
+        }
     }
 
 
@@ -141,16 +141,15 @@ public class ACVSMidiOutput implements IMidiOutput
      */
     public void sendColor (final int itemID, final ColorEx color)
     {
-        final byte [] data = new byte [5];
-        // Item ID MSB / LSB
-        data[0] = (byte) (itemID >> 8 & 0x7F);
-        data[1] = (byte) (itemID & 0x7F);
-        // RGB
         final int [] rgb = color.toIntRGB127 ();
-        data[2] = (byte) rgb[0];
-        data[3] = (byte) rgb[1];
-        data[4] = (byte) rgb[2];
-        this.sendSysex (MESSAGE_ID_COLOR, data);
+        synchronized (this.builder)
+        {
+            this.startMessage (MESSAGE_ID_COLOR);
+            // Item ID MSB / LSB
+            this.builder.addValue (itemID >> 8).addValue (itemID);
+            // RGB
+            this.builder.addByte (rgb[0]).addByte (rgb[1]).addByte (rgb[2]).end ().send (this.output);
+        }
     }
 
 
@@ -162,13 +161,17 @@ public class ACVSMidiOutput implements IMidiOutput
      */
     public void sendSysex (final int messageTypeID, final byte [] data)
     {
-        final int size = this.messageHeader.length + data.length + 2;
-        final byte [] message = new byte [size];
-        System.arraycopy (this.messageHeader, 0, message, 0, this.messageHeader.length);
-        message[this.messageHeader.length] = (byte) messageTypeID;
-        System.arraycopy (data, 0, message, this.messageHeader.length + 1, data.length);
-        message[message.length - 1] = (byte) 0xF7;
-        this.output.sendSysex (message);
+        synchronized (this.builder)
+        {
+            this.startMessage (messageTypeID);
+            this.builder.addBytes (data).end ().send (this.output);
+        }
+    }
+
+
+    private void startMessage (final int messageTypeID)
+    {
+        this.builder.reset ().addBytes (this.messageHeader).addByte (messageTypeID);
     }
 
 
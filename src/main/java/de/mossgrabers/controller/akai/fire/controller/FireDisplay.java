@@ -4,14 +4,15 @@
 
 package de.mossgrabers.controller.akai.fire.controller;
 
-import java.util.Arrays;
-
 import de.mossgrabers.framework.controller.display.AbstractGraphicDisplay;
+import de.mossgrabers.framework.controller.display.MonochromeDisplayEncoder;
 import de.mossgrabers.framework.daw.IHost;
 import de.mossgrabers.framework.daw.midi.IMidiOutput;
+import de.mossgrabers.framework.daw.midi.SysExBuilder;
 import de.mossgrabers.framework.graphics.ChromaticGraphicsConfiguration;
 import de.mossgrabers.framework.graphics.DefaultGraphicsDimensions;
 import de.mossgrabers.framework.graphics.IBitmap;
+import de.mossgrabers.framework.graphics.IBounds;
 
 
 /**
@@ -35,15 +36,17 @@ public class FireDisplay extends AbstractGraphicDisplay
       };
     // @formatter:on
 
-    private static final int       STRIPE_SIZE   = 147;
-    private static final int       PACKET_SIZE   = 4 + STRIPE_SIZE;
-
-    private final IMidiOutput      output;
-    private final int [] []        oledBitmap    = new int [8] [STRIPE_SIZE];
-    private final int [] []        oldOledBitmap = new int [8] [STRIPE_SIZE];
-    private final byte []          data          = new byte [12 + STRIPE_SIZE];
+    private static final int               NUM_COLS      = 128;
+    private static final int               NUM_ROWS      = 64;
+    private static final int               NUM_BANDS     = NUM_ROWS / 8;
+    private static final int               STRIPE_SIZE   = 147;
+    /** A block of 7 columns of a band is packed into 8 bytes (7 bits each). */
+    private static final int               BLOCK_COLUMNS = 7;
+    private static final int               BLOCK_SIZE    = 8;
 
-    private long                   lastSend      = System.currentTimeMillis ();
+    private final IMidiOutput              output;
+    private final MonochromeDisplayEncoder encoder;
+    private final SysExBuilder             builder       = new SysExBuilder (12 + STRIPE_SIZE);
 
 
     /**
@@ -56,27 +59,12 @@ public class FireDisplay extends AbstractGraphicDisplay
      */
     public FireDisplay (final IHost host, final IMidiOutput output, final int maxParameterValue)
     {
-        super (host, new ChromaticGraphicsConfiguration (), new DefaultGraphicsDimensions (128, 64, maxParameterValue), "Fire Display");
+        super (host, new ChromaticGraphicsConfiguration (), new DefaultGraphicsDimensions (NUM_COLS, NUM_ROWS, maxParameterValue), "Fire Display");
 
         this.output = output;
 
-        this.data[0] = (byte) 0xF0;
-        this.data[1] = 0x47; // AKAI
-        this.data[2] = 0x7F; // All-Call
-        this.data[3] = 0x43; // Fire
-        this.data[4] = 0x0E; // WRITE OLED
-
-        // Pay-load length high
-        this.data[5] = (byte) (PACKET_SIZE / 128);
-        // Pay-load length low
-        this.data[6] = (byte) (PACKET_SIZE % 128);
-
-        // Start column of update
-        this.data[9] = 0x00;
-        // End column of update
-        this.data[10] = 0x7f;
-
-        this.data[this.data.length - 1] = (byte) 0xF7;
+        // Only blocks of 7 columns can be updated since they share their bytes
+        this.encoder = new MonochromeDisplayEncoder (NUM_COLS, NUM_ROWS, NUM_BANDS, STRIPE_SIZE, BLOCK_SIZE, FireDisplay::getBitPosition, this::sendBand);
     }
 
 
@@ -95,59 +83,59 @@ public class FireDisplay extends AbstractGraphicDisplay
     @Override
     protected void send (final IBitmap image)
     {
-        synchronized (this.data)
+        synchronized (this.encoder)
         {
-            image.encode ( (imageBuffer, width, height) -> {
-
-                // Unwind 128x64 arrangement into a 1024x8 arrangement of pixels
-                for (int stripe = 0; stripe < 8; stripe++)
-                {
-                    for (int y = 0; y < height / 8; y++)
-                    {
-                        for (int x = 0; x < width; x++)
-                        {
-                            final int blue = imageBuffer.get ();
-                            final int green = imageBuffer.get ();
-                            final int red = imageBuffer.get ();
-                            imageBuffer.get (); // Drop unused Alpha
-
-                            final int xpos = x + 128 * (y / 8);
-                            final int ypos = y % 8;
-
-                            // Re-map by tiling 7x8 block of translated pixels
-                            final int remapBit = BIT_MUTATE[ypos][xpos % 7];
-                            final int idx = xpos / 7 * 8 + remapBit / 7;
-                            if (blue + green + red < 0)
-                                this.oledBitmap[stripe][idx] |= 1 << remapBit % 7;
-                            else
-                                this.oledBitmap[stripe][idx] &= ~(1 << remapBit % 7);
-                        }
-                    }
-                }
-            });
-
-            // Convert to system exclusive and send to device
-            for (int stripe = 0; stripe < 8; stripe++)
-            {
-                // Start 8-pixel band of update
-                this.data[7] = (byte) stripe;
-                // End 8-pixel band of update (here, 8 bands of 8 pixels, i.e. the whole display)
-                this.data[8] = (byte) stripe;
-
-                for (int i = 0; i < STRIPE_SIZE; i++)
-                    this.data[11 + i] = (byte) this.oledBitmap[stripe][i];
-
-                // Slow down display updates to not flood the device controller
-                // Send if content has change or every 3 seconds if there was no change to keep
-                // the display from going into sleep mode
-                final long now = System.currentTimeMillis ();
-                if (Arrays.compare (this.oledBitmap[stripe], this.oldOledBitmap[stripe]) == 0 && now - this.lastSend < 3000)
-                    continue;
-                System.arraycopy (this.oledBitmap[stripe], 0, this.oldOledBitmap[stripe], 0, STRIPE_SIZE);
-                this.lastSend = now;
-
-                this.output.sendSysex (this.data);
-            }
+            // The encoder still contains the frame if the image was not rendered again, flush
+            // anyway to keep the display alive. Only the rendered columns are encoded again.
+            final IBounds changedArea = this.getChangedArea ();
+            if (changedArea != null)
+                image.encode (this.encoder, changedArea);
+            this.encoder.flush ();
         }
     }
-}
\ No newline at end of file
+
+
+    /**
+     * Send a range of a band to the device.
+     *
+     * @param band The index of the band
+     * @param start The index of the first byte in the band, a multiple of the block size
+     * @param end The index after the last byte in the band, a multiple of the block size or the end
+     *            of the band
+     * @param frame The frame which contains all bands
+     */
+    private void sendBand (final int band, final int start, final int end, final byte [] frame)
+    {
+        final int startColumn = start / BLOCK_SIZE * BLOCK_COLUMNS;
+        final int endColumn = end == STRIPE_SIZE ? NUM_COLS - 1 : end / BLOCK_SIZE * BLOCK_COLUMNS - 1;
+        final int length = end - start;
+
+        this.builder.reset ();
+        // AKAI, All-Call, Fire, WRITE OLED
+        this.builder.addHex ("F0 47 7F 43 0E");
+        // Pay-load length
+        this.builder.add14BitValue (4 + length);
+        // Start and end 8-pixel band of the update
+        this.builder.addValue (band).addValue (band);
+        // Start and end column of the update
+        this.builder.addValue (startColumn).addValue (endColumn);
+        this.builder.addBytes (frame, band * STRIPE_SIZE + start, length);
+        this.builder.end ().send (this.output);
+    }
+
+
+    /**
+     * Get the position of a pixel in the frame. The 8 rows of a band are packed into 7 bits per
+     * byte by tiling blocks of 7x8 pixels.
+     *
+     * @param x The horizontal position of the pixel
+     * @param y The vertical position of the pixel
+     * @return The position of the bit in the frame
+     */
+    private static int getBitPosition (final int x, final int y)
+    {
+        final int remapBit = BIT_MUTATE[y % 8][x % BLOCK_COLUMNS];
+        final int index = y / 8 * STRIPE_SIZE + x / BLOCK_COLUMNS * BLOCK_SIZE + remapBit / 7;
+        return index * 8 + remapBit % 7;
+    }
+}
@@ -22,6 +22,7 @@ import com.studiohartman.jamepad.ControllerManager;
  */
 public class GamepadControlSurface extends AbstractControlSurface<GamepadConfiguration>
 {
+    private final JamepadGamepadSource         gamepadSource;
     private final GamepadControllerInputThread gameControllerInputThread;
 
 
@@ -39,7 +40,8 @@ public class GamepadControlSurface extends AbstractControlSurface<GamepadConfigu
     {
         super (host, configuration, colorManager, null, input, null, 10, 10);
 
-        this.gameControllerInputThread = new GamepadControllerInputThread (host, gamepadManager, new GamepadFunctionHandler (this, model));
+        this.gamepadSource = new JamepadGamepadSource (host, gamepadManager);
+        this.gameControllerInputThread = new GamepadControllerInputThread (host, this.gamepadSource, new GamepadFunctionHandler (this, model));
         this.gameControllerInputThread.start ();
     }
 
@@ -67,6 +69,6 @@ public class GamepadControlSurface extends AbstractControlSurface<GamepadConfigu
      */
     public void selectGamepad (final int selectedGamepad)
     {
-        this.gameControllerInputThread.selectController (selectedGamepad);
+        this.gamepadSource.selectController (selectedGamepad);
     }
 }
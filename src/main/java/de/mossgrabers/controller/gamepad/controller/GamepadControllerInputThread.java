@@ -9,46 +9,64 @@ import de.mossgrabers.framework.utils.ButtonEvent;
 
 import com.studiohartman.jamepad.ControllerAxis;
 import com.studiohartman.jamepad.ControllerButton;
-import com.studiohartman.jamepad.ControllerIndex;
-import com.studiohartman.jamepad.ControllerManager;
-import com.studiohartman.jamepad.ControllerUnpluggedException;
 
-import java.util.EnumMap;
-import java.util.Map;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
 
 /**
- * Thread to monitor the input coming from a Gamepad.
+ * Thread to monitor the input coming from a Gamepad. The gamepad is polled every millisecond while
+ * it is used. If nothing changed for some time, the polling slows down until the next change. All
+ * changes of one poll are handed to the callback with one task.
  *
  * @author Jürgen Moßgraber
  */
 public class GamepadControllerInputThread implements Runnable
 {
-    private static final long                    INTERVAL           = 1;
+    /** The polling interval in milliseconds while the gamepad is used. */
+    public static final long                 ACTIVE_INTERVAL       = 1;
+    /** The polling interval in milliseconds while the gamepad is not used. */
+    public static final long                 IDLE_INTERVAL         = 16;
+    /** The polling interval in milliseconds while no gamepad is connected. */
+    public static final long                 DISCONNECTED_INTERVAL = 500;
+    /** The time in milliseconds without a change after which the gamepad is considered idle. */
+    public static final long                 IDLE_TIMEOUT          = 2000;
 
-    private final AtomicBoolean                  running            = new AtomicBoolean (false);
+    /** Axis positions closer to the center are reported as 0. */
+    private static final float               DEAD_ZONE             = 0.05f;
+    /** Smaller movements of an axis are ignored, this is still more than a 14 bit pitch bend. */
+    private static final float               MIN_AXIS_CHANGE       = 1.0f / 1024;
 
-    private final IHost                          host;
-    private final ControllerManager              gamepadManager;
-    private final IGamepadCallback               gamepadCallback;
-    private final Map<ControllerButton, Boolean> buttonStates       = new EnumMap<> (ControllerButton.class);
-    private final Map<ControllerAxis, Float>     axisStates         = new EnumMap<> (ControllerAxis.class);
+    private static final ControllerButton [] BUTTONS               = ControllerButton.values ();
+    private static final ControllerAxis []   AXES                  = ControllerAxis.values ();
 
-    private int                                  selectedController = -1;
+    private final AtomicBoolean              running               = new AtomicBoolean (false);
+    private final AtomicLong                 numPolls              = new AtomicLong ();
+
+    private final IHost                      host;
+    private final IGamepadSource             gamepadSource;
+    private final IGamepadCallback           gamepadCallback;
+    private final boolean []                 buttons               = new boolean [BUTTONS.length];
+    private final float []                   axes                  = new float [AXES.length];
+    private final boolean []                 buttonStates          = new boolean [BUTTONS.length];
+    private final float []                   axisStates            = new float [AXES.length];
+
+    private Thread                           thread;
 
 
     /**
      * Constructor.
      *
      * @param host The controller host
-     * @param gamepadManager The manager for connected gamepads
+     * @param gamepadSource Where to read the state of the selected gamepad
      * @param gamepadCallback Callback for events coming from the selected gamepad
      */
-    public GamepadControllerInputThread (final IHost host, final ControllerManager gamepadManager, final IGamepadCallback gamepadCallback)
+    public GamepadControllerInputThread (final IHost host, final IGamepadSource gamepadSource, final IGamepadCallback gamepadCallback)
     {
         this.host = host;
-        this.gamepadManager = gamepadManager;
+        this.gamepadSource = gamepadSource;
         this.gamepadCallback = gamepadCallback;
     }
 
@@ -56,39 +74,33 @@ public class GamepadControllerInputThread implements Runnable
     /**
      * Start the monitoring thread.
      */
-    public void start ()
+    public synchronized void start ()
     {
-        new Thread (this).start ();
+        this.running.set (true);
+        this.thread = new Thread (this, "Gamepad Input");
+        this.thread.start ();
     }
 
 
     /**
      * Stop the monitoring thread.
      */
-    public void stop ()
+    public synchronized void stop ()
     {
         this.running.set (false);
+        if (this.thread != null)
+            this.thread.interrupt ();
     }
 
 
     /**
-     * Select the controller at the given index.
+     * Get the number of times the gamepad was read since the start.
      *
-     * @param controllerIndex The index of the controller to select
+     * @return The number of polls
      */
-    public void selectController (final int controllerIndex)
+    public long getNumPolls ()
     {
-        synchronized (this.gamepadManager)
-        {
-            if (this.selectedController >= 0)
-            {
-                final ControllerIndex gamepad = this.gamepadManager.getControllerIndex (this.selectedController);
-                if (gamepad.isConnected ())
-                    gamepad.close ();
-            }
-
-            this.selectedController = controllerIndex;
-        }
+        return this.numPolls.get ();
     }
 
 
@@ -96,68 +108,42 @@ public class GamepadControllerInputThread implements Runnable
     @Override
     public void run ()
     {
-        this.running.set (true);
+        long interval = IDLE_INTERVAL;
+        long lastChange = System.nanoTime () - IDLE_TIMEOUT * 1_000_000L;
 
         try
         {
             while (this.running.get ())
             {
-                // Hand over to other running threads
                 try
                 {
-                    Thread.sleep (INTERVAL);
+                    Thread.sleep (interval);
                 }
                 catch (final InterruptedException ex)
                 {
                     Thread.currentThread ().interrupt ();
+                    break;
                 }
 
-                if (!this.running.get ())
-                    break;
+                this.numPolls.incrementAndGet ();
+                if (!this.gamepadSource.read (this.buttons, this.axes))
+                {
+                    interval = DISCONNECTED_INTERVAL;
+                    continue;
+                }
 
-                synchronized (this.gamepadManager)
+                final long now = System.nanoTime ();
+                final List<Runnable> events = this.detectChanges ();
+                if (!events.isEmpty ())
                 {
-                    if (this.selectedController < 0 || this.selectedController >= this.gamepadManager.getNumControllers ())
-                        continue;
-
-                    final ControllerIndex currController = this.gamepadManager.getControllerIndex (this.selectedController);
-                    if (!currController.isConnected ())
-                    {
-                        this.gamepadManager.update ();
-                        if (this.selectedController >= 0 && this.selectedController < this.gamepadManager.getNumControllers ())
-                            currController.reconnectController ();
-                        continue;
-                    }
-
-                    try
-                    {
-                        for (final ControllerButton button: ControllerButton.values ())
-                        {
-                            final boolean isPressed = currController.isButtonPressed (button);
-                            final Boolean state = this.buttonStates.getOrDefault (button, Boolean.FALSE);
-                            if (state.booleanValue () == isPressed)
-                                continue;
-
-                            this.buttonStates.put (button, Boolean.valueOf (isPressed));
-                            this.host.scheduleTask ( () -> this.gamepadCallback.process (button, isPressed ? ButtonEvent.DOWN : ButtonEvent.UP), 0);
-                        }
-
-                        for (final ControllerAxis axis: ControllerAxis.values ())
-                        {
-                            final float position = currController.getAxisState (axis);
-                            final Float state = this.axisStates.getOrDefault (axis, Float.valueOf (0));
-                            if (state.floatValue () == position)
-                                continue;
-
-                            this.axisStates.put (axis, Float.valueOf (position));
-                            this.host.scheduleTask ( () -> this.gamepadCallback.process (axis, position), 0);
-                        }
-                    }
-                    catch (final ControllerUnpluggedException ex)
-                    {
-                        this.host.error ("Controller not connected.");
-                    }
+                    lastChange = now;
+                    this.host.scheduleTask ( () -> {
+                        for (final Runnable event: events)
+                            event.run ();
+                    }, 0);
                 }
+
+                interval = now - lastChange < IDLE_TIMEOUT * 1_000_000L ? ACTIVE_INTERVAL : IDLE_INTERVAL;
             }
         }
         catch (final RuntimeException ex)
@@ -165,4 +151,47 @@ public class GamepadControllerInputThread implements Runnable
             this.host.error ("Controller error.", ex);
         }
     }
+
+
+    /**
+     * Compare the read state with the last reported one.
+     *
+     * @return The callback invocations for all changed buttons and axes
+     */
+    private List<Runnable> detectChanges ()
+    {
+        List<Runnable> events = List.of ();
+
+        for (int i = 0; i < BUTTONS.length; i++)
+        {
+            final boolean isPressed = this.buttons[i];
+            if (this.buttonStates[i] == isPressed)
+                continue;
+
+            this.buttonStates[i] = isPressed;
+            if (events.isEmpty ())
+                events = new ArrayList<> ();
+            final ControllerButton button = BUTTONS[i];
+            events.add ( () -> this.gamepadCallback.process (button, isPressed ? ButtonEvent.DOWN : ButtonEvent.UP));
+        }
+
+        for (int i = 0; i < AXES.length; i++)
+        {
+            final float position = Math.abs (this.axes[i]) < DEAD_ZONE ? 0 : this.axes[i];
+            final float state = this.axisStates[i];
+            if (state == position)
+                continue;
+            // Always report reaching the center or the end of the axis
+            if (Math.abs (position - state) < MIN_AXIS_CHANGE && position != 0 && Math.abs (position) < 1)
+                continue;
+
+            this.axisStates[i] = position;
+            if (events.isEmpty ())
+                events = new ArrayList<> ();
+            final ControllerAxis axis = AXES[i];
+            events.add ( () -> this.gamepadCallback.process (axis, position));
+        }
+
+        return events;
+    }
 }
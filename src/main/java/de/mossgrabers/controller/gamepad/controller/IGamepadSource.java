@@ -0,0 +1,24 @@
+// Written by Jürgen Moßgraber - mossgrabers.de
+// (c) 2017-2026
+// Licensed under LGPLv3 - http://www.gnu.org/licenses/lgpl-3.0.txt
+
+package de.mossgrabers.controller.gamepad.controller;
+
+/**
+ * Interface to read the state of a Gamepad. The buttons and axes are indexed by the ordinal of
+ * their ControllerButton and ControllerAxis.
+ *
+ * @author Jürgen Moßgraber
+ */
+public interface IGamepadSource
+{
+    /**
+     * Read the current state of the selected gamepad.
+     *
+     * @param buttons Is filled with the pressed state of all buttons
+     * @param axes Is filled with the positions of all axes in the range of [-1..1]
+     * @return False if no gamepad is selected or it is not connected, the content of the arrays is
+     *         undefined in that case
+     */
+    boolean read (boolean [] buttons, float [] axes);
+}
@@ -0,0 +1,99 @@
+// Written by Jürgen Moßgraber - mossgrabers.de
+// (c) 2017-2026
+// Licensed under LGPLv3 - http://www.gnu.org/licenses/lgpl-3.0.txt
+
+package de.mossgrabers.controller.gamepad.controller;
+
+import de.mossgrabers.framework.daw.IHost;
+
+import com.studiohartman.jamepad.ControllerAxis;
+import com.studiohartman.jamepad.ControllerButton;
+import com.studiohartman.jamepad.ControllerIndex;
+import com.studiohartman.jamepad.ControllerManager;
+import com.studiohartman.jamepad.ControllerUnpluggedException;
+
+
+/**
+ * Reads the state of a Gamepad which is connected via SDL.
+ *
+ * @author Jürgen Moßgraber
+ */
+public class JamepadGamepadSource implements IGamepadSource
+{
+    private static final ControllerButton [] BUTTONS            = ControllerButton.values ();
+    private static final ControllerAxis []   AXES               = ControllerAxis.values ();
+
+    private final IHost                      host;
+    private final ControllerManager          gamepadManager;
+
+    private int                              selectedController = -1;
+
+
+    /**
+     * Constructor.
+     *
+     * @param host The controller host
+     * @param gamepadManager The manager for connected gamepads
+     */
+    public JamepadGamepadSource (final IHost host, final ControllerManager gamepadManager)
+    {
+        this.host = host;
+        this.gamepadManager = gamepadManager;
+    }
+
+
+    /**
+     * Select the controller at the given index.
+     *
+     * @param controllerIndex The index of the controller to select
+     */
+    public void selectController (final int controllerIndex)
+    {
+        synchronized (this.gamepadManager)
+        {
+            if (this.selectedController >= 0)
+            {
+                final ControllerIndex gamepad = this.gamepadManager.getControllerIndex (this.selectedController);
+                if (gamepad.isConnected ())
+                    gamepad.close ();
+            }
+
+            this.selectedController = controllerIndex;
+        }
+    }
+
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean read (final boolean [] buttons, final float [] axes)
+    {
+        synchronized (this.gamepadManager)
+        {
+            if (this.selectedController < 0 || this.selectedController >= this.gamepadManager.getNumControllers ())
+                return false;
+
+            final ControllerIndex currController = this.gamepadManager.getControllerIndex (this.selectedController);
+            if (!currController.isConnected ())
+            {
+                this.gamepadManager.update ();
+                if (this.selectedController >= 0 && this.selectedController < this.gamepadManager.getNumControllers ())
+                    currController.reconnectController ();
+                return false;
+            }
+
+            try
+            {
+                for (int i = 0; i < BUTTONS.length; i++)
+                    buttons[i] = currController.isButtonPressed (BUTTONS[i]);
+                for (int i = 0; i < AXES.length; i++)
+                    axes[i] = currController.getAxisState (AXES[i]);
+                return true;
+            }
+            catch (final ControllerUnpluggedException ex)
+            {
+                this.host.error ("Controller not connected.");
+                return false;
+            }
+        }
+    }
+}
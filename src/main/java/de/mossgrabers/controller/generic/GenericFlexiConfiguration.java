@@ -12,6 +12,7 @@ import java.io.Reader;
 import java.io.Writer;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.EnumMap;
 import java.util.HashSet;
 import java.util.List;
@@ -20,6 +21,7 @@ import java.util.Optional;
 import java.util.Properties;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
 import de.mossgrabers.controller.generic.controller.CommandCategory;
 import de.mossgrabers.controller.generic.controller.FlexiCommand;
@@ -34,6 +36,7 @@ import de.mossgrabers.framework.configuration.IStringSetting;
 import de.mossgrabers.framework.controller.valuechanger.IValueChanger;
 import de.mossgrabers.framework.daw.IHost;
 import de.mossgrabers.framework.daw.midi.ArpeggiatorMode;
+import de.mossgrabers.framework.observer.IChangeSource;
 import de.mossgrabers.framework.observer.IValueObserver;
 import de.mossgrabers.framework.scale.Scales;
 import de.mossgrabers.framework.utils.FileEx;
@@ -264,6 +267,10 @@ public class GenericFlexiConfiguration extends AbstractConfiguration
     /** The number of command slots. */
     public static final int                          NUM_SLOTS                         = 300;
 
+    private static final int                         NUM_TYPES                         = CommandSlot.TYPE_MMC + 1;
+    private static final int                         NUM_NUMBERS                       = 128;
+    private static final int                         NUM_CHANNELS                      = 16;
+
     private IEnumSetting                             slotSelectionSetting;
     private IEnumSetting                             typeSetting;
     private IEnumSetting                             numberSetting;
@@ -300,6 +307,9 @@ public class GenericFlexiConfiguration extends AbstractConfiguration
 
     // Setting variables
     private final CommandSlot []                     commandSlots                      = new CommandSlot [NUM_SLOTS];
+    private volatile List<List<CommandSlot>>         slotIndex;
+    private volatile int []                          feedbackSlots;
+    private final AtomicLong                         changes                           = new AtomicLong ();
     private final IActionSetting []                  assignableFunctionActionsSettings = new IActionSetting [8];
     private final String []                          assignableFunctionActions         = new String [8];
     private String                                   keyboardInputName                 = "Generic Flexi";
@@ -492,7 +502,10 @@ public class GenericFlexiConfiguration extends AbstractConfiguration
         });
         this.functionLayerSetting.addValueObserver (value -> this.getSelectedSlot ().setFunctionLayer (lookupIndex (FUNCTION_LAYERS, value) - 1));
 
-        this.sendValueSetting.addValueObserver (value -> this.getSelectedSlot ().setSendValue (AbstractConfiguration.lookupIndex (AbstractConfiguration.ON_OFF_OPTIONS, value) > 0));
+        this.sendValueSetting.addValueObserver (value -> {
+            this.getSelectedSlot ().setSendValue (AbstractConfiguration.lookupIndex (AbstractConfiguration.ON_OFF_OPTIONS, value) > 0);
+            this.clearNoteMap ();
+        });
         this.sendValueWhenReceivedSetting.addValueObserver (value -> this.getSelectedSlot ().setSendValueWhenReceived (AbstractConfiguration.lookupIndex (AbstractConfiguration.ON_OFF_OPTIONS, value) > 0));
 
         ///////////////////////////////////////////////
@@ -586,6 +599,7 @@ public class GenericFlexiConfiguration extends AbstractConfiguration
         slot.setCommand (newCommand);
 
         this.fixKnobMode ();
+        this.clearNoteMap ();
         this.notifyCommandObserver ();
 
         final CommandCategory oldCategory = oldCommand.getCategory ();
@@ -649,17 +663,107 @@ public class GenericFlexiConfiguration extends AbstractConfiguration
      */
     public List<CommandSlot> getSlotCommands (final int type, final int number, final int midiChannel)
     {
-        final List<CommandSlot> results = new ArrayList<> ();
-        for (final CommandSlot slot: this.commandSlots)
+        if (type < 0 || type >= NUM_TYPES || number < 0 || number >= NUM_NUMBERS || midiChannel < 0 || midiChannel >= NUM_CHANNELS)
+            return Collections.emptyList ();
+        return this.getSlotIndex ().get (getIndexKey (type, type == CommandSlot.TYPE_PITCH_BEND ? 0 : number, midiChannel));
+    }
+
+
+    /**
+     * Get the indices of all slots which have a command assigned and send the value of the command
+     * to the device.
+     *
+     * @return The indices of the slots in ascending order, do not modify
+     */
+    public int [] getFeedbackSlots ()
+    {
+        this.getSlotIndex ();
+        return this.feedbackSlots;
+    }
+
+
+    /**
+     * Get the source which signals changes of the configuration (settings and slots).
+     *
+     * @return The change source
+     */
+    public IChangeSource getChangeSource ()
+    {
+        return this.changes::get;
+    }
+
+
+    /**
+     * Get the index which contains for each combination of type, number and MIDI channel all
+     * matching slots with a command. Creates the index if the slots were changed.
+     *
+     * @return The index
+     */
+    private List<List<CommandSlot>> getSlotIndex ()
+    {
+        final List<List<CommandSlot>> index = this.slotIndex;
+        if (index != null)
+            return index;
+
+        synchronized (this.syncMapUpdate)
         {
-            if (slot.getCommand () != FlexiCommand.OFF && slot.getType () == type && (type == CommandSlot.TYPE_PITCH_BEND || slot.getNumber () == number))
+            if (this.slotIndex != null)
+                return this.slotIndex;
+
+            final List<List<CommandSlot>> lists = new ArrayList<> (NUM_TYPES * NUM_NUMBERS * NUM_CHANNELS);
+            for (int i = 0; i < NUM_TYPES * NUM_NUMBERS * NUM_CHANNELS; i++)
+                lists.add (null);
+
+            final List<Integer> feedback = new ArrayList<> ();
+            for (int i = 0; i < this.commandSlots.length; i++)
             {
+                final CommandSlot slot = this.commandSlots[i];
+                if (slot.getCommand () == FlexiCommand.OFF)
+                    continue;
+                if (slot.isSendValue ())
+                    feedback.add (Integer.valueOf (i));
+
+                final int type = slot.getType ();
+                if (type < 0 || type >= NUM_TYPES)
+                    continue;
+
+                final int number = type == CommandSlot.TYPE_PITCH_BEND ? 0 : slot.getNumber ();
                 final int channel = slot.getMidiChannel ();
-                if (channel == midiChannel || channel == 16)
-                    results.add (slot);
+                if (number < 0 || number >= NUM_NUMBERS)
+                    continue;
+
+                // A slot which listens to all channels is added for each channel
+                for (int c = 0; c < NUM_CHANNELS; c++)
+                {
+                    if (channel != c && channel != NUM_CHANNELS)
+                        continue;
+                    final int key = getIndexKey (type, number, c);
+                    List<CommandSlot> list = lists.get (key);
+                    if (list == null)
+                    {
+                        list = new ArrayList<> (1);
+                        lists.set (key, list);
+                    }
+                    list.add (slot);
+                }
             }
+
+            for (int i = 0; i < lists.size (); i++)
+            {
+                final List<CommandSlot> list = lists.get (i);
+                lists.set (i, list == null ? Collections.emptyList () : Collections.unmodifiableList (list));
+            }
+
+            this.feedbackSlots = feedback.stream ().mapToInt (Integer::intValue).toArray ();
+            this.slotIndex = lists;
+            return lists;
         }
-        return results;
+    }
+
+
+    private static int getIndexKey (final int type, final int number, final int midiChannel)
+    {
+        return (type * NUM_NUMBERS + number) * NUM_CHANNELS + midiChannel;
     }
 
 
@@ -691,18 +795,29 @@ public class GenericFlexiConfiguration extends AbstractConfiguration
 
 
     /**
-     * Clear the note map.
+     * Clear the note map and the slot index. Both are re-created from the slots on the next access.
+     * Must be called after a slot was changed.
      */
     public void clearNoteMap ()
     {
         synchronized (this.syncMapUpdate)
         {
             this.keyMap = null;
+            this.slotIndex = null;
         }
         this.notifyObservers (SLOT_CHANGE);
     }
 
 
+    /** {@inheritDoc} */
+    @Override
+    protected void notifyObservers (final Integer settingID)
+    {
+        this.changes.incrementAndGet ();
+        super.notifyObservers (settingID);
+    }
+
+
     /**
      * Get all command slots.
      *
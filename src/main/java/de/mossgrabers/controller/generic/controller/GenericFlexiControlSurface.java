@@ -9,9 +9,11 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.EnumMap;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import de.mossgrabers.controller.generic.GenericFlexiConfiguration;
 import de.mossgrabers.controller.generic.flexihandler.IFlexiCommandHandler;
@@ -20,11 +22,14 @@ import de.mossgrabers.controller.generic.flexihandler.utils.KnobMode;
 import de.mossgrabers.controller.generic.flexihandler.utils.MidiValue;
 import de.mossgrabers.framework.controller.AbstractControlSurface;
 import de.mossgrabers.framework.controller.color.ColorManager;
+import de.mossgrabers.framework.controller.hardware.ChangeTracker;
 import de.mossgrabers.framework.daw.IHost;
 import de.mossgrabers.framework.daw.midi.IMidiInput;
 import de.mossgrabers.framework.daw.midi.IMidiOutput;
 import de.mossgrabers.framework.daw.midi.MidiConstants;
 import de.mossgrabers.framework.mode.Modes;
+import de.mossgrabers.framework.observer.IChangeSource;
+import de.mossgrabers.framework.observer.ModelArea;
 import de.mossgrabers.framework.utils.StringUtils;
 import de.mossgrabers.nativefiledialogs.FileFilter;
 import de.mossgrabers.nativefiledialogs.NativeFileDialogs;
@@ -45,7 +50,16 @@ public class GenericFlexiControlSurface extends AbstractControlSurface<GenericFl
         new FileFilter ("All files", "*")
     };
 
+    /** All areas of the DAW model except the VU meters and the play position. */
+    private static final ModelArea []                     STEADY_AREAS          = EnumSet.complementOf (EnumSet.of (ModelArea.METER, ModelArea.PLAY_POSITION)).toArray (new ModelArea [0]);
+
     private final int []                                  valueCache            = new int [GenericFlexiConfiguration.NUM_SLOTS];
+    private final int []                                  commandValues         = new int [FlexiCommand.values ().length];
+    private final long []                                 commandValueFlushes   = new long [FlexiCommand.values ().length];
+    private ChangeTracker                                 feedbackTracker;
+    private int []                                        trackedSlots;
+    private final AtomicBoolean                           isFeedbackInvalid     = new AtomicBoolean (true);
+    private long                                          flushCounter          = 0;
     private final Map<FlexiCommand, IFlexiCommandHandler> handlers              = new EnumMap<> (FlexiCommand.class);
     private NativeFileDialogs                             dialogs;
 
@@ -83,6 +97,8 @@ public class GenericFlexiControlSurface extends AbstractControlSurface<GenericFl
 
         Arrays.fill (this.valueCache, -1);
 
+        this.feedbackTracker = this.createFeedbackTracker (false);
+
         this.configuration.addSettingObserver (GenericFlexiConfiguration.BUTTON_SAVE, this::saveFile);
         this.configuration.addSettingObserver (GenericFlexiConfiguration.BUTTON_LOAD, this::loadAndSelectFile);
 
@@ -105,23 +121,73 @@ public class GenericFlexiControlSurface extends AbstractControlSurface<GenericFl
     @Override
     public void flush ()
     {
+        // The values are only evaluated again if the DAW model, the user input or the configuration
+        // have changed since the last flush
         final CommandSlot [] slots = this.configuration.getCommandSlots ();
-        for (int i = 0; i < slots.length; i++)
+        final int [] feedbackSlots = this.configuration.getFeedbackSlots ();
+        if (feedbackSlots != this.trackedSlots)
         {
-            final FlexiCommand command = slots[i].getCommand ();
-            if (command != FlexiCommand.OFF && slots[i].isSendValue ())
-                this.flushValue (i, slots[i]);
+            this.trackedSlots = feedbackSlots;
+            this.feedbackTracker = this.createFeedbackTracker (this.hasContinuousFeedback (slots, feedbackSlots));
         }
+
+        final boolean isForced = this.isFeedbackInvalid.getAndSet (false);
+        if (!this.feedbackTracker.hasChanged () && !isForced)
+            return;
+
+        this.flushCounter++;
+        for (final int index: feedbackSlots)
+            this.flushValue (index, slots[index]);
+    }
+
+
+    /**
+     * Create the tracker for the changes which require to evaluate the feedback values. The VU
+     * meters and the play position change with every update of the DAW during playback, therefore
+     * they are only tracked if a slot sends the value of a command which reads them.
+     *
+     * @param isContinuous True if a slot sends a value which reads the VU meters or the play
+     *            position
+     * @return The tracker
+     */
+    private ChangeTracker createFeedbackTracker (final boolean isContinuous)
+    {
+        final IChangeSource [] hostSources = isContinuous ? this.host.getChangeSources () : this.host.getChangeSources (STEADY_AREAS);
+        final IChangeSource [] changeSources = Arrays.copyOf (hostSources, hostSources.length + 1);
+        changeSources[hostSources.length] = this.configuration.getChangeSource ();
+        return new ChangeTracker (changeSources);
+    }
+
+
+    private boolean hasContinuousFeedback (final CommandSlot [] slots, final int [] feedbackSlots)
+    {
+        for (final int index: feedbackSlots)
+        {
+            final FlexiCommand command = slots[index].getCommand ();
+            final IFlexiCommandHandler handler = this.handlers.get (command);
+            if (handler != null && handler.isContinuousFeedback (command))
+                return true;
+        }
+        return false;
     }
 
 
     private void flushValue (final int index, final CommandSlot slot)
     {
         final FlexiCommand command = slot.getCommand ();
+        if (command == FlexiCommand.OFF || !slot.isSendValue ())
+            return;
         if (this.isUpdatingValue && !(command.isTrigger () && slot.isSendValueWhenReceived ()))
             return;
 
-        final int value = this.getCommandValue (command);
+        // The value of a command which is assigned to several slots is only evaluated once
+        final int ordinal = command.ordinal ();
+        if (this.commandValueFlushes[ordinal] != this.flushCounter)
+        {
+            this.commandValues[ordinal] = this.getCommandValue (command);
+            this.commandValueFlushes[ordinal] = this.flushCounter;
+        }
+        final int value = this.commandValues[ordinal];
 
         synchronized (this.valueCache)
         {
@@ -155,6 +221,7 @@ public class GenericFlexiControlSurface extends AbstractControlSurface<GenericFl
         {
             this.modeManager.setActive (modeID);
             this.host.showNotification (modeName);
+            this.isFeedbackInvalid.set (true);
         }
         if (!modeName.equals (this.configuration.getSelectedModeName ()))
             this.configuration.setSelectedMode (modeName);
@@ -506,7 +573,11 @@ public class GenericFlexiControlSurface extends AbstractControlSurface<GenericFl
         }
         commandHandler.handle (command, commandSlot.getKnobMode (), value);
 
-        this.host.scheduleTask ( () -> this.isUpdatingValue = false, 400);
+        // Send the values which were held back while updating
+        this.host.scheduleTask ( () -> {
+            this.isUpdatingValue = false;
+            this.isFeedbackInvalid.set (true);
+        }, 400);
     }
 
 
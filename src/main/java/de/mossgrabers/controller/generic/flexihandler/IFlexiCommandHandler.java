@@ -33,6 +33,20 @@ public interface IFlexiCommandHandler
     int getCommandValue (FlexiCommand command);
 
 
+    /**
+     * Does the value of the command change continuously during playback since it reads the VU
+     * meters or the play position? The feedback of such commands is evaluated on each update of
+     * the DAW, all other commands only if a different part of the model has changed.
+     *
+     * @param command The command
+     * @return True if the value reads the VU meters or the play position
+     */
+    default boolean isContinuousFeedback (final FlexiCommand command)
+    {
+        return false;
+    }
+
+
     /**
      * Execute the given command (if supported).
      *
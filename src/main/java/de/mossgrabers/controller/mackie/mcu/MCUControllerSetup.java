@@ -107,6 +107,7 @@ import de.mossgrabers.framework.featuregroup.IMode;
 import de.mossgrabers.framework.featuregroup.ModeManager;
 import de.mossgrabers.framework.mode.MasterVolumeMode;
 import de.mossgrabers.framework.mode.Modes;
+import de.mossgrabers.framework.observer.ModelArea;
 import de.mossgrabers.framework.parameter.IFocusedParameter;
 import de.mossgrabers.framework.utils.ButtonEvent;
 import de.mossgrabers.framework.view.ControlOnlyView;
@@ -567,6 +568,9 @@ public class MCUControllerSetup extends AbstractControllerSetup<MCUControlSurfac
 
                 this.addLight (surface, OutputID.LED1, 0, MCUControlSurface.MCU_SMPTE_LED, () -> this.configuration.isDisplayTicks () ? 2 : 0);
                 this.addLight (surface, OutputID.LED2, 0, MCUControlSurface.MCU_BEATS_LED, () -> !this.configuration.isDisplayTicks () ? 2 : 0);
+
+                this.enableChangeTracking (surface, ModelArea.TRANSPORT, ButtonID.REWIND, ButtonID.FORWARD, ButtonID.STOP, ButtonID.PLAY, ButtonID.METRONOME, ButtonID.AUTOMATION_TRIM, ButtonID.AUTOMATION_READ, ButtonID.AUTOMATION_WRITE, ButtonID.AUTOMATION_GROUP, ButtonID.AUTOMATION_TOUCH, ButtonID.AUTOMATION_LATCH);
+                this.enableChangeTracking (surface, ModelArea.PROJECT, ButtonID.SAVE);
             }
 
             for (int i = 0; i < 8; i++)
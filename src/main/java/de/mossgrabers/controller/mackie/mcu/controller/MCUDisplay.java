@@ -16,6 +16,7 @@ import de.mossgrabers.framework.controller.display.AbstractTextDisplay;
 import de.mossgrabers.framework.controller.display.ITextDisplay;
 import de.mossgrabers.framework.daw.IHost;
 import de.mossgrabers.framework.daw.midi.IMidiOutput;
+import de.mossgrabers.framework.daw.midi.SysExBuilder;
 import de.mossgrabers.framework.utils.LatestTaskExecutor;
 import de.mossgrabers.framework.utils.StringUtils;
 
@@ -27,11 +28,10 @@ import de.mossgrabers.framework.utils.StringUtils;
  */
 public class MCUDisplay extends AbstractTextDisplay
 {
-    private static final String         SYSEX_DISPLAY_HEADER           = "F0 00 00 66 ";
-    private static final String         SYSEX_DISPLAY_HEADER_MAIN      = SYSEX_DISPLAY_HEADER + "14 ";
-    private static final String         SYSEX_DISPLAY_HEADER1_MAIN     = SYSEX_DISPLAY_HEADER_MAIN + "12 ";
-    private static final String         SYSEX_DISPLAY_HEADER1_EXTENDER = SYSEX_DISPLAY_HEADER + "15 12 ";
-    private static final String         SYSEX_DISPLAY_HEADER2          = "F0 00 00 67 15 13 ";
+    private static final byte []        SYSEX_DISPLAY_HEADER_MAIN      = toBytes ("F0 00 00 66 14 ");
+    private static final byte []        SYSEX_DISPLAY_HEADER1_MAIN     = toBytes ("F0 00 00 66 14 12 ");
+    private static final byte []        SYSEX_DISPLAY_HEADER1_EXTENDER = toBytes ("F0 00 00 66 15 12 ");
+    private static final byte []        SYSEX_DISPLAY_HEADER2          = toBytes ("F0 00 00 67 15 13 ");
 
     private final boolean               isFirstDisplay;
     private final boolean               isExtender;
@@ -39,6 +39,7 @@ public class MCUDisplay extends AbstractTextDisplay
     private final Configuration         configuration;
 
     private final LatestTaskExecutor [] executors                      = new LatestTaskExecutor [4];
+    private final SysExBuilder []       builders                       = new SysExBuilder [4];
     private boolean                     isShutdown                     = false;
     private boolean                     insertSpace                    = true;
 
@@ -66,7 +67,10 @@ public class MCUDisplay extends AbstractTextDisplay
         this.centerNotification = false;
 
         for (int i = 0; i < this.executors.length; i++)
+        {
             this.executors[i] = new LatestTaskExecutor ();
+            this.builders[i] = new SysExBuilder (128);
+        }
     }
 
 
@@ -147,12 +151,15 @@ public class MCUDisplay extends AbstractTextDisplay
         if (this.isShutdown)
             return;
 
-        final LatestTaskExecutor executor = this.executors[row + (this.isFirstDisplay ? 0 : 2)];
+        final int executorIndex = row + (this.isFirstDisplay ? 0 : 2);
+        final LatestTaskExecutor executor = this.executors[executorIndex];
+        // Only used by the executor of the row
+        final SysExBuilder builder = this.builders[executorIndex];
         executor.execute ( () -> {
             try
             {
                 int offset = 0;
-                String t = text;
+                int end = text.length ();
                 if (this.isAsparion () && previousText != null && text.length () == previousText.length ())
                 {
                     for (int i = 0; i < text.length (); i++)
@@ -163,7 +170,7 @@ public class MCUDisplay extends AbstractTextDisplay
                             break;
                         }
                     }
-                    int end = offset + 1;
+                    end = offset + 1;
                     for (int i = previousText.length () - 1; i > offset; i--)
                     {
                         if (text.charAt (i) != previousText.charAt (i))
@@ -172,11 +179,11 @@ public class MCUDisplay extends AbstractTextDisplay
                             break;
                         }
                     }
-                    t = text.substring (offset, end + 1);
+                    end++;
                 }
 
-                final String hexStr = StringUtils.toHexStr (t.getBytes ());
-                this.output.sendSysex (new StringBuilder (this.getHeader (row, offset)).append (hexStr).append ("F7").toString ());
+                this.addHeader (builder.reset (), row, offset);
+                builder.addAscii (text, offset, end).end ().send (this.output);
             }
             catch (final RuntimeException ex)
             {
@@ -186,29 +193,27 @@ public class MCUDisplay extends AbstractTextDisplay
     }
 
 
-    private String getHeader (final int row, final int offset)
+    private void addHeader (final SysExBuilder header, final int row, final int offset)
     {
-        final StringBuilder header = new StringBuilder ();
         final boolean isAsparion = this.isAsparion ();
 
         if (this.isFirstDisplay)
         {
             if (isAsparion)
-                header.append (SYSEX_DISPLAY_HEADER_MAIN).append ("1A ").append (StringUtils.toHexStr (offset)).append (' ').append (row == 0 ? "01 " : "02 ");
+                header.addBytes (SYSEX_DISPLAY_HEADER_MAIN).addByte (0x1A).addValue (offset).addByte (row == 0 ? 0x01 : 0x02);
             else
-                header.append (this.isExtender ? SYSEX_DISPLAY_HEADER1_EXTENDER : SYSEX_DISPLAY_HEADER1_MAIN);
+                header.addBytes (this.isExtender ? SYSEX_DISPLAY_HEADER1_EXTENDER : SYSEX_DISPLAY_HEADER1_MAIN);
         }
         else
         {
             if (isAsparion)
-                header.append (SYSEX_DISPLAY_HEADER_MAIN).append ("19 ").append (StringUtils.toHexStr (offset)).append (' ');
+                header.addBytes (SYSEX_DISPLAY_HEADER_MAIN).addByte (0x19).addValue (offset);
             else
-                header.append (SYSEX_DISPLAY_HEADER2);
+                header.addBytes (SYSEX_DISPLAY_HEADER2);
         }
 
         if (!isAsparion)
-            header.append (row == 0 ? "00 " : "38 ");
-        return header.toString ();
+            header.addByte (row == 0 ? 0x00 : 0x38);
     }
 
 
@@ -258,6 +263,12 @@ public class MCUDisplay extends AbstractTextDisplay
     }
 
 
+    private static byte [] toBytes (final String hex)
+    {
+        return new SysExBuilder (hex.length () / 3).addHex (hex).toByteArray ();
+    }
+
+
     private boolean isAsparion ()
     {
         return this.configuration instanceof final MCUConfiguration conf && conf.getMainDisplayType () == MainDisplay.ASPARION;
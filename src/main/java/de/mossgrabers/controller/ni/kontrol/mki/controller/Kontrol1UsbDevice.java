@@ -12,9 +12,11 @@ import java.util.Optional;
 
 import de.mossgrabers.framework.daw.IHost;
 import de.mossgrabers.framework.daw.IMemoryBlock;
+import de.mossgrabers.framework.usb.HidOutputReportEndpoint;
 import de.mossgrabers.framework.usb.IHidDevice;
 import de.mossgrabers.framework.usb.IUsbDevice;
 import de.mossgrabers.framework.usb.UsbException;
+import de.mossgrabers.framework.usb.UsbTransferPipeline;
 
 
 /**
@@ -407,12 +409,13 @@ public class Kontrol1UsbDevice
 
     private static final int                   SIZE_DISPLAY              = 248;
     private static final int                   SIZE_BUTTON_LEDS          = 25;
+    private static final int                   LED_TIMEOUT               = 1000;
 
     private final int                          sizeKeyLEDs;
     private final IMemoryBlock                 displayBlock;
-    private final IMemoryBlock                 ledBlock;
-    private final IMemoryBlock                 keyLedBlock;
     private final IMemoryBlock                 initBlock;
+    private UsbTransferPipeline                ledPipeline;
+    private UsbTransferPipeline                keyLedPipeline;
 
     private static final Map<Integer, Integer> LED_MAPPING               = new HashMap<> (21);
 
@@ -499,10 +502,16 @@ public class Kontrol1UsbDevice
         this.sizeKeyLEDs = KEY_SIZES[modelIndex] * 3;
 
         this.displayBlock = host.createMemoryBlock (SIZE_DISPLAY);
-        this.ledBlock = host.createMemoryBlock (SIZE_BUTTON_LEDS);
-        this.keyLedBlock = host.createMemoryBlock (this.sizeKeyLEDs);
         this.initBlock = host.createMemoryBlock (2);
 
+        // The LED states are sent asynchronously, a state which is replaced by a newer one before
+        // it could be sent is dropped
+        if (this.hidDevice != null)
+        {
+            this.ledPipeline = new UsbTransferPipeline (host, new HidOutputReportEndpoint (this.hidDevice, REPORT_ID_OUTPUT_LEDS), null, SIZE_BUTTON_LEDS, 2, LED_TIMEOUT);
+            this.keyLedPipeline = new UsbTransferPipeline (host, new HidOutputReportEndpoint (this.hidDevice, REPORT_ID_OUTPUT_KEY_LEDS), null, this.sizeKeyLEDs, 2, LED_TIMEOUT);
+        }
+
         // To send black LEDs on startup
         this.oldKeyColors[0] = -1;
     }
@@ -727,6 +736,18 @@ public class Kontrol1UsbDevice
             return;
         final IHidDevice device = this.hidDevice;
         this.hidDevice = null;
+
+        // Wait for the running LED transfers before closing the device
+        synchronized (this.buttonStates)
+        {
+            this.closePipeline (this.ledPipeline);
+            this.ledPipeline = null;
+        }
+        synchronized (this.keyColors)
+        {
+            this.closePipeline (this.keyLedPipeline);
+            this.keyLedPipeline = null;
+        }
         device.close ();
     }
 
@@ -750,20 +771,17 @@ public class Kontrol1UsbDevice
      */
     public void updateButtonLEDs ()
     {
-        if (this.hidDevice == null)
-            return;
-
-        synchronized (this.ledBlock)
+        synchronized (this.buttonStates)
         {
-            if (Arrays.equals (this.oldButtonStates, this.buttonStates))
+            if (this.ledPipeline == null || Arrays.equals (this.oldButtonStates, this.buttonStates))
                 return;
             System.arraycopy (this.buttonStates, 0, this.oldButtonStates, 0, this.oldButtonStates.length);
 
-            final ByteBuffer ledBuffer = this.ledBlock.createByteBuffer ();
+            final ByteBuffer ledBuffer = this.ledPipeline.acquire ();
             ledBuffer.clear ();
             ledBuffer.put (this.buttonStates);
             padBuffer (ledBuffer);
-            this.hidDevice.sendOutputReport (REPORT_ID_OUTPUT_LEDS, this.ledBlock);
+            this.ledPipeline.submit ();
         }
     }
 
@@ -783,7 +801,7 @@ public class Kontrol1UsbDevice
         if (key < 0 || key >= 88)
             return;
         final int pos = 3 * key;
-        synchronized (this.keyLedBlock)
+        synchronized (this.keyColors)
         {
             this.keyColors[pos] = (byte) red;
             this.keyColors[pos + 1] = (byte) green;
@@ -797,19 +815,16 @@ public class Kontrol1UsbDevice
      */
     public void updateKeyLEDs ()
     {
-        if (this.hidDevice == null)
-            return;
-
-        synchronized (this.keyLedBlock)
+        synchronized (this.keyColors)
         {
-            if (Arrays.equals (this.oldKeyColors, this.keyColors))
+            if (this.keyLedPipeline == null || Arrays.equals (this.oldKeyColors, this.keyColors))
                 return;
             System.arraycopy (this.keyColors, 0, this.oldKeyColors, 0, this.oldKeyColors.length);
-            final ByteBuffer keyLedBuffer = this.keyLedBlock.createByteBuffer ();
+            final ByteBuffer keyLedBuffer = this.keyLedPipeline.acquire ();
             keyLedBuffer.clear ();
             keyLedBuffer.put (this.keyColors, 0, this.sizeKeyLEDs);
             padBuffer (keyLedBuffer);
-            this.hidDevice.sendOutputReport (REPORT_ID_OUTPUT_KEY_LEDS, this.keyLedBlock);
+            this.keyLedPipeline.submit ();
         }
     }
 
@@ -992,6 +1007,23 @@ public class Kontrol1UsbDevice
     }
 
 
+    private void closePipeline (final UsbTransferPipeline pipeline)
+    {
+        if (pipeline == null)
+            return;
+        try
+        {
+            if (!pipeline.close (LED_TIMEOUT))
+                this.host.error ("USB LED transfer did not end in time.");
+        }
+        catch (final InterruptedException ex)
+        {
+            this.host.error ("USB LED transfer interrupted.", ex);
+            Thread.currentThread ().interrupt ();
+        }
+    }
+
+
     private static void padBuffer (final ByteBuffer buffer)
     {
         while (buffer.position () < buffer.capacity ())
@@ -362,6 +362,7 @@ public class LaunchkeyMk3ControllerSetup extends AbstractControllerSetup<Launchk
         final IHwLight light = surface.createLight (outputID, () -> surface.getViewManager ().isActive (view) ? ColorEx.ORANGE : ColorEx.DARK_ORANGE, color -> {
             // Intentionally empty
         });
+        light.enableChangeTracking ();
         surface.getButton (buttonID).addLight (light);
     }
 
@@ -374,6 +375,7 @@ public class LaunchkeyMk3ControllerSetup extends AbstractControllerSetup<Launchk
         final IHwLight light = surface.createLight (outputID, () -> surface.getModeManager ().isActive (mode) ? ColorEx.GREEN : ColorEx.DARK_GREEN, color -> {
             // Intentionally empty
         });
+        light.enableChangeTracking ();
         surface.getButton (buttonID).addLight (light);
     }
 
@@ -386,6 +388,7 @@ public class LaunchkeyMk3ControllerSetup extends AbstractControllerSetup<Launchk
         final IHwLight light = surface.createLight (outputID, () -> surface.getFaderModeManager ().isActive (mode) ? ColorEx.BLUE : ColorEx.DARK_BLUE, color -> {
             // Intentionally empty
         });
+        light.enableChangeTracking ();
         surface.getButton (buttonID).addLight (light);
     }
 
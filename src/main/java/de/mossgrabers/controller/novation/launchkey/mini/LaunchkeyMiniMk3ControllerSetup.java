@@ -238,6 +238,7 @@ public class LaunchkeyMiniMk3ControllerSetup extends AbstractControllerSetup<Lau
         final IHwLight light = surface.createLight (outputID, () -> surface.getViewManager ().isActive (view) ? ColorEx.ORANGE : ColorEx.DARK_ORANGE, color -> {
             // Intentionally empty
         });
+        light.enableChangeTracking ();
         surface.getButton (buttonID).addLight (light);
     }
 
@@ -250,6 +251,7 @@ public class LaunchkeyMiniMk3ControllerSetup extends AbstractControllerSetup<Lau
         final IHwLight light = surface.createLight (outputID, () -> surface.getModeManager ().isActive (mode) ? ColorEx.GREEN : ColorEx.DARK_GREEN, color -> {
             // Intentionally empty
         });
+        light.enableChangeTracking ();
         surface.getButton (buttonID).addLight (light);
     }
 
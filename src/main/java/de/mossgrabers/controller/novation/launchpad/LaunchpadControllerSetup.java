@@ -99,6 +99,7 @@ import de.mossgrabers.framework.mode.track.TrackSendMode;
 import de.mossgrabers.framework.mode.track.TrackSoloMode;
 import de.mossgrabers.framework.mode.track.TrackStopClipMode;
 import de.mossgrabers.framework.mode.track.TrackVolumeMode;
+import de.mossgrabers.framework.observer.ModelArea;
 import de.mossgrabers.framework.utils.ButtonEvent;
 import de.mossgrabers.framework.view.ScenePlayView;
 import de.mossgrabers.framework.view.TempoView;
@@ -354,6 +355,9 @@ public class LaunchpadControllerSetup extends AbstractControllerSetup<LaunchpadC
             });
         }
 
+        this.enableChangeTracking (ModelArea.TRANSPORT, ButtonID.METRONOME, ButtonID.PLAY);
+        this.enableChangeTracking (ModelArea.PROJECT, ButtonID.UNDO);
+
         // Mode selection buttons
 
         this.addButton (ButtonID.REC_ARM, "Rec Arm", new RecordArmCommand (this.model, surface), buttonSetup.get (LaunchpadButton.REC_ARM).getControl (), () -> this.getModeColorIndex (ButtonID.REC_ARM));
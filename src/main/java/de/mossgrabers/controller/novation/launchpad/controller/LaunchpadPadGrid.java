@@ -93,7 +93,7 @@ public class LaunchpadPadGrid extends PadGridImpl
         {
             if (this.padInfos.isEmpty ())
                 return;
-            for (final String update: this.definition.buildLEDUpdate (this.padInfos))
+            for (final byte [] update: this.definition.buildLEDUpdate (this.padInfos))
                 this.output.sendSysex (update);
             this.padInfos.clear ();
         }
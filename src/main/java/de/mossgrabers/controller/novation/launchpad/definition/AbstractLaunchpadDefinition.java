@@ -9,7 +9,7 @@ import de.mossgrabers.controller.novation.launchpad.definition.button.ButtonSetu
 import de.mossgrabers.controller.novation.launchpad.definition.button.LaunchpadButton;
 import de.mossgrabers.framework.controller.DefaultControllerDefinition;
 import de.mossgrabers.framework.controller.grid.LightInfo;
-import de.mossgrabers.framework.utils.StringUtils;
+import de.mossgrabers.framework.daw.midi.SysExBuilder;
 
 import java.util.Collections;
 import java.util.List;
@@ -28,6 +28,9 @@ public abstract class AbstractLaunchpadDefinition extends DefaultControllerDefin
 {
     protected final ButtonSetup buttonSetup = new ButtonSetup ();
 
+    // The definition is shared by all instances of the controller
+    private final SysExBuilder  ledBuilder  = new SysExBuilder ();
+
 
     /**
      * Constructor.
@@ -111,36 +114,39 @@ public abstract class AbstractLaunchpadDefinition extends DefaultControllerDefin
 
     /** {@inheritDoc} */
     @Override
-    public List<String> buildLEDUpdate (final Map<Integer, LightInfo> padInfos)
+    public List<byte []> buildLEDUpdate (final Map<Integer, LightInfo> padInfos)
     {
-        final StringBuilder sb = new StringBuilder (this.getSysExHeader ()).append ("03 ");
-        for (final Entry<Integer, LightInfo> e: padInfos.entrySet ())
+        synchronized (this.ledBuilder)
         {
-            final int note = e.getKey ().intValue ();
-            final LightInfo info = e.getValue ();
-
-            if (info.getBlinkColor () <= 0)
+            final SysExBuilder sb = this.ledBuilder.reset ().addHex (this.getSysExHeader ()).addByte (0x03);
+            for (final Entry<Integer, LightInfo> e: padInfos.entrySet ())
             {
-                // 00h: Static color from palette, Lighting data is 1 byte specifying palette
-                // entry.
-                sb.append ("00 ").append (StringUtils.toHexStr (note)).append (' ').append (StringUtils.toHexStr (info.getColor ())).append (' ');
-            }
-            else
-            {
-                if (info.isFast ())
+                final int note = e.getKey ().intValue ();
+                final LightInfo info = e.getValue ();
+
+                if (info.getBlinkColor () <= 0)
                 {
-                    // 01h: Flashing color, Lighting data is 2 bytes specifying Color B and
-                    // Color A.
-                    sb.append ("01 ").append (StringUtils.toHexStr (note)).append (' ').append (StringUtils.toHexStr (info.getBlinkColor ())).append (' ').append (StringUtils.toHexStr (info.getColor ())).append (' ');
+                    // 00h: Static color from palette, Lighting data is 1 byte specifying palette
+                    // entry.
+                    sb.addByte (0x00).addValue (note).addValue (info.getColor ());
                 }
                 else
                 {
-                    // 02h: Pulsing color, Lighting data is 1 byte specifying palette entry.
-                    sb.append ("02 ").append (StringUtils.toHexStr (note)).append (' ').append (StringUtils.toHexStr (info.getColor ())).append (' ');
+                    if (info.isFast ())
+                    {
+                        // 01h: Flashing color, Lighting data is 2 bytes specifying Color B and
+                        // Color A.
+                        sb.addByte (0x01).addValue (note).addValue (info.getBlinkColor ()).addValue (info.getColor ());
+                    }
+                    else
+                    {
+                        // 02h: Pulsing color, Lighting data is 1 byte specifying palette entry.
+                        sb.addByte (0x02).addValue (note).addValue (info.getColor ());
+                    }
                 }
             }
+            return Collections.singletonList (sb.end ().toByteArray ());
         }
-        return Collections.singletonList (sb.append ("F7").toString ());
     }
 
 
@@ -94,12 +94,12 @@ public interface ILaunchpadControllerDefinition
 
 
     /**
-     * Create an update system exclusive string for all given pads.
+     * Create the update system exclusive messages for all given pads.
      *
      * @param padInfos The info how to update the pads
-     * @return The system exclusive string
+     * @return The system exclusive messages
      */
-    List<String> buildLEDUpdate (Map<Integer, LightInfo> padInfos);
+    List<byte []> buildLEDUpdate (Map<Integer, LightInfo> padInfos);
 
 
     /**
@@ -7,9 +7,9 @@ package de.mossgrabers.controller.novation.launchpad.definition;
 import de.mossgrabers.controller.novation.launchpad.controller.LaunchpadControlSurface;
 import de.mossgrabers.controller.novation.launchpad.definition.button.LaunchpadButton;
 import de.mossgrabers.framework.controller.grid.LightInfo;
+import de.mossgrabers.framework.daw.midi.SysExBuilder;
 import de.mossgrabers.framework.utils.OperatingSystem;
 import de.mossgrabers.framework.utils.Pair;
-import de.mossgrabers.framework.utils.StringUtils;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -25,8 +25,11 @@ import java.util.UUID;
  */
 public class LaunchpadMkIIControllerDefinition extends AbstractLaunchpadDefinition
 {
-    private static final UUID   EXTENSION_ID = UUID.fromString ("4E01A0B0-67B1-11E5-A837-0800200C9A66");
-    private static final String SYSEX_HEADER = "F0 00 20 29 02 18 ";
+    private static final UUID     EXTENSION_ID = UUID.fromString ("4E01A0B0-67B1-11E5-A837-0800200C9A66");
+    private static final String   SYSEX_HEADER = "F0 00 20 29 02 18 ";
+
+    // Normal, flash and pulse messages, shared by all instances of the controller
+    private final SysExBuilder [] builders     = new SysExBuilder [3];
 
 
     /**
@@ -36,6 +39,9 @@ public class LaunchpadMkIIControllerDefinition extends AbstractLaunchpadDefiniti
     {
         super (EXTENSION_ID, "Launchpad MkII");
 
+        for (int i = 0; i < this.builders.length; i++)
+            this.builders[i] = new SysExBuilder ();
+
         this.buttonSetup.setButton (LaunchpadButton.SHIFT, 111);
 
         this.buttonSetup.setButton (LaunchpadButton.ARROW_UP, 104);
@@ -109,37 +115,47 @@ public class LaunchpadMkIIControllerDefinition extends AbstractLaunchpadDefiniti
 
     /** {@inheritDoc} */
     @Override
-    public List<String> buildLEDUpdate (final Map<Integer, LightInfo> padInfos)
+    public List<byte []> buildLEDUpdate (final Map<Integer, LightInfo> padInfos)
+    {
+        synchronized (this.builders)
+        {
+            return this.buildLEDUpdate (padInfos, this.builders[0], this.builders[1], this.builders[2]);
+        }
+    }
+
+
+    private List<byte []> buildLEDUpdate (final Map<Integer, LightInfo> padInfos, final SysExBuilder sbNormal, final SysExBuilder sbFlash, final SysExBuilder sbPulse)
     {
-        final StringBuilder sbNormal = new StringBuilder ();
-        final StringBuilder sbFlash = new StringBuilder ();
-        final StringBuilder sbPulse = new StringBuilder ();
+        final String sysExHeader = this.getSysExHeader ();
+        sbNormal.reset ().addHex (sysExHeader).addByte (0x0A);
+        sbFlash.reset ().addHex (sysExHeader).addByte (0x23);
+        sbPulse.reset ().addHex (sysExHeader).addByte (0x28);
+        final int headerLength = sbNormal.getLength ();
 
         for (final Entry<Integer, LightInfo> e: padInfos.entrySet ())
         {
             final int note = e.getKey ().intValue ();
             final LightInfo info = e.getValue ();
 
-            sbNormal.append (StringUtils.toHexStr (note)).append (' ').append (StringUtils.toHexStr (info.getColor ())).append (' ');
+            sbNormal.addValue (note).addValue (info.getColor ());
 
             if (info.getBlinkColor () > 0)
             {
                 // Note: The MkII has an additional prefixed 00 instead of the Pro!
                 if (info.isFast ())
-                    sbFlash.append ("00 ").append (StringUtils.toHexStr (note)).append (' ').append (StringUtils.toHexStr (info.getBlinkColor ())).append (' ');
+                    sbFlash.addByte (0x00).addValue (note).addValue (info.getBlinkColor ());
                 else
-                    sbPulse.append ("00 ").append (StringUtils.toHexStr (note)).append (' ').append (StringUtils.toHexStr (info.getBlinkColor ())).append (' ');
+                    sbPulse.addByte (0x00).addValue (note).addValue (info.getBlinkColor ());
             }
         }
 
-        final List<String> result = new ArrayList<> (3);
-        final String sysExHeader = this.getSysExHeader ();
-        if (sbNormal.length () > 0)
-            result.add (new StringBuilder (sysExHeader).append ("0A ").append (sbNormal).append ("F7").toString ());
-        if (sbFlash.length () > 0)
-            result.add (new StringBuilder (sysExHeader).append ("23 ").append (sbFlash).append ("F7").toString ());
-        if (sbPulse.length () > 0)
-            result.add (new StringBuilder (sysExHeader).append ("28 ").append (sbPulse).append ("F7").toString ());
+        final List<byte []> result = new ArrayList<> (3);
+        if (sbNormal.getLength () > headerLength)
+            result.add (sbNormal.end ().toByteArray ());
+        if (sbFlash.getLength () > headerLength)
+            result.add (sbFlash.end ().toByteArray ());
+        if (sbPulse.getLength () > headerLength)
+            result.add (sbPulse.end ().toByteArray ());
         return result;
     }
 }
@@ -13,6 +13,7 @@ import java.util.UUID;
 import de.mossgrabers.controller.novation.launchpad.controller.LaunchpadControlSurface;
 import de.mossgrabers.controller.novation.launchpad.definition.button.LaunchpadButton;
 import de.mossgrabers.framework.controller.grid.LightInfo;
+import de.mossgrabers.framework.daw.midi.SysExBuilder;
 import de.mossgrabers.framework.utils.OperatingSystem;
 import de.mossgrabers.framework.utils.Pair;
 import de.mossgrabers.framework.utils.StringUtils;
@@ -25,8 +26,11 @@ import de.mossgrabers.framework.utils.StringUtils;
  */
 public class LaunchpadProControllerDefinition extends AbstractLaunchpadDefinition
 {
-    private static final UUID   EXTENSION_ID = UUID.fromString ("80B63970-64F1-11E5-A837-0800200C9A66");
-    private static final String SYSEX_HEADER = "F0 00 20 29 02 10 ";
+    private static final UUID     EXTENSION_ID = UUID.fromString ("80B63970-64F1-11E5-A837-0800200C9A66");
+    private static final String   SYSEX_HEADER = "F0 00 20 29 02 10 ";
+
+    // Normal, flash and pulse messages, shared by all instances of the controller
+    private final SysExBuilder [] builders     = new SysExBuilder [3];
 
 
     /**
@@ -36,6 +40,9 @@ public class LaunchpadProControllerDefinition extends AbstractLaunchpadDefinitio
     {
         super (EXTENSION_ID, "Launchpad Pro");
 
+        for (int i = 0; i < this.builders.length; i++)
+            this.builders[i] = new SysExBuilder ();
+
         this.buttonSetup.setButton (LaunchpadButton.SHIFT, 80);
         this.buttonSetup.setButton (LaunchpadButton.USER, 98);
 
@@ -145,36 +152,46 @@ public class LaunchpadProControllerDefinition extends AbstractLaunchpadDefinitio
 
     /** {@inheritDoc} */
     @Override
-    public List<String> buildLEDUpdate (final Map<Integer, LightInfo> padInfos)
+    public List<byte []> buildLEDUpdate (final Map<Integer, LightInfo> padInfos)
+    {
+        synchronized (this.builders)
+        {
+            return this.buildLEDUpdate (padInfos, this.builders[0], this.builders[1], this.builders[2]);
+        }
+    }
+
+
+    private List<byte []> buildLEDUpdate (final Map<Integer, LightInfo> padInfos, final SysExBuilder sbNormal, final SysExBuilder sbFlash, final SysExBuilder sbPulse)
     {
-        final StringBuilder sbNormal = new StringBuilder ();
-        final StringBuilder sbFlash = new StringBuilder ();
-        final StringBuilder sbPulse = new StringBuilder ();
+        final String sysExHeader = this.getSysExHeader ();
+        sbNormal.reset ().addHex (sysExHeader).addByte (0x0A);
+        sbFlash.reset ().addHex (sysExHeader).addByte (0x23);
+        sbPulse.reset ().addHex (sysExHeader).addByte (0x28);
+        final int headerLength = sbNormal.getLength ();
 
         for (final Entry<Integer, LightInfo> e: padInfos.entrySet ())
         {
             final int note = e.getKey ().intValue ();
             final LightInfo info = e.getValue ();
 
-            sbNormal.append (StringUtils.toHexStr (note)).append (' ').append (StringUtils.toHexStr (info.getColor ())).append (' ');
+            sbNormal.addValue (note).addValue (info.getColor ());
 
             if (info.getBlinkColor () > 0)
             {
                 if (info.isFast ())
-                    sbFlash.append (StringUtils.toHexStr (note)).append (' ').append (StringUtils.toHexStr (info.getBlinkColor ())).append (' ');
+                    sbFlash.addValue (note).addValue (info.getBlinkColor ());
                 else
-                    sbPulse.append (StringUtils.toHexStr (note)).append (' ').append (StringUtils.toHexStr (info.getBlinkColor ())).append (' ');
+                    sbPulse.addValue (note).addValue (info.getBlinkColor ());
             }
         }
 
-        final List<String> result = new ArrayList<> (3);
-        final String sysExHeader = this.getSysExHeader ();
-        if (sbNormal.length () > 0)
-            result.add (new StringBuilder (sysExHeader).append ("0A ").append (sbNormal).append ("F7").toString ());
-        if (sbFlash.length () > 0)
-            result.add (new StringBuilder (sysExHeader).append ("23 ").append (sbFlash).append ("F7").toString ());
-        if (sbPulse.length () > 0)
-            result.add (new StringBuilder (sysExHeader).append ("28 ").append (sbPulse).append ("F7").toString ());
+        final List<byte []> result = new ArrayList<> (3);
+        if (sbNormal.getLength () > headerLength)
+            result.add (sbNormal.end ().toByteArray ());
+        if (sbFlash.getLength () > headerLength)
+            result.add (sbFlash.end ().toByteArray ());
+        if (sbPulse.getLength () > headerLength)
+            result.add (sbPulse.end ().toByteArray ());
         return result;
     }
 }
@@ -122,6 +122,8 @@ public class OSCConfiguration extends AbstractOpenSoundControlConfiguration
         final IEnumSetting bankPageSizeSetting = globalSettings.getEnumSetting ("Bank Page Size (requires restart)", CATEGORY_PROTOCOL, pageSize, pageSize[7]);
         this.bankPageSize = Integer.parseInt (bankPageSizeSetting.get ());
 
+        this.activateStreamSettings (globalSettings, CATEGORY_PROTOCOL);
+
         ///////////////////////////
         // Transport
 
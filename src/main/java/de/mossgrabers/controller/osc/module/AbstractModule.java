@@ -17,6 +17,7 @@ import de.mossgrabers.framework.daw.IModel;
 import de.mossgrabers.framework.daw.clip.IClip;
 import de.mossgrabers.framework.daw.data.ISend;
 import de.mossgrabers.framework.osc.IOpenSoundControlWriter;
+import de.mossgrabers.framework.osc.OpenSoundControlAddressTable;
 import de.mossgrabers.framework.parameter.IParameter;
 
 
@@ -27,30 +28,31 @@ import de.mossgrabers.framework.parameter.IParameter;
  */
 public abstract class AbstractModule implements IModule
 {
-    private static final Pattern      RGB_COLOR_PATTERN = Pattern.compile ("(rgb|RGB)\\((\\d+(\\.\\d+)?),(\\d+(\\.\\d+)?),(\\d+(\\.\\d+)?)\\)");
-
-    protected static final String     TAG_EXISTS        = "exists";
-    protected static final String     TAG_ACTIVATED     = "activated";
-    protected static final String     TAG_NAME          = "name";
-    protected static final String     TAG_SELECTED      = "selected";
-    protected static final String     TAG_SELECT        = "select";
-    protected static final String     TAG_DUPLICATE     = "duplicate";
-    protected static final String     TAG_INSERT_FILE   = "insertFile";
-    protected static final String     TAG_REMOVE        = "remove";
-    protected static final String     TAG_VOLUME        = "volume";
-    protected static final String     TAG_PAGE          = "page";
-    protected static final String     TAG_INDICATE      = "indicate";
-    protected static final String     TAG_TOUCHED       = "touched";
-    protected static final String     TAG_COLOR         = "color";
-    protected static final String     TAG_BYPASS        = "bypass";
-    protected static final String     TAG_PARAM         = "param";
-    protected static final String     TAG_MIXER         = "mixer";
-    protected static final String     TAG_PREROLL       = "preroll";
-    protected static final String     TAG_RESET         = "reset";
-
-    protected final IHost             host;
-    protected final IModel            model;
-    protected IOpenSoundControlWriter writer;
+    private static final Pattern                 RGB_COLOR_PATTERN = Pattern.compile ("(rgb|RGB)\\((\\d+(\\.\\d+)?),(\\d+(\\.\\d+)?),(\\d+(\\.\\d+)?)\\)");
+
+    protected static final String                TAG_EXISTS        = "exists";
+    protected static final String                TAG_ACTIVATED     = "activated";
+    protected static final String                TAG_NAME          = "name";
+    protected static final String                TAG_SELECTED      = "selected";
+    protected static final String                TAG_SELECT        = "select";
+    protected static final String                TAG_DUPLICATE     = "duplicate";
+    protected static final String                TAG_INSERT_FILE   = "insertFile";
+    protected static final String                TAG_REMOVE        = "remove";
+    protected static final String                TAG_VOLUME        = "volume";
+    protected static final String                TAG_PAGE          = "page";
+    protected static final String                TAG_INDICATE      = "indicate";
+    protected static final String                TAG_TOUCHED       = "touched";
+    protected static final String                TAG_COLOR         = "color";
+    protected static final String                TAG_BYPASS        = "bypass";
+    protected static final String                TAG_PARAM         = "param";
+    protected static final String                TAG_MIXER         = "mixer";
+    protected static final String                TAG_PREROLL       = "preroll";
+    protected static final String                TAG_RESET         = "reset";
+
+    protected final IHost                        host;
+    protected final IModel                       model;
+    protected IOpenSoundControlWriter            writer;
+    protected final OpenSoundControlAddressTable addresses;
 
 
     /**
@@ -65,6 +67,7 @@ public abstract class AbstractModule implements IModule
         this.host = host;
         this.model = model;
         this.writer = writer;
+        this.addresses = new OpenSoundControlAddressTable (writer, "/");
     }
 
 
@@ -182,21 +185,21 @@ public abstract class AbstractModule implements IModule
      * Flush all data of a parameter.
      *
      * @param writer Where to send the messages to
-     * @param fxAddress The start address for the effect
+     * @param fxAddresses The addresses of the effect
      * @param fxParam The parameter
      * @param dump Forces a flush if true otherwise only changed values are flushed
      */
-    protected void flushParameterData (final IOpenSoundControlWriter writer, final String fxAddress, final IParameter fxParam, final boolean dump)
+    protected void flushParameterData (final IOpenSoundControlWriter writer, final OpenSoundControlAddressTable fxAddresses, final IParameter fxParam, final boolean dump)
     {
         final boolean isSend = fxParam instanceof ISend;
         if (isSend)
-            writer.sendOSC (fxAddress + TAG_ACTIVATED, ((ISend) fxParam).isEnabled (), dump);
+            writer.sendOSC (fxAddresses.get (TAG_ACTIVATED), ((ISend) fxParam).isEnabled (), dump);
 
-        writer.sendOSC (fxAddress + TAG_EXISTS, fxParam.doesExist (), dump);
-        writer.sendOSC (fxAddress + TAG_NAME, fxParam.getName (), dump);
-        writer.sendOSC (fxAddress + (isSend ? "volumeStr" : "valueStr"), fxParam.getDisplayedValue (), dump);
-        writer.sendOSC (fxAddress + (isSend ? TAG_VOLUME : "value"), fxParam.getValue (), dump);
-        writer.sendOSC (fxAddress + "modulatedValue", fxParam.getModulatedValue (), dump);
+        writer.sendOSC (fxAddresses.get (TAG_EXISTS), fxParam.doesExist (), dump);
+        writer.sendOSC (fxAddresses.get (TAG_NAME), fxParam.getName (), dump);
+        writer.sendOSC (fxAddresses.get (isSend ? "volumeStr" : "valueStr"), fxParam.getDisplayedValue (), dump);
+        writer.sendOSC (fxAddresses.get (isSend ? TAG_VOLUME : "value"), fxParam.getValue (), dump);
+        writer.sendOSC (fxAddresses.get ("modulatedValue"), fxParam.getModulatedValue (), dump);
     }
 
 
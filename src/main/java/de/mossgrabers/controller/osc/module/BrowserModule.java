@@ -15,6 +15,7 @@ import de.mossgrabers.framework.daw.IModel;
 import de.mossgrabers.framework.daw.data.IBrowserColumn;
 import de.mossgrabers.framework.daw.data.IBrowserColumnItem;
 import de.mossgrabers.framework.osc.IOpenSoundControlWriter;
+import de.mossgrabers.framework.osc.OpenSoundControlAddressTable;
 
 
 /**
@@ -127,47 +128,46 @@ public class BrowserModule extends AbstractModule
     @Override
     public void flush (final boolean dump)
     {
-        final String browserAddress = "/browser/";
+        final OpenSoundControlAddressTable browserAddresses = this.addresses.getChild ("browser/");
         final IBrowser browser = this.model.getBrowser ();
 
         final boolean isActive = browser.isActive ();
-        this.writer.sendOSC (browserAddress + "isActive", isActive, dump);
+        this.writer.sendOSC (browserAddresses.get ("isActive"), isActive, dump);
 
         if (!isActive)
             return;
 
-        this.writer.sendOSC (browserAddress + "tab", browser.getSelectedContentType (), dump);
+        this.writer.sendOSC (browserAddresses.get ("tab"), browser.getSelectedContentType (), dump);
 
         IBrowserColumn column;
         // Filter Columns
         for (int i = 0; i < browser.getFilterColumnCount (); i++)
         {
-            final String filterAddress = browserAddress + "filter/" + (i + 1) + "/";
+            final OpenSoundControlAddressTable filterAddresses = browserAddresses.getChild ("filter/", i + 1);
             column = browser.getFilterColumn (i);
-            this.writer.sendOSC (filterAddress + TAG_EXISTS, column.doesExist (), dump);
-            this.writer.sendOSC (filterAddress + TAG_NAME, column.getName (), dump);
-            this.writer.sendOSC (filterAddress + "wildcard", column.getWildcard (), dump);
+            this.writer.sendOSC (filterAddresses.get (TAG_EXISTS), column.doesExist (), dump);
+            this.writer.sendOSC (filterAddresses.get (TAG_NAME), column.getName (), dump);
+            this.writer.sendOSC (filterAddresses.get ("wildcard"), column.getWildcard (), dump);
             final IBrowserColumnItem [] items = column.getItems ();
             for (int j = 0; j < items.length; j++)
             {
-                final String browserItemAddress = filterAddress + "item/" + (j + 1) + "/";
-                this.writer.sendOSC (browserItemAddress + TAG_EXISTS, items[j].doesExist (), dump);
-                this.writer.sendOSC (browserItemAddress + TAG_NAME, items[j].getName (), dump);
-                this.writer.sendOSC (browserItemAddress + "hits", items[j].getHitCount (), dump);
-                this.writer.sendOSC (browserItemAddress + "isSelected", items[j].isSelected (), dump);
+                final OpenSoundControlAddressTable itemAddresses = filterAddresses.getChild ("item/", j + 1);
+                this.writer.sendOSC (itemAddresses.get (TAG_EXISTS), items[j].doesExist (), dump);
+                this.writer.sendOSC (itemAddresses.get (TAG_NAME), items[j].getName (), dump);
+                this.writer.sendOSC (itemAddresses.get ("hits"), items[j].getHitCount (), dump);
+                this.writer.sendOSC (itemAddresses.get ("isSelected"), items[j].isSelected (), dump);
             }
         }
 
         // Presets
-        final String presetAddress = browserAddress + "result/";
         final IBrowserColumnItem [] items = browser.getResultColumnItems ();
         for (int i = 0; i < items.length; i++)
         {
-            final String browserPresetAddress = presetAddress + (i + 1) + "/";
-            this.writer.sendOSC (browserPresetAddress + TAG_EXISTS, items[i].doesExist (), dump);
-            this.writer.sendOSC (browserPresetAddress + TAG_NAME, items[i].getName (), dump);
-            this.writer.sendOSC (browserPresetAddress + "hits", items[i].getHitCount (), dump);
-            this.writer.sendOSC (browserPresetAddress + "isSelected", items[i].isSelected (), dump);
+            final OpenSoundControlAddressTable presetAddresses = browserAddresses.getChild ("result/", i + 1);
+            this.writer.sendOSC (presetAddresses.get (TAG_EXISTS), items[i].doesExist (), dump);
+            this.writer.sendOSC (presetAddresses.get (TAG_NAME), items[i].getName (), dump);
+            this.writer.sendOSC (presetAddresses.get ("hits"), items[i].getHitCount (), dump);
+            this.writer.sendOSC (presetAddresses.get ("isSelected"), items[i].isSelected (), dump);
         }
     }
 }
@@ -168,12 +168,12 @@ public class ClipModule extends AbstractModule
     {
         final INoteClip cursorClip = this.model.getCursorClip ();
 
-        this.writer.sendOSC ("/clip/exists", cursorClip.doesExist (), dump);
-        this.writer.sendOSC ("/clip/pinned", cursorClip.isPinned (), dump);
+        this.writer.sendOSC (this.addresses.get ("clip/exists"), cursorClip.doesExist (), dump);
+        this.writer.sendOSC (this.addresses.get ("clip/pinned"), cursorClip.isPinned (), dump);
 
         ColorEx color = cursorClip.getColor ();
         if (color == null)
             color = ColorEx.BLACK;
-        this.writer.sendOSCColor ("/clip/color", color.getRed (), color.getGreen (), color.getBlue (), dump);
+        this.writer.sendOSCColor (this.addresses.get ("clip/color"), color.getRed (), color.getGreen (), color.getBlue (), dump);
     }
 }
@@ -33,6 +33,7 @@ import de.mossgrabers.framework.daw.data.bank.ISendBank;
 import de.mossgrabers.framework.daw.data.empty.EmptyLayer;
 import de.mossgrabers.framework.daw.data.empty.EmptyParameter;
 import de.mossgrabers.framework.osc.IOpenSoundControlWriter;
+import de.mossgrabers.framework.osc.OpenSoundControlAddressTable;
 import de.mossgrabers.framework.parameter.IFocusedParameter;
 import de.mossgrabers.framework.parameter.IParameter;
 
@@ -107,27 +108,27 @@ public class DeviceModule extends AbstractModule
     public void flush (final boolean dump)
     {
         final ICursorDevice cd = this.model.getCursorDevice ();
-        this.flushDevice (this.writer, "/device/", cd, dump);
-        this.writer.sendOSC ("/device/pinned", cd.isPinned (), dump);
+        this.flushDevice (this.writer, this.addresses.getChild ("device/"), cd, dump);
+        this.writer.sendOSC (this.addresses.get ("device/pinned"), cd.isPinned (), dump);
         if (cd.hasDrumPads ())
         {
             final IDrumPadBank drumPadBank = cd.getDrumPadBank ();
             for (int i = 0; i < drumPadBank.getPageSize (); i++)
-                this.flushDeviceLayer (this.writer, "/device/drumpad/" + (i + 1) + "/", drumPadBank.getItem (i), dump);
+                this.flushDeviceLayer (this.writer, this.addresses.getChild ("device/drumpad/", i + 1), drumPadBank.getItem (i), dump);
         }
         final ILayerBank layerBank = cd.getLayerBank ();
         for (int i = 0; i < layerBank.getPageSize (); i++)
-            this.flushDeviceLayer (this.writer, "/device/layer/" + (i + 1) + "/", layerBank.getItem (i), dump);
+            this.flushDeviceLayer (this.writer, this.addresses.getChild ("device/layer/", i + 1), layerBank.getItem (i), dump);
         final Optional<ILayer> selectedLayer = layerBank.getSelectedItem ();
-        this.flushDeviceLayer (this.writer, "/device/layer/selected/", selectedLayer.isEmpty () ? EmptyLayer.getInstance (layerBank.getPageSize ()) : selectedLayer.get (), dump);
+        this.flushDeviceLayer (this.writer, this.addresses.getChild ("device/layer/selected/"), selectedLayer.isEmpty () ? EmptyLayer.getInstance (layerBank.getPageSize ()) : selectedLayer.get (), dump);
 
-        this.flushDevice (this.writer, "/primary/", this.model.getSpecificDevice (DeviceID.FIRST_INSTRUMENT), dump);
-        this.flushDevice (this.writer, "/eq/", this.model.getSpecificDevice (DeviceID.EQ), dump);
+        this.flushDevice (this.writer, this.addresses.getChild ("primary/"), this.model.getSpecificDevice (DeviceID.FIRST_INSTRUMENT), dump);
+        this.flushDevice (this.writer, this.addresses.getChild ("eq/"), this.model.getSpecificDevice (DeviceID.EQ), dump);
 
         // Last hovered/clicked parameter
         final Optional<IFocusedParameter> focusedParameter = this.model.getFocusedParameter ();
         final IParameter param = focusedParameter.isPresent () ? focusedParameter.get () : EmptyParameter.INSTANCE;
-        this.flushParameterData (this.writer, "/device/lastparam/", param, dump);
+        this.flushParameterData (this.writer, this.addresses.getChild ("device/lastparam/"), param, dump);
     }
 
 
@@ -135,18 +136,18 @@ public class DeviceModule extends AbstractModule
      * Flush all data of a device.
      *
      * @param writer Where to send the messages to
-     * @param deviceAddress The start address for the device
+     * @param deviceAddresses The addresses of the device
      * @param device The device
      * @param dump Forces a flush if true otherwise only changed values are flushed
      */
-    private void flushDevice (final IOpenSoundControlWriter writer, final String deviceAddress, final ISpecificDevice device, final boolean dump)
+    private void flushDevice (final IOpenSoundControlWriter writer, final OpenSoundControlAddressTable deviceAddresses, final ISpecificDevice device, final boolean dump)
     {
-        writer.sendOSC (deviceAddress + TAG_EXISTS, device.doesExist (), dump);
-        writer.sendOSC (deviceAddress + TAG_NAME, device.getName (), dump);
-        writer.sendOSC (deviceAddress + TAG_BYPASS, !device.isEnabled (), dump);
-        writer.sendOSC (deviceAddress + "expand", device.isExpanded (), dump);
-        writer.sendOSC (deviceAddress + "parameters", device.isParameterPageSectionVisible (), dump);
-        writer.sendOSC (deviceAddress + "window", device.isWindowOpen (), dump);
+        writer.sendOSC (deviceAddresses.get (TAG_EXISTS), device.doesExist (), dump);
+        writer.sendOSC (deviceAddresses.get (TAG_NAME), device.getName (), dump);
+        writer.sendOSC (deviceAddresses.get (TAG_BYPASS), !device.isEnabled (), dump);
+        writer.sendOSC (deviceAddresses.get ("expand"), device.isExpanded (), dump);
+        writer.sendOSC (deviceAddresses.get ("parameters"), device.isParameterPageSectionVisible (), dump);
+        writer.sendOSC (deviceAddresses.get ("window"), device.isWindowOpen (), dump);
 
         if (device instanceof final IEqualizerDevice equalizer)
         {
@@ -154,10 +155,10 @@ public class DeviceModule extends AbstractModule
             {
                 final int oneplus = i + 1;
 
-                writer.sendOSC (deviceAddress + "type/" + oneplus + "/value", equalizer.getTypeID (i).name ().toLowerCase (), dump);
-                this.flushParameterData (writer, deviceAddress + "gain/" + oneplus + "/", equalizer.getGainParameter (i), dump);
-                this.flushParameterData (writer, deviceAddress + "freq/" + oneplus + "/", equalizer.getFrequencyParameter (i), dump);
-                this.flushParameterData (writer, deviceAddress + "q/" + oneplus + "/", equalizer.getQParameter (i), dump);
+                writer.sendOSC (deviceAddresses.getChild ("type/", oneplus).get ("value"), equalizer.getTypeID (i).name ().toLowerCase (), dump);
+                this.flushParameterData (writer, deviceAddresses.getChild ("gain/", oneplus), equalizer.getGainParameter (i), dump);
+                this.flushParameterData (writer, deviceAddresses.getChild ("freq/", oneplus), equalizer.getFrequencyParameter (i), dump);
+                this.flushParameterData (writer, deviceAddresses.getChild ("q/", oneplus), equalizer.getQParameter (i), dump);
             }
             return;
         }
@@ -170,11 +171,11 @@ public class DeviceModule extends AbstractModule
             {
                 final int oneplus = i + 1;
                 final IDevice siblingDevice = deviceBank.getItem (i);
-                final String siblingAddress = deviceAddress + "sibling/" + oneplus + "/";
-                writer.sendOSC (siblingAddress + TAG_EXISTS, siblingDevice.doesExist (), dump);
-                writer.sendOSC (siblingAddress + TAG_NAME, siblingDevice.getName (), dump);
-                writer.sendOSC (siblingAddress + TAG_BYPASS, !siblingDevice.isEnabled (), dump);
-                writer.sendOSC (siblingAddress + TAG_SELECTED, i == positionInBank, dump);
+                final OpenSoundControlAddressTable siblingAddresses = deviceAddresses.getChild ("sibling/", oneplus);
+                writer.sendOSC (siblingAddresses.get (TAG_EXISTS), siblingDevice.doesExist (), dump);
+                writer.sendOSC (siblingAddresses.get (TAG_NAME), siblingDevice.getName (), dump);
+                writer.sendOSC (siblingAddresses.get (TAG_BYPASS), !siblingDevice.isEnabled (), dump);
+                writer.sendOSC (siblingAddresses.get (TAG_SELECTED), i == positionInBank, dump);
             }
         }
 
@@ -182,7 +183,7 @@ public class DeviceModule extends AbstractModule
         for (int i = 0; i < parameterBank.getPageSize (); i++)
         {
             final int oneplus = i + 1;
-            this.flushParameterData (writer, deviceAddress + "param/" + oneplus + "/", parameterBank.getItem (i), dump);
+            this.flushParameterData (writer, deviceAddresses.getChild ("param/", oneplus), parameterBank.getItem (i), dump);
         }
 
         final IParameterPageBank parameterPageBank = device.getParameterBank ().getPageBank ();
@@ -191,14 +192,14 @@ public class DeviceModule extends AbstractModule
         {
             final int oneplus = i + 1;
             final String pageName = parameterPageBank.getItem (i);
-            final String pageAddress = deviceAddress + "page/" + oneplus + "/";
-            writer.sendOSC (pageAddress + TAG_EXISTS, !pageName.isBlank (), dump);
-            writer.sendOSC (pageAddress, pageName, dump);
-            writer.sendOSC (pageAddress + TAG_NAME, pageName, dump);
-            writer.sendOSC (pageAddress + TAG_SELECTED, selectedParameterPage == i, dump);
+            final OpenSoundControlAddressTable pageAddresses = deviceAddresses.getChild ("page/", oneplus);
+            writer.sendOSC (pageAddresses.get (TAG_EXISTS), !pageName.isBlank (), dump);
+            writer.sendOSC (pageAddresses.get (""), pageName, dump);
+            writer.sendOSC (pageAddresses.get (TAG_NAME), pageName, dump);
+            writer.sendOSC (pageAddresses.get (TAG_SELECTED), selectedParameterPage == i, dump);
         }
         final Optional<String> selectedItem = parameterPageBank.getSelectedItem ();
-        writer.sendOSC (deviceAddress + "page/selected/" + TAG_NAME, selectedItem.isPresent () ? selectedItem.get () : "", dump);
+        writer.sendOSC (deviceAddresses.getChild ("page/selected/").get (TAG_NAME), selectedItem.isPresent () ? selectedItem.get () : "", dump);
     }
 
 
@@ -206,35 +207,35 @@ public class DeviceModule extends AbstractModule
      * Flush all data of a device layer.
      *
      * @param writer Where to send the messages to
-     * @param deviceAddress The start address for the device
+     * @param deviceAddresses The addresses of the device
      * @param channel The channel of the layer
      * @param dump Forces a flush if true otherwise only changed values are flushed
      */
-    private void flushDeviceLayer (final IOpenSoundControlWriter writer, final String deviceAddress, final IChannel channel, final boolean dump)
+    private void flushDeviceLayer (final IOpenSoundControlWriter writer, final OpenSoundControlAddressTable deviceAddresses, final IChannel channel, final boolean dump)
     {
         if (channel == null)
             return;
 
-        writer.sendOSC (deviceAddress + TAG_EXISTS, channel.doesExist (), dump);
-        writer.sendOSC (deviceAddress + TAG_ACTIVATED, channel.isActivated (), dump);
-        writer.sendOSC (deviceAddress + TAG_SELECTED, channel.isSelected (), dump);
-        writer.sendOSC (deviceAddress + TAG_NAME, channel.getName (), dump);
-        writer.sendOSC (deviceAddress + "volumeStr", channel.getVolumeStr (), dump);
-        writer.sendOSC (deviceAddress + TAG_VOLUME, channel.getVolume (), dump);
-        writer.sendOSC (deviceAddress + "panStr", channel.getPanStr (), dump);
-        writer.sendOSC (deviceAddress + "pan", channel.getPan (), dump);
-        writer.sendOSC (deviceAddress + "mute", channel.isMute (), dump);
-        writer.sendOSC (deviceAddress + "solo", channel.isSolo (), dump);
+        writer.sendOSC (deviceAddresses.get (TAG_EXISTS), channel.doesExist (), dump);
+        writer.sendOSC (deviceAddresses.get (TAG_ACTIVATED), channel.isActivated (), dump);
+        writer.sendOSC (deviceAddresses.get (TAG_SELECTED), channel.isSelected (), dump);
+        writer.sendOSC (deviceAddresses.get (TAG_NAME), channel.getName (), dump);
+        writer.sendOSC (deviceAddresses.get ("volumeStr"), channel.getVolumeStr (), dump);
+        writer.sendOSC (deviceAddresses.get (TAG_VOLUME), channel.getVolume (), dump);
+        writer.sendOSC (deviceAddresses.get ("panStr"), channel.getPanStr (), dump);
+        writer.sendOSC (deviceAddresses.get ("pan"), channel.getPan (), dump);
+        writer.sendOSC (deviceAddresses.get ("mute"), channel.isMute (), dump);
+        writer.sendOSC (deviceAddresses.get ("solo"), channel.isSolo (), dump);
 
         final ISendBank sendBank = channel.getSendBank ();
         for (int i = 0; i < sendBank.getPageSize (); i++)
-            this.flushParameterData (writer, deviceAddress + "send/" + (i + 1) + "/", sendBank.getItem (i), dump);
+            this.flushParameterData (writer, deviceAddresses.getChild ("send/", i + 1), sendBank.getItem (i), dump);
 
         if (this.configuration.isEnableVUMeters ())
-            writer.sendOSC (deviceAddress + "vu", channel.getVu (), dump);
+            writer.sendOSCMeter (deviceAddresses.get ("vu"), channel.getVu (), dump);
 
         final ColorEx color = channel.getColor ();
-        writer.sendOSCColor (deviceAddress + TAG_COLOR, color.getRed (), color.getGreen (), color.getBlue (), dump);
+        writer.sendOSCColor (deviceAddresses.get (TAG_COLOR), color.getRed (), color.getGreen (), color.getBlue (), dump);
     }
 
 
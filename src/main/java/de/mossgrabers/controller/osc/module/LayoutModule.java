@@ -157,23 +157,23 @@ public class LayoutModule extends AbstractModule
     public void flush (final boolean dump)
     {
         final IApplication app = this.model.getApplication ();
-        this.writer.sendOSC ("/layout", app.getPanelLayout ().toLowerCase (Locale.US), dump);
+        this.writer.sendOSC (this.addresses.get ("layout"), app.getPanelLayout ().toLowerCase (Locale.US), dump);
 
         final IArranger arrange = this.model.getArranger ();
-        this.writer.sendOSC ("/arranger/cueMarkerVisibility", arrange.areCueMarkersVisible (), dump);
-        this.writer.sendOSC ("/arranger/playbackFollow", arrange.isPlaybackFollowEnabled (), dump);
-        this.writer.sendOSC ("/arranger/trackRowHeight", arrange.hasDoubleRowTrackHeight (), dump);
-        this.writer.sendOSC ("/arranger/clipLauncherSectionVisibility", arrange.isClipLauncherVisible (), dump);
-        this.writer.sendOSC ("/arranger/timeLineVisibility", arrange.isTimelineVisible (), dump);
-        this.writer.sendOSC ("/arranger/ioSectionVisibility", arrange.isIoSectionVisible (), dump);
-        this.writer.sendOSC ("/arranger/effectTracksVisibility", arrange.areEffectTracksVisible (), dump);
+        this.writer.sendOSC (this.addresses.get ("arranger/cueMarkerVisibility"), arrange.areCueMarkersVisible (), dump);
+        this.writer.sendOSC (this.addresses.get ("arranger/playbackFollow"), arrange.isPlaybackFollowEnabled (), dump);
+        this.writer.sendOSC (this.addresses.get ("arranger/trackRowHeight"), arrange.hasDoubleRowTrackHeight (), dump);
+        this.writer.sendOSC (this.addresses.get ("arranger/clipLauncherSectionVisibility"), arrange.isClipLauncherVisible (), dump);
+        this.writer.sendOSC (this.addresses.get ("arranger/timeLineVisibility"), arrange.isTimelineVisible (), dump);
+        this.writer.sendOSC (this.addresses.get ("arranger/ioSectionVisibility"), arrange.isIoSectionVisible (), dump);
+        this.writer.sendOSC (this.addresses.get ("arranger/effectTracksVisibility"), arrange.areEffectTracksVisible (), dump);
 
         final IMixer mix = this.model.getMixer ();
-        this.writer.sendOSC ("/mixer/clipLauncherSectionVisibility", mix.isClipLauncherSectionVisible (), dump);
-        this.writer.sendOSC ("/mixer/crossFadeSectionVisibility", mix.isCrossFadeSectionVisible (), dump);
-        this.writer.sendOSC ("/mixer/deviceSectionVisibility", mix.isDeviceSectionVisible (), dump);
-        this.writer.sendOSC ("/mixer/sendsSectionVisibility", mix.isSendSectionVisible (), dump);
-        this.writer.sendOSC ("/mixer/ioSectionVisibility", mix.isIoSectionVisible (), dump);
-        this.writer.sendOSC ("/mixer/meterSectionVisibility", mix.isMeterSectionVisible (), dump);
+        this.writer.sendOSC (this.addresses.get ("mixer/clipLauncherSectionVisibility"), mix.isClipLauncherSectionVisible (), dump);
+        this.writer.sendOSC (this.addresses.get ("mixer/crossFadeSectionVisibility"), mix.isCrossFadeSectionVisible (), dump);
+        this.writer.sendOSC (this.addresses.get ("mixer/deviceSectionVisibility"), mix.isDeviceSectionVisible (), dump);
+        this.writer.sendOSC (this.addresses.get ("mixer/sendsSectionVisibility"), mix.isSendSectionVisible (), dump);
+        this.writer.sendOSC (this.addresses.get ("mixer/ioSectionVisibility"), mix.isIoSectionVisible (), dump);
+        this.writer.sendOSC (this.addresses.get ("mixer/meterSectionVisibility"), mix.isMeterSectionVisible (), dump);
     }
 }
@@ -21,6 +21,7 @@ import de.mossgrabers.framework.daw.midi.INoteRepeat;
 import de.mossgrabers.framework.daw.midi.MidiConstants;
 import de.mossgrabers.framework.featuregroup.AbstractView;
 import de.mossgrabers.framework.osc.IOpenSoundControlWriter;
+import de.mossgrabers.framework.osc.OpenSoundControlAddressTable;
 import de.mossgrabers.framework.scale.Scales;
 import de.mossgrabers.framework.utils.KeyManager;
 
@@ -84,11 +85,10 @@ public class MidiModule extends AbstractModule
     @Override
     public void flush (final boolean dump)
     {
-        final String noteAddress = "/vkb_midi/note/";
         for (int i = 0; i < 127; i++)
         {
             final double [] color = this.getNoteColor (i).toDoubleRGB ();
-            this.writer.sendOSCColor (noteAddress + i + "/color", color[0], color[1], color[2], dump);
+            this.writer.sendOSCColor (this.addresses.getChild ("vkb_midi/note/", i).get (TAG_COLOR), color[0], color[1], color[2], dump);
         }
 
         // Flush note repeat
@@ -96,11 +96,11 @@ public class MidiModule extends AbstractModule
         if (noteInput == null)
             return;
         final INoteRepeat noteRepeat = noteInput.getNoteRepeat ();
-        final String noteRepeatAddress = "/vkb_midi/noterepeat/";
+        final OpenSoundControlAddressTable noteRepeatAddresses = this.addresses.getChild ("vkb_midi/noterepeat/");
 
-        this.writer.sendOSC (noteRepeatAddress + "isActive", noteRepeat.isActive (), dump);
-        this.writer.sendOSC (noteRepeatAddress + "period", Resolution.getNameAt (Resolution.getMatch (noteRepeat.getPeriod ())), dump);
-        this.writer.sendOSC (noteRepeatAddress + "length", Resolution.getNameAt (Resolution.getMatch (noteRepeat.getNoteLength ())), dump);
+        this.writer.sendOSC (noteRepeatAddresses.get ("isActive"), noteRepeat.isActive (), dump);
+        this.writer.sendOSC (noteRepeatAddresses.get ("period"), Resolution.getNameAt (Resolution.getMatch (noteRepeat.getPeriod ())), dump);
+        this.writer.sendOSC (noteRepeatAddresses.get ("length"), Resolution.getNameAt (Resolution.getMatch (noteRepeat.getNoteLength ())), dump);
     }
 
 
@@ -17,6 +17,7 @@ import de.mossgrabers.framework.daw.IProject;
 import de.mossgrabers.framework.daw.data.bank.IParameterBank;
 import de.mossgrabers.framework.daw.data.bank.IParameterPageBank;
 import de.mossgrabers.framework.osc.IOpenSoundControlWriter;
+import de.mossgrabers.framework.osc.OpenSoundControlAddressTable;
 import de.mossgrabers.framework.parameter.IParameter;
 
 
@@ -196,15 +197,14 @@ public class ProjectModule extends AbstractModule
     @Override
     public void flush (final boolean dump)
     {
-        this.writer.sendOSC ("/project/name", this.model.getProject ().getName (), dump);
-        this.writer.sendOSC ("/project/engine", this.model.getApplication ().isEngineActive (), dump);
+        this.writer.sendOSC (this.addresses.get ("project/name"), this.model.getProject ().getName (), dump);
+        this.writer.sendOSC (this.addresses.get ("project/engine"), this.model.getApplication ().isEngineActive (), dump);
 
-        final String paramAddress = "/project/param/";
         final IParameterBank parameterBank = this.model.getProject ().getParameterBank ();
         for (int i = 0; i < parameterBank.getPageSize (); i++)
         {
             final int oneplus = i + 1;
-            this.flushParameterData (this.writer, paramAddress + oneplus + "/", parameterBank.getItem (i), dump);
+            this.flushParameterData (this.writer, this.addresses.getChild ("project/param/", oneplus), parameterBank.getItem (i), dump);
         }
 
         final IParameterPageBank parameterPageBank = parameterBank.getPageBank ();
@@ -213,13 +213,13 @@ public class ProjectModule extends AbstractModule
         {
             final int oneplus = i + 1;
             final String pageName = parameterPageBank.getItem (i);
-            final String pageAddress = "/project/page/" + oneplus + "/";
-            this.writer.sendOSC (pageAddress + TAG_EXISTS, !pageName.isBlank (), dump);
-            this.writer.sendOSC (pageAddress, pageName, dump);
-            this.writer.sendOSC (pageAddress + TAG_NAME, pageName, dump);
-            this.writer.sendOSC (pageAddress + TAG_SELECTED, selectedParameterPage == i, dump);
+            final OpenSoundControlAddressTable pageAddresses = this.addresses.getChild ("project/page/", oneplus);
+            this.writer.sendOSC (pageAddresses.get (TAG_EXISTS), !pageName.isBlank (), dump);
+            this.writer.sendOSC (pageAddresses.get (""), pageName, dump);
+            this.writer.sendOSC (pageAddresses.get (TAG_NAME), pageName, dump);
+            this.writer.sendOSC (pageAddresses.get (TAG_SELECTED), selectedParameterPage == i, dump);
         }
         final Optional<String> selectedItem = parameterPageBank.getSelectedItem ();
-        this.writer.sendOSC ("/project/page/selected/" + TAG_NAME, selectedItem.isPresent () ? selectedItem.get () : "", dump);
+        this.writer.sendOSC (this.addresses.getChild ("project/page/selected/").get (TAG_NAME), selectedItem.isPresent () ? selectedItem.get () : "", dump);
     }
 }
@@ -16,6 +16,7 @@ import de.mossgrabers.framework.daw.IModel;
 import de.mossgrabers.framework.daw.data.IScene;
 import de.mossgrabers.framework.daw.data.bank.ISceneBank;
 import de.mossgrabers.framework.osc.IOpenSoundControlWriter;
+import de.mossgrabers.framework.osc.OpenSoundControlAddressTable;
 
 
 /**
@@ -151,15 +152,15 @@ public class SceneModule extends AbstractModule
         for (int i = 0; i < sceneBank.getPageSize (); i++)
         {
             final IScene scene = sceneBank.getItem (i);
-            final String sceneAddress = "/scene/" + (i + 1) + "/";
-            this.writer.sendOSC (sceneAddress + TAG_EXISTS, scene.doesExist (), dump);
-            this.writer.sendOSC (sceneAddress + TAG_NAME, scene.getName (), dump);
-            this.writer.sendOSC (sceneAddress + TAG_SELECTED, scene.isSelected (), dump);
+            final OpenSoundControlAddressTable sceneAddresses = this.addresses.getChild ("scene/", i + 1);
+            this.writer.sendOSC (sceneAddresses.get (TAG_EXISTS), scene.doesExist (), dump);
+            this.writer.sendOSC (sceneAddresses.get (TAG_NAME), scene.getName (), dump);
+            this.writer.sendOSC (sceneAddresses.get (TAG_SELECTED), scene.isSelected (), dump);
 
             ColorEx color = scene.getColor ();
             if (color == null)
                 color = ColorEx.BLACK;
-            this.writer.sendOSCColor (sceneAddress + TAG_COLOR, color.getRed (), color.getGreen (), color.getBlue (), dump);
+            this.writer.sendOSCColor (sceneAddresses.get (TAG_COLOR), color.getRed (), color.getGreen (), color.getBlue (), dump);
         }
     }
 }
@@ -28,6 +28,7 @@ import de.mossgrabers.framework.daw.data.bank.ISlotBank;
 import de.mossgrabers.framework.daw.data.bank.ITrackBank;
 import de.mossgrabers.framework.daw.resource.ChannelType;
 import de.mossgrabers.framework.osc.IOpenSoundControlWriter;
+import de.mossgrabers.framework.osc.OpenSoundControlAddressTable;
 import de.mossgrabers.framework.parameter.IParameter;
 
 
@@ -38,6 +39,14 @@ import de.mossgrabers.framework.parameter.IParameter;
  */
 public class TrackModule extends AbstractModule
 {
+    private static final String [] TYPE_NAMES = new String [ChannelType.values ().length];
+
+    static
+    {
+        for (final ChannelType type: ChannelType.values ())
+            TYPE_NAMES[type.ordinal ()] = type.name ().toLowerCase (Locale.US);
+    }
+
     private final OSCConfiguration configuration;
 
 
@@ -104,20 +113,19 @@ public class TrackModule extends AbstractModule
     {
         final ITrackBank trackBank = this.model.getCurrentTrackBank ();
         for (int i = 0; i < trackBank.getPageSize (); i++)
-            this.flushTrack (this.writer, "/track/" + (i + 1) + "/", trackBank.getItem (i), dump);
-        this.flushTrack (this.writer, "/master/", this.model.getMasterTrack (), dump);
+            this.flushTrack (this.writer, this.addresses.getChild ("track/", i + 1), trackBank.getItem (i), dump);
+        this.flushTrack (this.writer, this.addresses.getChild ("master/"), this.model.getMasterTrack (), dump);
         final ICursorTrack cursorTrack = this.model.getCursorTrack ();
-        this.flushTrack (this.writer, "/track/selected/", cursorTrack, dump);
-        this.writer.sendOSC ("/track/toggleBank", this.model.isEffectTrackBankActive () ? 1 : 0, dump);
-        this.writer.sendOSC ("/track/hasParent", trackBank.hasParent (), dump);
+        this.flushTrack (this.writer, this.addresses.getChild ("track/selected/"), cursorTrack, dump);
+        this.writer.sendOSC (this.addresses.get ("track/toggleBank"), this.model.isEffectTrackBankActive () ? 1 : 0, dump);
+        this.writer.sendOSC (this.addresses.get ("track/hasParent"), trackBank.hasParent (), dump);
 
         // Flush track parameters
-        final String paramAddress = "/track/param/";
         final IParameterBank parameterBank = this.model.getCursorTrack ().getParameterBank ();
         for (int i = 0; i < parameterBank.getPageSize (); i++)
         {
             final int oneplus = i + 1;
-            this.flushParameterData (this.writer, paramAddress + oneplus + "/", parameterBank.getItem (i), dump);
+            this.flushParameterData (this.writer, this.addresses.getChild ("track/param/", oneplus), parameterBank.getItem (i), dump);
         }
 
         final IParameterPageBank parameterPageBank = parameterBank.getPageBank ();
@@ -126,14 +134,14 @@ public class TrackModule extends AbstractModule
         {
             final int oneplus = i + 1;
             final String pageName = parameterPageBank.getItem (i);
-            final String pageAddress = "/track/page/" + oneplus + "/";
-            this.writer.sendOSC (pageAddress + TAG_EXISTS, !pageName.isBlank (), dump);
-            this.writer.sendOSC (pageAddress, pageName, dump);
-            this.writer.sendOSC (pageAddress + TAG_NAME, pageName, dump);
-            this.writer.sendOSC (pageAddress + TAG_SELECTED, selectedParameterPage == i, dump);
+            final OpenSoundControlAddressTable pageAddresses = this.addresses.getChild ("track/page/", oneplus);
+            this.writer.sendOSC (pageAddresses.get (TAG_EXISTS), !pageName.isBlank (), dump);
+            this.writer.sendOSC (pageAddresses.get (""), pageName, dump);
+            this.writer.sendOSC (pageAddresses.get (TAG_NAME), pageName, dump);
+            this.writer.sendOSC (pageAddresses.get (TAG_SELECTED), selectedParameterPage == i, dump);
         }
         final Optional<String> selectedItem = parameterPageBank.getSelectedItem ();
-        this.writer.sendOSC ("/track/page/selected/" + TAG_NAME, selectedItem.isPresent () ? selectedItem.get () : "", dump);
+        this.writer.sendOSC (this.addresses.getChild ("track/page/selected/").get (TAG_NAME), selectedItem.isPresent () ? selectedItem.get () : "", dump);
     }
 
 
@@ -141,68 +149,68 @@ public class TrackModule extends AbstractModule
      * Flush all data of a track.
      *
      * @param writer Where to send the messages to
-     * @param trackAddress The start address for the track
+     * @param trackAddresses The addresses of the track
      * @param track The track
      * @param dump Forces a flush if true otherwise only changed values are flushed
      */
-    private void flushTrack (final IOpenSoundControlWriter writer, final String trackAddress, final ITrack track, final boolean dump)
+    private void flushTrack (final IOpenSoundControlWriter writer, final OpenSoundControlAddressTable trackAddresses, final ITrack track, final boolean dump)
     {
-        writer.sendOSC (trackAddress + TAG_EXISTS, track.doesExist (), dump);
+        writer.sendOSC (trackAddresses.get (TAG_EXISTS), track.doesExist (), dump);
         final ChannelType type = track.getType ();
-        writer.sendOSC (trackAddress + "type", type == null ? null : type.name ().toLowerCase (Locale.US), dump);
-        writer.sendOSC (trackAddress + TAG_ACTIVATED, track.isActivated (), dump);
-        writer.sendOSC (trackAddress + TAG_SELECTED, track.isSelected (), dump);
-        writer.sendOSC (trackAddress + "isGroup", track.isGroup (), dump);
-        writer.sendOSC (trackAddress + TAG_NAME, track.getName (), dump);
-        writer.sendOSC (trackAddress + "volumeStr", track.getVolumeStr (), dump);
-        writer.sendOSC (trackAddress + TAG_VOLUME, track.getVolume (), dump);
-        writer.sendOSC (trackAddress + "panStr", track.getPanStr (), dump);
-        writer.sendOSC (trackAddress + "pan", track.getPan (), dump);
-        writer.sendOSC (trackAddress + "mute", track.isMute (), dump);
-        writer.sendOSC (trackAddress + "solo", track.isSolo (), dump);
-        writer.sendOSC (trackAddress + "recarm", track.isRecArm (), dump);
-        writer.sendOSC (trackAddress + "monitor", track.isMonitor (), dump);
-        writer.sendOSC (trackAddress + "autoMonitor", track.isAutoMonitor (), dump);
-        writer.sendOSC (trackAddress + "canHoldNotes", track.canHoldNotes (), dump);
-        writer.sendOSC (trackAddress + "canHoldAudioData", track.canHoldAudioData (), dump);
-        writer.sendOSC (trackAddress + "position", track.getPosition (), dump);
+        writer.sendOSC (trackAddresses.get ("type"), type == null ? null : TYPE_NAMES[type.ordinal ()], dump);
+        writer.sendOSC (trackAddresses.get (TAG_ACTIVATED), track.isActivated (), dump);
+        writer.sendOSC (trackAddresses.get (TAG_SELECTED), track.isSelected (), dump);
+        writer.sendOSC (trackAddresses.get ("isGroup"), track.isGroup (), dump);
+        writer.sendOSC (trackAddresses.get (TAG_NAME), track.getName (), dump);
+        writer.sendOSC (trackAddresses.get ("volumeStr"), track.getVolumeStr (), dump);
+        writer.sendOSC (trackAddresses.get (TAG_VOLUME), track.getVolume (), dump);
+        writer.sendOSC (trackAddresses.get ("panStr"), track.getPanStr (), dump);
+        writer.sendOSC (trackAddresses.get ("pan"), track.getPan (), dump);
+        writer.sendOSC (trackAddresses.get ("mute"), track.isMute (), dump);
+        writer.sendOSC (trackAddresses.get ("solo"), track.isSolo (), dump);
+        writer.sendOSC (trackAddresses.get ("recarm"), track.isRecArm (), dump);
+        writer.sendOSC (trackAddresses.get ("monitor"), track.isMonitor (), dump);
+        writer.sendOSC (trackAddresses.get ("autoMonitor"), track.isAutoMonitor (), dump);
+        writer.sendOSC (trackAddresses.get ("canHoldNotes"), track.canHoldNotes (), dump);
+        writer.sendOSC (trackAddresses.get ("canHoldAudioData"), track.canHoldAudioData (), dump);
+        writer.sendOSC (trackAddresses.get ("position"), track.getPosition (), dump);
 
         if (track instanceof final ICursorTrack cursorTrack)
-            writer.sendOSC (trackAddress + "pinned", cursorTrack.isPinned (), dump);
+            writer.sendOSC (trackAddresses.get ("pinned"), cursorTrack.isPinned (), dump);
 
         final ISendBank sendBank = track.getSendBank ();
         for (int i = 0; i < sendBank.getPageSize (); i++)
-            this.flushParameterData (writer, trackAddress + "send/" + (i + 1) + "/", sendBank.getItem (i), dump);
+            this.flushParameterData (writer, trackAddresses.getChild ("send/", i + 1), sendBank.getItem (i), dump);
 
         final ISlotBank slotBank = track.getSlotBank ();
         for (int i = 0; i < slotBank.getPageSize (); i++)
         {
             final ISlot slot = slotBank.getItem (i);
-            final String clipAddress = trackAddress + "clip/" + (i + 1) + "/";
-            writer.sendOSC (clipAddress + TAG_NAME, slot.getName (), dump);
-            writer.sendOSC (clipAddress + "isSelected", slot.isSelected (), dump);
-            writer.sendOSC (clipAddress + "hasContent", slot.hasContent (), dump);
-            writer.sendOSC (clipAddress + "isPlaying", slot.isPlaying (), dump);
-            writer.sendOSC (clipAddress + "isRecording", slot.isRecording (), dump);
-            writer.sendOSC (clipAddress + "isPlayingQueued", slot.isPlayingQueued (), dump);
-            writer.sendOSC (clipAddress + "isRecordingQueued", slot.isRecordingQueued (), dump);
-            writer.sendOSC (clipAddress + "isStopQueued", slot.isStopQueued (), dump);
+            final OpenSoundControlAddressTable clipAddresses = trackAddresses.getChild ("clip/", i + 1);
+            writer.sendOSC (clipAddresses.get (TAG_NAME), slot.getName (), dump);
+            writer.sendOSC (clipAddresses.get ("isSelected"), slot.isSelected (), dump);
+            writer.sendOSC (clipAddresses.get ("hasContent"), slot.hasContent (), dump);
+            writer.sendOSC (clipAddresses.get ("isPlaying"), slot.isPlaying (), dump);
+            writer.sendOSC (clipAddresses.get ("isRecording"), slot.isRecording (), dump);
+            writer.sendOSC (clipAddresses.get ("isPlayingQueued"), slot.isPlayingQueued (), dump);
+            writer.sendOSC (clipAddresses.get ("isRecordingQueued"), slot.isRecordingQueued (), dump);
+            writer.sendOSC (clipAddresses.get ("isStopQueued"), slot.isStopQueued (), dump);
 
             final ColorEx color = slot.getColor ();
-            writer.sendOSCColor (clipAddress + TAG_COLOR, color.getRed (), color.getGreen (), color.getBlue (), dump);
+            writer.sendOSCColor (clipAddresses.get (TAG_COLOR), color.getRed (), color.getGreen (), color.getBlue (), dump);
         }
 
         final ColorEx color = track.getColor ();
-        writer.sendOSCColor (trackAddress + TAG_COLOR, color.getRed (), color.getGreen (), color.getBlue (), dump);
+        writer.sendOSCColor (trackAddresses.get (TAG_COLOR), color.getRed (), color.getGreen (), color.getBlue (), dump);
 
         final String crossfadeMode = track.getCrossfadeParameter ().getDisplayedValue ();
-        writer.sendOSC (trackAddress + "crossfadeMode/A", "A".equals (crossfadeMode), dump);
-        writer.sendOSC (trackAddress + "crossfadeMode/B", "B".equals (crossfadeMode), dump);
-        writer.sendOSC (trackAddress + "crossfadeMode/AB", "AB".equals (crossfadeMode), dump);
+        writer.sendOSC (trackAddresses.get ("crossfadeMode/A"), "A".equals (crossfadeMode), dump);
+        writer.sendOSC (trackAddresses.get ("crossfadeMode/B"), "B".equals (crossfadeMode), dump);
+        writer.sendOSC (trackAddresses.get ("crossfadeMode/AB"), "AB".equals (crossfadeMode), dump);
 
-        writer.sendOSC (trackAddress + "recordQuantization", track.getRecordQuantizationGrid ().getValue (), dump);
+        writer.sendOSC (trackAddresses.get ("recordQuantization"), track.getRecordQuantizationGrid ().getValue (), dump);
 
-        writer.sendOSC (trackAddress + "vu", this.configuration.isEnableVUMeters () ? track.getVu () : 0, dump);
+        writer.sendOSCMeter (trackAddresses.get ("vu"), this.configuration.isEnableVUMeters () ? track.getVu () : 0, dump);
     }
 
 
@@ -290,29 +290,29 @@ public class TransportModule extends AbstractModule
     @Override
     public void flush (final boolean dump)
     {
-        this.writer.sendOSC ("/play", this.transport.isPlaying (), dump);
-        this.writer.sendOSC ("/record", this.transport.isRecording (), dump);
-        this.writer.sendOSC ("/overdub", this.transport.isArrangerOverdub (), dump);
-        this.writer.sendOSC ("/overdub/launcher", this.transport.isLauncherOverdub (), dump);
-        this.writer.sendOSC ("/repeat", this.transport.isLoop (), dump);
-        this.writer.sendOSC ("/punchIn", this.transport.isPunchInEnabled (), dump);
-        this.writer.sendOSC ("/punchOut", this.transport.isPunchOutEnabled (), dump);
-        this.writer.sendOSC ("/click", this.transport.isMetronomeOn (), dump);
-        this.writer.sendOSC ("/click/ticks", this.transport.isMetronomeTicksOn (), dump);
-        this.writer.sendOSC ("/click/volume", this.transport.getMetronomeVolume (), dump);
-        this.writer.sendOSC ("/click/volumeStr", this.transport.getMetronomeVolumeStr (), dump);
-        this.writer.sendOSC ("/click/preroll", this.transport.isPrerollMetronomeEnabled (), dump);
-        this.writer.sendOSC ("/preroll", this.transport.getPrerollMeasures (), dump);
-        this.writer.sendOSC ("/tempo/raw", this.transport.getTempo (), dump);
-        this.writer.sendOSC ("/crossfade", this.transport.getCrossfade (), dump);
-        this.writer.sendOSC ("/autowrite", this.transport.isWritingArrangerAutomation (), dump);
-        this.writer.sendOSC ("/autowrite/launcher", this.transport.isWritingClipLauncherAutomation (), dump);
-        this.writer.sendOSC ("/automationWriteMode", this.transport.getAutomationWriteMode ().getIdentifier (), dump);
-        this.writer.sendOSC ("/time/str", this.transport.getPositionText (), dump);
-        this.writer.sendOSC ("/time/signature", this.transport.getNumerator () + " / " + this.transport.getDenominator (), dump);
-        this.writer.sendOSC ("/beat/str", this.transport.getBeatText (), dump);
-        this.writer.sendOSC ("/launcher/postRecordingAction", this.transport.getClipLauncherPostRecordingAction ().getIdentifier (), dump);
-        this.writer.sendOSC ("/launcher/postRecordingTimeOffset", this.transport.getClipLauncherPostRecordingTimeOffset (), dump);
-        this.writer.sendOSC ("/launcher/defaultQuantization", this.transport.getDefaultLaunchQuantization ().getValue (), dump);
+        this.writer.sendOSC (this.addresses.get ("play"), this.transport.isPlaying (), dump);
+        this.writer.sendOSC (this.addresses.get ("record"), this.transport.isRecording (), dump);
+        this.writer.sendOSC (this.addresses.get ("overdub"), this.transport.isArrangerOverdub (), dump);
+        this.writer.sendOSC (this.addresses.get ("overdub/launcher"), this.transport.isLauncherOverdub (), dump);
+        this.writer.sendOSC (this.addresses.get ("repeat"), this.transport.isLoop (), dump);
+        this.writer.sendOSC (this.addresses.get ("punchIn"), this.transport.isPunchInEnabled (), dump);
+        this.writer.sendOSC (this.addresses.get ("punchOut"), this.transport.isPunchOutEnabled (), dump);
+        this.writer.sendOSC (this.addresses.get ("click"), this.transport.isMetronomeOn (), dump);
+        this.writer.sendOSC (this.addresses.get ("click/ticks"), this.transport.isMetronomeTicksOn (), dump);
+        this.writer.sendOSC (this.addresses.get ("click/volume"), this.transport.getMetronomeVolume (), dump);
+        this.writer.sendOSC (this.addresses.get ("click/volumeStr"), this.transport.getMetronomeVolumeStr (), dump);
+        this.writer.sendOSC (this.addresses.get ("click/preroll"), this.transport.isPrerollMetronomeEnabled (), dump);
+        this.writer.sendOSC (this.addresses.get ("preroll"), this.transport.getPrerollMeasures (), dump);
+        this.writer.sendOSC (this.addresses.get ("tempo/raw"), this.transport.getTempo (), dump);
+        this.writer.sendOSC (this.addresses.get ("crossfade"), this.transport.getCrossfade (), dump);
+        this.writer.sendOSC (this.addresses.get ("autowrite"), this.transport.isWritingArrangerAutomation (), dump);
+        this.writer.sendOSC (this.addresses.get ("autowrite/launcher"), this.transport.isWritingClipLauncherAutomation (), dump);
+        this.writer.sendOSC (this.addresses.get ("automationWriteMode"), this.transport.getAutomationWriteMode ().getIdentifier (), dump);
+        this.writer.sendOSCPosition (this.addresses.get ("time/str"), this.transport.getPositionText (), dump);
+        this.writer.sendOSC (this.addresses.get ("time/signature"), this.transport.getNumerator () + " / " + this.transport.getDenominator (), dump);
+        this.writer.sendOSCPosition (this.addresses.get ("beat/str"), this.transport.getBeatText (), dump);
+        this.writer.sendOSC (this.addresses.get ("launcher/postRecordingAction"), this.transport.getClipLauncherPostRecordingAction ().getIdentifier (), dump);
+        this.writer.sendOSC (this.addresses.get ("launcher/postRecordingTimeOffset"), this.transport.getClipLauncherPostRecordingTimeOffset (), dump);
+        this.writer.sendOSC (this.addresses.get ("launcher/defaultQuantization"), this.transport.getDefaultLaunchQuantization ().getValue (), dump);
     }
 }
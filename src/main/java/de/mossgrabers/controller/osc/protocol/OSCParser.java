@@ -26,12 +26,40 @@ import java.util.Map;
 
 
 /**
- * Parser for OSC messages.
+ * Parser for OSC messages. The address is split and the module which handles the command is looked
+ * up when a message is received. The command is executed later on.
  *
  * @author Jürgen Moßgraber
  */
 public class OSCParser extends AbstractOpenSoundControlParser
 {
+    /**
+     * A message with the parsed address.
+     *
+     * @param message The received message
+     * @param command The first part of the address
+     * @param oscParts The remaining parts of the address
+     * @param module The module which handles the command, null if unknown
+     */
+    private record ParsedMessage (IOpenSoundControlMessage message, String command, LinkedList<String> oscParts, IModule module) implements IOpenSoundControlMessage
+    {
+        /** {@inheritDoc} */
+        @Override
+        public String getAddress ()
+        {
+            return this.message.getAddress ();
+        }
+
+
+        /** {@inheritDoc} */
+        @Override
+        public Object [] getValues ()
+        {
+            return this.message.getValues ();
+        }
+    }
+
+
     private final OSCControlSurface    surface;
     private final Map<String, IModule> modules = new HashMap<> ();
 
@@ -58,17 +86,26 @@ public class OSCParser extends AbstractOpenSoundControlParser
     }
 
 
+    /** {@inheritDoc} */
+    @Override
+    public IOpenSoundControlMessage prepare (final IOpenSoundControlMessage message)
+    {
+        final ParsedMessage parsed = this.parse (message);
+        return parsed == null ? message : parsed;
+    }
+
+
     /** {@inheritDoc} */
     @Override
     public void handle (final IOpenSoundControlMessage message)
     {
         this.logMessage (message);
 
-        final LinkedList<String> oscParts = parseAddress (message);
-        if (oscParts.isEmpty ())
+        final ParsedMessage parsed = message instanceof final ParsedMessage pm ? pm : this.parse (message);
+        if (parsed == null)
             return;
 
-        final String command = oscParts.removeFirst ();
+        final String command = parsed.command ();
         if ("refresh".equals (command))
         {
             this.writer.flush (true);
@@ -78,13 +115,13 @@ public class OSCParser extends AbstractOpenSoundControlParser
         final Object [] values = message.getValues ();
         try
         {
-            final IModule module = this.modules.get (command);
+            final IModule module = parsed.module ();
             if (module == null)
                 throw new UnknownCommandException (command);
             if (values != null && values.length > 1)
-                module.execute (command, oscParts, values);
+                module.execute (command, parsed.oscParts (), values);
             else
-                module.execute (command, oscParts, values == null || values.length == 0 ? null : values[0]);
+                module.execute (command, parsed.oscParts (), values == null || values.length == 0 ? null : values[0]);
         }
         catch (final IllegalParameterException ex)
         {
@@ -101,6 +138,24 @@ public class OSCParser extends AbstractOpenSoundControlParser
     }
 
 
+    /**
+     * Parses the address of the OSC message into separate parts and looks up the module of the
+     * command.
+     *
+     * @param message The message
+     * @return The parsed message, null if the address is empty
+     */
+    private ParsedMessage parse (final IOpenSoundControlMessage message)
+    {
+        final LinkedList<String> oscParts = parseAddress (message);
+        if (oscParts.isEmpty ())
+            return null;
+
+        final String command = oscParts.removeFirst ();
+        return new ParsedMessage (message, command, oscParts, this.modules.get (command));
+    }
+
+
     /**
      * Parses the OSC message into separate parts.
      *
@@ -57,6 +57,7 @@ public class OSCWriter extends AbstractOpenSoundControlWriter
         if (!this.isConnected ())
             return;
         this.modules.forEach (module -> module.flush (dump));
+        this.flushStreams ();
         this.flush ("/update");
     }
 
@@ -4,14 +4,14 @@
 
 package de.mossgrabers.controller.oxi.one.controller;
 
-import java.util.BitSet;
-
 import de.mossgrabers.framework.controller.display.AbstractGraphicDisplay;
+import de.mossgrabers.framework.controller.display.MonochromeDisplayEncoder;
 import de.mossgrabers.framework.daw.IHost;
 import de.mossgrabers.framework.daw.midi.IMidiOutput;
 import de.mossgrabers.framework.graphics.ChromaticGraphicsConfiguration;
 import de.mossgrabers.framework.graphics.DefaultGraphicsDimensions;
 import de.mossgrabers.framework.graphics.IBitmap;
+import de.mossgrabers.framework.graphics.IBounds;
 
 
 /**
@@ -21,16 +21,14 @@ import de.mossgrabers.framework.graphics.IBitmap;
  */
 public class OxiOneDisplay extends AbstractGraphicDisplay
 {
-    private static final int  NUM_COLS      = 128;
-    private static final int  NUM_ROWS      = 64;
-    private static final int  NUM_PIXELS    = NUM_COLS * NUM_ROWS;
-
-    private final IMidiOutput output;
-    private final BitSet      oledBitmap    = new BitSet (NUM_PIXELS);
-    private final BitSet      oldOledBitmap = new BitSet (NUM_PIXELS);
-    private final byte []     displayData   = new byte [8 + NUM_PIXELS / 4];
+    private static final int               NUM_COLS    = 128;
+    private static final int               NUM_ROWS    = 64;
+    private static final int               NUM_PIXELS  = NUM_COLS * NUM_ROWS;
+    private static final int               FRAME_SIZE  = NUM_PIXELS / 4;
 
-    private long              lastSend      = System.currentTimeMillis ();
+    private final IMidiOutput              output;
+    private final MonochromeDisplayEncoder encoder;
+    private final byte []                  displayData = new byte [8 + FRAME_SIZE];
 
 
     /**
@@ -56,6 +54,9 @@ public class OxiOneDisplay extends AbstractGraphicDisplay
         this.displayData[6] = 0x03; // Set display command
 
         this.displayData[this.displayData.length - 1] = (byte) 0xF7;
+
+        // The device only supports updating the whole display
+        this.encoder = new MonochromeDisplayEncoder (NUM_COLS, NUM_ROWS, 1, FRAME_SIZE, FRAME_SIZE, OxiOneDisplay::getBitPosition, this::sendFrame);
     }
 
 
@@ -74,68 +75,39 @@ public class OxiOneDisplay extends AbstractGraphicDisplay
     @Override
     protected void send (final IBitmap image)
     {
-        synchronized (this.displayData)
+        synchronized (this.encoder)
         {
-            image.encode ( (imageBuffer, width, height) -> {
-
-                // Set all 128x64 pixels
-                for (int y = 0; y < height; y++)
-                {
-                    for (int x = 0; x < width; x++)
-                    {
-                        final int blue = imageBuffer.get ();
-                        final int green = imageBuffer.get ();
-                        final int red = imageBuffer.get ();
-                        imageBuffer.get (); // Drop unused Alpha
-
-                        this.oledBitmap.set (y * NUM_COLS + x, blue + green + red < 0);
-                    }
-                }
-            });
-
-            // Slow down display updates to not flood the device controller
-            // Send if content has changed or every 3 seconds if there was no change to keep
-            // the display from going into sleep mode
-            final long now = System.currentTimeMillis ();
-            if (this.oledBitmap.equals (this.oldOledBitmap))
-            {
-                if (now - this.lastSend < 3000)
-                    return;
-            }
-            else
-            {
-                this.oldOledBitmap.clear ();
-                this.oldOledBitmap.or (this.oledBitmap);
-
-                int pos = 7; // Offset to the 1st data byte
-
-                // Format is a bit weird: 2 bytes contain 8 pixel in a y-column. These stripes start
-                // from top left.
-                for (int y = 0; y < NUM_ROWS; y += 8)
-                {
-                    for (int x = 0; x < NUM_COLS; x++)
-                    {
-                        byte nibble1 = 0;
-                        byte nibble2 = 0;
-                        for (int bit = 0; bit < 8; bit++)
-                        {
-                            if (this.oledBitmap.get ((y + bit) * NUM_COLS + x))
-                            {
-                                if (bit > 3)
-                                    nibble1 |= 1 << bit - 4;
-                                else
-                                    nibble2 |= 1 << bit;
-                            }
-                        }
-                        this.displayData[pos] = nibble1;
-                        this.displayData[pos + 1] = nibble2;
-                        pos += 2;
-                    }
-                }
-            }
-            this.lastSend = now;
-
-            this.output.sendSysex (this.displayData);
+            // The encoder still contains the frame if the image was not rendered again, flush
+            // anyway to keep the display alive. Only the rendered columns are encoded again.
+            final IBounds changedArea = this.getChangedArea ();
+            if (changedArea != null)
+                image.encode (this.encoder, changedArea);
+            this.encoder.flush ();
         }
     }
+
+
+    private void sendFrame (final int page, final int start, final int end, final byte [] frame)
+    {
+        // Offset 7 is the 1st data byte
+        System.arraycopy (frame, 0, this.displayData, 7, FRAME_SIZE);
+        this.output.sendSysex (this.displayData);
+    }
+
+
+    /**
+     * Get the position of a pixel in the frame. The format is a bit weird: 2 bytes contain 8 pixels
+     * in a y-column. The first byte contains the rows 4 to 7, the second the rows 0 to 3. These
+     * stripes start from top left.
+     *
+     * @param x The horizontal position of the pixel
+     * @param y The vertical position of the pixel
+     * @return The position of the bit in the frame
+     */
+    private static int getBitPosition (final int x, final int y)
+    {
+        final int bit = y % 8;
+        final int index = (y / 8 * NUM_COLS + x) * 2 + (bit > 3 ? 0 : 1);
+        return index * 8 + bit % 4;
+    }
 }
\ No newline at end of file
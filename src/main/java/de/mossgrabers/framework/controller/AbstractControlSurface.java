@@ -48,6 +48,7 @@ import de.mossgrabers.framework.featuregroup.ModeManager;
 import de.mossgrabers.framework.featuregroup.ViewManager;
 import de.mossgrabers.framework.graphics.IBitmap;
 import de.mossgrabers.framework.utils.ButtonEvent;
+import de.mossgrabers.framework.utils.LatencyTracer;
 import de.mossgrabers.framework.view.Views;
 
 
@@ -97,6 +98,7 @@ public abstract class AbstractControlSurface<C extends Configuration> implements
 
     private final Object                                  updateCounterLock              = new Object ();
     private int                                           updateCounter                  = 0;
+    private final LatencyTracer.Trace                     latencyTrace                   = new LatencyTracer.Trace ();
 
     private boolean                                       knobSensitivityIsSlow          = false;
     private final List<ISensitivityCallback>              knobSensitivityObservers       = new ArrayList<> ();
@@ -172,7 +174,10 @@ public abstract class AbstractControlSurface<C extends Configuration> implements
         this.output = output;
         this.input = input;
         if (this.input != null)
+        {
             this.input.setMidiCallback (this::handleMidi);
+            this.input.setLatencyTrace (this.latencyTrace);
+        }
 
         this.createPads ();
         this.createLightGuide ();
@@ -195,7 +200,7 @@ public abstract class AbstractControlSurface<C extends Configuration> implements
 
             final ButtonID buttonID = ButtonID.get (ButtonID.PAD1, i);
             final IHwButton pad = this.createButton (buttonID, "P " + (i + 1));
-            pad.addLight (this.surfaceFactory.createLight (this.surfaceID, null, () -> this.padGrid.getLightInfo (note).getEncoded (), state -> this.padGrid.sendState (note), colorIndex -> this.colorManager.getColor (colorIndex, buttonID), pad));
+            pad.addLight (this.surfaceFactory.createLight (this.surfaceID, null, () -> this.padGrid.getLightInfo (note).getEncoded (), state -> this.sendPadState (note), colorIndex -> this.colorManager.getColor (colorIndex, buttonID), pad));
             final int [] translated = this.padGrid.translateToController (note);
             pad.bind (this.input, BindType.NOTE, translated[0], translated[1]);
             pad.bind ( (event, velocity) -> this.handleGridNote (event, note, velocity));
@@ -203,6 +208,18 @@ public abstract class AbstractControlSurface<C extends Configuration> implements
     }
 
 
+    /**
+     * Send the state of a pad to the device.
+     *
+     * @param note The note of the pad
+     */
+    protected void sendPadState (final int note)
+    {
+        this.padGrid.sendState (note);
+        this.latencyTrace.stamp (LatencyTracer.Stage.PAD_GRID);
+    }
+
+
     /** {@inheritDoc} */
     @Override
     public void consumePads ()
@@ -377,6 +394,7 @@ public abstract class AbstractControlSurface<C extends Configuration> implements
     {
         this.pianoKeyboard = this.surfaceFactory.createPianoKeyboard (this.surfaceID, numKeys);
         this.pianoKeyboard.bind (keyboardInput);
+        keyboardInput.setLatencyTrace (this.latencyTrace);
 
         if (!addWheels)
             return;
@@ -429,6 +447,14 @@ public abstract class AbstractControlSurface<C extends Configuration> implements
     }
 
 
+    /** {@inheritDoc} */
+    @Override
+    public LatencyTracer.Trace getLatencyTrace ()
+    {
+        return this.latencyTrace;
+    }
+
+
     /** {@inheritDoc} */
     @Override
     public void setKeyTranslationTable (final int [] table)
@@ -737,6 +763,8 @@ public abstract class AbstractControlSurface<C extends Configuration> implements
     @Override
     public void flush ()
     {
+        this.latencyTrace.stamp (LatencyTracer.Stage.FLUSH_REQUEST);
+
         synchronized (this.updateCounterLock)
         {
             this.updateCounter++;
@@ -745,6 +773,20 @@ public abstract class AbstractControlSurface<C extends Configuration> implements
     }
 
 
+    /**
+     * Check if a requested flush is not finished yet.
+     *
+     * @return True if the flush handler is scheduled or running
+     */
+    public boolean isFlushPending ()
+    {
+        synchronized (this.updateCounterLock)
+        {
+            return this.updateCounter > 0;
+        }
+    }
+
+
     /** {@inheritDoc} */
     @Override
     public void forceFlush ()
@@ -786,6 +828,8 @@ public abstract class AbstractControlSurface<C extends Configuration> implements
                 return;
         }
 
+        this.latencyTrace.stamp (LatencyTracer.Stage.FLUSH);
+
         try
         {
             this.internalFlushHandler ();
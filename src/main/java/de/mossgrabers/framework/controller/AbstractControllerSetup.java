@@ -21,6 +21,7 @@ import de.mossgrabers.framework.controller.hardware.IHwAbsoluteKnob;
 import de.mossgrabers.framework.controller.hardware.IHwButton;
 import de.mossgrabers.framework.controller.hardware.IHwContinuousControl;
 import de.mossgrabers.framework.controller.hardware.IHwFader;
+import de.mossgrabers.framework.controller.hardware.IHwLight;
 import de.mossgrabers.framework.controller.hardware.IHwRelativeKnob;
 import de.mossgrabers.framework.controller.valuechanger.IValueChanger;
 import de.mossgrabers.framework.controller.valuechanger.RelativeEncoding;
@@ -36,6 +37,7 @@ import de.mossgrabers.framework.featuregroup.IView;
 import de.mossgrabers.framework.featuregroup.ModeManager;
 import de.mossgrabers.framework.featuregroup.ViewManager;
 import de.mossgrabers.framework.mode.Modes;
+import de.mossgrabers.framework.observer.ModelArea;
 import de.mossgrabers.framework.scale.Scales;
 import de.mossgrabers.framework.utils.ButtonEvent;
 import de.mossgrabers.framework.utils.ConsoleLogger;
@@ -315,6 +317,41 @@ public abstract class AbstractControllerSetup<S extends IControlSurface<C>, C ex
     }
 
 
+    /**
+     * Only update the lights of the given buttons if the user input or the given area of the DAW
+     * model has changed. Must only be used for lights whose state supplier reads nothing else.
+     *
+     * @param area The area of the DAW model which is read by the state suppliers of the lights
+     * @param buttonIDs The IDs of the buttons, buttons which were not created are ignored
+     */
+    protected void enableChangeTracking (final ModelArea area, final ButtonID... buttonIDs)
+    {
+        this.enableChangeTracking (this.getSurface (), area, buttonIDs);
+    }
+
+
+    /**
+     * Only update the lights of the given buttons if the user input or the given area of the DAW
+     * model has changed. Must only be used for lights whose state supplier reads nothing else.
+     *
+     * @param surface The control surface which contains the buttons
+     * @param area The area of the DAW model which is read by the state suppliers of the lights
+     * @param buttonIDs The IDs of the buttons, buttons which were not created are ignored
+     */
+    protected void enableChangeTracking (final S surface, final ModelArea area, final ButtonID... buttonIDs)
+    {
+        for (final ButtonID buttonID: buttonIDs)
+        {
+            final IHwButton button = surface.getButton (buttonID);
+            if (button == null)
+                continue;
+            final IHwLight light = button.getLight ();
+            if (light != null)
+                light.enableChangeTracking (area);
+        }
+    }
+
+
     /**
      * Initialize the configuration settings.
      */
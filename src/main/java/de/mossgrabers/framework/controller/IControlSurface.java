@@ -27,6 +27,7 @@ import de.mossgrabers.framework.daw.midi.IMidiInput;
 import de.mossgrabers.framework.daw.midi.IMidiOutput;
 import de.mossgrabers.framework.featuregroup.ModeManager;
 import de.mossgrabers.framework.featuregroup.ViewManager;
+import de.mossgrabers.framework.utils.LatencyTracer;
 
 import java.util.Collection;
 import java.util.List;
@@ -177,6 +178,15 @@ public interface IControlSurface<C extends Configuration>
     IMidiInput getMidiInput ();
 
 
+    /**
+     * Get the trace in which the processing of the received messages is stamped if the latency
+     * tracing is enabled.
+     *
+     * @return The trace
+     */
+    LatencyTracer.Trace getLatencyTrace ();
+
+
     /**
      * Set the mapping of MIDI notes to the MIDI notes sent to the DAW.
      *
@@ -5,11 +5,9 @@
 package de.mossgrabers.framework.controller.display;
 
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.TimeUnit;
+import java.util.Objects;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 
@@ -24,8 +22,11 @@ import de.mossgrabers.framework.daw.data.ITrack;
 import de.mossgrabers.framework.daw.resource.ChannelType;
 import de.mossgrabers.framework.daw.resource.ResourceHandler;
 import de.mossgrabers.framework.graphics.Align;
+import de.mossgrabers.framework.graphics.DefaultBounds;
 import de.mossgrabers.framework.graphics.DefaultGraphicsInfo;
 import de.mossgrabers.framework.graphics.IBitmap;
+import de.mossgrabers.framework.graphics.IBounds;
+import de.mossgrabers.framework.graphics.IGraphicsContext;
 import de.mossgrabers.framework.graphics.IGraphicsConfiguration;
 import de.mossgrabers.framework.graphics.IGraphicsDimensions;
 import de.mossgrabers.framework.graphics.IGraphicsInfo;
@@ -44,6 +45,8 @@ import de.mossgrabers.framework.graphics.canvas.component.SendsComponent;
 import de.mossgrabers.framework.graphics.canvas.utils.SendData;
 import de.mossgrabers.framework.graphics.display.ModelInfo;
 import de.mossgrabers.framework.utils.Pair;
+import de.mossgrabers.framework.utils.TaskScheduler;
+import de.mossgrabers.framework.utils.TaskScheduler.Lane;
 
 
 /**
@@ -76,13 +79,14 @@ public abstract class AbstractGraphicDisplay implements IGraphicDisplay
     private static final int               TIMEOUT                         = 1;
 
     private final AtomicInteger            counter                         = new AtomicInteger ();
-    private final ScheduledExecutorService executor                        = Executors.newSingleThreadScheduledExecutor ();
+    private final ScheduledFuture<?>       notificationTimer;
     private final Object                   counterSync                     = new Object ();
 
     private final List<IComponent>         columns                         = new ArrayList<> (8);
     private final List<IComponent>         overlays                        = new ArrayList<> ();
     private final AtomicReference<String>  notificationMessage             = new AtomicReference<> ();
-    private ModelInfo                      info                            = new ModelInfo (null, Collections.emptyList (), Collections.emptyList ());
+    private ModelInfo                      info                            = null;
+    private IBounds                        changedArea                     = null;
 
     protected final IHost                  host;
     protected final IGraphicsConfiguration configuration;
@@ -112,7 +116,7 @@ public abstract class AbstractGraphicDisplay implements IGraphicDisplay
         this.image.setDisplayWindowTitle (windowTitle);
 
         // Manage notification message display time
-        this.executor.scheduleAtFixedRate (this::checkNotificationCounter, 1, 1, TimeUnit.SECONDS);
+        this.notificationTimer = TaskScheduler.getInstance ().scheduleAtFixedRate (Lane.TIMER, this::checkNotificationCounter, 1000, 1000);
     }
 
 
@@ -150,17 +154,7 @@ public abstract class AbstractGraphicDisplay implements IGraphicDisplay
     @Override
     public void shutdown ()
     {
-        this.executor.shutdown ();
-        try
-        {
-            if (!this.executor.awaitTermination (5, TimeUnit.SECONDS))
-                this.host.error ("Display send executor did not end in 5 seconds.");
-        }
-        catch (final InterruptedException ex)
-        {
-            this.host.error ("Display send executor interrupted.", ex);
-            Thread.currentThread ().interrupt ();
-        }
+        this.notificationTimer.cancel (false);
     }
 
 
@@ -168,7 +162,7 @@ public abstract class AbstractGraphicDisplay implements IGraphicDisplay
     @Override
     public void send ()
     {
-        if (this.executor.isShutdown ())
+        if (this.notificationTimer.isCancelled ())
             return;
 
         try
@@ -182,10 +176,13 @@ public abstract class AbstractGraphicDisplay implements IGraphicDisplay
             final ModelInfo newInfo = new ModelInfo (notification, this.columns, this.overlays);
 
             // Only render image if there is a change in the data
-            if (!this.info.equals (newInfo))
+            if (newInfo.equals (this.info))
+                this.changedArea = null;
+            else
             {
+                final ModelInfo previousInfo = this.info;
                 this.info = newInfo;
-                this.renderImage ();
+                this.changedArea = this.renderImage (previousInfo);
             }
         }
         finally
@@ -206,6 +203,17 @@ public abstract class AbstractGraphicDisplay implements IGraphicDisplay
     protected abstract void send (final IBitmap image);
 
 
+    /**
+     * Get the area of the image which was changed by the last call to send.
+     *
+     * @return The changed area or null if the image was not changed
+     */
+    protected IBounds getChangedArea ()
+    {
+        return this.changedArea;
+    }
+
+
     /** {@inheritDoc} */
     @Override
     public void setNotificationMessage (final String message)
@@ -439,48 +447,126 @@ public abstract class AbstractGraphicDisplay implements IGraphicDisplay
     }
 
 
-    private void renderImage ()
+    /**
+     * Render the image of the current model. Only the columns which differ from the previous model
+     * are painted again. A full repaint is necessary if there is no previous model, the number of
+     * columns has changed or a notification or overlay is (or was) displayed since they span all
+     * columns. The same applies to option columns, their headers are drawn across the following
+     * columns.
+     *
+     * @param previousInfo The previously rendered model, might be null
+     * @return The area which was rendered
+     */
+    private IBounds renderImage (final ModelInfo previousInfo)
     {
-        this.image.render (this.configuration.isAntialiasEnabled (), gc -> {
-
-            final int width = this.dimensions.getWidth ();
-            final int height = this.dimensions.getHeight ();
-            final double separatorSize = this.dimensions.getSeparatorSize ();
+        final int width = this.dimensions.getWidth ();
+        final int height = this.dimensions.getHeight ();
 
-            // Clear display
-            final ColorEx colorBorder = this.configuration.getColorBorder ();
-            gc.fillRectangle (0, 0, width, height, colorBorder);
-
-            // Draw the component element
-            final List<IComponent> elements = this.info.getComponents ();
-            final int size = elements.size ();
-            if (size == 0)
-                return;
-            final int gridWidth = width / size;
-            final double paintWidth = gridWidth - separatorSize;
-            final double offsetX = separatorSize / 2.0;
+        final List<IComponent> elements = this.info.getComponents ();
+        final int size = elements.size ();
+        if (previousInfo == null || size == 0 || previousInfo.getComponents ().size () != size || previousInfo.getNotification () != null || this.info.getNotification () != null || !previousInfo.getOverlays ().isEmpty () || !this.info.getOverlays ().isEmpty () || hasOptions (elements) || hasOptions (previousInfo.getComponents ()))
+        {
+            this.image.render (this.configuration.isAntialiasEnabled (), this::renderFullImage);
+            return new DefaultBounds (0, 0, width, height);
+        }
 
-            final IGraphicsInfo graphicsInfo = new DefaultGraphicsInfo (gc, this.configuration, this.dimensions);
-            for (int i = 0; i < size; i++)
+        // Components might draw up to the separator size outside of their bounds, therefore the
+        // area of changed columns is extended and their neighbours are painted again as well
+        final List<IComponent> previousElements = previousInfo.getComponents ();
+        final int gridWidth = width / size;
+        final int margin = (int) Math.ceil (this.dimensions.getSeparatorSize ()) + 1;
+        int changedLeft = width;
+        int changedRight = 0;
+        int column = 0;
+        while (column < size)
+        {
+            if (Objects.equals (elements.get (column), previousElements.get (column)))
             {
-                final IComponent component = elements.get (i);
-                if (component != null)
-                    component.draw (graphicsInfo.withBounds (i * gridWidth + offsetX, 0, paintWidth, height));
+                column++;
+                continue;
             }
 
-            // Draw overlays
-            for (final IComponent overlay: this.info.getOverlays ())
-                overlay.draw (graphicsInfo.withBounds (0, 0, width, height));
+            final int first = column;
+            while (column < size && !Objects.equals (elements.get (column), previousElements.get (column)))
+                column++;
+            final int last = column - 1;
 
-            // Draw an overlay notification
-            final String notification = this.info.getNotification ();
-            if (notification == null)
-                return;
+            final int left = Math.max (0, first * gridWidth - margin);
+            final int right = Math.min (width, (last + 1) * gridWidth + margin);
+            final int firstDrawn = Math.max (0, first - 1);
+            final int lastDrawn = Math.min (size - 1, last + 1);
+            this.image.render (this.configuration.isAntialiasEnabled (), new DefaultBounds (left, 0, right - left, height), gc -> {
 
-            final ColorEx colorText = this.configuration.getColorText ();
-            gc.drawTextInBounds (notification, 0, 0, width, height, Align.CENTER, colorText, ColorEx.calcContrastColor (colorText), height / 4.0);
+                gc.fillRectangle (left, 0, right - left, height, this.configuration.getColorBorder ());
+                this.drawColumns (gc, elements, firstDrawn, lastDrawn);
+
+            });
+
+            changedLeft = Math.min (changedLeft, left);
+            changedRight = Math.max (changedRight, right);
+        }
 
-        });
+        return changedLeft < changedRight ? new DefaultBounds (changedLeft, 0, changedRight - changedLeft, height) : null;
+    }
+
+
+    private static boolean hasOptions (final List<IComponent> elements)
+    {
+        for (final IComponent component: elements)
+        {
+            if (component instanceof OptionsComponent)
+                return true;
+        }
+        return false;
+    }
+
+
+    private void renderFullImage (final IGraphicsContext gc)
+    {
+        final int width = this.dimensions.getWidth ();
+        final int height = this.dimensions.getHeight ();
+
+        // Clear display
+        final ColorEx colorBorder = this.configuration.getColorBorder ();
+        gc.fillRectangle (0, 0, width, height, colorBorder);
+
+        // Draw the component element
+        final List<IComponent> elements = this.info.getComponents ();
+        final int size = elements.size ();
+        if (size == 0)
+            return;
+        this.drawColumns (gc, elements, 0, size - 1);
+
+        // Draw overlays
+        final IGraphicsInfo graphicsInfo = new DefaultGraphicsInfo (gc, this.configuration, this.dimensions);
+        for (final IComponent overlay: this.info.getOverlays ())
+            overlay.draw (graphicsInfo.withBounds (0, 0, width, height));
+
+        // Draw an overlay notification
+        final String notification = this.info.getNotification ();
+        if (notification == null)
+            return;
+
+        final ColorEx colorText = this.configuration.getColorText ();
+        gc.drawTextInBounds (notification, 0, 0, width, height, Align.CENTER, colorText, ColorEx.calcContrastColor (colorText), height / 4.0);
+    }
+
+
+    private void drawColumns (final IGraphicsContext gc, final List<IComponent> elements, final int first, final int last)
+    {
+        final int height = this.dimensions.getHeight ();
+        final double separatorSize = this.dimensions.getSeparatorSize ();
+        final int gridWidth = this.dimensions.getWidth () / elements.size ();
+        final double paintWidth = gridWidth - separatorSize;
+        final double offsetX = separatorSize / 2.0;
+
+        final IGraphicsInfo graphicsInfo = new DefaultGraphicsInfo (gc, this.configuration, this.dimensions);
+        for (int i = first; i <= last; i++)
+        {
+            final IComponent component = elements.get (i);
+            if (component != null)
+                component.draw (graphicsInfo.withBounds (i * gridWidth + offsetX, 0, paintWidth, height));
+        }
     }
 
 
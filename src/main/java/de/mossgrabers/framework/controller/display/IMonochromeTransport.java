@@ -0,0 +1,24 @@
+// Written by Jürgen Moßgraber - mossgrabers.de
+// (c) 2017-2026
+// Licensed under LGPLv3 - http://www.gnu.org/licenses/lgpl-3.0.txt
+
+package de.mossgrabers.framework.controller.display;
+
+/**
+ * Sends a changed part of a page of a monochrome display to the device.
+ *
+ * @author Jürgen Moßgraber
+ */
+@FunctionalInterface
+public interface IMonochromeTransport
+{
+    /**
+     * Send a part of a page.
+     *
+     * @param page The index of the page
+     * @param start The index of the first byte to send, relative to the start of the page
+     * @param end The index after the last byte to send, relative to the start of the page
+     * @param frame The whole frame, the page starts at page * page size
+     */
+    void send (int page, int start, int end, byte [] frame);
+}
@@ -0,0 +1,25 @@
+// Written by Jürgen Moßgraber - mossgrabers.de
+// (c) 2017-2026
+// Licensed under LGPLv3 - http://www.gnu.org/licenses/lgpl-3.0.txt
+
+package de.mossgrabers.framework.controller.display;
+
+/**
+ * Describes how the pixels of a monochrome display are packed into the bytes of the memory of the
+ * display controller, e.g. pages of 8 rows in which each byte contains a column of 8 pixels.
+ *
+ * @author Jürgen Moßgraber
+ */
+@FunctionalInterface
+public interface IPixelLayout
+{
+    /**
+     * Get the position of the bit which represents a pixel.
+     *
+     * @param x The horizontal position of the pixel
+     * @param y The vertical position of the pixel
+     * @return The index of the byte in the frame multiplied by 8 plus the index of the bit in the
+     *         byte (0 is the least significant bit)
+     */
+    int getBitPosition (int x, int y);
+}
@@ -0,0 +1,228 @@
+// Written by Jürgen Moßgraber - mossgrabers.de
+// (c) 2017-2026
+// Licensed under LGPLv3 - http://www.gnu.org/licenses/lgpl-3.0.txt
+
+package de.mossgrabers.framework.controller.display;
+
+import de.mossgrabers.framework.graphics.IEncoder;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.util.Arrays;
+
+
+/**
+ * Encodes an image into the memory layout of a small monochrome (OLED) display and sends only the
+ * parts which have changed. The memory of the display is divided into pages (e.g. stripes of 8
+ * rows). The position of each pixel in the memory is described by a pixel layout which is
+ * converted into lookup tables once. For each page only the range of bytes between the first and
+ * the last changed byte is sent, extended to the alignment which the protocol of the device
+ * requires. If only some columns were rendered again, only these need to be encoded.
+ *
+ * If nothing has changed for some time, the first page is sent again to keep the display from
+ * going into sleep mode.
+ *
+ * @author Jürgen Moßgraber
+ */
+public class MonochromeDisplayEncoder implements IEncoder
+{
+    /** The default time after which the display is refreshed even if nothing has changed. */
+    public static final int            DEFAULT_KEEP_ALIVE = 3000;
+
+    private final int                  width;
+    private final int                  height;
+    private final int                  numPages;
+    private final int                  pageSize;
+    private final int                  alignment;
+    private final IMonochromeTransport transport;
+    private final int []               byteIndices;
+    private final byte []              bitMasks;
+    private final byte []              frame;
+    private final byte []              sentFrame;
+    private final int []               line;
+
+    private int                        keepAlive          = DEFAULT_KEEP_ALIVE;
+    private long                       lastSend;
+    private boolean                    isFirstFrame       = true;
+
+
+    /**
+     * Constructor.
+     *
+     * @param width The width of the display in pixels
+     * @param height The height of the display in pixels
+     * @param numPages The number of pages into which the memory of the display is divided
+     * @param pageSize The number of bytes of a page
+     * @param alignment The number of bytes to which the start and the end of a changed range are
+     *            aligned, use the page size if the device can only update complete pages
+     * @param layout The layout which maps the pixels to the bits of the frame, each bit must be
+     *            used by at most one pixel
+     * @param transport The transport which sends the changed ranges to the device
+     */
+    public MonochromeDisplayEncoder (final int width, final int height, final int numPages, final int pageSize, final int alignment, final IPixelLayout layout, final IMonochromeTransport transport)
+    {
+        if (alignment < 1 || alignment > pageSize)
+            throw new IllegalArgumentException ("The alignment must be in the range of [1.." + pageSize + "].");
+
+        this.width = width;
+        this.height = height;
+        this.numPages = numPages;
+        this.pageSize = pageSize;
+        this.alignment = alignment;
+        this.transport = transport;
+
+        final int frameSize = numPages * pageSize;
+        this.frame = new byte [frameSize];
+        this.sentFrame = new byte [frameSize];
+        this.line = new int [width];
+
+        this.byteIndices = new int [width * height];
+        this.bitMasks = new byte [width * height];
+        for (int y = 0; y < height; y++)
+        {
+            for (int x = 0; x < width; x++)
+            {
+                final int position = layout.getBitPosition (x, y);
+                if (position < 0 || position >= frameSize * 8)
+                    throw new IllegalArgumentException ("The pixel " + x + "x" + y + " is outside of the frame.");
+                final int index = y * width + x;
+                this.byteIndices[index] = position / 8;
+                this.bitMasks[index] = (byte) (1 << position % 8);
+            }
+        }
+    }
+
+
+    /**
+     * Set the time after which the display is refreshed even if nothing has changed.
+     *
+     * @param keepAlive The time in milliseconds
+     */
+    public void setKeepAlive (final int keepAlive)
+    {
+        this.keepAlive = keepAlive;
+    }
+
+
+    /** {@inheritDoc} */
+    @Override
+    public void encode (final ByteBuffer imageBuffer, final int width, final int height)
+    {
+        this.encode (imageBuffer, width, height, 0, width);
+    }
+
+
+    /** {@inheritDoc} */
+    @Override
+    public void encode (final ByteBuffer imageBuffer, final int width, final int height, final int left, final int right)
+    {
+        if (width != this.width || height != this.height)
+            throw new IllegalArgumentException ("The image must have a size of " + this.width + "x" + this.height + ".");
+
+        // The image buffer contains blue, green, red and an unused byte for each pixel
+        final IntBuffer pixels = imageBuffer.duplicate ().order (ByteOrder.LITTLE_ENDIAN).asIntBuffer ();
+        final int [] data = this.line;
+        final byte [] output = this.frame;
+        final int start = Math.max (0, left);
+        final int end = Math.min (width, right);
+
+        // Each bit belongs to one pixel at most, therefore the bits of the other columns are kept
+        for (int y = 0; y < height; y++)
+        {
+            final int offset = y * width;
+            pixels.get (offset + start, data, start, end - start);
+            for (int x = start; x < end; x++)
+            {
+                final int index = offset + x;
+                final int byteIndex = this.byteIndices[index];
+                if (isPixelSet (data[x]))
+                    output[byteIndex] |= this.bitMasks[index];
+                else
+                    output[byteIndex] &= ~this.bitMasks[index];
+            }
+        }
+    }
+
+
+    /**
+     * Send the ranges of the frame which have changed since the last call. If nothing has changed
+     * since the keep alive time the first page is sent completely.
+     */
+    public void flush ()
+    {
+        final long now = System.currentTimeMillis ();
+        boolean hasSent = false;
+
+        for (int page = 0; page < this.numPages; page++)
+        {
+            final int offset = page * this.pageSize;
+            int start = 0;
+            int end = this.pageSize;
+            if (!this.isFirstFrame)
+            {
+                start = this.findFirstChange (offset);
+                if (start < 0)
+                    continue;
+                end = this.findLastChange (offset) + 1;
+                start -= start % this.alignment;
+                end = Math.min (this.pageSize, (end + this.alignment - 1) / this.alignment * this.alignment);
+            }
+
+            System.arraycopy (this.frame, offset + start, this.sentFrame, offset + start, end - start);
+            this.transport.send (page, start, end, this.frame);
+            hasSent = true;
+        }
+
+        if (!hasSent && now - this.lastSend >= this.keepAlive)
+        {
+            this.transport.send (0, 0, this.pageSize, this.frame);
+            hasSent = true;
+        }
+
+        if (hasSent)
+            this.lastSend = now;
+        this.isFirstFrame = false;
+    }
+
+
+    /**
+     * Get the encoded frame.
+     *
+     * @return The frame, do not modify
+     */
+    public byte [] getFrame ()
+    {
+        return this.frame;
+    }
+
+
+    private int findFirstChange (final int offset)
+    {
+        return Arrays.mismatch (this.frame, offset, offset + this.pageSize, this.sentFrame, offset, offset + this.pageSize);
+    }
+
+
+    private int findLastChange (final int offset)
+    {
+        for (int i = this.pageSize - 1; i >= 0; i--)
+        {
+            if (this.frame[offset + i] != this.sentFrame[offset + i])
+                return i;
+        }
+        return -1;
+    }
+
+
+    /**
+     * A pixel is set if the sum of its (signed) blue, green and red bytes is negative, which is the
+     * case for bright colors.
+     *
+     * @param pixel The pixel as an integer with 8 bits for blue (lowest), green and red
+     * @return True if set
+     */
+    private static boolean isPixelSet (final int pixel)
+    {
+        return (byte) pixel + (byte) (pixel >> 8) + (byte) (pixel >> 16) < 0;
+    }
+}
@@ -129,6 +129,7 @@ public abstract class AbstractHwContinuousControl extends AbstractHwInputControl
     {
         this.supplier = supplier;
         this.consumer = consumer;
+        this.invalidateUpdate ();
     }
 
 
@@ -137,6 +138,7 @@ public abstract class AbstractHwContinuousControl extends AbstractHwInputControl
     public void forceFlush ()
     {
         this.outputValue = -1;
+        this.invalidateUpdate ();
     }
 
 
@@ -155,7 +157,7 @@ public abstract class AbstractHwContinuousControl extends AbstractHwInputControl
     @Override
     public void update ()
     {
-        if (this.supplier == null)
+        if (this.supplier == null || !this.isUpdateNecessary ())
             return;
 
         final int value = this.supplier.getAsInt ();
@@ -5,6 +5,7 @@
 package de.mossgrabers.framework.controller.hardware;
 
 import de.mossgrabers.framework.daw.IHost;
+import de.mossgrabers.framework.observer.ModelArea;
 
 
 /**
@@ -16,6 +17,7 @@ public abstract class AbstractHwControl implements IHwControl
 {
     protected final IHost  host;
     protected final String label;
+    private ChangeTracker  changeTracker;
 
 
     /**
@@ -45,4 +47,54 @@ public abstract class AbstractHwControl implements IHwControl
     {
         // Intentionally empty, overwrite for update functionality
     }
+
+
+    /**
+     * Only evaluate the output of the control again if one of the change sources of the host has
+     * changed (e.g. the DAW model or the user input). Must only be enabled if the supplier of the
+     * output reads only state which is covered by these sources.
+     */
+    public void enableChangeTracking ()
+    {
+        if (this.host != null)
+            this.changeTracker = new ChangeTracker (this.host.getChangeSources ());
+    }
+
+
+    /**
+     * Only evaluate the output of the control again if the user input or one of the given areas of
+     * the DAW model has changed. Must only be enabled if the supplier of the output reads only
+     * these areas and state which changes with the user input, e.g. a pressed button.
+     *
+     * @param areas The areas of the DAW model which are read by the supplier
+     */
+    public void enableChangeTracking (final ModelArea... areas)
+    {
+        if (this.host != null)
+            this.changeTracker = new ChangeTracker (this.host.getChangeSources (areas));
+    }
+
+
+    /**
+     * Check if the output of the control needs to be evaluated.
+     *
+     * @return True if change tracking is not enabled or a change source has changed
+     */
+    protected boolean isUpdateNecessary ()
+    {
+        if (this.changeTracker != null)
+            return this.changeTracker.hasChanged ();
+        ChangeTracker.countPolling ();
+        return true;
+    }
+
+
+    /**
+     * Enforce the evaluation of the output on the next update.
+     */
+    protected void invalidateUpdate ()
+    {
+        if (this.changeTracker != null)
+            this.changeTracker.invalidate ();
+    }
 }
@@ -0,0 +1,110 @@
+// Written by Jürgen Moßgraber - mossgrabers.de
+// (c) 2017-2026
+// Licensed under LGPLv3 - http://www.gnu.org/licenses/lgpl-3.0.txt
+
+package de.mossgrabers.framework.controller.hardware;
+
+import de.mossgrabers.framework.observer.IChangeSource;
+
+import java.util.concurrent.atomic.LongAdder;
+
+
+/**
+ * Tracks the generations of several change sources to find out if the output of a control needs to
+ * be evaluated again. The generations are read before the output is evaluated, therefore a change
+ * which happens during the evaluation is detected on the next check.
+ *
+ * Additionally, the number of evaluated and skipped updates of all controls is counted.
+ *
+ * @author Jürgen Moßgraber
+ */
+public class ChangeTracker
+{
+    private static final LongAdder EVALUATIONS = new LongAdder ();
+    private static final LongAdder SKIPS       = new LongAdder ();
+
+    private final IChangeSource [] sources;
+    private final long []          generations;
+    private boolean                isValid     = false;
+
+
+    /**
+     * Constructor.
+     *
+     * @param sources The sources to track
+     */
+    public ChangeTracker (final IChangeSource... sources)
+    {
+        this.sources = sources;
+        this.generations = new long [sources.length];
+    }
+
+
+    /**
+     * Check if one of the sources has changed since the last check.
+     *
+     * @return True if the output needs to be evaluated
+     */
+    public boolean hasChanged ()
+    {
+        boolean hasChanged = !this.isValid;
+        for (int i = 0; i < this.sources.length; i++)
+        {
+            final long generation = this.sources[i].getGeneration ();
+            if (generation != this.generations[i])
+            {
+                this.generations[i] = generation;
+                hasChanged = true;
+            }
+        }
+        this.isValid = true;
+
+        if (hasChanged)
+            EVALUATIONS.increment ();
+        else
+            SKIPS.increment ();
+        return hasChanged;
+    }
+
+
+    /**
+     * Enforce the evaluation of the output on the next check, e.g. after the cached output state
+     * was cleared.
+     */
+    public void invalidate ()
+    {
+        this.isValid = false;
+    }
+
+
+    /**
+     * Count the evaluation of a control which does not track changes.
+     */
+    public static void countPolling ()
+    {
+        EVALUATIONS.increment ();
+    }
+
+
+    /**
+     * Get the number of evaluated control outputs.
+     *
+     * @return The number of evaluations
+     */
+    public static long getEvaluations ()
+    {
+        return EVALUATIONS.sum ();
+    }
+
+
+    /**
+     * Get the number of control outputs which were not evaluated since no change source had
+     * changed.
+     *
+     * @return The number of skipped evaluations
+     */
+    public static long getSkips ()
+    {
+        return SKIPS.sum ();
+    }
+}
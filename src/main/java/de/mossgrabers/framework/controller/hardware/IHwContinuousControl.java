@@ -11,6 +11,7 @@ import de.mossgrabers.framework.command.core.ContinuousCommand;
 import de.mossgrabers.framework.command.core.PitchbendCommand;
 import de.mossgrabers.framework.command.core.TriggerCommand;
 import de.mossgrabers.framework.daw.midi.IMidiInput;
+import de.mossgrabers.framework.observer.ModelArea;
 import de.mossgrabers.framework.parameter.IParameter;
 
 
@@ -128,6 +129,24 @@ public interface IHwContinuousControl extends IHwInputControl
     void forceFlush ();
 
 
+    /**
+     * Only update the output if one of the change sources of the host has changed. Must only be
+     * enabled if the supplier of the output reads only the DAW model or state which changes with
+     * the user input, e.g. the active mode.
+     */
+    void enableChangeTracking ();
+
+
+    /**
+     * Only update the output if the user input or one of the given areas of the DAW model has
+     * changed. Must only be enabled if the supplier of the output reads only these areas and state
+     * which changes with the user input, e.g. a pressed button.
+     *
+     * @param areas The areas of the DAW model which are read by the supplier
+     */
+    void enableChangeTracking (ModelArea... areas);
+
+
     /**
      * Switch off the output.
      */
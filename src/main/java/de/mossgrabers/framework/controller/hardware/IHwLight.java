@@ -4,6 +4,9 @@
 
 package de.mossgrabers.framework.controller.hardware;
 
+import de.mossgrabers.framework.observer.ModelArea;
+
+
 /**
  * Interface for a proxy to a light / LED on a hardware controller.
  *
@@ -21,4 +24,22 @@ public interface IHwLight extends IHwControl
      * Clear the light cache state.
      */
     void forceFlush ();
+
+
+    /**
+     * Only update the light if one of the change sources of the host has changed. Must only be
+     * enabled if the supplier of the light state reads only the DAW model or state which changes
+     * with the user input, e.g. the active mode.
+     */
+    void enableChangeTracking ();
+
+
+    /**
+     * Only update the light if the user input or one of the given areas of the DAW model has
+     * changed. Must only be enabled if the supplier of the light state reads only these areas and
+     * state which changes with the user input, e.g. a pressed button.
+     *
+     * @param areas The areas of the DAW model which are read by the supplier
+     */
+    void enableChangeTracking (ModelArea... areas);
 }
@@ -11,6 +11,8 @@ import de.mossgrabers.framework.daw.constants.Capability;
 import de.mossgrabers.framework.daw.data.IDeviceMetadata;
 import de.mossgrabers.framework.graphics.IBitmap;
 import de.mossgrabers.framework.graphics.IImage;
+import de.mossgrabers.framework.observer.IChangeSource;
+import de.mossgrabers.framework.observer.ModelArea;
 import de.mossgrabers.framework.osc.IOpenSoundControlCallback;
 import de.mossgrabers.framework.osc.IOpenSoundControlClient;
 import de.mossgrabers.framework.osc.IOpenSoundControlMessage;
@@ -76,6 +78,27 @@ public interface IHost
     void scheduleTask (Runnable task, long delay);
 
 
+    /**
+     * Get the sources which signal changes of the state that is read to update the hardware
+     * outputs, e.g. the DAW model and the user input. Controls which enabled change tracking only
+     * update their output if one of these sources has changed.
+     *
+     * @return The change sources
+     */
+    IChangeSource [] getChangeSources ();
+
+
+    /**
+     * Get the sources which signal changes of the given areas of the DAW model and of the user
+     * input. Controls which read only these areas can skip their update more often, e.g. if only
+     * the VU meters or the play position have changed.
+     *
+     * @param areas The areas of the DAW model
+     * @return The change sources
+     */
+    IChangeSource [] getChangeSources (ModelArea... areas);
+
+
     /**
      * Print the error to the console.
      *
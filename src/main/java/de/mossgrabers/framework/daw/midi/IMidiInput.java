@@ -11,6 +11,7 @@ import de.mossgrabers.framework.controller.hardware.IHwContinuousControl;
 import de.mossgrabers.framework.controller.hardware.IHwFader;
 import de.mossgrabers.framework.controller.hardware.IHwRelativeKnob;
 import de.mossgrabers.framework.controller.valuechanger.RelativeEncoding;
+import de.mossgrabers.framework.utils.LatencyTracer;
 
 
 /**
@@ -36,6 +37,15 @@ public interface IMidiInput
     void setSysexCallback (MidiSysExCallback callback);
 
 
+    /**
+     * Set the trace in which the received messages and their processing are stamped if the
+     * latency tracing is enabled.
+     *
+     * @param trace The trace of the control surface which handles the messages
+     */
+    void setLatencyTrace (LatencyTracer.Trace trace);
+
+
     /**
      * Create a note input.
      *
@@ -0,0 +1,245 @@
+// Written by Jürgen Moßgraber - mossgrabers.de
+// (c) 2017-2026
+// Licensed under LGPLv3 - http://www.gnu.org/licenses/lgpl-3.0.txt
+
+package de.mossgrabers.framework.daw.midi;
+
+import java.util.Arrays;
+
+
+/**
+ * Builds a system exclusive message directly as bytes. This avoids formatting the message as a hex
+ * string which then needs to be parsed again. The internal buffer grows as needed and is kept when
+ * the builder is reset, therefore a builder should be kept and re-used for messages which are sent
+ * frequently. The builder is not thread-safe.
+ *
+ * @author Jürgen Moßgraber
+ */
+public class SysExBuilder
+{
+    private byte [] buffer;
+    private int     length;
+
+
+    /**
+     * Constructor.
+     */
+    public SysExBuilder ()
+    {
+        this (256);
+    }
+
+
+    /**
+     * Constructor.
+     *
+     * @param capacity The initial capacity of the buffer
+     */
+    public SysExBuilder (final int capacity)
+    {
+        this.buffer = new byte [Math.max (capacity, 16)];
+    }
+
+
+    /**
+     * Remove all data to start a new message.
+     *
+     * @return The builder for chaining
+     */
+    public SysExBuilder reset ()
+    {
+        this.length = 0;
+        return this;
+    }
+
+
+    /**
+     * Add a byte, e.g. a part of a header.
+     *
+     * @param value The byte value [0..255]
+     * @return The builder for chaining
+     */
+    public SysExBuilder addByte (final int value)
+    {
+        this.ensureCapacity (1);
+        this.buffer[this.length] = (byte) value;
+        this.length++;
+        return this;
+    }
+
+
+    /**
+     * Add several bytes.
+     *
+     * @param values The bytes
+     * @return The builder for chaining
+     */
+    public SysExBuilder addBytes (final byte [] values)
+    {
+        return this.addBytes (values, 0, values.length);
+    }
+
+
+    /**
+     * Add a range of bytes.
+     *
+     * @param values The bytes
+     * @param offset The index of the first byte to add
+     * @param count The number of bytes to add
+     * @return The builder for chaining
+     */
+    public SysExBuilder addBytes (final byte [] values, final int offset, final int count)
+    {
+        this.ensureCapacity (count);
+        System.arraycopy (values, offset, this.buffer, this.length, count);
+        this.length += count;
+        return this;
+    }
+
+
+    /**
+     * Add a data byte. Only the lower 7 bits of the value are used.
+     *
+     * @param value The value
+     * @return The builder for chaining
+     */
+    public SysExBuilder addValue (final int value)
+    {
+        return this.addByte (value & 0x7F);
+    }
+
+
+    /**
+     * Add a 14-bit value as 2 data bytes, the most significant byte first.
+     *
+     * @param value The value [0..16383]
+     * @return The builder for chaining
+     */
+    public SysExBuilder add14BitValue (final int value)
+    {
+        this.addValue (value >> 7);
+        return this.addValue (value);
+    }
+
+
+    /**
+     * Add bytes formatted as hex values separated by spaces, e.g. 'F0 00 20 29 '.
+     *
+     * @param hex The hex values
+     * @return The builder for chaining
+     * @throws IllegalArgumentException If the text contains a value which is not a hex number of 1
+     *             or 2 digits
+     */
+    public SysExBuilder addHex (final String hex)
+    {
+        int value = 0;
+        int digits = 0;
+        for (int i = 0; i < hex.length (); i++)
+        {
+            final char c = hex.charAt (i);
+            if (c == ' ')
+            {
+                if (digits > 0)
+                    this.addByte (value);
+                value = 0;
+                digits = 0;
+                continue;
+            }
+            final int digit = Character.digit (c, 16);
+            if (digit < 0 || digits == 2)
+                throw new IllegalArgumentException ("Not a hex value: " + hex);
+            value = value << 4 | digit;
+            digits++;
+        }
+        if (digits > 0)
+            this.addByte (value);
+        return this;
+    }
+
+
+    /**
+     * Add a text as ASCII characters. Characters which are not in the ASCII range are replaced by
+     * a question mark.
+     *
+     * @param text The text
+     * @return The builder for chaining
+     */
+    public SysExBuilder addAscii (final String text)
+    {
+        return this.addAscii (text, 0, text.length ());
+    }
+
+
+    /**
+     * Add a part of a text as ASCII characters. Characters which are not in the ASCII range are
+     * replaced by a question mark.
+     *
+     * @param text The text
+     * @param start The index of the first character to add
+     * @param end The index after the last character to add
+     * @return The builder for chaining
+     */
+    public SysExBuilder addAscii (final String text, final int start, final int end)
+    {
+        this.ensureCapacity (end - start);
+        for (int i = start; i < end; i++)
+        {
+            final char c = text.charAt (i);
+            this.buffer[this.length] = (byte) (c < 0x80 ? c : '?');
+            this.length++;
+        }
+        return this;
+    }
+
+
+    /**
+     * Add the end of system exclusive byte (F7).
+     *
+     * @return The builder for chaining
+     */
+    public SysExBuilder end ()
+    {
+        return this.addByte (0xF7);
+    }
+
+
+    /**
+     * Get the number of bytes added so far.
+     *
+     * @return The number of bytes
+     */
+    public int getLength ()
+    {
+        return this.length;
+    }
+
+
+    /**
+     * Get a copy of the message.
+     *
+     * @return The bytes of the message
+     */
+    public byte [] toByteArray ()
+    {
+        return Arrays.copyOf (this.buffer, this.length);
+    }
+
+
+    /**
+     * Send the message to an output.
+     *
+     * @param output The output
+     */
+    public void send (final IMidiOutput output)
+    {
+        output.sendSysex (this.toByteArray ());
+    }
+
+
+    private void ensureCapacity (final int additional)
+    {
+        final int required = this.length + additional;
+        if (required > this.buffer.length)
+            this.buffer = Arrays.copyOf (this.buffer, Math.max (required, this.buffer.length * 2));
+    }
+}
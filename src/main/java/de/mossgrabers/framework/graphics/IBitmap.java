@@ -34,10 +34,32 @@ public interface IBitmap
     void render (boolean enableAntialias, IRenderer renderer);
 
 
+    /**
+     * Render a part of the content of the bitmap. All drawing operations are clipped to the given
+     * area, the rest of the bitmap keeps its content.
+     *
+     * @param enableAntialias True to enable anti aliasing
+     * @param clip The area to render
+     * @param renderer The renderer to draw on the bitmap
+     */
+    void render (boolean enableAntialias, IBounds clip, IRenderer renderer);
+
+
     /**
      * Encode the bitmap data into a different format.
      *
      * @param encoder The encoder to use
      */
     void encode (IEncoder encoder);
+
+
+    /**
+     * Encode only the columns of the bitmap which are covered by an area, e.g. the area which was
+     * rendered again. All other columns must not have been changed since the previous encoding
+     * with the same encoder.
+     *
+     * @param encoder The encoder to use
+     * @param area The area, all rows of its columns are encoded
+     */
+    void encode (IEncoder encoder, IBounds area);
 }
@@ -22,4 +22,21 @@ public interface IEncoder
      * @param height The height of the image
      */
     void encode (ByteBuffer imageBuffer, int width, int height);
+
+
+    /**
+     * Encode only some columns of the image data. The encoder keeps what it encoded before for
+     * all other columns. The default implementation encodes the whole image.
+     *
+     * @param imageBuffer The image data (red, green, blue, alpha, ...), only the given columns
+     *            need to be up to date
+     * @param width The width of the image
+     * @param height The height of the image
+     * @param left The first column to encode
+     * @param right The column after the last one to encode
+     */
+    default void encode (final ByteBuffer imageBuffer, final int width, final int height, final int left, final int right)
+    {
+        this.encode (imageBuffer, width, height);
+    }
 }
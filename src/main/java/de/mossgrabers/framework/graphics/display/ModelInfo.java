@@ -78,6 +78,7 @@ public class ModelInfo
         int result = 1;
         result = prime * result + (this.components == null ? 0 : this.components.hashCode ());
         result = prime * result + (this.notification == null ? 0 : this.notification.hashCode ());
+        result = prime * result + (this.overlays == null ? 0 : this.overlays.hashCode ());
         return result;
     }
 
@@ -105,6 +106,8 @@ public class ModelInfo
         }
         else if (!this.notification.equals (other.notification))
             return false;
-        return true;
+        if (this.overlays == null)
+            return other.overlays == null;
+        return this.overlays.equals (other.overlays);
     }
 }
@@ -0,0 +1,22 @@
+// Written by Jürgen Moßgraber - mossgrabers.de
+// (c) 2017-2026
+// Licensed under LGPLv3 - http://www.gnu.org/licenses/lgpl-3.0.txt
+
+package de.mossgrabers.framework.observer;
+
+/**
+ * A source of state which counts its changes. The generation allows to check if the state has
+ * changed since it was read the last time without knowing the state itself.
+ *
+ * @author Jürgen Moßgraber
+ */
+@FunctionalInterface
+public interface IChangeSource
+{
+    /**
+     * Get the current generation. It is increased after each change of the state.
+     *
+     * @return The generation
+     */
+    long getGeneration ();
+}
@@ -0,0 +1,32 @@
+// Written by Jürgen Moßgraber - mossgrabers.de
+// (c) 2017-2026
+// Licensed under LGPLv3 - http://www.gnu.org/licenses/lgpl-3.0.txt
+
+package de.mossgrabers.framework.observer;
+
+/**
+ * The areas of the DAW model which signal their changes separately. A control which reads only
+ * some of the areas does not need to be updated if only the others have changed, e.g. a play
+ * button is not affected by the VU meters or the play position.
+ *
+ * @author Jürgen Moßgraber
+ */
+public enum ModelArea
+{
+    /** The transport state, e.g. play, record, loop, tempo and the metronome. */
+    TRANSPORT,
+    /** The play position of the transport and the cursor clip. */
+    PLAY_POSITION,
+    /** The project, e.g. the undo state. */
+    PROJECT,
+    /** The tracks and the master track, except their VU meters. */
+    TRACK,
+    /** The VU meters of the tracks and the master track. */
+    METER,
+    /** The devices and their parameters. */
+    DEVICE,
+    /** The cursor clip, the scenes and the markers. */
+    CLIP,
+    /** The browser. */
+    BROWSER
+}
@@ -8,6 +8,7 @@ import java.util.List;
 
 import de.mossgrabers.framework.configuration.AbstractConfiguration;
 import de.mossgrabers.framework.configuration.IEnumSetting;
+import de.mossgrabers.framework.configuration.IIntegerSetting;
 import de.mossgrabers.framework.configuration.ISettingsUI;
 import de.mossgrabers.framework.controller.valuechanger.IValueChanger;
 import de.mossgrabers.framework.daw.IHost;
@@ -33,6 +34,9 @@ public abstract class AbstractOpenSoundControlConfiguration extends AbstractConf
     private boolean               logInputCommands          = false;
     private boolean               logOutputCommands         = false;
     private boolean               filterHeartbeatCommands   = false;
+    private int                   meterInterval             = 50;
+    private int                   positionInterval          = 100;
+    private boolean               packMeters                = false;
 
 
     /**
@@ -77,6 +81,25 @@ public abstract class AbstractOpenSoundControlConfiguration extends AbstractConf
     }
 
 
+    /**
+     * Activate the settings for the rates of the meters and positions.
+     *
+     * @param settingsUI The settings
+     * @param category The category in which to place the settings
+     */
+    protected void activateStreamSettings (final ISettingsUI settingsUI, final String category)
+    {
+        final IIntegerSetting meterIntervalSetting = settingsUI.getRangeSetting ("VU meter interval", category, 10, 1000, 10, "ms", 50);
+        meterIntervalSetting.addValueObserver (value -> this.meterInterval = value.intValue ());
+
+        final IIntegerSetting positionIntervalSetting = settingsUI.getRangeSetting ("Play position interval", category, 10, 1000, 10, "ms", 100);
+        positionIntervalSetting.addValueObserver (value -> this.positionInterval = value.intValue ());
+
+        final IEnumSetting packMetersSetting = settingsUI.getEnumSetting ("Send VU meters as one blob (/meters)", category, ON_OFF_OPTIONS, ON_OFF_OPTIONS[0]);
+        packMetersSetting.addValueObserver (value -> this.packMeters = "On".equals (value));
+    }
+
+
     /** {@inheritDoc} */
     @Override
     public boolean shouldLogInputCommands ()
@@ -99,4 +122,28 @@ public abstract class AbstractOpenSoundControlConfiguration extends AbstractConf
     {
         return this.filterHeartbeatCommands;
     }
+
+
+    /** {@inheritDoc} */
+    @Override
+    public int getMeterInterval ()
+    {
+        return this.meterInterval;
+    }
+
+
+    /** {@inheritDoc} */
+    @Override
+    public int getPositionInterval ()
+    {
+        return this.positionInterval;
+    }
+
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean isPackMeters ()
+    {
+        return this.packMeters;
+    }
 }
@@ -10,10 +10,12 @@ import de.mossgrabers.framework.utils.StringUtils;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 
 
 /**
@@ -23,14 +25,72 @@ import java.util.Map;
  */
 public abstract class AbstractOpenSoundControlWriter implements IOpenSoundControlWriter
 {
+    /**
+     * A class of values which change very often (e.g. meters) and are therefore not sent with each
+     * flush but with their own interval.
+     */
+    private static final class Stream
+    {
+        private int []  slots = new int [64];
+        private int     numSlots;
+        private long    lastTransmission;
+        private boolean isDumpRequested;
+
+
+        void add (final int slot)
+        {
+            if (this.numSlots == this.slots.length)
+                this.slots = Arrays.copyOf (this.slots, 2 * this.numSlots);
+            this.slots[this.numSlots] = slot;
+            this.numSlots++;
+        }
+
+
+        boolean isDue (final long now, final int interval)
+        {
+            return this.numSlots > 0 && (this.isDumpRequested || now - this.lastTransmission >= interval);
+        }
+
+
+        void setTransmitted (final long now)
+        {
+            this.lastTransmission = now;
+            this.isDumpRequested = false;
+        }
+    }
+
+
+    // The type of the value cached in a slot, 0 if no value was sent yet
+    private static final byte                      KIND_BOOLEAN   = 1;
+    private static final byte                      KIND_INTEGER   = 2;
+    private static final byte                      KIND_FLOAT     = 3;
+    private static final byte                      KIND_COLOR     = 4;
+    private static final byte                      KIND_STRING    = 5;
+
     protected final IHost                          host;
     protected final IModel                         model;
     protected final IOpenSoundControlConfiguration configuration;
 
     protected final IOpenSoundControlClient        oscClient;
-    protected final Map<String, Object>            oldValues = new HashMap<> ();
+    protected final Map<String, Object>            oldValues      = new HashMap<> ();
 
-    private final List<IOpenSoundControlMessage>   messages  = new ArrayList<> ();
+    private final List<IOpenSoundControlMessage>   messages       = new ArrayList<> ();
+
+    // The caches of the registered addresses, indexed by slot
+    private final Map<String, Integer>             slotIndices    = new HashMap<> ();
+    private String []                              slotAddresses  = new String [256];
+    private byte []                                slotKinds      = new byte [256];
+    private long []                                slotBits       = new long [256];
+    private String []                              slotTexts      = new String [256];
+    private String []                              slotSentTexts  = new String [256];
+    private Stream []                              slotStreams    = new Stream [256];
+    private int []                                 slotPeaks      = new int [256];
+    private boolean []                             slotPending    = new boolean [256];
+    private int                                    numSlots;
+
+    private final Stream                           meterStream    = new Stream ();
+    private final Stream                           positionStream = new Stream ();
+    private int                                    numPackedMeters;
 
 
     /**
@@ -163,6 +223,251 @@ public abstract class AbstractOpenSoundControlWriter implements IOpenSoundContro
     }
 
 
+    /** {@inheritDoc} */
+    @Override
+    public int registerAddress (final String address)
+    {
+        final Integer index = this.slotIndices.get (address);
+        if (index != null)
+            return index.intValue ();
+
+        if (this.numSlots == this.slotAddresses.length)
+        {
+            final int capacity = 2 * this.numSlots;
+            this.slotAddresses = Arrays.copyOf (this.slotAddresses, capacity);
+            this.slotKinds = Arrays.copyOf (this.slotKinds, capacity);
+            this.slotBits = Arrays.copyOf (this.slotBits, capacity);
+            this.slotTexts = Arrays.copyOf (this.slotTexts, capacity);
+            this.slotSentTexts = Arrays.copyOf (this.slotSentTexts, capacity);
+            this.slotStreams = Arrays.copyOf (this.slotStreams, capacity);
+            this.slotPeaks = Arrays.copyOf (this.slotPeaks, capacity);
+            this.slotPending = Arrays.copyOf (this.slotPending, capacity);
+        }
+
+        final int slot = this.numSlots;
+        this.slotAddresses[slot] = address;
+        this.slotIndices.put (address, Integer.valueOf (slot));
+        this.numSlots++;
+        return slot;
+    }
+
+
+    /** {@inheritDoc} */
+    @Override
+    public void sendOSCColor (final int slot, final double red, final double green, final double blue, final boolean dump)
+    {
+        final int r = (int) Math.round (red * 255.0);
+        final int g = (int) Math.round (green * 255.0);
+        final int b = (int) Math.round (blue * 255.0);
+        final long bits = (r & 0x1FFFFFL) << 42 | (g & 0x1FFFFFL) << 21 | b & 0x1FFFFFL;
+        if (this.updateSlot (slot, KIND_COLOR, bits, dump))
+            this.addMessage (this.slotAddresses[slot], "rgb(" + r + "," + g + "," + b + ")");
+    }
+
+
+    /** {@inheritDoc} */
+    @Override
+    public void sendOSC (final int slot, final boolean value, final boolean dump)
+    {
+        if (this.updateSlot (slot, KIND_BOOLEAN, value ? 1 : 0, dump))
+            this.addMessage (this.slotAddresses[slot], Integer.valueOf (value ? 1 : 0));
+    }
+
+
+    /** {@inheritDoc} */
+    @Override
+    public void sendOSC (final int slot, final double value, final boolean dump)
+    {
+        // Using float here since Double seems to be always received as 0 in Max.
+        final float floatValue = (float) value;
+        if (this.updateSlot (slot, KIND_FLOAT, Float.floatToIntBits (floatValue), dump))
+            this.addMessage (this.slotAddresses[slot], Float.valueOf (floatValue));
+    }
+
+
+    /** {@inheritDoc} */
+    @Override
+    public void sendOSC (final int slot, final int value, final boolean dump)
+    {
+        if (this.updateSlot (slot, KIND_INTEGER, value, dump))
+            this.addMessage (this.slotAddresses[slot], Integer.valueOf (value));
+    }
+
+
+    /** {@inheritDoc} */
+    @Override
+    public void sendOSC (final int slot, final String value, final boolean dump)
+    {
+        final boolean isString = this.slotKinds[slot] == KIND_STRING;
+
+        // Compare the unconverted text first to not convert the same text again and again
+        if (!dump && isString && Objects.equals (this.slotTexts[slot], value))
+            return;
+        final String text = StringUtils.fixASCII (value);
+        this.slotTexts[slot] = value;
+        if (!dump && isString && this.slotSentTexts[slot].equals (text))
+            return;
+
+        this.slotKinds[slot] = KIND_STRING;
+        this.slotSentTexts[slot] = text;
+        this.addMessage (this.slotAddresses[slot], text);
+    }
+
+
+    /** {@inheritDoc} */
+    @Override
+    public void sendOSCMeter (final int slot, final int value, final boolean dump)
+    {
+        final Stream stream = this.assignStream (slot, this.meterStream);
+        if (dump)
+            stream.isDumpRequested = true;
+
+        // Hold the peak until the meter is sent
+        if (!this.slotPending[slot] || value > this.slotPeaks[slot])
+            this.slotPeaks[slot] = value;
+        this.slotPending[slot] = true;
+    }
+
+
+    /** {@inheritDoc} */
+    @Override
+    public void sendOSCPosition (final int slot, final String value, final boolean dump)
+    {
+        final Stream stream = this.assignStream (slot, this.positionStream);
+        if (dump)
+            stream.isDumpRequested = true;
+
+        this.slotTexts[slot] = value;
+        this.slotPending[slot] = true;
+    }
+
+
+    /**
+     * Add the messages of the meters and positions whose interval has elapsed. Call this after all
+     * state messages have been added, which are therefore sent first. If the messages need to be
+     * split into several bundles, the state messages are not delayed by the streams.
+     */
+    protected void flushStreams ()
+    {
+        final long now = System.currentTimeMillis ();
+
+        if (this.meterStream.isDue (now, this.configuration.getMeterInterval ()))
+        {
+            if (this.configuration.isPackMeters ())
+                this.flushPackedMeters ();
+            else
+                this.flushMeters ();
+            this.meterStream.setTransmitted (now);
+        }
+
+        if (this.positionStream.isDue (now, this.configuration.getPositionInterval ()))
+        {
+            this.flushPositions ();
+            this.positionStream.setTransmitted (now);
+        }
+    }
+
+
+    private void flushMeters ()
+    {
+        final Stream stream = this.meterStream;
+        for (int i = 0; i < stream.numSlots; i++)
+        {
+            final int slot = stream.slots[i];
+            if (!this.slotPending[slot])
+                continue;
+            this.slotPending[slot] = false;
+            final int value = this.slotPeaks[slot];
+            if (this.updateSlot (slot, KIND_INTEGER, value, stream.isDumpRequested))
+                this.addMessage (this.slotAddresses[slot], Integer.valueOf (value));
+        }
+    }
+
+
+    /**
+     * Send all meters as one message with a blob, which contains the values of the meters as 16 bit
+     * big endian integers in the order in which the meters were first updated. The addresses of the
+     * meters in that order are sent with '/meters/addresses' when a meter is added or on a dump.
+     */
+    private void flushPackedMeters ()
+    {
+        final Stream stream = this.meterStream;
+        boolean hasChanged = stream.isDumpRequested;
+        for (int i = 0; i < stream.numSlots; i++)
+        {
+            final int slot = stream.slots[i];
+            if (!this.slotPending[slot])
+                continue;
+            this.slotPending[slot] = false;
+            if (this.updateSlot (slot, KIND_INTEGER, this.slotPeaks[slot], false))
+                hasChanged = true;
+        }
+
+        if (stream.isDumpRequested || this.numPackedMeters != stream.numSlots)
+        {
+            this.numPackedMeters = stream.numSlots;
+            final List<String> addresses = new ArrayList<> (stream.numSlots);
+            for (int i = 0; i < stream.numSlots; i++)
+                addresses.add (this.slotAddresses[stream.slots[i]]);
+            synchronized (this.messages)
+            {
+                this.messages.add (this.host.createOSCMessage ("/meters/addresses", addresses));
+            }
+            hasChanged = true;
+        }
+
+        if (!hasChanged)
+            return;
+
+        final byte [] blob = new byte [2 * stream.numSlots];
+        for (int i = 0; i < stream.numSlots; i++)
+        {
+            final int value = Math.clamp (this.slotBits[stream.slots[i]], 0, 0xFFFF);
+            blob[2 * i] = (byte) (value >> 8);
+            blob[2 * i + 1] = (byte) value;
+        }
+        this.addMessage ("/meters", blob);
+    }
+
+
+    private void flushPositions ()
+    {
+        final Stream stream = this.positionStream;
+        for (int i = 0; i < stream.numSlots; i++)
+        {
+            final int slot = stream.slots[i];
+            if (!this.slotPending[slot])
+                continue;
+            this.slotPending[slot] = false;
+            final String text = StringUtils.fixASCII (this.slotTexts[slot]);
+            if (!stream.isDumpRequested && this.slotKinds[slot] == KIND_STRING && this.slotSentTexts[slot].equals (text))
+                continue;
+            this.slotKinds[slot] = KIND_STRING;
+            this.slotSentTexts[slot] = text;
+            this.addMessage (this.slotAddresses[slot], text);
+        }
+    }
+
+
+    /**
+     * Get the stream of a slot. The slot is added to the given stream when it is used the first
+     * time.
+     *
+     * @param slot The index of the slot
+     * @param stream The stream to which the slot belongs
+     * @return The stream
+     */
+    private Stream assignStream (final int slot, final Stream stream)
+    {
+        if (this.slotStreams[slot] == null)
+        {
+            this.slotStreams[slot] = stream;
+            stream.add (slot);
+        }
+        return stream;
+    }
+
+
     /**
      * Send an OSC message with an object value. Tests if the value(s) of given message is identical
      * to that of the cache. If this is not the case or if dump is true, the message is added to the
@@ -211,6 +516,35 @@ public abstract class AbstractOpenSoundControlWriter implements IOpenSoundContro
     }
 
 
+    /**
+     * Update the cached value of a slot.
+     *
+     * @param slot The index of the slot
+     * @param kind The type of the value
+     * @param bits The value
+     * @param dump True to dump (ignore cache)
+     * @return True if the value has changed or dump is true, in that case the message needs to be
+     *         sent
+     */
+    private boolean updateSlot (final int slot, final byte kind, final long bits, final boolean dump)
+    {
+        if (!dump && this.slotKinds[slot] == kind && this.slotBits[slot] == bits)
+            return false;
+        this.slotKinds[slot] = kind;
+        this.slotBits[slot] = bits;
+        return true;
+    }
+
+
+    private void addMessage (final String address, final Object value)
+    {
+        synchronized (this.messages)
+        {
+            this.messages.add (this.host.createOSCMessage (address, Collections.singletonList (value)));
+        }
+    }
+
+
     /**
      * Check if the client is connected.
      *
@@ -11,10 +11,24 @@ package de.mossgrabers.framework.osc;
  */
 public interface IOpenSoundControlCallback
 {
+    /**
+     * Prepare the handling of a message, e.g. parse the address. This is called on the thread which
+     * receives the message, therefore it must not access the model. The result is given to handle
+     * later.
+     *
+     * @param message The received message
+     * @return The prepared message, the default implementation returns the received message
+     */
+    default IOpenSoundControlMessage prepare (final IOpenSoundControlMessage message)
+    {
+        return message;
+    }
+
+
     /**
      * Handle an OSC message.
      *
-     * @param message The message to handle
+     * @param message The message to handle, as returned by prepare
      */
     void handle (IOpenSoundControlMessage message);
 }
@@ -33,4 +33,28 @@ public interface IOpenSoundControlConfiguration
      * @return True to enable filtering
      */
     boolean filterHeartbeatMessages ();
+
+
+    /**
+     * Get the minimum time between two transmissions of the meters.
+     *
+     * @return The interval in milliseconds
+     */
+    int getMeterInterval ();
+
+
+    /**
+     * Get the minimum time between two transmissions of the positions.
+     *
+     * @return The interval in milliseconds
+     */
+    int getPositionInterval ();
+
+
+    /**
+     * Get if all meters should be sent as one message with a blob instead of one message per meter.
+     *
+     * @return True to pack the meters
+     */
+    boolean isPackMeters ();
 }
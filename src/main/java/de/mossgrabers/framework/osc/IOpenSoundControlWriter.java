@@ -96,4 +96,96 @@ public interface IOpenSoundControlWriter
      * @param dump True to dump (ignore cache)
      */
     void sendOSC (String address, String value, boolean dump);
+
+
+    /**
+     * Register an address which is sent frequently, e.g. a property of a track. The value of the
+     * address is cached in a slot with a primitive type instead of a map of objects. Registering
+     * the same address again returns the same slot.
+     *
+     * @param address The address of the OSC message
+     * @return The index of the slot
+     */
+    int registerAddress (String address);
+
+
+    /**
+     * Send an OSC message with a color value to a registered address. The message is only added
+     * if the value has changed or if dump is true.
+     *
+     * @param slot The index of the slot of the address
+     * @param red The red component of the color [0-1]
+     * @param green The green component of the color [0-1]
+     * @param blue The blue component of the color [0-1]
+     * @param dump True to dump (ignore cache)
+     */
+    void sendOSCColor (int slot, double red, double green, double blue, boolean dump);
+
+
+    /**
+     * Send an OSC message with a boolean value to a registered address. The message is only added
+     * if the value has changed or if dump is true.
+     *
+     * @param slot The index of the slot of the address
+     * @param value The value to send
+     * @param dump True to dump (ignore cache)
+     */
+    void sendOSC (int slot, boolean value, boolean dump);
+
+
+    /**
+     * Send an OSC message with a double value to a registered address. The message is only added
+     * if the value has changed or if dump is true.
+     *
+     * @param slot The index of the slot of the address
+     * @param value The value to send
+     * @param dump True to dump (ignore cache)
+     */
+    void sendOSC (int slot, double value, boolean dump);
+
+
+    /**
+     * Send an OSC message with an integer value to a registered address. The message is only added
+     * if the value has changed or if dump is true.
+     *
+     * @param slot The index of the slot of the address
+     * @param value The value to send
+     * @param dump True to dump (ignore cache)
+     */
+    void sendOSC (int slot, int value, boolean dump);
+
+
+    /**
+     * Send an OSC message with a string value to a registered address. The message is only added
+     * if the value has changed or if dump is true.
+     *
+     * @param slot The index of the slot of the address
+     * @param value The value to send
+     * @param dump True to dump (ignore cache)
+     */
+    void sendOSC (int slot, String value, boolean dump);
+
+
+    /**
+     * Update the value of a meter (e.g. a VU meter) of a registered address. Meters are not sent
+     * with each flush but at most once per meter interval. The highest value since the last
+     * transmission is sent, therefore short peaks are not lost.
+     *
+     * @param slot The index of the slot of the address
+     * @param value The value of the meter
+     * @param dump True to send the value with the next flush even if it has not changed
+     */
+    void sendOSCMeter (int slot, int value, boolean dump);
+
+
+    /**
+     * Update a position (e.g. the formatted play position) of a registered address. Positions are
+     * not sent with each flush but at most once per position interval, always with the latest
+     * value.
+     *
+     * @param slot The index of the slot of the address
+     * @param value The position text
+     * @param dump True to send the value with the next flush even if it has not changed
+     */
+    void sendOSCPosition (int slot, String value, boolean dump);
 }
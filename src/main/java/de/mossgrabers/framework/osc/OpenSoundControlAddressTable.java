@@ -0,0 +1,98 @@
+// Written by Jürgen Moßgraber - mossgrabers.de
+// (c) 2017-2026
+// Licensed under LGPLv3 - http://www.gnu.org/licenses/lgpl-3.0.txt
+
+package de.mossgrabers.framework.osc;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+
+/**
+ * A table of OSC addresses which start with the same prefix, e.g. all properties of a track in a
+ * bank ('/track/3/'). The addresses are concatenated and registered with the writer only once, the
+ * returned slots are used to send the values. Sub-tables (e.g. for the sends of a track) are
+ * created on demand and kept as well. Therefore, flushing the same addresses again and again does
+ * not create any new strings.
+ *
+ * @author Jürgen Moßgraber
+ */
+public class OpenSoundControlAddressTable
+{
+    private final IOpenSoundControlWriter                      writer;
+    private final String                                       prefix;
+    private final Map<String, Integer>                         slots           = new HashMap<> ();
+    private final Map<String, OpenSoundControlAddressTable>    children        = new HashMap<> ();
+    private final Map<String, OpenSoundControlAddressTable []> indexedChildren = new HashMap<> ();
+
+
+    /**
+     * Constructor.
+     *
+     * @param writer The writer with which to register the addresses
+     * @param prefix The start of all addresses of the table, e.g. '/track/3/'
+     */
+    public OpenSoundControlAddressTable (final IOpenSoundControlWriter writer, final String prefix)
+    {
+        this.writer = writer;
+        this.prefix = prefix;
+    }
+
+
+    /**
+     * Get the slot of an address of the table.
+     *
+     * @param tag The end of the address which is appended to the prefix, e.g. 'volume'
+     * @return The index of the slot in the writer
+     */
+    public int get (final String tag)
+    {
+        final Integer slot = this.slots.get (tag);
+        if (slot != null)
+            return slot.intValue ();
+        final int newSlot = this.writer.registerAddress (this.prefix + tag);
+        this.slots.put (tag, Integer.valueOf (newSlot));
+        return newSlot;
+    }
+
+
+    /**
+     * Get a sub-table.
+     *
+     * @param path The path which is appended to the prefix, must end with a slash, e.g. 'master/'
+     * @return The table
+     */
+    public OpenSoundControlAddressTable getChild (final String path)
+    {
+        OpenSoundControlAddressTable child = this.children.get (path);
+        if (child == null)
+        {
+            child = new OpenSoundControlAddressTable (this.writer, this.prefix + path);
+            this.children.put (path, child);
+        }
+        return child;
+    }
+
+
+    /**
+     * Get a numbered sub-table, e.g. for the items of a bank.
+     *
+     * @param path The path which is appended to the prefix, must end with a slash, e.g. 'send/'
+     * @param number The number which is appended to the path (followed by a slash), e.g. 1 for
+     *            the first send
+     * @return The table
+     */
+    public OpenSoundControlAddressTable getChild (final String path, final int number)
+    {
+        OpenSoundControlAddressTable [] tables = this.indexedChildren.get (path);
+        if (tables == null || number >= tables.length)
+        {
+            tables = tables == null ? new OpenSoundControlAddressTable [number + 1] : Arrays.copyOf (tables, number + 1);
+            this.indexedChildren.put (path, tables);
+        }
+        if (tables[number] == null)
+            tables[number] = new OpenSoundControlAddressTable (this.writer, this.prefix + path + number + "/");
+        return tables[number];
+    }
+}
@@ -0,0 +1,72 @@
+// Written by Jürgen Moßgraber - mossgrabers.de
+// (c) 2017-2026
+// Licensed under LGPLv3 - http://www.gnu.org/licenses/lgpl-3.0.txt
+
+package de.mossgrabers.framework.usb;
+
+import de.mossgrabers.framework.daw.IMemoryBlock;
+import de.mossgrabers.framework.utils.TaskScheduler;
+import de.mossgrabers.framework.utils.TaskScheduler.Lane;
+
+import java.util.concurrent.RejectedExecutionException;
+
+
+/**
+ * Sends the data of an end-point as output reports with a fixed report ID to a HID device. This
+ * allows to use a transfer pipeline for HID devices. Since writing a report blocks until the report
+ * was sent, the asynchronous transfers are executed on the USB lane of the task scheduler. The
+ * reports of all end-points of the same device are written one after the other.
+ *
+ * @author Jürgen Moßgraber
+ */
+public class HidOutputReportEndpoint implements IUsbEndpoint
+{
+    private final IHidDevice device;
+    private final byte       reportID;
+
+
+    /**
+     * Constructor.
+     *
+     * @param device The HID device
+     * @param reportID The ID of the output report
+     */
+    public HidOutputReportEndpoint (final IHidDevice device, final byte reportID)
+    {
+        this.device = device;
+        this.reportID = reportID;
+    }
+
+
+    /** {@inheritDoc} */
+    @Override
+    public void send (final IMemoryBlock memoryBlock, final int timeout)
+    {
+        this.sendReport (memoryBlock);
+    }
+
+
+    /** {@inheritDoc} */
+    @Override
+    public void sendAsync (final IMemoryBlock memoryBlock, final IUsbCallback callback, final int timeout)
+    {
+        try
+        {
+            TaskScheduler.getInstance ().execute (Lane.USB, () -> callback.process (this.sendReport (memoryBlock)));
+        }
+        catch (final RejectedExecutionException ex)
+        {
+            // The application is shutting down
+            callback.process (-1);
+        }
+    }
+
+
+    private int sendReport (final IMemoryBlock memoryBlock)
+    {
+        synchronized (this.device)
+        {
+            return this.device.sendOutputReport (this.reportID, memoryBlock);
+        }
+    }
+}
@@ -0,0 +1,285 @@
+// Written by Jürgen Moßgraber - mossgrabers.de
+// (c) 2017-2026
+// Licensed under LGPLv3 - http://www.gnu.org/licenses/lgpl-3.0.txt
+
+package de.mossgrabers.framework.usb;
+
+import de.mossgrabers.framework.daw.IHost;
+import de.mossgrabers.framework.daw.IMemoryBlock;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Sends frames (e.g. the content of a display) asynchronously to an USB end-point. The frames are
+ * written into a small ring of pre-allocated buffers. While one frame is transferred the next one
+ * can be prepared. Only one frame is waiting for its transfer: if a new frame is submitted before
+ * the waiting one could be sent, the waiting (stale) frame is dropped. Therefore, the producer never
+ * blocks and the latency does not grow if the bus is slower than the producer.
+ *
+ * A failed transfer is counted and the pipeline continues with the next frame.
+ *
+ * @author Jürgen Moßgraber
+ */
+public class UsbTransferPipeline
+{
+    /**
+     * The statistics of a pipeline.
+     *
+     * @param sentFrames The number of successfully transferred frames
+     * @param droppedFrames The number of frames which were replaced by a newer one before they could
+     *            be sent
+     * @param failedFrames The number of frames which could not be transferred
+     * @param averageLatency The average time from the submission to the end of the transfer of a
+     *            frame in milliseconds
+     * @param maxLatency The maximum time from the submission to the end of the transfer of a frame
+     *            in milliseconds
+     * @param throughput The average number of transferred bytes per second since the first frame
+     *            was submitted
+     */
+    public record Statistics (long sentFrames, long droppedFrames, long failedFrames, double averageLatency, double maxLatency, double throughput)
+    {
+        /** {@inheritDoc} */
+        @Override
+        public String toString ()
+        {
+            return String.format ("%d frames sent, %d dropped, %d failed, latency avg %.2f ms, max %.2f ms, %.1f kB/s", Long.valueOf (this.sentFrames), Long.valueOf (this.droppedFrames), Long.valueOf (this.failedFrames), Double.valueOf (this.averageLatency), Double.valueOf (this.maxLatency), Double.valueOf (this.throughput / 1024.0));
+        }
+    }
+
+
+    private static final int      NONE            = -1;
+
+    private final IUsbEndpoint    endpoint;
+    private final IMemoryBlock    header;
+    private final int             headerSize;
+    private final int             timeout;
+    private final IMemoryBlock [] buffers;
+    private final int             frameSize;
+    private final long []         submitTimes;
+    private final Object          stateLock       = new Object ();
+
+    private int                   filling         = NONE;
+    private int                   pending         = NONE;
+    private int                   inFlight        = NONE;
+    private boolean               isHeaderFailed;
+    private boolean               isClosed;
+
+    private long                  sentFrames;
+    private long                  droppedFrames;
+    private long                  failedFrames;
+    private long                  sentBytes;
+    private long                  totalLatency;
+    private long                  maxLatency;
+    private long                  firstSubmitTime = NONE;
+
+
+    /**
+     * Constructor.
+     *
+     * @param host The host for allocating the buffers
+     * @param endpoint The end-point to which to send the frames
+     * @param header A block which is sent before each frame, might be null
+     * @param frameSize The size of a frame in bytes
+     * @param numBuffers The number of buffers in the ring, at least 2
+     * @param timeout The timeout for the transfer of a frame in milliseconds
+     */
+    public UsbTransferPipeline (final IHost host, final IUsbEndpoint endpoint, final IMemoryBlock header, final int frameSize, final int numBuffers, final int timeout)
+    {
+        if (numBuffers < 2)
+            throw new IllegalArgumentException ("At least 2 buffers are required.");
+
+        this.endpoint = endpoint;
+        this.header = header;
+        this.headerSize = header == null ? 0 : header.createByteBuffer ().capacity ();
+        this.timeout = timeout;
+        this.frameSize = frameSize;
+        this.buffers = new IMemoryBlock [numBuffers];
+        for (int i = 0; i < numBuffers; i++)
+            this.buffers[i] = host.createMemoryBlock (frameSize);
+        this.submitTimes = new long [numBuffers];
+    }
+
+
+    /**
+     * Get a buffer into which to write the next frame. If all buffers are in use, the buffer of
+     * the frame which is waiting for its transfer is re-used and the frame is dropped. Must only be
+     * called by one producer thread, the buffer needs to be submitted afterwards.
+     *
+     * @return The buffer, positioned at the start
+     */
+    public ByteBuffer acquire ()
+    {
+        synchronized (this.stateLock)
+        {
+            if (this.filling == NONE)
+            {
+                for (int i = 0; i < this.buffers.length; i++)
+                {
+                    if (i != this.pending && i != this.inFlight)
+                    {
+                        this.filling = i;
+                        break;
+                    }
+                }
+
+                // Only possible with 2 buffers: replace the waiting frame
+                if (this.filling == NONE)
+                {
+                    this.filling = this.pending;
+                    this.pending = NONE;
+                    this.droppedFrames++;
+                }
+            }
+            return this.buffers[this.filling].createByteBuffer ();
+        }
+    }
+
+
+    /**
+     * Submit the buffer which was retrieved with the last call to acquire. It is sent as soon as
+     * the transfer of the previous frame has finished.
+     */
+    public void submit ()
+    {
+        final int next;
+        synchronized (this.stateLock)
+        {
+            if (this.filling == NONE)
+                throw new IllegalStateException ("No buffer was acquired.");
+
+            final int submitted = this.filling;
+            this.filling = NONE;
+            if (this.isClosed)
+                return;
+
+            if (this.pending != NONE)
+                this.droppedFrames++;
+            this.pending = submitted;
+
+            final long now = System.nanoTime ();
+            this.submitTimes[submitted] = now;
+            if (this.firstSubmitTime == NONE)
+                this.firstSubmitTime = now;
+
+            if (this.inFlight != NONE)
+                return;
+            next = this.startNextTransfer ();
+        }
+        this.transfer (next);
+    }
+
+
+    /**
+     * Stop sending frames. Waits until the currently running transfer has finished.
+     *
+     * @param timeoutMillis The maximum time to wait in milliseconds
+     * @return True if no transfer is running anymore
+     * @throws InterruptedException If the thread was interrupted while waiting
+     */
+    public boolean close (final long timeoutMillis) throws InterruptedException
+    {
+        final long end = System.nanoTime () + TimeUnit.MILLISECONDS.toNanos (timeoutMillis);
+        synchronized (this.stateLock)
+        {
+            this.isClosed = true;
+            this.pending = NONE;
+            while (this.inFlight != NONE)
+            {
+                final long remaining = end - System.nanoTime ();
+                if (remaining <= 0)
+                    return false;
+                TimeUnit.NANOSECONDS.timedWait (this.stateLock, remaining);
+            }
+            return true;
+        }
+    }
+
+
+    /**
+     * Get the statistics of the transfers.
+     *
+     * @return The statistics
+     */
+    public Statistics getStatistics ()
+    {
+        synchronized (this.stateLock)
+        {
+            final double averageLatency = this.sentFrames == 0 ? 0 : this.totalLatency / (double) this.sentFrames;
+            final long duration = this.firstSubmitTime == NONE ? 0 : System.nanoTime () - this.firstSubmitTime;
+            final double throughput = duration <= 0 ? 0 : this.sentBytes * 1_000_000_000.0 / duration;
+            return new Statistics (this.sentFrames, this.droppedFrames, this.failedFrames, averageLatency / 1_000_000.0, this.maxLatency / 1_000_000.0, throughput);
+        }
+    }
+
+
+    /**
+     * Move the waiting frame into the transfer state. Must be called with the state lock.
+     *
+     * @return The index of the buffer to transfer
+     */
+    private int startNextTransfer ()
+    {
+        final int next = this.pending;
+        this.pending = NONE;
+        this.inFlight = next;
+        this.isHeaderFailed = false;
+        return next;
+    }
+
+
+    /**
+     * Start the transfer of a frame. Must not be called with the state lock since the callbacks
+     * might be called directly if the transfer cannot be submitted.
+     *
+     * @param index The index of the buffer to transfer
+     */
+    private void transfer (final int index)
+    {
+        // Transfers on the same end-point are executed in the order in which they were submitted
+        if (this.header != null)
+            this.endpoint.sendAsync (this.header, this::handleHeaderCompletion, this.timeout);
+        this.endpoint.sendAsync (this.buffers[index], length -> this.handleFrameCompletion (index, length), this.timeout);
+    }
+
+
+    private void handleHeaderCompletion (final int length)
+    {
+        if (length >= 0)
+            return;
+        synchronized (this.stateLock)
+        {
+            this.isHeaderFailed = true;
+        }
+    }
+
+
+    private void handleFrameCompletion (final int index, final int length)
+    {
+        final int next;
+        synchronized (this.stateLock)
+        {
+            this.inFlight = NONE;
+
+            if (length < 0 || this.isHeaderFailed)
+                this.failedFrames++;
+            else
+            {
+                final long latency = System.nanoTime () - this.submitTimes[index];
+                this.sentFrames++;
+                this.sentBytes += this.headerSize + Math.min (length, this.frameSize);
+                this.totalLatency += latency;
+                this.maxLatency = Math.max (this.maxLatency, latency);
+            }
+
+            if (this.isClosed || this.pending == NONE)
+            {
+                this.stateLock.notifyAll ();
+                return;
+            }
+            next = this.startNextTransfer ();
+        }
+        this.transfer (next);
+    }
+}
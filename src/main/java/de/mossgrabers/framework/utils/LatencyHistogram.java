@@ -0,0 +1,151 @@
+// Written by Jürgen Moßgraber - mossgrabers.de
+// (c) 2017-2026
+// Licensed under LGPLv3 - http://www.gnu.org/licenses/lgpl-3.0.txt
+
+package de.mossgrabers.framework.utils;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+
+/**
+ * Collects latencies in a histogram with exponential buckets. The first bucket contains latencies
+ * below 1 microsecond, each further bucket covers twice the range of the previous one. Recording a
+ * latency does not lock and does not allocate memory, therefore it can be called from any thread.
+ *
+ * @author Jürgen Moßgraber
+ */
+public class LatencyHistogram
+{
+    /**
+     * The statistics of a histogram. All latencies are in milliseconds. The percentiles are the
+     * upper limits of the buckets in which they are located.
+     *
+     * @param count The number of recorded latencies
+     * @param average The average latency
+     * @param median The latency below which half of the latencies are
+     * @param percentile90 The latency below which 90% of the latencies are
+     * @param percentile99 The latency below which 99% of the latencies are
+     * @param max The maximum latency
+     */
+    public record Statistics (long count, double average, double median, double percentile90, double percentile99, double max)
+    {
+        /** {@inheritDoc} */
+        @Override
+        public String toString ()
+        {
+            return String.format ("%d events, latency avg %.3f ms, p50 < %.3f ms, p90 < %.3f ms, p99 < %.3f ms, max %.3f ms", Long.valueOf (this.count), Double.valueOf (this.average), Double.valueOf (this.median), Double.valueOf (this.percentile90), Double.valueOf (this.percentile99), Double.valueOf (this.max));
+        }
+    }
+
+
+    /** The number of buckets, the last one contains all latencies above 2^30 microseconds. */
+    public static final int       NUM_BUCKETS = 32;
+
+    private final AtomicLongArray buckets     = new AtomicLongArray (NUM_BUCKETS);
+    private final AtomicLong      count       = new AtomicLong ();
+    private final AtomicLong      total       = new AtomicLong ();
+    private final AtomicLong      max         = new AtomicLong ();
+
+
+    /**
+     * Record a latency.
+     *
+     * @param nanos The latency in nanoseconds
+     */
+    public void record (final long nanos)
+    {
+        final long latency = Math.max (0, nanos);
+        this.buckets.incrementAndGet (getBucket (latency));
+        this.count.incrementAndGet ();
+        this.total.addAndGet (latency);
+        this.max.accumulateAndGet (latency, Math::max);
+    }
+
+
+    /**
+     * Remove all recorded latencies.
+     */
+    public void reset ()
+    {
+        for (int i = 0; i < NUM_BUCKETS; i++)
+            this.buckets.set (i, 0);
+        this.count.set (0);
+        this.total.set (0);
+        this.max.set (0);
+    }
+
+
+    /**
+     * Get the number of latencies in each bucket.
+     *
+     * @return The counts, the bucket with the index i contains the latencies below 2^i
+     *         microseconds
+     */
+    public long [] getBuckets ()
+    {
+        final long [] counts = new long [NUM_BUCKETS];
+        for (int i = 0; i < NUM_BUCKETS; i++)
+            counts[i] = this.buckets.get (i);
+        return counts;
+    }
+
+
+    /**
+     * Get the statistics of the recorded latencies. If latencies are recorded concurrently, the
+     * values might not be exactly consistent.
+     *
+     * @return The statistics
+     */
+    public Statistics getStatistics ()
+    {
+        final long [] counts = this.getBuckets ();
+        long sum = 0;
+        for (final long c: counts)
+            sum += c;
+
+        final long numLatencies = this.count.get ();
+        final double average = numLatencies == 0 ? 0 : this.total.get () / (double) numLatencies / 1_000_000.0;
+        return new Statistics (numLatencies, average, getPercentile (counts, sum, 0.5), getPercentile (counts, sum, 0.9), getPercentile (counts, sum, 0.99), this.max.get () / 1_000_000.0);
+    }
+
+
+    /** {@inheritDoc} */
+    @Override
+    public String toString ()
+    {
+        return this.getStatistics ().toString ();
+    }
+
+
+    private static int getBucket (final long nanos)
+    {
+        final long micros = nanos / 1000;
+        return Math.min (NUM_BUCKETS - 1, 64 - Long.numberOfLeadingZeros (micros));
+    }
+
+
+    /**
+     * Get the upper limit of the bucket which contains the given percentile.
+     *
+     * @param counts The number of latencies in each bucket
+     * @param sum The sum of all counts
+     * @param percentile The percentile in the range of [0..1]
+     * @return The upper limit in milliseconds
+     */
+    private static double getPercentile (final long [] counts, final long sum, final double percentile)
+    {
+        if (sum == 0)
+            return 0;
+
+        final long limit = (long) Math.ceil (sum * percentile);
+        long accumulated = 0;
+        for (int i = 0; i < counts.length; i++)
+        {
+            accumulated += counts[i];
+            if (accumulated >= limit)
+                return (1L << i) / 1000.0;
+        }
+        return (1L << (counts.length - 1)) / 1000.0;
+    }
+}
@@ -0,0 +1,299 @@
+// Written by Jürgen Moßgraber - mossgrabers.de
+// (c) 2017-2026
+// Licensed under LGPLv3 - http://www.gnu.org/licenses/lgpl-3.0.txt
+
+package de.mossgrabers.framework.utils;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+
+/**
+ * Traces the latency from a received MIDI message to the moments when its effect is processed and
+ * sent to the device. Each control surface has its own trace. Each received message is stamped into
+ * the ring buffer of the trace of the surface. When a stage of the surface is reached, the time
+ * since the oldest message which has not yet passed this stage is recorded in the histogram of the
+ * stage. Since the stages are not tied to a specific message (e.g. a flush handles all changes
+ * since the previous one), this is the waiting time of the longest waiting message. Messages which
+ * are older than a second are dropped since e.g. a press which does not change any LED would
+ * otherwise be charged to the next unrelated pad update.
+ *
+ * The last stamps of all surfaces are kept in a second ring buffer, which can be written to a
+ * file. Stamping does not lock, writes into pre-allocated arrays and does nothing if the tracing is
+ * disabled.
+ *
+ * @author Jürgen Moßgraber
+ */
+public final class LatencyTracer
+{
+    /** The stages of the processing. */
+    public enum Stage
+    {
+        /** The command of the control which is bound to the MIDI message was executed. */
+        COMMAND("Command dispatch"),
+        /** The controller was asked to flush (on the timer of the host). */
+        FLUSH_REQUEST("Flush request"),
+        /** The flush handler started (on the thread pool of the host). */
+        FLUSH("Flush handler"),
+        /** The state of a pad was sent to the device. */
+        PAD_GRID("Pad grid send"),
+        /** A frame was sent to a graphics display. */
+        DISPLAY("Display send");
+
+
+        private final String name;
+
+
+        private Stage (final String name)
+        {
+            this.name = name;
+        }
+
+
+        /**
+         * Get the name of the stage.
+         *
+         * @return The name
+         */
+        public String getName ()
+        {
+            return this.name;
+        }
+    }
+
+
+    /**
+     * A stamp of a stage.
+     *
+     * @param time The time of the stamp (System.nanoTime)
+     * @param stage The stage
+     * @param latency The time since the oldest message which had not yet passed the stage in
+     *            nanoseconds
+     */
+    public record Event (long time, Stage stage, long latency)
+    {
+        // Intentionally empty
+    }
+
+
+    /**
+     * The received messages of one control surface and the stages they have passed.
+     */
+    public static final class Trace
+    {
+        private final long            maxLatency;
+        private final AtomicLongArray originTimes   = new AtomicLongArray (ORIGIN_CAPACITY);
+        private final AtomicLongArray originIds     = new AtomicLongArray (ORIGIN_CAPACITY);
+        private final AtomicLong      lastOrigin    = new AtomicLong ();
+        private final AtomicLongArray passedOrigins = new AtomicLongArray (STAGES.length);
+
+
+        /**
+         * Constructor.
+         */
+        public Trace ()
+        {
+            this (MAX_LATENCY);
+        }
+
+
+        /**
+         * Constructor.
+         *
+         * @param maxLatency Messages which are older are dropped, in nanoseconds
+         */
+        Trace (final long maxLatency)
+        {
+            this.maxLatency = maxLatency;
+        }
+
+
+        /**
+         * Stamp a received MIDI message. This starts the latency measurement of all stages.
+         */
+        public void begin ()
+        {
+            if (!isEnabled)
+                return;
+
+            // The slot is claimed first, the ID is set last to mark the time as valid
+            final long id = this.lastOrigin.incrementAndGet ();
+            final int index = (int) (id % ORIGIN_CAPACITY);
+            this.originIds.set (index, 0);
+            this.originTimes.set (index, System.nanoTime ());
+            this.originIds.set (index, id);
+        }
+
+
+        /**
+         * Stamp a stage. If there are messages which have not yet passed the stage, the time since
+         * the oldest of them is recorded.
+         *
+         * @param stage The stage
+         */
+        public void stamp (final Stage stage)
+        {
+            if (!isEnabled)
+                return;
+
+            final int stageIndex = stage.ordinal ();
+            final long last = this.lastOrigin.get ();
+            final long passed = this.passedOrigins.getAndAccumulate (stageIndex, last, Math::max);
+            if (passed >= last)
+                return;
+
+            // Messages which were overwritten in the ring buffer, which are not yet completely
+            // stamped, which are too old or which were received before a reset are skipped
+            final long now = System.nanoTime ();
+            final long resetTime = lastReset;
+            for (long id = Math.max (passed + 1, last - ORIGIN_CAPACITY + 1); id <= last; id++)
+            {
+                final int index = (int) (id % ORIGIN_CAPACITY);
+                if (this.originIds.get (index) != id)
+                    continue;
+                final long time = this.originTimes.get (index);
+                if (this.originIds.get (index) != id)
+                    continue;
+
+                final long latency = now - time;
+                if (latency > this.maxLatency || time - resetTime < 0)
+                    continue;
+
+                HISTOGRAMS[stageIndex].record (latency);
+                final int eventIndex = (int) (EVENT_COUNT.getAndIncrement () % EVENT_CAPACITY);
+                EVENT_TIMES.set (eventIndex, now);
+                EVENT_INFOS.set (eventIndex, latency << 8 | stageIndex);
+                return;
+            }
+        }
+    }
+
+
+    /** The number of received messages which are kept. */
+    private static final int                 ORIGIN_CAPACITY = 256;
+    /** The number of stamps which are kept. */
+    private static final int                 EVENT_CAPACITY  = 4096;
+    /** Messages which are older are dropped: 1 second. */
+    private static final long                MAX_LATENCY     = 1_000_000_000L;
+    private static final Stage []            STAGES          = Stage.values ();
+
+    private static final AtomicLongArray     EVENT_TIMES     = new AtomicLongArray (EVENT_CAPACITY);
+    private static final AtomicLongArray     EVENT_INFOS     = new AtomicLongArray (EVENT_CAPACITY);
+    private static final AtomicLong          EVENT_COUNT     = new AtomicLong ();
+    private static final LatencyHistogram [] HISTOGRAMS      = new LatencyHistogram [STAGES.length];
+
+    private static volatile boolean          isEnabled       = false;
+    private static volatile long             lastReset       = System.nanoTime ();
+
+    static
+    {
+        for (int i = 0; i < HISTOGRAMS.length; i++)
+            HISTOGRAMS[i] = new LatencyHistogram ();
+    }
+
+
+    /**
+     * Private due to utility class.
+     */
+    private LatencyTracer ()
+    {
+        // Intentionally empty
+    }
+
+
+    /**
+     * Is the tracing enabled?
+     *
+     * @return True if enabled
+     */
+    public static boolean isEnabled ()
+    {
+        return isEnabled;
+    }
+
+
+    /**
+     * Enable or disable the tracing. All recorded stamps are removed when the tracing is enabled.
+     *
+     * @param enable True to enable
+     */
+    public static void setEnabled (final boolean enable)
+    {
+        if (enable && !isEnabled)
+            reset ();
+        isEnabled = enable;
+    }
+
+
+    /**
+     * Remove all recorded stamps and ignore all messages received so far.
+     */
+    public static void reset ()
+    {
+        // Messages which were received before are ignored by all traces
+        lastReset = System.nanoTime ();
+        for (final LatencyHistogram histogram: HISTOGRAMS)
+            histogram.reset ();
+        EVENT_COUNT.set (0);
+    }
+
+
+    /**
+     * Get the latency statistics of a stage.
+     *
+     * @param stage The stage
+     * @return The statistics
+     */
+    public static LatencyHistogram.Statistics getStatistics (final Stage stage)
+    {
+        return HISTOGRAMS[stage.ordinal ()].getStatistics ();
+    }
+
+
+    /**
+     * Get the last stamps. If stamps are added concurrently, single stamps might be missing or
+     * inconsistent.
+     *
+     * @return The stamps, the oldest first
+     */
+    public static List<Event> getEvents ()
+    {
+        final long count = EVENT_COUNT.get ();
+        final long first = Math.max (0, count - EVENT_CAPACITY);
+        final List<Event> events = new ArrayList<> ((int) (count - first));
+        for (long i = first; i < count; i++)
+        {
+            final int index = (int) (i % EVENT_CAPACITY);
+            final long info = EVENT_INFOS.get (index);
+            events.add (new Event (EVENT_TIMES.get (index), STAGES[(int) (info & 0xFF)], info >>> 8));
+        }
+        return events;
+    }
+
+
+    /**
+     * Write the statistics of all stages and the last stamps as text.
+     *
+     * @param writer Where to write to
+     * @throws IOException Could not write
+     */
+    public static void dump (final Writer writer) throws IOException
+    {
+        for (final Stage stage: STAGES)
+            writer.write (String.format ("# %-18s %s%n", stage.getName (), getStatistics (stage)));
+
+        final List<Event> events = getEvents ();
+        if (events.isEmpty ())
+            return;
+
+        writer.write (String.format ("#%n# Time [ms]    Stage              Latency [ms]%n"));
+        final long start = events.get (0).time ();
+        for (final Event event: events)
+            writer.write (String.format (Locale.US, "%12.3f  %-18s %12.3f%n", Double.valueOf ((event.time () - start) / 1_000_000.0), event.stage ().getName (), Double.valueOf (event.latency () / 1_000_000.0)));
+    }
+}
@@ -4,36 +4,53 @@
 
 package de.mossgrabers.framework.utils;
 
+import de.mossgrabers.framework.utils.TaskScheduler.Lane;
+
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
-import java.util.concurrent.atomic.AtomicReference;
 
 
 /**
  * Executes only one task. When new tasks arrive for execution only the latest one will be stored
- * for execution.
+ * for execution. The tasks are executed one after the other on a lane of the shared task scheduler,
+ * therefore the executor does not need its own thread.
  *
  * @author Jürgen Moßgraber
  */
 public class LatestTaskExecutor implements ExecutorService
 {
-    private final AtomicReference<Runnable> lastTask = new AtomicReference<> ();
-    private final ExecutorService           executor;
+    private final Lane   lane;
+    private final Object stateLock   = new Object ();
+    private Runnable     lastTask    = null;
+    private boolean      isScheduled = false;
+    private boolean      isShutdown  = false;
 
 
     /**
-     * Constructor.
+     * Constructor. Executes the tasks on the display lane.
      */
     public LatestTaskExecutor ()
     {
-        this.executor = Executors.newSingleThreadExecutor ();
+        this (Lane.DISPLAY);
+    }
+
+
+    /**
+     * Constructor.
+     *
+     * @param lane The lane of the task scheduler on which to execute the tasks
+     */
+    public LatestTaskExecutor (final Lane lane)
+    {
+        this.lane = lane;
     }
 
 
@@ -41,12 +58,50 @@ public class LatestTaskExecutor implements ExecutorService
     @Override
     public void execute (final Runnable command)
     {
-        this.lastTask.set (command);
-        this.executor.execute ( () -> {
-            final Runnable task = this.lastTask.getAndSet (null);
+        synchronized (this.stateLock)
+        {
+            if (this.isShutdown)
+                throw new RejectedExecutionException ("Executor is already shutdown.");
+            this.lastTask = command;
+            if (this.isScheduled)
+                return;
+            this.isScheduled = true;
+        }
+        TaskScheduler.getInstance ().execute (this.lane, this::runLatestTask);
+    }
+
+
+    /**
+     * Executes the latest task. If another task has arrived in the meantime it is scheduled again,
+     * which ensures that only one task is running at a time.
+     */
+    private void runLatestTask ()
+    {
+        final Runnable task;
+        synchronized (this.stateLock)
+        {
+            task = this.lastTask;
+            this.lastTask = null;
+        }
+
+        try
+        {
             if (task != null)
                 task.run ();
-        });
+        }
+        finally
+        {
+            synchronized (this.stateLock)
+            {
+                if (this.lastTask == null)
+                {
+                    this.isScheduled = false;
+                    this.stateLock.notifyAll ();
+                }
+                else
+                    TaskScheduler.getInstance ().execute (this.lane, this::runLatestTask);
+            }
+        }
     }
 
 
@@ -54,7 +109,10 @@ public class LatestTaskExecutor implements ExecutorService
     @Override
     public void shutdown ()
     {
-        this.executor.shutdown ();
+        synchronized (this.stateLock)
+        {
+            this.isShutdown = true;
+        }
     }
 
 
@@ -62,7 +120,10 @@ public class LatestTaskExecutor implements ExecutorService
     @Override
     public boolean isShutdown ()
     {
-        return this.executor.isShutdown ();
+        synchronized (this.stateLock)
+        {
+            return this.isShutdown;
+        }
     }
 
 
@@ -70,7 +131,18 @@ public class LatestTaskExecutor implements ExecutorService
     @Override
     public boolean awaitTermination (final long timeout, final TimeUnit unit) throws InterruptedException
     {
-        return this.executor.awaitTermination (timeout, unit);
+        final long end = System.nanoTime () + unit.toNanos (timeout);
+        synchronized (this.stateLock)
+        {
+            while (!this.isShutdown || this.isScheduled)
+            {
+                final long remaining = end - System.nanoTime ();
+                if (remaining <= 0)
+                    return false;
+                TimeUnit.NANOSECONDS.timedWait (this.stateLock, remaining);
+            }
+            return true;
+        }
     }
 
 
@@ -78,7 +150,13 @@ public class LatestTaskExecutor implements ExecutorService
     @Override
     public List<Runnable> shutdownNow ()
     {
-        return this.executor.shutdownNow ();
+        synchronized (this.stateLock)
+        {
+            this.isShutdown = true;
+            final Runnable task = this.lastTask;
+            this.lastTask = null;
+            return task == null ? Collections.emptyList () : Collections.singletonList (task);
+        }
     }
 
 
@@ -86,7 +164,10 @@ public class LatestTaskExecutor implements ExecutorService
     @Override
     public boolean isTerminated ()
     {
-        return this.executor.isTerminated ();
+        synchronized (this.stateLock)
+        {
+            return this.isShutdown && !this.isScheduled;
+        }
     }
 
 
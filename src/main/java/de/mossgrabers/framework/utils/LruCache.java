@@ -0,0 +1,124 @@
+// Written by Jürgen Moßgraber - mossgrabers.de
+// (c) 2017-2026
+// Licensed under LGPLv3 - http://www.gnu.org/licenses/lgpl-3.0.txt
+
+package de.mossgrabers.framework.utils;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+
+
+/**
+ * A thread-safe cache with a maximum number of entries. If the cache is full, the least recently
+ * used entry is removed. The number of hits and misses is counted.
+ *
+ * @param <K> The type of the keys
+ * @param <V> The type of the values
+ *
+ * @author Jürgen Moßgraber
+ */
+public class LruCache<K, V>
+{
+    /**
+     * The statistics of a cache.
+     *
+     * @param hits The number of requests which were answered from the cache
+     * @param misses The number of requests for which the value needed to be created
+     * @param size The current number of entries
+     */
+    public record Statistics (long hits, long misses, int size)
+    {
+        /**
+         * Get the ratio of the hits to all requests.
+         *
+         * @return The ratio in the range of [0..1]
+         */
+        public double getHitRate ()
+        {
+            final long requests = this.hits + this.misses;
+            return requests == 0 ? 0 : this.hits / (double) requests;
+        }
+
+
+        /** {@inheritDoc} */
+        @Override
+        public String toString ()
+        {
+            return String.format (Locale.US, "%d entries, %d hits, %d misses, hit rate %.1f%%", Integer.valueOf (this.size), Long.valueOf (this.hits), Long.valueOf (this.misses), Double.valueOf (this.getHitRate () * 100.0));
+        }
+    }
+
+
+    private final Map<K, V> entries;
+    private long            hits;
+    private long            misses;
+
+
+    /**
+     * Constructor.
+     *
+     * @param capacity The maximum number of entries
+     */
+    public LruCache (final int capacity)
+    {
+        this.entries = new LinkedHashMap<> (16, 0.75f, true)
+        {
+            private static final long serialVersionUID = 1L;
+
+
+            /** {@inheritDoc} */
+            @Override
+            protected boolean removeEldestEntry (final Map.Entry<K, V> eldest)
+            {
+                return this.size () > capacity;
+            }
+        };
+    }
+
+
+    /**
+     * Get the value of a key. If it is not in the cache, it is created and added. The value is
+     * created while the cache is locked, therefore the creation should not take long and must not
+     * access the cache itself.
+     *
+     * @param key The key
+     * @param creator Creates the value for a key which is not in the cache, must not return null
+     * @return The value
+     */
+    public synchronized V get (final K key, final Function<K, V> creator)
+    {
+        V value = this.entries.get (key);
+        if (value != null)
+        {
+            this.hits++;
+            return value;
+        }
+
+        this.misses++;
+        value = creator.apply (key);
+        this.entries.put (key, value);
+        return value;
+    }
+
+
+    /**
+     * Remove all entries. The statistics are kept.
+     */
+    public synchronized void clear ()
+    {
+        this.entries.clear ();
+    }
+
+
+    /**
+     * Get the statistics of the cache.
+     *
+     * @return The statistics
+     */
+    public synchronized Statistics getStatistics ()
+    {
+        return new Statistics (this.hits, this.misses, this.entries.size ());
+    }
+}
@@ -0,0 +1,259 @@
+// Written by Jürgen Moßgraber - mossgrabers.de
+// (c) 2017-2026
+// Licensed under LGPLv3 - http://www.gnu.org/licenses/lgpl-3.0.txt
+
+package de.mossgrabers.framework.utils;
+
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+
+/**
+ * A process-wide scheduler which is shared by all controller instances. The tasks are executed by
+ * a fixed number of threads which are organized in lanes for different purposes. Therefore, the
+ * number of threads does not grow with the number of controllers and displays. Tasks which need to
+ * be executed one after the other should use a LatestTaskExecutor on top of a lane.
+ *
+ * For each lane the number of waiting tasks and the latency between the planned and the actual
+ * start of the tasks is measured.
+ *
+ * @author Jürgen Moßgraber
+ */
+public final class TaskScheduler
+{
+    /** The lanes of the scheduler. */
+    public enum Lane
+    {
+        /** Flushes and timers which the controllers schedule via the host. */
+        FLUSH("flush", 4),
+        /** Sending content to displays, e.g. text lines. */
+        DISPLAY("display", 2),
+        /** Transfers to USB devices. */
+        USB("usb", 2),
+        /** Periodic and delayed housekeeping tasks, e.g. the timeout of notifications. */
+        TIMER("timer", 1),
+        /** Writing files in the order of the tasks, e.g. the log file, which may block on the disk. */
+        FILE("file", 1);
+
+
+        private final String name;
+        private final int    numThreads;
+
+
+        private Lane (final String name, final int numThreads)
+        {
+            this.name = name;
+            this.numThreads = numThreads;
+        }
+
+
+        /**
+         * Get the name of the lane.
+         *
+         * @return The name
+         */
+        public String getName ()
+        {
+            return this.name;
+        }
+
+
+        /**
+         * Get the number of threads of the lane.
+         *
+         * @return The number of threads
+         */
+        public int getNumThreads ()
+        {
+            return this.numThreads;
+        }
+    }
+
+
+    /**
+     * The statistics of a lane.
+     *
+     * @param lane The lane
+     * @param queueDepth The number of tasks which are waiting for their execution, including
+     *            delayed and periodic tasks
+     * @param executedTasks The number of tasks which have been started
+     * @param averageLatency The average delay between the planned and the actual start of a task in
+     *            milliseconds
+     * @param maxLatency The maximum delay between the planned and the actual start of a task in
+     *            milliseconds
+     */
+    public record LaneStatistics (Lane lane, int queueDepth, long executedTasks, double averageLatency, double maxLatency)
+    {
+        /** {@inheritDoc} */
+        @Override
+        public String toString ()
+        {
+            return String.format ("%s: %d threads, %d queued, %d executed, latency avg %.2f ms, max %.2f ms", this.lane.getName (), Integer.valueOf (this.lane.getNumThreads ()), Integer.valueOf (this.queueDepth), Long.valueOf (this.executedTasks), Double.valueOf (this.averageLatency), Double.valueOf (this.maxLatency));
+        }
+    }
+
+
+    private static final TaskScheduler INSTANCE = new TaskScheduler ();
+
+    private final LaneExecutor []      executors;
+
+
+    /**
+     * Get the scheduler.
+     *
+     * @return The one and only instance
+     */
+    public static TaskScheduler getInstance ()
+    {
+        return INSTANCE;
+    }
+
+
+    /**
+     * Constructor.
+     */
+    private TaskScheduler ()
+    {
+        final Lane [] lanes = Lane.values ();
+        this.executors = new LaneExecutor [lanes.length];
+        for (final Lane lane: lanes)
+            this.executors[lane.ordinal ()] = new LaneExecutor (lane);
+    }
+
+
+    /**
+     * Execute a task as soon as possible.
+     *
+     * @param lane The lane on which to execute the task
+     * @param task The task
+     */
+    public void execute (final Lane lane, final Runnable task)
+    {
+        this.schedule (lane, task, 0);
+    }
+
+
+    /**
+     * Execute a task after a delay.
+     *
+     * @param lane The lane on which to execute the task
+     * @param task The task
+     * @param delay The delay in milliseconds
+     * @return The future of the task which can be used to cancel it
+     */
+    public ScheduledFuture<?> schedule (final Lane lane, final Runnable task, final long delay)
+    {
+        final LaneExecutor executor = this.executors[lane.ordinal ()];
+        final long plannedStart = System.nanoTime () + TimeUnit.MILLISECONDS.toNanos (Math.max (0, delay));
+        return executor.schedule ( () -> {
+            executor.countStart (plannedStart);
+            task.run ();
+        }, delay, TimeUnit.MILLISECONDS);
+    }
+
+
+    /**
+     * Execute a task periodically. The latency is not measured for periodic tasks.
+     *
+     * @param lane The lane on which to execute the task
+     * @param task The task
+     * @param initialDelay The delay of the first execution in milliseconds
+     * @param period The period between the executions in milliseconds
+     * @return The future of the task which must be used to cancel it
+     */
+    public ScheduledFuture<?> scheduleAtFixedRate (final Lane lane, final Runnable task, final long initialDelay, final long period)
+    {
+        return this.executors[lane.ordinal ()].scheduleAtFixedRate (task, initialDelay, period, TimeUnit.MILLISECONDS);
+    }
+
+
+    /**
+     * Get the statistics of a lane.
+     *
+     * @param lane The lane
+     * @return The statistics
+     */
+    public LaneStatistics getStatistics (final Lane lane)
+    {
+        return this.executors[lane.ordinal ()].getStatistics ();
+    }
+
+
+    /**
+     * Get the number of threads of all lanes, which have been started so far.
+     *
+     * @return The number of threads
+     */
+    public int getNumThreads ()
+    {
+        int numThreads = 0;
+        for (final LaneExecutor executor: this.executors)
+            numThreads += executor.getPoolSize ();
+        return numThreads;
+    }
+
+
+    /** The executor of one lane, which also collects the statistics. */
+    private static final class LaneExecutor extends ScheduledThreadPoolExecutor
+    {
+        private final Lane            lane;
+        private final LongAdder       executedTasks = new LongAdder ();
+        private final LongAdder       totalLatency  = new LongAdder ();
+        private final LongAccumulator maxLatency    = new LongAccumulator (Math::max, 0);
+
+
+        LaneExecutor (final Lane lane)
+        {
+            super (lane.getNumThreads (), new LaneThreadFactory (lane));
+
+            this.lane = lane;
+            this.setRemoveOnCancelPolicy (true);
+        }
+
+
+        void countStart (final long plannedStart)
+        {
+            final long latency = Math.max (0, System.nanoTime () - plannedStart);
+            this.executedTasks.increment ();
+            this.totalLatency.add (latency);
+            this.maxLatency.accumulate (latency);
+        }
+
+
+        LaneStatistics getStatistics ()
+        {
+            final long executed = this.executedTasks.sum ();
+            final double average = executed == 0 ? 0 : this.totalLatency.sum () / (double) executed;
+            return new LaneStatistics (this.lane, this.getQueue ().size (), executed, average / 1_000_000.0, this.maxLatency.get () / 1_000_000.0);
+        }
+    }
+
+
+    /** Creates named daemon threads for a lane. */
+    private static final class LaneThreadFactory implements ThreadFactory
+    {
+        private final String        prefix;
+        private final AtomicInteger counter = new AtomicInteger ();
+
+
+        LaneThreadFactory (final Lane lane)
+        {
+            this.prefix = "DrivenByMoss-" + lane.getName () + "-";
+        }
+
+
+        /** {@inheritDoc} */
+        @Override
+        public Thread newThread (final Runnable runnable)
+        {
+            final Thread thread = new Thread (runnable, this.prefix + this.counter.incrementAndGet ());
+            thread.setDaemon (true);
+            return thread;
+        }
+    }
+}
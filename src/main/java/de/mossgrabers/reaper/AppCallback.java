@@ -142,4 +142,60 @@ public interface AppCallback
      * @param enabled True to enable
      */
     void setPopupWindowNotification (final boolean enabled);
+
+
+    /**
+     * Get the disabled / enabled state of the latency tracing.
+     *
+     * @return True if enabled
+     */
+    boolean getLatencyTracing ();
+
+
+    /**
+     * Disable / enable the latency tracing.
+     *
+     * @param enabled True to enable
+     */
+    void setLatencyTracing (final boolean enabled);
+
+
+    /**
+     * Log the statistics of the icon and text layout caches and the latency statistics of all
+     * stages. The latter are written with the last stamps to a file.
+     */
+    void showLatencyStatistics ();
+
+
+    /**
+     * Get the disabled / enabled state of writing the log messages to a file.
+     *
+     * @return True if enabled
+     */
+    boolean getLogToFile ();
+
+
+    /**
+     * Disable / enable writing the log messages to a file.
+     *
+     * @param enabled True to enable
+     */
+    void setLogToFile (final boolean enabled);
+
+
+    /**
+     * Get the disabled / enabled state of recording the model updates and MIDI messages.
+     *
+     * @return True if enabled
+     */
+    boolean getRecordReplayStream ();
+
+
+    /**
+     * Disable / enable recording the model updates and MIDI messages into a replay stream file for
+     * the benchmark. The recording is not restored on the next start.
+     *
+     * @param enabled True to enable
+     */
+    void setRecordReplayStream (final boolean enabled);
 }
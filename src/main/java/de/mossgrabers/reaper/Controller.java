@@ -4,6 +4,7 @@
 
 package de.mossgrabers.reaper;
 
+import java.nio.ByteBuffer;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -85,6 +86,19 @@ public class Controller
     }
 
 
+    /**
+     * Update the data model with binary encoded data.
+     *
+     * @param data A direct buffer which contains the data to update the model with, the data is
+     *            only read during the call
+     */
+    public static void updateModelBinary (final ByteBuffer data)
+    {
+        if (app != null)
+            app.updateModel (data);
+    }
+
+
     /**
      * Shutdown the application.
      */
@@ -5,10 +5,16 @@
 package de.mossgrabers.reaper;
 
 import de.mossgrabers.framework.controller.IControllerDefinition;
+import de.mossgrabers.framework.utils.LatencyTracer;
 import de.mossgrabers.framework.utils.OperatingSystem;
 import de.mossgrabers.framework.utils.Pair;
 import de.mossgrabers.reaper.communication.BackendExchange;
+import de.mossgrabers.reaper.communication.BinaryUpdateDecoder;
+import de.mossgrabers.reaper.communication.CoalescingCommandQueue;
 import de.mossgrabers.reaper.communication.Processor;
+import de.mossgrabers.reaper.communication.ReplayRecorder;
+import de.mossgrabers.reaper.communication.UpdateCommand;
+import de.mossgrabers.reaper.communication.UpdateParser;
 import de.mossgrabers.reaper.controller.ControllerInstanceManager;
 import de.mossgrabers.reaper.controller.IControllerInstance;
 import de.mossgrabers.reaper.framework.Actions;
@@ -18,9 +24,11 @@ import de.mossgrabers.reaper.framework.configuration.IfxSetting;
 import de.mossgrabers.reaper.framework.daw.BrowserContentType;
 import de.mossgrabers.reaper.framework.device.DeviceManager;
 import de.mossgrabers.reaper.framework.graphics.SVGImage;
+import de.mossgrabers.reaper.framework.graphics.TextLayoutCache;
 import de.mossgrabers.reaper.framework.midi.MidiAccessImpl;
 import de.mossgrabers.reaper.framework.midi.MidiConnection;
 import de.mossgrabers.reaper.framework.midi.ReaperMidiDevice;
+import de.mossgrabers.reaper.framework.usb.UsbEventHandler;
 import de.mossgrabers.reaper.ui.MainFrame;
 import de.mossgrabers.reaper.ui.WindowManager;
 import de.mossgrabers.reaper.ui.utils.LogModel;
@@ -32,23 +40,27 @@ import org.usb4java.LibUsbException;
 
 import javax.sound.midi.InvalidMidiDataException;
 import javax.sound.midi.MidiDevice;
-import javax.sound.midi.MidiMessage;
-import javax.sound.midi.ShortMessage;
 import javax.sound.midi.SysexMessage;
 import javax.swing.SwingUtilities;
 import javax.swing.Timer;
 import javax.swing.UIManager;
 import javax.swing.UnsupportedLookAndFeelException;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.PrintWriter;
 import java.io.StringWriter;
+import java.io.Writer;
 import java.net.Socket;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Base64;
 import java.util.Base64.Decoder;
 import java.util.Base64.Encoder;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
@@ -66,6 +78,9 @@ public class MainApp implements BackendExchange, AppCallback, WindowManager
 {
     private static final int                DEVICE_UPDATE_RATE = 30;
     private static final Pattern            TAG_PATTERN        = Pattern.compile ("(.*?)=\"(.*?)\"\\s*");
+    private static final String             LATENCY_FILENAME   = "DrivenByMoss4Reaper-Latency.txt";
+    private static final String             LOG_FILENAME       = "DrivenByMoss4Reaper.log";
+    private static final String             REPLAY_FILENAME    = "DrivenByMoss4Reaper-Replay.txt";
 
     private final LogModel                  logModel           = new LogModel ();
 
@@ -79,6 +94,10 @@ public class MainApp implements BackendExchange, AppCallback, WindowManager
     private final IniFiles                  iniFiles           = new IniFiles ();
     private final Object                    startupLock        = new Object ();
     private final Map<String, String>       instanceSettings   = new HashMap<> ();
+    private final BinaryUpdateDecoder       updateDecoder      = new BinaryUpdateDecoder ();
+    private final UpdateParser              updateParser       = new UpdateParser ();
+    private final CoalescingCommandQueue    outboundQueue      = new CoalescingCommandQueue ();
+    private volatile ReplayRecorder         replayRecorder     = null;
 
 
     /**
@@ -125,6 +144,8 @@ public class MainApp implements BackendExchange, AppCallback, WindowManager
 
             // Print LibUsb errors and warnings
             LibUsb.setOption (null, LibUsb.OPTION_LOG_LEVEL, LibUsb.LOG_LEVEL_WARNING);
+
+            UsbEventHandler.start (this.logModel);
         }
         catch (final LibUsbException ex)
         {
@@ -145,6 +166,8 @@ public class MainApp implements BackendExchange, AppCallback, WindowManager
             this.animationTimer.stop ();
 
         this.instanceManager.stopAll ();
+        this.flushOutboundQueue ();
+        this.setRecordReplayStream (false);
 
         SVGImage.clearCache ();
 
@@ -155,6 +178,7 @@ public class MainApp implements BackendExchange, AppCallback, WindowManager
         MidiConnection.cleanupUnusedDevices ();
 
         this.logModel.info ("Shutting down USB...");
+        UsbEventHandler.stop ();
         // Seems to only work on Windows. Mac and Linux hang and crash...
         if (OperatingSystem.get () == OperatingSystem.WINDOWS)
             LibUsb.exit (null);
@@ -175,7 +199,10 @@ public class MainApp implements BackendExchange, AppCallback, WindowManager
             this.logModel.error ("Could not load main configuration.", ex);
         }
 
+        SVGImage.configureCache (this.mainConfiguration);
         SVGImage.clearCache ();
+        LatencyTracer.setEnabled (this.mainConfiguration.getBoolean ("LATENCY_TRACING", false));
+        this.logModel.setLogFile (this.mainConfiguration.getBoolean ("LOG_TO_FILE", false) ? new File (this.iniPath, LOG_FILENAME) : null);
     }
 
 
@@ -286,6 +313,16 @@ public class MainApp implements BackendExchange, AppCallback, WindowManager
     void flushToController ()
     {
         this.instanceManager.flushAll ();
+        this.flushOutboundQueue ();
+    }
+
+
+    /**
+     * Send all values which were collected since the last flush to Reaper.
+     */
+    private void flushOutboundQueue ()
+    {
+        this.outboundQueue.flush (this::processDoubleArg);
     }
 
 
@@ -319,18 +356,6 @@ public class MainApp implements BackendExchange, AppCallback, WindowManager
     }
 
 
-    /**
-     * Parse an incoming DAW message into all configured controllers.
-     *
-     * @param address The message address
-     * @param argument The argument
-     */
-    private void handleReceiveOSC (final String address, final String argument)
-    {
-        this.instanceManager.parseAll (address, argument);
-    }
-
-
     /** {@inheritDoc} */
     @Override
     public void invokeAction (final int actionID)
@@ -338,6 +363,7 @@ public class MainApp implements BackendExchange, AppCallback, WindowManager
         if (Actions.isBlocked (actionID))
             return;
 
+        this.flushOutboundQueue ();
         this.processIntArg ("action", "", actionID);
     }
 
@@ -346,7 +372,8 @@ public class MainApp implements BackendExchange, AppCallback, WindowManager
     @Override
     public void processNoArg (final Processor processor, final String command)
     {
-        this.processNoArg (processor.name ().toLowerCase (Locale.US), command);
+        this.flushOutboundQueue ();
+        this.processNoArg (processor.getIdentifier (), command);
     }
 
 
@@ -363,7 +390,8 @@ public class MainApp implements BackendExchange, AppCallback, WindowManager
     @Override
     public void processStringArg (final Processor processor, final String command, final String value)
     {
-        this.processStringArg (processor.name ().toLowerCase (Locale.US), command, value);
+        this.flushOutboundQueue ();
+        this.processStringArg (processor.getIdentifier (), command, value);
     }
 
 
@@ -381,7 +409,8 @@ public class MainApp implements BackendExchange, AppCallback, WindowManager
     @Override
     public void processStringArgs (final Processor processor, final String command, final String [] values)
     {
-        this.processStringArgs (processor.name ().toLowerCase (Locale.US), command, values);
+        this.flushOutboundQueue ();
+        this.processStringArgs (processor.getIdentifier (), command, values);
     }
 
 
@@ -399,7 +428,8 @@ public class MainApp implements BackendExchange, AppCallback, WindowManager
     @Override
     public void processIntArg (final Processor processor, final String command, final int value)
     {
-        this.processIntArg (processor.name ().toLowerCase (Locale.US), command, value);
+        this.flushOutboundQueue ();
+        this.processIntArg (processor.getIdentifier (), command, value);
     }
 
 
@@ -417,7 +447,21 @@ public class MainApp implements BackendExchange, AppCallback, WindowManager
     @Override
     public void processDoubleArg (final Processor processor, final String command, final double value)
     {
-        this.processDoubleArg (processor.name ().toLowerCase (Locale.US), command, value);
+        this.flushOutboundQueue ();
+        this.processDoubleArg (processor.getIdentifier (), command, value);
+    }
+
+
+    /** {@inheritDoc} */
+    @Override
+    public void setDoubleValue (final Processor processor, final String command, final double value)
+    {
+        // Absolute values are collected and only the latest one is sent with the next flush
+        final Timer timer = this.animationTimer;
+        if (timer != null && timer.isRunning ())
+            this.outboundQueue.set (processor, command, value);
+        else
+            this.processDoubleArg (processor, command, value);
     }
 
 
@@ -435,7 +479,7 @@ public class MainApp implements BackendExchange, AppCallback, WindowManager
     @Override
     public void delayUpdates (final Processor processor)
     {
-        this.delayUpdates (processor.name ().toLowerCase (Locale.US));
+        this.delayUpdates (processor.getIdentifier ());
     }
 
 
@@ -452,7 +496,7 @@ public class MainApp implements BackendExchange, AppCallback, WindowManager
     @Override
     public void enableUpdates (final Processor processor, final boolean enable)
     {
-        this.enableUpdates (processor.name ().toLowerCase (Locale.US), enable);
+        this.enableUpdates (processor.getIdentifier (), enable);
     }
 
 
@@ -660,23 +704,85 @@ public class MainApp implements BackendExchange, AppCallback, WindowManager
         if (data == null || data.isEmpty ())
             return;
 
-        SafeRunLater.execute (this.logModel, () -> {
-            for (final String command: data.split ("\n"))
+        final ReplayRecorder recorder = this.replayRecorder;
+        if (recorder != null)
+            recorder.recordUpdates (data);
+
+        // Parse only once, the same commands are applied to all controller instances
+        final List<UpdateCommand> commands = this.parseUpdates (data);
+        if (!commands.isEmpty ())
+            SafeRunLater.execute (this.logModel, () -> this.instanceManager.applyAll (commands));
+    }
+
+
+    /**
+     * Parse the pseudo OSC commands into update commands.
+     *
+     * @param data The data formatted as pseudo OSC commands, separated by line breaks
+     * @return The parsed commands, the list is not modifiable
+     */
+    private List<UpdateCommand> parseUpdates (final String data)
+    {
+        final List<UpdateCommand> commands = new ArrayList<> ();
+        final int length = data.length ();
+        int lineStart = 0;
+        synchronized (this.updateParser)
+        {
+            while (lineStart < length)
             {
-                final String [] split = command.split (" ");
-                final String params = split.length == 1 ? null : command.substring (split[0].length () + 1);
-                try
-                {
-                    this.handleReceiveOSC (split[0], params);
-                }
-                catch (final IllegalArgumentException ex)
+                int lineEnd = data.indexOf ('\n', lineStart);
+                if (lineEnd < 0)
+                    lineEnd = length;
+
+                if (lineEnd > lineStart)
                 {
-                    final StringWriter sw = new StringWriter ();
-                    ex.printStackTrace (new PrintWriter (sw));
-                    this.logModel.info (sw.toString ());
+                    try
+                    {
+                        final UpdateCommand command = this.updateParser.parse (data, lineStart, lineEnd);
+                        if (command == null)
+                            this.logModel.info ("Unhandled OSC address: " + data.substring (lineStart, lineEnd));
+                        else
+                            commands.add (command);
+                    }
+                    catch (final IllegalArgumentException ex)
+                    {
+                        final StringWriter sw = new StringWriter ();
+                        ex.printStackTrace (new PrintWriter (sw));
+                        this.logModel.info (sw.toString ());
+                    }
                 }
+
+                lineStart = lineEnd + 1;
             }
-        });
+        }
+        return Collections.unmodifiableList (commands);
+    }
+
+
+    /**
+     * Update the data model. The data is decoded on the calling thread since the buffer is only
+     * valid during the call. The decoded updates are then applied on the UI thread.
+     *
+     * @param data The data in the binary update format, see BinaryUpdateDecoder
+     */
+    public void updateModel (final ByteBuffer data)
+    {
+        if (data == null || !data.hasRemaining ())
+            return;
+
+        final List<UpdateCommand> commands;
+        synchronized (this.updateDecoder)
+        {
+            commands = Collections.unmodifiableList (this.updateDecoder.decode (data, this.logModel::info));
+        }
+        if (commands.isEmpty ())
+            return;
+
+        final ReplayRecorder recorder = this.replayRecorder;
+        if (recorder != null)
+            recorder.recordUpdates (commands);
+
+        SafeRunLater.execute (this.logModel, () -> this.instanceManager.applyAll (commands));
     }
 
 
@@ -765,35 +871,31 @@ public class MainApp implements BackendExchange, AppCallback, WindowManager
      */
     public void onMIDIMessage (final int deviceID, final byte [] data)
     {
-        final MidiMessage midiMessage;
+        final int statusInt = data[0] & 0xFF;
+        // Ignore active sensing
+        if (data.length == 1 && statusInt == 0xFE)
+            return;
+
+        final ReplayRecorder recorder = this.replayRecorder;
+        if (recorder != null)
+            recorder.recordMidi (deviceID, data);
+
+        final ReaperMidiDevice input = MidiAccessImpl.getInputDevice (deviceID);
+        if (input == null)
+            return;
+
         try
         {
-            int statusInt = data[0] & 0xFF;
             if (statusInt == 0xF0)
-                midiMessage = new SysexMessage (data, data.length);
+                input.handleMidiMessageFromBackend (new SysexMessage (data, data.length));
             else if (data.length == 3)
-                midiMessage = new ShortMessage (statusInt, data[1] & 0xFF, data[2] & 0xFF);
+                input.handleShortMessageFromBackend (statusInt, data[1] & 0xFF, data[2] & 0xFF);
             else
-            {
-                // Ignore active sensing
-                if (data.length == 1 && statusInt == 0xFE)
-                    return;
                 throw new InvalidMidiDataException ("Unknown MIDI data of length " + data.length);
-            }
         }
         catch (final InvalidMidiDataException ex)
         {
             this.logModel.info (ex.getMessage ());
-            return;
-        }
-
-        for (final ReaperMidiDevice input: MidiAccessImpl.getInputDevices ())
-        {
-            if (input.getDeviceID () == deviceID)
-            {
-                input.handleMidiMessageFromBackend (midiMessage);
-                return;
-            }
         }
     }
 
@@ -984,6 +1086,105 @@ public class MainApp implements BackendExchange, AppCallback, WindowManager
     }
 
 
+    /** {@inheritDoc} */
+    @Override
+    public boolean getLatencyTracing ()
+    {
+        return LatencyTracer.isEnabled ();
+    }
+
+
+    /** {@inheritDoc} */
+    @Override
+    public void setLatencyTracing (final boolean enabled)
+    {
+        LatencyTracer.setEnabled (enabled);
+        this.mainConfiguration.putBoolean ("LATENCY_TRACING", enabled);
+    }
+
+
+    /** {@inheritDoc} */
+    @Override
+    public void showLatencyStatistics ()
+    {
+        this.logModel.info ("Icon cache (all controllers): " + SVGImage.getCacheStatistics ());
+        this.logModel.info ("Text layout cache (all controllers): " + TextLayoutCache.getStatistics ());
+
+        if (!LatencyTracer.isEnabled ())
+        {
+            this.logModel.info ("Latency tracing is disabled.");
+            return;
+        }
+
+        for (final LatencyTracer.Stage stage: LatencyTracer.Stage.values ())
+            this.logModel.info (String.format ("%-18s %s", stage.getName (), LatencyTracer.getStatistics (stage)));
+
+        final Path file = Path.of (this.iniPath, LATENCY_FILENAME);
+        try (final Writer writer = Files.newBufferedWriter (file, StandardCharsets.UTF_8))
+        {
+            LatencyTracer.dump (writer);
+            this.logModel.info ("Latency trace written to " + file);
+        }
+        catch (final IOException ex)
+        {
+            this.logModel.error ("Could not write latency trace.", ex);
+        }
+    }
+
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean getLogToFile ()
+    {
+        return this.logModel.getLogFile () != null;
+    }
+
+
+    /** {@inheritDoc} */
+    @Override
+    public void setLogToFile (final boolean enabled)
+    {
+        final File file = new File (this.iniPath, LOG_FILENAME);
+        this.logModel.setLogFile (enabled ? file : null);
+        this.mainConfiguration.putBoolean ("LOG_TO_FILE", enabled);
+        if (enabled)
+            this.logModel.info ("Writing log messages to " + file);
+    }
+
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean getRecordReplayStream ()
+    {
+        return this.replayRecorder != null;
+    }
+
+
+    /** {@inheritDoc} */
+    @Override
+    public synchronized void setRecordReplayStream (final boolean enabled)
+    {
+        if (this.replayRecorder != null)
+        {
+            this.replayRecorder.close ();
+            this.replayRecorder = null;
+        }
+        if (!enabled)
+            return;
+
+        final File file = new File (this.iniPath, REPLAY_FILENAME);
+        try
+        {
+            this.replayRecorder = new ReplayRecorder (file, this.logModel);
+            this.logModel.info ("Recording the model updates and MIDI messages to " + file);
+        }
+        catch (final IOException ex)
+        {
+            this.logModel.error ("Could not create the replay stream file.", ex);
+        }
+    }
+
+
     /** {@inheritDoc} */
     @Override
     public boolean isFullyInitialised ()
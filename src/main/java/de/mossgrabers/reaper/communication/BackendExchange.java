@@ -98,6 +98,22 @@ public interface BackendExchange
     void processDoubleArg (final Processor processor, final String command, final double value);
 
 
+    /**
+     * Set an absolute value in Reaper, e.g. a volume, panning or parameter value. Other than
+     * processDoubleArg the value might be sent later. If the same value is set again before, only
+     * the latest one is sent. Must therefore only be used for commands which set a value and not
+     * for relative changes or actions.
+     *
+     * @param processor The processor ID
+     * @param command The command ID
+     * @param value The value
+     */
+    default void setDoubleValue (final Processor processor, final String command, final double value)
+    {
+        this.processDoubleArg (processor, command, value);
+    }
+
+
     /**
      * Call Reaper command in DLL.
      *
@@ -0,0 +1,144 @@
+// Written by Jürgen Moßgraber - mossgrabers.de
+// (c) 2017-2026
+// Licensed under LGPLv3 - http://www.gnu.org/licenses/lgpl-3.0.txt
+
+package de.mossgrabers.reaper.communication;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+
+/**
+ * Decodes a block of model updates in the binary format which is sent from the Reaper extension.
+ * All values are in native byte order. A block is a sequence of records, each record has the
+ * following layout:
+ *
+ * <pre>
+ * u16  The number of the following bytes of the record
+ * u16  The address ID (the ordinal of the UpdateAddress)
+ * u16  The index of each '#' segment of the address (0-2 times)
+ * u8   The value tag, one of the TAG_XXX constants
+ *      TAG_NONE:   no payload, the value is null
+ *      TAG_INT:    i32
+ *      TAG_DOUBLE: f64
+ *      TAG_STRING: i32 number of bytes followed by the UTF-8 encoded text
+ * </pre>
+ *
+ * Since each record starts with its length, a malformed record is skipped without losing the
+ * following ones.
+ *
+ * @author Jürgen Moßgraber
+ */
+public class BinaryUpdateDecoder
+{
+    /** Tag for a missing value. */
+    public static final int TAG_NONE   = 0;
+    /** Tag for an integer value. */
+    public static final int TAG_INT    = 1;
+    /** Tag for a double value. */
+    public static final int TAG_DOUBLE = 2;
+    /** Tag for a text value. */
+    public static final int TAG_STRING = 3;
+
+    private byte []         textBuffer = new byte [256];
+
+
+    /**
+     * Decode all records of the given buffer. The buffer is read from its current position up to
+     * its limit. The data is copied, therefore the buffer can be released after the call. Malformed
+     * records are reported and skipped.
+     *
+     * @param buffer The buffer which contains the records
+     * @param errorHandler Receives a description of each malformed record
+     * @return The decoded commands of all valid records
+     */
+    public List<UpdateCommand> decode (final ByteBuffer buffer, final Consumer<String> errorHandler)
+    {
+        final ByteBuffer data = buffer.slice ().order (ByteOrder.nativeOrder ());
+        final int limit = data.limit ();
+        final List<UpdateCommand> commands = new ArrayList<> ();
+        while (data.hasRemaining ())
+        {
+            final int start = data.position ();
+            if (data.remaining () < 2)
+            {
+                errorHandler.accept ("Truncated model update record at position " + start + ".");
+                break;
+            }
+            final int end = data.position () + 2 + Short.toUnsignedInt (data.getShort ());
+            if (end > limit)
+            {
+                errorHandler.accept ("Truncated model update record at position " + start + ".");
+                break;
+            }
+
+            data.limit (end);
+            try
+            {
+                final UpdateCommand command = this.decodeRecord (data);
+                if (data.hasRemaining ())
+                    throw new IllegalArgumentException ("The record contains " + data.remaining () + " additional bytes.");
+                commands.add (command);
+            }
+            catch (final IllegalArgumentException ex)
+            {
+                errorHandler.accept ("Skipped model update record at position " + start + ": " + ex.getMessage ());
+            }
+            catch (final BufferUnderflowException ex)
+            {
+                errorHandler.accept ("Skipped model update record at position " + start + ": The record is too short.");
+            }
+            data.limit (limit).position (end);
+        }
+        return commands;
+    }
+
+
+    private UpdateCommand decodeRecord (final ByteBuffer data)
+    {
+        final int id = Short.toUnsignedInt (data.getShort ());
+        final UpdateAddress address = UpdateAddress.fromID (id);
+        if (address == null)
+            throw new IllegalArgumentException ("Unknown model update address ID: " + id);
+
+        final int indexCount = address.getIndexCount ();
+        final int index = indexCount > 0 ? Short.toUnsignedInt (data.getShort ()) : UpdateCommand.NO_INDEX;
+        final int subIndex = indexCount > 1 ? Short.toUnsignedInt (data.getShort ()) : UpdateCommand.NO_INDEX;
+
+        final int tag = Byte.toUnsignedInt (data.get ());
+        switch (tag)
+        {
+            case TAG_NONE:
+                return UpdateCommand.fromText (address, index, subIndex, null);
+
+            case TAG_INT:
+                return new UpdateCommand (address, index, subIndex, data.getInt ());
+
+            case TAG_DOUBLE:
+                return new UpdateCommand (address, index, subIndex, data.getDouble ());
+
+            case TAG_STRING:
+                return UpdateCommand.fromText (address, index, subIndex, this.readText (data));
+
+            default:
+                throw new IllegalArgumentException ("Unknown value tag " + tag + " for address: " + address.getTemplate ());
+        }
+    }
+
+
+    private String readText (final ByteBuffer data)
+    {
+        final int length = data.getInt ();
+        if (length < 0 || length > data.remaining ())
+            throw new IllegalArgumentException ("Illegal text length: " + length);
+        if (length > this.textBuffer.length)
+            this.textBuffer = new byte [length];
+        data.get (this.textBuffer, 0, length);
+        return new String (this.textBuffer, 0, length, StandardCharsets.UTF_8);
+    }
+}
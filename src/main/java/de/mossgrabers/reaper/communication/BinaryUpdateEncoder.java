@@ -0,0 +1,103 @@
+// Written by Jürgen Moßgraber - mossgrabers.de
+// (c) 2017-2026
+// Licensed under LGPLv3 - http://www.gnu.org/licenses/lgpl-3.0.txt
+
+package de.mossgrabers.reaper.communication;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+
+/**
+ * Encodes model updates into the binary format which is read by the BinaryUpdateDecoder. It
+ * converts recorded text update streams into binary blocks, e.g. to replay them without Reaper in
+ * the ReplayBenchmark.
+ *
+ * @author Jürgen Moßgraber
+ */
+public class BinaryUpdateEncoder
+{
+    /** The maximum number of bytes of a record (without the length field). */
+    public static final int MAX_RECORD_LENGTH = 0xFFFF;
+
+
+    /**
+     * Encode all commands into a direct buffer, which is flipped and ready to be read.
+     *
+     * @param commands The commands to encode
+     * @return The buffer
+     * @throws IllegalArgumentException If a text is too long for a record
+     */
+    public ByteBuffer encode (final List<UpdateCommand> commands)
+    {
+        int size = 0;
+        final byte [][] texts = new byte [commands.size ()][];
+        for (int i = 0; i < texts.length; i++)
+        {
+            final UpdateCommand command = commands.get (i);
+            final UpdateAddress address = command.getAddress ();
+            int recordSize = 3 + 2 * address.getIndexCount ();
+            switch (address.getValueType ())
+            {
+                case INT:
+                    recordSize += 4;
+                    break;
+                case DOUBLE:
+                    recordSize += 8;
+                    break;
+                default:
+                    final String text = command.getString ();
+                    if (text != null)
+                    {
+                        texts[i] = text.getBytes (StandardCharsets.UTF_8);
+                        recordSize += 4 + texts[i].length;
+                    }
+                    break;
+            }
+            if (recordSize > MAX_RECORD_LENGTH)
+                throw new IllegalArgumentException ("The text is too long for a record: " + address.getTemplate ());
+            size += 2 + recordSize;
+        }
+
+        final ByteBuffer buffer = ByteBuffer.allocateDirect (size).order (ByteOrder.nativeOrder ());
+        for (int i = 0; i < texts.length; i++)
+        {
+            final UpdateCommand command = commands.get (i);
+            final UpdateAddress address = command.getAddress ();
+            // The length is filled in after the record is written
+            final int lengthPosition = buffer.position ();
+            buffer.putShort ((short) 0);
+            buffer.putShort ((short) address.ordinal ());
+            if (address.getIndexCount () > 0)
+                buffer.putShort ((short) command.getIndex ());
+            if (address.getIndexCount () > 1)
+                buffer.putShort ((short) command.getSubIndex ());
+
+            switch (address.getValueType ())
+            {
+                case INT:
+                    buffer.put ((byte) BinaryUpdateDecoder.TAG_INT);
+                    buffer.putInt (command.getInt ());
+                    break;
+                case DOUBLE:
+                    buffer.put ((byte) BinaryUpdateDecoder.TAG_DOUBLE);
+                    buffer.putDouble (command.getDouble ());
+                    break;
+                default:
+                    if (texts[i] == null)
+                        buffer.put ((byte) BinaryUpdateDecoder.TAG_NONE);
+                    else
+                    {
+                        buffer.put ((byte) BinaryUpdateDecoder.TAG_STRING);
+                        buffer.putInt (texts[i].length);
+                        buffer.put (texts[i]);
+                    }
+                    break;
+            }
+            buffer.putShort (lengthPosition, (short) (buffer.position () - lengthPosition - 2));
+        }
+        return buffer.flip ();
+    }
+}
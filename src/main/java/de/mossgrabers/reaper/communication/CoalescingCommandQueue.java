@@ -0,0 +1,96 @@
+// Written by Jürgen Moßgraber - mossgrabers.de
+// (c) 2017-2026
+// Licensed under LGPLv3 - http://www.gnu.org/licenses/lgpl-3.0.txt
+
+package de.mossgrabers.reaper.communication;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+
+/**
+ * Buffers absolute values which are sent to Reaper (e.g. volume, panning or parameter values). If
+ * a value of the same processor and command is set again before the queue is flushed, only the
+ * latest value is kept. A fast encoder sweep therefore results only in one call to the DLL per
+ * flush cycle. The values are sent in the order in which they were first set.
+ *
+ * @author Jürgen Moßgraber
+ */
+public class CoalescingCommandQueue
+{
+    /**
+     * Sends one value to the DLL.
+     */
+    @FunctionalInterface
+    public interface ValueSender
+    {
+        /**
+         * Send a value.
+         *
+         * @param processor The processor ID
+         * @param command The command ID, might be null
+         * @param value The value
+         */
+        void send (String processor, String command, double value);
+    }
+
+
+    private final List<PendingValue> pendingValues = new ArrayList<> ();
+    private final List<PendingValue> freeValues    = new ArrayList<> ();
+
+
+    /**
+     * Set a value. Replaces a not yet sent value of the same processor and command.
+     *
+     * @param processor The processor ID
+     * @param command The command ID, might be null
+     * @param value The value
+     */
+    public synchronized void set (final Processor processor, final String command, final double value)
+    {
+        for (final PendingValue pending: this.pendingValues)
+        {
+            if (pending.processor == processor && Objects.equals (pending.command, command))
+            {
+                pending.value = value;
+                return;
+            }
+        }
+
+        final PendingValue pending = this.freeValues.isEmpty () ? new PendingValue () : this.freeValues.remove (this.freeValues.size () - 1);
+        pending.processor = processor;
+        pending.command = command;
+        pending.value = value;
+        this.pendingValues.add (pending);
+    }
+
+
+    /**
+     * Send all pending values and clear the queue.
+     *
+     * @param sender Where to send the values to
+     */
+    public synchronized void flush (final ValueSender sender)
+    {
+        if (this.pendingValues.isEmpty ())
+            return;
+
+        for (final PendingValue pending: this.pendingValues)
+        {
+            sender.send (pending.processor.getIdentifier (), pending.command, pending.value);
+            pending.command = null;
+            this.freeValues.add (pending);
+        }
+        this.pendingValues.clear ();
+    }
+
+
+    /** A value which is not yet sent. */
+    private static final class PendingValue
+    {
+        private Processor processor;
+        private String    command;
+        private double    value;
+    }
+}
@@ -13,8 +13,6 @@ import de.mossgrabers.framework.daw.IHost;
 import de.mossgrabers.framework.daw.IModel;
 import de.mossgrabers.framework.daw.constants.AutomationMode;
 import de.mossgrabers.framework.daw.constants.DeviceID;
-import de.mossgrabers.framework.daw.data.IMarker;
-import de.mossgrabers.framework.daw.data.IScene;
 import de.mossgrabers.framework.daw.data.ISend;
 import de.mossgrabers.framework.daw.data.ITrack;
 import de.mossgrabers.framework.daw.data.bank.IDeviceBank;
@@ -49,11 +47,7 @@ import de.mossgrabers.reaper.framework.daw.data.parameter.MetronomeVolumeParamet
 import de.mossgrabers.reaper.framework.daw.data.parameter.ParameterImpl;
 import de.mossgrabers.reaper.framework.midi.NoteRepeatImpl;
 
-import java.util.Collections;
 import java.util.Optional;
-import java.util.Queue;
-import java.util.concurrent.ArrayBlockingQueue;
-import java.util.concurrent.LinkedBlockingDeque;
 
 
 /**
@@ -63,16 +57,6 @@ import java.util.concurrent.LinkedBlockingDeque;
  */
 public class MessageParser
 {
-    private static final String          TAG_ACTIVE = "active";
-    private static final String          TAG_PARAM  = "param";
-    private static final String          TAG_COLOR  = "color";
-    private static final String          TAG_SELECT = "select";
-    private static final String          TAG_NUMBER = "number";
-    private static final String          TAG_COUNT  = "count";
-    private static final String          TAG_EXISTS = "exists";
-    private static final String          TAG_NAME   = "name";
-    private static final String          TAG_VOLUME = "volume";
-
     private final IControllerSetup<?, ?> controllerSetup;
 
     private final IHost                  host;
@@ -127,199 +111,238 @@ public class MessageParser
 
 
     /**
-     * Parse OSC coming from Reaper.
+     * Apply an already parsed update to the model.
      *
-     * @param osc The OSC string
-     * @param value The OSC value
+     * @param command The update command
      */
-    public void parseOSC (final String osc, final String value)
+    public void apply (final UpdateCommand command)
     {
         if (this.model == null)
             return;
 
-        final Queue<String> parts = parsePath (osc);
-        if (parts.isEmpty ())
-            return;
+        switch (command.getAddress ().getGroup ())
+        {
+            case PROJECT:
+                this.parseProject (command);
+                break;
 
-        final String command = parts.poll ();
+            case CLICK:
+                this.parseClick (command);
+                break;
 
-        if (this.parseTransport (command, parts, value))
-            return;
+            case TRANSPORT:
+                this.parseTransport (command);
+                break;
 
-        switch (command)
-        {
-            case "project":
-                final String projectCmd = parts.poll ();
-                switch (projectCmd)
-                {
-                    case TAG_NAME:
-                        this.project.setInternalName (value);
-                        this.updateNoteMapping ();
-                        break;
-                    case "engine":
-                        this.application.setInternalEngineActive (Integer.parseInt (value) > 0);
-                        break;
-                    case "canUndo":
-                        this.application.setCanUndoState (Integer.parseInt (value) > 0);
-                        break;
-                    case "canRedo":
-                        this.application.setCanRedoState (Integer.parseInt (value) > 0);
-                        break;
-                    case "isDirty":
-                        this.project.setDirty (Integer.parseInt (value) > 0);
-                        break;
-                    default:
-                        this.host.error ("Unhandled Project parameter: " + projectCmd);
-                        break;
-                }
+            case TRACK_BANK:
+                final TrackBankImpl trackBank = (TrackBankImpl) this.model.getTrackBank ();
+                trackBank.setItemCount (command.getInt ());
+                trackBank.markDirty ();
+                this.rebindKnobs ();
+                break;
+
+            case TRACK_FX:
+                this.parseTrackFxParameter (command);
                 break;
 
-            case "click":
-                this.parseClick (parts, value);
+            case TRACK:
+                final TrackBankImpl tb = (TrackBankImpl) this.model.getTrackBank ();
+                this.parseTrackValue (tb, tb.getUnpagedItem (command.getIndex ()), command);
                 break;
 
-            case "track":
-                this.parseTrack (parts, value);
+            case MASTER:
+                this.parseTrackValue (null, this.masterTrack, command);
                 break;
 
-            case "master":
-                this.parseMasterTrackValue (this.masterTrack, parts, value);
+            case MASTER_FX:
+                this.parseMasterTrackFxParameter (this.masterTrack, command);
                 break;
 
-            case "device":
-                this.parseDevice (this.cursorDevice, value, parts);
+            case DEVICE:
+                this.parseDevice (this.cursorDevice, command);
                 break;
 
-            case "primary":
+            case PRIMARY:
                 if (this.instrumentDevice != null)
-                    this.parseDevice (this.instrumentDevice, value, parts);
+                    this.parseDevice (this.instrumentDevice, command);
                 break;
 
-            case "eq":
+            case EQ:
                 if (this.eqDevice != null)
-                    this.parseDevice (this.eqDevice, value, parts);
+                    this.parseDevice (this.eqDevice, command);
                 break;
 
-            case "clip":
-                this.parseClipValue (parts, value);
+            case CLIP:
+                this.parseClipValue (command);
                 break;
 
-            case "browser":
-                this.parseBrowserValue (parts, value);
+            case BROWSER:
+                this.parseBrowserValue (command);
                 break;
 
-            case "marker":
-                this.parseMarker (parts, value);
+            case MARKER:
+                this.parseMarker (command);
                 break;
 
-            case "scene":
-                this.parseScene (parts, value);
+            case SCENE:
+                this.parseScene (command);
                 break;
 
-            case "quantize":
-                if ("strength".equals (parts.poll ()))
-                    this.controllerSetup.getConfiguration ().setQuantizeAmount (Integer.parseInt (value));
+            case QUANTIZE:
+                this.controllerSetup.getConfiguration ().setQuantizeAmount (command.getInt ());
                 break;
 
-            case "noterepeat":
-                this.parseNoteRepeat (parts, value);
+            case NOTEREPEAT:
+                this.parseNoteRepeat (command);
                 break;
 
-            case "groove":
-                this.parseGroove (parts, value);
+            case GROOVE:
+                this.parseGroove (command);
                 break;
 
             default:
-                this.host.error ("Unhandled OSC address: " + osc + " " + value);
-                return;
+                this.host.error ("Unhandled OSC address: " + command);
+                break;
         }
     }
 
 
-    private void parseClick (final Queue<String> parts, final String value)
+    private void parseProject (final UpdateCommand command)
     {
-        if (parts.isEmpty ())
+        switch (command.getAddress ())
         {
-            this.transport.setMetronomeState (Double.parseDouble (value) > 0);
-            return;
+            case PROJECT_NAME:
+                this.project.setInternalName (command.getString ());
+                this.updateNoteMapping ();
+                break;
+            case PROJECT_ENGINE:
+                this.application.setInternalEngineActive (command.isPositive ());
+                break;
+            case PROJECT_CAN_UNDO:
+                this.application.setCanUndoState (command.isPositive ());
+                break;
+            case PROJECT_CAN_REDO:
+                this.application.setCanRedoState (command.isPositive ());
+                break;
+            case PROJECT_IS_DIRTY:
+                this.project.setDirty (command.isPositive ());
+                break;
+            default:
+                this.host.error ("Unhandled Project parameter: " + command);
+                break;
         }
+    }
+
 
-        final String clickCommand = parts.poll ();
-        switch (clickCommand)
+    private void parseClick (final UpdateCommand command)
+    {
+        switch (command.getAddress ())
         {
-            case "preroll":
-                this.transport.setPrerollMetronomeInternal ((Integer.parseInt (value) & 2) > 0);
+            case CLICK:
+                this.transport.setMetronomeState (command.isPositive ());
                 break;
 
-            case "prerollMeasures":
-                this.transport.setPrerollMeasuresInternal ((int) Double.parseDouble (value));
+            case CLICK_PREROLL:
+                this.transport.setPrerollMetronomeInternal ((command.getInt () & 2) > 0);
                 break;
 
-            case TAG_VOLUME:
-                this.transport.setInternalMetronomeVolume (Double.parseDouble (value));
+            case CLICK_PREROLL_MEASURES:
+                this.transport.setPrerollMeasuresInternal (command.getInt ());
                 break;
 
-            case "volumeStr":
-                ((MetronomeVolumeParameterImpl) this.transport.getMetronomeVolumeParameter ()).setMetronomeVolumeStr (value);
+            case CLICK_VOLUME:
+                this.transport.setInternalMetronomeVolume (command.getDouble ());
+                break;
+
+            case CLICK_VOLUME_STR:
+                ((MetronomeVolumeParameterImpl) this.transport.getMetronomeVolumeParameter ()).setMetronomeVolumeStr (command.getString ());
                 break;
 
             default:
-                this.host.error ("Unhandled Click Parameter: " + clickCommand);
+                this.host.error ("Unhandled Click Parameter: " + command);
                 break;
         }
     }
 
 
-    private boolean parseTransport (final String command, final Queue<String> parts, final String value)
+    private void parseTransport (final UpdateCommand command)
     {
-        switch (command)
+        switch (command.getAddress ())
         {
-            case "play":
-                this.transport.setPlayState (Double.parseDouble (value) > 0);
+            case PLAY:
+                this.transport.setPlayState (command.isPositive ());
+                break;
+
+            case STOP:
+                this.transport.setPlayState (command.getDouble () == 0);
+                break;
+
+            case REPEAT:
+                this.transport.setLoopingState (command.isPositive ());
                 break;
 
-            case "stop":
-                this.transport.setPlayState (Double.parseDouble (value) == 0);
+            case RECORD:
+                this.transport.setRecordState (command.isPositive ());
                 break;
 
-            case "repeat":
-                this.transport.setLoopingState (Double.parseDouble (value) > 0);
+            case TEMPO:
+                this.transport.getTempoParameter ().setInternalValue (command.getDouble ());
                 break;
 
-            case "record":
-                this.transport.setRecordState (Double.parseDouble (value) > 0);
+            case TIME:
+                this.transport.setPositionValue (command.getDouble ());
                 break;
 
-            case "tempo":
-                this.transport.getTempoParameter ().setInternalValue (Double.parseDouble (value));
+            case TIME_STR:
+                this.transport.setPositionText (command.getString ());
                 break;
 
-            case "time":
-                this.parseTime (parts, value);
+            case TIME_HZOOM:
+                this.transport.setHZoom (command.getDouble ());
                 break;
 
-            case "beat":
-                this.transport.setBeats (value);
+            case TIME_LOOP_START:
+                this.transport.setLoopStartValue (command.getDouble ());
                 break;
 
-            case "numerator":
-                final int numerator = (int) Double.parseDouble (value);
+            case TIME_LOOP_START_STR:
+                this.transport.setLoopStartText (command.getString ());
+                break;
+
+            case TIME_LOOP_START_BEAT:
+                this.transport.setLoopStartBeatText (command.getString ());
+                break;
+
+            case TIME_LOOP_LENGTH:
+                this.transport.setLoopLengthValue (command.getDouble ());
+                break;
+
+            case TIME_LOOP_LENGTH_BEAT:
+                this.transport.setLoopLengthBeatText (command.getString ());
+                break;
+
+            case BEAT:
+                this.transport.setBeats (command.getString ());
+                break;
+
+            case NUMERATOR:
+                final int numerator = command.getInt ();
                 if (numerator > 0)
                     this.transport.setNumerator (numerator);
                 break;
 
-            case "denominator":
-                final int denominator = (int) Double.parseDouble (value);
+            case DENOMINATOR:
+                final int denominator = command.getInt ();
                 if (denominator > 0)
                     this.transport.setDenominator (denominator);
                 break;
 
-            case "followPlayback":
-                this.arranger.setPlaybackFollow (Double.parseDouble (value) > 0);
+            case FOLLOW_PLAYBACK:
+                this.arranger.setPlaybackFollow (command.isPositive ());
                 break;
 
-            case "automode":
-                switch ((int) Double.parseDouble (value))
+            case AUTOMATION_MODE:
+                switch (command.getInt ())
                 {
                     case 0:
                         this.transport.setAutomationWriteModeState (AutomationMode.TRIM_READ);
@@ -346,278 +369,170 @@ public class MessageParser
                 break;
 
             default:
-                // Don't show an error since this is a top level check and further checks are out of
-                // this method!
-                return false;
+                this.host.error ("Unhandled Transport parameter: " + command);
+                break;
         }
-        return true;
     }
 
 
-    protected void parseTime (final Queue<String> parts, final String value)
+    private void parseMasterTrackFxParameter (final MasterTrackImpl masterTrack, final UpdateCommand command)
     {
-        // Parse play position values
-
-        if (parts.isEmpty ())
-        {
-            this.transport.setPositionValue (Double.parseDouble (value));
+        final ParameterBankImpl parameterBank = (ParameterBankImpl) this.model.getProject ().getParameterBank ();
+        if (parameterBank == null)
             return;
-        }
-
-        final String cmd = parts.poll ();
-        switch (cmd)
-        {
-            case "str":
-                this.transport.setPositionText (value);
-                return;
-
-            case "hzoom":
-                this.transport.setHZoom (Double.parseDouble (value));
-                return;
-
-            case "loop":
-                // Parse loop start and end values
-
-                if (!"loop".equals (cmd) || parts.isEmpty ())
-                    return;
-
-                final String loopCmd = parts.poll ();
-                switch (loopCmd)
-                {
-                    case "start":
-                        if (parts.isEmpty ())
-                        {
-                            this.transport.setLoopStartValue (Double.parseDouble (value));
-                            return;
-                        }
-                        if ("str".equals (parts.poll ()))
-                            this.transport.setLoopStartText (value);
-                        else
-                            this.transport.setLoopStartBeatText (value);
-                        break;
-
-                    case "length":
-                        if (parts.isEmpty ())
-                            this.transport.setLoopLengthValue (Double.parseDouble (value));
-                        else
-                            this.transport.setLoopLengthBeatText (value);
-                        break;
 
-                    default:
-                        this.host.error ("Unhandled Loop parameter: " + loopCmd);
-                        return;
-                }
-                break;
-
-            default:
-                this.host.error ("Unhandled Time parameter: " + cmd);
-                break;
-        }
-    }
-
-
-    private void parseTrack (final Queue<String> parts, final String value)
-    {
-        final TrackBankImpl tb = (TrackBankImpl) this.model.getTrackBank ();
-        final String part = parts.poll ();
-        switch (part)
+        if (command.getAddress () == UpdateAddress.MASTER_FX_PARAM_COUNT)
         {
-            case "fx":
-                this.parseTrackFxParameter (value, parts);
-                break;
-
-            case TAG_COUNT:
-                tb.setItemCount (Integer.parseInt (value));
-                tb.markDirty ();
-                this.rebindKnobs ();
-                break;
-
-            default:
-                try
-                {
-                    final int position = Integer.parseInt (part);
-                    this.parseTrackValue (tb, tb.getUnpagedItem (position), parts, value);
-                }
-                catch (final NumberFormatException ex)
-                {
-                    this.host.error ("Unhandled Track command: " + part);
-                }
-                break;
+            parameterBank.setItemCount (command.getInt ());
+            this.rebindKnobs ();
+            return;
         }
-    }
 
+        final int paramNo = command.getIndex ();
+        this.parseDeviceParamValue (paramNo, parameterBank, command);
 
-    private void parseMasterTrackValue (final MasterTrackImpl masterTrack, final Queue<String> parts, final String value)
-    {
-        final String type = parts.peek ();
-
-        if ("fx".equals (type))
+        // Clone values into fake crossfader as well
+        if (paramNo == 0)
         {
-            // Drop 'fx'
-            parts.poll ();
-
-            final String cmd = parts.poll ();
-            if (TAG_PARAM.equals (cmd))
-            {
-                final ParameterBankImpl parameterBank = (ParameterBankImpl) this.model.getProject ().getParameterBank ();
-                if (parameterBank == null)
-                    return;
-                final String paramCmd = parts.poll ();
-
-                try
-                {
-                    final int paramNo = Integer.parseInt (paramCmd);
-                    this.parseDeviceParamValue (paramNo, parameterBank, parts, value);
-
-                    // Clone values into fake crossfader as well
-                    if (paramNo == 0)
-                    {
-                        final IParameter crossfaderParam = masterTrack.getCrossfaderParameter ();
-                        final IParameter param = parameterBank.getItem (paramNo);
-                        if (crossfaderParam instanceof final ParameterImpl destParam && param instanceof final ParameterImpl sourceParam)
-                            sourceParam.copyValues (destParam);
-                    }
-                }
-                catch (final NumberFormatException ex)
-                {
-                    if (TAG_COUNT.equals (paramCmd))
-                    {
-                        parameterBank.setItemCount (Integer.parseInt (value));
-                        this.rebindKnobs ();
-                    }
-                    else
-                        this.host.error ("Unhandled Track FX Param parameter: " + cmd);
-                }
-            }
-            return;
+            final IParameter crossfaderParam = masterTrack.getCrossfaderParameter ();
+            final IParameter param = parameterBank.getItem (paramNo);
+            if (crossfaderParam instanceof final ParameterImpl destParam && param instanceof final ParameterImpl sourceParam)
+                sourceParam.copyValues (destParam);
         }
-
-        this.parseTrackValue (null, masterTrack, parts, value);
     }
 
 
-    private void parseTrackValue (final TrackBankImpl tb, final TrackImpl track, final Queue<String> parts, final String value)
+    private void parseTrackValue (final TrackBankImpl tb, final TrackImpl track, final UpdateCommand command)
     {
-        final String command = parts.poll ();
-        switch (command)
+        switch (command.getAddress ())
         {
-            case TAG_EXISTS:
-                track.setExists (Double.parseDouble (value) > 0);
+            case TRACK_EXISTS, MASTER_EXISTS:
+                track.setExists (command.isPositive ());
                 break;
 
-            case "depth":
-                track.setDepth (Integer.parseInt (value));
+            case TRACK_DEPTH, MASTER_DEPTH:
+                track.setDepth (command.getInt ());
                 ((TrackBankImpl) this.model.getTrackBank ()).markDirty ();
                 break;
 
-            case TAG_ACTIVE:
-                track.setInternalIsActivated (Double.parseDouble (value) > 0);
+            case TRACK_ACTIVE, MASTER_ACTIVE:
+                track.setInternalIsActivated (command.isPositive ());
                 ((TrackBankImpl) this.model.getTrackBank ()).markDirty ();
                 break;
 
-            case "type":
-                track.setType (ChannelType.valueOf (value));
+            case TRACK_TYPE, MASTER_TYPE:
+                track.setType (ChannelType.valueOf (command.getString ()));
                 break;
 
-            case "isGroupExpanded":
-                track.setIsGroupExpanded (Integer.parseInt (value) > 0);
+            case TRACK_IS_GROUP_EXPANDED, MASTER_IS_GROUP_EXPANDED:
+                track.setIsGroupExpanded (command.isPositive ());
                 break;
 
-            case TAG_SELECT:
-                final boolean isSelected = Double.parseDouble (value) > 0;
+            case TRACK_SELECT, MASTER_SELECT:
+                final boolean isSelected = command.isPositive ();
                 track.setSelected (isSelected);
                 ((TrackBankImpl) this.model.getCurrentTrackBank ()).handleBankTrackSelection (track, isSelected);
                 if (isSelected)
                     this.updateNoteMapping ();
                 break;
 
-            case TAG_NUMBER:
+            case TRACK_NUMBER, MASTER_NUMBER:
                 // Note: index is set in the tree (or flat) recalculation
-                track.setPosition (Integer.parseInt (value));
+                track.setPosition (command.getInt ());
+                break;
+
+            case TRACK_NAME, MASTER_NAME:
+                track.setInternalName (command.getString ());
                 break;
 
-            case TAG_NAME:
-                track.setInternalName (value);
+            case TRACK_VOLUME, MASTER_VOLUME:
+                track.setInternalVolume (command.getDouble ());
                 break;
 
-            case TAG_VOLUME:
-                if (parts.isEmpty ())
-                    track.setInternalVolume (Double.parseDouble (value));
-                else if ("str".equals (parts.poll ()))
-                    track.setVolumeStr (value);
+            case TRACK_VOLUME_STR, MASTER_VOLUME_STR:
+                track.setVolumeStr (command.getString ());
                 break;
 
-            case "pan":
-                if (parts.isEmpty ())
-                    track.setInternalPan (Double.parseDouble (value));
-                else if ("str".equals (parts.poll ()))
-                    track.setPanStr (value);
+            case TRACK_PAN, MASTER_PAN:
+                track.setInternalPan (command.getDouble ());
                 break;
 
-            case "vu":
-                track.setVu (Double.parseDouble (value));
+            case TRACK_PAN_STR, MASTER_PAN_STR:
+                track.setPanStr (command.getString ());
                 break;
 
-            case "vuleft":
-                track.setVuLeft (Double.parseDouble (value));
+            case TRACK_VU, MASTER_VU:
+                track.setVu (command.getDouble ());
                 break;
 
-            case "vuright":
-                track.setVuRight (Double.parseDouble (value));
+            case TRACK_VU_LEFT, MASTER_VU_LEFT:
+                track.setVuLeft (command.getDouble ());
                 break;
 
-            case "vuholdleft":
-                track.setVuHoldLeft (Double.parseDouble (value));
+            case TRACK_VU_RIGHT, MASTER_VU_RIGHT:
+                track.setVuRight (command.getDouble ());
                 break;
 
-            case "vuholdright":
-                track.setVuHoldRight (Double.parseDouble (value));
+            case TRACK_VU_HOLD_LEFT, MASTER_VU_HOLD_LEFT:
+                track.setVuHoldLeft (command.getDouble ());
                 break;
 
-            case "mute":
-                track.setMuteState (Double.parseDouble (value) > 0);
+            case TRACK_VU_HOLD_RIGHT, MASTER_VU_HOLD_RIGHT:
+                track.setVuHoldRight (command.getDouble ());
                 break;
 
-            case "solo":
-                track.setSoloState (Double.parseDouble (value) > 0);
+            case TRACK_MUTE, MASTER_MUTE:
+                track.setMuteState (command.isPositive ());
                 break;
 
-            case "recarm":
-                track.setRecArmState (Double.parseDouble (value) > 0);
+            case TRACK_SOLO, MASTER_SOLO:
+                track.setSoloState (command.isPositive ());
                 break;
 
-            case "monitor":
-                track.setMonitorState (Double.parseDouble (value) > 0);
+            case TRACK_RECARM, MASTER_RECARM:
+                track.setRecArmState (command.isPositive ());
                 break;
 
-            case "autoMonitor":
-                track.setAutoMonitorState (Double.parseDouble (value) > 0);
+            case TRACK_MONITOR, MASTER_MONITOR:
+                track.setMonitorState (command.isPositive ());
                 break;
 
-            case "overdub":
-                track.setOverdub (Double.parseDouble (value) > 0);
+            case TRACK_AUTO_MONITOR, MASTER_AUTO_MONITOR:
+                track.setAutoMonitorState (command.isPositive ());
                 break;
 
-            case TAG_COLOR:
-                final Optional<double []> color = ((ModelImpl) this.model).parseColor (value);
+            case TRACK_OVERDUB, MASTER_OVERDUB:
+                track.setOverdub (command.isPositive ());
+                break;
+
+            case TRACK_COLOR, MASTER_COLOR:
+                final Optional<double []> color = ((ModelImpl) this.model).parseColor (command.getString ());
                 track.setColorState (color.isPresent () ? color.get () : ColorEx.GRAY.toDoubleRGB ());
                 break;
 
-            case "send":
-                this.parseSend (track, parts, value);
+            case TRACK_SEND_COUNT, MASTER_SEND_COUNT:
+                ((SendBankImpl) track.getSendBank ()).setItemCount (command.getInt ());
+                this.rebindKnobs ();
+                break;
+
+            case TRACK_SEND_ACTIVE, MASTER_SEND_ACTIVE, TRACK_SEND_NAME, MASTER_SEND_NAME, TRACK_SEND_VOLUME, MASTER_SEND_VOLUME, TRACK_SEND_VOLUME_STR, MASTER_SEND_VOLUME_STR, TRACK_SEND_COLOR, MASTER_SEND_COLOR:
+                final SendBankImpl sendBank = (SendBankImpl) track.getSendBank ();
+                // The send index is the last index of the path
+                final int sendPosition = tb == null ? command.getIndex () : command.getSubIndex ();
+                this.parseSendValue (sendBank.getUnpagedItem (sendPosition), command);
                 break;
 
-            case "playingnotes":
+            case TRACK_PLAYINGNOTES, MASTER_PLAYINGNOTES:
                 if (tb != null)
-                    tb.handleNotes (track.getPosition (), Note.parseNotes (value));
+                    tb.handleNotes (track.getPosition (), Note.parseNotes (command.getString ()));
                 break;
 
-            case "inQuantLengthEnabled":
-                track.setRecordQuantizationNoteLengthState (Double.parseDouble (value) > 0);
+            case TRACK_IN_QUANT_LENGTH_ENABLED, MASTER_IN_QUANT_LENGTH_ENABLED:
+                track.setRecordQuantizationNoteLengthState (command.isPositive ());
                 break;
 
-            case "inQuantResolution":
-                track.setRecordQuantizationGrid (Double.parseDouble (value));
+            case TRACK_IN_QUANT_RESOLUTION, MASTER_IN_QUANT_RESOLUTION:
+                track.setRecordQuantizationGrid (command.getDouble ());
                 break;
 
             default:
@@ -627,56 +542,31 @@ public class MessageParser
     }
 
 
-    private void parseSend (final TrackImpl track, final Queue<String> parts, final String value)
-    {
-        if (parts.isEmpty ())
-            return;
-
-        final String sendCmd = parts.poll ();
-        final SendBankImpl sendBank = (SendBankImpl) track.getSendBank ();
-        try
-        {
-            final int position = Integer.parseInt (sendCmd);
-            this.parseSendValue (sendBank.getUnpagedItem (position), parts, value);
-        }
-        catch (final NumberFormatException ex)
-        {
-            // The number of sends on the track
-            if (TAG_COUNT.equals (sendCmd))
-            {
-                sendBank.setItemCount (Integer.parseInt (value));
-                this.rebindKnobs ();
-            }
-            else
-                this.host.error ("Unhandled Send command: " + sendBank);
-        }
-    }
-
-
-    private void parseSendValue (final ISend send, final Queue<String> parts, final String value)
+    private void parseSendValue (final ISend send, final UpdateCommand command)
     {
-        final String command = parts.poll ();
         final SendImpl sendImpl = (SendImpl) send;
-        switch (command)
+        switch (command.getAddress ())
         {
-            case TAG_ACTIVE:
-                sendImpl.setInternalEnabled (value != null && Integer.parseInt (value) > 0);
+            case TRACK_SEND_ACTIVE, MASTER_SEND_ACTIVE:
+                sendImpl.setInternalEnabled (command.isPositive ());
                 break;
 
-            case TAG_NAME:
+            case TRACK_SEND_NAME, MASTER_SEND_NAME:
+                final String value = command.getString ();
                 sendImpl.setInternalName (value);
                 sendImpl.setExists (value != null && !value.isEmpty ());
                 break;
 
-            case TAG_VOLUME:
-                if (parts.isEmpty ())
-                    sendImpl.setInternalValue (Double.parseDouble (value));
-                else if ("str".equals (parts.poll ()))
-                    sendImpl.setValueStr (value);
+            case TRACK_SEND_VOLUME, MASTER_SEND_VOLUME:
+                sendImpl.setInternalValue (command.getDouble ());
+                break;
+
+            case TRACK_SEND_VOLUME_STR, MASTER_SEND_VOLUME_STR:
+                sendImpl.setValueStr (command.getString ());
                 break;
 
-            case TAG_COLOR:
-                final Optional<double []> color = ((ModelImpl) this.model).parseColor (value);
+            case TRACK_SEND_COLOR, MASTER_SEND_COLOR:
+                final Optional<double []> color = ((ModelImpl) this.model).parseColor (command.getString ());
                 sendImpl.setColorState (color.isPresent () ? color.get () : ColorEx.GRAY.toDoubleRGB ());
                 break;
 
@@ -687,67 +577,62 @@ public class MessageParser
     }
 
 
-    private void parseDevice (final SpecificDeviceImpl device, final String value, final Queue<String> parts)
+    private void parseDevice (final SpecificDeviceImpl device, final UpdateCommand command)
     {
-        final String command = parts.poll ();
-        switch (command)
+        switch (command.getAddress ())
         {
-            case TAG_COUNT:
+            case DEVICE_COUNT, PRIMARY_COUNT, EQ_COUNT:
                 if (device instanceof final CursorDeviceImpl cdi)
-                    cdi.setDeviceCount (Integer.parseInt (value));
+                    cdi.setDeviceCount (command.getInt ());
                 break;
 
-            case TAG_EXISTS:
-                device.setExists (Integer.parseInt (value) > 0);
+            case DEVICE_EXISTS, PRIMARY_EXISTS, EQ_EXISTS:
+                device.setExists (command.isPositive ());
                 break;
 
-            case "position":
-                device.setPosition (Integer.parseInt (value));
+            case DEVICE_POSITION, PRIMARY_POSITION, EQ_POSITION:
+                device.setPosition (command.getInt ());
                 break;
 
-            case "bypass":
-                device.setEnabled (Integer.parseInt (value) == 0);
+            case DEVICE_BYPASS, PRIMARY_BYPASS, EQ_BYPASS:
+                device.setEnabled (command.getInt () == 0);
                 break;
 
-            case TAG_NAME:
-                device.setName (value);
+            case DEVICE_NAME, PRIMARY_NAME, EQ_NAME:
+                device.setName (command.getString ());
                 break;
 
-            case "window":
-                device.setWindowOpen (Double.parseDouble (value) > 0);
+            case DEVICE_WINDOW, PRIMARY_WINDOW, EQ_WINDOW:
+                device.setWindowOpen (command.isPositive ());
                 break;
 
-            case "expand":
-                device.setExpanded (Double.parseDouble (value) > 0);
+            case DEVICE_EXPAND, PRIMARY_EXPAND, EQ_EXPAND:
+                device.setExpanded (command.isPositive ());
                 break;
 
-            case "sibling":
+            case DEVICE_SIBLING_NAME, PRIMARY_SIBLING_NAME, EQ_SIBLING_NAME, DEVICE_SIBLING_BYPASS, PRIMARY_SIBLING_BYPASS, EQ_SIBLING_BYPASS, DEVICE_SIBLING_POSITION, PRIMARY_SIBLING_POSITION, EQ_SIBLING_POSITION, DEVICE_SIBLING_SELECTED, PRIMARY_SIBLING_SELECTED, EQ_SIBLING_SELECTED:
                 if (device instanceof final CursorDeviceImpl cdi)
-                    this.parseSibling (cdi, parts, value);
+                    this.parseSibling (cdi, command);
                 break;
 
-            case TAG_PARAM:
-                this.parseParameter (device, value, parts);
+            case DEVICE_PARAM_COUNT, PRIMARY_PARAM_COUNT, EQ_PARAM_COUNT:
+                device.setParameterCount (command.getInt ());
+                this.rebindKnobs ();
                 break;
 
-            case "touchedParam":
-                device.setLastTouchedParameterIndex (Integer.parseInt (value));
+            case DEVICE_PARAM_NAME, PRIMARY_PARAM_NAME, EQ_PARAM_NAME, DEVICE_PARAM_VALUE, PRIMARY_PARAM_VALUE, EQ_PARAM_VALUE, DEVICE_PARAM_VALUE_STR, PRIMARY_PARAM_VALUE_STR, EQ_PARAM_VALUE_STR, DEVICE_PARAM_STEPS, PRIMARY_PARAM_STEPS, EQ_PARAM_STEPS:
+                final ParameterBankImpl parameterBank = (ParameterBankImpl) device.getParameterBank ();
+                if (parameterBank != null)
+                    this.parseDeviceParamValue (command.getIndex (), parameterBank, command);
                 break;
 
-            case "band":
+            case DEVICE_TOUCHED_PARAM, PRIMARY_TOUCHED_PARAM, EQ_TOUCHED_PARAM:
+                device.setLastTouchedParameterIndex (command.getInt ());
+                break;
+
+            case DEVICE_BAND, PRIMARY_BAND, EQ_BAND:
                 if (device instanceof final EqualizerDeviceImpl edi)
-                {
-                    final String bandIndex = parts.poll ();
-                    try
-                    {
-                        final int position = Integer.parseInt (bandIndex);
-                        edi.setTypeInternal (position, Integer.parseInt (value));
-                    }
-                    catch (final NumberFormatException ex)
-                    {
-                        this.host.error ("Unhandled Equalizer command: " + bandIndex);
-                    }
-                }
+                    edi.setTypeInternal (command.getIndex (), command.getInt ());
                 break;
 
             default:
@@ -757,132 +642,85 @@ public class MessageParser
     }
 
 
-    private void parseParameter (final SpecificDeviceImpl device, final String value, final Queue<String> parts)
-    {
-        final String cmd = parts.poll ();
-        try
-        {
-            final int paramNo = Integer.parseInt (cmd);
-            final ParameterBankImpl parameterBank = (ParameterBankImpl) device.getParameterBank ();
-            if (parameterBank != null)
-                this.parseDeviceParamValue (paramNo, parameterBank, parts, value);
-        }
-        catch (final NumberFormatException ex)
-        {
-            if (TAG_COUNT.equals (cmd))
-            {
-                device.setParameterCount (Integer.parseInt (value));
-                this.rebindKnobs ();
-            }
-            else
-                this.host.error ("Unhandled Device Param parameter: " + cmd);
-        }
-    }
-
-
-    private void parseTrackFxParameter (final String value, final Queue<String> parts)
+    private void parseTrackFxParameter (final UpdateCommand command)
     {
-        final String type = parts.poll ();
-        if (!type.equals (TAG_PARAM))
-        {
-            this.host.error ("Unhandled Track FX parameter: " + type);
-            return;
-        }
-
         final Optional<ITrack> selectedTrack = this.model.getTrackBank ().getSelectedItem ();
         if (selectedTrack.isEmpty ())
             return;
 
-        final String cmd = parts.poll ();
         final ParameterBankImpl parameterBank = (ParameterBankImpl) ((TrackImpl) selectedTrack.get ()).getParameterBank ();
         if (parameterBank == null)
             return;
-        try
-        {
-            final int paramNo = Integer.parseInt (cmd);
-            this.parseDeviceParamValue (paramNo, parameterBank, parts, value);
-        }
-        catch (final NumberFormatException ex)
+
+        if (command.getAddress () == UpdateAddress.TRACK_FX_PARAM_COUNT)
         {
-            if (TAG_COUNT.equals (cmd))
-            {
-                parameterBank.setItemCount (Integer.parseInt (value));
-                this.rebindKnobs ();
-            }
-            else
-                this.host.error ("Unhandled Track FX Param parameter: " + cmd);
+            parameterBank.setItemCount (command.getInt ());
+            this.rebindKnobs ();
         }
+        else
+            this.parseDeviceParamValue (command.getIndex (), parameterBank, command);
     }
 
 
-    private void parseSibling (final CursorDeviceImpl device, final Queue<String> parts, final String value)
+    private void parseSibling (final CursorDeviceImpl device, final UpdateCommand command)
     {
-        final String siblingCmd = parts.poll ();
-        try
+        final int siblingNo = command.getIndex () - 1;
+        final IDeviceBank deviceBank = device.getDeviceBank ();
+        if (siblingNo < 0 || siblingNo >= deviceBank.getPageSize ())
+            return;
+
+        final DeviceImpl sibling = (DeviceImpl) deviceBank.getItem (siblingNo);
+        switch (command.getAddress ())
         {
-            final int siblingNo = Integer.parseInt (siblingCmd) - 1;
-            final IDeviceBank deviceBank = device.getDeviceBank ();
-            if (siblingNo < deviceBank.getPageSize ())
-            {
-                final DeviceImpl sibling = (DeviceImpl) deviceBank.getItem (siblingNo);
-                final String subCmd = parts.poll ();
-                switch (subCmd)
-                {
-                    case TAG_NAME:
-                        sibling.setName (value);
-                        sibling.setExists (value != null && !value.isEmpty ());
-                        break;
+            case DEVICE_SIBLING_NAME, PRIMARY_SIBLING_NAME, EQ_SIBLING_NAME:
+                final String value = command.getString ();
+                sibling.setName (value);
+                sibling.setExists (value != null && !value.isEmpty ());
+                break;
 
-                    case "bypass":
-                        sibling.setEnabled (Integer.parseInt (value) == 0);
-                        break;
+            case DEVICE_SIBLING_BYPASS, PRIMARY_SIBLING_BYPASS, EQ_SIBLING_BYPASS:
+                sibling.setEnabled (command.getInt () == 0);
+                break;
 
-                    case "position":
-                        sibling.setPosition (Integer.parseInt (value));
-                        break;
+            case DEVICE_SIBLING_POSITION, PRIMARY_SIBLING_POSITION, EQ_SIBLING_POSITION:
+                sibling.setPosition (command.getInt ());
+                break;
 
-                    case "selected":
-                        sibling.setSelected (Integer.parseInt (value) > 0);
-                        break;
+            case DEVICE_SIBLING_SELECTED, PRIMARY_SIBLING_SELECTED, EQ_SIBLING_SELECTED:
+                sibling.setSelected (command.isPositive ());
+                break;
 
-                    default:
-                        this.host.error ("Unhandled device indexed sibling parameter: " + subCmd);
-                        break;
-                }
-            }
-        }
-        catch (final NumberFormatException ex)
-        {
-            this.host.error ("Unhandled device sibling parameter: " + siblingCmd);
+            default:
+                this.host.error ("Unhandled device indexed sibling parameter: " + command);
+                break;
         }
     }
 
 
-    private void parseDeviceParamValue (final int paramNo, final ParameterBankImpl parameterBank, final Queue<String> parts, final String value)
+    private void parseDeviceParamValue (final int paramNo, final ParameterBankImpl parameterBank, final UpdateCommand command)
     {
-        final String command = parts.poll ();
         final IParameterEx p = parameterBank.getUnpagedItem (paramNo);
-        switch (command)
+        switch (command.getAddress ())
         {
-            case TAG_NAME:
+            case DEVICE_PARAM_NAME, PRIMARY_PARAM_NAME, EQ_PARAM_NAME, TRACK_FX_PARAM_NAME, MASTER_FX_PARAM_NAME:
+                final String value = command.getString ();
                 p.setInternalName (value);
                 p.setPosition (paramNo);
                 p.setExists (value != null && !value.isEmpty ());
                 break;
 
-            case "value":
-                if (parts.isEmpty ())
-                {
-                    p.setInternalValue (Double.parseDouble (value));
-                    // Note: paramNo is not the index but the overall position!
-                    parameterBank.notifyValueObservers (paramNo);
-                }
-                else if ("str".equals (parts.poll ()))
-                    p.setValueStr (value);
+            case DEVICE_PARAM_VALUE, PRIMARY_PARAM_VALUE, EQ_PARAM_VALUE, TRACK_FX_PARAM_VALUE, MASTER_FX_PARAM_VALUE:
+                p.setInternalValue (command.getDouble ());
+                // Note: paramNo is not the index but the overall position!
+                parameterBank.notifyValueObservers (paramNo);
+                break;
+
+            case DEVICE_PARAM_VALUE_STR, PRIMARY_PARAM_VALUE_STR, EQ_PARAM_VALUE_STR, TRACK_FX_PARAM_VALUE_STR, MASTER_FX_PARAM_VALUE_STR:
+                p.setValueStr (command.getString ());
                 break;
 
-            case "steps":
-                p.setInternalNumberOfSteps (Integer.parseInt (value));
+            case DEVICE_PARAM_STEPS, PRIMARY_PARAM_STEPS, EQ_PARAM_STEPS, TRACK_FX_PARAM_STEPS, MASTER_FX_PARAM_STEPS:
+                p.setInternalNumberOfSteps (command.getInt ());
                 break;
 
             default:
@@ -892,31 +730,23 @@ public class MessageParser
     }
 
 
-    private void parseBrowserValue (final Queue<String> parts, final String value)
+    private void parseBrowserValue (final UpdateCommand command)
     {
         if (this.browser == null)
             return;
 
-        final String command = parts.poll ();
-        switch (command)
+        switch (command.getAddress ())
         {
-            case "presetsfile":
-                this.browser.setPresetsFile (value);
+            case BROWSER_PRESETSFILE:
+                this.browser.setPresetsFile (command.getString ());
                 break;
 
-            case "selected":
-                switch (parts.poll ())
-                {
-                    case TAG_NAME:
-                        // Not used
-                        break;
-                    case "index":
-                        this.browser.setPresetSelected (Integer.parseInt (value));
-                        break;
-                    default:
-                        this.host.error ("Unhandled Browser Parameter Selected: " + command);
-                        break;
-                }
+            case BROWSER_SELECTED_NAME:
+                // Not used
+                break;
+
+            case BROWSER_SELECTED_INDEX:
+                this.browser.setPresetSelected (command.getInt ());
                 break;
 
             default:
@@ -926,76 +756,36 @@ public class MessageParser
     }
 
 
-    private void parseMarker (final Queue<String> parts, final String value)
+    private void parseMarker (final UpdateCommand command)
     {
         final MarkerBankImpl markerBank = (MarkerBankImpl) this.model.getMarkerBank ();
-        final String part = parts.poll ();
-        try
+        if (command.getAddress () == UpdateAddress.MARKER_COUNT)
         {
-            final int position = Integer.parseInt (part);
-            this.parseMarkerValue (markerBank.getUnpagedItem (position), parts, value);
-        }
-        catch (final NumberFormatException ex)
-        {
-            // The number of tracks
-            if (TAG_COUNT.equals (part))
-                markerBank.setItemCount (Integer.parseInt (value));
-            else
-                this.host.error ("Unhandled Marker command: " + part);
-        }
-    }
-
-
-    private void parseScene (final Queue<String> parts, final String value)
-    {
-        for (final SceneBankImpl sceneBank: ((ModelImpl) this.model).getSceneBanks ())
-        {
-            final Queue<String> partsCopy = new LinkedBlockingDeque<> (parts);
-            final String part = partsCopy.poll ();
-
-            // The number of scenes
-            if (TAG_COUNT.equals (part))
-            {
-                sceneBank.setItemCount (Integer.parseInt (value));
-                continue;
-            }
-
-            try
-            {
-                this.parseSceneValue (sceneBank.getUnpagedItem (Integer.parseInt (part)), partsCopy, value);
-            }
-            catch (final NumberFormatException ex)
-            {
-                this.host.error ("Unhandled Scene command: " + part);
-            }
+            markerBank.setItemCount (command.getInt ());
+            return;
         }
-    }
-
 
-    private void parseMarkerValue (final IMarker marker, final Queue<String> parts, final String value)
-    {
-        final String command = parts.poll ();
-        final MarkerImpl markerImpl = (MarkerImpl) marker;
-        switch (command)
+        final MarkerImpl markerImpl = (MarkerImpl) markerBank.getUnpagedItem (command.getIndex ());
+        switch (command.getAddress ())
         {
-            case TAG_EXISTS:
-                markerImpl.setExists (Double.parseDouble (value) > 0);
+            case MARKER_EXISTS:
+                markerImpl.setExists (command.isPositive ());
                 break;
 
-            case TAG_NUMBER:
-                markerImpl.setPosition (Integer.parseInt (value));
+            case MARKER_NUMBER:
+                markerImpl.setPosition (command.getInt ());
                 break;
 
-            case TAG_NAME:
-                markerImpl.setInternalName (value);
+            case MARKER_NAME:
+                markerImpl.setInternalName (command.getString ());
                 break;
 
-            case TAG_COLOR:
-                final Optional<double []> color = ((ModelImpl) this.model).parseColor (value);
+            case MARKER_COLOR:
+                final Optional<double []> color = ((ModelImpl) this.model).parseColor (command.getString ());
                 markerImpl.setColorState (color.isPresent () ? color.get () : ColorEx.GRAY.toDoubleRGB ());
                 break;
 
-            case "position", "endPosition":
+            case MARKER_POSITION, MARKER_END_POSITION:
                 // Only needed for scenes
                 break;
 
@@ -1006,35 +796,46 @@ public class MessageParser
     }
 
 
-    private void parseSceneValue (final IScene scene, final Queue<String> parts, final String value)
+    private void parseScene (final UpdateCommand command)
     {
-        final String command = parts.poll ();
-        final SceneImpl sceneImpl = (SceneImpl) scene;
-        switch (command)
+        for (final SceneBankImpl sceneBank: ((ModelImpl) this.model).getSceneBanks ())
         {
-            case TAG_EXISTS:
-                sceneImpl.setExists (Double.parseDouble (value) > 0);
+            // The number of scenes
+            if (command.getAddress () == UpdateAddress.SCENE_COUNT)
+                sceneBank.setItemCount (command.getInt ());
+            else
+                this.parseSceneValue ((SceneImpl) sceneBank.getUnpagedItem (command.getIndex ()), command);
+        }
+    }
+
+
+    private void parseSceneValue (final SceneImpl sceneImpl, final UpdateCommand command)
+    {
+        switch (command.getAddress ())
+        {
+            case SCENE_EXISTS:
+                sceneImpl.setExists (command.isPositive ());
                 break;
 
-            case TAG_NUMBER:
-                sceneImpl.setPosition (Integer.parseInt (value));
+            case SCENE_NUMBER:
+                sceneImpl.setPosition (command.getInt ());
                 break;
 
-            case TAG_NAME:
-                sceneImpl.setInternalName (value);
+            case SCENE_NAME:
+                sceneImpl.setInternalName (command.getString ());
                 break;
 
-            case TAG_COLOR:
-                final Optional<double []> color = ((ModelImpl) this.model).parseColor (value);
+            case SCENE_COLOR:
+                final Optional<double []> color = ((ModelImpl) this.model).parseColor (command.getString ());
                 sceneImpl.setColorState (color.isPresent () ? new ColorEx (color.get ()) : ColorEx.GRAY);
                 break;
 
-            case "position":
-                sceneImpl.setBeginPosition (Double.parseDouble (value));
+            case SCENE_POSITION:
+                sceneImpl.setBeginPosition (command.getDouble ());
                 break;
 
-            case "endPosition":
-                sceneImpl.setEndPosition (Double.parseDouble (value));
+            case SCENE_END_POSITION:
+                sceneImpl.setEndPosition (command.getDouble ());
                 break;
 
             default:
@@ -1044,43 +845,42 @@ public class MessageParser
     }
 
 
-    private void parseClipValue (final Queue<String> parts, final String value)
+    private void parseClipValue (final UpdateCommand command)
     {
-        final String command = parts.poll ();
         final ModelImpl modelImpl = (ModelImpl) this.model;
-        switch (command)
+        switch (command.getAddress ())
         {
-            case TAG_EXISTS:
-                modelImpl.setCursorClipExists (Double.parseDouble (value) > 0);
+            case CLIP_EXISTS:
+                modelImpl.setCursorClipExists (command.isPositive ());
                 break;
 
-            case "start":
-                modelImpl.setCursorClipPlayStart (Double.parseDouble (value));
+            case CLIP_START:
+                modelImpl.setCursorClipPlayStart (command.getDouble ());
                 break;
 
-            case "end":
-                modelImpl.setCursorClipPlayEnd (Double.parseDouble (value));
+            case CLIP_END:
+                modelImpl.setCursorClipPlayEnd (command.getDouble ());
                 break;
 
-            case "playposition":
-                modelImpl.setCursorClipPlayPosition (Double.parseDouble (value));
+            case CLIP_PLAYPOSITION:
+                modelImpl.setCursorClipPlayPosition (command.getDouble ());
                 break;
 
-            case TAG_COLOR:
-                final Optional<double []> color = modelImpl.parseColor (value);
+            case CLIP_COLOR:
+                final Optional<double []> color = modelImpl.parseColor (command.getString ());
                 modelImpl.setCursorClipColorValue (color.isPresent () ? color.get () : ColorEx.GRAY.toDoubleRGB ());
                 break;
 
-            case "loop":
-                modelImpl.setCursorClipLoopIsEnabled (Double.parseDouble (value) > 0);
+            case CLIP_LOOP:
+                modelImpl.setCursorClipLoopIsEnabled (command.isPositive ());
                 break;
 
-            case "notes":
-                modelImpl.setCursorClipNotes (Note.parseNotes (value));
+            case CLIP_NOTES:
+                modelImpl.setCursorClipNotes (Note.parseNotes (command.getString ()));
                 break;
 
-            case "all":
-                modelImpl.setClips (value);
+            case CLIP_ALL:
+                modelImpl.setClips (command.getString ());
                 break;
 
             default:
@@ -1090,7 +890,7 @@ public class MessageParser
     }
 
 
-    private void parseNoteRepeat (final Queue<String> parts, final String value)
+    private void parseNoteRepeat (final UpdateCommand command)
     {
         if (this.controllerSetup.getSurfaces ().isEmpty ())
             return;
@@ -1100,28 +900,26 @@ public class MessageParser
             return;
         final NoteRepeatImpl noteRepeat = (NoteRepeatImpl) input.getDefaultNoteInput ().getNoteRepeat ();
 
-        final String command = parts.poll ();
-        switch (command)
+        switch (command.getAddress ())
         {
-            case TAG_ACTIVE:
-                final boolean isActive = Double.parseDouble (value) > 0;
-                surface.getConfiguration ().setNoteRepeatActive (isActive);
+            case NOTEREPEAT_ACTIVE:
+                surface.getConfiguration ().setNoteRepeatActive (command.isPositive ());
                 break;
 
-            case "period":
-                noteRepeat.setInternalPeriod (1.0 / Double.parseDouble (value));
+            case NOTEREPEAT_PERIOD:
+                noteRepeat.setInternalPeriod (1.0 / command.getDouble ());
                 break;
 
-            case "notelength":
-                noteRepeat.setInternalNoteLength (Double.parseDouble (value));
+            case NOTEREPEAT_NOTELENGTH:
+                noteRepeat.setInternalNoteLength (command.getDouble ());
                 break;
 
-            case "mode":
-                noteRepeat.setInternalMode (Integer.parseInt (value));
+            case NOTEREPEAT_MODE:
+                noteRepeat.setInternalMode (command.getInt ());
                 break;
 
-            case "velocity":
-                noteRepeat.setInternalUsePressure (Integer.parseInt (value) > 0);
+            case NOTEREPEAT_VELOCITY:
+                noteRepeat.setInternalUsePressure (command.isPositive ());
                 break;
 
             default:
@@ -1131,19 +929,18 @@ public class MessageParser
     }
 
 
-    private void parseGroove (final Queue<String> parts, final String value)
+    private void parseGroove (final UpdateCommand command)
     {
         final IGroove groove = this.model.getGroove ();
 
-        final String command = parts.poll ();
-        switch (command)
+        switch (command.getAddress ())
         {
-            case TAG_ACTIVE:
-                ((GrooveParameter) groove.getParameter (GrooveParameterID.ENABLED)).setInternalValue (Double.parseDouble (value));
+            case GROOVE_ACTIVE:
+                ((GrooveParameter) groove.getParameter (GrooveParameterID.ENABLED)).setInternalValue (command.getDouble ());
                 break;
 
-            case "amount":
-                ((GrooveParameter) groove.getParameter (GrooveParameterID.SHUFFLE_AMOUNT)).setInternalValue (Double.parseDouble (value));
+            case GROOVE_AMOUNT:
+                ((GrooveParameter) groove.getParameter (GrooveParameterID.SHUFFLE_AMOUNT)).setInternalValue (command.getDouble ());
                 break;
 
             default:
@@ -1153,22 +950,6 @@ public class MessageParser
     }
 
 
-    private static Queue<String> parsePath (final String osc)
-    {
-        final String [] parts = osc.split ("/");
-        final Queue<String> oscParts = new ArrayBlockingQueue<> (parts.length);
-        Collections.addAll (oscParts, parts);
-        if (oscParts.size () <= 1)
-        {
-            oscParts.clear ();
-            return oscParts;
-        }
-        // Remove first empty element
-        oscParts.poll ();
-        return oscParts;
-    }
-
-
     private void updateNoteMapping ()
     {
         this.host.scheduleTask ( () -> this.controllerSetup.getSurface ().getViewManager ().getActive ().updateNoteMapping (), 1000);
@@ -4,6 +4,9 @@
 
 package de.mossgrabers.reaper.communication;
 
+import java.util.Locale;
+
+
 /**
  * The available message processors.
  *
@@ -69,5 +72,28 @@ public enum Processor
     /** Single commands - refresh. */
     REFRESH,
     /** Single commands - INI file. */
-    INIFILE
+    INIFILE;
+
+
+    private final String identifier;
+
+
+    /**
+     * Constructor.
+     */
+    private Processor ()
+    {
+        this.identifier = this.name ().toLowerCase (Locale.US);
+    }
+
+
+    /**
+     * Get the identifier which is used to address the processor in the DLL.
+     *
+     * @return The identifier, the lower case name
+     */
+    public String getIdentifier ()
+    {
+        return this.identifier;
+    }
 }
@@ -0,0 +1,247 @@
+// Written by Jürgen Moßgraber - mossgrabers.de
+// (c) 2017-2026
+// Licensed under LGPLv3 - http://www.gnu.org/licenses/lgpl-3.0.txt
+
+package de.mossgrabers.reaper.communication;
+
+import de.mossgrabers.framework.utils.TaskScheduler;
+import de.mossgrabers.framework.utils.TaskScheduler.Lane;
+import de.mossgrabers.reaper.communication.UpdateAddress.ValueType;
+import de.mossgrabers.reaper.ui.utils.LogModel;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Records the model updates from Reaper and the MIDI messages from the controllers in the text
+ * format of the replay stream of the benchmark (see ReplayStream in the benchmark sources). The
+ * time of an event is taken when it is received but the lines are written on the file lane, so
+ * the threads of the DLL are not blocked by the disk.
+ *
+ * Events which are received in the same millisecond are added to the same batch, except for a
+ * block of updates after a MIDI message, since the updates of a batch are replayed first. The IDs
+ * of the MIDI inputs are the ones of Reaper, which might need to be adapted before replaying.
+ *
+ * @author Jürgen Moßgraber
+ */
+public class ReplayRecorder
+{
+    private static final String MIDI_TAG  = "midi";
+    private static final String TIME_TAG  = "@";
+    private static final String COMMENT   = "#";
+
+    private final LogModel      logModel;
+    private final File          file;
+    private final long          startTime = System.nanoTime ();
+    private final HexFormat     hexFormat = HexFormat.of ().withUpperCase ();
+
+    // Only accessed on the file lane after the construction
+    private BufferedWriter      writer;
+    private long                batchTime = -1;
+    private boolean             hasMidi   = false;
+    private volatile boolean    isClosed  = false;
+
+
+    /**
+     * Constructor. The file is created or overwritten.
+     *
+     * @param file The file to write to
+     * @param logModel For logging
+     * @throws IOException Could not create the file
+     */
+    public ReplayRecorder (final File file, final LogModel logModel) throws IOException
+    {
+        this.file = file;
+        this.logModel = logModel;
+
+        this.writer = Files.newBufferedWriter (this.file.toPath (), StandardCharsets.UTF_8);
+        this.writer.write (COMMENT + " DrivenByMoss4Reaper replay stream");
+        this.writer.newLine ();
+    }
+
+
+    /**
+     * Record a block of updates in the text format.
+     *
+     * @param data The updates separated by line breaks
+     */
+    public void recordUpdates (final String data)
+    {
+        final long time = this.getTime ();
+        this.submit ( () -> {
+            this.startBatch (time, true);
+            int lineStart = 0;
+            while (lineStart < data.length ())
+            {
+                int lineEnd = data.indexOf ('\n', lineStart);
+                if (lineEnd < 0)
+                    lineEnd = data.length ();
+                if (lineEnd > lineStart)
+                {
+                    this.writer.write (data, lineStart, lineEnd - lineStart);
+                    this.writer.newLine ();
+                }
+                lineStart = lineEnd + 1;
+            }
+        });
+    }
+
+
+    /**
+     * Record a block of decoded updates, e.g. from the binary format. The commands are written in
+     * the text format.
+     *
+     * @param commands The commands
+     */
+    public void recordUpdates (final List<UpdateCommand> commands)
+    {
+        final long time = this.getTime ();
+        this.submit ( () -> {
+            this.startBatch (time, true);
+            for (final UpdateCommand command: commands)
+            {
+                final UpdateAddress address = command.getAddress ();
+                this.writer.write (address.format (command.getIndex (), command.getSubIndex ()));
+                this.writer.write (' ');
+                if (address.getValueType () == ValueType.STRING)
+                {
+                    final String text = command.getString ();
+                    if (text != null)
+                        this.writer.write (text.replace ('\n', ' '));
+                }
+                else if (address.getValueType () == ValueType.INT)
+                    this.writer.write (Integer.toString (command.getInt ()));
+                else
+                    this.writer.write (Double.toString (command.getDouble ()));
+                this.writer.newLine ();
+            }
+        });
+    }
+
+
+    /**
+     * Record a received MIDI message.
+     *
+     * @param deviceID The ID of the MIDI input
+     * @param data The bytes of the message
+     */
+    public void recordMidi (final int deviceID, final byte [] data)
+    {
+        final long time = this.getTime ();
+        final byte [] copy = data.clone ();
+        this.submit ( () -> {
+            this.startBatch (time, false);
+            this.writer.write (MIDI_TAG + " " + deviceID);
+            for (final byte b: copy)
+                this.writer.write (" " + this.hexFormat.toHexDigits (b));
+            this.writer.newLine ();
+        });
+    }
+
+
+    /**
+     * Stop the recording and close the file after all pending events have been written.
+     */
+    public void close ()
+    {
+        this.submit ( () -> {
+            this.writer.close ();
+            this.writer = null;
+        });
+        this.isClosed = true;
+        this.logModel.info ("Replay stream written to " + this.file);
+    }
+
+
+    /**
+     * Write a new batch marker if required. Since the events are received on different threads,
+     * an event which is older than the current batch is added to the current batch.
+     *
+     * @param time The time of the event
+     * @param isUpdate True if the event is a block of updates, which must not be added to a batch
+     *            which contains MIDI messages since the updates of a batch are replayed first
+     * @throws IOException Could not write the marker
+     */
+    private void startBatch (final long time, final boolean isUpdate) throws IOException
+    {
+        if (this.batchTime < 0 || time > this.batchTime || isUpdate && this.hasMidi)
+        {
+            this.batchTime = Math.max (this.batchTime, time);
+            this.hasMidi = false;
+            this.writer.write (TIME_TAG + this.batchTime);
+            this.writer.newLine ();
+        }
+        if (!isUpdate)
+            this.hasMidi = true;
+    }
+
+
+    private long getTime ()
+    {
+        return TimeUnit.NANOSECONDS.toMillis (System.nanoTime () - this.startTime);
+    }
+
+
+    private void submit (final IOTask task)
+    {
+        if (this.isClosed)
+            return;
+
+        try
+        {
+            TaskScheduler.getInstance ().execute (Lane.FILE, () -> {
+                try
+                {
+                    if (this.writer != null)
+                        task.run ();
+                }
+                catch (final IOException ex)
+                {
+                    this.logModel.error ("Could not write the replay stream.", ex);
+                    this.closeQuietly ();
+                }
+            });
+        }
+        catch (final RejectedExecutionException ex)
+        {
+            // The application is shutting down
+        }
+    }
+
+
+    private void closeQuietly ()
+    {
+        this.isClosed = true;
+        try
+        {
+            if (this.writer != null)
+                this.writer.close ();
+        }
+        catch (final IOException ex)
+        {
+            // Already reported
+        }
+        this.writer = null;
+    }
+
+
+    /** A task which writes to the file. */
+    @FunctionalInterface
+    private interface IOTask
+    {
+        /**
+         * Execute the task.
+         *
+         * @throws IOException Could not write
+         */
+        void run () throws IOException;
+    }
+}
@@ -0,0 +1,616 @@
+// Written by Jürgen Moßgraber - mossgrabers.de
+// (c) 2017-2026
+// Licensed under LGPLv3 - http://www.gnu.org/licenses/lgpl-3.0.txt
+
+package de.mossgrabers.reaper.communication;
+
+import de.mossgrabers.framework.observer.ModelArea;
+
+
+/**
+ * All addresses of model updates sent from Reaper. An address is a path template where a '#'
+ * segment is a numeric index (e.g. the track position) and a '*' segment matches any text. The
+ * ordinal of an address is its ID in the binary update protocol, therefore new addresses must only
+ * be appended at the end.
+ *
+ * @author Jürgen Moßgraber
+ */
+public enum UpdateAddress
+{
+    /** The selected action in the action dialog. */
+    ACTION_SELECT(Group.ACTION, "/action/select", ValueType.STRING),
+    /** The project name. */
+    PROJECT_NAME(Group.PROJECT, "/project/name", ValueType.STRING),
+    /** The project audio engine state. */
+    PROJECT_ENGINE(Group.PROJECT, "/project/engine", ValueType.INT),
+    /** The project undo state. */
+    PROJECT_CAN_UNDO(Group.PROJECT, "/project/canUndo", ValueType.INT),
+    /** The project redo state. */
+    PROJECT_CAN_REDO(Group.PROJECT, "/project/canRedo", ValueType.INT),
+    /** The project dirty state. */
+    PROJECT_IS_DIRTY(Group.PROJECT, "/project/isDirty", ValueType.INT),
+    /** The metronome state. */
+    CLICK(Group.CLICK, "/click", ValueType.DOUBLE),
+    /** The pre-roll metronome state. */
+    CLICK_PREROLL(Group.CLICK, "/click/preroll", ValueType.INT),
+    /** The number of pre-roll measures. */
+    CLICK_PREROLL_MEASURES(Group.CLICK, "/click/prerollMeasures", ValueType.DOUBLE),
+    /** The metronome volume. */
+    CLICK_VOLUME(Group.CLICK, "/click/volume", ValueType.DOUBLE),
+    /** The metronome volume as text. */
+    CLICK_VOLUME_STR(Group.CLICK, "/click/volumeStr", ValueType.STRING),
+    /** The play state. */
+    PLAY(Group.TRANSPORT, "/play", ValueType.DOUBLE),
+    /** The stop state. */
+    STOP(Group.TRANSPORT, "/stop", ValueType.DOUBLE),
+    /** The loop state. */
+    REPEAT(Group.TRANSPORT, "/repeat", ValueType.DOUBLE),
+    /** The record state. */
+    RECORD(Group.TRANSPORT, "/record", ValueType.DOUBLE),
+    /** The tempo. */
+    TEMPO(Group.TRANSPORT, "/tempo", ValueType.DOUBLE),
+    /** The play position. */
+    TIME(Group.TRANSPORT, "/time", ValueType.DOUBLE),
+    /** The play position as text. */
+    TIME_STR(Group.TRANSPORT, "/time/str", ValueType.STRING),
+    /** The horizontal zoom. */
+    TIME_HZOOM(Group.TRANSPORT, "/time/hzoom", ValueType.DOUBLE),
+    /** The loop start. */
+    TIME_LOOP_START(Group.TRANSPORT, "/time/loop/start", ValueType.DOUBLE),
+    /** The loop start as text. */
+    TIME_LOOP_START_STR(Group.TRANSPORT, "/time/loop/start/str", ValueType.STRING),
+    /** The loop start as beat text. */
+    TIME_LOOP_START_BEAT(Group.TRANSPORT, "/time/loop/start/*", ValueType.STRING),
+    /** The loop length. */
+    TIME_LOOP_LENGTH(Group.TRANSPORT, "/time/loop/length", ValueType.DOUBLE),
+    /** The loop length as beat text. */
+    TIME_LOOP_LENGTH_BEAT(Group.TRANSPORT, "/time/loop/length/*", ValueType.STRING),
+    /** The beat position as text. */
+    BEAT(Group.TRANSPORT, "/beat", ValueType.STRING),
+    /** The time signature numerator. */
+    NUMERATOR(Group.TRANSPORT, "/numerator", ValueType.DOUBLE),
+    /** The time signature denominator. */
+    DENOMINATOR(Group.TRANSPORT, "/denominator", ValueType.DOUBLE),
+    /** The playback follow state. */
+    FOLLOW_PLAYBACK(Group.TRANSPORT, "/followPlayback", ValueType.DOUBLE),
+    /** The automation mode. */
+    AUTOMATION_MODE(Group.TRANSPORT, "/automode", ValueType.DOUBLE),
+    /** The number of tracks. */
+    TRACK_COUNT(Group.TRACK_BANK, "/track/count", ValueType.INT),
+    /** The number of parameters of the track FX of the selected track. */
+    TRACK_FX_PARAM_COUNT(Group.TRACK_FX, "/track/fx/param/count", ValueType.INT),
+    /** The name of a parameter of the track FX of the selected track. */
+    TRACK_FX_PARAM_NAME(Group.TRACK_FX, "/track/fx/param/#/name", ValueType.STRING),
+    /** The value of a parameter of the track FX of the selected track. */
+    TRACK_FX_PARAM_VALUE(Group.TRACK_FX, "/track/fx/param/#/value", ValueType.DOUBLE),
+    /** The value text of a parameter of the track FX of the selected track. */
+    TRACK_FX_PARAM_VALUE_STR(Group.TRACK_FX, "/track/fx/param/#/value/str", ValueType.STRING),
+    /** The number of steps of a parameter of the track FX of the selected track. */
+    TRACK_FX_PARAM_STEPS(Group.TRACK_FX, "/track/fx/param/#/steps", ValueType.INT),
+    /** The existence state of a track. */
+    TRACK_EXISTS(Group.TRACK, "/track/#/exists", ValueType.DOUBLE),
+    /** The folder depth of a track. */
+    TRACK_DEPTH(Group.TRACK, "/track/#/depth", ValueType.INT),
+    /** The activation state of a track. */
+    TRACK_ACTIVE(Group.TRACK, "/track/#/active", ValueType.DOUBLE),
+    /** The channel type of a track. */
+    TRACK_TYPE(Group.TRACK, "/track/#/type", ValueType.STRING),
+    /** The group expansion state of a track. */
+    TRACK_IS_GROUP_EXPANDED(Group.TRACK, "/track/#/isGroupExpanded", ValueType.INT),
+    /** The selection state of a track. */
+    TRACK_SELECT(Group.TRACK, "/track/#/select", ValueType.DOUBLE),
+    /** The position of a track. */
+    TRACK_NUMBER(Group.TRACK, "/track/#/number", ValueType.INT),
+    /** The name of a track. */
+    TRACK_NAME(Group.TRACK, "/track/#/name", ValueType.STRING),
+    /** The volume of a track. */
+    TRACK_VOLUME(Group.TRACK, "/track/#/volume", ValueType.DOUBLE),
+    /** The volume as text of a track. */
+    TRACK_VOLUME_STR(Group.TRACK, "/track/#/volume/str", ValueType.STRING),
+    /** The panorama of a track. */
+    TRACK_PAN(Group.TRACK, "/track/#/pan", ValueType.DOUBLE),
+    /** The panorama as text of a track. */
+    TRACK_PAN_STR(Group.TRACK, "/track/#/pan/str", ValueType.STRING),
+    /** The VU value of a track. */
+    TRACK_VU(Group.TRACK, "/track/#/vu", ValueType.DOUBLE),
+    /** The left VU value of a track. */
+    TRACK_VU_LEFT(Group.TRACK, "/track/#/vuleft", ValueType.DOUBLE),
+    /** The right VU value of a track. */
+    TRACK_VU_RIGHT(Group.TRACK, "/track/#/vuright", ValueType.DOUBLE),
+    /** The left VU hold value of a track. */
+    TRACK_VU_HOLD_LEFT(Group.TRACK, "/track/#/vuholdleft", ValueType.DOUBLE),
+    /** The right VU hold value of a track. */
+    TRACK_VU_HOLD_RIGHT(Group.TRACK, "/track/#/vuholdright", ValueType.DOUBLE),
+    /** The mute state of a track. */
+    TRACK_MUTE(Group.TRACK, "/track/#/mute", ValueType.DOUBLE),
+    /** The solo state of a track. */
+    TRACK_SOLO(Group.TRACK, "/track/#/solo", ValueType.DOUBLE),
+    /** The record arm state of a track. */
+    TRACK_RECARM(Group.TRACK, "/track/#/recarm", ValueType.DOUBLE),
+    /** The monitor state of a track. */
+    TRACK_MONITOR(Group.TRACK, "/track/#/monitor", ValueType.DOUBLE),
+    /** The auto-monitor state of a track. */
+    TRACK_AUTO_MONITOR(Group.TRACK, "/track/#/autoMonitor", ValueType.DOUBLE),
+    /** The overdub state of a track. */
+    TRACK_OVERDUB(Group.TRACK, "/track/#/overdub", ValueType.DOUBLE),
+    /** The color of a track. */
+    TRACK_COLOR(Group.TRACK, "/track/#/color", ValueType.STRING),
+    /** The number of sends of a track. */
+    TRACK_SEND_COUNT(Group.TRACK, "/track/#/send/count", ValueType.INT),
+    /** The activation state of a send of a track. */
+    TRACK_SEND_ACTIVE(Group.TRACK, "/track/#/send/#/active", ValueType.INT),
+    /** The name of a send of a track. */
+    TRACK_SEND_NAME(Group.TRACK, "/track/#/send/#/name", ValueType.STRING),
+    /** The volume of a send of a track. */
+    TRACK_SEND_VOLUME(Group.TRACK, "/track/#/send/#/volume", ValueType.DOUBLE),
+    /** The volume of a send as text of a track. */
+    TRACK_SEND_VOLUME_STR(Group.TRACK, "/track/#/send/#/volume/str", ValueType.STRING),
+    /** The color of a send of a track. */
+    TRACK_SEND_COLOR(Group.TRACK, "/track/#/send/#/color", ValueType.STRING),
+    /** The playing notes of a track. */
+    TRACK_PLAYINGNOTES(Group.TRACK, "/track/#/playingnotes", ValueType.STRING),
+    /** The input quantization note length state of a track. */
+    TRACK_IN_QUANT_LENGTH_ENABLED(Group.TRACK, "/track/#/inQuantLengthEnabled", ValueType.DOUBLE),
+    /** The input quantization resolution of a track. */
+    TRACK_IN_QUANT_RESOLUTION(Group.TRACK, "/track/#/inQuantResolution", ValueType.DOUBLE),
+    /** The existence state of the master track. */
+    MASTER_EXISTS(Group.MASTER, "/master/exists", ValueType.DOUBLE),
+    /** The folder depth of the master track. */
+    MASTER_DEPTH(Group.MASTER, "/master/depth", ValueType.INT),
+    /** The activation state of the master track. */
+    MASTER_ACTIVE(Group.MASTER, "/master/active", ValueType.DOUBLE),
+    /** The channel type of the master track. */
+    MASTER_TYPE(Group.MASTER, "/master/type", ValueType.STRING),
+    /** The group expansion state of the master track. */
+    MASTER_IS_GROUP_EXPANDED(Group.MASTER, "/master/isGroupExpanded", ValueType.INT),
+    /** The selection state of the master track. */
+    MASTER_SELECT(Group.MASTER, "/master/select", ValueType.DOUBLE),
+    /** The position of the master track. */
+    MASTER_NUMBER(Group.MASTER, "/master/number", ValueType.INT),
+    /** The name of the master track. */
+    MASTER_NAME(Group.MASTER, "/master/name", ValueType.STRING),
+    /** The volume of the master track. */
+    MASTER_VOLUME(Group.MASTER, "/master/volume", ValueType.DOUBLE),
+    /** The volume as text of the master track. */
+    MASTER_VOLUME_STR(Group.MASTER, "/master/volume/str", ValueType.STRING),
+    /** The panorama of the master track. */
+    MASTER_PAN(Group.MASTER, "/master/pan", ValueType.DOUBLE),
+    /** The panorama as text of the master track. */
+    MASTER_PAN_STR(Group.MASTER, "/master/pan/str", ValueType.STRING),
+    /** The VU value of the master track. */
+    MASTER_VU(Group.MASTER, "/master/vu", ValueType.DOUBLE),
+    /** The left VU value of the master track. */
+    MASTER_VU_LEFT(Group.MASTER, "/master/vuleft", ValueType.DOUBLE),
+    /** The right VU value of the master track. */
+    MASTER_VU_RIGHT(Group.MASTER, "/master/vuright", ValueType.DOUBLE),
+    /** The left VU hold value of the master track. */
+    MASTER_VU_HOLD_LEFT(Group.MASTER, "/master/vuholdleft", ValueType.DOUBLE),
+    /** The right VU hold value of the master track. */
+    MASTER_VU_HOLD_RIGHT(Group.MASTER, "/master/vuholdright", ValueType.DOUBLE),
+    /** The mute state of the master track. */
+    MASTER_MUTE(Group.MASTER, "/master/mute", ValueType.DOUBLE),
+    /** The solo state of the master track. */
+    MASTER_SOLO(Group.MASTER, "/master/solo", ValueType.DOUBLE),
+    /** The record arm state of the master track. */
+    MASTER_RECARM(Group.MASTER, "/master/recarm", ValueType.DOUBLE),
+    /** The monitor state of the master track. */
+    MASTER_MONITOR(Group.MASTER, "/master/monitor", ValueType.DOUBLE),
+    /** The auto-monitor state of the master track. */
+    MASTER_AUTO_MONITOR(Group.MASTER, "/master/autoMonitor", ValueType.DOUBLE),
+    /** The overdub state of the master track. */
+    MASTER_OVERDUB(Group.MASTER, "/master/overdub", ValueType.DOUBLE),
+    /** The color of the master track. */
+    MASTER_COLOR(Group.MASTER, "/master/color", ValueType.STRING),
+    /** The number of sends of the master track. */
+    MASTER_SEND_COUNT(Group.MASTER, "/master/send/count", ValueType.INT),
+    /** The activation state of a send of the master track. */
+    MASTER_SEND_ACTIVE(Group.MASTER, "/master/send/#/active", ValueType.INT),
+    /** The name of a send of the master track. */
+    MASTER_SEND_NAME(Group.MASTER, "/master/send/#/name", ValueType.STRING),
+    /** The volume of a send of the master track. */
+    MASTER_SEND_VOLUME(Group.MASTER, "/master/send/#/volume", ValueType.DOUBLE),
+    /** The volume of a send as text of the master track. */
+    MASTER_SEND_VOLUME_STR(Group.MASTER, "/master/send/#/volume/str", ValueType.STRING),
+    /** The color of a send of the master track. */
+    MASTER_SEND_COLOR(Group.MASTER, "/master/send/#/color", ValueType.STRING),
+    /** The playing notes of the master track. */
+    MASTER_PLAYINGNOTES(Group.MASTER, "/master/playingnotes", ValueType.STRING),
+    /** The input quantization note length state of the master track. */
+    MASTER_IN_QUANT_LENGTH_ENABLED(Group.MASTER, "/master/inQuantLengthEnabled", ValueType.DOUBLE),
+    /** The input quantization resolution of the master track. */
+    MASTER_IN_QUANT_RESOLUTION(Group.MASTER, "/master/inQuantResolution", ValueType.DOUBLE),
+    /** The number of parameters of the master track FX. */
+    MASTER_FX_PARAM_COUNT(Group.MASTER_FX, "/master/fx/param/count", ValueType.INT),
+    /** The name of a parameter of the master track FX. */
+    MASTER_FX_PARAM_NAME(Group.MASTER_FX, "/master/fx/param/#/name", ValueType.STRING),
+    /** The value of a parameter of the master track FX. */
+    MASTER_FX_PARAM_VALUE(Group.MASTER_FX, "/master/fx/param/#/value", ValueType.DOUBLE),
+    /** The value text of a parameter of the master track FX. */
+    MASTER_FX_PARAM_VALUE_STR(Group.MASTER_FX, "/master/fx/param/#/value/str", ValueType.STRING),
+    /** The number of steps of a parameter of the master track FX. */
+    MASTER_FX_PARAM_STEPS(Group.MASTER_FX, "/master/fx/param/#/steps", ValueType.INT),
+    /** The number of devices of the track of the cursor device. */
+    DEVICE_COUNT(Group.DEVICE, "/device/count", ValueType.INT),
+    /** The existence state of the cursor device. */
+    DEVICE_EXISTS(Group.DEVICE, "/device/exists", ValueType.INT),
+    /** The position of the cursor device. */
+    DEVICE_POSITION(Group.DEVICE, "/device/position", ValueType.INT),
+    /** The bypass state of the cursor device. */
+    DEVICE_BYPASS(Group.DEVICE, "/device/bypass", ValueType.INT),
+    /** The name of the cursor device. */
+    DEVICE_NAME(Group.DEVICE, "/device/name", ValueType.STRING),
+    /** The window state of the cursor device. */
+    DEVICE_WINDOW(Group.DEVICE, "/device/window", ValueType.DOUBLE),
+    /** The expanded state of the cursor device. */
+    DEVICE_EXPAND(Group.DEVICE, "/device/expand", ValueType.DOUBLE),
+    /** The name of a sibling of the cursor device. */
+    DEVICE_SIBLING_NAME(Group.DEVICE, "/device/sibling/#/name", ValueType.STRING),
+    /** The bypass state of a sibling of the cursor device. */
+    DEVICE_SIBLING_BYPASS(Group.DEVICE, "/device/sibling/#/bypass", ValueType.INT),
+    /** The position of a sibling of the cursor device. */
+    DEVICE_SIBLING_POSITION(Group.DEVICE, "/device/sibling/#/position", ValueType.INT),
+    /** The selection state of a sibling of the cursor device. */
+    DEVICE_SIBLING_SELECTED(Group.DEVICE, "/device/sibling/#/selected", ValueType.INT),
+    /** The number of parameters of the cursor device. */
+    DEVICE_PARAM_COUNT(Group.DEVICE, "/device/param/count", ValueType.INT),
+    /** The name of a parameter of the cursor device. */
+    DEVICE_PARAM_NAME(Group.DEVICE, "/device/param/#/name", ValueType.STRING),
+    /** The value of a parameter of the cursor device. */
+    DEVICE_PARAM_VALUE(Group.DEVICE, "/device/param/#/value", ValueType.DOUBLE),
+    /** The value text of a parameter of the cursor device. */
+    DEVICE_PARAM_VALUE_STR(Group.DEVICE, "/device/param/#/value/str", ValueType.STRING),
+    /** The number of steps of a parameter of the cursor device. */
+    DEVICE_PARAM_STEPS(Group.DEVICE, "/device/param/#/steps", ValueType.INT),
+    /** The index of the last touched parameter of the cursor device. */
+    DEVICE_TOUCHED_PARAM(Group.DEVICE, "/device/touchedParam", ValueType.INT),
+    /** The type of an equalizer band of the cursor device. */
+    DEVICE_BAND(Group.DEVICE, "/device/band/#", ValueType.INT),
+    /** The number of devices of the track of the first instrument device. */
+    PRIMARY_COUNT(Group.PRIMARY, "/primary/count", ValueType.INT),
+    /** The existence state of the first instrument device. */
+    PRIMARY_EXISTS(Group.PRIMARY, "/primary/exists", ValueType.INT),
+    /** The position of the first instrument device. */
+    PRIMARY_POSITION(Group.PRIMARY, "/primary/position", ValueType.INT),
+    /** The bypass state of the first instrument device. */
+    PRIMARY_BYPASS(Group.PRIMARY, "/primary/bypass", ValueType.INT),
+    /** The name of the first instrument device. */
+    PRIMARY_NAME(Group.PRIMARY, "/primary/name", ValueType.STRING),
+    /** The window state of the first instrument device. */
+    PRIMARY_WINDOW(Group.PRIMARY, "/primary/window", ValueType.DOUBLE),
+    /** The expanded state of the first instrument device. */
+    PRIMARY_EXPAND(Group.PRIMARY, "/primary/expand", ValueType.DOUBLE),
+    /** The name of a sibling of the first instrument device. */
+    PRIMARY_SIBLING_NAME(Group.PRIMARY, "/primary/sibling/#/name", ValueType.STRING),
+    /** The bypass state of a sibling of the first instrument device. */
+    PRIMARY_SIBLING_BYPASS(Group.PRIMARY, "/primary/sibling/#/bypass", ValueType.INT),
+    /** The position of a sibling of the first instrument device. */
+    PRIMARY_SIBLING_POSITION(Group.PRIMARY, "/primary/sibling/#/position", ValueType.INT),
+    /** The selection state of a sibling of the first instrument device. */
+    PRIMARY_SIBLING_SELECTED(Group.PRIMARY, "/primary/sibling/#/selected", ValueType.INT),
+    /** The number of parameters of the first instrument device. */
+    PRIMARY_PARAM_COUNT(Group.PRIMARY, "/primary/param/count", ValueType.INT),
+    /** The name of a parameter of the first instrument device. */
+    PRIMARY_PARAM_NAME(Group.PRIMARY, "/primary/param/#/name", ValueType.STRING),
+    /** The value of a parameter of the first instrument device. */
+    PRIMARY_PARAM_VALUE(Group.PRIMARY, "/primary/param/#/value", ValueType.DOUBLE),
+    /** The value text of a parameter of the first instrument device. */
+    PRIMARY_PARAM_VALUE_STR(Group.PRIMARY, "/primary/param/#/value/str", ValueType.STRING),
+    /** The number of steps of a parameter of the first instrument device. */
+    PRIMARY_PARAM_STEPS(Group.PRIMARY, "/primary/param/#/steps", ValueType.INT),
+    /** The index of the last touched parameter of the first instrument device. */
+    PRIMARY_TOUCHED_PARAM(Group.PRIMARY, "/primary/touchedParam", ValueType.INT),
+    /** The type of an equalizer band of the first instrument device. */
+    PRIMARY_BAND(Group.PRIMARY, "/primary/band/#", ValueType.INT),
+    /** The number of devices of the track of the equalizer device. */
+    EQ_COUNT(Group.EQ, "/eq/count", ValueType.INT),
+    /** The existence state of the equalizer device. */
+    EQ_EXISTS(Group.EQ, "/eq/exists", ValueType.INT),
+    /** The position of the equalizer device. */
+    EQ_POSITION(Group.EQ, "/eq/position", ValueType.INT),
+    /** The bypass state of the equalizer device. */
+    EQ_BYPASS(Group.EQ, "/eq/bypass", ValueType.INT),
+    /** The name of the equalizer device. */
+    EQ_NAME(Group.EQ, "/eq/name", ValueType.STRING),
+    /** The window state of the equalizer device. */
+    EQ_WINDOW(Group.EQ, "/eq/window", ValueType.DOUBLE),
+    /** The expanded state of the equalizer device. */
+    EQ_EXPAND(Group.EQ, "/eq/expand", ValueType.DOUBLE),
+    /** The name of a sibling of the equalizer device. */
+    EQ_SIBLING_NAME(Group.EQ, "/eq/sibling/#/name", ValueType.STRING),
+    /** The bypass state of a sibling of the equalizer device. */
+    EQ_SIBLING_BYPASS(Group.EQ, "/eq/sibling/#/bypass", ValueType.INT),
+    /** The position of a sibling of the equalizer device. */
+    EQ_SIBLING_POSITION(Group.EQ, "/eq/sibling/#/position", ValueType.INT),
+    /** The selection state of a sibling of the equalizer device. */
+    EQ_SIBLING_SELECTED(Group.EQ, "/eq/sibling/#/selected", ValueType.INT),
+    /** The number of parameters of the equalizer device. */
+    EQ_PARAM_COUNT(Group.EQ, "/eq/param/count", ValueType.INT),
+    /** The name of a parameter of the equalizer device. */
+    EQ_PARAM_NAME(Group.EQ, "/eq/param/#/name", ValueType.STRING),
+    /** The value of a parameter of the equalizer device. */
+    EQ_PARAM_VALUE(Group.EQ, "/eq/param/#/value", ValueType.DOUBLE),
+    /** The value text of a parameter of the equalizer device. */
+    EQ_PARAM_VALUE_STR(Group.EQ, "/eq/param/#/value/str", ValueType.STRING),
+    /** The number of steps of a parameter of the equalizer device. */
+    EQ_PARAM_STEPS(Group.EQ, "/eq/param/#/steps", ValueType.INT),
+    /** The index of the last touched parameter of the equalizer device. */
+    EQ_TOUCHED_PARAM(Group.EQ, "/eq/touchedParam", ValueType.INT),
+    /** The type of an equalizer band of the equalizer device. */
+    EQ_BAND(Group.EQ, "/eq/band/#", ValueType.INT),
+    /** The existence state of the cursor clip. */
+    CLIP_EXISTS(Group.CLIP, "/clip/exists", ValueType.DOUBLE),
+    /** The play start of the cursor clip. */
+    CLIP_START(Group.CLIP, "/clip/start", ValueType.DOUBLE),
+    /** The play end of the cursor clip. */
+    CLIP_END(Group.CLIP, "/clip/end", ValueType.DOUBLE),
+    /** The play position of the cursor clip. */
+    CLIP_PLAYPOSITION(Group.CLIP, "/clip/playposition", ValueType.DOUBLE),
+    /** The color of the cursor clip. */
+    CLIP_COLOR(Group.CLIP, "/clip/color", ValueType.STRING),
+    /** The loop state of the cursor clip. */
+    CLIP_LOOP(Group.CLIP, "/clip/loop", ValueType.DOUBLE),
+    /** The notes of the cursor clip. */
+    CLIP_NOTES(Group.CLIP, "/clip/notes", ValueType.STRING),
+    /** All clips of the project. */
+    CLIP_ALL(Group.CLIP, "/clip/all", ValueType.STRING),
+    /** The presets file of the browser. */
+    BROWSER_PRESETSFILE(Group.BROWSER, "/browser/presetsfile", ValueType.STRING),
+    /** The name of the selected browser preset. */
+    BROWSER_SELECTED_NAME(Group.BROWSER, "/browser/selected/name", ValueType.STRING),
+    /** The index of the selected browser preset. */
+    BROWSER_SELECTED_INDEX(Group.BROWSER, "/browser/selected/index", ValueType.INT),
+    /** The number of markers. */
+    MARKER_COUNT(Group.MARKER, "/marker/count", ValueType.INT),
+    /** The existence state of a marker. */
+    MARKER_EXISTS(Group.MARKER, "/marker/#/exists", ValueType.DOUBLE),
+    /** The position of a marker. */
+    MARKER_NUMBER(Group.MARKER, "/marker/#/number", ValueType.INT),
+    /** The name of a marker. */
+    MARKER_NAME(Group.MARKER, "/marker/#/name", ValueType.STRING),
+    /** The color of a marker. */
+    MARKER_COLOR(Group.MARKER, "/marker/#/color", ValueType.STRING),
+    /** The start position of a marker. */
+    MARKER_POSITION(Group.MARKER, "/marker/#/position", ValueType.DOUBLE),
+    /** The end position of a marker. */
+    MARKER_END_POSITION(Group.MARKER, "/marker/#/endPosition", ValueType.DOUBLE),
+    /** The number of scenes. */
+    SCENE_COUNT(Group.SCENE, "/scene/count", ValueType.INT),
+    /** The existence state of a scene. */
+    SCENE_EXISTS(Group.SCENE, "/scene/#/exists", ValueType.DOUBLE),
+    /** The position of a scene. */
+    SCENE_NUMBER(Group.SCENE, "/scene/#/number", ValueType.INT),
+    /** The name of a scene. */
+    SCENE_NAME(Group.SCENE, "/scene/#/name", ValueType.STRING),
+    /** The color of a scene. */
+    SCENE_COLOR(Group.SCENE, "/scene/#/color", ValueType.STRING),
+    /** The start position of a scene. */
+    SCENE_POSITION(Group.SCENE, "/scene/#/position", ValueType.DOUBLE),
+    /** The end position of a scene. */
+    SCENE_END_POSITION(Group.SCENE, "/scene/#/endPosition", ValueType.DOUBLE),
+    /** The quantization strength. */
+    QUANTIZE_STRENGTH(Group.QUANTIZE, "/quantize/strength", ValueType.INT),
+    /** The note repeat activation state. */
+    NOTEREPEAT_ACTIVE(Group.NOTEREPEAT, "/noterepeat/active", ValueType.DOUBLE),
+    /** The note repeat period. */
+    NOTEREPEAT_PERIOD(Group.NOTEREPEAT, "/noterepeat/period", ValueType.DOUBLE),
+    /** The note repeat note length. */
+    NOTEREPEAT_NOTELENGTH(Group.NOTEREPEAT, "/noterepeat/notelength", ValueType.DOUBLE),
+    /** The note repeat mode. */
+    NOTEREPEAT_MODE(Group.NOTEREPEAT, "/noterepeat/mode", ValueType.INT),
+    /** The note repeat velocity (use pressure) state. */
+    NOTEREPEAT_VELOCITY(Group.NOTEREPEAT, "/noterepeat/velocity", ValueType.INT),
+    /** The groove activation state. */
+    GROOVE_ACTIVE(Group.GROOVE, "/groove/active", ValueType.DOUBLE),
+    /** The groove shuffle amount. */
+    GROOVE_AMOUNT(Group.GROOVE, "/groove/amount", ValueType.DOUBLE);
+
+
+    /** The model area which is addressed. */
+    public enum Group
+    {
+        /** The action selection. */
+        ACTION,
+        /** The project. */
+        PROJECT,
+        /** The metronome. */
+        CLICK,
+        /** The transport. */
+        TRANSPORT,
+        /** The track bank. */
+        TRACK_BANK,
+        /** The track FX parameters of the selected track. */
+        TRACK_FX,
+        /** A track. */
+        TRACK,
+        /** The master track. */
+        MASTER,
+        /** The master track FX parameters. */
+        MASTER_FX,
+        /** The cursor device. */
+        DEVICE,
+        /** The first instrument device. */
+        PRIMARY,
+        /** The equalizer device. */
+        EQ,
+        /** The cursor clip. */
+        CLIP,
+        /** The browser. */
+        BROWSER,
+        /** The markers. */
+        MARKER,
+        /** The scenes. */
+        SCENE,
+        /** The quantization. */
+        QUANTIZE,
+        /** The note repeat. */
+        NOTEREPEAT,
+        /** The groove. */
+        GROOVE
+    }
+
+
+    /** The type of the value which is sent with an address. */
+    public enum ValueType
+    {
+        /** An integer value. */
+        INT,
+        /** A double value. */
+        DOUBLE,
+        /** A text value. */
+        STRING
+    }
+
+
+    private static final UpdateAddress [] ADDRESSES = values ();
+
+    private final Group     group;
+    private final String    template;
+    private final ValueType valueType;
+    private final int       indexCount;
+    private final ModelArea area;
+
+
+    /**
+     * Constructor.
+     *
+     * @param group The model area
+     * @param template The path template
+     * @param valueType The type of the value
+     */
+    private UpdateAddress (final Group group, final String template, final ValueType valueType)
+    {
+        this.group = group;
+        this.template = template;
+        this.valueType = valueType;
+
+        int count = 0;
+        for (final String segment: template.split ("/"))
+        {
+            if ("#".equals (segment))
+                count++;
+        }
+        this.indexCount = count;
+        this.area = toArea (group, template);
+    }
+
+
+    /**
+     * Get the model area.
+     *
+     * @return The group
+     */
+    public Group getGroup ()
+    {
+        return this.group;
+    }
+
+
+    /**
+     * Get the area of the model which is changed by an update.
+     *
+     * @return The area
+     */
+    public ModelArea getArea ()
+    {
+        return this.area;
+    }
+
+
+    /**
+     * Get the path template.
+     *
+     * @return The template, e.g. /track/#/send/#/volume
+     */
+    public String getTemplate ()
+    {
+        return this.template;
+    }
+
+
+    /**
+     * Get the type of the value.
+     *
+     * @return The value type
+     */
+    public ValueType getValueType ()
+    {
+        return this.valueType;
+    }
+
+
+    /**
+     * Get the number of numeric index segments in the path.
+     *
+     * @return The number of indices, 0-2
+     */
+    public int getIndexCount ()
+    {
+        return this.indexCount;
+    }
+
+
+    /**
+     * Create a concrete path from the template.
+     *
+     * @param index The value for the first '#' segment
+     * @param subIndex The value for the second '#' segment
+     * @return The path, e.g. /track/3/send/1/volume
+     */
+    public String format (final int index, final int subIndex)
+    {
+        if (this.indexCount == 0)
+            return this.template;
+
+        final int pos = this.template.indexOf ('#');
+        final String path = this.template.substring (0, pos) + index + this.template.substring (pos + 1);
+        if (this.indexCount == 1)
+            return path;
+        final int pos2 = path.indexOf ('#');
+        return path.substring (0, pos2) + subIndex + path.substring (pos2 + 1);
+    }
+
+
+    /**
+     * Lookup an address by its ID in the binary protocol.
+     *
+     * @param id The ID
+     * @return The address or null if the ID is unknown
+     */
+    public static UpdateAddress fromID (final int id)
+    {
+        return id >= 0 && id < ADDRESSES.length ? ADDRESSES[id] : null;
+    }
+
+
+    /**
+     * Get the area of the model which is changed by an address. The VU meters and the play
+     * position change continuously during playback, therefore they have their own areas.
+     *
+     * @param group The group of the address
+     * @param template The path template of the address
+     * @return The area
+     */
+    private static ModelArea toArea (final Group group, final String template)
+    {
+        if (template.contains ("/vu"))
+            return ModelArea.METER;
+        if ("/time".equals (template) || "/time/str".equals (template) || "/beat".equals (template) || "/clip/playposition".equals (template))
+            return ModelArea.PLAY_POSITION;
+
+        switch (group)
+        {
+            case ACTION, PROJECT:
+                return ModelArea.PROJECT;
+            case TRACK_BANK, TRACK_FX, TRACK, MASTER, MASTER_FX:
+                return ModelArea.TRACK;
+            case DEVICE, PRIMARY, EQ:
+                return ModelArea.DEVICE;
+            case CLIP, MARKER, SCENE:
+                return ModelArea.CLIP;
+            case BROWSER:
+                return ModelArea.BROWSER;
+            default:
+                return ModelArea.TRANSPORT;
+        }
+    }
+}
@@ -0,0 +1,176 @@
+// Written by Jürgen Moßgraber - mossgrabers.de
+// (c) 2017-2026
+// Licensed under LGPLv3 - http://www.gnu.org/licenses/lgpl-3.0.txt
+
+package de.mossgrabers.reaper.communication;
+
+import de.mossgrabers.reaper.communication.UpdateAddress.ValueType;
+
+
+/**
+ * An immutable model update sent from Reaper. It is the already parsed form of a pseudo OSC
+ * message: the address, the numeric indices of the path and the decoded value.
+ *
+ * @author Jürgen Moßgraber
+ */
+public final class UpdateCommand
+{
+    /** Index value if the address does not contain an index. */
+    public static final int     NO_INDEX = -1;
+
+    private final UpdateAddress address;
+    private final int           index;
+    private final int           subIndex;
+    private final double        number;
+    private final String        text;
+
+
+    /**
+     * Constructor for a numeric value.
+     *
+     * @param address The address
+     * @param index The first index of the path or NO_INDEX
+     * @param subIndex The second index of the path or NO_INDEX
+     * @param value The numeric value
+     */
+    public UpdateCommand (final UpdateAddress address, final int index, final int subIndex, final double value)
+    {
+        this.address = address;
+        this.index = index;
+        this.subIndex = subIndex;
+        this.number = value;
+        this.text = null;
+    }
+
+
+    /**
+     * Constructor for a text value.
+     *
+     * @param address The address
+     * @param index The first index of the path or NO_INDEX
+     * @param subIndex The second index of the path or NO_INDEX
+     * @param value The text value, might be null
+     */
+    public UpdateCommand (final UpdateAddress address, final int index, final int subIndex, final String value)
+    {
+        this.address = address;
+        this.index = index;
+        this.subIndex = subIndex;
+        this.number = 0;
+        this.text = value;
+    }
+
+
+    /**
+     * Create a command from a textual value. The value is decoded depending on the value type of
+     * the address.
+     *
+     * @param address The address
+     * @param index The first index of the path or NO_INDEX
+     * @param subIndex The second index of the path or NO_INDEX
+     * @param value The value as text, might be null
+     * @return The command
+     * @throws NumberFormatException If the address requires a numeric value but the text cannot be
+     *             parsed
+     */
+    public static UpdateCommand fromText (final UpdateAddress address, final int index, final int subIndex, final String value)
+    {
+        if (address.getValueType () == ValueType.STRING)
+            return new UpdateCommand (address, index, subIndex, value);
+        if (value == null || value.isEmpty ())
+            return new UpdateCommand (address, index, subIndex, 0);
+        if (address.getValueType () == ValueType.INT)
+            return new UpdateCommand (address, index, subIndex, Integer.parseInt (value));
+        return new UpdateCommand (address, index, subIndex, Double.parseDouble (value));
+    }
+
+
+    /**
+     * Get the address.
+     *
+     * @return The address
+     */
+    public UpdateAddress getAddress ()
+    {
+        return this.address;
+    }
+
+
+    /**
+     * Get the first index of the path, e.g. the track position.
+     *
+     * @return The index or NO_INDEX
+     */
+    public int getIndex ()
+    {
+        return this.index;
+    }
+
+
+    /**
+     * Get the second index of the path, e.g. the send position.
+     *
+     * @return The index or NO_INDEX
+     */
+    public int getSubIndex ()
+    {
+        return this.subIndex;
+    }
+
+
+    /**
+     * Get the value as an integer.
+     *
+     * @return The value
+     */
+    public int getInt ()
+    {
+        return (int) this.number;
+    }
+
+
+    /**
+     * Get the value as a double.
+     *
+     * @return The value
+     */
+    public double getDouble ()
+    {
+        return this.number;
+    }
+
+
+    /**
+     * Get the value as a text.
+     *
+     * @return The value, might be null
+     */
+    public String getString ()
+    {
+        return this.text;
+    }
+
+
+    /**
+     * Test if the numeric value is larger than 0.
+     *
+     * @return True if larger than 0
+     */
+    public boolean isPositive ()
+    {
+        return this.number > 0;
+    }
+
+
+    /** {@inheritDoc} */
+    @Override
+    public String toString ()
+    {
+        final StringBuilder sb = new StringBuilder (this.address.format (this.index, this.subIndex)).append (' ');
+        if (this.address.getValueType () == ValueType.STRING)
+            sb.append (this.text);
+        else
+            sb.append (this.number);
+        return sb.toString ();
+    }
+}
@@ -0,0 +1,259 @@
+// Written by Jürgen Moßgraber - mossgrabers.de
+// (c) 2017-2026
+// Licensed under LGPLv3 - http://www.gnu.org/licenses/lgpl-3.0.txt
+
+package de.mossgrabers.reaper.communication;
+
+import de.mossgrabers.reaper.communication.UpdateAddress.ValueType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+
+/**
+ * Parses model updates in the pseudo OSC text format (e.g. '/track/3/volume 0.5'). The paths are
+ * resolved with a routing trie which is compiled once from all update addresses. Walking the trie
+ * works directly on the characters of the given text, numeric index segments are decoded without
+ * creating any objects. Only text and double values need to be extracted from the line.
+ *
+ * @author Jürgen Moßgraber
+ */
+public class UpdateParser
+{
+    private static final Node ROOT       = compile ();
+    private static final int  MAX_DIGITS = 9;
+
+    private final int []      indices    = new int [2];
+
+
+    /**
+     * Parse one line of the update text.
+     *
+     * @param data The text which contains the line
+     * @param start The index of the first character of the line
+     * @param end The index after the last character of the line
+     * @return The command or null if the path does not match any address
+     * @throws NumberFormatException If the address requires a numeric value but the text cannot be
+     *             parsed
+     */
+    public UpdateCommand parse (final String data, final int start, final int end)
+    {
+        int pathEnd = start;
+        while (pathEnd < end && data.charAt (pathEnd) != ' ')
+            pathEnd++;
+
+        final UpdateAddress address = this.resolve (data, start, pathEnd);
+        if (address == null)
+            return null;
+
+        final int index = this.indices[0];
+        final int subIndex = this.indices[1];
+
+        if (isBlank (data, pathEnd, end))
+            return UpdateCommand.fromText (address, index, subIndex, null);
+
+        final int valueStart = pathEnd + 1;
+        if (address.getValueType () == ValueType.INT)
+        {
+            final int value = parseInteger (data, valueStart, end);
+            if (value != Integer.MIN_VALUE)
+                return new UpdateCommand (address, index, subIndex, value);
+        }
+        return UpdateCommand.fromText (address, index, subIndex, data.substring (valueStart, end));
+    }
+
+
+    /**
+     * Resolve the address of a path. The numeric indices of the path are stored in the indices
+     * field.
+     *
+     * @param path The text which contains the path
+     * @param start The index of the first character of the path
+     * @param end The index after the last character of the path
+     * @return The address or null if the path does not match any address
+     */
+    private UpdateAddress resolve (final String path, final int start, final int end)
+    {
+        this.indices[0] = UpdateCommand.NO_INDEX;
+        this.indices[1] = UpdateCommand.NO_INDEX;
+
+        if (start >= end || path.charAt (start) != '/')
+            return null;
+
+        int indexCount = 0;
+        Node node = ROOT;
+        int segmentStart = start + 1;
+        while (true)
+        {
+            int segmentEnd = segmentStart;
+            while (segmentEnd < end && path.charAt (segmentEnd) != '/')
+                segmentEnd++;
+
+            Node next = node.findChild (path, segmentStart, segmentEnd);
+            if (next == null && node.indexChild != null && indexCount < this.indices.length)
+            {
+                final int value = parseIndex (path, segmentStart, segmentEnd);
+                if (value >= 0)
+                {
+                    this.indices[indexCount] = value;
+                    indexCount++;
+                    next = node.indexChild;
+                }
+            }
+            if (next == null)
+                next = node.wildcardChild;
+            if (next == null)
+                return null;
+
+            if (segmentEnd >= end)
+                return next.address;
+
+            node = next;
+            segmentStart = segmentEnd + 1;
+        }
+    }
+
+
+    /**
+     * Get all supported addresses as concrete example paths, e.g. '/track/0/send/1/volume'. Used
+     * to test that each address can be resolved.
+     *
+     * @return The paths, one for each address
+     */
+    static List<String> getSupportedPaths ()
+    {
+        final UpdateAddress [] addresses = UpdateAddress.values ();
+        final List<String> paths = new ArrayList<> (addresses.length);
+        for (final UpdateAddress address: addresses)
+            paths.add (address.format (0, 1));
+        return paths;
+    }
+
+
+    private static Node compile ()
+    {
+        final Node root = new Node ();
+        for (final UpdateAddress address: UpdateAddress.values ())
+        {
+            Node node = root;
+            final String [] segments = address.getTemplate ().split ("/");
+            // Ignore the first (empty) element
+            for (int i = 1; i < segments.length; i++)
+                node = node.addChild (segments[i]);
+            if (node.address != null)
+                throw new IllegalStateException ("Duplicate update address: " + address.getTemplate ());
+            node.address = address;
+        }
+        return root;
+    }
+
+
+    /**
+     * Parse a non-negative index.
+     *
+     * @param text The text
+     * @param start The start of the index
+     * @param end The end of the index
+     * @return The index or -1 if the text does not only contain digits
+     */
+    private static int parseIndex (final String text, final int start, final int end)
+    {
+        final int length = end - start;
+        if (length == 0 || length > MAX_DIGITS)
+            return -1;
+        int value = 0;
+        for (int i = start; i < end; i++)
+        {
+            final char c = text.charAt (i);
+            if (c < '0' || c > '9')
+                return -1;
+            value = value * 10 + c - '0';
+        }
+        return value;
+    }
+
+
+    /**
+     * Parse an integer value with an optional minus sign.
+     *
+     * @param text The text
+     * @param start The start of the value
+     * @param end The end of the value
+     * @return The value or Integer.MIN_VALUE if the value could not be parsed
+     */
+    private static int parseInteger (final String text, final int start, final int end)
+    {
+        final boolean isNegative = start < end && text.charAt (start) == '-';
+        final int value = parseIndex (text, isNegative ? start + 1 : start, end);
+        if (value < 0)
+            return Integer.MIN_VALUE;
+        return isNegative ? -value : value;
+    }
+
+
+    private static boolean isBlank (final String text, final int start, final int end)
+    {
+        for (int i = start; i < end; i++)
+        {
+            if (!Character.isWhitespace (text.charAt (i)))
+                return false;
+        }
+        return true;
+    }
+
+
+    /** A node of the routing trie. */
+    private static final class Node
+    {
+        private String []     names         = new String [0];
+        private Node []       children      = new Node [0];
+        private Node          indexChild;
+        private Node          wildcardChild;
+        private UpdateAddress address;
+
+
+        Node findChild (final String path, final int start, final int end)
+        {
+            final int length = end - start;
+            for (int i = 0; i < this.names.length; i++)
+            {
+                final String name = this.names[i];
+                if (name.length () == length && path.regionMatches (start, name, 0, length))
+                    return this.children[i];
+            }
+            return null;
+        }
+
+
+        Node addChild (final String segment)
+        {
+            if ("#".equals (segment))
+            {
+                if (this.indexChild == null)
+                    this.indexChild = new Node ();
+                return this.indexChild;
+            }
+
+            if ("*".equals (segment))
+            {
+                if (this.wildcardChild == null)
+                    this.wildcardChild = new Node ();
+                return this.wildcardChild;
+            }
+
+            for (int i = 0; i < this.names.length; i++)
+            {
+                if (this.names[i].equals (segment))
+                    return this.children[i];
+            }
+
+            final int size = this.names.length;
+            this.names = Arrays.copyOf (this.names, size + 1);
+            this.children = Arrays.copyOf (this.children, size + 1);
+            this.names[size] = segment;
+            this.children[size] = new Node ();
+            return this.children[size];
+        }
+    }
+}
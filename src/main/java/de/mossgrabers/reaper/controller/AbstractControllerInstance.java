@@ -8,17 +8,24 @@ import de.mossgrabers.framework.configuration.Configuration;
 import de.mossgrabers.framework.controller.IControlSurface;
 import de.mossgrabers.framework.controller.IControllerDefinition;
 import de.mossgrabers.framework.controller.IControllerSetup;
+import de.mossgrabers.framework.controller.hardware.ChangeTracker;
 import de.mossgrabers.framework.usb.UsbMatcher;
 import de.mossgrabers.framework.utils.OperatingSystem;
+import de.mossgrabers.framework.utils.TaskScheduler;
+import de.mossgrabers.framework.utils.TaskScheduler.Lane;
 import de.mossgrabers.framework.utils.TestCallback;
 import de.mossgrabers.reaper.communication.BackendExchange;
 import de.mossgrabers.reaper.communication.MessageParser;
+import de.mossgrabers.reaper.communication.UpdateAddress;
+import de.mossgrabers.reaper.communication.UpdateCommand;
 import de.mossgrabers.reaper.framework.Actions;
 import de.mossgrabers.reaper.framework.IniFiles;
 import de.mossgrabers.reaper.framework.ReaperSetupFactory;
 import de.mossgrabers.reaper.framework.configuration.DocumentSettingsUI;
 import de.mossgrabers.reaper.framework.configuration.GlobalSettingsUI;
 import de.mossgrabers.reaper.framework.daw.HostImpl;
+import de.mossgrabers.reaper.framework.graphics.SVGImage;
+import de.mossgrabers.reaper.framework.graphics.TextLayoutCache;
 import de.mossgrabers.reaper.framework.midi.MidiAccessImpl;
 import de.mossgrabers.reaper.framework.midi.MissingMidiDevice;
 import de.mossgrabers.reaper.ui.SimulatorWindow;
@@ -208,6 +215,11 @@ public abstract class AbstractControllerInstance<S extends IControlSurface<C>, C
             }
 
             this.logModel.info ("Closing controller...");
+            this.logModel.info ("Evaluated control outputs (all controllers): " + ChangeTracker.getEvaluations () + ", skipped unchanged: " + ChangeTracker.getSkips ());
+            for (final Lane lane: Lane.values ())
+                this.logModel.info ("Scheduler lane " + TaskScheduler.getInstance ().getStatistics (lane));
+            this.logModel.info ("Text layout cache (all controllers): " + TextLayoutCache.getStatistics ());
+            this.logModel.info ("Icon cache (all controllers): " + SVGImage.getCacheStatistics ());
             if (this.controllerSetup != null)
                 this.controllerSetup.exit ();
 
@@ -270,7 +282,13 @@ public abstract class AbstractControllerInstance<S extends IControlSurface<C>, C
     {
         synchronized (this.startSync)
         {
-            if (!this.isEnabled () || !this.isRunning)
+            if (!this.isRunning)
+                return;
+
+            // Apply the received OSC messages before the state is sent to the controller
+            this.host.dispatchOSC ();
+
+            if (!this.isEnabled ())
                 return;
 
             if (this.controllerSetup != null)
@@ -283,18 +301,21 @@ public abstract class AbstractControllerInstance<S extends IControlSurface<C>, C
 
     /** {@inheritDoc} */
     @Override
-    public void parse (final String address, final String argument)
+    public void apply (final UpdateCommand command)
     {
         if (this.oscParser == null)
             return;
 
-        if ("/action/select".equals (address))
+        if (command.getAddress () == UpdateAddress.ACTION_SELECT)
         {
             if (this.configurationDialog != null)
-                this.configurationDialog.setAction (argument);
+                this.configurationDialog.setAction (command.getString ());
         }
         else
-            this.oscParser.parseOSC (address, argument);
+        {
+            this.oscParser.apply (command);
+            this.host.getModelChanges (command.getAddress ().getArea ()).changed ();
+        }
     }
 
 
@@ -333,7 +354,7 @@ public abstract class AbstractControllerInstance<S extends IControlSurface<C>, C
             return;
 
         if (this.simulators.isEmpty ())
-            this.controllerSetup.getSurfaces ().forEach (surface -> this.simulators.add (new SimulatorWindow (surface, this.toString (), true)));
+            this.controllerSetup.getSurfaces ().forEach (surface -> this.simulators.add (new SimulatorWindow (surface, this.host.getInputChanges (), this.toString (), true)));
 
         this.simulators.forEach (simulator -> simulator.setVisible (true));
     }
@@ -8,6 +8,7 @@ import de.mossgrabers.framework.controller.IControllerDefinition;
 import de.mossgrabers.framework.controller.IControllerSetup;
 import de.mossgrabers.framework.daw.data.ICursorDevice;
 import de.mossgrabers.reaper.communication.BackendExchange;
+import de.mossgrabers.reaper.communication.UpdateCommand;
 import de.mossgrabers.reaper.controller.ableton.push.Push1ControllerInstance;
 import de.mossgrabers.reaper.controller.ableton.push.Push2ControllerInstance;
 import de.mossgrabers.reaper.controller.ableton.push.Push3ControllerInstance;
@@ -265,25 +266,27 @@ public class ControllerInstanceManager
 
 
     /**
-     * Parse an incoming DAW message into all configured controllers.
+     * Apply already parsed DAW messages to all configured controllers. The commands are parsed
+     * only once and the same (immutable) list is shared by all instances.
      *
-     * @param address The message address
-     * @param argument The argument
+     * @param commands The update commands
      */
-    public void parseAll (final String address, final String argument)
+    public void applyAll (final List<UpdateCommand> commands)
     {
         this.instances.forEach (inst -> {
-            try
-            {
-                if (inst.isEnabled ())
-                    inst.parse (address, argument);
-            }
-            catch (final RuntimeException ex)
+            if (!inst.isEnabled ())
+                return;
+
+            for (final UpdateCommand command: commands)
             {
-                final StringBuilder sb = new StringBuilder ("Could not parse OSC message: ").append (address).append (" ");
-                if (argument != null)
-                    sb.append (argument);
-                this.logModel.error (sb.toString (), ex);
+                try
+                {
+                    inst.apply (command);
+                }
+                catch (final RuntimeException ex)
+                {
+                    this.logModel.error ("Could not apply model update: " + command, ex);
+                }
             }
         });
     }
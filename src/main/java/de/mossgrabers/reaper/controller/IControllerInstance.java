@@ -6,6 +6,7 @@ package de.mossgrabers.reaper.controller;
 
 import de.mossgrabers.framework.controller.IControllerDefinition;
 import de.mossgrabers.framework.controller.IControllerSetup;
+import de.mossgrabers.reaper.communication.UpdateCommand;
 import de.mossgrabers.reaper.framework.configuration.DocumentSettingsUI;
 import de.mossgrabers.reaper.framework.configuration.GlobalSettingsUI;
 
@@ -82,12 +83,11 @@ public interface IControllerInstance
 
 
     /**
-     * Parse an incoming DAW message into the model.
+     * Apply an already parsed DAW message to the model.
      *
-     * @param address The message address
-     * @param argument The argument
+     * @param command The update command
      */
-    void parse (String address, String argument);
+    void apply (UpdateCommand command);
 
 
     /**
@@ -12,36 +12,43 @@ import java.io.File;
 import java.io.FileReader;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.Set;
 
 
 /**
- * Manages access to the different Reaper INI files.
+ * Manages access to the different Reaper INI files. The files are only loaded when they are
+ * accessed the first time, which is not necessary if the device information can be taken from the
+ * device catalogue cache.
  *
  * @author Jürgen Moßgraber
  */
 public class IniFiles
 {
-    private static final String OPTION_FORMAT_NO_SPACES = "%s%s%s";
-    private static final String FX_TAGS                 = "reaper-fxtags.ini";
-    private static final String FX_FOLDERS              = "reaper-fxfolders.ini";
-    private static final String PARAM_MAPS              = "DrivenByMoss4Reaper-ParameterMaps.ini";
-    private static final String REAPER_MAIN             = "REAPER.ini";
-    private static final String REAPER_MAIN2            = "reaper.ini";
-
-    private final IniEditor     iniFxTags               = new IniEditor ();
-    private final IniEditor     iniFxFolders            = new IniEditor ();
-    private final IniEditor     iniDeviceMaps           = new IniEditor ();
-    private final IniEditor     iniReaperMain           = new IniEditor ();
-
-    private String              iniPath;
-    private LogModel            logModel;
-
-    private boolean             isFxTagsPresent;
-    private boolean             isFxFoldersPresent;
-    private boolean             isParamMapsPresent;
-    private String              paramMapsFilename;
-    private File                reaperINIFile;
-    private long                reaperINILastChange     = -1;
+    private static final String  OPTION_FORMAT_NO_SPACES = "%s%s%s";
+    private static final String  FX_TAGS                 = "reaper-fxtags.ini";
+    private static final String  FX_FOLDERS              = "reaper-fxfolders.ini";
+    private static final String  PARAM_MAPS              = "DrivenByMoss4Reaper-ParameterMaps.ini";
+    private static final String  REAPER_MAIN             = "REAPER.ini";
+    private static final String  REAPER_MAIN2            = "reaper.ini";
+
+    private final IniEditor      iniFxTags               = new IniEditor ();
+    private final IniEditor      iniFxFolders            = new IniEditor ();
+    private final IniEditor      iniDeviceMaps           = new IniEditor ();
+    private final IniEditor      iniReaperMain           = new IniEditor ();
+    private final Set<IniEditor> loadedFiles             = new HashSet<> ();
+
+    private String               iniPath;
+    private LogModel             logModel;
+
+    private boolean              isFxTagsPresent;
+    private boolean              isFxFoldersPresent;
+    private boolean              isParamMapsPresent;
+    private File                 fxTagsFile;
+    private File                 fxFoldersFile;
+    private File                 paramMapsFile;
+    private File                 reaperINIFile;
+    private long                 reaperINILastChange     = -1;
 
 
     /**
@@ -68,7 +75,7 @@ public class IniFiles
 
 
     /**
-     * Load all INI files.
+     * Set the location of the INI files. The files are loaded on demand.
      *
      * @param iniPath The path to the INI files
      * @param logModel Where to log errors
@@ -81,12 +88,13 @@ public class IniFiles
         this.reaperINIFile = new File (iniPath + File.separator + REAPER_MAIN);
         if (!this.reaperINIFile.exists ())
             this.reaperINIFile = new File (iniPath + File.separator + REAPER_MAIN2);
-        this.loadReaperINI ();
 
-        this.isFxTagsPresent = this.loadINIFile (iniPath + File.separator + FX_TAGS, this.iniFxTags);
-        this.isFxFoldersPresent = this.loadINIFile (iniPath + File.separator + FX_FOLDERS, this.iniFxFolders);
-        this.paramMapsFilename = iniPath + File.separator + PARAM_MAPS;
-        this.isParamMapsPresent = this.loadINIFile (this.paramMapsFilename, this.iniDeviceMaps);
+        this.fxTagsFile = new File (iniPath + File.separator + FX_TAGS);
+        this.isFxTagsPresent = this.checkINIFile (this.fxTagsFile);
+        this.fxFoldersFile = new File (iniPath + File.separator + FX_FOLDERS);
+        this.isFxFoldersPresent = this.checkINIFile (this.fxFoldersFile);
+        this.paramMapsFile = new File (iniPath + File.separator + PARAM_MAPS);
+        this.isParamMapsPresent = this.checkINIFile (this.paramMapsFile);
     }
 
 
@@ -97,7 +105,7 @@ public class IniFiles
      */
     public IniEditor getIniFxTags ()
     {
-        return this.iniFxTags;
+        return this.getLoadedINIFile (this.iniFxTags, this.fxTagsFile, this.isFxTagsPresent);
     }
 
 
@@ -108,7 +116,7 @@ public class IniFiles
      */
     public IniEditor getIniFxFolders ()
     {
-        return this.iniFxFolders;
+        return this.getLoadedINIFile (this.iniFxFolders, this.fxFoldersFile, this.isFxFoldersPresent);
     }
 
 
@@ -119,7 +127,40 @@ public class IniFiles
      */
     public IniEditor getIniParamMaps ()
     {
-        return this.iniDeviceMaps;
+        return this.getLoadedINIFile (this.iniDeviceMaps, this.paramMapsFile, this.isParamMapsPresent);
+    }
+
+
+    /**
+     * Get the location of the FX tags configuration file.
+     *
+     * @return The file, might not exist
+     */
+    public File getFxTagsFile ()
+    {
+        return this.fxTagsFile;
+    }
+
+
+    /**
+     * Get the location of the FX folders configuration file.
+     *
+     * @return The file, might not exist
+     */
+    public File getFxFoldersFile ()
+    {
+        return this.fxFoldersFile;
+    }
+
+
+    /**
+     * Get the location of the parameter maps configuration file.
+     *
+     * @return The file, might not exist
+     */
+    public File getParamMapsFile ()
+    {
+        return this.paramMapsFile;
     }
 
 
@@ -130,14 +171,14 @@ public class IniFiles
      */
     public void storeIniParamMaps () throws IOException
     {
-        this.iniDeviceMaps.save (this.paramMapsFilename);
+        this.getIniParamMaps ().save (this.paramMapsFile.getAbsolutePath ());
     }
 
 
     /**
      * Is the FX tags configuration file present?
      *
-     * @return True if successfully loaded
+     * @return True if the file exists
      */
     public boolean isFxTagsPresent ()
     {
@@ -148,7 +189,7 @@ public class IniFiles
     /**
      * Is the FX folders configuration file present?
      *
-     * @return True if successfully loaded
+     * @return True if the file exists
      */
     public boolean isFxFoldersPresent ()
     {
@@ -159,7 +200,7 @@ public class IniFiles
     /**
      * Is the parameter maps configuration file present?
      *
-     * @return True if successfully loaded
+     * @return True if the file exists
      */
     public boolean isParamMapsPresent ()
     {
@@ -219,15 +260,36 @@ public class IniFiles
 
 
     /**
-     * Load an INI file.
+     * Load an INI file if it was not already loaded.
      *
-     * @param filename The absolute filename to try
      * @param iniFile The INI file
-     * @return True if successfully loaded
+     * @param file The file to load
+     * @param isPresent True if the file exists
+     * @return The INI file
+     */
+    private IniEditor getLoadedINIFile (final IniEditor iniFile, final File file, final boolean isPresent)
+    {
+        synchronized (this.loadedFiles)
+        {
+            if (isPresent && this.loadedFiles.add (iniFile))
+                this.loadINIFile (file, iniFile);
+        }
+        return iniFile;
+    }
+
+
+    /**
+     * Check if an INI file exists.
+     *
+     * @param file The file to check
+     * @return True if the file exists
      */
-    private boolean loadINIFile (final String filename, final IniEditor iniFile)
+    private boolean checkINIFile (final File file)
     {
-        return this.loadINIFile (new File (filename), iniFile);
+        if (file.exists ())
+            return true;
+        this.logModel.info (file.getName () + " not present (this is not an error!).");
+        return false;
     }
 
 
@@ -30,6 +30,7 @@ import de.mossgrabers.reaper.framework.device.column.DeviceLocationFilterColumn;
 import de.mossgrabers.reaper.framework.device.column.DeviceTagsFilterColumn;
 import de.mossgrabers.reaper.framework.device.column.DeviceTypeFilterColumn;
 import de.mossgrabers.reaper.framework.device.column.EmptyFilterColumn;
+import de.mossgrabers.reaper.ui.WindowManager;
 import de.mossgrabers.reaper.ui.dialog.BrowserDialog;
 
 import com.nikhaldimann.inieditor.IniEditor;
@@ -106,7 +107,8 @@ public class BrowserImpl extends AbstractBrowser
 
     private final BackendExchange                         sender;
     private final IBrowserColumn [] []                    columnDataContentTypes;
-    private final BrowserDialog                           browserWindow;
+    private final WindowManager                           windowManager;
+    private volatile BrowserDialog                        browserWindow;
     private int                                           insertPosition;
     private final Object                                  parsePresetFileLock = new Object ();
 
@@ -163,7 +165,7 @@ public class BrowserImpl extends AbstractBrowser
         for (final IBrowserColumn column: this.columnDataContentTypes[BrowserContentType.DEVICE.ordinal ()])
             ((BaseColumn) column).addSelectionListener ( () -> this.updateFilteredDevices (true));
 
-        this.browserWindow = ((HostImpl) dataSetup.getHost ()).getWindowManager ().getMainFrame ().getBrowserDialog ();
+        this.windowManager = ((HostImpl) dataSetup.getHost ()).getWindowManager ();
 
         this.enableObservers (false);
     }
@@ -269,10 +271,11 @@ public class BrowserImpl extends AbstractBrowser
             this.updateFilteredDevices (false);
 
         SwingUtilities.invokeLater ( () -> {
-            this.browserWindow.updateFilters ();
-            this.browserWindow.updateResults (this.selectedIndex);
-            this.browserWindow.setVisible (true);
-            this.browserWindow.toFront ();
+            final BrowserDialog window = this.getBrowserWindow ();
+            window.updateFilters ();
+            window.updateResults (this.selectedIndex);
+            window.setVisible (true);
+            window.toFront ();
         });
     }
 
@@ -361,7 +364,7 @@ public class BrowserImpl extends AbstractBrowser
     {
         this.stopBrowsing (false);
 
-        SwingUtilities.invokeLater ( () -> this.browserWindow.open (this));
+        SwingUtilities.invokeLater ( () -> this.getBrowserWindow ().open (this));
 
         this.enableObservers (true);
         this.insertPosition = insertPos;
@@ -375,7 +378,9 @@ public class BrowserImpl extends AbstractBrowser
     @Override
     public void stopBrowsing (final boolean commitSelection)
     {
-        this.browserWindow.close (false, false);
+        final BrowserDialog window = this.browserWindow;
+        if (window != null)
+            window.close (false, false);
 
         if (!this.isBrowserActive)
             return;
@@ -466,7 +471,11 @@ public class BrowserImpl extends AbstractBrowser
     {
         final int length = this.isPresetContentType () ? this.presetModel.getSize () : this.filteredDevices.size ();
         this.selectedIndex = Math.min (Math.max (0, index), length - 1);
-        SwingUtilities.invokeLater ( () -> this.browserWindow.updateResultSelection (this.selectedIndex));
+        SwingUtilities.invokeLater ( () -> {
+            final BrowserDialog window = this.browserWindow;
+            if (window != null)
+                window.updateResultSelection (this.selectedIndex);
+        });
     }
 
 
@@ -534,7 +543,29 @@ public class BrowserImpl extends AbstractBrowser
             this.selectedIndex = 0;
 
         if (alsoUpdateResults)
-            SwingUtilities.invokeLater ( () -> this.browserWindow.updateResults (this.selectedIndex));
+            SwingUtilities.invokeLater ( () -> {
+                final BrowserDialog window = this.browserWindow;
+                if (window != null)
+                    window.updateResults (this.selectedIndex);
+            });
+    }
+
+
+    /**
+     * Get the browser window. It is created with the first access, since the controllers can also
+     * run without a display.
+     *
+     * @return The browser window
+     */
+    private BrowserDialog getBrowserWindow ()
+    {
+        BrowserDialog window = this.browserWindow;
+        if (window == null)
+        {
+            window = this.windowManager.getMainFrame ().getBrowserDialog ();
+            this.browserWindow = window;
+        }
+        return window;
     }
 
 
@@ -0,0 +1,37 @@
+// Written by Jürgen Moßgraber - mossgrabers.de
+// (c) 2017-2026
+// Licensed under LGPLv3 - http://www.gnu.org/licenses/lgpl-3.0.txt
+
+package de.mossgrabers.reaper.framework.daw;
+
+import de.mossgrabers.framework.observer.IChangeSource;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+
+/**
+ * A thread-safe change generation. Must be increased after the state it covers has been changed.
+ *
+ * @author Jürgen Moßgraber
+ */
+public class ChangeGeneration implements IChangeSource
+{
+    private final AtomicLong generation = new AtomicLong ();
+
+
+    /**
+     * Signal that the state has changed.
+     */
+    public void changed ()
+    {
+        this.generation.incrementAndGet ();
+    }
+
+
+    /** {@inheritDoc} */
+    @Override
+    public long getGeneration ()
+    {
+        return this.generation.get ();
+    }
+}
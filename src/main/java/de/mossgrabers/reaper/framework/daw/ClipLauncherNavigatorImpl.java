@@ -11,9 +11,11 @@ import de.mossgrabers.framework.daw.data.ISlot;
 import de.mossgrabers.framework.daw.data.ITrack;
 import de.mossgrabers.framework.daw.data.bank.ISceneBank;
 import de.mossgrabers.framework.daw.data.bank.ISlotBank;
-import de.mossgrabers.framework.utils.LatestTaskExecutor;
+import de.mossgrabers.framework.utils.TaskScheduler;
+import de.mossgrabers.framework.utils.TaskScheduler.Lane;
 
 import java.util.Optional;
+import java.util.concurrent.ScheduledFuture;
 
 
 /**
@@ -23,11 +25,15 @@ import java.util.Optional;
  */
 public class ClipLauncherNavigatorImpl implements IClipLauncherNavigator
 {
-    private final IModel             model;
-    private final Object             navigateLock       = new Object ();
-    private final LatestTaskExecutor slotScrollExecutor = new LatestTaskExecutor ();
-    private long                     lastEdit;
-    private int                      targetSlot         = -1;
+    /** The interval in milliseconds in which the slot selection is checked while navigating. */
+    private static final long  SELECT_INTERVAL = 50;
+
+    private final IModel       model;
+    private final Object       navigateLock    = new Object ();
+    private long               lastEdit;
+    private int                targetSlot      = -1;
+    private ScheduledFuture<?> selectTask;
+    private boolean            isShutdown      = false;
 
 
     /**
@@ -46,7 +52,12 @@ public class ClipLauncherNavigatorImpl implements IClipLauncherNavigator
      */
     public void shutdown ()
     {
-        this.slotScrollExecutor.shutdown ();
+        synchronized (this.navigateLock)
+        {
+            this.isShutdown = true;
+            if (this.selectTask != null)
+                this.selectTask.cancel (false);
+        }
     }
 
 
@@ -113,7 +124,8 @@ public class ClipLauncherNavigatorImpl implements IClipLauncherNavigator
                 cursorTrack.selectNext ();
 
             this.lastEdit = System.currentTimeMillis ();
-            this.slotScrollExecutor.execute (this::selectSlot);
+            if (this.selectTask == null)
+                this.scheduleSelectSlot ();
         }
     }
 
@@ -158,32 +170,32 @@ public class ClipLauncherNavigatorImpl implements IClipLauncherNavigator
             if (doesExist)
             {
                 this.lastEdit = System.currentTimeMillis ();
-                this.slotScrollExecutor.execute (this::selectSlot);
+                if (this.selectTask == null)
+                    this.scheduleSelectSlot ();
             }
         }
     }
 
 
+    /**
+     * Check the slot selection again after a short delay. The check does not block the lane while
+     * waiting. Must be called while holding the navigate lock.
+     */
+    private void scheduleSelectSlot ()
+    {
+        if (!this.isShutdown)
+            this.selectTask = TaskScheduler.getInstance ().schedule (Lane.TIMER, this::selectSlot, SELECT_INTERVAL);
+    }
+
+
     private void selectSlot ()
     {
         synchronized (this.navigateLock)
         {
+            this.selectTask = null;
             if (this.targetSlot < 0)
                 return;
-        }
 
-        try
-        {
-            Thread.sleep (50);
-        }
-        catch (final InterruptedException ex)
-        {
-            Thread.currentThread ().interrupt ();
-            return;
-        }
-
-        synchronized (this.navigateLock)
-        {
             final long diff = System.currentTimeMillis () - this.lastEdit;
 
             // Finally done
@@ -200,7 +212,7 @@ public class ClipLauncherNavigatorImpl implements IClipLauncherNavigator
                 cursorTrack.getSlotBank ().getItem (this.targetSlot).select ();
             }
 
-            this.slotScrollExecutor.execute (this::selectSlot);
+            this.scheduleSelectSlot ();
         }
     }
 }
@@ -38,7 +38,7 @@ public class CursorClipImpl extends BaseImpl implements INoteClip
     private final int                   numRows;
     private double                      stepLength;
     private final List<Note>            notes        = new ArrayList<> ();
-    private final StepInfoImpl [] [] [] data;
+    private final StepIndex             stepIndex;
     private int                         editPage     = 0;
     private int                         maxPage      = 1;
     private final List<NotePosition>    editSteps    = new ArrayList<> ();
@@ -59,16 +59,7 @@ public class CursorClipImpl extends BaseImpl implements INoteClip
         this.numRows = numRows;
         this.stepLength = 1.0 / 4.0; // 16th
 
-        this.data = new StepInfoImpl [16] [this.numSteps] [];
-        for (int channel = 0; channel < 16; channel++)
-        {
-            for (int step = 0; step < this.numSteps; step++)
-            {
-                this.data[channel][step] = new StepInfoImpl [this.numRows];
-                for (int row = 0; row < this.numRows; row++)
-                    this.data[channel][step][row] = new StepInfoImpl ();
-            }
-        }
+        this.stepIndex = new StepIndex (numSteps, numRows);
     }
 
 
@@ -386,9 +377,8 @@ public class CursorClipImpl extends BaseImpl implements INoteClip
 
         synchronized (this.notes)
         {
-            if (step < 0 || row < 0 || step >= this.data[channel].length || row >= this.data[channel][step].length)
-                return EMPTY_STEP;
-            return this.data[channel][step][row];
+            final StepInfoImpl stepInfo = this.stepIndex.get (channel, step, row);
+            return stepInfo == null ? EMPTY_STEP : stepInfo;
         }
     }
 
@@ -827,7 +817,12 @@ public class CursorClipImpl extends BaseImpl implements INoteClip
             this.sendClipData (editStep);
         this.editSteps.clear ();
 
-        this.updateNoteData ();
+        // Drop the locally edited steps
+        synchronized (this.notes)
+        {
+            this.stepIndex.reset ();
+            this.updateNoteData ();
+        }
     }
 
 
@@ -847,7 +842,7 @@ public class CursorClipImpl extends BaseImpl implements INoteClip
      */
     private void sendClipData (final NotePosition notePosition)
     {
-        final IStepInfo stepInfo = this.data[notePosition.getChannel ()][notePosition.getStep ()][notePosition.getNote ()];
+        final IStepInfo stepInfo = this.getStep (notePosition);
         final double velocity = stepInfo.getVelocity ();
         this.updateStep (notePosition, (int) (velocity * 127), stepInfo.getDuration (), stepInfo.isMuted ());
     }
@@ -905,12 +900,7 @@ public class CursorClipImpl extends BaseImpl implements INoteClip
     {
         synchronized (this.notes)
         {
-            for (int step = 0; step < this.numSteps; step++)
-            {
-                if (this.data[channel][step][row].getState () != StepState.OFF)
-                    return true;
-            }
-            return false;
+            return this.stepIndex.hasRowData (channel, row);
         }
     }
 
@@ -921,12 +911,7 @@ public class CursorClipImpl extends BaseImpl implements INoteClip
     {
         synchronized (this.notes)
         {
-            for (int row = 0; row < 128; row++)
-            {
-                if (this.data[channel][column][row].getState () != StepState.OFF)
-                    return true;
-            }
-            return false;
+            return this.stepIndex.hasColumnData (channel, column);
         }
     }
 
@@ -965,10 +950,10 @@ public class CursorClipImpl extends BaseImpl implements INoteClip
     @Override
     public int getLowestRowWithData (final int channel)
     {
-        for (int row = 0; row < this.numRows; row++)
-            if (this.hasRowData (channel, row))
-                return row;
-        return -1;
+        synchronized (this.notes)
+        {
+            return this.stepIndex.getLowestRow (channel);
+        }
     }
 
 
@@ -976,10 +961,10 @@ public class CursorClipImpl extends BaseImpl implements INoteClip
     @Override
     public int getHighestRowWithData (final int channel)
     {
-        for (int row = this.numRows - 1; row >= 0; row--)
-            if (this.hasRowData (channel, row))
-                return row;
-        return -1;
+        synchronized (this.notes)
+        {
+            return this.stepIndex.getHighestRow (channel);
+        }
     }
 
 
@@ -989,13 +974,8 @@ public class CursorClipImpl extends BaseImpl implements INoteClip
     {
         synchronized (this.notes)
         {
-            for (int row = this.numRows - 1; row >= 0; row--)
-            {
-                if (this.data[channel] != null && this.data[channel][step] != null && this.data[channel][step][row] != null && this.data[channel][step][row].getState () != StepState.OFF)
-                    return row;
-            }
+            return this.stepIndex.getHighestRow (channel, step);
         }
-        return -1;
     }
 
 
@@ -1153,57 +1133,11 @@ public class CursorClipImpl extends BaseImpl implements INoteClip
     {
         synchronized (this.notes)
         {
-            // Clear the data array
-            for (int channel = 0; channel < 16; channel++)
-            {
-                for (int row = 0; row < this.numRows; row++)
-                {
-                    for (int step = 0; step < this.numSteps; step++)
-                    {
-                        final StepInfoImpl stepInfo = this.data[channel][step][row];
-                        if (this.editSteps.isEmpty ())
-                            stepInfo.setState (StepState.OFF);
-                    }
-                }
-            }
-            this.notes.forEach (this::updateNote);
             this.calcPages ();
-        }
-    }
-
-
-    private void updateNote (final Note note)
-    {
-        // Is the note on the current page window?
-        final int row = note.getPitch ();
-        if (row < 0 || row >= this.numRows)
-            return;
-
-        final int step = (int) Math.floor (note.getStart () / this.stepLength);
-        final int pageOffset = this.editPage * this.numSteps;
-        final int relToPage = step - pageOffset;
-        if (relToPage < 0 || relToPage >= this.numSteps)
-            return;
 
-        final int channel = note.getChannel ();
-        final StepInfoImpl stepInfo = this.data[channel][relToPage][row];
-        if (!this.editSteps.isEmpty ())
-            return;
-
-        stepInfo.setSelected (note.isSelected ());
-        stepInfo.setMuted (note.isMuted ());
-        stepInfo.setState (StepState.START);
-        stepInfo.setDuration (note.getEnd () - note.getStart ());
-        stepInfo.setVelocity (note.getVelocity () / 127.0);
-
-        // Extend longer notes
-        final int endStep = Math.min ((int) Math.floor (note.getEnd () / this.stepLength) - pageOffset, this.numSteps);
-        for (int i = relToPage + 1; i < endStep; i++)
-        {
-            final StepInfoImpl stepInfoEx = this.data[channel][i][row];
-            stepInfoEx.setState (StepState.CONTINUE);
-            stepInfoEx.setSelected (note.isSelected ());
-            stepInfoEx.setMuted (note.isMuted ());
+            // Keep the steps unchanged while they are edited
+            if (this.editSteps.isEmpty ())
+                this.stepIndex.update (this.notes, this.stepLength, this.editPage * this.numSteps);
         }
     }
 
@@ -1246,23 +1180,10 @@ public class CursorClipImpl extends BaseImpl implements INoteClip
     public NotePosition getNextNote (final NotePosition activeNotePosition, final boolean ignoreChannel)
     {
         final NotePosition pos = activeNotePosition == null ? new NotePosition (0, 0, 128) : activeNotePosition;
-        final int channel = pos.getChannel ();
-        final int channelStart = ignoreChannel ? 0 : channel;
-        final int channelEnd = ignoreChannel ? 16 : channel + 1;
-
-        for (int step = pos.getStep (); step < this.numSteps; step++)
+        synchronized (this.notes)
         {
-            final int startNote = step == pos.getStep () ? pos.getNote () - 1 : 127;
-            for (int row = startNote; row >= 0; row--)
-            {
-                for (int chn = channelStart; chn < channelEnd; chn++)
-                {
-                    if (this.data[chn] != null && this.data[chn][step] != null && this.data[chn][step][row] != null && this.data[chn][step][row].getState () == StepState.START)
-                        return new NotePosition (channel, step, row);
-                }
-            }
+            return this.stepIndex.getNextNote (pos, ignoreChannel ? -1 : pos.getChannel ());
         }
-        return null;
     }
 
 
@@ -1271,22 +1192,9 @@ public class CursorClipImpl extends BaseImpl implements INoteClip
     public NotePosition getPreviousNote (final NotePosition activeNotePosition, final boolean ignoreChannel)
     {
         final NotePosition pos = activeNotePosition == null ? new NotePosition (0, this.numSteps - 1, -1) : activeNotePosition;
-        final int channel = pos.getChannel ();
-        final int channelStart = ignoreChannel ? 0 : channel;
-        final int channelEnd = ignoreChannel ? 16 : channel + 1;
-
-        for (int step = pos.getStep (); step >= 0; step--)
+        synchronized (this.notes)
         {
-            final int startNote = step == pos.getStep () ? pos.getNote () + 1 : 0;
-            for (int row = startNote; row < 128; row++)
-            {
-                for (int chn = channelStart; chn < channelEnd; chn++)
-                {
-                    if (this.data[chn] != null && this.data[chn][step] != null && this.data[chn][step][row] != null && this.data[chn][step][row].getState () == StepState.START)
-                        return new NotePosition (channel, step, row);
-                }
-            }
+            return this.stepIndex.getPreviousNote (pos, ignoreChannel ? -1 : pos.getChannel ());
         }
-        return null;
     }
 }
\ No newline at end of file
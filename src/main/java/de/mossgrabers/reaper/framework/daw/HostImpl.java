@@ -11,6 +11,8 @@ import de.mossgrabers.framework.daw.constants.Capability;
 import de.mossgrabers.framework.daw.data.IDeviceMetadata;
 import de.mossgrabers.framework.graphics.IBitmap;
 import de.mossgrabers.framework.graphics.IImage;
+import de.mossgrabers.framework.observer.IChangeSource;
+import de.mossgrabers.framework.observer.ModelArea;
 import de.mossgrabers.framework.osc.IOpenSoundControlCallback;
 import de.mossgrabers.framework.osc.IOpenSoundControlClient;
 import de.mossgrabers.framework.osc.IOpenSoundControlMessage;
@@ -19,6 +21,8 @@ import de.mossgrabers.framework.parameter.NoteAttribute;
 import de.mossgrabers.framework.usb.IUsbDevice;
 import de.mossgrabers.framework.usb.UsbException;
 import de.mossgrabers.framework.usb.UsbMatcher;
+import de.mossgrabers.framework.utils.TaskScheduler;
+import de.mossgrabers.framework.utils.TaskScheduler.Lane;
 import de.mossgrabers.reaper.controller.IControllerInstance;
 import de.mossgrabers.reaper.framework.device.DeviceManager;
 import de.mossgrabers.reaper.framework.graphics.BitmapImpl;
@@ -33,14 +37,12 @@ import de.mossgrabers.reaper.ui.utils.LogModel;
 import de.mossgrabers.reaper.ui.utils.SafeRunLater;
 
 import java.awt.Color;
+import java.awt.GraphicsEnvironment;
 import java.util.ArrayList;
 import java.util.EnumSet;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.TimeUnit;
 
 
 /**
@@ -62,13 +64,17 @@ public class HostImpl implements IHost
 
     private final WindowManager                    windowManager;
     private final LogModel                         logModel;
-    private final ScheduledExecutorService         executor       = Executors.newScheduledThreadPool (10);
-    private final List<UsbMatcher>                 usbDeviceInfos = new ArrayList<> ();
-    private final List<IUsbDevice>                 usbDevices     = new ArrayList<> ();
-    private final List<OpenSoundControlClientImpl> oscSenders     = new ArrayList<> ();
-    private final List<OpenSoundControlServerImpl> oscReceivers   = new ArrayList<> ();
-    private final NotificationWindow               notificationWindow;
+    private final List<UsbMatcher>                 usbDeviceInfos   = new ArrayList<> ();
+    private final List<IUsbDevice>                 usbDevices       = new ArrayList<> ();
+    private final List<OpenSoundControlClientImpl> oscSenders       = new ArrayList<> ();
+    private final List<OpenSoundControlServerImpl> oscReceivers     = new ArrayList<> ();
+    private final Object                           notificationLock = new Object ();
+    private NotificationWindow                     notificationWindow;
     private final IControllerInstance              controllerInstance;
+    private final ChangeGeneration []              modelChanges     = new ChangeGeneration [ModelArea.values ().length];
+    private final ChangeGeneration                 inputChanges     = new ChangeGeneration ();
+    private final IChangeSource []                 changeSources;
+    private volatile boolean                       isShutdown       = false;
 
 
     /**
@@ -84,17 +90,23 @@ public class HostImpl implements IHost
         this.windowManager = windowManager;
         this.controllerInstance = controllerInstance;
 
-        this.notificationWindow = new NotificationWindow (logModel, windowManager.getMainFrame ().getCallback ());
+        for (int i = 0; i < this.modelChanges.length; i++)
+            this.modelChanges[i] = new ChangeGeneration ();
+        this.changeSources = this.getChangeSources (ModelArea.values ());
     }
 
 
     /**
-     * Shuts down the scheduled delay executor.
+     * Stops the execution of scheduled tasks.
      */
     public void shutdown ()
     {
-        this.executor.shutdown ();
-        this.notificationWindow.shutdown ();
+        this.isShutdown = true;
+        synchronized (this.notificationLock)
+        {
+            if (this.notificationWindow != null)
+                this.notificationWindow.shutdown ();
+        }
     }
 
 
@@ -142,15 +154,59 @@ public class HostImpl implements IHost
     @Override
     public void scheduleTask (final Runnable task, final long delay)
     {
-        try
-        {
-            if (!this.executor.isShutdown ())
-                this.executor.schedule (task, delay, TimeUnit.MILLISECONDS);
-        }
-        catch (final java.util.concurrent.RejectedExecutionException ex)
-        {
-            this.error ("Could not delay thread.", ex);
-        }
+        if (this.isShutdown)
+            return;
+
+        // The lane is shared with all other instances, therefore check again when the task is due
+        TaskScheduler.getInstance ().schedule (Lane.FLUSH, () -> {
+            if (!this.isShutdown)
+                task.run ();
+        }, delay);
+    }
+
+
+    /** {@inheritDoc} */
+    @Override
+    public IChangeSource [] getChangeSources ()
+    {
+        return this.changeSources;
+    }
+
+
+    /** {@inheritDoc} */
+    @Override
+    public IChangeSource [] getChangeSources (final ModelArea... areas)
+    {
+        final IChangeSource [] sources = new IChangeSource [areas.length + 1];
+        for (int i = 0; i < areas.length; i++)
+            sources[i] = this.modelChanges[areas[i].ordinal ()];
+        sources[areas.length] = this.inputChanges;
+        return sources;
+    }
+
+
+    /**
+     * Get the generation which is increased after a model update of the given area from the DAW
+     * has been applied.
+     *
+     * @param area The area of the model
+     * @return The generation
+     */
+    public ChangeGeneration getModelChanges (final ModelArea area)
+    {
+        return this.modelChanges[area.ordinal ()];
+    }
+
+
+    /**
+     * Get the generation which is increased after the user input (MIDI or simulator) has been
+     * handled.
+     *
+     * @return The generation
+     */
+    public ChangeGeneration getInputChanges ()
+    {
+        return this.inputChanges;
     }
 
 
@@ -182,7 +238,28 @@ public class HostImpl implements IHost
     @Override
     public void showNotification (final String message)
     {
-        SafeRunLater.execute (this.logModel, () -> this.notificationWindow.displayMessage (message));
+        // There is no screen to display it, e.g. when running a benchmark
+        if (this.isShutdown || GraphicsEnvironment.isHeadless ())
+            return;
+
+        SafeRunLater.execute (this.logModel, () -> this.getNotificationWindow ().displayMessage (message));
+    }
+
+
+    /**
+     * Get the notification window. It is created on first use since not all controllers display
+     * notifications.
+     *
+     * @return The window
+     */
+    private NotificationWindow getNotificationWindow ()
+    {
+        synchronized (this.notificationLock)
+        {
+            if (this.notificationWindow == null)
+                this.notificationWindow = new NotificationWindow (this.logModel, this.windowManager.getMainFrame ().getCallback ());
+            return this.notificationWindow;
+        }
     }
 
 
@@ -262,6 +339,16 @@ public class HostImpl implements IHost
     }
 
 
+    /**
+     * Handle the OSC messages which were received since the last call.
+     */
+    public void dispatchOSC ()
+    {
+        for (final OpenSoundControlServerImpl receiver: this.oscReceivers)
+            receiver.dispatch ();
+    }
+
+
     /** {@inheritDoc} */
     @Override
     public IOpenSoundControlMessage createOSCMessage (final String address, final List<?> values)
@@ -275,7 +362,10 @@ public class HostImpl implements IHost
     public void releaseOSC ()
     {
         for (final OpenSoundControlServerImpl receiver: this.oscReceivers)
+        {
             receiver.close ();
+            this.logModel.info ("OSC receiver on port " + receiver.getListeningPort () + ": " + receiver.getStatistics ());
+        }
         for (final OpenSoundControlClientImpl sender: this.oscSenders)
             sender.close ();
     }
@@ -124,6 +124,36 @@ public class Note
     }
 
 
+    /** {@inheritDoc} */
+    @Override
+    public int hashCode ()
+    {
+        final int prime = 31;
+        int result = 1;
+        result = prime * result + Integer.hashCode (this.channel);
+        result = prime * result + Double.hashCode (this.end);
+        result = prime * result + Boolean.hashCode (this.isMuted);
+        result = prime * result + Boolean.hashCode (this.isSelected);
+        result = prime * result + Integer.hashCode (this.pitch);
+        result = prime * result + Double.hashCode (this.start);
+        result = prime * result + Integer.hashCode (this.velocity);
+        return result;
+    }
+
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean equals (final Object obj)
+    {
+        if (this == obj)
+            return true;
+        if (obj == null || this.getClass () != obj.getClass ())
+            return false;
+        final Note other = (Note) obj;
+        return this.channel == other.channel && this.pitch == other.pitch && this.velocity == other.velocity && this.isMuted == other.isMuted && this.isSelected == other.isSelected && Double.doubleToLongBits (this.start) == Double.doubleToLongBits (other.start) && Double.doubleToLongBits (this.end) == Double.doubleToLongBits (other.end);
+    }
+
+
     /**
      * Parses notes from a string.
      *
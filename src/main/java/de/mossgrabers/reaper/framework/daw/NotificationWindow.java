@@ -1,5 +1,7 @@
 package de.mossgrabers.reaper.framework.daw;
 
+import de.mossgrabers.framework.utils.TaskScheduler;
+import de.mossgrabers.framework.utils.TaskScheduler.Lane;
 import de.mossgrabers.reaper.AppCallback;
 import de.mossgrabers.reaper.ui.utils.LogModel;
 import de.mossgrabers.reaper.ui.utils.SafeRunLater;
@@ -12,9 +14,7 @@ import javax.swing.border.EmptyBorder;
 import java.awt.BorderLayout;
 import java.awt.Dimension;
 import java.awt.Toolkit;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.atomic.AtomicInteger;
 
 
@@ -28,7 +28,7 @@ public class NotificationWindow
     private static final int               TIMEOUT    = 2;
 
     private final AtomicInteger            counter    = new AtomicInteger ();
-    private final ScheduledExecutorService executor   = Executors.newSingleThreadScheduledExecutor ();
+    private final ScheduledFuture<?>       countDown;
 
     private final AppCallback              callback;
     private final JFrame                   popupStage = new JFrame ();
@@ -59,7 +59,7 @@ public class NotificationWindow
 
         this.popupStage.setContentPane (root);
 
-        this.executor.scheduleAtFixedRate ( () -> {
+        this.countDown = TaskScheduler.getInstance ().scheduleAtFixedRate (Lane.TIMER, () -> {
             final int c = this.counter.get ();
             if (c <= 0)
                 return;
@@ -68,7 +68,7 @@ public class NotificationWindow
                 // Needs to be run on the Swing tread
                 SafeRunLater.execute (logModel, () -> this.popupStage.setVisible (false));
             }
-        }, 1, 1, TimeUnit.SECONDS);
+        }, 1000, 1000);
     }
 
 
@@ -77,7 +77,7 @@ public class NotificationWindow
      */
     public void shutdown ()
     {
-        this.executor.shutdown ();
+        this.countDown.cancel (false);
         if (this.popupStage.isShowing ())
             this.popupStage.setVisible (false);
     }
@@ -90,7 +90,7 @@ public class NotificationWindow
      */
     public void displayMessage (final String message)
     {
-        if (this.executor.isShutdown () || !this.callback.getPopupWindowNotification ())
+        if (this.countDown.isCancelled () || !this.callback.getPopupWindowNotification ())
             return;
 
         this.counter.set (TIMEOUT);
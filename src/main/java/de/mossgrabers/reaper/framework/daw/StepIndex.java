@@ -0,0 +1,368 @@
+// Written by Jürgen Moßgraber - mossgrabers.de
+// (c) 2017-2026
+// Licensed under LGPLv3 - http://www.gnu.org/licenses/lgpl-3.0.txt
+
+package de.mossgrabers.reaper.framework.daw;
+
+import de.mossgrabers.framework.daw.clip.NotePosition;
+import de.mossgrabers.framework.daw.clip.StepState;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.TreeMap;
+
+
+/**
+ * A sparse index of the steps of the edit page of a clip. Only steps which contain (the start or
+ * the continuation of) a note are stored. The steps are sorted by step, descending row (pitch) and
+ * channel, which is the order in which notes are navigated. Additionally, the number of occupied
+ * steps is counted for each channel and row.
+ *
+ * The notes are grouped into lanes (one for each channel and pitch). When the notes are updated,
+ * only the lanes which contain changed notes are applied again.
+ *
+ * @author Jürgen Moßgraber
+ */
+public class StepIndex
+{
+    private static final int                          NUM_CHANNELS = 16;
+    private static final int                          NUM_PITCHES  = 128;
+
+    private final int                                 numSteps;
+    private final int                                 numRows;
+    private final NavigableMap<Integer, StepInfoImpl> steps        = new TreeMap<> ();
+    private final int []                              rowCounts    = new int [NUM_CHANNELS * NUM_PITCHES];
+    private Map<Integer, List<Note>>                  lanes        = new HashMap<> ();
+    private double                                    stepLength   = -1;
+    private int                                       pageOffset   = -1;
+
+
+    /**
+     * Constructor.
+     *
+     * @param numSteps The number of steps of a page
+     * @param numRows The number of rows (pitches) to monitor
+     */
+    public StepIndex (final int numSteps, final int numRows)
+    {
+        this.numSteps = numSteps;
+        this.numRows = Math.min (numRows, NUM_PITCHES);
+    }
+
+
+    /**
+     * Update the index with the notes of the clip. If the page setup is unchanged, only the lanes
+     * which contain changed notes are applied again.
+     *
+     * @param notes All notes of the clip
+     * @param stepLength The length of a step
+     * @param pageOffset The index of the first step of the page
+     */
+    public void update (final List<Note> notes, final double stepLength, final int pageOffset)
+    {
+        final Map<Integer, List<Note>> newLanes = new HashMap<> ();
+        for (final Note note: notes)
+        {
+            final int pitch = note.getPitch ();
+            if (pitch >= 0 && pitch < this.numRows)
+                newLanes.computeIfAbsent (Integer.valueOf (laneKey (note.getChannel (), pitch)), key -> new ArrayList<> ()).add (note);
+        }
+
+        if (stepLength != this.stepLength || pageOffset != this.pageOffset)
+        {
+            this.stepLength = stepLength;
+            this.pageOffset = pageOffset;
+            this.steps.clear ();
+            for (int i = 0; i < this.rowCounts.length; i++)
+                this.rowCounts[i] = 0;
+            for (final List<Note> laneNotes: newLanes.values ())
+                this.applyLane (laneNotes);
+        }
+        else
+        {
+            for (final Entry<Integer, List<Note>> entry: this.lanes.entrySet ())
+            {
+                if (!newLanes.containsKey (entry.getKey ()))
+                    this.clearLane (entry.getKey ().intValue ());
+            }
+            for (final Entry<Integer, List<Note>> entry: newLanes.entrySet ())
+            {
+                final List<Note> laneNotes = entry.getValue ();
+                if (Objects.equals (this.lanes.get (entry.getKey ()), laneNotes))
+                    continue;
+                this.clearLane (entry.getKey ().intValue ());
+                this.applyLane (laneNotes);
+            }
+        }
+
+        this.lanes = newLanes;
+    }
+
+
+    /**
+     * Remove all steps. The next update applies all notes again.
+     */
+    public void reset ()
+    {
+        this.steps.clear ();
+        for (int i = 0; i < this.rowCounts.length; i++)
+            this.rowCounts[i] = 0;
+        this.lanes = new HashMap<> ();
+        this.stepLength = -1;
+        this.pageOffset = -1;
+    }
+
+
+    /**
+     * Get the step at a position.
+     *
+     * @param channel The MIDI channel
+     * @param step The step on the page
+     * @param row The row (pitch)
+     * @return The step or null if there is no note at the position
+     */
+    public StepInfoImpl get (final int channel, final int step, final int row)
+    {
+        if (step < 0 || step >= this.numSteps || row < 0 || row >= this.numRows)
+            return null;
+        return this.steps.get (Integer.valueOf (stepKey (channel, step, row)));
+    }
+
+
+    /**
+     * Check if there is a note in a row.
+     *
+     * @param channel The MIDI channel
+     * @param row The row (pitch)
+     * @return True if at least one step of the row contains a note
+     */
+    public boolean hasRowData (final int channel, final int row)
+    {
+        return row >= 0 && row < this.numRows && this.rowCounts[laneKey (channel, row)] > 0;
+    }
+
+
+    /**
+     * Get the lowest row which contains a note.
+     *
+     * @param channel The MIDI channel
+     * @return The row or -1 if there are no notes in the channel
+     */
+    public int getLowestRow (final int channel)
+    {
+        for (int row = 0; row < this.numRows; row++)
+        {
+            if (this.rowCounts[laneKey (channel, row)] > 0)
+                return row;
+        }
+        return -1;
+    }
+
+
+    /**
+     * Get the highest row which contains a note.
+     *
+     * @param channel The MIDI channel
+     * @return The row or -1 if there are no notes in the channel
+     */
+    public int getHighestRow (final int channel)
+    {
+        for (int row = this.numRows - 1; row >= 0; row--)
+        {
+            if (this.rowCounts[laneKey (channel, row)] > 0)
+                return row;
+        }
+        return -1;
+    }
+
+
+    /**
+     * Get the highest row of a step which contains a note.
+     *
+     * @param channel The MIDI channel
+     * @param step The step on the page
+     * @return The row or -1 if there are no notes in the step
+     */
+    public int getHighestRow (final int channel, final int step)
+    {
+        if (step < 0 || step >= this.numSteps)
+            return -1;
+        for (final Integer key: this.getColumn (step).keySet ())
+        {
+            if (channelOf (key.intValue ()) == channel)
+                return rowOf (key.intValue ());
+        }
+        return -1;
+    }
+
+
+    /**
+     * Get the position of the next note start. The notes are ordered by ascending steps and
+     * descending rows.
+     *
+     * @param position The position to start from, the note at the position itself is excluded
+     * @param channel The MIDI channel to search in or -1 to search in all channels
+     * @return The position of the next note or null if there is none
+     */
+    public NotePosition getNextNote (final NotePosition position, final int channel)
+    {
+        final int key = stepKey (NUM_CHANNELS - 1, position.getStep (), position.getNote ());
+        for (final Entry<Integer, StepInfoImpl> entry: this.steps.tailMap (Integer.valueOf (key), false).entrySet ())
+        {
+            final int k = entry.getKey ().intValue ();
+            if (entry.getValue ().getState () == StepState.START && (channel < 0 || channelOf (k) == channel))
+                return new NotePosition (channelOf (k), stepOf (k), rowOf (k));
+        }
+        return null;
+    }
+
+
+    /**
+     * Get the position of the previous note start. The notes are ordered by ascending steps and
+     * descending rows.
+     *
+     * @param position The position to start from, the note at the position itself is excluded
+     * @param channel The MIDI channel to search in or -1 to search in all channels
+     * @return The position of the previous note or null if there is none
+     */
+    public NotePosition getPreviousNote (final NotePosition position, final int channel)
+    {
+        final int key = stepKey (0, position.getStep (), position.getNote ());
+        for (final Entry<Integer, StepInfoImpl> entry: this.steps.headMap (Integer.valueOf (key), false).descendingMap ().entrySet ())
+        {
+            final int k = entry.getKey ().intValue ();
+            if (entry.getValue ().getState () != StepState.START || channel >= 0 && channelOf (k) != channel)
+                continue;
+
+            // Prefer the lowest channel if several notes start at the same position
+            final int first = stepKey (0, stepOf (k), rowOf (k));
+            for (final Entry<Integer, StepInfoImpl> sameRow: this.steps.subMap (Integer.valueOf (first), true, entry.getKey (), true).entrySet ())
+            {
+                final int s = sameRow.getKey ().intValue ();
+                if (sameRow.getValue ().getState () == StepState.START && (channel < 0 || channelOf (s) == channel))
+                    return new NotePosition (channelOf (s), stepOf (s), rowOf (s));
+            }
+        }
+        return null;
+    }
+
+
+    /**
+     * Check if there is a note in a step.
+     *
+     * @param channel The MIDI channel
+     * @param step The step on the page
+     * @return True if at least one row of the step contains a note
+     */
+    public boolean hasColumnData (final int channel, final int step)
+    {
+        return this.getHighestRow (channel, step) >= 0;
+    }
+
+
+    private NavigableMap<Integer, StepInfoImpl> getColumn (final int step)
+    {
+        return this.steps.subMap (Integer.valueOf (step * NUM_PITCHES * NUM_CHANNELS), true, Integer.valueOf ((step + 1) * NUM_PITCHES * NUM_CHANNELS), false);
+    }
+
+
+    private void applyLane (final List<Note> laneNotes)
+    {
+        for (final Note note: laneNotes)
+        {
+            final int step = (int) Math.floor (note.getStart () / this.stepLength);
+            final int relToPage = step - this.pageOffset;
+            if (relToPage < 0 || relToPage >= this.numSteps)
+                continue;
+
+            final int channel = note.getChannel ();
+            final int row = note.getPitch ();
+            final StepInfoImpl stepInfo = this.getOrCreate (channel, relToPage, row);
+            stepInfo.setSelected (note.isSelected ());
+            stepInfo.setMuted (note.isMuted ());
+            stepInfo.setState (StepState.START);
+            stepInfo.setDuration (note.getEnd () - note.getStart ());
+            stepInfo.setVelocity (note.getVelocity () / 127.0);
+
+            // Extend longer notes
+            final int endStep = Math.min ((int) Math.floor (note.getEnd () / this.stepLength) - this.pageOffset, this.numSteps);
+            for (int i = relToPage + 1; i < endStep; i++)
+            {
+                final StepInfoImpl stepInfoEx = this.getOrCreate (channel, i, row);
+                stepInfoEx.setState (StepState.CONTINUE);
+                stepInfoEx.setSelected (note.isSelected ());
+                stepInfoEx.setMuted (note.isMuted ());
+            }
+        }
+    }
+
+
+    private void clearLane (final int lane)
+    {
+        if (this.rowCounts[lane] == 0)
+            return;
+        final int channel = lane / NUM_PITCHES;
+        final int row = lane % NUM_PITCHES;
+        for (int step = 0; step < this.numSteps; step++)
+            this.steps.remove (Integer.valueOf (stepKey (channel, step, row)));
+        this.rowCounts[lane] = 0;
+    }
+
+
+    private StepInfoImpl getOrCreate (final int channel, final int step, final int row)
+    {
+        final Integer key = Integer.valueOf (stepKey (channel, step, row));
+        StepInfoImpl stepInfo = this.steps.get (key);
+        if (stepInfo == null)
+        {
+            stepInfo = new StepInfoImpl ();
+            this.steps.put (key, stepInfo);
+            this.rowCounts[laneKey (channel, row)]++;
+        }
+        return stepInfo;
+    }
+
+
+    private static int laneKey (final int channel, final int pitch)
+    {
+        return channel * NUM_PITCHES + pitch;
+    }
+
+
+    /**
+     * Calculate the sort key of a step: ascending steps, descending rows, ascending channels. Row
+     * 128 and -1 are allowed to address the positions before and after a step.
+     *
+     * @param channel The MIDI channel
+     * @param step The step
+     * @param row The row
+     * @return The key
+     */
+    private static int stepKey (final int channel, final int step, final int row)
+    {
+        return (step * NUM_PITCHES + NUM_PITCHES - 1 - row) * NUM_CHANNELS + channel;
+    }
+
+
+    private static int channelOf (final int key)
+    {
+        return key % NUM_CHANNELS;
+    }
+
+
+    private static int rowOf (final int key)
+    {
+        return NUM_PITCHES - 1 - key / NUM_CHANNELS % NUM_PITCHES;
+    }
+
+
+    private static int stepOf (final int key)
+    {
+        return key / (NUM_CHANNELS * NUM_PITCHES);
+    }
+}
@@ -943,7 +943,7 @@ public class TransportImpl extends BaseImpl implements ITransport
     @Override
     public void setTempo (final double tempo)
     {
-        this.sender.processDoubleArg (Processor.TEMPO, tempo);
+        this.sender.setDoubleValue (Processor.TEMPO, null, tempo);
     }
 
 
@@ -88,7 +88,7 @@ public class SendImpl extends ParameterImpl implements ISend
     protected void sendValue ()
     {
         final StringBuilder command = new StringBuilder ().append (this.channel.getPosition ()).append ("/send/").append (this.getPosition ()).append ("/volume");
-        this.sender.processDoubleArg (Processor.TRACK, command.toString (), this.value);
+        this.sender.setDoubleValue (Processor.TRACK, command.toString (), this.value);
     }
 
 
@@ -50,7 +50,7 @@ public class MasterPanningParameterImpl extends ParameterImpl
         {
             if (this.isAutomationRecActive ())
                 this.sender.delayUpdates (Processor.MASTER);
-            this.sender.processDoubleArg (Processor.MASTER, "pan", this.value);
+            this.sender.setDoubleValue (Processor.MASTER, "pan", this.value);
         }
     }
 }
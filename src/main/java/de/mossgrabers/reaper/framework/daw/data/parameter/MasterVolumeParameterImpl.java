@@ -50,7 +50,7 @@ public class MasterVolumeParameterImpl extends ParameterImpl
         {
             if (this.isAutomationRecActive ())
                 this.sender.delayUpdates (Processor.MASTER);
-            this.sender.processDoubleArg (Processor.MASTER, "volume", this.value);
+            this.sender.setDoubleValue (Processor.MASTER, "volume", this.value);
         }
     }
 }
@@ -51,7 +51,7 @@ public class PanningParameterImpl extends ParameterImpl
         {
             if (this.isAutomationRecActive ())
                 this.sender.delayUpdates (Processor.TRACK);
-            this.sender.processDoubleArg (Processor.TRACK, this.createCommand ("pan"), this.value);
+            this.sender.setDoubleValue (Processor.TRACK, this.createCommand ("pan"), this.value);
         }
     }
 
@@ -225,7 +225,7 @@ public class ParameterImpl extends ItemImpl implements IParameterEx
      */
     protected void sendValue ()
     {
-        this.sendPositionedItemOSC ("value", this.value);
+        this.sender.setDoubleValue (this.getProcessor (), this.createCommand ("value"), this.value);
     }
 
 
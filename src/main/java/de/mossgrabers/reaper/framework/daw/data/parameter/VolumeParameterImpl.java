@@ -51,7 +51,7 @@ public class VolumeParameterImpl extends ParameterImpl
         {
             if (this.isAutomationRecActive ())
                 this.sender.delayUpdates (Processor.TRACK);
-            this.sender.processDoubleArg (Processor.TRACK, this.createCommand ("volume"), this.value);
+            this.sender.setDoubleValue (Processor.TRACK, this.createCommand ("volume"), this.value);
         }
     }
 
@@ -0,0 +1,301 @@
+// Written by Jürgen Moßgraber - mossgrabers.de
+// (c) 2017-2026
+// Licensed under LGPLv3 - http://www.gnu.org/licenses/lgpl-3.0.txt
+
+package de.mossgrabers.reaper.framework.device;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+
+/**
+ * A binary snapshot of the information which is parsed from Reapers' INI files. The snapshot
+ * consists of named sections. Each section stores the size and the modification time of the file
+ * from which it was parsed. If the file was changed, only the section is outdated and needs to be
+ * parsed again.
+ *
+ * @author Jürgen Moßgraber
+ */
+public class DeviceCatalogCache
+{
+    /**
+     * Identifies the state of the file from which a section was parsed.
+     *
+     * @param size The size of the file, -1 if the file does not exist
+     * @param lastModified The time of the last modification of the file
+     */
+    public record SourceKey (long size, long lastModified)
+    {
+        /**
+         * Get the key of a file.
+         *
+         * @param file The file
+         * @return The key
+         */
+        public static SourceKey of (final File file)
+        {
+            if (file == null || !file.exists ())
+                return new SourceKey (-1, 0);
+            return new SourceKey (file.length (), file.lastModified ());
+        }
+    }
+
+
+    /**
+     * Reads the content of a section.
+     *
+     * @param <T> The type of the content
+     */
+    @FunctionalInterface
+    public interface SectionReader<T>
+    {
+        /**
+         * Read the content.
+         *
+         * @param in The stream to read from
+         * @return The content or null if it does not match the current state
+         * @throws IOException Could not read the content
+         */
+        T read (DataInputStream in) throws IOException;
+    }
+
+
+    /**
+     * Writes the content of a section.
+     *
+     * @param <T> The type of the content
+     */
+    @FunctionalInterface
+    public interface SectionWriter<T>
+    {
+        /**
+         * Write the content.
+         *
+         * @param out The stream to write to
+         * @param value The content
+         * @throws IOException Could not write the content
+         */
+        void write (DataOutputStream out, T value) throws IOException;
+    }
+
+
+    private record Section (SourceKey key, byte [] data)
+    {
+        // Intentionally empty
+    }
+
+
+    /** The name of the cache file in Reapers' configuration path. */
+    public static final String         FILENAME         = "DrivenByMoss4Reaper-DeviceCache.bin";
+
+    private static final int           MAGIC            = 0x44424D43;
+    private static final int           VERSION          = 1;
+    // Name length, size and modification time of the source file, data length
+    private static final int           MIN_SECTION_SIZE = 2 + 8 + 8 + 4;
+
+    private final File                 file;
+    private final Map<String, Section> sections         = new LinkedHashMap<> ();
+    private boolean                    isModified;
+
+
+    /**
+     * Constructor.
+     *
+     * @param file The cache file
+     */
+    public DeviceCatalogCache (final File file)
+    {
+        this.file = file;
+    }
+
+
+    /**
+     * Load the sections from the cache file. Nothing is loaded if the file does not exist or was
+     * written by a different version. If the file is damaged no section is loaded.
+     *
+     * @throws IOException Could not read the file or the file is damaged
+     */
+    public void load () throws IOException
+    {
+        this.sections.clear ();
+        this.isModified = false;
+        if (!this.file.exists ())
+            return;
+
+        // The whole file is read to check all stored sizes against the remaining data
+        try (final DataInputStream in = new DataInputStream (new ByteArrayInputStream (Files.readAllBytes (this.file.toPath ()))))
+        {
+            if (in.readInt () != MAGIC || in.readInt () != VERSION)
+                return;
+
+            final int count = readCount (in, MIN_SECTION_SIZE);
+            for (int i = 0; i < count; i++)
+            {
+                final String name = in.readUTF ();
+                final SourceKey key = new SourceKey (in.readLong (), in.readLong ());
+                final byte [] data = new byte [readCount (in, 1)];
+                in.readFully (data);
+                this.sections.put (name, new Section (key, data));
+            }
+        }
+        catch (final IOException ex)
+        {
+            this.sections.clear ();
+            throw ex;
+        }
+        catch (final RuntimeException ex)
+        {
+            this.sections.clear ();
+            throw new IOException ("The device cache is damaged.", ex);
+        }
+    }
+
+
+    /**
+     * Store the sections in the cache file. The file is replaced only after all data was written.
+     *
+     * @throws IOException Could not write the file
+     */
+    public void save () throws IOException
+    {
+        final File tempFile = new File (this.file.getAbsolutePath () + ".tmp");
+        try (final DataOutputStream out = new DataOutputStream (new BufferedOutputStream (Files.newOutputStream (tempFile.toPath ()))))
+        {
+            out.writeInt (MAGIC);
+            out.writeInt (VERSION);
+            out.writeInt (this.sections.size ());
+            for (final Map.Entry<String, Section> entry: this.sections.entrySet ())
+            {
+                final Section section = entry.getValue ();
+                out.writeUTF (entry.getKey ());
+                out.writeLong (section.key ().size ());
+                out.writeLong (section.key ().lastModified ());
+                out.writeInt (section.data ().length);
+                out.write (section.data ());
+            }
+        }
+        Files.move (tempFile.toPath (), this.file.toPath (), StandardCopyOption.REPLACE_EXISTING);
+        this.isModified = false;
+    }
+
+
+    /**
+     * Get the content of a section.
+     *
+     * @param <T> The type of the content
+     * @param name The name of the section
+     * @param key The current state of the file from which the section was parsed
+     * @param reader Reads the content of the section
+     * @return The content or null if the section is not present, outdated or could not be read
+     */
+    public <T> T get (final String name, final SourceKey key, final SectionReader<T> reader)
+    {
+        final Section section = this.sections.get (name);
+        if (section == null || !section.key ().equals (key))
+            return null;
+
+        try (final DataInputStream in = new DataInputStream (new ByteArrayInputStream (section.data ())))
+        {
+            return reader.read (in);
+        }
+        catch (final IOException | RuntimeException ex)
+        {
+            // The content is damaged, it gets replaced when the section is parsed again
+            return null;
+        }
+    }
+
+
+    /**
+     * Set the content of a section.
+     *
+     * @param <T> The type of the content
+     * @param name The name of the section
+     * @param key The state of the file from which the content was parsed
+     * @param value The content
+     * @param writer Writes the content of the section
+     */
+    public <T> void put (final String name, final SourceKey key, final T value, final SectionWriter<T> writer)
+    {
+        final ByteArrayOutputStream data = new ByteArrayOutputStream ();
+        try (final DataOutputStream out = new DataOutputStream (data))
+        {
+            writer.write (out, value);
+        }
+        catch (final IOException ex)
+        {
+            // Writing to memory does not fail but a string might be too long for the format
+            this.sections.remove (name);
+            this.isModified = true;
+            return;
+        }
+        this.sections.put (name, new Section (key, data.toByteArray ()));
+        this.isModified = true;
+    }
+
+
+    /**
+     * Has a section been changed since the file was loaded or saved?
+     *
+     * @return True if modified
+     */
+    public boolean isModified ()
+    {
+        return this.isModified;
+    }
+
+
+    /**
+     * Write a string which might be null.
+     *
+     * @param out The stream to write to
+     * @param value The string
+     * @throws IOException Could not write the string
+     */
+    public static void writeString (final DataOutputStream out, final String value) throws IOException
+    {
+        out.writeBoolean (value != null);
+        if (value != null)
+            out.writeUTF (value);
+    }
+
+
+    /**
+     * Read a number of elements or bytes which follow in the stream. The number is checked against
+     * the remaining data before anything is allocated for it.
+     *
+     * @param in The stream to read from, the remaining data must be known
+     * @param minSize The minimum number of bytes of one element
+     * @return The number
+     * @throws IOException Could not read the number or it does not fit into the remaining data
+     */
+    public static int readCount (final DataInputStream in, final int minSize) throws IOException
+    {
+        final int count = in.readInt ();
+        if (count < 0 || count > in.available () / minSize)
+            throw new IOException ("Invalid number of elements: " + count);
+        return count;
+    }
+
+
+    /**
+     * Read a string which might be null.
+     *
+     * @param in The stream to read from
+     * @return The string
+     * @throws IOException Could not read the string
+     */
+    public static String readString (final DataInputStream in) throws IOException
+    {
+        return in.readBoolean () ? in.readUTF () : null;
+    }
+}
@@ -36,6 +36,7 @@ public class DeviceCollection
     };
 
     private final String                                      name;
+    private final List<Pair<String, Integer>>                 items                   = new ArrayList<> ();
     private final Set<String>                                 jsItems                 = new HashSet<> ();
     private final Set<String>                                 vstItems                = new HashSet<> ();
     private final Map<String, Pair<Set<String>, Set<String>>> queryItems              = new HashMap<> ();
@@ -60,6 +61,8 @@ public class DeviceCollection
      */
     public void addItem (final String item, final int type)
     {
+        this.items.add (new Pair<> (item, Integer.valueOf (type)));
+
         switch (type)
         {
             case TYPE_JS:
@@ -120,6 +123,17 @@ public class DeviceCollection
     }
 
 
+    /**
+     * Get all items which were added to the folder.
+     *
+     * @return The items and their types
+     */
+    public List<Pair<String, Integer>> getItems ()
+    {
+        return this.items;
+    }
+
+
     /**
      * Filter all given devices by the folder.
      *
@@ -0,0 +1,110 @@
+// Written by Jürgen Moßgraber - mossgrabers.de
+// (c) 2017-2026
+// Licensed under LGPLv3 - http://www.gnu.org/licenses/lgpl-3.0.txt
+
+package de.mossgrabers.reaper.framework.device;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+
+/**
+ * An inverted index over the devices. For each file type, category, vendor, collection and device
+ * type a bit set contains the positions of the matching devices. A filter is the intersection of
+ * the bit sets of the selected values, therefore the devices do not need to be tested one by one.
+ * The index is immutable, it needs to be re-created if the devices change.
+ *
+ * @author Jürgen Moßgraber
+ */
+public class DeviceIndex
+{
+    private static final BitSet                 EMPTY       = new BitSet ();
+
+    private final DeviceMetadataImpl []         devices;
+    private final BitSet                        all         = new BitSet ();
+    private final Map<DeviceFileType, BitSet>   fileTypes   = new EnumMap<> (DeviceFileType.class);
+    private final Map<String, BitSet>           categories  = new HashMap<> ();
+    private final Map<String, BitSet>           vendors     = new HashMap<> ();
+    private final Map<DeviceType, BitSet>       deviceTypes = new EnumMap<> (DeviceType.class);
+    private final Map<DeviceCollection, BitSet> collections = new HashMap<> ();
+
+
+    /**
+     * Constructor.
+     *
+     * @param devices The devices to index, the order is kept in the filter results
+     * @param collections The collections
+     */
+    public DeviceIndex (final List<DeviceMetadataImpl> devices, final List<DeviceCollection> collections)
+    {
+        this.devices = devices.toArray (new DeviceMetadataImpl [devices.size ()]);
+        this.all.set (0, this.devices.length);
+
+        for (int i = 0; i < this.devices.length; i++)
+        {
+            final DeviceMetadataImpl device = this.devices[i];
+            this.fileTypes.computeIfAbsent (device.getFileType (), key -> new BitSet ()).set (i);
+            for (final String category: device.getCategories ())
+                this.categories.computeIfAbsent (category, key -> new BitSet ()).set (i);
+            if (device.getVendor () != null)
+                this.vendors.computeIfAbsent (device.getVendor (), key -> new BitSet ()).set (i);
+            if (device.getType () != null)
+                this.deviceTypes.computeIfAbsent (device.getType (), key -> new BitSet ()).set (i);
+        }
+
+        // A collection can contain search queries, therefore test all devices once
+        final List<DeviceMetadataImpl> allDevices = List.of (this.devices);
+        for (final DeviceCollection collection: collections)
+        {
+            final BitSet bits = new BitSet ();
+            int pos = 0;
+            for (final DeviceMetadataImpl device: collection.filter (allDevices))
+            {
+                while (this.devices[pos] != device)
+                    pos++;
+                bits.set (pos);
+            }
+            this.collections.put (collection, bits);
+        }
+    }
+
+
+    /**
+     * Get the devices which match all given criteria.
+     *
+     * @param fileType Filter by device type (plugin format), may be null
+     * @param category Filter by device category, may be null
+     * @param vendor Filter by device vendor, may be null
+     * @param collection Filter by device collection, may be null
+     * @param deviceType Filter by device type, may be null
+     * @return The matching devices in the order of the indexed devices
+     */
+    public List<DeviceMetadataImpl> filter (final DeviceFileType fileType, final String category, final String vendor, final DeviceCollection collection, final DeviceType deviceType)
+    {
+        final BitSet matches = (BitSet) this.all.clone ();
+        if (fileType != null)
+            matches.and (this.fileTypes.getOrDefault (fileType, EMPTY));
+        if (category != null)
+            matches.and (this.categories.getOrDefault (category, EMPTY));
+        if (vendor != null)
+            matches.and (this.vendors.getOrDefault (vendor, EMPTY));
+        final BitSet collectionMatches = collection == null ? null : this.collections.get (collection);
+        if (collectionMatches != null)
+            matches.and (collectionMatches);
+        if (deviceType != null)
+            matches.and (this.deviceTypes.getOrDefault (deviceType, EMPTY));
+
+        final List<DeviceMetadataImpl> results = new ArrayList<> (matches.cardinality ());
+        for (int i = matches.nextSetBit (0); i >= 0; i = matches.nextSetBit (i + 1))
+            results.add (this.devices[i]);
+
+        // The collection was added after the index was created
+        if (collection != null && collectionMatches == null)
+            return collection.filter (results);
+        return results;
+    }
+}
@@ -4,14 +4,20 @@
 
 package de.mossgrabers.reaper.framework.device;
 
+import de.mossgrabers.framework.utils.Pair;
 import de.mossgrabers.reaper.framework.IniFiles;
 import de.mossgrabers.reaper.framework.daw.data.parameter.map.ParameterMap;
 import de.mossgrabers.reaper.framework.daw.data.parameter.map.ParameterMapPage;
 import de.mossgrabers.reaper.framework.daw.data.parameter.map.ParameterMapPageParameter;
+import de.mossgrabers.reaper.framework.device.DeviceCatalogCache.SourceKey;
 import de.mossgrabers.reaper.ui.utils.LogModel;
 
 import com.nikhaldimann.inieditor.IniEditor;
 
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.EnumMap;
@@ -23,6 +29,7 @@ import java.util.Map;
 import java.util.Set;
 import java.util.TreeMap;
 import java.util.TreeSet;
+import java.util.function.Supplier;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -34,9 +41,24 @@ import java.util.regex.Pattern;
  */
 public class DeviceManager
 {
+    private record FilterKey (DeviceFileType fileType, String category, String vendor, DeviceCollection collection, DeviceType deviceType)
+    {
+        // Intentionally empty
+    }
+
+
+    private record DeviceTags (String categories, String vendor)
+    {
+        // Intentionally empty
+    }
+
+
     private static final DeviceManager                INSTANCE                    = new DeviceManager ();
 
     private static final String                       SECTION_FOLDERS             = "Folders";
+    private static final String                       CACHE_TAGS                  = "tags";
+    private static final String                       CACHE_FOLDERS               = "folders";
+    private static final String                       CACHE_PARAMETER_MAPS        = "parametermaps";
     private static final Pattern                      PATTERN_NAME                = Pattern.compile ("(?<type>[^:]+?)(?<instrument>i?):\\s*(?<name>([^)])+)(\\s*\\((?<company>[^)]+?)\\))?(\\s*\\((?<channels>[^)]+)\\))?");
     private static final Set<String>                  NON_CATEGORIES              = Set.of ("ix", "till", "loser", "liteon", "sstillwell", "teej", "schwa", "u-he", "remaincalm_org");
 
@@ -102,7 +124,10 @@ public class DeviceManager
     private final Set<DeviceFileType>       availableFileTypes = new TreeSet<> ();
     private final Map<String, ParameterMap> parameterMaps      = new HashMap<> ();
     private final List<DeviceFileType>      preferredTypes     = new ArrayList<> ();
+    private final Map<FilterKey, Integer>   counts             = new HashMap<> ();
+    private final List<DeviceFileType>      countedTypes       = new ArrayList<> ();
     private IniFiles                        iniFiles;
+    private DeviceIndex                     index;
 
 
     /**
@@ -253,19 +278,128 @@ public class DeviceManager
      */
     public List<DeviceMetadataImpl> filterBy (final DeviceFileType fileType, final String category, final String vendor, final DeviceCollection collection, final DeviceType deviceType)
     {
-        List<DeviceMetadataImpl> results = new ArrayList<> ();
+        final List<DeviceMetadataImpl> results;
+        synchronized (this.devices)
+        {
+            results = this.getIndex ().filter (fileType, category, vendor, collection, deviceType);
+        }
+        return this.filterPreferredFileTypes (results);
+    }
+
+
+    /**
+     * Count the devices of a file type.
+     *
+     * @param deviceFileType The device type (plugin format)
+     * @return The number of devices
+     */
+    public int countByFileType (final DeviceFileType deviceFileType)
+    {
+        return this.countBy (deviceFileType, null, null, null, null);
+    }
+
+
+    /**
+     * Count the devices of a category.
+     *
+     * @param category The device category
+     * @return The number of devices
+     */
+    public int countByCategory (final String category)
+    {
+        return this.countBy (null, category, null, null, null);
+    }
+
+
+    /**
+     * Count the devices of a vendor.
+     *
+     * @param vendor The device vendor
+     * @return The number of devices
+     */
+    public int countByVendor (final String vendor)
+    {
+        return this.countBy (null, null, vendor, null, null);
+    }
+
+
+    /**
+     * Count the devices of a collection.
+     *
+     * @param collection The device collection
+     * @return The number of devices
+     */
+    public int countByCollection (final DeviceCollection collection)
+    {
+        return this.countBy (null, null, null, collection, null);
+    }
+
+
+    /**
+     * Count the devices of a type.
+     *
+     * @param deviceType The device type
+     * @return The number of devices
+     */
+    public int countByType (final DeviceType deviceType)
+    {
+        return this.countBy (null, null, null, null, deviceType);
+    }
+
+
+    /**
+     * Count the devices which match different criteria. This is the size of the result of filterBy
+     * with the same criteria. The counts are cached until the devices or the preferred file types
+     * change.
+     *
+     * @param fileType Filter by device type (plugin format), may be null
+     * @param category Filter by device category, may be null
+     * @param vendor Filter by device vendor, may be null
+     * @param collection Filter by device collection, may be null
+     * @param deviceType Filter by device type, may be null
+     * @return The number of devices matching the filter criteria
+     */
+    public int countBy (final DeviceFileType fileType, final String category, final String vendor, final DeviceCollection collection, final DeviceType deviceType)
+    {
         synchronized (this.devices)
         {
-            for (final DeviceMetadataImpl d: this.devices)
+            final DeviceIndex deviceIndex = this.getIndex ();
+
+            // The preferred file types are configured in Reaper and might change at any time
+            final List<DeviceFileType> prefTypes = this.getPreferredTypes ();
+            if (!prefTypes.equals (this.countedTypes))
             {
-                if (accept (d, fileType, category, vendor, deviceType))
-                    results.add (d);
+                this.counts.clear ();
+                this.countedTypes.clear ();
+                this.countedTypes.addAll (prefTypes);
             }
+
+            final FilterKey key = new FilterKey (fileType, category, vendor, collection, deviceType);
+            final Integer count = this.counts.get (key);
+            if (count != null)
+                return count.intValue ();
+
+            final int newCount = this.filterPreferredFileTypes (deviceIndex.filter (fileType, category, vendor, collection, deviceType)).size ();
+            this.counts.put (key, Integer.valueOf (newCount));
+            return newCount;
         }
+    }
 
-        if (collection != null)
-            results = collection.filter (results);
-        return this.filterPreferredFileTypes (results);
+
+    /**
+     * Get the index of the devices. It is created if the devices have changed. Must be called with
+     * the lock of the devices.
+     *
+     * @return The index
+     */
+    private DeviceIndex getIndex ()
+    {
+        if (this.index == null)
+        {
+            this.index = new DeviceIndex (this.devices, this.collections);
+            this.counts.clear ();
+        }
+        return this.index;
     }
 
 
@@ -312,18 +446,6 @@ public class DeviceManager
     }
 
 
-    private static boolean accept (final DeviceMetadataImpl d, final DeviceFileType fileType, final String category, final String vendor, final DeviceType deviceType)
-    {
-        if (fileType != null && d.getFileType () != fileType || category != null && !d.hasCategory (category))
-            return false;
-
-        if (vendor != null && !vendor.equals (d.getVendor ()))
-            return false;
-
-        return deviceType == null || d.getType () == deviceType;
-    }
-
-
     private List<DeviceFileType> getPreferredTypes ()
     {
         if (this.iniFiles == null)
@@ -415,18 +537,24 @@ public class DeviceManager
             this.categories.add (category);
         }
 
-        this.devices.add (device);
-        if (deviceType == DeviceType.INSTRUMENT)
-            this.instruments.add (device);
-        else
-            this.effects.add (device);
+        synchronized (this.devices)
+        {
+            this.devices.add (device);
+            if (deviceType == DeviceType.INSTRUMENT)
+                this.instruments.add (device);
+            else
+                this.effects.add (device);
+            this.index = null;
+        }
 
         this.availableFileTypes.add (fileType);
     }
 
 
     /**
-     * Load all information from some INI files in Reapers' configuration path.
+     * Load all information from some INI files in Reapers' configuration path. The parsed
+     * information is stored in a cache file. If an INI file was not changed since the last start,
+     * the information is taken from the cache instead of parsing the file.
      *
      * @param iniFiles Access to the INI files
      * @param logModel For logging
@@ -435,25 +563,38 @@ public class DeviceManager
     {
         this.iniFiles = iniFiles;
 
+        final long startTime = System.nanoTime ();
+        final DeviceCatalogCache cache = new DeviceCatalogCache (new File (iniFiles.getIniPath (), DeviceCatalogCache.FILENAME));
+        try
+        {
+            cache.load ();
+        }
+        catch (final IOException ex)
+        {
+            logModel.info ("Could not read the device cache, parsing the INI files.");
+        }
+        final List<String> cachedSections = new ArrayList<> ();
+
         synchronized (this.devices)
         {
             // Load categories and vendor information
             if (iniFiles.isFxTagsPresent ())
             {
+                final Map<String, DeviceTags> tags = getSection (cache, CACHE_TAGS, iniFiles.getFxTagsFile (), this::readTags, () -> this.parseFXTagsFile (iniFiles.getIniFxTags ()), DeviceManager::writeTags, cachedSections);
                 final Set<String> vendorsSet = new TreeSet<> ();
                 final Set<String> categoriesSet = new TreeSet<> ();
-                this.parseFXTagsFile (iniFiles.getIniFxTags (), categoriesSet, vendorsSet);
+                this.applyTags (tags, categoriesSet, vendorsSet);
                 this.categories.addAll (categoriesSet);
                 this.vendors.addAll (vendorsSet);
             }
 
             // Load collection filters
             if (iniFiles.isFxFoldersPresent ())
-                this.parseCollectionFilters (iniFiles.getIniFxFolders ());
+                this.collections.addAll (getSection (cache, CACHE_FOLDERS, iniFiles.getFxFoldersFile (), DeviceManager::readCollections, () -> parseCollectionFilters (iniFiles.getIniFxFolders ()), DeviceManager::writeCollections, cachedSections));
 
             // Load device maps
             if (iniFiles.isParamMapsPresent ())
-                this.parseParameterMaps (iniFiles.getIniParamMaps ());
+                this.parameterMaps.putAll (getSection (cache, CACHE_PARAMETER_MAPS, iniFiles.getParamMapsFile (), DeviceManager::readParameterMaps, () -> parseParameterMaps (iniFiles.getIniParamMaps ()), DeviceManager::writeParameterMaps, cachedSections));
 
             // Improve category assignment
             for (final DeviceMetadataImpl device: this.devices)
@@ -485,7 +626,53 @@ public class DeviceManager
 
             // Finally sort the devices by their display name
             this.devices.sort ( (d1, d2) -> d1.getDisplayName ().compareToIgnoreCase (d2.getDisplayName ()));
+            this.index = null;
+        }
+
+        if (cache.isModified ())
+        {
+            try
+            {
+                cache.save ();
+            }
+            catch (final IOException ex)
+            {
+                logModel.error ("Could not store the device cache.", ex);
+            }
+        }
+
+        final long duration = (System.nanoTime () - startTime) / 1_000_000;
+        logModel.info (String.format ("Device information applied in %d ms (from cache: %s).", Long.valueOf (duration), cachedSections.isEmpty () ? "none" : String.join (", ", cachedSections)));
+    }
+
+
+    /**
+     * Get the content of a cache section. If the section is not present or outdated, the
+     * information is parsed from the INI file and the section is updated.
+     *
+     * @param <T> The type of the content
+     * @param cache The cache
+     * @param name The name of the section
+     * @param sourceFile The INI file from which the information is parsed
+     * @param reader Reads the content from the cache
+     * @param parser Parses the INI file
+     * @param writer Writes the content to the cache
+     * @param cachedSections The name of the section is added if it was taken from the cache
+     * @return The content
+     */
+    private static <T> T getSection (final DeviceCatalogCache cache, final String name, final File sourceFile, final DeviceCatalogCache.SectionReader<T> reader, final Supplier<T> parser, final DeviceCatalogCache.SectionWriter<T> writer, final List<String> cachedSections)
+    {
+        final SourceKey key = SourceKey.of (sourceFile);
+        T value = cache.get (name, key, reader);
+        if (value != null)
+        {
+            cachedSections.add (name);
+            return value;
         }
+
+        value = parser.get ();
+        cache.put (name, key, value, writer);
+        return value;
     }
 
 
@@ -591,14 +778,36 @@ public class DeviceManager
      * Parses the FX tags file.
      *
      * @param iniFile The INI file from which to parse
+     * @return The categories and vendor of all devices by their module
+     */
+    private Map<String, DeviceTags> parseFXTagsFile (final IniEditor iniFile)
+    {
+        final Map<String, DeviceTags> tags = new HashMap<> ();
+        for (final DeviceMetadataImpl d: this.devices)
+        {
+            final String module = d.getModule ();
+            tags.computeIfAbsent (module, key -> new DeviceTags (iniFile.get ("category", key), iniFile.get ("developer", key)));
+        }
+        return tags;
+    }
+
+
+    /**
+     * Apply the categories and vendors from the FX tags file to the devices.
+     *
+     * @param tags The categories and vendor of all devices by their module
      * @param categoriesSet The categories set
      * @param vendorsSet The vendors set
      */
-    private void parseFXTagsFile (final IniEditor iniFile, final Set<String> categoriesSet, final Set<String> vendorsSet)
+    private void applyTags (final Map<String, DeviceTags> tags, final Set<String> categoriesSet, final Set<String> vendorsSet)
     {
         for (final DeviceMetadataImpl d: this.devices)
         {
-            final String categoriesStr = iniFile.get ("category", d.getModule ());
+            final DeviceTags deviceTags = tags.get (d.getModule ());
+            if (deviceTags == null)
+                continue;
+
+            final String categoriesStr = deviceTags.categories ();
             if (categoriesStr != null)
             {
                 final Set<String> cats = new HashSet<> ();
@@ -619,7 +828,7 @@ public class DeviceManager
                 categoriesSet.addAll (cats);
             }
 
-            final String vendor = iniFile.get ("developer", d.getModule ());
+            final String vendor = deviceTags.vendor ();
             if (vendor == null)
                 continue;
             d.setVendor (vendor);
@@ -628,13 +837,53 @@ public class DeviceManager
     }
 
 
+    /**
+     * Read the categories and vendors of the devices from the cache.
+     *
+     * @param in The stream to read from
+     * @return The categories and vendor of all devices by their module or null if a device is
+     *         missing
+     * @throws IOException Could not read the data
+     */
+    private Map<String, DeviceTags> readTags (final DataInputStream in) throws IOException
+    {
+        // Module name and two flags for missing strings
+        final int count = DeviceCatalogCache.readCount (in, 4);
+        final Map<String, DeviceTags> tags = new HashMap<> (count);
+        for (int i = 0; i < count; i++)
+            tags.put (in.readUTF (), new DeviceTags (DeviceCatalogCache.readString (in), DeviceCatalogCache.readString (in)));
+
+        // A new device was added which is not yet in the cache
+        for (final DeviceMetadataImpl d: this.devices)
+        {
+            if (!tags.containsKey (d.getModule ()))
+                return null;
+        }
+        return tags;
+    }
+
+
+    private static void writeTags (final DataOutputStream out, final Map<String, DeviceTags> tags) throws IOException
+    {
+        out.writeInt (tags.size ());
+        for (final Map.Entry<String, DeviceTags> entry: tags.entrySet ())
+        {
+            out.writeUTF (entry.getKey ());
+            DeviceCatalogCache.writeString (out, entry.getValue ().categories ());
+            DeviceCatalogCache.writeString (out, entry.getValue ().vendor ());
+        }
+    }
+
+
     /**
      * Parses the collection filter file.
      *
      * @param iniFile The INI file from which to parse
+     * @return The collections
      */
-    private void parseCollectionFilters (final IniEditor iniFile)
+    private static List<DeviceCollection> parseCollectionFilters (final IniEditor iniFile)
     {
+        final List<DeviceCollection> deviceCollections = new ArrayList<> ();
         for (int i = 0; i < getInt (iniFile, SECTION_FOLDERS, "NbFolders", 0); i++)
         {
             final int id = getInt (iniFile, SECTION_FOLDERS, "Id" + i, -1);
@@ -644,7 +893,7 @@ public class DeviceManager
                 if (collectionName != null)
                 {
                     final DeviceCollection deviceCollection = new DeviceCollection (collectionName);
-                    this.collections.add (deviceCollection);
+                    deviceCollections.add (deviceCollection);
 
                     final String collectionSection = "Folder" + id;
                     for (int j = 0; j < getInt (iniFile, collectionSection, "Nb", 0); j++)
@@ -658,6 +907,41 @@ public class DeviceManager
                 }
             }
         }
+        return deviceCollections;
+    }
+
+
+    private static List<DeviceCollection> readCollections (final DataInputStream in) throws IOException
+    {
+        // Name and number of items
+        final int count = DeviceCatalogCache.readCount (in, 6);
+        final List<DeviceCollection> deviceCollections = new ArrayList<> (count);
+        for (int i = 0; i < count; i++)
+        {
+            final DeviceCollection deviceCollection = new DeviceCollection (in.readUTF ());
+            final int numItems = in.readInt ();
+            for (int j = 0; j < numItems; j++)
+                deviceCollection.addItem (in.readUTF (), in.readInt ());
+            deviceCollections.add (deviceCollection);
+        }
+        return deviceCollections;
+    }
+
+
+    private static void writeCollections (final DataOutputStream out, final List<DeviceCollection> deviceCollections) throws IOException
+    {
+        out.writeInt (deviceCollections.size ());
+        for (final DeviceCollection deviceCollection: deviceCollections)
+        {
+            out.writeUTF (deviceCollection.getName ());
+            final List<Pair<String, Integer>> items = deviceCollection.getItems ();
+            out.writeInt (items.size ());
+            for (final Pair<String, Integer> item: items)
+            {
+                out.writeUTF (item.getKey ());
+                out.writeInt (item.getValue ().intValue ());
+            }
+        }
     }
 
 
@@ -665,9 +949,11 @@ public class DeviceManager
      * Parses the parameter maps configuration file.
      *
      * @param iniFile The INI file from which to parse
+     * @return The parameter maps by their device name
      */
-    private void parseParameterMaps (final IniEditor iniFile)
+    private static Map<String, ParameterMap> parseParameterMaps (final IniEditor iniFile)
     {
+        final Map<String, ParameterMap> maps = new HashMap<> ();
         for (final String name: iniFile.sectionNames ())
         {
             final Map<String, String> sectionMap = iniFile.getSectionMap (name);
@@ -697,7 +983,54 @@ public class DeviceManager
                 i++;
             }
 
-            this.parameterMaps.put (name, parameterMap);
+            maps.put (name, parameterMap);
+        }
+        return maps;
+    }
+
+
+    private static Map<String, ParameterMap> readParameterMaps (final DataInputStream in) throws IOException
+    {
+        // Device name and number of pages
+        final int count = DeviceCatalogCache.readCount (in, 6);
+        final Map<String, ParameterMap> maps = new HashMap<> (count);
+        for (int i = 0; i < count; i++)
+        {
+            final ParameterMap parameterMap = new ParameterMap (in.readUTF ());
+            final int numPages = in.readInt ();
+            for (int p = 0; p < numPages; p++)
+            {
+                final ParameterMapPage page = new ParameterMapPage (in.readUTF ());
+                for (final ParameterMapPageParameter parameter: page.getParameters ())
+                {
+                    final int index = in.readInt ();
+                    parameter.assign (index, DeviceCatalogCache.readString (in));
+                }
+                parameterMap.getPages ().add (page);
+            }
+            maps.put (parameterMap.getDeviceName (), parameterMap);
+        }
+        return maps;
+    }
+
+
+    private static void writeParameterMaps (final DataOutputStream out, final Map<String, ParameterMap> maps) throws IOException
+    {
+        out.writeInt (maps.size ());
+        for (final ParameterMap parameterMap: maps.values ())
+        {
+            out.writeUTF (parameterMap.getDeviceName ());
+            final List<ParameterMapPage> pages = parameterMap.getPages ();
+            out.writeInt (pages.size ());
+            for (final ParameterMapPage page: pages)
+            {
+                out.writeUTF (page.getName ());
+                for (final ParameterMapPageParameter parameter: page.getParameters ())
+                {
+                    out.writeInt (parameter.getIndex ());
+                    DeviceCatalogCache.writeString (out, parameter.getName ());
+                }
+            }
         }
     }
 
@@ -7,6 +7,7 @@ package de.mossgrabers.reaper.framework.device;
 import de.mossgrabers.framework.daw.data.IDeviceMetadata;
 
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -172,6 +173,17 @@ public class DeviceMetadataImpl implements IDeviceMetadata
     }
 
 
+    /**
+     * Get all categories of the device.
+     *
+     * @return The categories
+     */
+    public Set<String> getCategories ()
+    {
+        return Collections.unmodifiableSet (this.categories);
+    }
+
+
     /**
      * Returns true if the device has assigned at least one category.
      *
@@ -88,7 +88,7 @@ public class DeviceCategoryFilterColumn extends BaseColumn
             if (this.position == 0)
                 return deviceManager.getNumDevices ();
             final int pos = this.position - 1;
-            return pos < DeviceCategoryFilterColumn.this.getMaxNumItems () ? deviceManager.filterByCategory (DeviceCategoryFilterColumn.this.getAllItems ().get (pos)).size () : 0;
+            return pos < DeviceCategoryFilterColumn.this.getMaxNumItems () ? deviceManager.countByCategory (DeviceCategoryFilterColumn.this.getAllItems ().get (pos)) : 0;
         }
     }
 }
@@ -102,7 +102,7 @@ public class DeviceCollectionFilterColumn extends BaseColumn
             if (this.position == 0)
                 return deviceManager.getNumDevices ();
             final int pos = this.position - 1;
-            return pos < DeviceCollectionFilterColumn.this.getMaxNumItems () ? deviceManager.filterByCollection (deviceManager.getCollections ().get (pos)).size () : 0;
+            return pos < DeviceCollectionFilterColumn.this.getMaxNumItems () ? deviceManager.countByCollection (deviceManager.getCollections ().get (pos)) : 0;
         }
     }
 }
@@ -88,7 +88,7 @@ public class DeviceCreatorFilterColumn extends BaseColumn
             if (this.position == 0)
                 return deviceManager.getNumDevices ();
             final int pos = this.position - 1;
-            return pos < DeviceCreatorFilterColumn.this.getMaxNumItems () ? deviceManager.filterByVendor (deviceManager.getVendors ().get (pos)).size () : 0;
+            return pos < DeviceCreatorFilterColumn.this.getMaxNumItems () ? deviceManager.countByVendor (deviceManager.getVendors ().get (pos)) : 0;
         }
     }
 }
@@ -103,7 +103,7 @@ public class DeviceFileTypeFilterColumn extends BaseColumn
                 return DeviceManager.get ().getNumDevices ();
             final List<DeviceFileType> types = DeviceManager.get ().getAvailableFileTypes ();
             final int pos = this.position - 1;
-            return pos < types.size () ? DeviceManager.get ().filterByFileType (types.get (pos)).size () : 0;
+            return pos < types.size () ? DeviceManager.get ().countByFileType (types.get (pos)) : 0;
         }
     }
 }
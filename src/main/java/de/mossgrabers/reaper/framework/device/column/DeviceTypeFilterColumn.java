@@ -103,7 +103,7 @@ public class DeviceTypeFilterColumn extends BaseColumn
                 return DeviceManager.get ().getNumDevices ();
             final DeviceType [] values = DeviceType.values ();
             final int pos = this.position - 1;
-            return pos < values.length ? DeviceManager.get ().filterByType (values[pos]).size () : 0;
+            return pos < values.length ? DeviceManager.get ().countByType (values[pos]) : 0;
         }
     }
 }
@@ -5,6 +5,7 @@
 package de.mossgrabers.reaper.framework.graphics;
 
 import de.mossgrabers.framework.graphics.IBitmap;
+import de.mossgrabers.framework.graphics.IBounds;
 import de.mossgrabers.framework.graphics.IEncoder;
 import de.mossgrabers.framework.graphics.IRenderer;
 import de.mossgrabers.reaper.ui.WindowManager;
@@ -21,9 +22,12 @@ import java.awt.BorderLayout;
 import java.awt.Container;
 import java.awt.Dimension;
 import java.awt.Graphics;
+import java.awt.Graphics2D;
 import java.awt.image.BufferedImage;
-import java.awt.image.WritableRaster;
+import java.awt.image.DataBufferInt;
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
 
 
 /**
@@ -36,6 +40,8 @@ public class BitmapImpl implements IBitmap
     private final WindowManager windowManager;
     private final BufferedImage bufferedImage;
     private final ByteBuffer    imageBuffer;
+    private final int []        pixels;
+    private final int []        line;
     private final Object        windowLock  = new Object ();
     private BitmapWindow        window;
     private String              windowTitle = "";
@@ -53,6 +59,8 @@ public class BitmapImpl implements IBitmap
         this.windowManager = windowManager;
         this.bufferedImage = new BufferedImage (width, height, BufferedImage.TYPE_INT_ARGB);
         this.imageBuffer = ByteBuffer.allocateDirect (width * height * 4);
+        this.pixels = ((DataBufferInt) this.bufferedImage.getRaster ().getDataBuffer ()).getData ();
+        this.line = new int [width];
     }
 
 
@@ -62,25 +70,19 @@ public class BitmapImpl implements IBitmap
     {
         synchronized (this.bufferedImage)
         {
+            // Little endian ARGB integers result in the byte order blue, green, red, alpha
             this.imageBuffer.clear ();
+            final IntBuffer pixelBuffer = this.imageBuffer.duplicate ().order (ByteOrder.LITTLE_ENDIAN).asIntBuffer ();
 
-            final WritableRaster raster = this.bufferedImage.getRaster ();
-
-            final int [] pixel = new int [4];
             final int h = this.bufferedImage.getHeight ();
             final int w = this.bufferedImage.getWidth ();
             for (int y = 0; y < h; y++)
             {
+                // Alpha not used
+                final int offset = y * w;
                 for (int x = 0; x < w; x++)
-                {
-                    raster.getPixel (x, y, pixel);
-
-                    this.imageBuffer.put ((byte) pixel[2]);
-                    this.imageBuffer.put ((byte) pixel[1]);
-                    this.imageBuffer.put ((byte) pixel[0]);
-                    // Alpha not used
-                    this.imageBuffer.put ((byte) 0);
-                }
+                    this.line[x] = this.pixels[offset + x] & 0x00FFFFFF;
+                pixelBuffer.put (this.line);
             }
 
             this.imageBuffer.rewind ();
@@ -89,6 +91,37 @@ public class BitmapImpl implements IBitmap
     }
 
 
+    /** {@inheritDoc} */
+    @Override
+    public void encode (final IEncoder encoder, final IBounds area)
+    {
+        synchronized (this.bufferedImage)
+        {
+            final int h = this.bufferedImage.getHeight ();
+            final int w = this.bufferedImage.getWidth ();
+            final int left = Math.max (0, (int) Math.floor (area.left ()));
+            final int right = Math.min (w, (int) Math.ceil (area.left () + area.width ()));
+            if (left >= right)
+                return;
+
+            // Only the columns of the area are updated, the buffer still contains the others
+            this.imageBuffer.clear ();
+            final IntBuffer pixelBuffer = this.imageBuffer.duplicate ().order (ByteOrder.LITTLE_ENDIAN).asIntBuffer ();
+            final int length = right - left;
+            for (int y = 0; y < h; y++)
+            {
+                // Alpha not used
+                final int offset = y * w + left;
+                for (int x = 0; x < length; x++)
+                    this.line[x] = this.pixels[offset + x] & 0x00FFFFFF;
+                pixelBuffer.put (offset, this.line, 0, length);
+            }
+
+            encoder.encode (this.imageBuffer, w, h, left, right);
+        }
+    }
+
+
     /** {@inheritDoc} */
     @Override
     public void setDisplayWindowTitle (final String title)
@@ -122,6 +155,19 @@ public class BitmapImpl implements IBitmap
     }
 
 
+    /** {@inheritDoc} */
+    @Override
+    public void render (final boolean enableAntialias, final IBounds clip, final IRenderer renderer)
+    {
+        synchronized (this.bufferedImage)
+        {
+            final Graphics2D graphics = this.bufferedImage.createGraphics ();
+            graphics.clipRect ((int) clip.left (), (int) clip.top (), (int) clip.width (), (int) clip.height ());
+            renderer.render (new GraphicsContextImpl (graphics, FontCache.SANS_SERIF, enableAntialias));
+        }
+    }
+
+
     /**
      * Draw the buffered image in the given graphics context.
      *
@@ -9,19 +9,18 @@ import de.mossgrabers.framework.graphics.Align;
 import de.mossgrabers.framework.graphics.IGraphicsContext;
 import de.mossgrabers.framework.graphics.IImage;
 import de.mossgrabers.framework.utils.StringUtils;
+import de.mossgrabers.reaper.framework.graphics.TextLayoutCache.TextMetrics;
 import de.mossgrabers.reaper.ui.utils.FontCache;
 
 import java.awt.BasicStroke;
 import java.awt.Color;
 import java.awt.Dimension;
-import java.awt.FontMetrics;
 import java.awt.GradientPaint;
 import java.awt.Graphics2D;
 import java.awt.Paint;
 import java.awt.RenderingHints;
+import java.awt.Shape;
 import java.awt.Stroke;
-import java.awt.font.LineMetrics;
-import java.awt.geom.Rectangle2D;
 
 
 /**
@@ -31,9 +30,10 @@ import java.awt.geom.Rectangle2D;
  */
 public class GraphicsContextImpl implements IGraphicsContext
 {
-    private final FontCache  fontCache;
+    private final TextLayoutCache textCache;
+    private final FontCache       fontCache;
 
-    private final Graphics2D gc;
+    private final Graphics2D      gc;
 
 
     /**
@@ -47,7 +47,8 @@ public class GraphicsContextImpl implements IGraphicsContext
     {
         configureGraphics (gc, enableAntialias);
         this.gc = gc;
-        this.fontCache = new FontCache (fontFamily);
+        this.textCache = TextLayoutCache.getInstance (fontFamily);
+        this.fontCache = this.textCache.getFontCache ();
     }
 
 
@@ -198,7 +199,10 @@ public class GraphicsContextImpl implements IGraphicsContext
 
         this.gc.setFont (this.fontCache.getFont ((int) fontSize));
 
-        final Dimension dim = this.getTextDims (txt);
+        final TextMetrics metrics = this.getTextMetrics (txt);
+
+        // Keep the clip of the area which is rendered again
+        final Shape clip = this.gc.getClip ();
         this.gc.clipRect ((int) x, (int) y, (int) width, (int) height);
         final int posX;
         switch (alignment)
@@ -209,22 +213,22 @@ public class GraphicsContextImpl implements IGraphicsContext
 
             case CENTER:
             default:
-                posX = (int) (x + (width - dim.width) / 2);
+                posX = (int) (x + (width - metrics.width ()) / 2);
                 break;
         }
 
-        final double textDescent = this.getTextDescent (txt);
-        final int posY = (int) (y + height - (height - dim.height) / 2 - textDescent);
+        final double textDescent = metrics.descent ();
+        final int posY = (int) (y + height - (height - metrics.height ()) / 2 - textDescent);
 
         if (backgroundColor != null)
         {
             final double inset = 12.0;
-            this.fillRoundedRectangle (posX - inset, posY - dim.height - inset + textDescent, dim.width + 2 * inset, dim.height + 2 * inset, inset, backgroundColor);
+            this.fillRoundedRectangle (posX - inset, posY - metrics.height () - inset + textDescent, metrics.width () + 2 * inset, metrics.height () + 2 * inset, inset, backgroundColor);
         }
 
         this.setColor (color);
         this.gc.drawString (txt, posX, posY);
-        this.gc.setClip (null);
+        this.gc.setClip (clip);
     }
 
 
@@ -246,19 +250,19 @@ public class GraphicsContextImpl implements IGraphicsContext
         final String txt = StringUtils.fixFontCharacters (text);
 
         this.gc.setFont (this.fontCache.getFont ((int) fontSize));
-        final Dimension dim = this.getTextDims (txt);
+        final TextMetrics metrics = this.getTextMetrics (txt);
 
-        final double textDescent = this.getTextDescent (txt);
-        final int posY = (int) (y + height - (height - dim.height) / 2 - textDescent);
+        final double textDescent = metrics.descent ();
+        final int posY = (int) (y + height - (height - metrics.height ()) / 2 - textDescent);
 
         if (backgroundColor != null)
         {
             final double inset = 12.0;
-            this.fillRoundedRectangle (x - inset, posY - dim.height - inset + textDescent, dim.width + 2 * inset, dim.height + 2 * inset, inset, backgroundColor);
+            this.fillRoundedRectangle (x - inset, posY - metrics.height () - inset + textDescent, metrics.width () + 2 * inset, metrics.height () + 2 * inset, inset, backgroundColor);
         }
 
         this.setColor (color);
-        this.gc.drawString (txt, (int) x, (int) (y + height - (height - dim.height) / 2 - this.getTextDescent ("Hg")));
+        this.gc.drawString (txt, (int) x, (int) (y + height - (height - metrics.height ()) / 2 - this.getTextDescent ("Hg")));
     }
 
 
@@ -283,19 +287,7 @@ public class GraphicsContextImpl implements IGraphicsContext
     @Override
     public double calculateFontSize (final String text, final double maxHeight, final double maxWidth, final double minimumFontSize)
     {
-        double size = minimumFontSize;
-        double fittingSize = minimumFontSize;
-        while (size < maxHeight)
-        {
-            this.gc.setFont (this.fontCache.getFont ((int) size));
-            final Dimension textDims = this.getTextDims (text);
-            final double width = textDims.getWidth ();
-            if (width > maxWidth)
-                break;
-            fittingSize = size;
-            size += 1.0;
-        }
-        return fittingSize;
+        return this.textCache.getFittingFontSize (text, maxHeight, maxWidth, minimumFontSize, this.gc.getFontRenderContext ());
     }
 
 
@@ -321,12 +313,8 @@ public class GraphicsContextImpl implements IGraphicsContext
      */
     public Dimension getTextDims (final String text)
     {
-        final FontMetrics fm = this.gc.getFontMetrics ();
-        final Rectangle2D bounds = fm.getStringBounds (text, this.gc);
-        final LineMetrics lm = fm.getFont ().getLineMetrics (text, this.gc.getFontRenderContext ());
-        final double width = bounds.getWidth ();
-        bounds.setRect (bounds.getX (), bounds.getY (), width, lm.getHeight ());
-        return new Dimension ((int) Math.round (width), (int) Math.round (bounds.getHeight ()));
+        final TextMetrics metrics = this.getTextMetrics (text);
+        return new Dimension (metrics.width (), metrics.height ());
     }
 
 
@@ -338,7 +326,19 @@ public class GraphicsContextImpl implements IGraphicsContext
      */
     public int getTextDescent (final String text)
     {
-        return Math.round (this.gc.getFont ().getLineMetrics (text, this.gc.getFontRenderContext ()).getDescent ());
+        return this.getTextMetrics (text).descent ();
+    }
+
+
+    /**
+     * Get the (cached) dimensions of a text drawn with the current font.
+     *
+     * @param text The text to draw
+     * @return The dimensions
+     */
+    private TextMetrics getTextMetrics (final String text)
+    {
+        return this.textCache.getMetrics (text, this.gc.getFont (), this.gc.getFontRenderContext ());
     }
 
 
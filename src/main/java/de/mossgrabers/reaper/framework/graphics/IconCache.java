@@ -0,0 +1,211 @@
+// Written by Jürgen Moßgraber - mossgrabers.de
+// (c) 2017-2026
+// Licensed under LGPLv3 - http://www.gnu.org/licenses/lgpl-3.0.txt
+
+package de.mossgrabers.reaper.framework.graphics;
+
+import java.awt.Color;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiFunction;
+
+
+/**
+ * Caches the rasterized (tinted) variants of the SVG icons. The size of a rasterized icon is given
+ * by the SVG file, therefore an icon is identified by its name and color. The cache has a budget
+ * for the memory used by the bitmaps. If it is exceeded, the least recently used icons are
+ * removed.
+ *
+ * Reading an icon does not lock. The creation of icons is serialized since the SVG renderer shares
+ * the loaded diagrams, which are modified to change the color.
+ *
+ * @author Jürgen Moßgraber
+ */
+public class IconCache
+{
+    /**
+     * The statistics of the cache.
+     *
+     * @param hits The number of requests which were answered from the cache
+     * @param misses The number of requests for which an icon needed to be rasterized
+     * @param evictions The number of icons which were removed to stay in the budget
+     * @param entries The current number of icons
+     * @param bytes The current memory used by the bitmaps of the icons
+     * @param budget The memory budget
+     */
+    public record Statistics (long hits, long misses, long evictions, int entries, long bytes, long budget)
+    {
+        /** {@inheritDoc} */
+        @Override
+        public String toString ()
+        {
+            final long requests = this.hits + this.misses;
+            final double hitRate = requests == 0 ? 0 : this.hits * 100.0 / requests;
+            return String.format (Locale.US, "%d icons, %d of %d kB, %d hits, %d misses, hit rate %.1f%%, %d evicted", Integer.valueOf (this.entries), Long.valueOf (this.bytes / 1024), Long.valueOf (this.budget / 1024), Long.valueOf (this.hits), Long.valueOf (this.misses), Double.valueOf (hitRate), Long.valueOf (this.evictions));
+        }
+    }
+
+
+    private record Key (String imageName, Color color)
+    {
+        // Intentionally empty
+    }
+
+
+    private record Candidate (Key key, Entry entry, long lastAccess)
+    {
+        // Intentionally empty
+    }
+
+
+    private static final class Entry
+    {
+        private final SVGImage image;
+        private final long     bytes;
+        private volatile long  lastAccess;
+
+
+        Entry (final SVGImage image)
+        {
+            this.image = image;
+            this.bytes = 4L * image.getImage ().getWidth () * image.getImage ().getHeight ();
+            this.lastAccess = System.nanoTime ();
+        }
+    }
+
+
+    /** The setting of the main configuration for the memory budget in megabytes. */
+    public static final String    BUDGET_SETTING    = "ICON_CACHE_BUDGET_MB";
+    /** The default memory budget in megabytes. */
+    public static final int       DEFAULT_BUDGET_MB = 16;
+
+    private final Map<Key, Entry> entries           = new ConcurrentHashMap<> ();
+    private final Object          createLock        = new Object ();
+    private final LongAdder       hits              = new LongAdder ();
+    private final LongAdder       misses            = new LongAdder ();
+    private final LongAdder       evictions         = new LongAdder ();
+    private final AtomicLong      usedBytes         = new AtomicLong ();
+    private volatile long         budget;
+
+
+    /**
+     * Constructor.
+     *
+     * @param budget The memory budget in bytes
+     */
+    public IconCache (final long budget)
+    {
+        this.budget = budget;
+    }
+
+
+    /**
+     * Get an icon. If it is not in the cache, it is created and added.
+     *
+     * @param imageName The name (absolute path) of the image
+     * @param color The color of the icon
+     * @param creator Creates (rasterizes) the icon if it is not in the cache
+     * @return The icon
+     */
+    public SVGImage get (final String imageName, final Color color, final BiFunction<String, Color, SVGImage> creator)
+    {
+        final Key key = new Key (imageName, color);
+        Entry entry = this.entries.get (key);
+        if (entry == null)
+        {
+            synchronized (this.createLock)
+            {
+                entry = this.entries.get (key);
+                if (entry == null)
+                {
+                    this.misses.increment ();
+                    entry = new Entry (creator.apply (imageName, color));
+                    this.entries.put (key, entry);
+                    this.usedBytes.addAndGet (entry.bytes);
+                    this.evict (entry);
+                    return entry.image;
+                }
+            }
+        }
+
+        this.hits.increment ();
+        entry.lastAccess = System.nanoTime ();
+        return entry.image;
+    }
+
+
+    /**
+     * Set the memory budget. Icons are removed if the new budget is exceeded.
+     *
+     * @param budget The budget in bytes
+     */
+    public void setBudget (final long budget)
+    {
+        synchronized (this.createLock)
+        {
+            this.budget = budget;
+            this.evict (null);
+        }
+    }
+
+
+    /**
+     * Remove all icons. The statistics are kept.
+     */
+    public void clear ()
+    {
+        synchronized (this.createLock)
+        {
+            this.entries.clear ();
+            this.usedBytes.set (0);
+        }
+    }
+
+
+    /**
+     * Get the statistics of the cache.
+     *
+     * @return The statistics
+     */
+    public Statistics getStatistics ()
+    {
+        return new Statistics (this.hits.sum (), this.misses.sum (), this.evictions.sum (), this.entries.size (), this.usedBytes.get (), this.budget);
+    }
+
+
+    /**
+     * Remove the least recently used icons until the used memory is in the budget. Must be called
+     * with the creation lock.
+     *
+     * @param keep An entry which must not be removed, might be null
+     */
+    private void evict (final Entry keep)
+    {
+        if (this.usedBytes.get () <= this.budget)
+            return;
+
+        // Take a snapshot of the access times since they are updated while sorting
+        final List<Candidate> candidates = new ArrayList<> (this.entries.size ());
+        for (final Map.Entry<Key, Entry> e: this.entries.entrySet ())
+            candidates.add (new Candidate (e.getKey (), e.getValue (), e.getValue ().lastAccess));
+        candidates.sort (Comparator.comparingLong (Candidate::lastAccess));
+
+        for (final Candidate candidate: candidates)
+        {
+            if (this.usedBytes.get () <= this.budget)
+                break;
+            final Entry entry = candidate.entry ();
+            if (entry != keep && this.entries.remove (candidate.key (), entry))
+            {
+                this.usedBytes.addAndGet (-entry.bytes);
+                this.evictions.increment ();
+            }
+        }
+    }
+}
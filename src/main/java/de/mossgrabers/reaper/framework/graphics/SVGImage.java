@@ -21,6 +21,7 @@ import static java.awt.RenderingHints.VALUE_TEXT_ANTIALIAS_ON;
 
 import de.mossgrabers.framework.graphics.IImage;
 import de.mossgrabers.framework.utils.FrameworkException;
+import de.mossgrabers.reaper.ui.utils.PropertiesEx;
 
 import com.kitfox.svg.SVGDiagram;
 import com.kitfox.svg.SVGElement;
@@ -33,7 +34,6 @@ import java.awt.Color;
 import java.awt.Graphics2D;
 import java.awt.image.BufferedImage;
 import java.io.IOException;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
 
@@ -50,8 +50,7 @@ public class SVGImage implements IImage
     private static final Map<Object, Object>               RENDERING_HINTS = Map.of (KEY_ANTIALIASING, VALUE_ANTIALIAS_ON, KEY_ALPHA_INTERPOLATION, VALUE_ALPHA_INTERPOLATION_QUALITY, KEY_COLOR_RENDERING, VALUE_COLOR_RENDER_QUALITY, KEY_DITHERING, VALUE_DITHER_DISABLE, KEY_FRACTIONALMETRICS, VALUE_FRACTIONALMETRICS_ON, KEY_INTERPOLATION, VALUE_INTERPOLATION_BICUBIC, KEY_RENDERING, VALUE_RENDER_QUALITY, KEY_STROKE_CONTROL, VALUE_STROKE_PURE, KEY_TEXT_ANTIALIASING, VALUE_TEXT_ANTIALIAS_ON);
     private static final SVGUniverse                       RENDERER        = new SVGUniverse ();
 
-    private static final Map<String, Map<Color, SVGImage>> CACHE           = new HashMap<> ();
-    private static final Object                            CACHE_LOCK      = new Object ();
+    private static final IconCache                         CACHE           = new IconCache (IconCache.DEFAULT_BUDGET_MB * 1024L * 1024L);
     private static final Set<String>                       STROKE_ELEMENTS = Set.of ("polygon", "circle", "path", "rect");
 
     private final BufferedImage                            bufferedImage;
@@ -61,7 +60,8 @@ public class SVGImage implements IImage
     /**
      * Get a SVG image as a buffered image. The image is expected to be monochrome: 1 color and the
      * a transparent background. The given color replaces the color of the image. The images are
-     * cached by name and color.
+     * cached by name and color, the least recently used images are removed if the memory budget
+     * of the cache is exceeded.
      *
      * @param imageName The name (absolute path) of the image
      * @param color The color for replacement
@@ -69,22 +69,18 @@ public class SVGImage implements IImage
      */
     public static SVGImage getSVGImage (final String imageName, final Color color)
     {
-        synchronized (CACHE_LOCK)
-        {
-            final Map<Color, SVGImage> images = CACHE.computeIfAbsent (imageName, in -> new HashMap<> ());
-            return images.computeIfAbsent (color, col -> {
-
-                try
-                {
-                    return new SVGImage (imageName, color);
-                }
-                catch (final IOException ex)
-                {
-                    throw new FrameworkException ("SVG image not found.", ex);
-                }
-
-            });
-        }
+        return CACHE.get (imageName, color, (name, col) -> {
+
+            try
+            {
+                return new SVGImage (name, col);
+            }
+            catch (final IOException ex)
+            {
+                throw new FrameworkException ("SVG image not found.", ex);
+            }
+
+        });
     }
 
 
@@ -93,15 +89,56 @@ public class SVGImage implements IImage
      */
     public static void clearCache ()
     {
-        synchronized (CACHE_LOCK)
+        CACHE.clear ();
+    }
+
+
+    /**
+     * Set the memory budget of the image cache.
+     *
+     * @param megabytes The budget in megabytes
+     */
+    public static void setCacheBudget (final int megabytes)
+    {
+        CACHE.setBudget (megabytes * 1024L * 1024L);
+    }
+
+
+    /**
+     * Set the memory budget of the image cache from the setting ICON_CACHE_BUDGET_MB of the main
+     * configuration. If the setting is not present or not a number, the default budget is used.
+     *
+     * @param configuration The main configuration
+     */
+    public static void configureCache (final PropertiesEx configuration)
+    {
+        int megabytes = IconCache.DEFAULT_BUDGET_MB;
+        try
         {
-            CACHE.clear ();
+            megabytes = configuration.getInt (IconCache.BUDGET_SETTING, IconCache.DEFAULT_BUDGET_MB);
         }
+        catch (final NumberFormatException ex)
+        {
+            // Use the default
+        }
+        setCacheBudget (megabytes);
+    }
+
+
+    /**
+     * Get the statistics of the image cache.
+     *
+     * @return The statistics
+     */
+    public static IconCache.Statistics getCacheStatistics ()
+    {
+        return CACHE.getStatistics ();
     }
 
 
     /**
-     * Constructor.
+     * Constructor. Use getSVGImage instead, the loaded SVG diagrams are shared and must not be
+     * modified concurrently.
      *
      * @param imageName The name of the image (absolute path) to load
      * @param color The replacement color
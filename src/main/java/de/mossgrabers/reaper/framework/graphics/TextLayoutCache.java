@@ -0,0 +1,177 @@
+// Written by Jürgen Moßgraber - mossgrabers.de
+// (c) 2017-2026
+// Licensed under LGPLv3 - http://www.gnu.org/licenses/lgpl-3.0.txt
+
+package de.mossgrabers.reaper.framework.graphics;
+
+import de.mossgrabers.framework.utils.LruCache;
+import de.mossgrabers.reaper.ui.utils.FontCache;
+
+import java.awt.Font;
+import java.awt.font.FontRenderContext;
+import java.awt.font.LineMetrics;
+import java.awt.geom.Rectangle2D;
+import java.util.HashMap;
+import java.util.Map;
+
+
+/**
+ * Caches the layout of texts for a font family, which is shared by all graphics contexts (and
+ * therefore by all frames) which use the font. The scaled fonts are kept as well, which allows
+ * Java2D to re-use the glyphs which it has already rasterized for them.
+ *
+ * The same labels (e.g. parameter names or track names) are drawn over and over, therefore the
+ * measured dimensions of a text and the font size which fits a text into an area are stored in
+ * least recently used caches. The values depend on the font render context (e.g. anti-aliasing),
+ * which is part of the keys.
+ *
+ * @author Jürgen Moßgraber
+ */
+public class TextLayoutCache
+{
+    /**
+     * The dimensions of a text.
+     *
+     * @param width The width of the text in pixels
+     * @param height The height of the text line in pixels
+     * @param descent The distance from the baseline to the bottom of the text in pixels
+     */
+    public record TextMetrics (int width, int height, int descent)
+    {
+        // Intentionally empty
+    }
+
+
+    private record MetricsKey (String text, Font font, FontRenderContext context)
+    {
+        // Intentionally empty
+    }
+
+
+    private record FitKey (String text, double maxHeight, double maxWidth, double minimumFontSize, FontRenderContext context)
+    {
+        // Intentionally empty
+    }
+
+
+    private static final int                          CAPACITY  = 4096;
+    private static final Map<String, TextLayoutCache> INSTANCES = new HashMap<> ();
+
+    private final FontCache                           fontCache;
+    private final LruCache<MetricsKey, TextMetrics>   metrics   = new LruCache<> (CAPACITY);
+    private final LruCache<FitKey, Double>            fontSizes = new LruCache<> (CAPACITY);
+
+
+    /**
+     * Get the cache of a font family.
+     *
+     * @param fontFamily The font family
+     * @return The cache
+     */
+    public static TextLayoutCache getInstance (final String fontFamily)
+    {
+        synchronized (INSTANCES)
+        {
+            return INSTANCES.computeIfAbsent (fontFamily, TextLayoutCache::new);
+        }
+    }
+
+
+    /**
+     * Get the statistics of the caches of all font families.
+     *
+     * @return The statistics of the metrics and the font sizes, one entry per font family
+     */
+    public static String getStatistics ()
+    {
+        final StringBuilder sb = new StringBuilder ();
+        synchronized (INSTANCES)
+        {
+            for (final Map.Entry<String, TextLayoutCache> entry: INSTANCES.entrySet ())
+            {
+                final TextLayoutCache cache = entry.getValue ();
+                if (!sb.isEmpty ())
+                    sb.append ('\n');
+                sb.append (entry.getKey ()).append (" text metrics: ").append (cache.metrics.getStatistics ()).append (", font sizes: ").append (cache.fontSizes.getStatistics ());
+            }
+        }
+        return sb.toString ();
+    }
+
+
+    /**
+     * Constructor.
+     *
+     * @param fontFamily The font family
+     */
+    private TextLayoutCache (final String fontFamily)
+    {
+        this.fontCache = new FontCache (fontFamily);
+    }
+
+
+    /**
+     * Get the cache for the scaled fonts.
+     *
+     * @return The font cache
+     */
+    public FontCache getFontCache ()
+    {
+        return this.fontCache;
+    }
+
+
+    /**
+     * Get the dimensions of a text.
+     *
+     * @param text The text
+     * @param font The font to use
+     * @param context The font render context of the graphics context
+     * @return The dimensions
+     */
+    public TextMetrics getMetrics (final String text, final Font font, final FontRenderContext context)
+    {
+        return this.metrics.get (new MetricsKey (text, font, context), TextLayoutCache::measure);
+    }
+
+
+    /**
+     * Calculate the largest font size with which the text fits into the given area.
+     *
+     * @param text The text
+     * @param maxHeight The maximum height of the text, the font size is smaller
+     * @param maxWidth The maximum width of the text
+     * @param minimumFontSize The font size to start from, which is returned if no larger size fits
+     * @param context The font render context of the graphics context
+     * @return The font size
+     */
+    public double getFittingFontSize (final String text, final double maxHeight, final double maxWidth, final double minimumFontSize, final FontRenderContext context)
+    {
+        final FitKey key = new FitKey (text, maxHeight, maxWidth, minimumFontSize, context);
+        return this.fontSizes.get (key, this::calculateFittingFontSize).doubleValue ();
+    }
+
+
+    private Double calculateFittingFontSize (final FitKey key)
+    {
+        double size = key.minimumFontSize ();
+        double fittingSize = key.minimumFontSize ();
+        while (size < key.maxHeight ())
+        {
+            final Font font = this.fontCache.getFont ((int) size);
+            if (this.getMetrics (key.text (), font, key.context ()).width () > key.maxWidth ())
+                break;
+            fittingSize = size;
+            size += 1.0;
+        }
+        return Double.valueOf (fittingSize);
+    }
+
+
+    private static TextMetrics measure (final MetricsKey key)
+    {
+        final Rectangle2D bounds = key.font ().getStringBounds (key.text (), key.context ());
+        final LineMetrics lm = key.font ().getLineMetrics (key.text (), key.context ());
+        return new TextMetrics ((int) Math.round (bounds.getWidth ()), Math.round (lm.getHeight ()), Math.round (lm.getDescent ()));
+    }
+}
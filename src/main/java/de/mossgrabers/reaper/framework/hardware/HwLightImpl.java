@@ -7,6 +7,7 @@ package de.mossgrabers.reaper.framework.hardware;
 import de.mossgrabers.framework.controller.color.ColorEx;
 import de.mossgrabers.framework.controller.hardware.AbstractHwControl;
 import de.mossgrabers.framework.controller.hardware.IHwLight;
+import de.mossgrabers.framework.daw.IHost;
 import de.mossgrabers.framework.graphics.IGraphicsContext;
 
 import java.util.function.Consumer;
@@ -41,12 +42,13 @@ public class HwLightImpl extends AbstractHwControl implements IHwLight, IReaperH
      * Constructor.
      *
      * @param id The ID o the control
+     * @param host The host
      * @param supplier Callback for getting the state of the light
      * @param sendValueConsumer Callback for sending the state to the controller device
      */
-    public HwLightImpl (final String id, final Supplier<ColorEx> supplier, final Consumer<ColorEx> sendValueConsumer)
+    public HwLightImpl (final String id, final IHost host, final Supplier<ColorEx> supplier, final Consumer<ColorEx> sendValueConsumer)
     {
-        super (null, null);
+        super (host, null);
 
         this.layout = new HwControlLayout (id);
 
@@ -61,14 +63,15 @@ public class HwLightImpl extends AbstractHwControl implements IHwLight, IReaperH
      * Constructor.
      *
      * @param id The ID o the control
+     * @param host The host
      * @param supplier Callback for getting the state of the light
      * @param sendValueConsumer Callback for sending the state to the controller device
      * @param stateToColorFunction Convert the state of the light to a color, which can be displayed
      *            in the simulated GUI
      */
-    public HwLightImpl (final String id, final IntSupplier supplier, final IntConsumer sendValueConsumer, final IntFunction<ColorEx> stateToColorFunction)
+    public HwLightImpl (final String id, final IHost host, final IntSupplier supplier, final IntConsumer sendValueConsumer, final IntFunction<ColorEx> stateToColorFunction)
     {
-        super (null, null);
+        super (host, null);
 
         this.layout = new HwControlLayout (id);
 
@@ -86,6 +89,7 @@ public class HwLightImpl extends AbstractHwControl implements IHwLight, IReaperH
     {
         this.colorState = null;
         this.intState = -1;
+        this.invalidateUpdate ();
     }
 
 
@@ -104,6 +108,9 @@ public class HwLightImpl extends AbstractHwControl implements IHwLight, IReaperH
     @Override
     public void update ()
     {
+        if (!this.isUpdateNecessary ())
+            return;
+
         if (this.colorSupplier != null)
         {
             final ColorEx newColorState = this.colorSupplier.get ();
@@ -74,7 +74,7 @@ public class HwSurfaceFactoryImpl implements IHwSurfaceFactory
         this.lightCounter++;
         final String id = createID (surfaceID, outputID == null ? "LIGHT" + this.lightCounter : outputID.name ());
 
-        final HwLightImpl light = new HwLightImpl (id, supplier, sendValueConsumer);
+        final HwLightImpl light = new HwLightImpl (id, this.host, supplier, sendValueConsumer);
         this.controls.add (light);
         return light;
     }
@@ -87,7 +87,7 @@ public class HwSurfaceFactoryImpl implements IHwSurfaceFactory
         this.lightCounter++;
         final String id = createID (surfaceID, outputID == null ? "LIGHT" + this.lightCounter : outputID.name ());
 
-        final HwLightImpl light = new HwLightImpl (id, supplier, sendValueConsumer, stateToColorFunction);
+        final HwLightImpl light = new HwLightImpl (id, this.host, supplier, sendValueConsumer, stateToColorFunction);
         if (button == null)
             this.controls.add (light);
         else
@@ -4,11 +4,11 @@
 
 package de.mossgrabers.reaper.framework.midi;
 
-import de.mossgrabers.framework.daw.IHost;
 import de.mossgrabers.framework.daw.midi.IMidiAccess;
 import de.mossgrabers.framework.daw.midi.IMidiInput;
 import de.mossgrabers.framework.daw.midi.IMidiOutput;
 import de.mossgrabers.reaper.communication.BackendExchange;
+import de.mossgrabers.reaper.framework.daw.HostImpl;
 import de.mossgrabers.reaper.ui.utils.LogModel;
 
 import javax.sound.midi.MidiDevice;
@@ -27,10 +27,11 @@ import java.util.TreeMap;
 public class MidiAccessImpl implements IMidiAccess
 {
     private static BackendExchange                     backend;
-    private static final Map<String, ReaperMidiDevice> INPUTS  = new TreeMap<> ();
-    private static final Map<String, ReaperMidiDevice> OUTPUTS = new TreeMap<> ();
+    private static final Map<String, ReaperMidiDevice> INPUTS     = new TreeMap<> ();
+    private static final Map<String, ReaperMidiDevice> OUTPUTS    = new TreeMap<> ();
+    private static volatile ReaperMidiDevice []        inputsByID = new ReaperMidiDevice [0];
 
-    private final IHost                                host;
+    private final HostImpl                             host;
     private final MidiConnection []                    midiConnections;
     private final MidiDevice []                        inputs;
     private final MidiDevice []                        outputs;
@@ -44,7 +45,7 @@ public class MidiAccessImpl implements IMidiAccess
      * @param inputs The MIDI input devices
      * @param outputs The MIDI output devices
      */
-    public MidiAccessImpl (final LogModel logModel, final IHost host, final MidiDevice [] inputs, final MidiDevice [] outputs)
+    public MidiAccessImpl (final LogModel logModel, final HostImpl host, final MidiDevice [] inputs, final MidiDevice [] outputs)
     {
         this.host = host;
         this.inputs = inputs;
@@ -128,6 +129,14 @@ public class MidiAccessImpl implements IMidiAccess
         final Map<Integer, String> midiOutputs = backend.getMidiOutputs ();
         for (final Map.Entry<Integer, String> info: midiOutputs.entrySet ())
             addDevice (keyedNames, info, false);
+
+        int maxID = -1;
+        for (final ReaperMidiDevice device: INPUTS.values ())
+            maxID = Math.max (maxID, device.getDeviceID ());
+        final ReaperMidiDevice [] devices = new ReaperMidiDevice [maxID + 1];
+        for (final ReaperMidiDevice device: INPUTS.values ())
+            devices[device.getDeviceID ()] = device;
+        inputsByID = devices;
     }
 
 
@@ -176,6 +185,19 @@ public class MidiAccessImpl implements IMidiAccess
     }
 
 
+    /**
+     * Get a MIDI input device by its ID. readDeviceMetadata must have called before.
+     *
+     * @param deviceID The ID of the device
+     * @return The device or null if there is no input with that ID
+     */
+    public static ReaperMidiDevice getInputDevice (final int deviceID)
+    {
+        final ReaperMidiDevice [] devices = inputsByID;
+        return deviceID >= 0 && deviceID < devices.length ? devices[deviceID] : null;
+    }
+
+
     /**
      * Get a specific output device.
      *
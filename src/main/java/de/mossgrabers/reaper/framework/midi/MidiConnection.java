@@ -284,7 +284,7 @@ public class MidiConnection
     }
 
 
-    private final class InternalMidiReceiver implements Receiver
+    private final class InternalMidiReceiver implements ShortMessageReceiver
     {
         private MidiMessageHandler callback;
 
@@ -310,5 +310,14 @@ public class MidiConnection
             if (this.callback != null)
                 this.callback.handleMidiMessage (message, timeStamp);
         }
+
+
+        /** {@inheritDoc} */
+        @Override
+        public void send (final int status, final int data1, final int data2)
+        {
+            if (this.callback != null)
+                this.callback.handleShortMessage (status, data1, data2);
+        }
     }
 }
@@ -19,7 +19,10 @@ import de.mossgrabers.framework.daw.midi.MidiConstants;
 import de.mossgrabers.framework.daw.midi.MidiShortCallback;
 import de.mossgrabers.framework.daw.midi.MidiSysExCallback;
 import de.mossgrabers.framework.utils.ButtonEvent;
+import de.mossgrabers.framework.utils.LatencyTracer;
 import de.mossgrabers.reaper.communication.BackendExchange;
+import de.mossgrabers.reaper.framework.daw.ChangeGeneration;
+import de.mossgrabers.reaper.framework.daw.HostImpl;
 import de.mossgrabers.reaper.framework.hardware.AbstractHwAbsoluteControl;
 
 import javax.sound.midi.MidiDevice;
@@ -28,12 +31,8 @@ import javax.sound.midi.ShortMessage;
 import javax.sound.midi.SysexMessage;
 
 import java.util.ArrayList;
-import java.util.Collection;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
-import java.util.Map;
-import java.util.Map.Entry;
 
 
 /**
@@ -41,27 +40,35 @@ import java.util.Map.Entry;
  *
  * @author Jürgen Moßgraber
  */
-public class MidiInputImpl implements IMidiInput
+public class MidiInputImpl implements IMidiInput, MidiMessageHandler
 {
-    private final IHost                                               host;
-    private final BackendExchange                                     sender;
-    private final MidiConnection                                      midiConnection;
-    private final MidiDevice                                          device;
-    private final NoteInputImpl                                       defaultNoteInput;
-    private final List<NoteInputImpl>                                 noteInputs                  = new ArrayList<> ();
-
-    private MidiShortCallback                                         shortCallback;
-    private MidiSysExCallback                                         sysexCallback;
-
-    private final Map<Integer, Map<Integer, Map<Integer, IHwButton>>> ccButtonMatchers            = new HashMap<> ();
-    private final Map<Integer, Map<Integer, Map<Integer, IHwButton>>> noteButtonMatchers          = new HashMap<> ();
-    private final Map<Integer, Map<Integer, IHwContinuousControl>>    ccContinuousMatchers        = new HashMap<> ();
-    private final Map<Integer, IHwContinuousControl>                  pitchbendContinuousMatchers = new HashMap<> ();
-    private final Map<Integer, Map<Integer, IHwContinuousControl>>    ccTouchMatchers             = new HashMap<> ();
-    private final Map<Integer, Map<Integer, IHwContinuousControl>>    noteTouchMatchers           = new HashMap<> ();
-
-    private final int []                                              lastCCValues                = new int [32];
-    private int                                                       noteInputIndex              = 0;
+    private static final int                NUM_CHANNELS                = 16;
+    private static final int                NUM_CONTROLS                = 128;
+    /** The first entry is for bindings which match any value (-1), followed by the values 0-127. */
+    private static final int                NUM_VALUES                  = 129;
+
+    private final IHost                     host;
+    private final ChangeGeneration          inputChanges;
+    private final BackendExchange           sender;
+    private final MidiConnection            midiConnection;
+    private final MidiDevice                device;
+    private final NoteInputImpl             defaultNoteInput;
+    private final List<NoteInputImpl>       noteInputs                  = new ArrayList<> ();
+
+    private MidiShortCallback               shortCallback;
+    private MidiSysExCallback               sysexCallback;
+    private LatencyTracer.Trace             latencyTrace                = new LatencyTracer.Trace ();
+
+    // Dispatch tables indexed by [channel][data1], button values are lazily created
+    private final IHwButton [][][]          ccButtonMatchers            = new IHwButton [NUM_CHANNELS][NUM_CONTROLS][];
+    private final IHwButton [][][]          noteButtonMatchers          = new IHwButton [NUM_CHANNELS][NUM_CONTROLS][];
+    private final IHwContinuousControl [][] ccContinuousMatchers        = new IHwContinuousControl [NUM_CHANNELS][NUM_CONTROLS];
+    private final IHwContinuousControl []   pitchbendContinuousMatchers = new IHwContinuousControl [NUM_CHANNELS];
+    private final IHwContinuousControl [][] ccTouchMatchers             = new IHwContinuousControl [NUM_CHANNELS][NUM_CONTROLS];
+    private final IHwContinuousControl [][] noteTouchMatchers           = new IHwContinuousControl [NUM_CHANNELS][NUM_CONTROLS];
+
+    private final int []                    lastCCValues                = new int [32];
+    private int                             noteInputIndex              = 0;
 
     /**
      * Constructor.
@@ -75,14 +82,15 @@ public class MidiInputImpl implements IMidiInput
      *            {@null}, a standard filter will be used to forward note-related messages on
      *            channel 1 (0).
      */
-    public MidiInputImpl (final IHost host, final BackendExchange sender, final MidiConnection midiConnection, final MidiDevice device, final String [] filters)
+    public MidiInputImpl (final HostImpl host, final BackendExchange sender, final MidiConnection midiConnection, final MidiDevice device, final String [] filters)
     {
         this.host = host;
+        this.inputChanges = host.getInputChanges ();
         this.sender = sender;
         this.midiConnection = midiConnection;
         this.device = device;
 
-        this.midiConnection.setInput (this.device, (message, timeStamp) -> this.handleMidiMessage (message));
+        this.midiConnection.setInput (this.device, this);
         this.defaultNoteInput = new NoteInputImpl (device, this.noteInputIndex, sender, filters);
         this.noteInputIndex++;
         this.noteInputs.add (this.defaultNoteInput);
@@ -116,6 +124,14 @@ public class MidiInputImpl implements IMidiInput
     }
 
 
+    /** {@inheritDoc} */
+    @Override
+    public void setLatencyTrace (final LatencyTracer.Trace trace)
+    {
+        this.latencyTrace = trace;
+    }
+
+
     /** {@inheritDoc} */
     @Override
     public void sendRawMidiEvent (final int status, final int data1, final int data2)
@@ -161,15 +177,21 @@ public class MidiInputImpl implements IMidiInput
 
     private void internalBind (final IHwButton button, final BindType type, final int channel, final int control, final int value)
     {
-        final Map<Integer, Map<Integer, IHwButton>> controlMap;
+        final IHwButton [][][] matchers;
         switch (type)
         {
-            case BindType.CC -> controlMap = this.ccButtonMatchers.computeIfAbsent (Integer.valueOf (channel), key -> new HashMap<> ());
-            case BindType.NOTE -> controlMap = this.noteButtonMatchers.computeIfAbsent (Integer.valueOf (channel), key -> new HashMap<> ());
+            case BindType.CC -> matchers = this.ccButtonMatchers;
+            case BindType.NOTE -> matchers = this.noteButtonMatchers;
             default -> throw new BindException (type);
         }
 
-        controlMap.computeIfAbsent (Integer.valueOf (control), key -> new HashMap<> ()).put (Integer.valueOf (value), button);
+        // Such a binding could never match an incoming message
+        if (!isValid (channel, control) || value < -1 || value >= NUM_CONTROLS)
+            return;
+
+        if (matchers[channel][control] == null)
+            matchers[channel][control] = new IHwButton [NUM_VALUES];
+        matchers[channel][control][value + 1] = button;
     }
 
 
@@ -177,30 +199,22 @@ public class MidiInputImpl implements IMidiInput
     @Override
     public void unbind (final IHwButton button)
     {
-        for (final Map<Integer, Map<Integer, IHwButton>> m: this.ccButtonMatchers.values ())
-        {
-            for (final Map<Integer, IHwButton> v: m.values ())
-            {
-                final Collection<IHwButton> values = v.values ();
-                if (values.contains (button))
-                {
-                    values.remove (button);
-                    return;
-                }
-            }
-        }
-        for (final Map<Integer, Map<Integer, IHwButton>> m: this.noteButtonMatchers.values ())
+        if (!removeButton (this.ccButtonMatchers, button))
+            removeButton (this.noteButtonMatchers, button);
+    }
+
+
+    private static boolean removeButton (final IHwButton [][][] matchers, final IHwButton button)
+    {
+        for (final IHwButton [][] controls: matchers)
         {
-            for (final Map<Integer, IHwButton> v: m.values ())
+            for (final IHwButton [] values: controls)
             {
-                final Collection<IHwButton> values = v.values ();
-                if (values.contains (button))
-                {
-                    values.remove (button);
-                    return;
-                }
+                if (values != null && remove (values, button))
+                    return true;
             }
         }
+        return false;
     }
 
 
@@ -259,10 +273,12 @@ public class MidiInputImpl implements IMidiInput
         switch (type)
         {
             case CC:
-                this.ccContinuousMatchers.computeIfAbsent (Integer.valueOf (channel), key -> new HashMap<> ()).put (Integer.valueOf (control), continuousControl);
+                if (isValid (channel, control))
+                    this.ccContinuousMatchers[channel][control] = continuousControl;
                 break;
             case PITCHBEND:
-                this.pitchbendContinuousMatchers.put (Integer.valueOf (channel), continuousControl);
+                if (isValid (channel, 0))
+                    this.pitchbendContinuousMatchers[channel] = continuousControl;
                 break;
             default:
                 throw new BindException (type);
@@ -272,18 +288,12 @@ public class MidiInputImpl implements IMidiInput
 
     private void unbindContinuous (final IHwContinuousControl control)
     {
-        for (final Map<Integer, IHwContinuousControl> m: this.ccContinuousMatchers.values ())
+        for (final IHwContinuousControl [] controls: this.ccContinuousMatchers)
         {
-            final Collection<IHwContinuousControl> values = m.values ();
-            if (values.contains (control))
-            {
-                values.remove (control);
+            if (remove (controls, control))
                 return;
-            }
         }
-        final Collection<IHwContinuousControl> values = this.pitchbendContinuousMatchers.values ();
-        if (values.contains (control))
-            values.remove (control);
+        remove (this.pitchbendContinuousMatchers, control);
     }
 
 
@@ -297,17 +307,54 @@ public class MidiInputImpl implements IMidiInput
 
     private void bindTouchContinuous (final IHwContinuousControl continuousControl, final BindType type, final int channel, final int control)
     {
+        final IHwContinuousControl [][] matchers;
         switch (type)
         {
             case CC:
-                this.ccTouchMatchers.computeIfAbsent (Integer.valueOf (channel), key -> new HashMap<> ()).put (Integer.valueOf (control), continuousControl);
+                matchers = this.ccTouchMatchers;
                 break;
             case NOTE:
-                this.noteTouchMatchers.computeIfAbsent (Integer.valueOf (channel), key -> new HashMap<> ()).put (Integer.valueOf (control), continuousControl);
+                matchers = this.noteTouchMatchers;
                 break;
             default:
                 throw new BindException (type);
         }
+        if (isValid (channel, control))
+            matchers[channel][control] = continuousControl;
+    }
+
+
+    /**
+     * Test if the channel and control can be stored in the dispatch tables.
+     *
+     * @param channel The MIDI channel
+     * @param control The CC or note
+     * @return True if in range
+     */
+    private static boolean isValid (final int channel, final int control)
+    {
+        return channel >= 0 && channel < NUM_CHANNELS && control >= 0 && control < NUM_CONTROLS;
+    }
+
+
+    /**
+     * Removes the first occurrence of an element from the array.
+     *
+     * @param array The array
+     * @param element The element to remove
+     * @return True if the element was found
+     */
+    private static <T> boolean remove (final T [] array, final T element)
+    {
+        for (int i = 0; i < array.length; i++)
+        {
+            if (array[i] == element)
+            {
+                array[i] = null;
+                return true;
+            }
+        }
+        return false;
     }
 
 
@@ -322,8 +369,8 @@ public class MidiInputImpl implements IMidiInput
         {
             if (message instanceof final SysexMessage sysex)
                 this.handleSysexMessage (sysex);
-            else if (message instanceof ShortMessage sm)
-                this.handleShortMessage (sm);
+            else if (message instanceof final ShortMessage sm)
+                this.handleShortMessage (sm.getStatus (), sm.getData1 (), sm.getData2 ());
             else
             {
                 this.host.error ("Unknown MIDI class.");
@@ -337,29 +384,51 @@ public class MidiInputImpl implements IMidiInput
     }
 
 
+    /** {@inheritDoc} */
+    @Override
+    public void handleMidiMessage (final MidiMessage message, final long timeStamp)
+    {
+        this.handleMidiMessage (message);
+    }
+
+
     /**
      * Handle MIDI short messages (3 bytes).
      *
-     * @param message The message to handle
+     * @param status The status byte
+     * @param data1 The first data byte
+     * @param data2 The second data byte
      */
-    private void handleShortMessage (final ShortMessage message)
+    @Override
+    public void handleShortMessage (final int status, final int data1, final int data2)
     {
-        final int status = message.getStatus ();
         // Ignore active sensing
         if (status == 0xF8)
             return;
 
-        int data1 = message.getData1 ();
-        int data2 = message.getData2 ();
-        final int command = status & 0xF0;
-        final int channel = status & 0xF;
-        final boolean isProcessed = this.handleControls (command, channel, data1, data2);
-        // Still forward MIDI notes
-        if (isProcessed && (command != MidiConstants.CMD_NOTE_ON && command != MidiConstants.CMD_NOTE_OFF))
-            return;
+        this.latencyTrace.begin ();
 
-        if (this.shortCallback != null)
-            this.shortCallback.handleMidi (status, data1, data2);
+        try
+        {
+            final int command = status & 0xF0;
+            final int channel = status & 0xF;
+            final boolean isProcessed = this.handleControls (command, channel, data1, data2);
+            // Still forward MIDI notes
+            if (isProcessed && (command != MidiConstants.CMD_NOTE_ON && command != MidiConstants.CMD_NOTE_OFF))
+                return;
+
+            if (this.shortCallback != null)
+                this.shortCallback.handleMidi (status, data1, data2);
+        }
+        catch (final RuntimeException ex)
+        {
+            this.host.error ("Could not handle MIDI message.", ex);
+        }
+        finally
+        {
+            this.inputChanges.changed ();
+            this.latencyTrace.stamp (LatencyTracer.Stage.COMMAND);
+        }
     }
 
 
@@ -402,33 +471,24 @@ public class MidiInputImpl implements IMidiInput
      */
     protected boolean handleControlsNote (final int channel, final int data1, final int data2, final boolean isNoteOff)
     {
-        final Map<Integer, Map<Integer, IHwButton>> noteMap = this.noteButtonMatchers.get (Integer.valueOf (channel));
-        if (noteMap != null)
+        final IHwButton [] valueButtons = this.noteButtonMatchers[channel][data1];
+        if (valueButtons != null)
         {
-            final Map<Integer, IHwButton> valueMap = noteMap.get (Integer.valueOf (data1));
-            if (valueMap != null)
+            IHwButton button = valueButtons[0];
+            if (button == null)
+                button = valueButtons[data2 + 1];
+            if (button != null)
             {
-                for (final Entry<Integer, IHwButton> valueButtonPair: valueMap.entrySet ())
-                {
-                    final int value = valueButtonPair.getKey ().intValue ();
-                    if (value == -1 || value == data2)
-                    {
-                        valueButtonPair.getValue ().trigger (isNoteOff ? ButtonEvent.UP : ButtonEvent.DOWN, data2 / 127.0);
-                        return true;
-                    }
-                }
+                button.trigger (isNoteOff ? ButtonEvent.UP : ButtonEvent.DOWN, data2 / 127.0);
+                return true;
             }
         }
 
-        final Map<Integer, IHwContinuousControl> noteTouchMap = this.noteTouchMatchers.get (Integer.valueOf (channel));
-        if (noteTouchMap != null)
+        final IHwContinuousControl ccButton = this.noteTouchMatchers[channel][data1];
+        if (ccButton != null && ccButton.isBound ())
         {
-            final IHwContinuousControl ccButton = noteTouchMap.get (Integer.valueOf (data1));
-            if (ccButton != null && ccButton.isBound ())
-            {
-                ccButton.triggerTouch (!isNoteOff);
-                return true;
-            }
+            ccButton.triggerTouch (!isNoteOff);
+            return true;
         }
 
         return false;
@@ -437,63 +497,51 @@ public class MidiInputImpl implements IMidiInput
 
     protected boolean handleControlsCC (final int channel, final int data1, final int data2)
     {
-        final Map<Integer, Map<Integer, IHwButton>> ccButtonMap = this.ccButtonMatchers.get (Integer.valueOf (channel));
-        if (ccButtonMap != null)
+        final IHwButton [] valueButtons = this.ccButtonMatchers[channel][data1];
+        if (valueButtons != null)
         {
-            final Map<Integer, IHwButton> valueMap = ccButtonMap.get (Integer.valueOf (data1));
-            if (valueMap != null)
+            // A button bound to a specific value is always pressed
+            IHwButton button = valueButtons[0];
+            final boolean isAnyValue = button != null;
+            if (!isAnyValue)
+                button = valueButtons[data2 + 1];
+            if (button != null)
             {
-                for (final Entry<Integer, IHwButton> valueButtonPair: valueMap.entrySet ())
-                {
-                    final int value = valueButtonPair.getKey ().intValue ();
-                    if (value == -1 || value == data2)
-                    {
-                        final ButtonEvent event = value == 0 || data2 > 0 ? ButtonEvent.DOWN : ButtonEvent.UP;
-                        valueButtonPair.getValue ().trigger (event, data2 / 127.0);
-                        return true;
-                    }
-                }
+                final ButtonEvent event = !isAnyValue || data2 > 0 ? ButtonEvent.DOWN : ButtonEvent.UP;
+                button.trigger (event, data2 / 127.0);
+                return true;
             }
-
         }
 
-        final Map<Integer, IHwContinuousControl> ccTouchMap = this.ccTouchMatchers.get (Integer.valueOf (channel));
-        if (ccTouchMap != null)
+        final IHwContinuousControl ccButton = this.ccTouchMatchers[channel][data1];
+        if (ccButton != null && ccButton.isBound ())
         {
-            final IHwContinuousControl ccButton = ccTouchMap.get (Integer.valueOf (data1));
-            if (ccButton != null && ccButton.isBound ())
-            {
-                ccButton.triggerTouch (data2 > 0);
-                return true;
-            }
+            ccButton.triggerTouch (data2 > 0);
+            return true;
         }
 
-        final Map<Integer, IHwContinuousControl> ccContinuousMap = this.ccContinuousMatchers.get (Integer.valueOf (channel));
-        if (ccContinuousMap != null)
+        final IHwContinuousControl ccContinuous = this.ccContinuousMatchers[channel][data1];
+        if (ccContinuous != null && ccContinuous.isBound ())
         {
-            final IHwContinuousControl ccContinuous = ccContinuousMap.get (Integer.valueOf (data1));
-            if (ccContinuous != null && ccContinuous.isBound ())
+            // High resolution command? See MIDI 1.0 Detailed Specification 4.2, page 11
+            if (ccContinuous instanceof final AbstractHwAbsoluteControl ac && ac.isHiRes ())
             {
-                // High resolution command? See MIDI 1.0 Detailed Specification 4.2, page 11
-                if (ccContinuous instanceof final AbstractHwAbsoluteControl ac && ac.isHiRes ())
+                if (data1 < 32)
                 {
-                    if (data1 < 32)
-                    {
-                        // Store the MSB
-                        this.lastCCValues[data1] = data2;
-                    }
-                    else if (data1 < 64)
-                    {
-                        // LSB arrived as well, handle the command
-                        final int value = this.lastCCValues[data1 - 32] * 128 + data2;
-                        ccContinuous.handleValue (value / 16383.0);
-                    }
-                    return true;
+                    // Store the MSB
+                    this.lastCCValues[data1] = data2;
+                }
+                else if (data1 < 64)
+                {
+                    // LSB arrived as well, handle the command
+                    final int value = this.lastCCValues[data1 - 32] * 128 + data2;
+                    ccContinuous.handleValue (value / 16383.0);
                 }
-
-                ccContinuous.handleValue (data2 / 127.0);
                 return true;
             }
+
+            ccContinuous.handleValue (data2 / 127.0);
+            return true;
         }
 
         return false;
@@ -502,7 +550,7 @@ public class MidiInputImpl implements IMidiInput
 
     protected boolean handleControlsPitchbend (final int channel, final int data1, final int data2)
     {
-        final IHwContinuousControl pbContinuous = this.pitchbendContinuousMatchers.get (Integer.valueOf (channel));
+        final IHwContinuousControl pbContinuous = this.pitchbendContinuousMatchers[channel];
         if (pbContinuous != null && pbContinuous.isBound ())
         {
             final int pitchbendValue = data2 * 128 + data1;
@@ -518,10 +566,14 @@ public class MidiInputImpl implements IMidiInput
         if (this.sysexCallback == null)
             return;
 
+        this.latencyTrace.begin ();
+
         // F0 is not included in getData()
         final StringBuilder dataString = new StringBuilder ();
         for (final byte data: sysexMessage.getMessage ())
             dataString.append (String.format ("%02x", Integer.valueOf (data & 0xFF)));
         this.sysexCallback.handleMidi (dataString.toString ().toUpperCase (Locale.US));
+        this.inputChanges.changed ();
+        this.latencyTrace.stamp (LatencyTracer.Stage.COMMAND);
     }
 }
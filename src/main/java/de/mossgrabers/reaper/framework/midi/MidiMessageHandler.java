@@ -21,4 +21,15 @@ public interface MidiMessageHandler
      * @param timeStamp The timestamp of the message
      */
     void handleMidiMessage (MidiMessage message, long timeStamp);
+
+
+    /**
+     * Handles a MIDI short message, which is given as its raw bytes. This avoids the creation of a
+     * message object for each of the (many) incoming short messages.
+     *
+     * @param status The status byte
+     * @param data1 The first data byte
+     * @param data2 The second data byte
+     */
+    void handleShortMessage (int status, int data1, int data2);
 }
@@ -5,6 +5,7 @@
 package de.mossgrabers.reaper.framework.midi;
 
 import de.mossgrabers.framework.daw.midi.AbstractMidiOutput;
+import de.mossgrabers.framework.daw.midi.SysExBuilder;
 import de.mossgrabers.framework.utils.FrameworkException;
 
 
@@ -16,6 +17,7 @@ import de.mossgrabers.framework.utils.FrameworkException;
 class MidiOutputImpl extends AbstractMidiOutput
 {
     private final MidiConnection midiConnection;
+    private final SysExBuilder   sysexBuilder = new SysExBuilder ();
 
 
     /**
@@ -33,16 +35,17 @@ class MidiOutputImpl extends AbstractMidiOutput
     @Override
     public void sendSysex (final String data)
     {
-        final String [] parts = data.split (" ");
-        final byte [] bytes = new byte [parts.length];
-        try
+        final byte [] bytes;
+        synchronized (this.sysexBuilder)
         {
-            for (int i = 0; i < parts.length; i++)
-                bytes[i] = (byte) Integer.parseInt (parts[i], 16);
-        }
-        catch (final NumberFormatException ex)
-        {
-            throw new FrameworkException (String.format ("Broken Sysex string: '%s'", data), ex);
+            try
+            {
+                bytes = this.sysexBuilder.reset ().addHex (data).toByteArray ();
+            }
+            catch (final IllegalArgumentException ex)
+            {
+                throw new FrameworkException (String.format ("Broken Sysex string: '%s'", data), ex);
+            }
         }
 
         this.sendSysex (bytes);
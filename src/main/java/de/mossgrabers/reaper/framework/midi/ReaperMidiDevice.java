@@ -6,10 +6,12 @@ package de.mossgrabers.reaper.framework.midi;
 
 import de.mossgrabers.reaper.communication.BackendExchange;
 
+import javax.sound.midi.InvalidMidiDataException;
 import javax.sound.midi.MidiDevice;
 import javax.sound.midi.MidiMessage;
 import javax.sound.midi.MidiUnavailableException;
 import javax.sound.midi.Receiver;
+import javax.sound.midi.ShortMessage;
 import javax.sound.midi.Transmitter;
 
 import java.util.Collections;
@@ -78,6 +80,27 @@ public class ReaperMidiDevice implements MidiDevice, Receiver
     }
 
 
+    /**
+     * Handle a MIDI short message which was received from the backend.
+     *
+     * @param status The status byte
+     * @param data1 The first data byte
+     * @param data2 The second data byte
+     * @throws InvalidMidiDataException If the data is not a valid short message
+     */
+    public void handleShortMessageFromBackend (final int status, final int data1, final int data2) throws InvalidMidiDataException
+    {
+        if (status < 0x80 || status > 0xFF || ((data1 | data2) & ~0x7F) != 0)
+            throw new InvalidMidiDataException ("Invalid MIDI short message: " + status + " " + data1 + " " + data2);
+
+        final Receiver receiver = this.transmitter.getReceiver ();
+        if (receiver instanceof final ShortMessageReceiver shortReceiver)
+            shortReceiver.send (status, data1, data2);
+        else if (receiver != null)
+            receiver.send (new ShortMessage (status, data1, data2), -1);
+    }
+
+
     /** {@inheritDoc} */
     @Override
     public Info getDeviceInfo ()
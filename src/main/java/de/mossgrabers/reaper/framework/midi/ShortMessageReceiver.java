@@ -0,0 +1,26 @@
+// Written by Jürgen Moßgraber - mossgrabers.de
+// (c) 2017-2026
+// Licensed under LGPLv3 - http://www.gnu.org/licenses/lgpl-3.0.txt
+
+package de.mossgrabers.reaper.framework.midi;
+
+import javax.sound.midi.Receiver;
+
+
+/**
+ * A receiver which additionally accepts MIDI short messages as raw bytes. Messages received from
+ * Reaper are forwarded to it without creating a message object.
+ *
+ * @author Jürgen Moßgraber
+ */
+public interface ShortMessageReceiver extends Receiver
+{
+    /**
+     * Sends a MIDI short message to this receiver.
+     *
+     * @param status The status byte
+     * @param data1 The first data byte
+     * @param data2 The second data byte
+     */
+    void send (int status, int data1, int data2);
+}
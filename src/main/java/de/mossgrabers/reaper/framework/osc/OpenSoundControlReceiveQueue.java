@@ -0,0 +1,170 @@
+// Written by Jürgen Moßgraber - mossgrabers.de
+// (c) 2017-2026
+// Licensed under LGPLv3 - http://www.gnu.org/licenses/lgpl-3.0.txt
+
+package de.mossgrabers.reaper.framework.osc;
+
+import de.mossgrabers.framework.osc.IOpenSoundControlMessage;
+import de.mossgrabers.framework.utils.LatencyHistogram;
+
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+
+/**
+ * Hands the received OSC messages from the network thread to the thread which applies them to the
+ * model. Adding a message does not lock. The messages are handled in one batch in the order in
+ * which they were received.
+ *
+ * A touch client sends a message for each small movement of a fader. If a message which sets an
+ * absolute value (volume, panning, parameter value or tempo) is directly followed by a message to
+ * the same address, only the latter is handled. A value larger than 0 which is followed by 0 is
+ * never dropped, since it might be a button press followed by its release. Messages to other
+ * addresses (e.g. triggers, notes or relative changes) are never dropped.
+ *
+ * @author Jürgen Moßgraber
+ */
+public class OpenSoundControlReceiveQueue
+{
+    /**
+     * The statistics of a queue.
+     *
+     * @param received The number of received messages
+     * @param coalesced The number of messages which were replaced by a following one
+     * @param dropped The number of messages which were dropped since the queue was full
+     * @param latency The time from the reception of the messages until they were handled
+     */
+    public record Statistics (long received, long coalesced, long dropped, LatencyHistogram.Statistics latency)
+    {
+        /** {@inheritDoc} */
+        @Override
+        public String toString ()
+        {
+            return String.format ("%d messages received, %d coalesced, %d dropped, %s", Long.valueOf (this.received), Long.valueOf (this.coalesced), Long.valueOf (this.dropped), this.latency);
+        }
+    }
+
+
+    private record Entry (IOpenSoundControlMessage message, String address, boolean isContinuous, double value, long receiveTime)
+    {
+        // Intentionally empty
+    }
+
+
+    /** The maximum number of messages which wait to be handled. */
+    public static final int          MAX_PENDING         = 4096;
+
+    /** The last segments of the addresses which set an absolute value, e.g. /track/1/volume. */
+    private static final Set<String> CONTINUOUS_COMMANDS = Set.of ("volume", "pan", "value", "raw");
+
+    private final Queue<Entry>       entries             = new ConcurrentLinkedQueue<> ();
+    private final AtomicInteger      size                = new AtomicInteger ();
+    private final LongAdder          received            = new LongAdder ();
+    private final LongAdder          coalesced           = new LongAdder ();
+    private final LongAdder          dropped             = new LongAdder ();
+    private final LatencyHistogram   latency             = new LatencyHistogram ();
+
+
+    /**
+     * Add a received message.
+     *
+     * @param message The message
+     * @param receiveTime The time when the message was received (System.nanoTime)
+     * @return False if the queue is full and the message was dropped
+     */
+    public boolean offer (final IOpenSoundControlMessage message, final long receiveTime)
+    {
+        this.received.increment ();
+        if (this.size.incrementAndGet () > MAX_PENDING)
+        {
+            this.size.decrementAndGet ();
+            this.dropped.increment ();
+            return false;
+        }
+
+        final String address = message.getAddress ();
+        final Object [] values = message.getValues ();
+        final boolean isContinuous = isContinuous (address, values);
+        this.entries.add (new Entry (message, address, isContinuous, isContinuous ? ((Number) values[0]).doubleValue () : 0, receiveTime));
+        return true;
+    }
+
+
+    /**
+     * Handle all messages which are in the queue. Messages which arrive while the batch is handled
+     * are kept for the next call. Must not be called concurrently.
+     *
+     * @param handler The handler for the messages
+     */
+    public void dispatch (final Consumer<IOpenSoundControlMessage> handler)
+    {
+        int remaining = this.size.get ();
+        Entry entry = this.poll (remaining);
+        while (entry != null)
+        {
+            remaining--;
+            Entry next = this.poll (remaining);
+            while (next != null && canReplace (entry, next))
+            {
+                this.coalesced.increment ();
+                entry = next;
+                remaining--;
+                next = this.poll (remaining);
+            }
+
+            handler.accept (entry.message ());
+            this.latency.record (System.nanoTime () - entry.receiveTime ());
+            entry = next;
+        }
+    }
+
+
+    /**
+     * Get the statistics of the queue.
+     *
+     * @return The statistics
+     */
+    public Statistics getStatistics ()
+    {
+        return new Statistics (this.received.sum (), this.coalesced.sum (), this.dropped.sum (), this.latency.getStatistics ());
+    }
+
+
+    private Entry poll (final int remaining)
+    {
+        if (remaining <= 0)
+            return null;
+        final Entry entry = this.entries.poll ();
+        if (entry != null)
+            this.size.decrementAndGet ();
+        return entry;
+    }
+
+
+    /**
+     * Test if a message can be replaced by the following one.
+     *
+     * @param entry The message
+     * @param next The following message
+     * @return True if only the following message needs to be handled
+     */
+    private static boolean canReplace (final Entry entry, final Entry next)
+    {
+        if (!entry.isContinuous () || !next.isContinuous () || !entry.address ().equals (next.address ()))
+            return false;
+        return entry.value () <= 0 || next.value () > 0;
+    }
+
+
+    private static boolean isContinuous (final String address, final Object [] values)
+    {
+        if (values.length != 1 || !(values[0] instanceof Float || values[0] instanceof Double))
+            return false;
+        final int pos = address.lastIndexOf ('/');
+        return CONTINUOUS_COMMANDS.contains (pos < 0 ? address : address.substring (pos + 1));
+    }
+}
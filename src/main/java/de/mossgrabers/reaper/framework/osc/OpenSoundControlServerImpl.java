@@ -6,8 +6,8 @@ package de.mossgrabers.reaper.framework.osc;
 
 import de.mossgrabers.framework.osc.IOpenSoundControlCallback;
 import de.mossgrabers.framework.osc.IOpenSoundControlServer;
+import de.mossgrabers.framework.osc.IOpenSoundControlMessage;
 import de.mossgrabers.reaper.ui.utils.LogModel;
-import de.mossgrabers.reaper.ui.utils.SafeRunLater;
 
 import com.illposed.osc.OSCBadDataEvent;
 import com.illposed.osc.OSCBundle;
@@ -18,22 +18,25 @@ import com.illposed.osc.OSCPacketListener;
 import com.illposed.osc.transport.OSCPortIn;
 
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.function.Consumer;
 
 
 /**
- * Implementation of an OSC server connection.
+ * Implementation of an OSC server connection. The received messages are prepared on the network
+ * thread and queued. They are handled when dispatch is called at the start of the next flush of
+ * the controller.
  *
  * @author Jürgen Moßgraber
  */
 public class OpenSoundControlServerImpl implements IOpenSoundControlServer
 {
-    private final IOpenSoundControlCallback callback;
-    private final Object                    receiverLock = new Object ();
-    private final LogModel                  logModel;
-    private OSCPortIn                       oscReceiver;
-    private int                             port         = -1;
+    private final IOpenSoundControlCallback          callback;
+    private final Object                             receiverLock = new Object ();
+    private final LogModel                           logModel;
+    private final OpenSoundControlReceiveQueue       queue        = new OpenSoundControlReceiveQueue ();
+    private final Consumer<IOpenSoundControlMessage> handler      = this::handleMessage;
+    private OSCPortIn                                oscReceiver;
+    private int                                      port         = -1;
 
 
     /**
@@ -73,6 +76,26 @@ public class OpenSoundControlServerImpl implements IOpenSoundControlServer
     }
 
 
+    /**
+     * Handle all messages which were received since the last call.
+     */
+    public void dispatch ()
+    {
+        this.queue.dispatch (this.handler);
+    }
+
+
+    /**
+     * Get the statistics of the received messages.
+     *
+     * @return The statistics
+     */
+    public OpenSoundControlReceiveQueue.Statistics getStatistics ()
+    {
+        return this.queue.getStatistics ();
+    }
+
+
     /**
      * Close the server.
      */
@@ -96,19 +119,26 @@ public class OpenSoundControlServerImpl implements IOpenSoundControlServer
     }
 
 
+    private void handleMessage (final IOpenSoundControlMessage message)
+    {
+        try
+        {
+            this.callback.handle (message);
+        }
+        catch (final RuntimeException ex)
+        {
+            this.logModel.error ("Could not handle OSC message " + message.getAddress () + ".", ex);
+        }
+    }
+
+
     private class PacketListener implements OSCPacketListener
     {
         /** {@inheritDoc} */
         @Override
         public void handlePacket (final OSCPacketEvent event)
         {
-            final List<OSCMessage> messages = new ArrayList<> ();
-            this.collectMessages (messages, event.getPacket ());
-
-            SafeRunLater.execute (OpenSoundControlServerImpl.this.logModel, () -> {
-                for (final OSCMessage message: messages)
-                    OpenSoundControlServerImpl.this.callback.handle (new OpenSoundControlMessageImpl (message));
-            });
+            this.collectMessages (event.getPacket (), System.nanoTime ());
         }
 
 
@@ -120,14 +150,29 @@ public class OpenSoundControlServerImpl implements IOpenSoundControlServer
         }
 
 
-        private void collectMessages (final List<OSCMessage> messages, final OSCPacket packet)
+        private void collectMessages (final OSCPacket packet, final long receiveTime)
         {
             if (packet instanceof final OSCMessage osc)
-                messages.add (osc);
+                this.queueMessage (new OpenSoundControlMessageImpl (osc), receiveTime);
             else if (packet instanceof final OSCBundle bundle)
             {
                 for (final OSCPacket op: bundle.getPackets ())
-                    this.collectMessages (messages, op);
+                    this.collectMessages (op, receiveTime);
+            }
+        }
+
+
+        private void queueMessage (final IOpenSoundControlMessage message, final long receiveTime)
+        {
+            final OpenSoundControlServerImpl server = OpenSoundControlServerImpl.this;
+            try
+            {
+                // Dropped messages are counted in the statistics
+                server.queue.offer (server.callback.prepare (message), receiveTime);
+            }
+            catch (final RuntimeException ex)
+            {
+                server.logModel.error ("Could not prepare OSC message " + message.getAddress () + ".", ex);
             }
         }
     }
@@ -9,30 +9,39 @@ import de.mossgrabers.framework.daw.IMemoryBlock;
 import de.mossgrabers.framework.usb.IUsbCallback;
 import de.mossgrabers.framework.usb.IUsbEndpoint;
 
+import org.usb4java.BufferUtils;
 import org.usb4java.DeviceHandle;
 import org.usb4java.LibUsb;
 import org.usb4java.Transfer;
 
 import java.nio.ByteBuffer;
 import java.nio.IntBuffer;
-import java.util.concurrent.CountDownLatch;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
 
 
 /**
- * Implementation for an USB end-point.
+ * Implementation for an USB end-point. Several asynchronous transfers can be active at the same
+ * time, they are executed in the order of their submission. The libusb transfer structures are
+ * re-used.
  *
  * @author Jürgen Moßgraber
  */
 public class UsbEndpointImpl implements IUsbEndpoint
 {
-    private final IHost          host;
-    private final DeviceHandle   handle;
-    private final byte           endpointAddress;
-    private final boolean        isBulk;
-    private Transfer             activeTransfer;
-    private final Object         transferLock = new Object ();
-    private final CountDownLatch clearLatch   = new CountDownLatch (1);
+    private final IHost           host;
+    private final DeviceHandle    handle;
+    private final byte            endpointAddress;
+    private final boolean         isBulk;
+    private final IntBuffer       transferred     = BufferUtils.allocateIntBuffer ();
+    private final Object          sendLock        = new Object ();
+    private final Object          transferLock    = new Object ();
+    private final Deque<Transfer> freeTransfers   = new ArrayDeque<> ();
+    private final Set<Transfer>   activeTransfers = new HashSet<> ();
+    private boolean               isCleared       = false;
 
 
     /**
@@ -56,23 +65,26 @@ public class UsbEndpointImpl implements IUsbEndpoint
     @Override
     public void send (final IMemoryBlock memoryBlock, final int timeout)
     {
-        final IntBuffer transfered = IntBuffer.allocate (1);
-        final ByteBuffer buffer = memoryBlock.createByteBuffer ();
-        int result;
-        if (this.isBulk)
-            result = LibUsb.bulkTransfer (this.handle, this.endpointAddress, buffer, transfered, timeout);
-        else
-            result = LibUsb.interruptTransfer (this.handle, this.endpointAddress, buffer, transfered, timeout);
-        if (result == LibUsb.SUCCESS)
-            return;
+        synchronized (this.sendLock)
+        {
+            final ByteBuffer buffer = memoryBlock.createByteBuffer ();
+            int result = this.transfer (buffer, timeout);
+            if (result == LibUsb.SUCCESS)
+                return;
+
+            // Retry once
+            result = this.transfer (buffer, timeout);
+            if (result != LibUsb.SUCCESS)
+                this.host.error ("USB transmission error: " + result);
+        }
+    }
 
-        // Retry once
+
+    private int transfer (final ByteBuffer buffer, final int timeout)
+    {
         if (this.isBulk)
-            result = LibUsb.bulkTransfer (this.handle, this.endpointAddress, buffer, transfered, timeout);
-        else
-            result = LibUsb.interruptTransfer (this.handle, this.endpointAddress, buffer, transfered, timeout);
-        if (result != LibUsb.SUCCESS)
-            this.host.error ("USB transmission error: " + result);
+            return LibUsb.bulkTransfer (this.handle, this.endpointAddress, buffer, this.transferred, timeout);
+        return LibUsb.interruptTransfer (this.handle, this.endpointAddress, buffer, this.transferred, timeout);
     }
 
 
@@ -80,68 +92,90 @@ public class UsbEndpointImpl implements IUsbEndpoint
     @Override
     public void sendAsync (final IMemoryBlock memoryBlock, final IUsbCallback callback, final int timeout)
     {
+        final Transfer transfer;
         synchronized (this.transferLock)
         {
-            // Only handle one transfer at a time
-            if (this.activeTransfer != null)
+            if (this.isCleared)
+            {
+                callback.process (-1);
                 return;
-            this.activeTransfer = LibUsb.allocTransfer ();
+            }
+            transfer = this.freeTransfers.isEmpty () ? LibUsb.allocTransfer () : this.freeTransfers.pop ();
+            this.activeTransfers.add (transfer);
         }
 
         if (this.isBulk)
-            LibUsb.fillBulkTransfer (this.activeTransfer, this.handle, this.endpointAddress, memoryBlock.createByteBuffer (), result -> this.handleAsyncResult (callback, result), null, timeout);
+            LibUsb.fillBulkTransfer (transfer, this.handle, this.endpointAddress, memoryBlock.createByteBuffer (), result -> this.handleAsyncResult (callback, result), null, timeout);
         else
-            LibUsb.fillInterruptTransfer (this.activeTransfer, this.handle, this.endpointAddress, memoryBlock.createByteBuffer (), result -> this.handleAsyncResult (callback, result), null, timeout);
-        final int result = LibUsb.submitTransfer (this.activeTransfer);
-        if (result != LibUsb.SUCCESS)
-            this.host.error ("Unable to submit USB async transfer: " + result);
+            LibUsb.fillInterruptTransfer (transfer, this.handle, this.endpointAddress, memoryBlock.createByteBuffer (), result -> this.handleAsyncResult (callback, result), null, timeout);
+        final int result = LibUsb.submitTransfer (transfer);
+        if (result == LibUsb.SUCCESS)
+            return;
+
+        this.host.error ("Unable to submit USB async transfer: " + result);
+        this.releaseTransfer (transfer);
+        callback.process (-1);
     }
 
 
     /**
-     * Cancel pending transfers. Can only be executed once!
+     * Cancel pending transfers and release all transfer structures. Afterwards, no more transfers
+     * are accepted.
      */
     public void clear ()
     {
         synchronized (this.transferLock)
         {
-            if (this.activeTransfer == null)
-                return;
-            final int result = LibUsb.cancelTransfer (this.activeTransfer);
-            if (result != LibUsb.SUCCESS)
-                return;
-        }
-        try
-        {
-            final boolean await = this.clearLatch.await (10L, TimeUnit.SECONDS);
-            if (!await)
-                this.host.error ("Timed out waiting for LibUsb transfer cancelation.");
-        }
-        catch (final InterruptedException ex)
-        {
-            this.host.error ("Thread was interrupted while waiting for LibUsb transfer cancelation.", ex);
-            Thread.currentThread ().interrupt ();
-
+            this.isCleared = true;
+            this.freeTransfers.forEach (LibUsb::freeTransfer);
+            this.freeTransfers.clear ();
+            this.activeTransfers.forEach (LibUsb::cancelTransfer);
+
+            final long end = System.nanoTime () + TimeUnit.SECONDS.toNanos (10);
+            try
+            {
+                while (!this.activeTransfers.isEmpty ())
+                {
+                    final long remaining = end - System.nanoTime ();
+                    if (remaining <= 0)
+                    {
+                        this.host.error ("Timed out waiting for LibUsb transfer cancelation.");
+                        return;
+                    }
+                    TimeUnit.NANOSECONDS.timedWait (this.transferLock, remaining);
+                }
+            }
+            catch (final InterruptedException ex)
+            {
+                this.host.error ("Thread was interrupted while waiting for LibUsb transfer cancelation.", ex);
+                Thread.currentThread ().interrupt ();
+            }
         }
     }
 
 
-    private void handleAsyncResult (final IUsbCallback callback, final Transfer result)
+    private void handleAsyncResult (final IUsbCallback callback, final Transfer transfer)
     {
-        final int status = result.status ();
-        if (status == LibUsb.TRANSFER_CANCELLED)
-        {
-            this.clearLatch.countDown ();
-            return;
-        }
-        if (status != LibUsb.TRANSFER_COMPLETED)
-            this.host.error ("USB receive error: " + status);
-        callback.process (status == LibUsb.TRANSFER_COMPLETED ? result.actualLength () : -1);
-        LibUsb.freeTransfer (this.activeTransfer);
+        final int status = transfer.status ();
+        final int length = transfer.actualLength ();
+        this.releaseTransfer (transfer);
 
+        if (status != LibUsb.TRANSFER_COMPLETED && status != LibUsb.TRANSFER_CANCELLED)
+            this.host.error ("USB transfer error: " + status);
+        callback.process (status == LibUsb.TRANSFER_COMPLETED ? length : -1);
+    }
+
+
+    private void releaseTransfer (final Transfer transfer)
+    {
         synchronized (this.transferLock)
         {
-            this.activeTransfer = null;
+            this.activeTransfers.remove (transfer);
+            if (this.isCleared)
+                LibUsb.freeTransfer (transfer);
+            else
+                this.freeTransfers.push (transfer);
+            this.transferLock.notifyAll ();
         }
     }
 }
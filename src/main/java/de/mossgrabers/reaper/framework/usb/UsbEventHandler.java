@@ -0,0 +1,80 @@
+// Written by Jürgen Moßgraber - mossgrabers.de
+// (c) 2017-2026
+// Licensed under LGPLv3 - http://www.gnu.org/licenses/lgpl-3.0.txt
+
+package de.mossgrabers.reaper.framework.usb;
+
+import de.mossgrabers.reaper.ui.utils.LogModel;
+
+import org.usb4java.LibUsb;
+
+
+/**
+ * Handles the events of libusb, which is required to complete asynchronous transfers. One thread
+ * handles the events of all devices.
+ *
+ * @author Jürgen Moßgraber
+ */
+public final class UsbEventHandler
+{
+    /** Timeout for waiting for events in microseconds. */
+    private static final long       TIMEOUT   = 250_000;
+
+    private static Thread           thread;
+    private static volatile boolean isRunning = false;
+
+
+    /**
+     * Constructor, private due to utility class.
+     */
+    private UsbEventHandler ()
+    {
+        // Intentionally empty
+    }
+
+
+    /**
+     * Start handling the events. Libusb must have been initialized.
+     *
+     * @param logModel Where to log errors
+     */
+    public static synchronized void start (final LogModel logModel)
+    {
+        if (isRunning)
+            return;
+        isRunning = true;
+
+        thread = new Thread ( () -> {
+            while (isRunning)
+            {
+                final int result = LibUsb.handleEventsTimeout (null, TIMEOUT);
+                if (result != LibUsb.SUCCESS && result != LibUsb.ERROR_INTERRUPTED)
+                    logModel.info ("Could not handle USB events: " + LibUsb.errorName (result));
+            }
+        }, "DrivenByMoss-usb-events");
+        thread.setDaemon (true);
+        thread.start ();
+    }
+
+
+    /**
+     * Stop handling the events. All devices should have been released before.
+     */
+    public static synchronized void stop ()
+    {
+        if (!isRunning)
+            return;
+        isRunning = false;
+
+        LibUsb.interruptEventHandler (null);
+        try
+        {
+            thread.join (1000);
+        }
+        catch (final InterruptedException ex)
+        {
+            Thread.currentThread ().interrupt ();
+        }
+        thread = null;
+    }
+}
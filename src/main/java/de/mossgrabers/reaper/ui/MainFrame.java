@@ -404,6 +404,9 @@ public class MainFrame extends JFrame
         final JMenuItem clear = new JMenuItem ("Clear");
         clear.addActionListener (e -> this.getCallback ().clearLogMessage ());
         popup.add (clear);
+        final JCheckBoxMenuItem errorsOnly = new JCheckBoxMenuItem ("Errors only");
+        errorsOnly.addActionListener (e -> this.logModel.setErrorsOnly (errorsOnly.isSelected ()));
+        popup.add (errorsOnly);
 
         popup.addSeparator ();
 
@@ -450,6 +453,25 @@ public class MainFrame extends JFrame
         popup.add (popupNotificationsItem);
         popupNotificationsItem.setSelected (this.getCallback ().getPopupWindowNotification ());
 
+        final JCheckBoxMenuItem latencyTracingItem = new JCheckBoxMenuItem ("Latency tracing");
+        latencyTracingItem.addActionListener (event -> this.getCallback ().setLatencyTracing (latencyTracingItem.isSelected ()));
+        popup.add (latencyTracingItem);
+        latencyTracingItem.setSelected (this.getCallback ().getLatencyTracing ());
+
+        final JMenuItem latencyStatisticsItem = new JMenuItem ("Statistics");
+        latencyStatisticsItem.addActionListener (event -> this.getCallback ().showLatencyStatistics ());
+        popup.add (latencyStatisticsItem);
+
+        final JCheckBoxMenuItem logToFileItem = new JCheckBoxMenuItem ("Write log to file");
+        logToFileItem.addActionListener (event -> this.getCallback ().setLogToFile (logToFileItem.isSelected ()));
+        popup.add (logToFileItem);
+        logToFileItem.setSelected (this.getCallback ().getLogToFile ());
+
+        final JCheckBoxMenuItem recordReplayItem = new JCheckBoxMenuItem ("Record replay stream");
+        recordReplayItem.addActionListener (event -> this.getCallback ().setRecordReplayStream (recordReplayItem.isSelected ()));
+        popup.add (recordReplayItem);
+        recordReplayItem.setSelected (this.getCallback ().getRecordReplayStream ());
+
         final JMenuItem refreshMIDIPortsItem = new JMenuItem ("Refresh MIDI Ports");
         refreshMIDIPortsItem.addActionListener (event -> this.getCallback ().sendMIDIPortRefreshCommand ());
         popup.add (refreshMIDIPortsItem);
@@ -8,6 +8,7 @@ import de.mossgrabers.framework.controller.IControlSurface;
 import de.mossgrabers.framework.controller.color.ColorEx;
 import de.mossgrabers.framework.controller.hardware.IHwLight;
 import de.mossgrabers.framework.graphics.IGraphicsContext;
+import de.mossgrabers.reaper.framework.daw.ChangeGeneration;
 import de.mossgrabers.reaper.framework.graphics.GraphicsContextImpl;
 import de.mossgrabers.reaper.framework.hardware.HwSurfaceFactoryImpl;
 import de.mossgrabers.reaper.framework.hardware.IReaperHwControl;
@@ -44,6 +45,7 @@ public class SimulatorWindow extends JFrame
 
     private final transient HwSurfaceFactoryImpl surfaceFactory;
     private final transient IControlSurface<?>   surface;
+    private final transient ChangeGeneration     inputChanges;
     private double                               scaleFactor      = -1;
 
 
@@ -51,10 +53,11 @@ public class SimulatorWindow extends JFrame
      * Constructor.
      *
      * @param surface The surface to simulate
+     * @param inputChanges The generation to increase after a mouse event has been handled
      * @param title The window title
      * @param enableAntialias True to enable anti aliasing
      */
-    public SimulatorWindow (final IControlSurface<?> surface, final String title, final boolean enableAntialias)
+    public SimulatorWindow (final IControlSurface<?> surface, final ChangeGeneration inputChanges, final String title, final boolean enableAntialias)
     {
         super (title);
 
@@ -64,6 +67,7 @@ public class SimulatorWindow extends JFrame
             this.setIconImage (image);
 
         this.surface = surface;
+        this.inputChanges = inputChanges;
 
         this.surfaceFactory = (HwSurfaceFactoryImpl) this.surface.getSurfaceFactory ();
 
@@ -135,6 +139,7 @@ public class SimulatorWindow extends JFrame
     private void handleMouseEvent (final MouseEvent event)
     {
         this.surfaceFactory.getControls ().forEach (control -> control.mouse (event.getID (), event.getX (), event.getY (), this.scaleFactor));
+        this.inputChanges.changed ();
     }
 
 
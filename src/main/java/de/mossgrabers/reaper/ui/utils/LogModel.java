@@ -1,18 +1,37 @@
 package de.mossgrabers.reaper.ui.utils;
 
+import de.mossgrabers.framework.utils.TaskScheduler;
+
 import javax.swing.JTextPane;
 import javax.swing.text.BadLocationException;
+import javax.swing.text.Element;
 import javax.swing.text.Style;
 import javax.swing.text.StyleConstants;
 import javax.swing.text.StyledDocument;
 
 import java.awt.Color;
+import java.io.File;
+import java.io.IOException;
 import java.io.PrintWriter;
 import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
 
 
 /**
- * Contains the data for the display content.
+ * Contains the data for the display content. The messages are kept in a ring buffer with a fixed
+ * capacity. Adding a message does not wait for the UI thread, the new messages are rendered in
+ * batches at most every 100 milliseconds. Optionally, the messages are appended to a log file
+ * which is rotated when it gets too large. The file is written on the file lane of the scheduler,
+ * so a slow disk does not delay the other tasks of the timer lane.
  *
  * Licensed under LGPLv3 - http://www.gnu.org/licenses/lgpl-3.0.txt
  *
@@ -20,12 +39,34 @@ import java.io.StringWriter;
  */
 public class LogModel
 {
-    private Style               normalStyle;
-    private Style               errorStyle;
+    private record Entry (long time, String message, boolean isError)
+    {
+        // Intentionally empty
+    }
+
+
+    /** The maximum number of messages which are kept and displayed. */
+    public static final int                CAPACITY         = 2000;
+    /** The size at which the log file is rotated. */
+    public static final long               MAX_FILE_SIZE    = 1024 * 1024;
+
+    private static final int               REFRESH_INTERVAL = 100;
+    private static final DateTimeFormatter TIME_FORMAT      = DateTimeFormatter.ofPattern ("yyyy-MM-dd HH:mm:ss.SSS").withZone (ZoneId.systemDefault ());
 
-    private final Object        updateLock = new Object ();
-    private JTextPane           textPane;
-    private final StringBuilder buffer     = new StringBuilder ();
+    private Style                          normalStyle;
+    private Style                          errorStyle;
+
+    private final Object                   updateLock       = new Object ();
+    private JTextPane                      textPane;
+    private File                           logFile;
+    private final Entry []                 entries          = new Entry [CAPACITY];
+    private long                           count            = 0;
+    private long                           clearedCount     = 0;
+    private long                           renderedCount    = 0;
+    private long                           writtenCount     = 0;
+    private boolean                        isRenderAll      = true;
+    private boolean                        isErrorsOnly     = false;
+    private boolean                        isDrainScheduled = false;
 
 
     /**
@@ -53,8 +94,72 @@ public class LogModel
             this.errorStyle = this.textPane.addStyle ("Error Style", null);
             StyleConstants.setForeground (this.errorStyle, Color.RED);
 
-            if (this.buffer.length () > 0)
-                this.info ("");
+            this.isRenderAll = true;
+            this.scheduleDrain ();
+        }
+    }
+
+
+    /**
+     * Set the file to which the messages are appended. If the file exceeds the maximum size, it is
+     * renamed by appending '.1' to its name (which replaces an older one) and a new file is
+     * started.
+     *
+     * @param logFile The file, null to stop writing
+     */
+    public void setLogFile (final File logFile)
+    {
+        synchronized (this.updateLock)
+        {
+            this.logFile = logFile;
+            // Only messages which are added from now on are written
+            this.writtenCount = this.count;
+        }
+    }
+
+
+    /**
+     * Get the file to which the messages are appended.
+     *
+     * @return The file or null if not written
+     */
+    public File getLogFile ()
+    {
+        synchronized (this.updateLock)
+        {
+            return this.logFile;
+        }
+    }
+
+
+    /**
+     * Display only error messages.
+     *
+     * @param isErrorsOnly True to hide the info messages
+     */
+    public void setErrorsOnly (final boolean isErrorsOnly)
+    {
+        synchronized (this.updateLock)
+        {
+            if (this.isErrorsOnly == isErrorsOnly)
+                return;
+            this.isErrorsOnly = isErrorsOnly;
+            this.isRenderAll = true;
+            this.scheduleDrain ();
+        }
+    }
+
+
+    /**
+     * Are only error messages displayed?
+     *
+     * @return True if the info messages are hidden
+     */
+    public boolean isErrorsOnly ()
+    {
+        synchronized (this.updateLock)
+        {
+            return this.isErrorsOnly;
         }
     }
 
@@ -88,56 +193,185 @@ public class LogModel
 
 
     /**
-     * Adds a logging message.
+     * Adds a logging message. If the buffer is full, the oldest message is removed.
      *
      * @param message The message to add
      * @param isError True if an error is logged
      */
     public void log (final String message, final boolean isError)
     {
-        if (message.length () == 0 && this.buffer.isEmpty ())
+        if (message.length () == 0)
             return;
 
-        SafeRunLater.execute (null, () -> {
+        final Entry entry = new Entry (System.currentTimeMillis (), message, isError);
+        synchronized (this.updateLock)
+        {
+            this.entries[(int) (this.count % CAPACITY)] = entry;
+            this.count++;
+            this.scheduleDrain ();
+        }
+    }
+
+
+    /**
+     * Clear the messages.
+     */
+    public void clearLogMessage ()
+    {
+        synchronized (this.updateLock)
+        {
+            this.clearedCount = this.count;
+            this.isRenderAll = true;
+            this.scheduleDrain ();
+        }
+    }
+
+
+    /**
+     * Schedules the writing and rendering of the new messages, if not already scheduled. Must be
+     * called while holding the update lock.
+     */
+    private void scheduleDrain ()
+    {
+        if (this.isDrainScheduled)
+            return;
+        this.isDrainScheduled = true;
+        TaskScheduler.getInstance ().schedule (TaskScheduler.Lane.TIMER, this::drain, REFRESH_INTERVAL);
+    }
+
+
+    /**
+     * Hands the new messages to the file lane for writing and to the UI thread for rendering.
+     */
+    private void drain ()
+    {
+        final File file;
+        final List<Entry> newEntries;
+        final long skipped;
+        final boolean hasTextPane;
+        synchronized (this.updateLock)
+        {
+            this.isDrainScheduled = false;
+
+            file = this.logFile;
+            newEntries = file == null ? List.of () : this.getEntries (this.writtenCount);
+            skipped = this.count - this.writtenCount - newEntries.size ();
+            this.writtenCount = this.count;
+            hasTextPane = this.textPane != null;
+        }
+
+        // The file lane has only one thread, therefore the messages are written in order
+        if (!newEntries.isEmpty ())
+            TaskScheduler.getInstance ().execute (TaskScheduler.Lane.FILE, () -> this.writeToFile (file, newEntries, skipped));
+        if (hasTextPane)
+            SafeRunLater.execute (null, this::render);
+    }
 
-            synchronized (this.updateLock)
-            {
-                if (message.length () > 0)
-                    this.buffer.append (message).append ("\n");
 
-                if (this.textPane != null)
+    /**
+     * Appends the messages which were not yet rendered to the text pane. Must be called on the UI
+     * thread.
+     */
+    private void render ()
+    {
+        final JTextPane pane;
+        final List<Entry> newEntries;
+        final boolean renderAll;
+        final boolean errorsOnly;
+        synchronized (this.updateLock)
+        {
+            pane = this.textPane;
+            renderAll = this.isRenderAll || this.count - this.renderedCount > CAPACITY;
+            newEntries = this.getEntries (renderAll ? this.clearedCount : Math.max (this.renderedCount, this.clearedCount));
+            errorsOnly = this.isErrorsOnly;
+            this.renderedCount = this.count;
+            this.isRenderAll = false;
+        }
+        if (pane == null)
+            return;
+
+        final StyledDocument doc = pane.getStyledDocument ();
+        try
+        {
+            if (renderAll)
+                doc.remove (0, doc.getLength ());
+
+            // Insert consecutive messages with the same style at once
+            final StringBuilder text = new StringBuilder ();
+            boolean isError = false;
+            for (final Entry entry: newEntries)
+            {
+                if (errorsOnly && !entry.isError ())
+                    continue;
+                if (entry.isError () != isError && !text.isEmpty ())
                 {
-                    try
-                    {
-                        final StyledDocument doc = this.textPane.getStyledDocument ();
-                        doc.insertString (doc.getLength (), this.buffer.toString (), isError ? this.errorStyle : this.normalStyle);
-                    }
-                    catch (final BadLocationException ex)
-                    {
-                        // Ignore since we cannot do anything meaningful with this
-                    }
-
-                    this.buffer.setLength (0);
-                    this.textPane.setCaretPosition (this.textPane.getDocument ().getLength ());
+                    doc.insertString (doc.getLength (), text.toString (), isError ? this.errorStyle : this.normalStyle);
+                    text.setLength (0);
                 }
+                isError = entry.isError ();
+                text.append (entry.message ()).append ('\n');
             }
+            if (!text.isEmpty ())
+                doc.insertString (doc.getLength (), text.toString (), isError ? this.errorStyle : this.normalStyle);
 
-        });
+            // Stack traces consist of several lines, therefore limit the number of lines as well
+            final Element root = doc.getDefaultRootElement ();
+            final int excess = root.getElementCount () - CAPACITY;
+            if (excess > 0)
+                doc.remove (0, root.getElement (excess - 1).getEndOffset ());
+        }
+        catch (final BadLocationException ex)
+        {
+            // Ignore since we cannot do anything meaningful with this
+        }
 
+        pane.setCaretPosition (doc.getLength ());
     }
 
 
     /**
-     * Clear the messages.
+     * Get the messages which were added after the given one and are still in the buffer. Must be
+     * called while holding the update lock.
+     *
+     * @param first The number of the first message
+     * @return The messages
      */
-    public void clearLogMessage ()
+    private List<Entry> getEntries (final long first)
     {
-        synchronized (this.updateLock)
+        final long start = Math.max (first, this.count - CAPACITY);
+        if (start >= this.count)
+            return List.of ();
+        final List<Entry> result = new ArrayList<> ((int) (this.count - start));
+        for (long i = start; i < this.count; i++)
+            result.add (this.entries[(int) (i % CAPACITY)]);
+        return result;
+    }
+
+
+    private void writeToFile (final File file, final List<Entry> newEntries, final long skipped)
+    {
+        final StringBuilder text = new StringBuilder ();
+        if (skipped > 0)
+            text.append ("... ").append (skipped).append (" messages were dropped since the buffer was full.").append (System.lineSeparator ());
+        for (final Entry entry: newEntries)
+            text.append (TIME_FORMAT.format (Instant.ofEpochMilli (entry.time ()))).append (entry.isError () ? " ERROR " : " INFO  ").append (entry.message ()).append (System.lineSeparator ());
+        final byte [] data = text.toString ().getBytes (StandardCharsets.UTF_8);
+
+        final Path path = file.toPath ();
+        try
+        {
+            if (file.exists () && file.length () + data.length > MAX_FILE_SIZE)
+                Files.move (path, Path.of (path + ".1"), StandardCopyOption.REPLACE_EXISTING);
+            Files.write (path, data, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        }
+        catch (final IOException ex)
         {
-            if (this.textPane == null)
-                this.buffer.setLength (0);
-            else
-                this.textPane.setText ("");
+            synchronized (this.updateLock)
+            {
+                if (this.logFile == file)
+                    this.logFile = null;
+            }
+            this.error ("Could not write log file, writing is disabled: " + file, ex);
         }
     }
 }
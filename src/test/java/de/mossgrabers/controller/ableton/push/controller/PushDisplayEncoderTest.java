@@ -0,0 +1,182 @@
+// Written by Jürgen Moßgraber - mossgrabers.de
+// (c) 2017-2026
+// Licensed under LGPLv3 - http://www.gnu.org/licenses/lgpl-3.0.txt
+
+package de.mossgrabers.controller.ableton.push.controller;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+
+/**
+ * Tests that the Push display encoder creates bit-exactly the same frames as the previous encoding
+ * of PushUsbDisplay, which converted the image byte by byte and applied the signal shaping in a
+ * second pass over the whole frame.
+ *
+ * @author Jürgen Moßgraber
+ */
+class PushDisplayEncoderTest
+{
+    static final int   WIDTH      = 960;
+    static final int   HEIGHT     = 160;
+    static final int   FRAME_SIZE = 20 * 0x4000;
+
+    private final Random random   = new Random (4711);
+
+
+    @Test
+    void testBitExact ()
+    {
+        final PushDisplayEncoder encoder = new PushDisplayEncoder (FRAME_SIZE);
+        assertBitExact (encoder, createBlackImage (WIDTH, HEIGHT), WIDTH, HEIGHT, FRAME_SIZE);
+        for (int i = 0; i < 5; i++)
+            assertBitExact (encoder, this.createRandomImage (WIDTH, HEIGHT), WIDTH, HEIGHT, FRAME_SIZE);
+
+        // Odd width, the padding starts with a pixel at an odd position
+        final PushDisplayEncoder smallEncoder = new PushDisplayEncoder (64);
+        for (int i = 0; i < 5; i++)
+            assertBitExact (smallEncoder, this.createRandomImage (7, 4), 7, 4, 64);
+    }
+
+
+    @Test
+    void testHasChanged ()
+    {
+        final PushDisplayEncoder encoder = new PushDisplayEncoder (FRAME_SIZE);
+
+        // The initial frame is black
+        encoder.encode (createBlackImage (WIDTH, HEIGHT), WIDTH, HEIGHT);
+        assertFalse (encoder.hasChanged ());
+
+        final ByteBuffer image = this.createRandomImage (WIDTH, HEIGHT);
+        encoder.encode (image, WIDTH, HEIGHT);
+        assertTrue (encoder.hasChanged ());
+        encoder.encode (image, WIDTH, HEIGHT);
+        assertFalse (encoder.hasChanged ());
+
+        // Change the red component of the last pixel
+        final int last = (WIDTH * HEIGHT - 1) * 4 + 2;
+        image.put (last, (byte) (image.get (last) ^ 0x80));
+        encoder.encode (image, WIDTH, HEIGHT);
+        assertTrue (encoder.hasChanged ());
+
+        // Bits which are dropped by the conversion to 16 bit do not change the frame
+        image.put (last, (byte) (image.get (last) ^ 0x07));
+        image.put (3, (byte) 0xFF);
+        encoder.encode (image, WIDTH, HEIGHT);
+        assertFalse (encoder.hasChanged ());
+    }
+
+
+    @Test
+    void testChangedColumns ()
+    {
+        final PushDisplayEncoder encoder = new PushDisplayEncoder (FRAME_SIZE);
+        final ByteBuffer image = this.createRandomImage (WIDTH, HEIGHT);
+        encoder.encode (image, WIDTH, HEIGHT);
+
+        // Change random columns, including ones starting or ending at odd positions
+        for (int i = 0; i < 20; i++)
+        {
+            final int left = this.random.nextInt (WIDTH);
+            final int right = left + 1 + this.random.nextInt (WIDTH - left);
+            for (int y = 0; y < HEIGHT; y++)
+                for (int x = left; x < right; x++)
+                    image.putInt ((y * WIDTH + x) * 4, this.random.nextInt ());
+            encoder.encode (image, WIDTH, HEIGHT, left, right);
+            assertTrue (encoder.hasChanged ());
+
+            final ByteBuffer frame = ByteBuffer.allocate (FRAME_SIZE);
+            encoder.copyTo (frame);
+            assertArrayEquals (encodeReference (image, WIDTH, HEIGHT, FRAME_SIZE), frame.array (), "Columns " + left + " to " + right);
+        }
+    }
+
+
+    /**
+     * Encode the image with the previous implementation of PushUsbDisplay.
+     *
+     * @param imageBuffer The image with the bytes blue, green, red and an unused one for each pixel
+     * @param width The width of the image
+     * @param height The height of the image
+     * @param frameSize The size of the frame in bytes
+     * @return The frame
+     */
+    static byte [] encodeReference (final ByteBuffer imageBuffer, final int width, final int height, final int frameSize)
+    {
+        final ByteBuffer buffer = imageBuffer.duplicate ();
+        buffer.rewind ();
+        final byte [] byteStore = new byte [frameSize];
+
+        int counter = 0;
+        final int padding = (frameSize - height * width * 2) / height;
+        for (int y = 0; y < height; y++)
+        {
+            for (int x = 0; x < width; x++)
+            {
+                final int blue = buffer.get ();
+                final int green = buffer.get ();
+                final int red = buffer.get ();
+                buffer.get ();
+
+                int pixel = (blue & 0xF8) >> 3;
+                pixel <<= 6;
+                pixel += (green & 0xFC) >> 2;
+                pixel <<= 5;
+                pixel += (red & 0xF8) >> 3;
+
+                byteStore[counter] = (byte) (pixel & 0x00FF);
+                byteStore[counter + 1] = (byte) ((pixel & 0xFF00) >> 8);
+                counter += 2;
+            }
+            counter += padding;
+        }
+
+        for (int pos = 0; pos < byteStore.length; pos += 4)
+        {
+            byteStore[pos] ^= 0xE7;
+            byteStore[pos + 1] ^= 0xF3;
+            byteStore[pos + 2] ^= 0xE7;
+            byteStore[pos + 3] ^= 0xFF;
+        }
+        return byteStore;
+    }
+
+
+    /**
+     * Create an image with random pixels, including the unused byte.
+     *
+     * @param width The width of the image
+     * @param height The height of the image
+     * @return The image
+     */
+    ByteBuffer createRandomImage (final int width, final int height)
+    {
+        final byte [] data = new byte [width * height * 4];
+        this.random.nextBytes (data);
+        return ByteBuffer.allocateDirect (data.length).put (data).rewind ();
+    }
+
+
+    static ByteBuffer createBlackImage (final int width, final int height)
+    {
+        return ByteBuffer.allocateDirect (width * height * 4);
+    }
+
+
+    private static void assertBitExact (final PushDisplayEncoder encoder, final ByteBuffer image, final int width, final int height, final int frameSize)
+    {
+        final byte [] expected = encodeReference (image, width, height, frameSize);
+
+        encoder.encode (image, width, height);
+        final ByteBuffer frame = ByteBuffer.allocate (frameSize);
+        encoder.copyTo (frame);
+        assertArrayEquals (expected, frame.array ());
+    }
+}
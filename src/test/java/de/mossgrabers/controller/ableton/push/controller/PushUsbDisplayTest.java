@@ -0,0 +1,129 @@
+// Written by Jürgen Moßgraber - mossgrabers.de
+// (c) 2017-2026
+// Licensed under LGPLv3 - http://www.gnu.org/licenses/lgpl-3.0.txt
+
+package de.mossgrabers.controller.ableton.push.controller;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.mossgrabers.framework.graphics.DefaultBounds;
+import de.mossgrabers.framework.graphics.IBounds;
+import de.mossgrabers.framework.graphics.TestBitmap;
+import de.mossgrabers.framework.usb.FakeUsbEndpoint;
+import de.mossgrabers.framework.utils.LatencyTracer;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+
+/**
+ * Tests that the Push display transmits the header and the frames, which are encoded as before, and
+ * that unchanged frames are not sent again.
+ *
+ * @author Jürgen Moßgraber
+ */
+class PushUsbDisplayTest
+{
+    private static final byte [] HEADER    =
+    {
+        (byte) 0xFF,
+        (byte) 0xCC,
+        (byte) 0xAA,
+        (byte) 0x88,
+        0,
+        0,
+        0,
+        0,
+        0,
+        0,
+        0,
+        0,
+        0,
+        0,
+        0,
+        0
+    };
+
+    private static final IBounds FULL_AREA = new DefaultBounds (0, 0, PushDisplayEncoderTest.WIDTH, PushDisplayEncoderTest.HEIGHT);
+
+
+    @Test
+    void testSend ()
+    {
+        final FakeUsbEndpoint endpoint = new FakeUsbEndpoint ();
+        final PushUsbDisplay display = new PushUsbDisplay (endpoint.createHost (), new LatencyTracer.Trace ());
+        final PushDisplayEncoderTest images = new PushDisplayEncoderTest ();
+
+        final TestBitmap bitmap = new TestBitmap (images.createRandomImage (PushDisplayEncoderTest.WIDTH, PushDisplayEncoderTest.HEIGHT), PushDisplayEncoderTest.WIDTH, PushDisplayEncoderTest.HEIGHT);
+        display.send (bitmap, FULL_AREA);
+        assertFrames (endpoint.getSent (), bitmap.getImage ());
+
+        // Neither an unchanged nor a not rendered image is sent again before the keep alive time
+        display.send (bitmap, FULL_AREA);
+        display.send (bitmap, null);
+        assertEquals (2, endpoint.getSent ().size ());
+
+        final TestBitmap changed = new TestBitmap (images.createRandomImage (PushDisplayEncoderTest.WIDTH, PushDisplayEncoderTest.HEIGHT), PushDisplayEncoderTest.WIDTH, PushDisplayEncoderTest.HEIGHT);
+        display.send (changed, FULL_AREA);
+        List<byte []> sent = endpoint.getSent ();
+        assertEquals (4, sent.size ());
+        assertFrames (sent.subList (2, 4), changed.getImage ());
+
+        // Only the changed columns are encoded, the frame still contains the others
+        for (int y = 0; y < PushDisplayEncoderTest.HEIGHT; y++)
+            for (int x = 101; x < 333; x++)
+                changed.setPixel (x, y, x * y);
+        display.send (changed, new DefaultBounds (101, 0, 232, PushDisplayEncoderTest.HEIGHT));
+        sent = endpoint.getSent ();
+        assertEquals (6, sent.size ());
+        assertFrames (sent.subList (4, 6), changed.getImage ());
+
+        display.shutdown ();
+        assertTrue (display.isShutdown ());
+        display.send (bitmap, FULL_AREA);
+        assertEquals (6, endpoint.getSent ().size ());
+        assertTrue (endpoint.getErrors ().isEmpty (), endpoint.getErrors ()::toString);
+    }
+
+
+    @Test
+    void testSlowTransfer ()
+    {
+        final FakeUsbEndpoint endpoint = new FakeUsbEndpoint ();
+        endpoint.setManualCompletion (true);
+        final PushUsbDisplay display = new PushUsbDisplay (endpoint.createHost (), new LatencyTracer.Trace ());
+        final PushDisplayEncoderTest images = new PushDisplayEncoderTest ();
+
+        // The first frame is transferred, the second one is replaced by the third
+        final TestBitmap [] bitmaps = new TestBitmap [3];
+        for (int i = 0; i < bitmaps.length; i++)
+        {
+            bitmaps[i] = new TestBitmap (images.createRandomImage (PushDisplayEncoderTest.WIDTH, PushDisplayEncoderTest.HEIGHT), PushDisplayEncoderTest.WIDTH, PushDisplayEncoderTest.HEIGHT);
+            display.send (bitmaps[i], FULL_AREA);
+        }
+        assertEquals (2, endpoint.getNumRunning ());
+
+        while (endpoint.completeNext ())
+        {
+            // Complete all transfers including the ones which are started by the completion
+        }
+        final List<byte []> sent = endpoint.getSent ();
+        assertEquals (4, sent.size ());
+        assertFrames (sent.subList (0, 2), bitmaps[0].getImage ());
+        assertFrames (sent.subList (2, 4), bitmaps[2].getImage ());
+
+        display.shutdown ();
+    }
+
+
+    private static void assertFrames (final List<byte []> sent, final ByteBuffer image)
+    {
+        assertEquals (2, sent.size ());
+        assertArrayEquals (HEADER, sent.get (0));
+        assertArrayEquals (PushDisplayEncoderTest.encodeReference (image, PushDisplayEncoderTest.WIDTH, PushDisplayEncoderTest.HEIGHT, PushDisplayEncoderTest.FRAME_SIZE), sent.get (1));
+    }
+}
@@ -0,0 +1,212 @@
+// Written by Jürgen Moßgraber - mossgrabers.de
+// (c) 2017-2026
+// Licensed under LGPLv3 - http://www.gnu.org/licenses/lgpl-3.0.txt
+
+package de.mossgrabers.controller.akai.fire.controller;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import de.mossgrabers.framework.daw.FakeHost;
+import de.mossgrabers.framework.daw.midi.IMidiOutput;
+import de.mossgrabers.framework.graphics.DefaultBounds;
+import de.mossgrabers.framework.graphics.IBounds;
+import de.mossgrabers.framework.graphics.TestBitmap;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+
+/**
+ * Tests the system exclusive messages of the Fire display against the previous implementation,
+ * which encoded all 8 bands of the display into a message each, and against golden messages for
+ * the update of a part of a band.
+ *
+ * @author Jürgen Moßgraber
+ */
+class FireDisplayTest
+{
+    // @formatter:off
+    private static final int [][] BIT_MUTATE =
+    {
+        { 13,  19,  25,  31,  37,  43,  49 },
+        {  0,  20,  26,  32,  38,  44,  50 },
+        {  1,   7,  27,  33,  39,  45,  51 },
+        {  2,   8,  14,  34,  40,  46,  52 },
+        {  3,   9,  15,  21,  41,  47,  53 },
+        {  4,  10,  16,  22,  28,  48,  54 },
+        {  5,  11,  17,  23,  29,  35,  55 },
+        {  6,  12,  18,  24,  30,  36,  42 }
+      };
+    // @formatter:on
+
+    private static final int      WIDTH       = 128;
+    private static final int      HEIGHT      = 64;
+    private static final int      STRIPE_SIZE = 147;
+    private static final int      WHITE       = 0xFFFFFF;
+
+    private final TestBitmap      bitmap      = new TestBitmap (WIDTH, HEIGHT);
+    private final List<byte []>   messages    = new ArrayList<> ();
+    private final FireDisplay     display;
+
+
+    /**
+     * Constructor.
+     */
+    FireDisplayTest ()
+    {
+        final IMidiOutput output = (IMidiOutput) Proxy.newProxyInstance (IMidiOutput.class.getClassLoader (), new Class<?> []
+        {
+            IMidiOutput.class
+        }, (proxy, method, args) -> {
+            if ("sendSysex".equals (method.getName ()) && args[0] instanceof final byte [] data)
+                this.messages.add (data.clone ());
+            return null;
+        });
+
+        // The test bitmap is not rendered, therefore it is always changed
+        final IBounds bounds = new DefaultBounds (0, 0, WIDTH, HEIGHT);
+        this.display = new FireDisplay (FakeHost.create (Map.of ("createBitmap", args -> this.bitmap)), output, 127)
+        {
+            /** {@inheritDoc} */
+            @Override
+            protected IBounds getChangedArea ()
+            {
+                return bounds;
+            }
+        };
+    }
+
+
+    @AfterEach
+    void shutdown ()
+    {
+        this.display.shutdown ();
+    }
+
+
+    @Test
+    void testFullFrames ()
+    {
+        final Random random = new Random (4711);
+        final byte [] data = new byte [WIDTH * HEIGHT * 4];
+        this.display.send (this.bitmap);
+        assertFrame (encodeReference (this.bitmap.getImage ()), this.messages);
+
+        for (int i = 0; i < 5; i++)
+        {
+            // Every band changes at its first and its last block
+            random.nextBytes (data);
+            this.bitmap.getImage ().clear ().put (data).rewind ();
+            for (int band = 0; band < 8; band++)
+            {
+                this.bitmap.setPixel (0, band * 8, i % 2 == 0 ? WHITE : 0);
+                this.bitmap.setPixel (WIDTH - 1, band * 8, i % 2 == 0 ? WHITE : 0);
+            }
+
+            this.messages.clear ();
+            this.display.send (this.bitmap);
+            assertFrame (encodeReference (this.bitmap.getImage ()), this.messages);
+        }
+    }
+
+
+    @Test
+    void testChangedBlocks ()
+    {
+        this.display.send (this.bitmap);
+        assertEquals (8, this.messages.size ());
+
+        // Band 1, the 5th block of 7 columns
+        this.messages.clear ();
+        this.bitmap.setPixel (30, 10, WHITE);
+        this.display.send (this.bitmap);
+        assertEquals (1, this.messages.size ());
+        assertArrayEquals (HexFormat.ofDelimiter (" ").parseHex ("F0 47 7F 43 0E 00 0C 01 01 1C 22 00 00 00 40 00 00 00 00 F7"), this.messages.get (0));
+
+        // Band 7, the last block only has 2 columns and 3 bytes
+        this.messages.clear ();
+        this.bitmap.setPixel (127, 63, WHITE);
+        this.display.send (this.bitmap);
+        assertEquals (1, this.messages.size ());
+        assertArrayEquals (HexFormat.ofDelimiter (" ").parseHex ("F0 47 7F 43 0E 00 07 07 07 7E 7F 00 20 00 F7"), this.messages.get (0));
+
+        // Nothing has changed
+        this.messages.clear ();
+        this.display.send (this.bitmap);
+        assertEquals (0, this.messages.size ());
+    }
+
+
+    private static void assertFrame (final List<byte []> expected, final List<byte []> actual)
+    {
+        assertEquals (expected.size (), actual.size ());
+        for (int i = 0; i < expected.size (); i++)
+            assertArrayEquals (expected.get (i), actual.get (i), "Band " + i);
+    }
+
+
+    /**
+     * Encode the image with the previous implementation of the Fire display, which sent all bands.
+     *
+     * @param image The image
+     * @return The messages of the 8 bands
+     */
+    private static List<byte []> encodeReference (final ByteBuffer image)
+    {
+        final ByteBuffer imageBuffer = image.duplicate ().rewind ();
+        final int [] [] oledBitmap = new int [8] [STRIPE_SIZE];
+        for (int stripe = 0; stripe < 8; stripe++)
+        {
+            for (int y = 0; y < HEIGHT / 8; y++)
+            {
+                for (int x = 0; x < WIDTH; x++)
+                {
+                    final int blue = imageBuffer.get ();
+                    final int green = imageBuffer.get ();
+                    final int red = imageBuffer.get ();
+                    imageBuffer.get ();
+
+                    final int xpos = x + 128 * (y / 8);
+                    final int ypos = y % 8;
+                    final int remapBit = BIT_MUTATE[ypos][xpos % 7];
+                    final int idx = xpos / 7 * 8 + remapBit / 7;
+                    if (blue + green + red < 0)
+                        oledBitmap[stripe][idx] |= 1 << remapBit % 7;
+                    else
+                        oledBitmap[stripe][idx] &= ~(1 << remapBit % 7);
+                }
+            }
+        }
+
+        final List<byte []> result = new ArrayList<> ();
+        for (int stripe = 0; stripe < 8; stripe++)
+        {
+            final byte [] data = new byte [12 + STRIPE_SIZE];
+            data[0] = (byte) 0xF0;
+            data[1] = 0x47;
+            data[2] = 0x7F;
+            data[3] = 0x43;
+            data[4] = 0x0E;
+            data[5] = (byte) ((4 + STRIPE_SIZE) / 128);
+            data[6] = (byte) ((4 + STRIPE_SIZE) % 128);
+            data[7] = (byte) stripe;
+            data[8] = (byte) stripe;
+            data[9] = 0x00;
+            data[10] = 0x7F;
+            for (int i = 0; i < STRIPE_SIZE; i++)
+                data[11 + i] = (byte) oledBitmap[stripe][i];
+            data[data.length - 1] = (byte) 0xF7;
+            result.add (data);
+        }
+        return result;
+    }
+}
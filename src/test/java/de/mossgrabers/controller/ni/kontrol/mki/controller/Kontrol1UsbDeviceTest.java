@@ -0,0 +1,76 @@
+// Written by Jürgen Moßgraber - mossgrabers.de
+// (c) 2017-2026
+// Licensed under LGPLv3 - http://www.gnu.org/licenses/lgpl-3.0.txt
+
+package de.mossgrabers.controller.ni.kontrol.mki.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.mossgrabers.framework.usb.FakeHidDevice;
+import de.mossgrabers.framework.usb.FakeHidDevice.Report;
+import de.mossgrabers.framework.usb.FakeUsbEndpoint;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+
+/**
+ * Tests that the LED states of the Kontrol 1 are sent through the transfer pipelines.
+ *
+ * @author Jürgen Moßgraber
+ */
+class Kontrol1UsbDeviceTest
+{
+    @Test
+    void testLEDs ()
+    {
+        final FakeHidDevice hidDevice = new FakeHidDevice ();
+        final FakeUsbEndpoint endpoint = new FakeUsbEndpoint ();
+        final Kontrol1UsbDevice device = new Kontrol1UsbDevice (0, endpoint.createHost (hidDevice));
+
+        device.setButtonLED (Kontrol1ControlSurface.BUTTON_SCALE, 127);
+        device.updateButtonLEDs ();
+        // Unchanged states are not sent again
+        device.updateButtonLEDs ();
+        device.setKeyLED (1, 10, 20, 30);
+        device.updateKeyLEDs ();
+
+        // Waits for the running transfers
+        device.shutdown ();
+        assertTrue (hidDevice.isClosed ());
+        assertTrue (endpoint.getErrors ().isEmpty (), endpoint.getErrors ()::toString);
+
+        final List<Report> reports = hidDevice.getReports ();
+        assertEquals (2, reports.size ());
+        for (final Report report: reports)
+        {
+            assertTrue (report.threadName ().contains ("-usb-"), report.threadName ());
+            final byte [] data = report.data ();
+            switch (report.reportID ())
+            {
+                case (byte) 0x80:
+                    assertEquals (25, data.length);
+                    for (int i = 0; i < data.length; i++)
+                        assertEquals (i == 1 ? 127 : 0, data[i], "Button LED " + i);
+                    break;
+
+                case (byte) 0x82:
+                    // 25 keys with red, green and blue
+                    assertEquals (75, data.length);
+                    for (int i = 0; i < data.length; i++)
+                        assertEquals (i >= 3 && i < 6 ? (i - 2) * 10 : 0, data[i], "Key LED " + i);
+                    break;
+
+                default:
+                    throw new AssertionError ("Unexpected report: " + report.reportID ());
+            }
+        }
+
+        // Nothing is sent after the shutdown
+        device.setButtonLED (Kontrol1ControlSurface.BUTTON_SCALE, 0);
+        device.updateButtonLEDs ();
+        assertEquals (2, hidDevice.getReports ().size ());
+    }
+}
@@ -0,0 +1,191 @@
+// Written by Jürgen Moßgraber - mossgrabers.de
+// (c) 2017-2026
+// Licensed under LGPLv3 - http://www.gnu.org/licenses/lgpl-3.0.txt
+
+package de.mossgrabers.controller.novation.launchpad.definition;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import de.mossgrabers.framework.controller.grid.LightInfo;
+import de.mossgrabers.framework.utils.StringUtils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Random;
+import java.util.TreeMap;
+
+
+/**
+ * Tests the LED update messages of the Launchpad definitions byte for byte against the previous
+ * implementations, which formatted the messages as hex strings. The definitions keep their message
+ * builders, therefore several updates are created with each definition.
+ *
+ * @author Jürgen Moßgraber
+ */
+class LaunchpadLEDUpdateTest
+{
+    private final Random random = new Random (4711);
+
+
+    @Test
+    void testAbstractLaunchpad ()
+    {
+        final ILaunchpadControllerDefinition [] definitions =
+        {
+            new LaunchpadMiniMkIIIControllerDefinition (),
+            new LaunchpadXControllerDefinition (),
+            new LaunchpadProMk3ControllerDefinition ()
+        };
+        for (final ILaunchpadControllerDefinition definition: definitions)
+        {
+            for (int i = 0; i < 50; i++)
+            {
+                final Map<Integer, LightInfo> padInfos = this.createPadInfos ();
+                assertMessages (buildReference (definition.getSysExHeader (), padInfos), definition.buildLEDUpdate (padInfos));
+            }
+        }
+    }
+
+
+    @Test
+    void testLaunchpadMkII ()
+    {
+        final LaunchpadMkIIControllerDefinition definition = new LaunchpadMkIIControllerDefinition ();
+        for (int i = 0; i < 50; i++)
+        {
+            final Map<Integer, LightInfo> padInfos = this.createPadInfos ();
+            assertMessages (buildReference (definition.getSysExHeader (), padInfos, "00 "), definition.buildLEDUpdate (padInfos));
+        }
+    }
+
+
+    @Test
+    void testLaunchpadPro ()
+    {
+        final LaunchpadProControllerDefinition definition = new LaunchpadProControllerDefinition ();
+        for (int i = 0; i < 50; i++)
+        {
+            final Map<Integer, LightInfo> padInfos = this.createPadInfos ();
+            assertMessages (buildReference (definition.getSysExHeader (), padInfos, ""), definition.buildLEDUpdate (padInfos));
+        }
+    }
+
+
+    @Test
+    void testMessagesAreNotReused ()
+    {
+        final LaunchpadProControllerDefinition definition = new LaunchpadProControllerDefinition ();
+        final Map<Integer, LightInfo> padInfos = this.createPadInfos ();
+        final List<byte []> messages = definition.buildLEDUpdate (padInfos);
+        final List<byte []> copies = new ArrayList<> ();
+        for (final byte [] message: messages)
+            copies.add (message.clone ());
+
+        // A later update does not change the previously returned messages
+        definition.buildLEDUpdate (this.createPadInfos ());
+        assertEquals (copies.size (), messages.size ());
+        for (int i = 0; i < copies.size (); i++)
+            assertArrayEquals (copies.get (i), messages.get (i));
+    }
+
+
+    /**
+     * Create random pad states. Some updates contain only static colors, some only a few pads.
+     *
+     * @return The states by their note
+     */
+    private Map<Integer, LightInfo> createPadInfos ()
+    {
+        final Map<Integer, LightInfo> padInfos = new TreeMap<> ();
+        final int count = 1 + this.random.nextInt (this.random.nextBoolean () ? 4 : 100);
+        final boolean hasBlink = this.random.nextBoolean ();
+        for (int i = 0; i < count; i++)
+        {
+            final int blinkColor = hasBlink && this.random.nextBoolean () ? 1 + this.random.nextInt (127) : 0;
+            padInfos.put (Integer.valueOf (this.random.nextInt (128)), new LightInfo (this.random.nextInt (128), blinkColor, this.random.nextBoolean ()));
+        }
+        return padInfos;
+    }
+
+
+    private static void assertMessages (final List<String> expected, final List<byte []> actual)
+    {
+        assertEquals (expected.size (), actual.size ());
+        for (int i = 0; i < expected.size (); i++)
+            assertArrayEquals (HexFormat.ofDelimiter (" ").parseHex (expected.get (i)), actual.get (i), expected.get (i));
+    }
+
+
+    /**
+     * The previous implementation of AbstractLaunchpadDefinition.
+     *
+     * @param sysExHeader The system exclusive header
+     * @param padInfos The info how to update the pads
+     * @return The system exclusive string
+     */
+    private static List<String> buildReference (final String sysExHeader, final Map<Integer, LightInfo> padInfos)
+    {
+        final StringBuilder sb = new StringBuilder (sysExHeader).append ("03 ");
+        for (final Entry<Integer, LightInfo> e: padInfos.entrySet ())
+        {
+            final int note = e.getKey ().intValue ();
+            final LightInfo info = e.getValue ();
+
+            if (info.getBlinkColor () <= 0)
+                sb.append ("00 ").append (StringUtils.toHexStr (note)).append (' ').append (StringUtils.toHexStr (info.getColor ())).append (' ');
+            else if (info.isFast ())
+                sb.append ("01 ").append (StringUtils.toHexStr (note)).append (' ').append (StringUtils.toHexStr (info.getBlinkColor ())).append (' ').append (StringUtils.toHexStr (info.getColor ())).append (' ');
+            else
+                sb.append ("02 ").append (StringUtils.toHexStr (note)).append (' ').append (StringUtils.toHexStr (info.getColor ())).append (' ');
+        }
+        return Collections.singletonList (sb.append ("F7").toString ());
+    }
+
+
+    /**
+     * The previous implementation of the Launchpad MkII and Pro definitions.
+     *
+     * @param sysExHeader The system exclusive header
+     * @param padInfos The info how to update the pads
+     * @param blinkPrefix The prefix of each blinking pad, the MkII has an additional 00
+     * @return The system exclusive strings
+     */
+    private static List<String> buildReference (final String sysExHeader, final Map<Integer, LightInfo> padInfos, final String blinkPrefix)
+    {
+        final StringBuilder sbNormal = new StringBuilder ();
+        final StringBuilder sbFlash = new StringBuilder ();
+        final StringBuilder sbPulse = new StringBuilder ();
+
+        for (final Entry<Integer, LightInfo> e: padInfos.entrySet ())
+        {
+            final int note = e.getKey ().intValue ();
+            final LightInfo info = e.getValue ();
+
+            sbNormal.append (StringUtils.toHexStr (note)).append (' ').append (StringUtils.toHexStr (info.getColor ())).append (' ');
+
+            if (info.getBlinkColor () > 0)
+            {
+                if (info.isFast ())
+                    sbFlash.append (blinkPrefix).append (StringUtils.toHexStr (note)).append (' ').append (StringUtils.toHexStr (info.getBlinkColor ())).append (' ');
+                else
+                    sbPulse.append (blinkPrefix).append (StringUtils.toHexStr (note)).append (' ').append (StringUtils.toHexStr (info.getBlinkColor ())).append (' ');
+            }
+        }
+
+        final List<String> result = new ArrayList<> (3);
+        if (sbNormal.length () > 0)
+            result.add (new StringBuilder (sysExHeader).append ("0A ").append (sbNormal).append ("F7").toString ());
+        if (sbFlash.length () > 0)
+            result.add (new StringBuilder (sysExHeader).append ("23 ").append (sbFlash).append ("F7").toString ());
+        if (sbPulse.length () > 0)
+            result.add (new StringBuilder (sysExHeader).append ("28 ").append (sbPulse).append ("F7").toString ());
+        return result;
+    }
+}
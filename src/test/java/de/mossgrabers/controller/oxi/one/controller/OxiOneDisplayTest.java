@@ -0,0 +1,198 @@
+// Written by Jürgen Moßgraber - mossgrabers.de
+// (c) 2017-2026
+// Licensed under LGPLv3 - http://www.gnu.org/licenses/lgpl-3.0.txt
+
+package de.mossgrabers.controller.oxi.one.controller;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import de.mossgrabers.framework.daw.FakeHost;
+import de.mossgrabers.framework.daw.midi.IMidiOutput;
+import de.mossgrabers.framework.graphics.DefaultBounds;
+import de.mossgrabers.framework.graphics.IBounds;
+import de.mossgrabers.framework.graphics.TestBitmap;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+
+/**
+ * Tests the system exclusive messages of the OXI One display against the previous implementation
+ * and against golden messages for single pixels.
+ *
+ * @author Jürgen Moßgraber
+ */
+class OxiOneDisplayTest
+{
+    private static final int    WIDTH      = 128;
+    private static final int    HEIGHT     = 64;
+    private static final int    FRAME_SIZE = WIDTH * HEIGHT / 4;
+    private static final int    WHITE      = 0xFFFFFF;
+
+    private final TestBitmap    bitmap     = new TestBitmap (WIDTH, HEIGHT);
+    private final List<byte []> messages   = new ArrayList<> ();
+    private final OxiOneDisplay display;
+
+
+    /**
+     * Constructor.
+     */
+    OxiOneDisplayTest ()
+    {
+        final IMidiOutput output = (IMidiOutput) Proxy.newProxyInstance (IMidiOutput.class.getClassLoader (), new Class<?> []
+        {
+            IMidiOutput.class
+        }, (proxy, method, args) -> {
+            if ("sendSysex".equals (method.getName ()) && args[0] instanceof final byte [] data)
+                this.messages.add (data.clone ());
+            return null;
+        });
+
+        // The test bitmap is not rendered, therefore it is always changed
+        final IBounds bounds = new DefaultBounds (0, 0, WIDTH, HEIGHT);
+        this.display = new OxiOneDisplay (FakeHost.create (Map.of ("createBitmap", args -> this.bitmap)), output, 127)
+        {
+            /** {@inheritDoc} */
+            @Override
+            protected IBounds getChangedArea ()
+            {
+                return bounds;
+            }
+        };
+    }
+
+
+    @AfterEach
+    void shutdown ()
+    {
+        this.display.shutdown ();
+    }
+
+
+    @Test
+    void testFrames ()
+    {
+        final Random random = new Random (4711);
+        final byte [] data = new byte [WIDTH * HEIGHT * 4];
+        for (int i = 0; i < 5; i++)
+        {
+            random.nextBytes (data);
+            this.bitmap.getImage ().clear ().put (data).rewind ();
+
+            this.messages.clear ();
+            this.display.send (this.bitmap);
+            assertEquals (1, this.messages.size ());
+            assertArrayEquals (encodeReference (this.bitmap.getImage ()), this.messages.get (0));
+        }
+    }
+
+
+    @Test
+    void testPixels ()
+    {
+        // The initial black frame is sent
+        this.display.send (this.bitmap);
+        assertEquals (1, this.messages.size ());
+        assertArrayEquals (createMessage (), this.messages.get (0));
+
+        // The rows 0 to 3 are in the second byte of a column
+        this.messages.clear ();
+        this.bitmap.setPixel (5, 9, WHITE);
+        this.display.send (this.bitmap);
+        final byte [] expected = createMessage ();
+        expected[7 + 267] = 0x02;
+        assertEquals (1, this.messages.size ());
+        assertArrayEquals (expected, this.messages.get (0));
+
+        // The rows 4 to 7 are in the first byte of a column
+        this.messages.clear ();
+        this.bitmap.setPixel (0, 4, WHITE);
+        this.display.send (this.bitmap);
+        expected[7] = 0x01;
+        assertEquals (1, this.messages.size ());
+        assertArrayEquals (expected, this.messages.get (0));
+
+        // Nothing has changed
+        this.messages.clear ();
+        this.display.send (this.bitmap);
+        assertEquals (0, this.messages.size ());
+    }
+
+
+    /**
+     * Create the message for a black display.
+     *
+     * @return The message
+     */
+    private static byte [] createMessage ()
+    {
+        final byte [] displayData = new byte [8 + FRAME_SIZE];
+        displayData[0] = (byte) 0xF0;
+        displayData[1] = (byte) 0x00;
+        displayData[2] = (byte) 0x21;
+        displayData[3] = (byte) 0x5B;
+        displayData[4] = (byte) 0x00;
+        displayData[5] = (byte) 0x01;
+        displayData[6] = 0x03;
+        displayData[displayData.length - 1] = (byte) 0xF7;
+        return displayData;
+    }
+
+
+    /**
+     * Encode the image with the previous implementation of the OXI One display.
+     *
+     * @param image The image
+     * @return The message
+     */
+    private static byte [] encodeReference (final ByteBuffer image)
+    {
+        final ByteBuffer imageBuffer = image.duplicate ().rewind ();
+        final BitSet oledBitmap = new BitSet (WIDTH * HEIGHT);
+        for (int y = 0; y < HEIGHT; y++)
+        {
+            for (int x = 0; x < WIDTH; x++)
+            {
+                final int blue = imageBuffer.get ();
+                final int green = imageBuffer.get ();
+                final int red = imageBuffer.get ();
+                imageBuffer.get ();
+                oledBitmap.set (y * WIDTH + x, blue + green + red < 0);
+            }
+        }
+
+        final byte [] displayData = createMessage ();
+        int pos = 7;
+        for (int y = 0; y < HEIGHT; y += 8)
+        {
+            for (int x = 0; x < WIDTH; x++)
+            {
+                byte nibble1 = 0;
+                byte nibble2 = 0;
+                for (int bit = 0; bit < 8; bit++)
+                {
+                    if (oledBitmap.get ((y + bit) * WIDTH + x))
+                    {
+                        if (bit > 3)
+                            nibble1 |= 1 << bit - 4;
+                        else
+                            nibble2 |= 1 << bit;
+                    }
+                }
+                displayData[pos] = nibble1;
+                displayData[pos + 1] = nibble2;
+                pos += 2;
+            }
+        }
+        return displayData;
+    }
+}
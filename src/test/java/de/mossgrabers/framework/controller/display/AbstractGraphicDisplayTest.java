@@ -0,0 +1,239 @@
+// Written by Jürgen Moßgraber - mossgrabers.de
+// (c) 2017-2026
+// Licensed under LGPLv3 - http://www.gnu.org/licenses/lgpl-3.0.txt
+
+package de.mossgrabers.framework.controller.display;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.mossgrabers.framework.controller.color.ColorEx;
+import de.mossgrabers.framework.daw.FakeHost;
+import de.mossgrabers.framework.daw.IHost;
+import de.mossgrabers.framework.graphics.ChromaticGraphicsConfiguration;
+import de.mossgrabers.framework.graphics.DefaultGraphicsDimensions;
+import de.mossgrabers.framework.graphics.IBitmap;
+import de.mossgrabers.framework.graphics.IBounds;
+import de.mossgrabers.framework.graphics.IEncoder;
+import de.mossgrabers.framework.graphics.IGraphicsConfiguration;
+import de.mossgrabers.reaper.framework.graphics.BitmapImpl;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.util.Map;
+import java.util.Random;
+
+
+/**
+ * Tests that painting only the changed columns of a graphics display and encoding only the changed
+ * area produces exactly the same pixels as painting and encoding the whole image.
+ *
+ * @author Jürgen Moßgraber
+ */
+class AbstractGraphicDisplayTest
+{
+    private static final int                    WIDTH         = 960;
+    private static final int                    HEIGHT        = 160;
+    private static final int                    COLUMNS       = 8;
+    private static final int                    MAX_VALUE     = 1023;
+
+    private static final IGraphicsConfiguration CONFIGURATION = new ChromaticGraphicsConfiguration ()
+    {
+        /** {@inheritDoc} */
+        @Override
+        public ColorEx getColorText ()
+        {
+            return ColorEx.YELLOW;
+        }
+
+
+        /** {@inheritDoc} */
+        @Override
+        public ColorEx getColorBackground ()
+        {
+            return ColorEx.DARK_BLUE;
+        }
+
+
+        /** {@inheritDoc} */
+        @Override
+        public ColorEx getColorBackgroundLighter ()
+        {
+            return ColorEx.DARK_GRAY;
+        }
+
+
+        /** {@inheritDoc} */
+        @Override
+        public ColorEx getColorBorder ()
+        {
+            return ColorEx.DARKER_RED;
+        }
+
+
+        /** {@inheritDoc} */
+        @Override
+        public ColorEx getColorEdit ()
+        {
+            return ColorEx.ORANGE;
+        }
+
+
+        /** {@inheritDoc} */
+        @Override
+        public ColorEx getColorFader ()
+        {
+            return ColorEx.GREEN;
+        }
+
+
+        /** {@inheritDoc} */
+        @Override
+        public boolean isAntialiasEnabled ()
+        {
+            return true;
+        }
+    };
+
+    private final IHost                         host          = FakeHost.create (Map.of ("createBitmap", args -> new BitmapImpl (null, ((Integer) args[0]).intValue (), ((Integer) args[1]).intValue ())));
+    private final TestDisplay                   display       = new TestDisplay (this.host);
+
+
+    @AfterEach
+    void shutdown ()
+    {
+        this.display.shutdown ();
+    }
+
+
+    @Test
+    void testIncrementalRendering ()
+    {
+        final Random random = new Random (4711);
+        final int [] values = new int [COLUMNS];
+        final boolean [] isOption = new boolean [COLUMNS];
+        for (int i = 0; i < COLUMNS; i++)
+            values[i] = random.nextInt (MAX_VALUE + 1);
+
+        int incremental = 0;
+        for (int step = 0; step < 200; step++)
+        {
+            // Change one to three random columns, sometimes into an option column which is
+            // changed back on its next change since it requires a full repaint
+            final int changes = 1 + random.nextInt (3);
+            for (int i = 0; i < changes; i++)
+            {
+                final int column = random.nextInt (COLUMNS);
+                values[column] = random.nextInt (MAX_VALUE + 1);
+                isOption[column] = !isOption[column] && random.nextInt (50) == 0;
+            }
+
+            addColumns (this.display, values, isOption);
+            this.display.send ();
+            final IBounds area = this.display.getChangedArea ();
+            assertNotNull (area, "Step " + step);
+            if (area.width () < WIDTH)
+                incremental++;
+
+            // A new display paints and encodes the whole image
+            final TestDisplay fullDisplay = new TestDisplay (this.host);
+            addColumns (fullDisplay, values, isOption);
+            fullDisplay.send ();
+            fullDisplay.shutdown ();
+            assertEquals (WIDTH, fullDisplay.getChangedArea ().width ());
+
+            assertArrayEquals (fullDisplay.encoder.pixels, this.display.encoder.pixels, "Step " + step + ", changed columns " + area.left () + " to " + (area.left () + area.width ()));
+        }
+
+        assertTrue (incremental > 100, "Incremental repaints: " + incremental);
+
+        // Nothing has changed
+        addColumns (this.display, values, isOption);
+        this.display.send ();
+        assertNull (this.display.getChangedArea ());
+    }
+
+
+    private static void addColumns (final TestDisplay display, final int [] values, final boolean [] isOption)
+    {
+        for (int i = 0; i < COLUMNS; i++)
+        {
+            if (isOption[i])
+                display.addOptionElement ("Header " + i, "Menu " + values[i] % 10, values[i] % 2 == 0, "Bottom " + i, "Value " + values[i], values[i] % 3 == 0, false);
+            else
+                display.addParameterElement ("Param " + i, values[i], Integer.toString (values[i]), values[i] % 2 == 0, MAX_VALUE - values[i]);
+        }
+    }
+
+
+    /**
+     * A display which encodes the changed area of its image.
+     */
+    private static class TestDisplay extends AbstractGraphicDisplay
+    {
+        private final ColumnEncoder encoder = new ColumnEncoder ();
+
+
+        /**
+         * Constructor.
+         *
+         * @param host The host
+         */
+        TestDisplay (final IHost host)
+        {
+            super (host, CONFIGURATION, new DefaultGraphicsDimensions (WIDTH, HEIGHT, MAX_VALUE), "Test");
+        }
+
+
+        /** {@inheritDoc} */
+        @Override
+        public void notify (final String message)
+        {
+            this.setNotificationMessage (message);
+        }
+
+
+        /** {@inheritDoc} */
+        @Override
+        protected void send (final IBitmap image)
+        {
+            final IBounds changedArea = this.getChangedArea ();
+            if (changedArea != null)
+                image.encode (this.encoder, changedArea);
+        }
+    }
+
+
+    /**
+     * Copies the pixels of the encoded columns and keeps the pixels of all other columns.
+     */
+    private static class ColumnEncoder implements IEncoder
+    {
+        private final int [] pixels = new int [WIDTH * HEIGHT];
+
+
+        /** {@inheritDoc} */
+        @Override
+        public void encode (final ByteBuffer imageBuffer, final int width, final int height)
+        {
+            this.encode (imageBuffer, width, height, 0, width);
+        }
+
+
+        /** {@inheritDoc} */
+        @Override
+        public void encode (final ByteBuffer imageBuffer, final int width, final int height, final int left, final int right)
+        {
+            final IntBuffer buffer = imageBuffer.duplicate ().order (ByteOrder.LITTLE_ENDIAN).asIntBuffer ();
+            for (int y = 0; y < height; y++)
+                buffer.get (y * width + left, this.pixels, y * width + left, right - left);
+        }
+    }
+}
@@ -0,0 +1,136 @@
+// Written by Jürgen Moßgraber - mossgrabers.de
+// (c) 2017-2026
+// Licensed under LGPLv3 - http://www.gnu.org/licenses/lgpl-3.0.txt
+
+package de.mossgrabers.framework.controller.display;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import de.mossgrabers.framework.graphics.DefaultBounds;
+import de.mossgrabers.framework.graphics.TestBitmap;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+
+/**
+ * Tests the changed ranges, their alignment, the encoding of only some columns and the keep alive
+ * of the monochrome display encoder with a display of 2 rows, each stored in a page of 4 bytes.
+ *
+ * @author Jürgen Moßgraber
+ */
+class MonochromeDisplayEncoderTest
+{
+    private static final int   WIDTH  = 32;
+    private static final int   HEIGHT = 2;
+    private static final int   WHITE  = 0xFFFFFF;
+
+    private final List<String> sent   = new ArrayList<> ();
+
+
+    @Test
+    void testChangedRanges ()
+    {
+        final TestBitmap bitmap = new TestBitmap (WIDTH, HEIGHT);
+        final MonochromeDisplayEncoder encoder = this.createEncoder (2);
+
+        // The first frame is sent completely
+        bitmap.encode (encoder);
+        encoder.flush ();
+        assertEquals (List.of ("0:0-4 00000000", "1:0-4 00000000"), this.sent);
+
+        this.sent.clear ();
+        bitmap.setPixel (9, 0, WHITE);
+        bitmap.encode (encoder);
+        encoder.flush ();
+        assertEquals (List.of ("0:0-2 00020000"), this.sent);
+
+        this.sent.clear ();
+        bitmap.setPixel (31, 1, WHITE);
+        bitmap.setPixel (20, 1, WHITE);
+        bitmap.encode (encoder);
+        encoder.flush ();
+        assertEquals (List.of ("1:2-4 00001080"), this.sent);
+
+        // Nothing changed
+        this.sent.clear ();
+        bitmap.encode (encoder);
+        encoder.flush ();
+        assertEquals (List.of (), this.sent);
+
+        // The first page is sent again to keep the display alive
+        encoder.setKeepAlive (0);
+        encoder.flush ();
+        assertEquals (List.of ("0:0-4 00020000"), this.sent);
+    }
+
+
+    @Test
+    void testUnaligned ()
+    {
+        final TestBitmap bitmap = new TestBitmap (WIDTH, HEIGHT);
+        final MonochromeDisplayEncoder encoder = this.createEncoder (1);
+        bitmap.encode (encoder);
+        encoder.flush ();
+
+        this.sent.clear ();
+        bitmap.setPixel (16, 0, WHITE);
+        bitmap.encode (encoder);
+        encoder.flush ();
+        assertEquals (List.of ("0:2-3 00000100"), this.sent);
+    }
+
+
+    @Test
+    void testChangedColumns ()
+    {
+        final Random random = new Random (4711);
+        final TestBitmap bitmap = new TestBitmap (WIDTH, HEIGHT);
+        final MonochromeDisplayEncoder encoder = this.createEncoder (1);
+        final MonochromeDisplayEncoder fullEncoder = this.createEncoder (1);
+        bitmap.encode (encoder);
+
+        // Set and clear pixels in random columns and only encode these columns
+        for (int i = 0; i < 100; i++)
+        {
+            final int left = random.nextInt (WIDTH);
+            final int right = left + 1 + random.nextInt (WIDTH - left);
+            for (int x = left; x < right; x++)
+                for (int y = 0; y < HEIGHT; y++)
+                    bitmap.setPixel (x, y, random.nextBoolean () ? WHITE : 0);
+            bitmap.encode (encoder, new DefaultBounds (left, 0, right - left, HEIGHT));
+            bitmap.encode (fullEncoder);
+            assertArrayEquals (fullEncoder.getFrame (), encoder.getFrame (), "Columns " + left + " to " + right);
+        }
+    }
+
+
+    @Test
+    void testIllegalArguments ()
+    {
+        assertThrows (IllegalArgumentException.class, () -> this.createEncoder (0));
+        assertThrows (IllegalArgumentException.class, () -> this.createEncoder (5));
+        assertThrows (IllegalArgumentException.class, () -> new MonochromeDisplayEncoder (WIDTH, HEIGHT, 1, 4, 4, (x, y) -> y * WIDTH + x, (page, start, end, frame) -> {
+            // Intentionally empty
+        }));
+
+        final MonochromeDisplayEncoder encoder = this.createEncoder (1);
+        assertThrows (IllegalArgumentException.class, () -> new TestBitmap (WIDTH, HEIGHT + 1).encode (encoder));
+    }
+
+
+    private MonochromeDisplayEncoder createEncoder (final int alignment)
+    {
+        return new MonochromeDisplayEncoder (WIDTH, HEIGHT, 2, 4, alignment, (x, y) -> y * WIDTH + x, (page, start, end, frame) -> {
+            final StringBuilder sb = new StringBuilder ().append (page).append (':').append (start).append ('-').append (end).append (' ');
+            for (int i = 0; i < 4; i++)
+                sb.append (String.format ("%02X", Integer.valueOf (frame[page * 4 + i] & 0xFF)));
+            this.sent.add (sb.toString ());
+        });
+    }
+}
@@ -0,0 +1,65 @@
+// Written by Jürgen Moßgraber - mossgrabers.de
+// (c) 2017-2026
+// Licensed under LGPLv3 - http://www.gnu.org/licenses/lgpl-3.0.txt
+
+package de.mossgrabers.framework.daw;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Proxy;
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.function.Function;
+
+
+/**
+ * Creates hosts for tests which only implement the methods required by a test.
+ *
+ * @author Jürgen Moßgraber
+ */
+public final class FakeHost
+{
+    /**
+     * Constructor, private due to utility class.
+     */
+    private FakeHost ()
+    {
+        // Intentionally empty
+    }
+
+
+    /**
+     * Create a host. All methods which are not given return the default value of their type.
+     *
+     * @param methods The implementations of methods by their name, they receive the arguments of
+     *            the call
+     * @return The host
+     */
+    public static IHost create (final Map<String, Function<Object [], Object>> methods)
+    {
+        return (IHost) Proxy.newProxyInstance (IHost.class.getClassLoader (), new Class<?> []
+        {
+            IHost.class
+        }, (proxy, method, args) -> {
+            final Function<Object [], Object> function = methods.get (method.getName ());
+            if (function != null)
+                return function.apply (args);
+
+            // The default value of a primitive type is the content of a new array
+            final Class<?> type = method.getReturnType ();
+            return type.isPrimitive () && type != void.class ? Array.get (Array.newInstance (type, 1), 0) : null;
+        });
+    }
+
+
+    /**
+     * Create a memory block on the heap.
+     *
+     * @param size The size of the block
+     * @return The block
+     */
+    public static IMemoryBlock createMemoryBlock (final int size)
+    {
+        final ByteBuffer buffer = ByteBuffer.allocate (size);
+        return buffer::duplicate;
+    }
+}
@@ -0,0 +1,137 @@
+// Written by Jürgen Moßgraber - mossgrabers.de
+// (c) 2017-2026
+// Licensed under LGPLv3 - http://www.gnu.org/licenses/lgpl-3.0.txt
+
+package de.mossgrabers.framework.graphics;
+
+import java.nio.ByteBuffer;
+
+
+/**
+ * A bitmap which is not rendered but provides the content of an image for encoding. The image
+ * contains blue, green, red and an unused byte for each pixel, like the one of the host.
+ *
+ * @author Jürgen Moßgraber
+ */
+public class TestBitmap implements IBitmap
+{
+    private final int  width;
+    private final int  height;
+    private ByteBuffer image;
+
+
+    /**
+     * Constructor. The image is black.
+     *
+     * @param width The width of the image
+     * @param height The height of the image
+     */
+    public TestBitmap (final int width, final int height)
+    {
+        this (ByteBuffer.allocateDirect (width * height * 4), width, height);
+    }
+
+
+    /**
+     * Constructor.
+     *
+     * @param image The content of the image
+     * @param width The width of the image
+     * @param height The height of the image
+     */
+    public TestBitmap (final ByteBuffer image, final int width, final int height)
+    {
+        this.width = width;
+        this.height = height;
+        this.image = image;
+    }
+
+
+    /**
+     * Get the content of the image.
+     *
+     * @return The content
+     */
+    public ByteBuffer getImage ()
+    {
+        return this.image;
+    }
+
+
+    /**
+     * Replace the content of the image.
+     *
+     * @param image The new content
+     */
+    public void setImage (final ByteBuffer image)
+    {
+        this.image = image;
+    }
+
+
+    /**
+     * Set the color of a pixel.
+     *
+     * @param x The horizontal position
+     * @param y The vertical position
+     * @param rgb The color with 8 bits for red (highest), green and blue
+     */
+    public void setPixel (final int x, final int y, final int rgb)
+    {
+        final int pos = (y * this.width + x) * 4;
+        this.image.put (pos, (byte) rgb);
+        this.image.put (pos + 1, (byte) (rgb >> 8));
+        this.image.put (pos + 2, (byte) (rgb >> 16));
+    }
+
+
+    /** {@inheritDoc} */
+    @Override
+    public void encode (final IEncoder encoder)
+    {
+        encoder.encode (this.image.duplicate ().rewind (), this.width, this.height);
+    }
+
+
+    /** {@inheritDoc} */
+    @Override
+    public void encode (final IEncoder encoder, final IBounds area)
+    {
+        final int left = Math.max (0, (int) Math.floor (area.left ()));
+        final int right = Math.min (this.width, (int) Math.ceil (area.left () + area.width ()));
+        if (left < right)
+            encoder.encode (this.image.duplicate ().rewind (), this.width, this.height, left, right);
+    }
+
+
+    /** {@inheritDoc} */
+    @Override
+    public void setDisplayWindowTitle (final String title)
+    {
+        // Not used
+    }
+
+
+    /** {@inheritDoc} */
+    @Override
+    public void showDisplayWindow ()
+    {
+        // Not used
+    }
+
+
+    /** {@inheritDoc} */
+    @Override
+    public void render (final boolean enableAntialias, final IRenderer renderer)
+    {
+        // Not used
+    }
+
+
+    /** {@inheritDoc} */
+    @Override
+    public void render (final boolean enableAntialias, final IBounds clip, final IRenderer renderer)
+    {
+        // Not used
+    }
+}
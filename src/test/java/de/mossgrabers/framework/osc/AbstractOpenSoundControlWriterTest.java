@@ -0,0 +1,342 @@
+// Written by Jürgen Moßgraber - mossgrabers.de
+// (c) 2017-2026
+// Licensed under LGPLv3 - http://www.gnu.org/licenses/lgpl-3.0.txt
+
+package de.mossgrabers.framework.osc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import de.mossgrabers.reaper.framework.osc.OpenSoundControlLoopback;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+
+/**
+ * Tests the value caches of the registered addresses of the writer over a loopback connection:
+ * unchanged values are not sent again unless a dump is requested and the messages are identical
+ * to the ones of the address based methods.
+ *
+ * @author Jürgen Moßgraber
+ */
+class AbstractOpenSoundControlWriterTest
+{
+    private static final String                     UPDATE_START  = "/update 1";
+    private static final String                     UPDATE_END    = "/update 0";
+
+    private final TestOpenSoundControlConfiguration configuration = new TestOpenSoundControlConfiguration ();
+    private OpenSoundControlLoopback                loopback;
+    private TestOpenSoundControlWriter              writer;
+
+
+    @BeforeEach
+    void setup () throws IOException
+    {
+        this.loopback = new OpenSoundControlLoopback ();
+        this.writer = new TestOpenSoundControlWriter (this.loopback.getClient (), this.configuration);
+    }
+
+
+    @AfterEach
+    void shutdown () throws IOException
+    {
+        this.loopback.close ();
+    }
+
+
+    @Test
+    void testUnchangedValuesAreNotSent () throws InterruptedException
+    {
+        final int active = this.writer.registerAddress ("/active");
+        final int count = this.writer.registerAddress ("/count");
+        final int volume = this.writer.registerAddress ("/volume");
+        final int name = this.writer.registerAddress ("/name");
+        final int color = this.writer.registerAddress ("/color");
+
+        this.sendValues (active, count, volume, name, color, false);
+        assertEquals (List.of (UPDATE_START, "/active 1", "/count 3", "/volume 0.5", "/name Track", "/color rgb(255,128,0)", UPDATE_END), this.flush (7));
+
+        // Only the changed value is sent
+        this.sendValues (active, count, volume, name, color, false);
+        this.writer.sendOSC (count, 4, false);
+        assertEquals (List.of (UPDATE_START, "/count 4", UPDATE_END), this.flush (3));
+
+        // A dump sends all values again
+        this.sendValues (active, count, volume, name, color, true);
+        assertEquals (List.of (UPDATE_START, "/active 1", "/count 3", "/volume 0.5", "/name Track", "/color rgb(255,128,0)", UPDATE_END), this.flush (7));
+
+        // Nothing is sent if nothing has changed
+        this.sendValues (active, count, volume, name, color, false);
+        this.writer.flush (false);
+        this.writer.sendOSC (active, false, false);
+        assertEquals (List.of (UPDATE_START, "/active 0", UPDATE_END), this.flush (3));
+    }
+
+
+    @Test
+    void testStrings () throws InterruptedException
+    {
+        final int name = this.writer.registerAddress ("/name");
+        final int marker = this.writer.registerAddress ("/marker");
+
+        this.writer.sendOSC (name, "Äpfel → Birnen", false);
+        assertEquals (List.of (UPDATE_START, "/name Aepfel -> Birnen", UPDATE_END), this.flush (3));
+
+        // A different text which is converted to the same text is not sent again
+        this.writer.sendOSC (name, "Aepfel -> Birnen", false);
+        this.writer.sendOSC (marker, 1, false);
+        assertEquals (List.of (UPDATE_START, "/marker 1", UPDATE_END), this.flush (3));
+
+        // Null is sent as an empty text
+        this.writer.sendOSC (name, (String) null, false);
+        assertEquals (List.of (UPDATE_START, "/name ", UPDATE_END), this.flush (3));
+        this.writer.sendOSC (name, "", false);
+        this.writer.sendOSC (marker, 2, false);
+        assertEquals (List.of (UPDATE_START, "/marker 2", UPDATE_END), this.flush (3));
+
+        this.writer.sendOSC (name, "Ü", false);
+        assertEquals (List.of (UPDATE_START, "/name Ue", UPDATE_END), this.flush (3));
+    }
+
+
+    @Test
+    void testFloats () throws InterruptedException
+    {
+        final int value = this.writer.registerAddress ("/value");
+        final int marker = this.writer.registerAddress ("/marker");
+
+        this.writer.sendOSC (value, Double.NaN, false);
+        assertEquals (List.of (UPDATE_START, "/value NaN", UPDATE_END), this.flush (3));
+
+        // NaN is equal to itself and values are compared with float precision
+        this.writer.sendOSC (value, Double.NaN, false);
+        this.writer.sendOSC (marker, 1, false);
+        assertEquals (List.of (UPDATE_START, "/marker 1", UPDATE_END), this.flush (3));
+
+        this.writer.sendOSC (value, 0.1, false);
+        assertEquals (List.of (UPDATE_START, "/value 0.1", UPDATE_END), this.flush (3));
+        this.writer.sendOSC (value, 0.1000000001, false);
+        this.writer.sendOSC (marker, 2, false);
+        assertEquals (List.of (UPDATE_START, "/marker 2", UPDATE_END), this.flush (3));
+
+        // Like Float.equals positive and negative zero are different
+        this.writer.sendOSC (value, 0.0, false);
+        this.writer.flush (false);
+        this.writer.sendOSC (value, -0.0, false);
+        assertEquals (List.of (UPDATE_START, "/value 0.0", UPDATE_END, UPDATE_START, "/value -0.0", UPDATE_END), this.flush (6));
+    }
+
+
+    @Test
+    void testSameMessagesAsAddresses () throws InterruptedException
+    {
+        final String [] addresses =
+        {
+            "/track/1/exists",
+            "/track/1/volume",
+            "/track/1/name",
+            "/track/1/color",
+            "/track/1/position"
+        };
+        final int [] slots = new int [addresses.length];
+        for (int i = 0; i < addresses.length; i++)
+            slots[i] = this.writer.registerAddress (addresses[i]);
+        final TestOpenSoundControlWriter addressWriter = new TestOpenSoundControlWriter (this.loopback.getClient (), this.configuration);
+
+        final Object [] [] rounds =
+        {
+            {
+                Boolean.TRUE,
+                Double.valueOf (0.25),
+                "Bass",
+                new double []
+                {
+                    0.2,
+                    0.4,
+                    0.6
+                },
+                Integer.valueOf (0)
+            },
+            {
+                Boolean.TRUE,
+                Double.valueOf (0.5),
+                "Bass",
+                new double []
+                {
+                    0.2,
+                    0.4,
+                    0.6
+                },
+                Integer.valueOf (0)
+            },
+            {
+                Boolean.FALSE,
+                Double.valueOf (Double.NaN),
+                null,
+                new double []
+                {
+                    0,
+                    0,
+                    0
+                },
+                Integer.valueOf (1)
+            },
+            {
+                Boolean.FALSE,
+                Double.valueOf (Double.NaN),
+                "",
+                new double []
+                {
+                    0,
+                    0,
+                    0
+                },
+                Integer.valueOf (1)
+            },
+            {
+                // The type of the value changes
+                Integer.valueOf (1),
+                Integer.valueOf (1),
+                "Bäss",
+                "None",
+                Boolean.TRUE
+            }
+        };
+
+        for (int round = 0; round < 2 * rounds.length; round++)
+        {
+            // Repeat all rounds with a dump
+            final boolean dump = round >= rounds.length;
+            final Object [] values = rounds[round % rounds.length];
+
+            for (int i = 0; i < values.length; i++)
+                send (this.writer, slots[i], values[i], dump);
+            final List<String> slotMessages = this.receive (this.writer);
+
+            for (int i = 0; i < values.length; i++)
+                send (addressWriter, addresses[i], values[i], dump);
+            assertEquals (this.receive (addressWriter), slotMessages, "Round " + round);
+        }
+    }
+
+
+    @Test
+    void testManyAddresses () throws InterruptedException
+    {
+        // More addresses than the initial capacity of the caches and than fit into one bundle
+        final int numAddresses = 600;
+        final int [] slots = new int [numAddresses];
+        for (int i = 0; i < numAddresses; i++)
+            slots[i] = this.writer.registerAddress ("/item/" + i);
+        for (int i = 0; i < numAddresses; i++)
+        {
+            assertEquals (i, slots[i]);
+            assertEquals (i, this.writer.registerAddress ("/item/" + i));
+        }
+
+        for (int i = 0; i < numAddresses; i++)
+            this.writer.sendOSC (slots[i], i, false);
+        final List<String> expected = new ArrayList<> ();
+        expected.add (UPDATE_START);
+        for (int i = 0; i < numAddresses; i++)
+            expected.add ("/item/" + i + " " + i);
+        expected.add (UPDATE_END);
+        assertEquals (expected, this.flush (expected.size ()));
+
+        for (int i = 0; i < numAddresses; i++)
+            this.writer.sendOSC (slots[i], i == 500 ? -1 : i, false);
+        assertEquals (List.of (UPDATE_START, "/item/500 -1", UPDATE_END), this.flush (3));
+    }
+
+
+    private void sendValues (final int active, final int count, final int volume, final int name, final int color, final boolean dump)
+    {
+        this.writer.sendOSC (active, true, dump);
+        this.writer.sendOSC (count, 3, dump);
+        this.writer.sendOSC (volume, 0.5, dump);
+        this.writer.sendOSC (name, "Track", dump);
+        this.writer.sendOSCColor (color, 1.0, 0.5, 0.0, dump);
+    }
+
+
+    private List<String> flush (final int count) throws InterruptedException
+    {
+        this.writer.flush (false);
+        return format (this.loopback.await (count));
+    }
+
+
+    /**
+     * Flush the writer and receive all messages until an end marker which is sent afterwards.
+     *
+     * @param oscWriter The writer to flush
+     * @return The formatted messages without the end marker
+     * @throws InterruptedException Interrupted while waiting
+     */
+    private List<String> receive (final TestOpenSoundControlWriter oscWriter) throws InterruptedException
+    {
+        oscWriter.flush (false);
+        oscWriter.fastSendOSC ("/end");
+
+        final List<IOpenSoundControlMessage> messages = new ArrayList<> ();
+        while (true)
+        {
+            final List<IOpenSoundControlMessage> received = this.loopback.await (1);
+            assertEquals (1, received.size (), "Timeout");
+            final IOpenSoundControlMessage message = received.get (0);
+            if ("/end".equals (message.getAddress ()))
+                return format (messages);
+            messages.add (message);
+        }
+    }
+
+
+    private static void send (final IOpenSoundControlWriter writer, final int slot, final Object value, final boolean dump)
+    {
+        switch (value)
+        {
+            case final Boolean b -> writer.sendOSC (slot, b.booleanValue (), dump);
+            case final Integer i -> writer.sendOSC (slot, i.intValue (), dump);
+            case final Double d -> writer.sendOSC (slot, d.doubleValue (), dump);
+            case final double [] rgb -> writer.sendOSCColor (slot, rgb[0], rgb[1], rgb[2], dump);
+            case null, default -> writer.sendOSC (slot, (String) value, dump);
+        }
+    }
+
+
+    private static void send (final IOpenSoundControlWriter writer, final String address, final Object value, final boolean dump)
+    {
+        switch (value)
+        {
+            case final Boolean b -> writer.sendOSC (address, b.booleanValue (), dump);
+            case final Integer i -> writer.sendOSC (address, i.intValue (), dump);
+            case final Double d -> writer.sendOSC (address, d.doubleValue (), dump);
+            case final double [] rgb -> writer.sendOSCColor (address, rgb[0], rgb[1], rgb[2], dump);
+            case null, default -> writer.sendOSC (address, (String) value, dump);
+        }
+    }
+
+
+    /**
+     * Format the received messages as address and value.
+     *
+     * @param messages The messages
+     * @return The formatted messages
+     */
+    static List<String> format (final List<IOpenSoundControlMessage> messages)
+    {
+        final List<String> formatted = new ArrayList<> (messages.size ());
+        for (final IOpenSoundControlMessage message: messages)
+        {
+            final Object [] values = message.getValues ();
+            formatted.add (message.getAddress () + " " + (values.length == 1 ? values[0] : Arrays.toString (values)));
+        }
+        return formatted;
+    }
+}
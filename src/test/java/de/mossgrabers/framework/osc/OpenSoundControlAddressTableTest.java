@@ -0,0 +1,72 @@
+// Written by Jürgen Moßgraber - mossgrabers.de
+// (c) 2017-2026
+// Licensed under LGPLv3 - http://www.gnu.org/licenses/lgpl-3.0.txt
+
+package de.mossgrabers.framework.osc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import de.mossgrabers.reaper.framework.osc.OpenSoundControlLoopback;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+
+
+/**
+ * Tests that the address tables compose the same addresses as the modules did by concatenating
+ * strings and that each address is registered only once.
+ *
+ * @author Jürgen Moßgraber
+ */
+class OpenSoundControlAddressTableTest
+{
+    @Test
+    void testAddresses () throws IOException, InterruptedException
+    {
+        try (final OpenSoundControlLoopback loopback = new OpenSoundControlLoopback ())
+        {
+            final TestOpenSoundControlWriter writer = new TestOpenSoundControlWriter (loopback.getClient (), new TestOpenSoundControlConfiguration ());
+            final OpenSoundControlAddressTable addresses = new OpenSoundControlAddressTable (writer, "/");
+
+            writer.sendOSC (addresses.get ("play"), true, false);
+            writer.sendOSC (addresses.getChild ("track/", 1).get ("volume"), 0.5, false);
+            writer.sendOSC (addresses.getChild ("track/", 12).getChild ("send/", 2).get ("volume"), 0.25, false);
+            writer.sendOSC (addresses.getChild ("track/page/", 3).get (""), "Page", false);
+            writer.sendOSC (addresses.getChild ("master/").get ("name"), "Master", false);
+            writer.sendOSCColor (addresses.getChild ("vkb_midi/note/", 0).get ("color"), 1, 0, 0, false);
+            writer.sendOSC (addresses.getChild ("browser/").getChild ("filter/", 1).getChild ("item/", 16).get ("hits"), 42, false);
+            writer.flush (false);
+
+            assertEquals (List.of ("/update 1", "/play 1", "/track/1/volume 0.5", "/track/12/send/2/volume 0.25", "/track/page/3/ Page", "/master/name Master", "/vkb_midi/note/0/color rgb(255,0,0)", "/browser/filter/1/item/16/hits 42", "/update 0"), AbstractOpenSoundControlWriterTest.format (loopback.await (9)));
+        }
+    }
+
+
+    @Test
+    void testRegisterOnce ()
+    {
+        final TestOpenSoundControlWriter writer = new TestOpenSoundControlWriter (null, new TestOpenSoundControlConfiguration ());
+        final OpenSoundControlAddressTable addresses = new OpenSoundControlAddressTable (writer, "/");
+
+        final int volume = addresses.getChild ("track/", 1).get ("volume");
+        assertEquals (volume, addresses.getChild ("track/", 1).get ("volume"));
+
+        // The same address of a different table is the same slot
+        assertEquals (volume, addresses.get ("track/1/volume"));
+        assertEquals (volume, writer.registerAddress ("/track/1/volume"));
+        assertEquals (volume + 1, addresses.getChild ("track/", 2).get ("volume"));
+
+        // Sub-tables are kept, also if the numbered tables need to grow
+        final OpenSoundControlAddressTable track = addresses.getChild ("track/", 1);
+        final OpenSoundControlAddressTable master = addresses.getChild ("master/");
+        assertNotSame (track, addresses.getChild ("track/", 100));
+        assertSame (track, addresses.getChild ("track/", 1));
+        assertSame (master, addresses.getChild ("master/"));
+        assertNotSame (master, addresses.getChild ("track/").getChild ("master/"));
+        assertEquals (volume + 2, addresses.getChild ("track/", 100).get ("volume"));
+    }
+}
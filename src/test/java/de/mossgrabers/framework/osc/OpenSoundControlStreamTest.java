@@ -0,0 +1,321 @@
+// Written by Jürgen Moßgraber - mossgrabers.de
+// (c) 2017-2026
+// Licensed under LGPLv3 - http://www.gnu.org/licenses/lgpl-3.0.txt
+
+package de.mossgrabers.framework.osc;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import de.mossgrabers.reaper.framework.osc.OpenSoundControlLoopback;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+
+/**
+ * Tests the meters and positions, which are sent with their own interval after the state messages,
+ * over a loopback connection. Checks the rate caps, the peak hold of the meters and the encoding of
+ * the packed meters.
+ *
+ * @author Jürgen Moßgraber
+ */
+class OpenSoundControlStreamTest
+{
+    private static final String                     UPDATE_START  = "/update 1";
+    private static final String                     UPDATE_END    = "/update 0";
+    private static final int                        NEVER         = 3_600_000;
+
+    private final TestOpenSoundControlConfiguration configuration = new TestOpenSoundControlConfiguration ();
+    private OpenSoundControlLoopback                loopback;
+    private TestOpenSoundControlWriter              writer;
+    private int                                     state;
+    private int                                     stateValue;
+
+
+    @BeforeEach
+    void setup () throws IOException
+    {
+        this.loopback = new OpenSoundControlLoopback ();
+        this.writer = new TestOpenSoundControlWriter (this.loopback.getClient (), this.configuration);
+        this.state = this.writer.registerAddress ("/state");
+    }
+
+
+    @AfterEach
+    void shutdown () throws IOException
+    {
+        this.loopback.close ();
+    }
+
+
+    @Test
+    void testMeterRateCap () throws InterruptedException
+    {
+        this.configuration.setMeterInterval (NEVER);
+        final int vu = this.writer.registerAddress ("/track/1/vu");
+
+        // The first meters are sent immediately
+        this.writer.sendOSCMeter (vu, 100, false);
+        assertEquals (List.of (UPDATE_START, "/state 1", "/track/1/vu 100", UPDATE_END), this.flush (4));
+
+        // Then only after the interval
+        this.writer.sendOSCMeter (vu, 200, false);
+        assertEquals (List.of (UPDATE_START, "/state 2", UPDATE_END), this.flush (3));
+        this.writer.sendOSCMeter (vu, 50, false);
+        assertEquals (List.of (UPDATE_START, "/state 3", UPDATE_END), this.flush (3));
+
+        // ... or on a dump, with the peak since the last transmission
+        this.writer.sendOSCMeter (vu, 150, true);
+        assertEquals (List.of (UPDATE_START, "/state 4", "/track/1/vu 200", UPDATE_END), this.flush (4));
+
+        // The peak is reset after the transmission
+        this.writer.sendOSCMeter (vu, 20, true);
+        assertEquals (List.of (UPDATE_START, "/state 5", "/track/1/vu 20", UPDATE_END), this.flush (4));
+    }
+
+
+    @Test
+    void testMeterInterval () throws InterruptedException
+    {
+        this.configuration.setMeterInterval (100);
+        final int vu = this.writer.registerAddress ("/track/1/vu");
+
+        this.writer.sendOSCMeter (vu, 100, false);
+        assertEquals (List.of (UPDATE_START, "/state 1", "/track/1/vu 100", UPDATE_END), this.flush (4));
+        this.writer.sendOSCMeter (vu, 300, false);
+        this.writer.sendOSCMeter (vu, 200, false);
+        assertEquals (List.of (UPDATE_START, "/state 2", UPDATE_END), this.flush (3));
+
+        Thread.sleep (150);
+        this.writer.sendOSCMeter (vu, 250, false);
+        assertEquals (List.of (UPDATE_START, "/state 3", "/track/1/vu 300", UPDATE_END), this.flush (4));
+    }
+
+
+    @Test
+    void testUnchangedMetersAreNotSent () throws InterruptedException
+    {
+        this.configuration.setMeterInterval (0);
+        final int vu1 = this.writer.registerAddress ("/track/1/vu");
+        final int vu2 = this.writer.registerAddress ("/track/2/vu");
+
+        this.writer.sendOSCMeter (vu1, 10, false);
+        this.writer.sendOSCMeter (vu2, 20, false);
+        assertEquals (List.of (UPDATE_START, "/state 1", "/track/1/vu 10", "/track/2/vu 20", UPDATE_END), this.flush (5));
+
+        this.writer.sendOSCMeter (vu1, 10, false);
+        this.writer.sendOSCMeter (vu2, 30, false);
+        assertEquals (List.of (UPDATE_START, "/state 2", "/track/2/vu 30", UPDATE_END), this.flush (4));
+
+        // Meters which were not updated are not sent
+        assertEquals (List.of (UPDATE_START, "/state 3", UPDATE_END), this.flush (3));
+
+        this.writer.sendOSCMeter (vu1, 10, true);
+        assertEquals (List.of (UPDATE_START, "/state 4", "/track/1/vu 10", UPDATE_END), this.flush (4));
+    }
+
+
+    @Test
+    void testPositionRateCap () throws InterruptedException
+    {
+        this.configuration.setPositionInterval (NEVER);
+        final int time = this.writer.registerAddress ("/time/str");
+        final int beat = this.writer.registerAddress ("/beat/str");
+
+        this.writer.sendOSCPosition (time, "00:00:01:000", false);
+        this.writer.sendOSCPosition (beat, "1.1.1:00", false);
+        assertEquals (List.of (UPDATE_START, "/state 1", "/time/str 00:00:01:000", "/beat/str 1.1.1:00", UPDATE_END), this.flush (5));
+
+        this.writer.sendOSCPosition (time, "00:00:02:000", false);
+        assertEquals (List.of (UPDATE_START, "/state 2", UPDATE_END), this.flush (3));
+
+        // The latest position is sent on a dump, unchanged positions only on a dump
+        this.writer.sendOSCPosition (time, "00:00:03:000", false);
+        this.writer.sendOSCPosition (beat, "1.1.1:00", true);
+        assertEquals (List.of (UPDATE_START, "/state 3", "/time/str 00:00:03:000", "/beat/str 1.1.1:00", UPDATE_END), this.flush (5));
+    }
+
+
+    @Test
+    void testUnchangedPositionsAreNotSent () throws InterruptedException
+    {
+        this.configuration.setPositionInterval (0);
+        final int time = this.writer.registerAddress ("/time/str");
+
+        this.writer.sendOSCPosition (time, "Zeit → 1", false);
+        assertEquals (List.of (UPDATE_START, "/state 1", "/time/str Zeit -> 1", UPDATE_END), this.flush (4));
+        this.writer.sendOSCPosition (time, "Zeit -> 1", false);
+        assertEquals (List.of (UPDATE_START, "/state 2", UPDATE_END), this.flush (3));
+        this.writer.sendOSCPosition (time, "Zeit -> 2", false);
+        assertEquals (List.of (UPDATE_START, "/state 3", "/time/str Zeit -> 2", UPDATE_END), this.flush (4));
+    }
+
+
+    @Test
+    void testStateFirst () throws InterruptedException
+    {
+        this.configuration.setMeterInterval (0);
+        this.configuration.setPositionInterval (0);
+
+        // The meters and positions are sent before some of the state values
+        final int time = this.writer.registerAddress ("/time/str");
+        final int vu = this.writer.registerAddress ("/track/1/vu");
+        this.writer.sendOSCPosition (time, "1.1.1:00", false);
+        this.writer.sendOSCMeter (vu, 42, false);
+
+        // So many state messages that several bundles are required
+        final List<String> expected = new ArrayList<> ();
+        expected.add (UPDATE_START);
+        for (int i = 0; i < 250; i++)
+        {
+            this.writer.sendOSC (this.writer.registerAddress ("/track/" + i + "/exists"), true, false);
+            expected.add ("/track/" + i + "/exists 1");
+        }
+        this.writer.sendOSC (this.state, ++this.stateValue, false);
+        expected.add ("/state 1");
+        expected.add ("/track/1/vu 42");
+        expected.add ("/time/str 1.1.1:00");
+        expected.add (UPDATE_END);
+
+        this.writer.flush (false);
+        assertEquals (expected, AbstractOpenSoundControlWriterTest.format (this.loopback.await (expected.size ())));
+    }
+
+
+    @Test
+    void testPackedMeters () throws InterruptedException
+    {
+        this.configuration.setPackMeters (true);
+        this.configuration.setMeterInterval (0);
+
+        final int vu1 = this.writer.registerAddress ("/track/1/vu");
+        final int vu2 = this.writer.registerAddress ("/track/2/vu");
+        final int master = this.writer.registerAddress ("/master/vu");
+
+        // The order of the meters is the order of their first update
+        this.writer.sendOSCMeter (master, 70000, false);
+        this.writer.sendOSCMeter (vu1, 1000, false);
+        this.writer.sendOSCMeter (vu2, -5, false);
+        List<IOpenSoundControlMessage> messages = this.flushMessages (5);
+        assertEquals (List.of ("/master/vu", "/track/1/vu", "/track/2/vu"), getAddresses (messages.get (2)));
+        assertArrayEquals (new int []
+        {
+            0xFFFF,
+            1000,
+            0
+        }, getMeters (messages.get (3)));
+
+        // Only the blob is sent if a value has changed
+        this.writer.sendOSCMeter (vu1, 1000, false);
+        this.writer.sendOSCMeter (vu2, 0x1234, false);
+        messages = this.flushMessages (4);
+        assertArrayEquals (new int []
+        {
+            0xFFFF,
+            1000,
+            0x1234
+        }, getMeters (messages.get (2)));
+
+        // Nothing is sent if no value has changed
+        this.writer.sendOSCMeter (vu2, 0x1234, false);
+        assertEquals (List.of (UPDATE_START, "/state 3", UPDATE_END), this.flush (3));
+
+        // The addresses are sent again if a meter is added
+        final int vu3 = this.writer.registerAddress ("/track/3/vu");
+        this.writer.sendOSCMeter (vu3, 7, false);
+        messages = this.flushMessages (5);
+        final List<String> addresses = getAddresses (messages.get (2));
+        assertEquals (List.of ("/master/vu", "/track/1/vu", "/track/2/vu", "/track/3/vu"), addresses);
+        final int [] meters = getMeters (messages.get (3));
+
+        // Each value in the blob belongs to the address at the same index
+        final Map<String, Integer> values = Map.of ("/master/vu", Integer.valueOf (0xFFFF), "/track/1/vu", Integer.valueOf (1000), "/track/2/vu", Integer.valueOf (0x1234), "/track/3/vu", Integer.valueOf (7));
+        assertEquals (addresses.size (), meters.length);
+        for (int i = 0; i < meters.length; i++)
+            assertEquals (values.get (addresses.get (i)).intValue (), meters[i], addresses.get (i));
+
+        // A dump sends the addresses and all values again
+        this.configuration.setPackMeters (true);
+        this.writer.sendOSCMeter (vu3, 7, true);
+        messages = this.flushMessages (5);
+        assertEquals (addresses, getAddresses (messages.get (2)));
+        assertArrayEquals (new int []
+        {
+            0xFFFF,
+            1000,
+            0x1234,
+            7
+        }, getMeters (messages.get (3)));
+    }
+
+
+    /**
+     * Flush with a changed state value and receive the formatted messages.
+     *
+     * @param count The number of messages to receive
+     * @return The messages
+     * @throws InterruptedException Interrupted while waiting
+     */
+    private List<String> flush (final int count) throws InterruptedException
+    {
+        return AbstractOpenSoundControlWriterTest.format (this.flushMessages (count));
+    }
+
+
+    /**
+     * Flush with a changed state value and receive the messages. The state message is always sent
+     * first.
+     *
+     * @param count The number of messages to receive
+     * @return The messages
+     * @throws InterruptedException Interrupted while waiting
+     */
+    private List<IOpenSoundControlMessage> flushMessages (final int count) throws InterruptedException
+    {
+        this.writer.sendOSC (this.state, ++this.stateValue, false);
+        this.writer.flush (false);
+        final List<IOpenSoundControlMessage> messages = this.loopback.await (count);
+        assertEquals (count, messages.size ());
+        assertEquals ("/state " + this.stateValue, AbstractOpenSoundControlWriterTest.format (messages.subList (1, 2)).get (0));
+        assertEquals ("/update", messages.get (count - 1).getAddress ());
+        return messages;
+    }
+
+
+    private static List<String> getAddresses (final IOpenSoundControlMessage message)
+    {
+        assertEquals ("/meters/addresses", message.getAddress ());
+        final List<String> addresses = new ArrayList<> ();
+        for (final Object value: message.getValues ())
+            addresses.add ((String) value);
+        return addresses;
+    }
+
+
+    /**
+     * Decode the blob of the packed meters, which contains 16 bit big endian values.
+     *
+     * @param message The '/meters' message
+     * @return The values
+     */
+    private static int [] getMeters (final IOpenSoundControlMessage message)
+    {
+        assertEquals ("/meters", message.getAddress ());
+        final Object [] values = message.getValues ();
+        assertEquals (1, values.length);
+        final ByteBuffer blob = values[0] instanceof final byte [] bytes ? ByteBuffer.wrap (bytes) : ((ByteBuffer) values[0]).duplicate ();
+        assertEquals (0, blob.remaining () % 2);
+        final int [] meters = new int [blob.remaining () / 2];
+        for (int i = 0; i < meters.length; i++)
+            meters[i] = blob.getShort () & 0xFFFF;
+        return meters;
+    }
+}
@@ -0,0 +1,98 @@
+// Written by Jürgen Moßgraber - mossgrabers.de
+// (c) 2017-2026
+// Licensed under LGPLv3 - http://www.gnu.org/licenses/lgpl-3.0.txt
+
+package de.mossgrabers.framework.osc;
+
+/**
+ * An OSC configuration for tests without logging and with settable stream options.
+ *
+ * @author Jürgen Moßgraber
+ */
+class TestOpenSoundControlConfiguration implements IOpenSoundControlConfiguration
+{
+    private int     meterInterval;
+    private int     positionInterval;
+    private boolean packMeters;
+
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean shouldLogInputCommands ()
+    {
+        return false;
+    }
+
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean shouldLogOutputCommands ()
+    {
+        return false;
+    }
+
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean filterHeartbeatMessages ()
+    {
+        return false;
+    }
+
+
+    /** {@inheritDoc} */
+    @Override
+    public int getMeterInterval ()
+    {
+        return this.meterInterval;
+    }
+
+
+    /**
+     * Set the interval in which meters are sent.
+     *
+     * @param meterInterval The interval in milliseconds
+     */
+    public void setMeterInterval (final int meterInterval)
+    {
+        this.meterInterval = meterInterval;
+    }
+
+
+    /** {@inheritDoc} */
+    @Override
+    public int getPositionInterval ()
+    {
+        return this.positionInterval;
+    }
+
+
+    /**
+     * Set the interval in which positions are sent.
+     *
+     * @param positionInterval The interval in milliseconds
+     */
+    public void setPositionInterval (final int positionInterval)
+    {
+        this.positionInterval = positionInterval;
+    }
+
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean isPackMeters ()
+    {
+        return this.packMeters;
+    }
+
+
+    /**
+     * Set if all meters are sent as one blob.
+     *
+     * @param packMeters True to pack the meters
+     */
+    public void setPackMeters (final boolean packMeters)
+    {
+        this.packMeters = packMeters;
+    }
+}
@@ -0,0 +1,50 @@
+// Written by Jürgen Moßgraber - mossgrabers.de
+// (c) 2017-2026
+// Licensed under LGPLv3 - http://www.gnu.org/licenses/lgpl-3.0.txt
+
+package de.mossgrabers.framework.osc;
+
+import de.mossgrabers.framework.daw.FakeHost;
+import de.mossgrabers.framework.daw.IHost;
+import de.mossgrabers.reaper.framework.osc.OpenSoundControlMessageImpl;
+
+import java.util.List;
+import java.util.Map;
+
+
+/**
+ * A writer which flushes the values sent by a test like the OSC controller does: the meters and
+ * positions follow the state messages and the bundle is enclosed by '/update'.
+ *
+ * @author Jürgen Moßgraber
+ */
+class TestOpenSoundControlWriter extends AbstractOpenSoundControlWriter
+{
+    /**
+     * Constructor.
+     *
+     * @param oscClient The OSC client to write to
+     * @param configuration The OSC configuration
+     */
+    TestOpenSoundControlWriter (final IOpenSoundControlClient oscClient, final IOpenSoundControlConfiguration configuration)
+    {
+        // The model is only used for logging, which is disabled by the configuration
+        super (createHost (), null, oscClient, configuration);
+    }
+
+
+    /** {@inheritDoc} */
+    @Override
+    public void flush (final boolean dump)
+    {
+        // The state values were already sent by the test
+        this.flushStreams ();
+        this.flush ("/update");
+    }
+
+
+    private static IHost createHost ()
+    {
+        return FakeHost.create (Map.of ("createOSCMessage", args -> new OpenSoundControlMessageImpl ((String) args[0], (List<?>) args[1])));
+    }
+}
@@ -0,0 +1,97 @@
+// Written by Jürgen Moßgraber - mossgrabers.de
+// (c) 2017-2026
+// Licensed under LGPLv3 - http://www.gnu.org/licenses/lgpl-3.0.txt
+
+package de.mossgrabers.framework.usb;
+
+import de.mossgrabers.framework.daw.IMemoryBlock;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+
+/**
+ * A HID device which records the sent output reports instead of sending them.
+ *
+ * @author Jürgen Moßgraber
+ */
+public class FakeHidDevice implements IHidDevice
+{
+    /**
+     * A sent report.
+     *
+     * @param reportID The ID of the report
+     * @param data The data of the report
+     * @param threadName The name of the thread which sent the report
+     */
+    public record Report (byte reportID, byte [] data, String threadName)
+    {
+        // Intentionally empty
+    }
+
+
+    private final List<Report> reports  = new ArrayList<> ();
+    private boolean            isClosed = false;
+
+
+    /** {@inheritDoc} */
+    @Override
+    public void setCallback (final IHidCallback callback)
+    {
+        // Nothing is received
+    }
+
+
+    /** {@inheritDoc} */
+    @Override
+    public synchronized int sendOutputReport (final byte reportID, final IMemoryBlock memoryBlock)
+    {
+        if (this.isClosed)
+            return -1;
+        final ByteBuffer buffer = memoryBlock.createByteBuffer ();
+        buffer.rewind ();
+        final byte [] data = new byte [buffer.remaining ()];
+        buffer.get (data);
+        this.reports.add (new Report (reportID, data, Thread.currentThread ().getName ()));
+        return data.length;
+    }
+
+
+    /** {@inheritDoc} */
+    @Override
+    public int sendFeatureReport (final byte reportID, final IMemoryBlock memoryBlock)
+    {
+        return this.sendOutputReport (reportID, memoryBlock);
+    }
+
+
+    /** {@inheritDoc} */
+    @Override
+    public synchronized void close ()
+    {
+        this.isClosed = true;
+    }
+
+
+    /**
+     * Get all sent reports.
+     *
+     * @return The reports in the order in which they were sent
+     */
+    public synchronized List<Report> getReports ()
+    {
+        return new ArrayList<> (this.reports);
+    }
+
+
+    /**
+     * Check if the device was closed.
+     *
+     * @return True if closed
+     */
+    public synchronized boolean isClosed ()
+    {
+        return this.isClosed;
+    }
+}
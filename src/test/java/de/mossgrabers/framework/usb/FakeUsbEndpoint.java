@@ -0,0 +1,205 @@
+// Written by Jürgen Moßgraber - mossgrabers.de
+// (c) 2017-2026
+// Licensed under LGPLv3 - http://www.gnu.org/licenses/lgpl-3.0.txt
+
+package de.mossgrabers.framework.usb;
+
+import de.mossgrabers.framework.daw.FakeHost;
+import de.mossgrabers.framework.daw.IHost;
+import de.mossgrabers.framework.daw.IMemoryBlock;
+
+import java.lang.reflect.Proxy;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+
+/**
+ * An end-point which records the sent data instead of transferring it. Asynchronous transfers are
+ * either completed immediately or when the test completes them, e.g. to simulate a slow bus.
+ *
+ * @author Jürgen Moßgraber
+ */
+public class FakeUsbEndpoint implements IUsbEndpoint
+{
+    private record Transfer (byte [] data, IUsbCallback callback)
+    {
+        // Intentionally empty
+    }
+
+
+    private final List<byte []>   sent     = new ArrayList<> ();
+    private final Deque<Transfer> running  = new ArrayDeque<> ();
+    private final List<String>    errors   = new ArrayList<> ();
+    private boolean               isManual = false;
+    private boolean               isFailing;
+
+
+    /**
+     * Complete the asynchronous transfers only when requested by the test.
+     *
+     * @param isManual True to complete manually, false to complete immediately
+     */
+    public synchronized void setManualCompletion (final boolean isManual)
+    {
+        this.isManual = isManual;
+    }
+
+
+    /**
+     * Let the following transfers fail.
+     *
+     * @param isFailing True to fail
+     */
+    public synchronized void setFailing (final boolean isFailing)
+    {
+        this.isFailing = isFailing;
+    }
+
+
+    /** {@inheritDoc} */
+    @Override
+    public synchronized void send (final IMemoryBlock memoryBlock, final int timeout)
+    {
+        if (!this.isFailing)
+            this.sent.add (toArray (memoryBlock));
+    }
+
+
+    /** {@inheritDoc} */
+    @Override
+    public void sendAsync (final IMemoryBlock memoryBlock, final IUsbCallback callback, final int timeout)
+    {
+        // The data is copied at the start of the transfer, like the device would read it
+        final Transfer transfer = new Transfer (toArray (memoryBlock), callback);
+        synchronized (this)
+        {
+            if (this.isManual)
+            {
+                this.running.add (transfer);
+                return;
+            }
+        }
+        this.complete (transfer);
+    }
+
+
+    /**
+     * Complete the oldest running transfer.
+     *
+     * @return True if a transfer was running
+     */
+    public boolean completeNext ()
+    {
+        final Transfer transfer;
+        synchronized (this)
+        {
+            transfer = this.running.poll ();
+        }
+        if (transfer == null)
+            return false;
+        this.complete (transfer);
+        return true;
+    }
+
+
+    /**
+     * Get the number of transfers which are not yet completed.
+     *
+     * @return The number of transfers
+     */
+    public synchronized int getNumRunning ()
+    {
+        return this.running.size ();
+    }
+
+
+    /**
+     * Get the data of all successfully completed transfers in the order of their completion.
+     *
+     * @return The data
+     */
+    public synchronized List<byte []> getSent ()
+    {
+        return new ArrayList<> (this.sent);
+    }
+
+
+    /**
+     * Get the errors which were reported to the host.
+     *
+     * @return The error messages
+     */
+    public synchronized List<String> getErrors ()
+    {
+        return new ArrayList<> (this.errors);
+    }
+
+
+    /**
+     * Create a host which provides a USB device with this end-point and heap memory blocks. All
+     * other methods of the host return default values.
+     *
+     * @return The host
+     */
+    public IHost createHost ()
+    {
+        return this.createHost (null);
+    }
+
+
+    /**
+     * Create a host which provides a USB device with this end-point, the given HID device and heap
+     * memory blocks. All other methods of the host return default values.
+     *
+     * @param hidDevice The HID device of the USB device, might be null
+     * @return The host
+     */
+    public IHost createHost (final IHidDevice hidDevice)
+    {
+        final IUsbDevice device = (IUsbDevice) Proxy.newProxyInstance (IUsbDevice.class.getClassLoader (), new Class<?> []
+        {
+            IUsbDevice.class
+        }, (proxy, method, args) -> switch (method.getName ())
+        {
+            case "getEndpoint" -> this;
+            case "getHidDevice" -> Optional.ofNullable (hidDevice);
+            default -> null;
+        });
+
+        return FakeHost.create (Map.of ("getUsbDevice", args -> device, "createMemoryBlock", args -> FakeHost.createMemoryBlock (((Integer) args[0]).intValue ()), "error", args -> {
+            synchronized (this)
+            {
+                this.errors.add ((String) args[0]);
+            }
+            return null;
+        }));
+    }
+
+
+    private void complete (final Transfer transfer)
+    {
+        final boolean fail;
+        synchronized (this)
+        {
+            fail = this.isFailing;
+            if (!fail)
+                this.sent.add (transfer.data ());
+        }
+        transfer.callback ().process (fail ? -1 : transfer.data ().length);
+    }
+
+
+    private static byte [] toArray (final IMemoryBlock memoryBlock)
+    {
+        final ByteBuffer buffer = memoryBlock.createByteBuffer ();
+        buffer.rewind ();
+        final byte [] data = new byte [buffer.remaining ()];
+        buffer.get (data);
+        return data;
+    }
+}
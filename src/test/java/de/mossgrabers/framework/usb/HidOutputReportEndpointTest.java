@@ -0,0 +1,67 @@
+// Written by Jürgen Moßgraber - mossgrabers.de
+// (c) 2017-2026
+// Licensed under LGPLv3 - http://www.gnu.org/licenses/lgpl-3.0.txt
+
+package de.mossgrabers.framework.usb;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.mossgrabers.framework.daw.IHost;
+import de.mossgrabers.framework.daw.IMemoryBlock;
+import de.mossgrabers.framework.usb.FakeHidDevice.Report;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+
+/**
+ * Tests that the transfers of the end-point are sent as output reports on the USB lane.
+ *
+ * @author Jürgen Moßgraber
+ */
+class HidOutputReportEndpointTest
+{
+    @Test
+    void testSendAsync () throws InterruptedException, ExecutionException, TimeoutException
+    {
+        final FakeHidDevice device = new FakeHidDevice ();
+        final HidOutputReportEndpoint endpoint = new HidOutputReportEndpoint (device, (byte) 0x80);
+        final IHost host = new FakeUsbEndpoint ().createHost ();
+
+        final IMemoryBlock block = host.createMemoryBlock (3);
+        block.createByteBuffer ().put (new byte []
+        {
+            1,
+            2,
+            3
+        });
+
+        final CompletableFuture<Integer> result = new CompletableFuture<> ();
+        endpoint.sendAsync (block, length -> result.complete (Integer.valueOf (length)), 1000);
+        assertEquals (3, result.get (5, TimeUnit.SECONDS).intValue ());
+
+        final List<Report> reports = device.getReports ();
+        assertEquals (1, reports.size ());
+        assertEquals ((byte) 0x80, reports.get (0).reportID ());
+        assertArrayEquals (new byte []
+        {
+            1,
+            2,
+            3
+        }, reports.get (0).data ());
+        assertTrue (reports.get (0).threadName ().contains ("-usb-"), reports.get (0).threadName ());
+
+        // A failed report is reported to the callback
+        device.close ();
+        final CompletableFuture<Integer> failed = new CompletableFuture<> ();
+        endpoint.sendAsync (block, length -> failed.complete (Integer.valueOf (length)), 1000);
+        assertEquals (-1, failed.get (5, TimeUnit.SECONDS).intValue ());
+    }
+}
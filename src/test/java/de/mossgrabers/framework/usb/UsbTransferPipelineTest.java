@@ -0,0 +1,242 @@
+// Written by Jürgen Moßgraber - mossgrabers.de
+// (c) 2017-2026
+// Licensed under LGPLv3 - http://www.gnu.org/licenses/lgpl-3.0.txt
+
+package de.mossgrabers.framework.usb;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.mossgrabers.framework.daw.IHost;
+import de.mossgrabers.framework.daw.IMemoryBlock;
+import de.mossgrabers.framework.usb.UsbTransferPipeline.Statistics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+
+/**
+ * Tests the transfer pipeline with a fake end-point which simulates a slow bus and failing
+ * transfers.
+ *
+ * @author Jürgen Moßgraber
+ */
+class UsbTransferPipelineTest
+{
+    private static final int     FRAME_SIZE = 8;
+    private static final byte [] HEADER     =
+    {
+        (byte) 0xFF,
+        (byte) 0xCC
+    };
+
+    private final FakeUsbEndpoint endpoint  = new FakeUsbEndpoint ();
+    private final IHost           host      = this.endpoint.createHost ();
+
+
+    @Test
+    void testSendInOrder ()
+    {
+        final UsbTransferPipeline pipeline = this.createPipeline (2);
+        for (int i = 0; i < 5; i++)
+            submit (pipeline, i);
+
+        final List<byte []> sent = this.endpoint.getSent ();
+        assertEquals (10, sent.size ());
+        for (int i = 0; i < 5; i++)
+        {
+            assertArrayEquals (HEADER, sent.get (2 * i));
+            assertArrayEquals (createFrame (i), sent.get (2 * i + 1));
+        }
+
+        final Statistics statistics = pipeline.getStatistics ();
+        assertEquals (5, statistics.sentFrames ());
+        assertEquals (0, statistics.droppedFrames ());
+        assertEquals (0, statistics.failedFrames ());
+    }
+
+
+    @Test
+    void testDropStaleFrames ()
+    {
+        this.endpoint.setManualCompletion (true);
+        final UsbTransferPipeline pipeline = this.createPipeline (2);
+
+        // The first frame is in flight, all others replace the waiting one
+        for (int i = 0; i < 5; i++)
+            submit (pipeline, i);
+        assertEquals (2, this.endpoint.getNumRunning ());
+        this.completeAll ();
+
+        final List<byte []> sent = this.endpoint.getSent ();
+        assertEquals (4, sent.size ());
+        assertArrayEquals (createFrame (0), sent.get (1));
+        assertArrayEquals (createFrame (4), sent.get (3));
+
+        final Statistics statistics = pipeline.getStatistics ();
+        assertEquals (2, statistics.sentFrames ());
+        assertEquals (3, statistics.droppedFrames ());
+    }
+
+
+    @Test
+    void testDropStaleFramesWithMoreBuffers ()
+    {
+        this.endpoint.setManualCompletion (true);
+        final UsbTransferPipeline pipeline = this.createPipeline (3);
+
+        // With a free buffer the waiting frame is dropped on the submission of the next one
+        for (int i = 0; i < 4; i++)
+            submit (pipeline, i);
+        this.completeAll ();
+
+        final List<byte []> sent = this.endpoint.getSent ();
+        assertEquals (4, sent.size ());
+        assertArrayEquals (createFrame (0), sent.get (1));
+        assertArrayEquals (createFrame (3), sent.get (3));
+        assertEquals (2, pipeline.getStatistics ().droppedFrames ());
+    }
+
+
+    @Test
+    void testRecoverFromFailure ()
+    {
+        final UsbTransferPipeline pipeline = this.createPipeline (2);
+
+        this.endpoint.setFailing (true);
+        submit (pipeline, 0);
+        submit (pipeline, 1);
+        this.endpoint.setFailing (false);
+        submit (pipeline, 2);
+
+        final List<byte []> sent = this.endpoint.getSent ();
+        assertEquals (2, sent.size ());
+        assertArrayEquals (createFrame (2), sent.get (1));
+
+        final Statistics statistics = pipeline.getStatistics ();
+        assertEquals (1, statistics.sentFrames ());
+        assertEquals (2, statistics.failedFrames ());
+    }
+
+
+    @Test
+    void testFailedHeader ()
+    {
+        this.endpoint.setManualCompletion (true);
+        final UsbTransferPipeline pipeline = this.createPipeline (2);
+        submit (pipeline, 0);
+
+        // The frame is transferred but useless without the header
+        this.endpoint.setFailing (true);
+        assertTrue (this.endpoint.completeNext ());
+        this.endpoint.setFailing (false);
+        assertTrue (this.endpoint.completeNext ());
+
+        final Statistics statistics = pipeline.getStatistics ();
+        assertEquals (0, statistics.sentFrames ());
+        assertEquals (1, statistics.failedFrames ());
+
+        // The next frame is fine again
+        submit (pipeline, 1);
+        this.completeAll ();
+        assertEquals (1, pipeline.getStatistics ().sentFrames ());
+    }
+
+
+    @Test
+    void testClose () throws InterruptedException, ExecutionException, TimeoutException
+    {
+        this.endpoint.setManualCompletion (true);
+        final UsbTransferPipeline pipeline = this.createPipeline (2);
+        submit (pipeline, 0);
+        submit (pipeline, 1);
+
+        // Closing times out while the transfer is running
+        assertFalse (pipeline.close (50));
+
+        final CompletableFuture<Boolean> closed = CompletableFuture.supplyAsync ( () -> {
+            try
+            {
+                return Boolean.valueOf (pipeline.close (5000));
+            }
+            catch (final InterruptedException ex)
+            {
+                Thread.currentThread ().interrupt ();
+                return Boolean.FALSE;
+            }
+        });
+        assertFalse (closed.isDone ());
+        this.completeAll ();
+        assertTrue (closed.get (5, TimeUnit.SECONDS).booleanValue ());
+
+        // The waiting frame and frames after closing are not sent
+        submit (pipeline, 2);
+        assertEquals (0, this.endpoint.getNumRunning ());
+        final List<byte []> sent = this.endpoint.getSent ();
+        assertEquals (2, sent.size ());
+        assertArrayEquals (createFrame (0), sent.get (1));
+    }
+
+
+    @Test
+    void testWithoutHeader ()
+    {
+        final UsbTransferPipeline pipeline = new UsbTransferPipeline (this.host, this.endpoint, null, FRAME_SIZE, 2, 1000);
+        submit (pipeline, 0);
+        submit (pipeline, 1);
+
+        final List<byte []> sent = this.endpoint.getSent ();
+        assertEquals (2, sent.size ());
+        assertArrayEquals (createFrame (0), sent.get (0));
+        assertArrayEquals (createFrame (1), sent.get (1));
+    }
+
+
+    @Test
+    void testIllegalUse ()
+    {
+        assertThrows (IllegalArgumentException.class, () -> this.createPipeline (1));
+        assertThrows (IllegalStateException.class, () -> this.createPipeline (2).submit ());
+    }
+
+
+    private UsbTransferPipeline createPipeline (final int numBuffers)
+    {
+        final IMemoryBlock header = this.host.createMemoryBlock (HEADER.length);
+        header.createByteBuffer ().put (HEADER);
+        return new UsbTransferPipeline (this.host, this.endpoint, header, FRAME_SIZE, numBuffers, 1000);
+    }
+
+
+    private void completeAll ()
+    {
+        while (this.endpoint.completeNext ())
+        {
+            // Complete all transfers including the ones which are started by the completion
+        }
+    }
+
+
+    private static void submit (final UsbTransferPipeline pipeline, final int value)
+    {
+        pipeline.acquire ().put (createFrame (value));
+        pipeline.submit ();
+    }
+
+
+    private static byte [] createFrame (final int value)
+    {
+        final byte [] frame = new byte [FRAME_SIZE];
+        for (int i = 0; i < frame.length; i++)
+            frame[i] = (byte) (value * 16 + i);
+        return frame;
+    }
+}
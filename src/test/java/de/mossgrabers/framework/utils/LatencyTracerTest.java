@@ -0,0 +1,192 @@
+// Written by Jürgen Moßgraber - mossgrabers.de
+// (c) 2017-2026
+// Licensed under LGPLv3 - http://www.gnu.org/licenses/lgpl-3.0.txt
+
+package de.mossgrabers.framework.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.mossgrabers.framework.utils.LatencyTracer.Event;
+import de.mossgrabers.framework.utils.LatencyTracer.Stage;
+import de.mossgrabers.framework.utils.LatencyTracer.Trace;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Tests which received messages are charged to a stamped stage: the oldest message which has not
+ * passed the stage of the same trace, messages which were overwritten in the ring buffer or are too
+ * old are dropped and nothing is recorded if the tracing is disabled.
+ *
+ * @author Jürgen Moßgraber
+ */
+class LatencyTracerTest
+{
+    private static final long WAIT = TimeUnit.MILLISECONDS.toNanos (20);
+
+
+    @BeforeEach
+    void setup ()
+    {
+        LatencyTracer.setEnabled (true);
+        LatencyTracer.reset ();
+    }
+
+
+    @AfterEach
+    void shutdown ()
+    {
+        LatencyTracer.setEnabled (false);
+    }
+
+
+    @Test
+    void testOrdering () throws InterruptedException
+    {
+        final Trace trace = new Trace ();
+
+        // Nothing was received
+        trace.stamp (Stage.FLUSH);
+        assertEquals (0, LatencyTracer.getEvents ().size ());
+
+        // The oldest message which has not passed the stage is charged
+        trace.begin ();
+        sleep (WAIT);
+        trace.begin ();
+        trace.stamp (Stage.COMMAND);
+        List<Event> events = LatencyTracer.getEvents ();
+        assertEquals (1, events.size ());
+        assertEquals (Stage.COMMAND, events.get (0).stage ());
+        assertTrue (events.get (0).latency () >= WAIT);
+
+        // Both messages have passed the stage
+        trace.stamp (Stage.COMMAND);
+        assertEquals (1, LatencyTracer.getEvents ().size ());
+
+        // Each stage is counted separately
+        trace.begin ();
+        trace.stamp (Stage.FLUSH);
+        trace.stamp (Stage.FLUSH);
+        trace.stamp (Stage.COMMAND);
+        events = LatencyTracer.getEvents ();
+        assertEquals (3, events.size ());
+        assertEquals (Stage.FLUSH, events.get (1).stage ());
+        assertTrue (events.get (1).latency () >= WAIT);
+        assertEquals (Stage.COMMAND, events.get (2).stage ());
+        assertTrue (events.get (2).latency () < events.get (1).latency ());
+        assertEquals (2, LatencyTracer.getStatistics (Stage.COMMAND).count ());
+        assertEquals (1, LatencyTracer.getStatistics (Stage.FLUSH).count ());
+    }
+
+
+    @Test
+    void testTracesAreSeparate ()
+    {
+        final Trace trace1 = new Trace ();
+        final Trace trace2 = new Trace ();
+
+        // A message of one surface is not charged to the stage of another one
+        trace1.begin ();
+        trace2.stamp (Stage.PAD_GRID);
+        trace2.stamp (Stage.DISPLAY);
+        assertEquals (0, LatencyTracer.getEvents ().size ());
+
+        trace1.stamp (Stage.PAD_GRID);
+        assertEquals (1, LatencyTracer.getEvents ().size ());
+    }
+
+
+    @Test
+    void testRingWrapAround () throws InterruptedException
+    {
+        final Trace trace = new Trace ();
+
+        // The first message is overwritten, the oldest remaining one is charged
+        trace.begin ();
+        sleep (WAIT);
+        for (int i = 0; i < 300; i++)
+            trace.begin ();
+        trace.stamp (Stage.FLUSH);
+        final List<Event> events = LatencyTracer.getEvents ();
+        assertEquals (1, events.size ());
+        assertTrue (events.get (0).latency () < WAIT);
+
+        trace.stamp (Stage.FLUSH);
+        assertEquals (1, LatencyTracer.getEvents ().size ());
+    }
+
+
+    @Test
+    void testOldMessagesAreDropped () throws InterruptedException
+    {
+        final Trace trace = new Trace (WAIT);
+
+        // A message which did not change anything is not charged to a later unrelated send
+        trace.begin ();
+        sleep (2 * WAIT);
+        trace.stamp (Stage.PAD_GRID);
+        assertEquals (0, LatencyTracer.getEvents ().size ());
+
+        // Only the too old message is dropped
+        trace.begin ();
+        sleep (2 * WAIT);
+        trace.begin ();
+        trace.stamp (Stage.DISPLAY);
+        final List<Event> events = LatencyTracer.getEvents ();
+        assertEquals (1, events.size ());
+        assertTrue (events.get (0).latency () < WAIT);
+    }
+
+
+    @Test
+    void testReset ()
+    {
+        final Trace trace = new Trace ();
+        trace.begin ();
+        trace.stamp (Stage.COMMAND);
+        assertEquals (1, LatencyTracer.getEvents ().size ());
+
+        // Messages received before the reset are ignored
+        trace.begin ();
+        LatencyTracer.reset ();
+        assertEquals (0, LatencyTracer.getEvents ().size ());
+        assertEquals (0, LatencyTracer.getStatistics (Stage.COMMAND).count ());
+        trace.stamp (Stage.FLUSH);
+        assertEquals (0, LatencyTracer.getEvents ().size ());
+    }
+
+
+    @Test
+    void testDisabled ()
+    {
+        final Trace trace = new Trace ();
+        LatencyTracer.setEnabled (false);
+        trace.begin ();
+        for (final Stage stage: Stage.values ())
+            trace.stamp (stage);
+        assertEquals (0, LatencyTracer.getEvents ().size ());
+
+        // Messages received while disabled are not charged after enabling
+        LatencyTracer.setEnabled (true);
+        for (final Stage stage: Stage.values ())
+        {
+            trace.stamp (stage);
+            assertEquals (0, LatencyTracer.getStatistics (stage).count ());
+        }
+        assertEquals (0, LatencyTracer.getEvents ().size ());
+    }
+
+
+    private static void sleep (final long nanos) throws InterruptedException
+    {
+        final long end = System.nanoTime () + nanos;
+        while (System.nanoTime () < end)
+            Thread.sleep (1);
+    }
+}
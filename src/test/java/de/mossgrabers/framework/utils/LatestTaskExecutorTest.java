@@ -0,0 +1,107 @@
+// Written by Jürgen Moßgraber - mossgrabers.de
+// (c) 2017-2026
+// Licensed under LGPLv3 - http://www.gnu.org/licenses/lgpl-3.0.txt
+
+package de.mossgrabers.framework.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.mossgrabers.framework.utils.TaskScheduler.Lane;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+
+/**
+ * Tests that only the latest task is executed and that the tasks do not run concurrently.
+ *
+ * @author Jürgen Moßgraber
+ */
+class LatestTaskExecutorTest
+{
+    @Test
+    void testLatestWins () throws InterruptedException
+    {
+        final LatestTaskExecutor executor = new LatestTaskExecutor (Lane.DISPLAY);
+        final List<Integer> executed = new CopyOnWriteArrayList<> ();
+        final CountDownLatch started = new CountDownLatch (1);
+        final CountDownLatch release = new CountDownLatch (1);
+
+        executor.execute ( () -> {
+            executed.add (Integer.valueOf (0));
+            started.countDown ();
+            await (release);
+        });
+        assertTrue (started.await (5, TimeUnit.SECONDS));
+
+        // All of these arrive while the first task is running, only the last one must be executed
+        for (int i = 1; i <= 100; i++)
+        {
+            final Integer value = Integer.valueOf (i);
+            executor.execute ( () -> executed.add (value));
+        }
+        release.countDown ();
+
+        executor.shutdown ();
+        assertTrue (executor.awaitTermination (5, TimeUnit.SECONDS));
+        assertEquals (List.of (Integer.valueOf (0), Integer.valueOf (100)), executed);
+    }
+
+
+    @Test
+    void testNoConcurrentExecution () throws InterruptedException
+    {
+        final LatestTaskExecutor executor = new LatestTaskExecutor (Lane.DISPLAY);
+        final AtomicInteger running = new AtomicInteger ();
+        final AtomicInteger maxRunning = new AtomicInteger ();
+
+        for (int i = 0; i < 1000; i++)
+        {
+            executor.execute ( () -> {
+                maxRunning.accumulateAndGet (running.incrementAndGet (), Math::max);
+                Thread.onSpinWait ();
+                running.decrementAndGet ();
+            });
+        }
+
+        executor.shutdown ();
+        assertTrue (executor.awaitTermination (5, TimeUnit.SECONDS));
+        assertEquals (1, maxRunning.get ());
+    }
+
+
+    @Test
+    void testShutdown ()
+    {
+        final LatestTaskExecutor executor = new LatestTaskExecutor (Lane.DISPLAY);
+        assertFalse (executor.isShutdown ());
+        executor.shutdown ();
+        assertTrue (executor.isShutdown ());
+        assertTrue (executor.isTerminated ());
+        assertThrows (RejectedExecutionException.class, () -> executor.execute ( () -> {
+            // Intentionally empty
+        }));
+    }
+
+
+    private static void await (final CountDownLatch latch)
+    {
+        try
+        {
+            latch.await (5, TimeUnit.SECONDS);
+        }
+        catch (final InterruptedException ex)
+        {
+            Thread.currentThread ().interrupt ();
+        }
+    }
+}
@@ -0,0 +1,94 @@
+// Written by Jürgen Moßgraber - mossgrabers.de
+// (c) 2017-2026
+// Licensed under LGPLv3 - http://www.gnu.org/licenses/lgpl-3.0.txt
+
+package de.mossgrabers.framework.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import de.mossgrabers.framework.utils.LruCache.Statistics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+
+/**
+ * Tests that the cache removes the least recently used entry if it is full and that the hits and
+ * misses are counted.
+ *
+ * @author Jürgen Moßgraber
+ */
+class LruCacheTest
+{
+    private final List<String>             created = new ArrayList<> ();
+    private final LruCache<String, String> cache   = new LruCache<> (3);
+
+
+    @Test
+    void testEviction ()
+    {
+        this.get ("A");
+        this.get ("B");
+        this.get ("C");
+        assertEquals (List.of ("A", "B", "C"), this.created);
+
+        // A is used again, therefore B is the least recently used entry
+        this.get ("A");
+        this.get ("D");
+        assertEquals (List.of ("A", "B", "C", "D"), this.created);
+        this.get ("A");
+        this.get ("C");
+        this.get ("D");
+        assertEquals (4, this.created.size ());
+
+        // B was removed and is created again, which removes A
+        this.get ("B");
+        this.get ("A");
+        assertEquals (List.of ("A", "B", "C", "D", "B", "A"), this.created);
+        assertEquals (3, this.cache.getStatistics ().size ());
+    }
+
+
+    @Test
+    void testStatistics ()
+    {
+        Statistics statistics = this.cache.getStatistics ();
+        assertEquals (0, statistics.hits ());
+        assertEquals (0, statistics.misses ());
+        assertEquals (0, statistics.size ());
+        assertEquals (0, statistics.getHitRate ());
+
+        this.get ("A");
+        this.get ("A");
+        this.get ("B");
+        this.get ("A");
+        statistics = this.cache.getStatistics ();
+        assertEquals (2, statistics.hits ());
+        assertEquals (2, statistics.misses ());
+        assertEquals (2, statistics.size ());
+        assertEquals (0.5, statistics.getHitRate ());
+        assertEquals ("2 entries, 2 hits, 2 misses, hit rate 50.0%", statistics.toString ());
+
+        // Clearing keeps the statistics, the values are created again
+        this.cache.clear ();
+        this.get ("A");
+        statistics = this.cache.getStatistics ();
+        assertEquals (2, statistics.hits ());
+        assertEquals (3, statistics.misses ());
+        assertEquals (1, statistics.size ());
+        assertEquals (List.of ("A", "B", "A"), this.created);
+    }
+
+
+    private void get (final String key)
+    {
+        final String value = this.cache.get (key, k -> {
+            this.created.add (k);
+            return k.toLowerCase (Locale.US);
+        });
+        assertEquals (key.toLowerCase (Locale.US), value);
+    }
+}
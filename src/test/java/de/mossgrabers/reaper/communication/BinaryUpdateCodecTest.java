@@ -0,0 +1,170 @@
+// Written by Jürgen Moßgraber - mossgrabers.de
+// (c) 2017-2026
+// Licensed under LGPLv3 - http://www.gnu.org/licenses/lgpl-3.0.txt
+
+package de.mossgrabers.reaper.communication;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+
+/**
+ * Tests that the binary update format yields the same commands as the text format.
+ *
+ * @author Jürgen Moßgraber
+ */
+class BinaryUpdateCodecTest
+{
+    private final UpdateParser        parser  = new UpdateParser ();
+    private final BinaryUpdateEncoder encoder = new BinaryUpdateEncoder ();
+    private final BinaryUpdateDecoder decoder = new BinaryUpdateDecoder ();
+    private final List<String>        errors  = new ArrayList<> ();
+
+
+    @Test
+    void testRecordedStream () throws IOException
+    {
+        final List<UpdateCommand> commands = new ArrayList<> ();
+        for (final String line: readLines ("updates.txt"))
+        {
+            final UpdateCommand command = this.parser.parse (line, 0, line.length ());
+            assertNotNull (command, line);
+            commands.add (command);
+        }
+
+        assertCommandsEqual (commands, this.decoder.decode (this.encoder.encode (commands), this.errors::add));
+        assertTrue (this.errors.isEmpty (), this.errors::toString);
+    }
+
+
+    @Test
+    void testAllAddresses ()
+    {
+        final List<UpdateCommand> commands = new ArrayList<> ();
+        for (final UpdateAddress address: UpdateAddress.values ())
+        {
+            final int index = address.getIndexCount () > 0 ? 3 : UpdateCommand.NO_INDEX;
+            final int subIndex = address.getIndexCount () > 1 ? 65535 : UpdateCommand.NO_INDEX;
+            switch (address.getValueType ())
+            {
+                case INT -> commands.add (new UpdateCommand (address, index, subIndex, -42));
+                case DOUBLE -> commands.add (new UpdateCommand (address, index, subIndex, 0.1 + address.ordinal ()));
+                default ->
+                {
+                    commands.add (new UpdateCommand (address, index, subIndex, address.name () + " ♪"));
+                    commands.add (new UpdateCommand (address, index, subIndex, ""));
+                    commands.add (new UpdateCommand (address, index, subIndex, (String) null));
+                }
+            }
+        }
+
+        assertCommandsEqual (commands, this.decoder.decode (this.encoder.encode (commands), this.errors::add));
+        assertTrue (this.errors.isEmpty (), this.errors::toString);
+    }
+
+
+    @Test
+    void testMalformedRecordIsSkipped ()
+    {
+        final List<UpdateCommand> commands = List.of (new UpdateCommand (UpdateAddress.PLAY, UpdateCommand.NO_INDEX, UpdateCommand.NO_INDEX, 1), new UpdateCommand (UpdateAddress.PROJECT_NAME, UpdateCommand.NO_INDEX, UpdateCommand.NO_INDEX, "Song"), new UpdateCommand (UpdateAddress.PROJECT_ENGINE, UpdateCommand.NO_INDEX, UpdateCommand.NO_INDEX, 1));
+        final ByteBuffer buffer = this.encoder.encode (commands).order (ByteOrder.nativeOrder ());
+
+        // Corrupt the value tag of the 2nd record: length, ID and tag of the 1st record are 2+2+1
+        // bytes followed by the double
+        final int second = 2 + 2 + 1 + 8;
+        buffer.put (second + 4, (byte) 99);
+
+        final List<UpdateCommand> decoded = this.decoder.decode (buffer, this.errors::add);
+        assertCommandsEqual (List.of (commands.get (0), commands.get (2)), decoded);
+        assertEquals (1, this.errors.size ());
+        assertTrue (this.errors.get (0).contains ("position " + second), this.errors.get (0));
+    }
+
+
+    @Test
+    void testUnknownAddressAndTextLength ()
+    {
+        final List<UpdateCommand> commands = List.of (new UpdateCommand (UpdateAddress.TEMPO, UpdateCommand.NO_INDEX, UpdateCommand.NO_INDEX, 120), new UpdateCommand (UpdateAddress.PROJECT_NAME, UpdateCommand.NO_INDEX, UpdateCommand.NO_INDEX, "Song"), new UpdateCommand (UpdateAddress.TEMPO, UpdateCommand.NO_INDEX, UpdateCommand.NO_INDEX, 90));
+        final ByteBuffer buffer = this.encoder.encode (commands).order (ByteOrder.nativeOrder ());
+
+        buffer.putShort (2, (short) 0xFFFF);
+        final int second = 2 + 2 + 1 + 8;
+        buffer.putInt (second + 2 + 2 + 1, 1000);
+
+        final List<UpdateCommand> decoded = this.decoder.decode (buffer, this.errors::add);
+        assertCommandsEqual (List.of (commands.get (2)), decoded);
+        assertEquals (2, this.errors.size (), this.errors::toString);
+    }
+
+
+    @Test
+    void testTruncatedBlock ()
+    {
+        final List<UpdateCommand> commands = List.of (new UpdateCommand (UpdateAddress.TEMPO, UpdateCommand.NO_INDEX, UpdateCommand.NO_INDEX, 120), new UpdateCommand (UpdateAddress.PROJECT_NAME, UpdateCommand.NO_INDEX, UpdateCommand.NO_INDEX, "Song"));
+        final ByteBuffer buffer = this.encoder.encode (commands);
+        buffer.limit (buffer.limit () - 1);
+
+        final List<UpdateCommand> decoded = this.decoder.decode (buffer, this.errors::add);
+        assertCommandsEqual (commands.subList (0, 1), decoded);
+        assertEquals (1, this.errors.size ());
+    }
+
+
+    @Test
+    void testTextTooLong ()
+    {
+        final String text = String.join ("", Collections.nCopies (BinaryUpdateEncoder.MAX_RECORD_LENGTH, "x"));
+        final List<UpdateCommand> commands = List.of (new UpdateCommand (UpdateAddress.PROJECT_NAME, UpdateCommand.NO_INDEX, UpdateCommand.NO_INDEX, text));
+        assertThrows (IllegalArgumentException.class, () -> this.encoder.encode (commands));
+    }
+
+
+    private static void assertCommandsEqual (final List<UpdateCommand> expected, final List<UpdateCommand> actual)
+    {
+        assertEquals (expected.size (), actual.size ());
+        for (int i = 0; i < expected.size (); i++)
+        {
+            final UpdateCommand e = expected.get (i);
+            final UpdateCommand a = actual.get (i);
+            final String message = e.toString ();
+            assertEquals (e.getAddress (), a.getAddress (), message);
+            assertEquals (e.getIndex (), a.getIndex (), message);
+            assertEquals (e.getSubIndex (), a.getSubIndex (), message);
+            assertEquals (Double.doubleToLongBits (e.getDouble ()), Double.doubleToLongBits (a.getDouble ()), message);
+            assertEquals (e.getString (), a.getString (), message);
+        }
+    }
+
+
+    private static List<String> readLines (final String name) throws IOException
+    {
+        final List<String> lines = new ArrayList<> ();
+        try (final InputStream in = BinaryUpdateCodecTest.class.getResourceAsStream (name))
+        {
+            assertNotNull (in, name);
+            final BufferedReader reader = new BufferedReader (new InputStreamReader (in, StandardCharsets.UTF_8));
+            String line;
+            while ((line = reader.readLine ()) != null)
+            {
+                if (!line.isBlank ())
+                    lines.add (line);
+            }
+        }
+        return lines;
+    }
+}
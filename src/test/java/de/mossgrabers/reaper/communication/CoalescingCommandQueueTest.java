@@ -0,0 +1,77 @@
+// Written by Jürgen Moßgraber - mossgrabers.de
+// (c) 2017-2026
+// Licensed under LGPLv3 - http://www.gnu.org/licenses/lgpl-3.0.txt
+
+package de.mossgrabers.reaper.communication;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+
+/**
+ * Tests the latest-value queue for absolute values.
+ *
+ * @author Jürgen Moßgraber
+ */
+class CoalescingCommandQueueTest
+{
+    private final CoalescingCommandQueue queue = new CoalescingCommandQueue ();
+    private final List<String>           sent  = new ArrayList<> ();
+
+
+    @Test
+    void testLatestValueWins ()
+    {
+        this.queue.set (Processor.TRACK, "0/volume", 0.1);
+        this.queue.set (Processor.TRACK, "0/volume", 0.2);
+        this.queue.set (Processor.TRACK, "0/volume", 0.3);
+        this.flush ();
+
+        assertEquals (List.of ("track 0/volume 0.3"), this.sent);
+    }
+
+
+    @Test
+    void testOrderOfFirstSet ()
+    {
+        this.queue.set (Processor.TRACK, "0/volume", 0.1);
+        this.queue.set (Processor.TRACK, "0/pan", 0.5);
+        this.queue.set (Processor.TEMPO, null, 120);
+        this.queue.set (Processor.TRACK, "0/volume", 0.2);
+        this.queue.set (Processor.MASTER, "volume", 0.7);
+        this.flush ();
+
+        assertEquals (List.of ("track 0/volume 0.2", "track 0/pan 0.5", "tempo null 120.0", "master volume 0.7"), this.sent);
+    }
+
+
+    @Test
+    void testFlushClears ()
+    {
+        this.queue.set (Processor.TRACK, "0/volume", 0.1);
+        this.flush ();
+        this.flush ();
+        assertEquals (1, this.sent.size ());
+
+        // Recycled entries must not keep their old keys
+        this.queue.set (Processor.TRACK, "1/volume", 0.4);
+        this.queue.set (Processor.TRACK, "0/volume", 0.5);
+        this.flush ();
+        assertEquals (List.of ("track 0/volume 0.1", "track 1/volume 0.4", "track 0/volume 0.5"), this.sent);
+
+        this.sent.clear ();
+        this.flush ();
+        assertTrue (this.sent.isEmpty ());
+    }
+
+
+    private void flush ()
+    {
+        this.queue.flush ( (processor, command, value) -> this.sent.add (processor + " " + command + " " + value));
+    }
+}
@@ -0,0 +1,79 @@
+// Written by Jürgen Moßgraber - mossgrabers.de
+// (c) 2017-2026
+// Licensed under LGPLv3 - http://www.gnu.org/licenses/lgpl-3.0.txt
+
+package de.mossgrabers.reaper.communication;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.mossgrabers.framework.utils.TaskScheduler;
+import de.mossgrabers.framework.utils.TaskScheduler.Lane;
+import de.mossgrabers.reaper.ui.utils.LogModel;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+
+/**
+ * Tests that the recorded updates and MIDI messages are written in the format of the replay
+ * stream.
+ *
+ * @author Jürgen Moßgraber
+ */
+class ReplayRecorderTest
+{
+    @TempDir
+    Path folder;
+
+
+    @Test
+    void testFormat () throws IOException, InterruptedException, ExecutionException, TimeoutException
+    {
+        final File file = this.folder.resolve ("replay.txt").toFile ();
+        final ReplayRecorder recorder = new ReplayRecorder (file, new LogModel ());
+        recorder.recordUpdates ("/play 1\n\n/track/0/name Bass & Drums");
+        recorder.recordMidi (1, new byte []
+        {
+            (byte) 0x90,
+            0x68,
+            0x7F
+        });
+        recorder.recordUpdates (List.of (new UpdateCommand (UpdateAddress.TRACK_SEND_VOLUME, 2, 3, 0.25), new UpdateCommand (UpdateAddress.PROJECT_IS_DIRTY, UpdateCommand.NO_INDEX, UpdateCommand.NO_INDEX, 1)));
+        recorder.close ();
+
+        // Nothing must be written after the recorder was closed
+        recorder.recordMidi (0, new byte [] { (byte) 0xF8 });
+        TaskScheduler.getInstance ().schedule (Lane.FILE, () -> {
+            // Wait for the pending writes
+        }, 0).get (5, TimeUnit.SECONDS);
+
+        final List<String> lines = Files.readAllLines (file.toPath (), StandardCharsets.UTF_8);
+        final List<String> content = lines.stream ().filter (line -> !line.startsWith ("#") && !line.startsWith ("@")).toList ();
+        assertEquals (List.of ("/play 1", "/track/0/name Bass & Drums", "midi 1 90 68 7F", "/track/2/send/3/volume 0.25", "/project/isDirty 1"), content);
+
+        // The updates after the MIDI message need to start a new batch
+        assertTrue (lines.get (1).startsWith ("@"), lines::toString);
+        assertTrue (lines.get (lines.indexOf ("midi 1 90 68 7F") + 1).startsWith ("@"), lines::toString);
+
+        long time = 0;
+        for (final String line: lines)
+        {
+            if (!line.startsWith ("@"))
+                continue;
+            final long batchTime = Long.parseLong (line.substring (1));
+            assertTrue (batchTime >= time, lines::toString);
+            time = batchTime;
+        }
+    }
+}
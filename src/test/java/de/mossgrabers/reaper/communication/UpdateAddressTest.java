@@ -0,0 +1,74 @@
+// Written by Jürgen Moßgraber - mossgrabers.de
+// (c) 2017-2026
+// Licensed under LGPLv3 - http://www.gnu.org/licenses/lgpl-3.0.txt
+
+package de.mossgrabers.reaper.communication;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.mossgrabers.framework.controller.hardware.ChangeTracker;
+import de.mossgrabers.framework.observer.ModelArea;
+import de.mossgrabers.reaper.framework.daw.ChangeGeneration;
+
+import org.junit.jupiter.api.Test;
+
+
+/**
+ * Tests the assignment of the update addresses to the areas of the model and that a control which
+ * reads only some areas is not affected by the changes of the others.
+ *
+ * @author Jürgen Moßgraber
+ */
+class UpdateAddressTest
+{
+    @Test
+    void testAreas ()
+    {
+        for (final UpdateAddress address: UpdateAddress.values ())
+        {
+            assertNotNull (address.getArea (), address.getTemplate ());
+            if (address.getTemplate ().contains ("/vu"))
+                assertEquals (ModelArea.METER, address.getArea (), address.getTemplate ());
+        }
+
+        assertEquals (ModelArea.TRANSPORT, UpdateAddress.PLAY.getArea ());
+        assertEquals (ModelArea.TRANSPORT, UpdateAddress.CLICK.getArea ());
+        assertEquals (ModelArea.TRANSPORT, UpdateAddress.AUTOMATION_MODE.getArea ());
+        assertEquals (ModelArea.PROJECT, UpdateAddress.PROJECT_CAN_UNDO.getArea ());
+        assertEquals (ModelArea.PROJECT, UpdateAddress.PROJECT_IS_DIRTY.getArea ());
+        assertEquals (ModelArea.TRACK, UpdateAddress.TRACK_SEND_VOLUME.getArea ());
+
+        final UpdateParser parser = new UpdateParser ();
+        for (final String path: new String [] { "/time", "/time/str", "/beat", "/clip/playposition" })
+            assertEquals (ModelArea.PLAY_POSITION, parser.parse (path, 0, path.length ()).getAddress ().getArea (), path);
+    }
+
+
+    @Test
+    void testTrackingSkipsOtherAreas ()
+    {
+        final ChangeGeneration [] generations = new ChangeGeneration [ModelArea.values ().length];
+        for (int i = 0; i < generations.length; i++)
+            generations[i] = new ChangeGeneration ();
+        final ChangeGeneration inputChanges = new ChangeGeneration ();
+
+        final ChangeTracker tracker = new ChangeTracker (generations[ModelArea.TRANSPORT.ordinal ()], inputChanges);
+        assertTrue (tracker.hasChanged ());
+        assertFalse (tracker.hasChanged ());
+
+        // Meters and the play position change all the time during playback
+        generations[ModelArea.METER.ordinal ()].changed ();
+        generations[ModelArea.PLAY_POSITION.ordinal ()].changed ();
+        assertFalse (tracker.hasChanged ());
+
+        generations[ModelArea.TRANSPORT.ordinal ()].changed ();
+        assertTrue (tracker.hasChanged ());
+        assertFalse (tracker.hasChanged ());
+
+        inputChanges.changed ();
+        assertTrue (tracker.hasChanged ());
+    }
+}
@@ -0,0 +1,84 @@
+// Written by Jürgen Moßgraber - mossgrabers.de
+// (c) 2017-2026
+// Licensed under LGPLv3 - http://www.gnu.org/licenses/lgpl-3.0.txt
+
+package de.mossgrabers.reaper.communication;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+
+/**
+ * Tests the lookup of the update addresses.
+ *
+ * @author Jürgen Moßgraber
+ */
+class UpdateParserTest
+{
+    private final UpdateParser parser = new UpdateParser ();
+
+
+    @Test
+    void testAllPathsResolve ()
+    {
+        final UpdateAddress [] addresses = UpdateAddress.values ();
+        final List<String> paths = UpdateParser.getSupportedPaths ();
+        assertEquals (addresses.length, paths.size ());
+
+        for (int i = 0; i < addresses.length; i++)
+        {
+            final UpdateAddress address = addresses[i];
+            final String path = paths.get (i);
+            final UpdateCommand command = this.parse (path);
+            assertNotNull (command, path);
+            assertEquals (address, command.getAddress (), path);
+            assertEquals (address.getIndexCount () > 0 ? 0 : UpdateCommand.NO_INDEX, command.getIndex (), path);
+            assertEquals (address.getIndexCount () > 1 ? 1 : UpdateCommand.NO_INDEX, command.getSubIndex (), path);
+        }
+    }
+
+
+    @Test
+    void testValues ()
+    {
+        UpdateCommand command = this.parse ("/track/12/send/3/volume 0.25");
+        assertEquals (UpdateAddress.TRACK_SEND_VOLUME, command.getAddress ());
+        assertEquals (12, command.getIndex ());
+        assertEquals (3, command.getSubIndex ());
+        assertEquals (0.25, command.getDouble ());
+
+        command = this.parse ("/track/1/name Bass & Drums");
+        assertEquals ("Bass & Drums", command.getString ());
+
+        command = this.parse ("/project/engine -1");
+        assertEquals (-1, command.getInt ());
+
+        command = this.parse ("/track/1/name");
+        assertNull (command.getString ());
+
+        command = this.parse ("/track/1/volume");
+        assertEquals (0, command.getDouble ());
+    }
+
+
+    @Test
+    void testUnknownPaths ()
+    {
+        assertNull (this.parse ("/unknown 1"));
+        assertNull (this.parse ("track/0/volume 1"));
+        assertNull (this.parse ("/track/x/volume 1"));
+        assertNull (this.parse ("/track/0/volume/unknown/deeper 1"));
+        assertNull (this.parse (""));
+    }
+
+
+    private UpdateCommand parse (final String line)
+    {
+        return this.parser.parse (line, 0, line.length ());
+    }
+}
@@ -0,0 +1,460 @@
+// Written by Jürgen Moßgraber - mossgrabers.de
+// (c) 2017-2026
+// Licensed under LGPLv3 - http://www.gnu.org/licenses/lgpl-3.0.txt
+
+package de.mossgrabers.reaper.framework.daw;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.mossgrabers.framework.daw.clip.NotePosition;
+import de.mossgrabers.framework.daw.clip.StepState;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+
+/**
+ * Tests the sparse step index of the cursor clip against a full grid of all steps, which is filled
+ * like the cursor clip did before, while notes are added, removed and changed. Additionally tests
+ * the navigation across channels, the cursor clip which uses the index and the comparison of notes,
+ * on which the detection of changed lanes depends.
+ *
+ * @author Jürgen Moßgraber
+ */
+class StepIndexTest
+{
+    private static final int NUM_STEPS   = 16;
+    private static final int NUM_ROWS    = 64;
+    private static final int NUM_CHANNEL = 16;
+
+
+    /**
+     * A note start or continuation in the reference grid.
+     *
+     * @param state The state of the step
+     * @param isSelected The selection state
+     * @param isMuted The mute state
+     * @param duration The duration of the note, only set for a start
+     * @param velocity The velocity of the note, only set for a start
+     */
+    private record Cell (StepState state, boolean isSelected, boolean isMuted, double duration, double velocity)
+    {
+        // Intentionally empty
+    }
+
+
+    @Test
+    void testAddRemoveUpdate ()
+    {
+        final StepIndex index = new StepIndex (NUM_STEPS, NUM_ROWS);
+        final Note note1 = new Note (false, false, 0.5, 1.25, 2, 60, 100);
+        final Note note2 = new Note (true, false, 1.0, 1.25, 2, 48, 64);
+        final List<Note> notes = new ArrayList<> (List.of (note1, note2));
+
+        // Add
+        index.update (notes, 0.25, 0);
+        assertStep (index.get (2, 2, 60), StepState.START, false, false, 0.75, 100);
+        assertEquals (StepState.CONTINUE, index.get (2, 3, 60).getState ());
+        assertEquals (StepState.CONTINUE, index.get (2, 4, 60).getState ());
+        assertNull (index.get (2, 5, 60));
+        assertStep (index.get (2, 4, 48), StepState.START, true, false, 0.25, 64);
+        assertNull (index.get (3, 2, 60));
+
+        // Update, the note gets shorter and is muted
+        notes.set (0, new Note (false, true, 0.5, 0.75, 2, 60, 120));
+        index.update (notes, 0.25, 0);
+        assertStep (index.get (2, 2, 60), StepState.START, false, true, 0.25, 120);
+        assertNull (index.get (2, 3, 60));
+        assertNull (index.get (2, 4, 60));
+        assertStep (index.get (2, 4, 48), StepState.START, true, false, 0.25, 64);
+
+        // Remove
+        notes.remove (0);
+        index.update (notes, 0.25, 0);
+        assertNull (index.get (2, 2, 60));
+        assertFalse (index.hasRowData (2, 60));
+        assertTrue (index.hasRowData (2, 48));
+
+        // Notes outside of the page and of the monitored rows are ignored
+        notes.add (new Note (false, false, 4.0, 4.25, 2, 50, 100));
+        notes.add (new Note (false, false, 0.0, 0.25, 2, NUM_ROWS, 100));
+        index.update (notes, 0.25, 0);
+        assertFalse (index.hasRowData (2, 50));
+        assertFalse (index.hasRowData (2, NUM_ROWS));
+
+        // A different page
+        index.update (notes, 0.25, NUM_STEPS);
+        assertStep (index.get (2, 0, 50), StepState.START, false, false, 0.25, 100);
+        assertFalse (index.hasRowData (2, 48));
+
+        index.reset ();
+        assertNull (index.get (2, 0, 50));
+        assertEquals (-1, index.getLowestRow (2));
+    }
+
+
+    @Test
+    void testRowCounts ()
+    {
+        final StepIndex index = new StepIndex (NUM_STEPS, NUM_ROWS);
+        final List<Note> notes = new ArrayList<> ();
+        notes.add (new Note (false, false, 0.0, 1.0, 0, 10, 100));
+        notes.add (new Note (false, false, 2.0, 2.25, 0, 10, 100));
+        notes.add (new Note (false, false, 1.0, 1.25, 0, 30, 100));
+        notes.add (new Note (false, false, 1.0, 1.25, 1, 20, 100));
+        index.update (notes, 0.25, 0);
+
+        assertTrue (index.hasRowData (0, 10));
+        assertTrue (index.hasRowData (0, 30));
+        assertFalse (index.hasRowData (0, 20));
+        assertTrue (index.hasRowData (1, 20));
+        assertEquals (10, index.getLowestRow (0));
+        assertEquals (30, index.getHighestRow (0));
+        assertEquals (20, index.getLowestRow (1));
+        assertEquals (-1, index.getLowestRow (2));
+        assertEquals (30, index.getHighestRow (0, 4));
+        assertEquals (10, index.getHighestRow (0, 3));
+        assertEquals (-1, index.getHighestRow (0, 5));
+        assertTrue (index.hasColumnData (1, 4));
+        assertFalse (index.hasColumnData (1, 3));
+
+        // The row keeps its data until all of its steps are removed
+        notes.remove (0);
+        index.update (notes, 0.25, 0);
+        assertTrue (index.hasRowData (0, 10));
+        assertEquals (10, index.getLowestRow (0));
+        assertEquals (-1, index.getHighestRow (0, 3));
+        notes.remove (0);
+        index.update (notes, 0.25, 0);
+        assertFalse (index.hasRowData (0, 10));
+        assertEquals (30, index.getLowestRow (0));
+    }
+
+
+    @Test
+    void testNavigation ()
+    {
+        final StepIndex index = new StepIndex (NUM_STEPS, NUM_ROWS);
+        final List<Note> notes = new ArrayList<> ();
+        notes.add (new Note (false, false, 0.5, 0.75, 5, 40, 100));
+        notes.add (new Note (false, false, 0.5, 0.75, 3, 40, 100));
+        notes.add (new Note (false, false, 1.0, 1.75, 1, 50, 100));
+        notes.add (new Note (false, false, 1.0, 1.25, 1, 30, 100));
+        index.update (notes, 0.25, 0);
+
+        // Across all channels the channel of the found note is returned, the lowest channel first
+        assertEquals (new NotePosition (3, 2, 40), index.getNextNote (new NotePosition (0, 0, 128), -1));
+        assertEquals (new NotePosition (1, 4, 50), index.getNextNote (new NotePosition (3, 2, 40), -1));
+        assertEquals (new NotePosition (1, 4, 30), index.getNextNote (new NotePosition (1, 4, 50), -1));
+        assertNull (index.getNextNote (new NotePosition (1, 4, 30), -1));
+        assertEquals (new NotePosition (1, 4, 30), index.getPreviousNote (new NotePosition (0, NUM_STEPS - 1, -1), -1));
+        assertEquals (new NotePosition (1, 4, 50), index.getPreviousNote (new NotePosition (1, 4, 30), -1));
+        assertEquals (new NotePosition (3, 2, 40), index.getPreviousNote (new NotePosition (1, 4, 50), -1));
+        assertNull (index.getPreviousNote (new NotePosition (3, 2, 40), -1));
+
+        // Continuations are skipped
+        assertNull (index.getNextNote (new NotePosition (1, 5, 128), -1));
+        assertEquals (new NotePosition (1, 4, 30), index.getPreviousNote (new NotePosition (1, 6, -1), -1));
+
+        // Only in one channel
+        assertEquals (new NotePosition (5, 2, 40), index.getNextNote (new NotePosition (5, 0, 128), 5));
+        assertNull (index.getNextNote (new NotePosition (5, 2, 40), 5));
+        assertEquals (new NotePosition (5, 2, 40), index.getPreviousNote (new NotePosition (5, NUM_STEPS - 1, -1), 5));
+        assertNull (index.getNextNote (new NotePosition (7, 0, 128), 7));
+    }
+
+
+    @Test
+    void testRandomChanges ()
+    {
+        final Random random = new Random (4711);
+        final StepIndex index = new StepIndex (NUM_STEPS, NUM_ROWS);
+        final List<Note> notes = new ArrayList<> ();
+        double stepLength = 0.25;
+        int pageOffset = 0;
+
+        for (int round = 0; round < 300; round++)
+        {
+            final int action = random.nextInt (10);
+            if (action < 4 || notes.isEmpty ())
+            {
+                for (int i = random.nextInt (20); i >= 0; i--)
+                    notes.add (createNote (random));
+            }
+            else if (action < 6)
+            {
+                for (int i = random.nextInt (5); i >= 0 && !notes.isEmpty (); i--)
+                    notes.remove (random.nextInt (notes.size ()));
+            }
+            else if (action < 9)
+            {
+                // Change the length, velocity, mute or selection state of some notes
+                for (int i = random.nextInt (5); i >= 0; i--)
+                {
+                    final int pos = random.nextInt (notes.size ());
+                    final Note note = notes.get (pos);
+                    notes.set (pos, new Note (random.nextBoolean (), random.nextBoolean (), note.getStart (), note.getStart () + random.nextInt (1, 12) * 0.125, note.getChannel (), note.getPitch (), random.nextInt (128)));
+                }
+            }
+            else if (random.nextBoolean ())
+                stepLength = random.nextBoolean () ? 0.25 : 0.125;
+            else
+                pageOffset = random.nextInt (3) * NUM_STEPS;
+
+            index.update (notes, stepLength, pageOffset);
+            assertSameAsGrid (index, createGrid (notes, stepLength, pageOffset), random, "Round " + round);
+        }
+    }
+
+
+    @Test
+    void testCursorClip ()
+    {
+        final CursorClipImpl clip = new CursorClipImpl (null, NUM_STEPS, 128);
+        clip.setPlayStartIntern (0);
+        clip.setPlayEndIntern (8);
+
+        final List<Note> notes = new ArrayList<> ();
+        notes.add (new Note (false, false, 0.25, 0.5, 4, 60, 100));
+        notes.add (new Note (false, false, 0.25, 0.5, 2, 60, 100));
+        notes.add (new Note (false, false, 4.5, 5.0, 9, 72, 100));
+        clip.setNotes (notes);
+
+        assertEquals (StepState.START, clip.getStep (new NotePosition (2, 1, 60)).getState ());
+        assertEquals (StepState.OFF, clip.getStep (new NotePosition (3, 1, 60)).getState ());
+        assertTrue (clip.hasRowData (4, 60));
+        assertEquals (new NotePosition (2, 1, 60), clip.getNextNote (null, true));
+        assertEquals (new NotePosition (4, 1, 60), clip.getNextNote (new NotePosition (4, 0, 128), false));
+        assertNull (clip.getNextNote (new NotePosition (2, 1, 60), true));
+
+        // The second page
+        clip.scrollStepsPageForward ();
+        assertEquals (1, clip.getEditPage ());
+        assertEquals (StepState.OFF, clip.getStep (new NotePosition (2, 1, 60)).getState ());
+        assertEquals (StepState.START, clip.getStep (new NotePosition (9, 2, 72)).getState ());
+        assertEquals (StepState.CONTINUE, clip.getStep (new NotePosition (9, 3, 72)).getState ());
+        assertEquals (new NotePosition (9, 2, 72), clip.getPreviousNote (null, true));
+
+        // A shorter clip clamps the page
+        clip.setPlayEndIntern (4);
+        assertEquals (0, clip.getEditPage ());
+        assertEquals (StepState.START, clip.getStep (new NotePosition (4, 1, 60)).getState ());
+
+        // A longer step length
+        clip.setStepLength (0.5);
+        assertEquals (StepState.OFF, clip.getStep (new NotePosition (4, 1, 60)).getState ());
+        assertEquals (StepState.START, clip.getStep (new NotePosition (4, 0, 60)).getState ());
+        assertEquals (StepState.START, clip.getStep (new NotePosition (9, 9, 72)).getState ());
+    }
+
+
+    @Test
+    void testNoteEquals ()
+    {
+        final Note note = new Note (true, false, 1.5, 2.0, 3, 60, 100);
+        final Note same = new Note (true, false, 1.5, 2.0, 3, 60, 100);
+        assertEquals (note, same);
+        assertEquals (note.hashCode (), same.hashCode ());
+        assertNotEquals (note, null);
+        assertNotEquals (note, "Note");
+
+        final Note [] different =
+        {
+            new Note (false, false, 1.5, 2.0, 3, 60, 100),
+            new Note (true, true, 1.5, 2.0, 3, 60, 100),
+            new Note (true, false, 1.25, 2.0, 3, 60, 100),
+            new Note (true, false, 1.5, 2.25, 3, 60, 100),
+            new Note (true, false, 1.5, 2.0, 4, 60, 100),
+            new Note (true, false, 1.5, 2.0, 3, 61, 100),
+            new Note (true, false, 1.5, 2.0, 3, 60, 101)
+        };
+        for (final Note other: different)
+            assertNotEquals (note, other);
+
+        // Lanes are compared as lists
+        assertEquals (List.of (note, same), List.of (same, note));
+    }
+
+
+    private static Note createNote (final Random random)
+    {
+        final double start = random.nextInt (3 * NUM_STEPS * 2) * 0.125;
+        final int channel = random.nextInt (4) == 0 ? random.nextInt (NUM_CHANNEL) : random.nextInt (3);
+        return new Note (random.nextBoolean (), random.nextBoolean (), start, start + random.nextInt (1, 12) * 0.125, channel, random.nextInt (NUM_ROWS + 4), random.nextInt (128));
+    }
+
+
+    /**
+     * Fill a grid of all steps with the notes, like the cursor clip did before.
+     *
+     * @param notes The notes
+     * @param stepLength The length of a step
+     * @param pageOffset The index of the first step of the page
+     * @return The grid, null for steps without a note
+     */
+    private static Cell [] [] [] createGrid (final List<Note> notes, final double stepLength, final int pageOffset)
+    {
+        final Cell [] [] [] grid = new Cell [NUM_CHANNEL] [NUM_STEPS] [NUM_ROWS];
+        for (final Note note: notes)
+        {
+            final int row = note.getPitch ();
+            if (row < 0 || row >= NUM_ROWS)
+                continue;
+            final int relToPage = (int) Math.floor (note.getStart () / stepLength) - pageOffset;
+            if (relToPage < 0 || relToPage >= NUM_STEPS)
+                continue;
+
+            final int channel = note.getChannel ();
+            grid[channel][relToPage][row] = new Cell (StepState.START, note.isSelected (), note.isMuted (), note.getEnd () - note.getStart (), note.getVelocity () / 127.0);
+
+            final int endStep = Math.min ((int) Math.floor (note.getEnd () / stepLength) - pageOffset, NUM_STEPS);
+            for (int i = relToPage + 1; i < endStep; i++)
+            {
+                final Cell cell = grid[channel][i][row];
+                grid[channel][i][row] = new Cell (StepState.CONTINUE, note.isSelected (), note.isMuted (), cell == null ? 0 : cell.duration (), cell == null ? 0 : cell.velocity ());
+            }
+        }
+        return grid;
+    }
+
+
+    private static void assertSameAsGrid (final StepIndex index, final Cell [] [] [] grid, final Random random, final String message)
+    {
+        for (int channel = 0; channel < NUM_CHANNEL; channel++)
+        {
+            int lowestRow = -1;
+            int highestRow = -1;
+            for (int row = 0; row < NUM_ROWS; row++)
+            {
+                boolean hasData = false;
+                for (int step = 0; step < NUM_STEPS; step++)
+                {
+                    final Cell cell = grid[channel][step][row];
+                    final StepInfoImpl stepInfo = index.get (channel, step, row);
+                    final String position = message + ", channel " + channel + ", step " + step + ", row " + row;
+                    if (cell == null)
+                    {
+                        assertNull (stepInfo, position);
+                        continue;
+                    }
+
+                    hasData = true;
+                    assertEquals (cell.state (), stepInfo.getState (), position);
+                    assertEquals (cell.isSelected (), stepInfo.isSelected (), position);
+                    assertEquals (cell.isMuted (), stepInfo.isMuted (), position);
+                    if (cell.state () == StepState.START)
+                    {
+                        assertEquals (cell.duration (), stepInfo.getDuration (), position);
+                        assertEquals (cell.velocity (), stepInfo.getVelocity (), position);
+                    }
+                }
+
+                assertEquals (hasData, index.hasRowData (channel, row), message + ", channel " + channel + ", row " + row);
+                if (hasData)
+                {
+                    if (lowestRow < 0)
+                        lowestRow = row;
+                    highestRow = row;
+                }
+            }
+            assertEquals (lowestRow, index.getLowestRow (channel), message + ", channel " + channel);
+            assertEquals (highestRow, index.getHighestRow (channel), message + ", channel " + channel);
+
+            for (int step = 0; step < NUM_STEPS; step++)
+            {
+                int highestStepRow = -1;
+                for (int row = NUM_ROWS - 1; row >= 0 && highestStepRow < 0; row--)
+                {
+                    if (grid[channel][step][row] != null)
+                        highestStepRow = row;
+                }
+                assertEquals (highestStepRow, index.getHighestRow (channel, step), message + ", channel " + channel + ", step " + step);
+            }
+        }
+
+        // Navigate from random positions, in all channels and in one channel
+        for (int i = 0; i < 50; i++)
+        {
+            final NotePosition position = new NotePosition (random.nextInt (NUM_CHANNEL), random.nextInt (NUM_STEPS), random.nextInt (-1, NUM_ROWS + 1));
+            final int channel = random.nextBoolean () ? -1 : position.getChannel ();
+            final String navigation = message + ", from " + position + ", channel " + channel;
+            assertEquals (getNextNote (grid, position, channel), index.getNextNote (position, channel), navigation);
+            assertEquals (getPreviousNote (grid, position, channel), index.getPreviousNote (position, channel), navigation);
+        }
+    }
+
+
+    /**
+     * The previous navigation of the cursor clip, which returns the channel of the found note.
+     *
+     * @param grid The grid
+     * @param position The position to start from
+     * @param channel The channel to search in or -1 for all channels
+     * @return The position of the next note start or null
+     */
+    private static NotePosition getNextNote (final Cell [] [] [] grid, final NotePosition position, final int channel)
+    {
+        final int channelStart = channel < 0 ? 0 : channel;
+        final int channelEnd = channel < 0 ? NUM_CHANNEL : channel + 1;
+        for (int step = position.getStep (); step < NUM_STEPS; step++)
+        {
+            final int startRow = Math.min (step == position.getStep () ? position.getNote () - 1 : NUM_ROWS - 1, NUM_ROWS - 1);
+            for (int row = startRow; row >= 0; row--)
+            {
+                for (int chn = channelStart; chn < channelEnd; chn++)
+                {
+                    final Cell cell = grid[chn][step][row];
+                    if (cell != null && cell.state () == StepState.START)
+                        return new NotePosition (chn, step, row);
+                }
+            }
+        }
+        return null;
+    }
+
+
+    /**
+     * The previous navigation of the cursor clip, which returns the channel of the found note.
+     *
+     * @param grid The grid
+     * @param position The position to start from
+     * @param channel The channel to search in or -1 for all channels
+     * @return The position of the previous note start or null
+     */
+    private static NotePosition getPreviousNote (final Cell [] [] [] grid, final NotePosition position, final int channel)
+    {
+        final int channelStart = channel < 0 ? 0 : channel;
+        final int channelEnd = channel < 0 ? NUM_CHANNEL : channel + 1;
+        for (int step = position.getStep (); step >= 0; step--)
+        {
+            final int startRow = Math.max (step == position.getStep () ? position.getNote () + 1 : 0, 0);
+            for (int row = startRow; row < NUM_ROWS; row++)
+            {
+                for (int chn = channelStart; chn < channelEnd; chn++)
+                {
+                    final Cell cell = grid[chn][step][row];
+                    if (cell != null && cell.state () == StepState.START)
+                        return new NotePosition (chn, step, row);
+                }
+            }
+        }
+        return null;
+    }
+
+
+    private static void assertStep (final StepInfoImpl stepInfo, final StepState state, final boolean isSelected, final boolean isMuted, final double duration, final int velocity)
+    {
+        assertEquals (state, stepInfo.getState ());
+        assertEquals (isSelected, stepInfo.isSelected ());
+        assertEquals (isMuted, stepInfo.isMuted ());
+        assertEquals (duration, stepInfo.getDuration ());
+        assertEquals (velocity / 127.0, stepInfo.getVelocity ());
+    }
+}
@@ -0,0 +1,243 @@
+// Written by Jürgen Moßgraber - mossgrabers.de
+// (c) 2017-2026
+// Licensed under LGPLv3 - http://www.gnu.org/licenses/lgpl-3.0.txt
+
+package de.mossgrabers.reaper.framework.device;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.mossgrabers.reaper.framework.device.DeviceCatalogCache.SourceKey;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+
+/**
+ * Tests that the sections of the device cache survive a write and a load and that a damaged cache
+ * file is rejected with an IOException, which makes the device manager parse the INI files again.
+ *
+ * @author Jürgen Moßgraber
+ */
+class DeviceCatalogCacheTest
+{
+    private static final SourceKey          TAGS_KEY    = new SourceKey (1234, 5678);
+    private static final SourceKey          FOLDERS_KEY = new SourceKey (-1, 0);
+
+    @TempDir
+    Path                                    folder;
+
+    private File                            file;
+    private final List<String>              tags        = new ArrayList<> ();
+    private final List<String>              folders     = List.of ("Favourites", "Ünïcödé", "");
+
+
+    @BeforeEach
+    void setup ()
+    {
+        this.file = this.folder.resolve (DeviceCatalogCache.FILENAME).toFile ();
+        for (int i = 0; i < 1000; i++)
+            this.tags.add ("plugin_" + i + ".vst3");
+    }
+
+
+    @Test
+    void testRoundTrip () throws IOException
+    {
+        this.writeCache ();
+
+        final DeviceCatalogCache cache = new DeviceCatalogCache (this.file);
+        cache.load ();
+        assertFalse (cache.isModified ());
+        assertEquals (this.tags, cache.get ("tags", TAGS_KEY, DeviceCatalogCacheTest::readList));
+        assertEquals (this.folders, cache.get ("folders", FOLDERS_KEY, DeviceCatalogCacheTest::readList));
+
+        // Outdated or unknown sections are not returned
+        assertNull (cache.get ("tags", new SourceKey (1234, 5679), DeviceCatalogCacheTest::readList));
+        assertNull (cache.get ("tags", FOLDERS_KEY, DeviceCatalogCacheTest::readList));
+        assertNull (cache.get ("maps", TAGS_KEY, DeviceCatalogCacheTest::readList));
+
+        // A section which cannot be read by the reader is not returned
+        assertNull (cache.get ("folders", FOLDERS_KEY, in -> {
+            final byte [] tooLong = new byte [1000];
+            in.readFully (tooLong);
+            return tooLong;
+        }));
+
+        // Replacing a section keeps the others
+        cache.put ("folders", TAGS_KEY, List.of ("New"), DeviceCatalogCacheTest::writeList);
+        assertTrue (cache.isModified ());
+        cache.save ();
+        assertFalse (cache.isModified ());
+        final DeviceCatalogCache reloaded = new DeviceCatalogCache (this.file);
+        reloaded.load ();
+        assertEquals (this.tags, reloaded.get ("tags", TAGS_KEY, DeviceCatalogCacheTest::readList));
+        assertEquals (List.of ("New"), reloaded.get ("folders", TAGS_KEY, DeviceCatalogCacheTest::readList));
+    }
+
+
+    @Test
+    void testMissingOrOtherVersion () throws IOException
+    {
+        final DeviceCatalogCache cache = new DeviceCatalogCache (this.file);
+        cache.load ();
+        assertNull (cache.get ("tags", TAGS_KEY, DeviceCatalogCacheTest::readList));
+
+        this.writeCache ();
+        final byte [] content = Files.readAllBytes (this.file.toPath ());
+        content[7]++;
+        Files.write (this.file.toPath (), content);
+        cache.load ();
+        assertNull (cache.get ("tags", TAGS_KEY, DeviceCatalogCacheTest::readList));
+    }
+
+
+    @Test
+    void testTruncatedFile () throws IOException
+    {
+        this.writeCache ();
+        final byte [] content = Files.readAllBytes (this.file.toPath ());
+
+        // Cut the file at every position behind the header
+        for (int length = 8; length < content.length; length++)
+        {
+            Files.write (this.file.toPath (), Arrays.copyOf (content, length));
+            final DeviceCatalogCache cache = new DeviceCatalogCache (this.file);
+            assertThrows (IOException.class, cache::load, "Length " + length);
+            assertNull (cache.get ("tags", TAGS_KEY, DeviceCatalogCacheTest::readList));
+            assertNull (cache.get ("folders", FOLDERS_KEY, DeviceCatalogCacheTest::readList));
+        }
+    }
+
+
+    @Test
+    void testDamagedSizes () throws IOException
+    {
+        this.writeCache ();
+        final byte [] content = Files.readAllBytes (this.file.toPath ());
+
+        // The number of sections and the length of the first section
+        final int countOffset = 8;
+        final int lengthOffset = countOffset + 4 + 2 + "tags".length () + 16;
+        for (final int offset: new int []
+        {
+            countOffset,
+            lengthOffset
+        })
+        {
+            for (final int value: new int []
+            {
+                -1,
+                Integer.MIN_VALUE,
+                Integer.MAX_VALUE,
+                content.length
+            })
+            {
+                final byte [] damaged = content.clone ();
+                damaged[offset] = (byte) (value >> 24);
+                damaged[offset + 1] = (byte) (value >> 16);
+                damaged[offset + 2] = (byte) (value >> 8);
+                damaged[offset + 3] = (byte) value;
+                Files.write (this.file.toPath (), damaged);
+                assertThrows (IOException.class, new DeviceCatalogCache (this.file)::load, "Offset " + offset + ", value " + value);
+            }
+        }
+    }
+
+
+    @Test
+    void testGarbage () throws IOException
+    {
+        final Random random = new Random (42);
+        for (int i = 0; i < 500; i++)
+        {
+            // Valid header followed by random data
+            final ByteArrayOutputStream data = new ByteArrayOutputStream ();
+            try (final DataOutputStream out = new DataOutputStream (data))
+            {
+                out.writeInt (0x44424D43);
+                out.writeInt (1);
+                final byte [] garbage = new byte [random.nextInt (200)];
+                random.nextBytes (garbage);
+                out.write (garbage);
+            }
+            Files.write (this.file.toPath (), data.toByteArray ());
+
+            // Either the random data happens to be readable or it is rejected
+            final DeviceCatalogCache cache = new DeviceCatalogCache (this.file);
+            try
+            {
+                cache.load ();
+            }
+            catch (final IOException ex)
+            {
+                assertNull (cache.get ("tags", TAGS_KEY, DeviceCatalogCacheTest::readList));
+            }
+
+            // A damaged cache is replaced when it is saved
+            cache.put ("tags", TAGS_KEY, this.tags, DeviceCatalogCacheTest::writeList);
+            cache.save ();
+            final DeviceCatalogCache reloaded = new DeviceCatalogCache (this.file);
+            reloaded.load ();
+            assertEquals (this.tags, reloaded.get ("tags", TAGS_KEY, DeviceCatalogCacheTest::readList));
+        }
+    }
+
+
+    @Test
+    void testReadCount () throws IOException
+    {
+        final ByteArrayOutputStream data = new ByteArrayOutputStream ();
+        try (final DataOutputStream out = new DataOutputStream (data))
+        {
+            out.writeInt (3);
+            out.write (new byte [12]);
+        }
+        assertEquals (3, DeviceCatalogCache.readCount (new DataInputStream (new ByteArrayInputStream (data.toByteArray ())), 4));
+        assertThrows (IOException.class, () -> DeviceCatalogCache.readCount (new DataInputStream (new ByteArrayInputStream (data.toByteArray ())), 5));
+    }
+
+
+    private void writeCache () throws IOException
+    {
+        final DeviceCatalogCache cache = new DeviceCatalogCache (this.file);
+        cache.put ("tags", TAGS_KEY, this.tags, DeviceCatalogCacheTest::writeList);
+        cache.put ("folders", FOLDERS_KEY, this.folders, DeviceCatalogCacheTest::writeList);
+        cache.save ();
+    }
+
+
+    private static List<String> readList (final DataInputStream in) throws IOException
+    {
+        final int count = DeviceCatalogCache.readCount (in, 2);
+        final List<String> list = new ArrayList<> (count);
+        for (int i = 0; i < count; i++)
+            list.add (in.readUTF ());
+        return list;
+    }
+
+
+    private static void writeList (final DataOutputStream out, final List<String> list) throws IOException
+    {
+        out.writeInt (list.size ());
+        for (final String value: list)
+            out.writeUTF (value);
+    }
+}
@@ -0,0 +1,411 @@
+// Written by Jürgen Moßgraber - mossgrabers.de
+// (c) 2017-2026
+// Licensed under LGPLv3 - http://www.gnu.org/licenses/lgpl-3.0.txt
+
+package de.mossgrabers.reaper.framework.device;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.mossgrabers.reaper.framework.IniFiles;
+import de.mossgrabers.reaper.ui.utils.LogModel;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeMap;
+
+
+/**
+ * Tests that the indexed filters and the cached counts of the device manager return the same
+ * results as the scan of all devices which was used before. The catalogue contains 10,000
+ * synthetic plugins with identical plugins in several formats, tags from the FX tags file and
+ * collections with plugin lists and search queries.
+ *
+ * @author Jürgen Moßgraber
+ */
+class DeviceManagerTest
+{
+    private static final int                    NUM_DEVICES        = 10_000;
+    private static final String []              FORMATS            =
+    {
+        "VST3",
+        "VST",
+        "CLAP",
+        "AU",
+        "LV2"
+    };
+    private static final String []              EXTENSIONS         =
+    {
+        ".vst3",
+        ".dll",
+        ".clap",
+        ".component",
+        ".lv2"
+    };
+    private static final String []              WORDS              =
+    {
+        "Synth",
+        "Delay",
+        "Comp",
+        "Reverb",
+        "Piano",
+        "Filter",
+        "Meter",
+        "Chorus"
+    };
+    private static final String []              TAGS               =
+    {
+        "Synth",
+        "Delay",
+        "Reverb",
+        "EQ",
+        "Dynamics",
+        "MIDI",
+        "Utility",
+        "Pitch Shift",
+        "u-he"
+    };
+    private static final String []              JS_FOLDERS         =
+    {
+        "delay",
+        "filters",
+        "midi",
+        "utility",
+        "pitch",
+        "ix"
+    };
+
+    // Reaper's duplicate filter: VST3 first, then CLAP, then VST2
+    private static final int                    DUPLICATE_FILTER   = 0x251;
+    private static final List<DeviceFileType>   PREFERRED_TYPES    = List.of (DeviceFileType.VST3, DeviceFileType.CLAP, DeviceFileType.VST2);
+
+    private static final DeviceManager          MANAGER            = DeviceManager.get ();
+
+    @TempDir
+    static Path                                 folder;
+
+    private static List<DeviceMetadataImpl>     devices;
+    private static List<DeviceCollection>       collections;
+    private static int                          numModifications;
+
+
+    @BeforeAll
+    static void createCatalogue () throws IOException
+    {
+        final Random random = new Random (4711);
+        final StringBuilder categories = new StringBuilder ("[category]\n");
+        final StringBuilder developers = new StringBuilder ("[developer]\n");
+        final List<String> modules = new ArrayList<> ();
+
+        int count = 0;
+        for (int n = 0; count < NUM_DEVICES; n++)
+        {
+            final String name = WORDS[random.nextInt (WORDS.length)] + " " + n;
+            final String vendor = random.nextInt (10) == 0 ? null : "Vendor " + random.nextInt (60);
+
+            if (random.nextInt (20) == 0)
+            {
+                final String module = JS_FOLDERS[random.nextInt (JS_FOLDERS.length)] + "/" + name.toLowerCase (Locale.US).replace (' ', '_');
+                MANAGER.addDeviceInfo ("JS: " + name, module);
+                modules.add (module);
+                count++;
+                continue;
+            }
+
+            // The same plugin in one or several formats
+            final String instrument = random.nextInt (4) == 0 ? "i" : "";
+            final int numFormats = 1 + random.nextInt (3);
+            final int firstFormat = random.nextInt (FORMATS.length);
+            for (int i = 0; i < numFormats; i++)
+            {
+                final int format = (firstFormat + i) % FORMATS.length;
+                final String description = FORMATS[format] + instrument + ": " + name + (vendor == null ? "" : " (" + vendor + ")");
+                final String module = name.toLowerCase (Locale.US).replace (' ', '_') + EXTENSIONS[format];
+                MANAGER.addDeviceInfo (description, module);
+                modules.add (module);
+                count++;
+
+                // Identical plugins of the same format, e.g. a 32 and a 64 bit version
+                if (random.nextInt (50) == 0)
+                {
+                    final String module64 = name.toLowerCase (Locale.US).replace (' ', '_') + "_x64" + EXTENSIONS[format];
+                    MANAGER.addDeviceInfo (description, module64);
+                    modules.add (module64);
+                    count++;
+                }
+
+                final int tags = random.nextInt (10);
+                if (tags < 6)
+                {
+                    categories.append (module).append ('=').append (TAGS[random.nextInt (TAGS.length)]);
+                    if (tags < 2)
+                        categories.append ('|').append (TAGS[random.nextInt (TAGS.length)]);
+                    categories.append ('\n');
+                }
+                if (random.nextInt (10) < 3)
+                    developers.append (module).append ("=Vendor ").append (random.nextInt (60)).append ('\n');
+            }
+        }
+
+        final StringBuilder folders = new StringBuilder ();
+        folders.append ("[Folders]\nNbFolders=6\n");
+        folders.append ("Id0=0\nName0=Favourites\n");
+        folders.append ("Id1=1\nName1=Synths\n");
+        folders.append ("Id2=2\nName2=Vendors\n");
+        folders.append ("Id3=3\nName3=Mixed\n");
+        folders.append ("Id4=4\nName4=Empty\n");
+        folders.append ("Id5=-1\nName5=Removed\n");
+
+        // Plugins given by their file
+        folders.append ("[Folder0]\nNb=300\n");
+        for (int i = 0; i < 300; i++)
+        {
+            final String module = modules.get (random.nextInt (modules.size ()));
+            final boolean isJS = !module.contains (".");
+            folders.append ("Item").append (i).append ('=').append (isJS ? module : "C:/Program Files/VstPlugins/" + module).append ('\n');
+            folders.append ("Type").append (i).append ('=').append (isJS ? 2 : 3).append ('\n');
+        }
+
+        // Search queries
+        folders.append ("[Folder1]\nNb=1\nItem0=synth NOT (vst2)\nType0=1048576\n");
+        folders.append ("[Folder2]\nNb=2\nItem0=vendor 7 OR vendor 13\nType0=1048576\nItem1=vendor 42 NOT clap\nType1=1048576\n");
+        folders.append ("[Folder3]\nNb=3\nItem0=").append (modules.get (0)).append ("\nType0=3\nItem1=piano\nType1=1048576\nItem2=delay/unknown\nType2=2\n");
+        folders.append ("[Folder4]\nNb=0\n");
+
+        write ("reaper-fxtags.ini", categories.toString () + developers);
+        write ("reaper-fxfolders.ini", folders.toString ());
+        setDuplicateFilter (0);
+
+        final IniFiles iniFiles = new IniFiles ();
+        final LogModel logModel = new LogModel ();
+        iniFiles.init (folder.toString (), logModel);
+        MANAGER.applyDeviceInfo (iniFiles, logModel);
+
+        devices = MANAGER.getAll ();
+        collections = new ArrayList<> (MANAGER.getCollections ());
+
+        // A collection which is not known to the device manager
+        final DeviceCollection collection = new DeviceCollection ("Ad hoc");
+        collection.addItem ("comp", 1048576);
+        collection.addItem (modules.get (1), 3);
+        collections.add (collection);
+    }
+
+
+    @Test
+    void testCatalogue ()
+    {
+        assertTrue (devices.size () >= NUM_DEVICES);
+        assertEquals (5, MANAGER.getCollections ().size ());
+        for (final DeviceCollection collection: collections)
+        {
+            if (!"Empty".equals (collection.getName ()))
+                assertFalse (collection.filter (devices).isEmpty (), collection.getName ());
+        }
+
+        // There are identical plugins with and without a preferred format
+        final Map<String, Set<DeviceFileType>> formats = new HashMap<> ();
+        for (final DeviceMetadataImpl device: devices)
+            formats.computeIfAbsent (device.name (), key -> new HashSet<> ()).add (device.getFileType ());
+        assertTrue (formats.values ().stream ().anyMatch (types -> types.size () > 1 && types.contains (DeviceFileType.VST3)));
+        assertTrue (formats.values ().stream ().anyMatch (types -> types.size () > 1 && !types.contains (DeviceFileType.VST3) && !types.contains (DeviceFileType.CLAP) && !types.contains (DeviceFileType.VST2)));
+    }
+
+
+    @Test
+    void testCollectionOrder () throws IOException
+    {
+        setDuplicateFilter (0);
+
+        // Without preferred file types the devices of a collection are in the order of the
+        // catalogue
+        for (final DeviceCollection collection: collections)
+        {
+            final List<DeviceMetadataImpl> results = MANAGER.filterByCollection (collection);
+            assertEquals (collection.filter (devices), results, collection.getName ());
+            int last = -1;
+            for (final DeviceMetadataImpl device: results)
+            {
+                final int position = devices.indexOf (device);
+                assertTrue (position > last, collection.getName ());
+                last = position;
+            }
+            assertEquals (results.size (), MANAGER.countByCollection (collection), collection.getName ());
+        }
+    }
+
+
+    @Test
+    void testPreferredFileTypes () throws IOException
+    {
+        setDuplicateFilter (DUPLICATE_FILTER);
+
+        final List<DeviceMetadataImpl> results = MANAGER.filterBy (null, null, null, null, null);
+        assertEquals (scan (PREFERRED_TYPES, null, null, null, null, null), results);
+        assertTrue (results.size () < devices.size ());
+
+        // Only one of the identical plugins is kept if there is one with a preferred format,
+        // otherwise all are kept
+        final Map<String, List<DeviceMetadataImpl>> identical = new HashMap<> ();
+        for (final DeviceMetadataImpl device: results)
+            identical.computeIfAbsent (device.name (), key -> new ArrayList<> ()).add (device);
+        for (final List<DeviceMetadataImpl> group: identical.values ())
+        {
+            if (group.size () == 1)
+                continue;
+            for (final DeviceMetadataImpl device: group)
+                assertFalse (PREFERRED_TYPES.contains (device.getFileType ()), device.name ());
+        }
+    }
+
+
+    @Test
+    void testCounts () throws IOException
+    {
+        // The cached counts need to follow changes of the preferred file types
+        for (final int duplicateFilter: new int []
+        {
+            0,
+            DUPLICATE_FILTER,
+            0
+        })
+        {
+            setDuplicateFilter (duplicateFilter);
+            final List<DeviceFileType> preferredTypes = duplicateFilter == 0 ? List.of () : PREFERRED_TYPES;
+
+            for (final DeviceFileType fileType: DeviceFileType.values ())
+                assertEquals (scan (preferredTypes, fileType, null, null, null, null).size (), MANAGER.countByFileType (fileType), fileType.getName ());
+            for (final String category: MANAGER.getCategories ())
+                assertEquals (scan (preferredTypes, null, category, null, null, null).size (), MANAGER.countByCategory (category), category);
+            for (final String vendor: MANAGER.getVendors ())
+                assertEquals (scan (preferredTypes, null, null, vendor, null, null).size (), MANAGER.countByVendor (vendor), vendor);
+            for (final DeviceCollection collection: collections)
+                assertEquals (scan (preferredTypes, null, null, null, collection, null).size (), MANAGER.countByCollection (collection), collection.getName ());
+            for (final DeviceType deviceType: DeviceType.values ())
+                assertEquals (scan (preferredTypes, null, null, null, null, deviceType).size (), MANAGER.countByType (deviceType), deviceType.getName ());
+        }
+    }
+
+
+    @Test
+    void testRandomFilters () throws IOException
+    {
+        final Random random = new Random (815);
+        final List<String> categories = MANAGER.getCategories ();
+        categories.add ("Unknown");
+        final List<String> vendors = MANAGER.getVendors ();
+        vendors.add ("Unknown");
+        final DeviceFileType [] fileTypes = DeviceFileType.values ();
+        final DeviceType [] deviceTypes = DeviceType.values ();
+
+        for (int i = 0; i < 3000; i++)
+        {
+            final int duplicateFilter = i < 1500 ? 0 : DUPLICATE_FILTER;
+            if (i % 1500 == 0)
+                setDuplicateFilter (duplicateFilter);
+
+            final DeviceFileType fileType = random.nextInt (3) == 0 ? fileTypes[random.nextInt (fileTypes.length)] : null;
+            final String category = random.nextInt (3) == 0 ? categories.get (random.nextInt (categories.size ())) : null;
+            final String vendor = random.nextInt (3) == 0 ? vendors.get (random.nextInt (vendors.size ())) : null;
+            final DeviceCollection collection = random.nextInt (3) == 0 ? collections.get (random.nextInt (collections.size ())) : null;
+            final DeviceType deviceType = random.nextInt (3) == 0 ? deviceTypes[random.nextInt (deviceTypes.length)] : null;
+
+            final List<DeviceMetadataImpl> expected = scan (duplicateFilter == 0 ? List.of () : PREFERRED_TYPES, fileType, category, vendor, collection, deviceType);
+            final String filter = fileType + ", " + category + ", " + vendor + ", " + (collection == null ? null : collection.getName ()) + ", " + deviceType;
+            assertEquals (expected, MANAGER.filterBy (fileType, category, vendor, collection, deviceType), filter);
+            assertEquals (expected.size (), MANAGER.countBy (fileType, category, vendor, collection, deviceType), filter);
+        }
+    }
+
+
+    /**
+     * The filter of the device manager before the index was introduced: test all devices, filter
+     * the result by the collection and remove the identical devices which are not of the
+     * preferred file type.
+     *
+     * @param preferredTypes The preferred file types
+     * @param fileType Filter by device type (plugin format), may be null
+     * @param category Filter by device category, may be null
+     * @param vendor Filter by device vendor, may be null
+     * @param collection Filter by device collection, may be null
+     * @param deviceType Filter by device type, may be null
+     * @return The matching devices
+     */
+    private static List<DeviceMetadataImpl> scan (final List<DeviceFileType> preferredTypes, final DeviceFileType fileType, final String category, final String vendor, final DeviceCollection collection, final DeviceType deviceType)
+    {
+        List<DeviceMetadataImpl> results = new ArrayList<> ();
+        for (final DeviceMetadataImpl d: devices)
+        {
+            if (fileType != null && d.getFileType () != fileType || category != null && !d.hasCategory (category))
+                continue;
+            if (vendor != null && !vendor.equals (d.getVendor ()))
+                continue;
+            if (deviceType == null || d.getType () == deviceType)
+                results.add (d);
+        }
+
+        if (collection != null)
+            results = collection.filter (results);
+
+        if (preferredTypes.isEmpty () || results.size () <= 1)
+            return results;
+
+        final Map<String, Map<DeviceFileType, DeviceMetadataImpl>> identicalDevices = new TreeMap<> ();
+        for (final DeviceMetadataImpl device: results)
+            identicalDevices.computeIfAbsent (device.name (), name -> new EnumMap<> (DeviceFileType.class)).put (device.getFileType (), device);
+
+        final List<DeviceMetadataImpl> resultsFiltered = new ArrayList<> ();
+        for (final Map<DeviceFileType, DeviceMetadataImpl> deviceOptions: identicalDevices.values ())
+        {
+            DeviceMetadataImpl deviceMetadata = null;
+            for (final DeviceFileType prefType: preferredTypes)
+            {
+                deviceMetadata = deviceOptions.get (prefType);
+                if (deviceMetadata != null)
+                    break;
+            }
+            if (deviceMetadata == null)
+                resultsFiltered.addAll (deviceOptions.values ());
+            else
+                resultsFiltered.add (deviceMetadata);
+        }
+        return resultsFiltered;
+    }
+
+
+    /**
+     * Change the duplicate filter in Reaper's main INI file. The file is reloaded since its
+     * modification time changes.
+     *
+     * @param pattern The preferred file types, 4 bit for each
+     * @throws IOException Could not write the file
+     */
+    private static void setDuplicateFilter (final int pattern) throws IOException
+    {
+        final Path file = write ("reaper.ini", "[REAPER-fxadd]\ndupefilter=" + pattern + "\n");
+        numModifications++;
+        assertTrue (file.toFile ().setLastModified (1_000_000_000_000L + numModifications * 10_000L));
+    }
+
+
+    private static Path write (final String filename, final String content) throws IOException
+    {
+        return Files.writeString (folder.resolve (filename), content, StandardCharsets.UTF_8);
+    }
+}
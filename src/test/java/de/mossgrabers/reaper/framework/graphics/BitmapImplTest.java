@@ -0,0 +1,70 @@
+// Written by Jürgen Moßgraber - mossgrabers.de
+// (c) 2017-2026
+// Licensed under LGPLv3 - http://www.gnu.org/licenses/lgpl-3.0.txt
+
+package de.mossgrabers.reaper.framework.graphics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import de.mossgrabers.framework.controller.color.ColorEx;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+
+
+/**
+ * Tests that a bitmap is encoded in the layout which the display encoders expect: blue, green, red
+ * and an unused zero byte for each pixel, line by line.
+ *
+ * @author Jürgen Moßgraber
+ */
+class BitmapImplTest
+{
+    private static final int    WIDTH  = 13;
+    private static final int    HEIGHT = 6;
+
+    private static final int [] COLORS =
+    {
+        0x102030,
+        0xFF8001,
+        0x00FF7F,
+        0xC0C0C0
+    };
+
+
+    @Test
+    void testEncode ()
+    {
+        final BitmapImpl bitmap = new BitmapImpl (null, WIDTH, HEIGHT);
+        bitmap.render (false, gc -> {
+            // Fill the 4 quadrants of the bitmap with different colors
+            for (int i = 0; i < COLORS.length; i++)
+            {
+                final int color = COLORS[i];
+                gc.fillRectangle (i % 2 == 0 ? 0 : WIDTH / 2, i < 2 ? 0 : HEIGHT / 2, WIDTH, HEIGHT, ColorEx.fromRGB (color >> 16, color >> 8 & 0xFF, color & 0xFF));
+            }
+        });
+
+        bitmap.encode ( (imageBuffer, width, height) -> {
+            assertEquals (WIDTH, width);
+            assertEquals (HEIGHT, height);
+            assertEquals (0, imageBuffer.position ());
+            assertEquals (WIDTH * HEIGHT * 4, imageBuffer.remaining ());
+
+            final ByteBuffer buffer = imageBuffer.duplicate ();
+            for (int y = 0; y < height; y++)
+            {
+                for (int x = 0; x < width; x++)
+                {
+                    final int color = COLORS[(x < WIDTH / 2 ? 0 : 1) + (y < HEIGHT / 2 ? 0 : 2)];
+                    final String pixel = x + "," + y;
+                    assertEquals (color & 0xFF, buffer.get () & 0xFF, pixel);
+                    assertEquals (color >> 8 & 0xFF, buffer.get () & 0xFF, pixel);
+                    assertEquals (color >> 16 & 0xFF, buffer.get () & 0xFF, pixel);
+                    assertEquals (0, buffer.get (), pixel);
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,177 @@
+// Written by Jürgen Moßgraber - mossgrabers.de
+// (c) 2017-2026
+// Licensed under LGPLv3 - http://www.gnu.org/licenses/lgpl-3.0.txt
+
+package de.mossgrabers.reaper.framework.graphics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.mossgrabers.framework.utils.FrameworkException;
+import de.mossgrabers.reaper.framework.graphics.IconCache.Statistics;
+import de.mossgrabers.reaper.ui.utils.PropertiesEx;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.awt.Color;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+
+/**
+ * Tests that the icon cache identifies the icons by name and color, removes the least recently
+ * used icons if the memory budget is exceeded and that the budget is taken from the main
+ * configuration. The icons are rasterized from the SVG files of the resources.
+ *
+ * @author Jürgen Moßgraber
+ */
+class IconCacheTest
+{
+    private static final String MUTE     = "/images/channel/mute.svg";
+    private static final String SOLO     = "/images/channel/solo.svg";
+    private static final long   MEGABYTE = 1024L * 1024L;
+
+    private final List<String>  created  = new ArrayList<> ();
+
+
+    @AfterEach
+    void shutdown ()
+    {
+        SVGImage.setCacheBudget (IconCache.DEFAULT_BUDGET_MB);
+    }
+
+
+    @Test
+    void testKey ()
+    {
+        final IconCache cache = new IconCache (MEGABYTE);
+
+        final SVGImage red = this.get (cache, MUTE, Color.RED);
+        assertSame (red, this.get (cache, MUTE, Color.RED));
+        assertSame (red, this.get (cache, MUTE, new Color (255, 0, 0)));
+        assertEquals (MUTE, red.getImageName ());
+
+        // A different color or name is a different icon
+        final SVGImage green = this.get (cache, MUTE, Color.GREEN);
+        assertNotSame (red, green);
+        assertNotSame (red, this.get (cache, SOLO, Color.RED));
+        assertNotSame (green, this.get (cache, SOLO, Color.GREEN));
+        assertEquals (List.of (MUTE + " " + Color.RED, MUTE + " " + Color.GREEN, SOLO + " " + Color.RED, SOLO + " " + Color.GREEN), this.created);
+
+        final Statistics statistics = cache.getStatistics ();
+        assertEquals (2, statistics.hits ());
+        assertEquals (4, statistics.misses ());
+        assertEquals (0, statistics.evictions ());
+        assertEquals (4, statistics.entries ());
+        assertEquals (4 * getBytes (red), statistics.bytes ());
+        assertEquals (MEGABYTE, statistics.budget ());
+    }
+
+
+    @Test
+    void testEviction ()
+    {
+        // All colors of an icon have the same size, the budget fits 3 of them
+        final long bytes = getBytes (this.get (new IconCache (MEGABYTE), MUTE, Color.BLACK));
+        final IconCache cache = new IconCache (3 * bytes + bytes / 2);
+        this.created.clear ();
+
+        this.get (cache, MUTE, Color.RED);
+        this.get (cache, MUTE, Color.GREEN);
+        this.get (cache, MUTE, Color.BLUE);
+        assertEquals (3 * bytes, cache.getStatistics ().bytes ());
+        assertEquals (0, cache.getStatistics ().evictions ());
+
+        // Red is used again, therefore green is the least recently used icon
+        this.get (cache, MUTE, Color.RED);
+        this.get (cache, MUTE, Color.WHITE);
+        Statistics statistics = cache.getStatistics ();
+        assertEquals (1, statistics.evictions ());
+        assertEquals (3, statistics.entries ());
+        assertEquals (3 * bytes, statistics.bytes ());
+        this.get (cache, MUTE, Color.RED);
+        this.get (cache, MUTE, Color.BLUE);
+        this.get (cache, MUTE, Color.WHITE);
+        assertEquals (4, this.created.size ());
+        this.get (cache, MUTE, Color.GREEN);
+        assertEquals (MUTE + " " + Color.GREEN, this.created.get (4));
+
+        // Lowering the budget removes the least recently used icons, a new icon is kept even if it
+        // exceeds the budget on its own
+        cache.setBudget (bytes);
+        statistics = cache.getStatistics ();
+        assertEquals (1, statistics.entries ());
+        assertEquals (bytes, statistics.bytes ());
+        assertEquals (4, statistics.evictions ());
+        cache.setBudget (bytes / 2);
+        assertEquals (0, cache.getStatistics ().entries ());
+        assertEquals (0, cache.getStatistics ().bytes ());
+        this.get (cache, MUTE, Color.RED);
+        assertEquals (1, cache.getStatistics ().entries ());
+        assertEquals (bytes, cache.getStatistics ().bytes ());
+
+        // Clearing keeps the statistics
+        cache.clear ();
+        statistics = cache.getStatistics ();
+        assertEquals (0, statistics.entries ());
+        assertEquals (0, statistics.bytes ());
+        assertEquals (6, statistics.misses ());
+        assertEquals (5, statistics.evictions ());
+    }
+
+
+    @Test
+    void testBudgetSetting ()
+    {
+        final PropertiesEx configuration = new PropertiesEx ();
+        SVGImage.configureCache (configuration);
+        assertEquals (IconCache.DEFAULT_BUDGET_MB * MEGABYTE, SVGImage.getCacheStatistics ().budget ());
+
+        configuration.putInt (IconCache.BUDGET_SETTING, 2);
+        SVGImage.configureCache (configuration);
+        assertEquals (2 * MEGABYTE, SVGImage.getCacheStatistics ().budget ());
+
+        configuration.putString (IconCache.BUDGET_SETTING, "a lot");
+        SVGImage.configureCache (configuration);
+        assertEquals (IconCache.DEFAULT_BUDGET_MB * MEGABYTE, SVGImage.getCacheStatistics ().budget ());
+
+        // A budget of 0 does not keep any icon except the last one
+        configuration.putInt (IconCache.BUDGET_SETTING, 0);
+        SVGImage.configureCache (configuration);
+        final SVGImage icon = SVGImage.getSVGImage (MUTE, Color.ORANGE);
+        SVGImage.getSVGImage (SOLO, Color.ORANGE);
+        final Statistics statistics = SVGImage.getCacheStatistics ();
+        assertEquals (0, statistics.budget ());
+        assertEquals (1, statistics.entries ());
+        assertTrue (statistics.bytes () > 0);
+        assertNotSame (icon, SVGImage.getSVGImage (MUTE, Color.ORANGE));
+    }
+
+
+    private SVGImage get (final IconCache cache, final String imageName, final Color color)
+    {
+        return cache.get (imageName, color, (name, col) -> {
+
+            this.created.add (name + " " + col);
+            try
+            {
+                return new SVGImage (name, col);
+            }
+            catch (final IOException ex)
+            {
+                throw new FrameworkException ("SVG image not found.", ex);
+            }
+
+        });
+    }
+
+
+    private static long getBytes (final SVGImage image)
+    {
+        return 4L * image.getImage ().getWidth () * image.getImage ().getHeight ();
+    }
+}
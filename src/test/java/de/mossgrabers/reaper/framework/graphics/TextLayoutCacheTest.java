@@ -0,0 +1,228 @@
+// Written by Jürgen Moßgraber - mossgrabers.de
+// (c) 2017-2026
+// Licensed under LGPLv3 - http://www.gnu.org/licenses/lgpl-3.0.txt
+
+package de.mossgrabers.reaper.framework.graphics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import de.mossgrabers.framework.controller.color.ColorEx;
+import de.mossgrabers.reaper.ui.utils.FontCache;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.awt.Dimension;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.font.LineMetrics;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+
+
+/**
+ * Tests that the cached text metrics and fitted font sizes of the graphics context are identical to
+ * the ones which are measured without a cache, like the graphics context did before. Each label is
+ * measured several times to compare the cached values as well. Runs headless, with and without
+ * anti-aliasing.
+ *
+ * @author Jürgen Moßgraber
+ */
+class TextLayoutCacheTest
+{
+    private static final String [] LABELS   =
+    {
+        "Volume",
+        "Track 1",
+        "Pan",
+        "-12.3 dB",
+        "Hg",
+        "Ünïcödé",
+        "A very long parameter name which does not fit",
+        "   ",
+        ""
+    };
+
+    private static final String [] FAMILIES =
+    {
+        FontCache.SANS_SERIF,
+        FontCache.MONOSPACED
+    };
+
+    private final List<Graphics2D> graphics = new ArrayList<> ();
+
+
+    @AfterEach
+    void shutdown ()
+    {
+        this.graphics.forEach (Graphics2D::dispose);
+    }
+
+
+    @Test
+    void testMetrics ()
+    {
+        for (final boolean isAntialias: new boolean []
+        {
+            false,
+            true
+        })
+        {
+            for (final String family: FAMILIES)
+            {
+                final GraphicsContextImpl context = new GraphicsContextImpl (this.createGraphics (), family, isAntialias);
+                final Graphics2D reference = this.createReference (family, isAntialias);
+                final FontCache uncachedFonts = new FontCache (family);
+
+                for (int round = 0; round < 3; round++)
+                {
+                    for (int size = 6; size <= 40; size += 2)
+                    {
+                        context.getGraphics ().setFont (TextLayoutCache.getInstance (family).getFontCache ().getFont (size));
+                        reference.setFont (uncachedFonts.getFont (size));
+
+                        for (final String label: LABELS)
+                        {
+                            final String message = family + ", size " + size + ", antialias " + isAntialias + ": '" + label + "'";
+                            assertEquals (getTextDims (reference, label), context.getTextDims (label), message);
+                            assertEquals (getTextDescent (reference, label), context.getTextDescent (label), message);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+
+    @Test
+    void testFittingFontSize ()
+    {
+        for (final boolean isAntialias: new boolean []
+        {
+            false,
+            true
+        })
+        {
+            for (final String family: FAMILIES)
+            {
+                final GraphicsContextImpl context = new GraphicsContextImpl (this.createGraphics (), family, isAntialias);
+                final Graphics2D reference = this.createReference (family, isAntialias);
+                final FontCache uncachedFonts = new FontCache (family);
+
+                for (int round = 0; round < 2; round++)
+                {
+                    for (final String label: LABELS)
+                    {
+                        for (double maxHeight = 8; maxHeight <= 48; maxHeight += 8)
+                        {
+                            for (double maxWidth = 10; maxWidth <= 250; maxWidth += 40)
+                            {
+                                final String message = family + ", antialias " + isAntialias + ", height " + maxHeight + ", width " + maxWidth + ": '" + label + "'";
+                                final double expected = calculateFontSize (reference, uncachedFonts, label, maxHeight, maxWidth, 6);
+                                assertEquals (expected, context.calculateFontSize (label, maxHeight, maxWidth, 6), message);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+
+    @Test
+    void testSharedFonts ()
+    {
+        // All contexts of a font family use the same scaled fonts
+        final GraphicsContextImpl context1 = new GraphicsContextImpl (this.createGraphics (), FontCache.SANS_SERIF, true);
+        final GraphicsContextImpl context2 = new GraphicsContextImpl (this.createGraphics (), FontCache.SANS_SERIF, false);
+        context1.drawTextInHeight ("Test", 0, 0, 20, ColorEx.WHITE, 14);
+        context2.drawTextInHeight ("Test", 0, 0, 20, ColorEx.WHITE, 14);
+        assertSame (context1.getGraphics ().getFont (), context2.getGraphics ().getFont ());
+        assertSame (TextLayoutCache.getInstance (FontCache.SANS_SERIF), TextLayoutCache.getInstance (FontCache.SANS_SERIF));
+    }
+
+
+    private Graphics2D createGraphics ()
+    {
+        final Graphics2D gc = new BufferedImage (100, 50, BufferedImage.TYPE_INT_ARGB).createGraphics ();
+        this.graphics.add (gc);
+        return gc;
+    }
+
+
+    /**
+     * Create a graphics context which is configured like the one of the graphics context
+     * implementation but measures the texts without a cache.
+     *
+     * @param family The font family
+     * @param isAntialias Enable anti-aliasing
+     * @return The graphics
+     */
+    private Graphics2D createReference (final String family, final boolean isAntialias)
+    {
+        return new GraphicsContextImpl (this.createGraphics (), family, isAntialias).getGraphics ();
+    }
+
+
+    /**
+     * The previous implementation of GraphicsContextImpl.getTextDims.
+     *
+     * @param gc The graphics with the font to measure
+     * @param text The text
+     * @return The dimensions
+     */
+    private static Dimension getTextDims (final Graphics2D gc, final String text)
+    {
+        final FontMetrics fm = gc.getFontMetrics ();
+        final Rectangle2D bounds = fm.getStringBounds (text, gc);
+        final LineMetrics lm = fm.getFont ().getLineMetrics (text, gc.getFontRenderContext ());
+        final double width = bounds.getWidth ();
+        bounds.setRect (bounds.getX (), bounds.getY (), width, lm.getHeight ());
+        return new Dimension ((int) Math.round (width), (int) Math.round (bounds.getHeight ()));
+    }
+
+
+    /**
+     * The previous implementation of GraphicsContextImpl.getTextDescent.
+     *
+     * @param gc The graphics with the font to measure
+     * @param text The text
+     * @return The descent
+     */
+    private static int getTextDescent (final Graphics2D gc, final String text)
+    {
+        return Math.round (gc.getFont ().getLineMetrics (text, gc.getFontRenderContext ()).getDescent ());
+    }
+
+
+    /**
+     * The previous implementation of GraphicsContextImpl.calculateFontSize.
+     *
+     * @param gc The graphics to measure with
+     * @param fontCache The scaled fonts
+     * @param text The text
+     * @param maxHeight The maximum height of the text
+     * @param maxWidth The maximum width of the text
+     * @param minimumFontSize The font size to start from
+     * @return The font size
+     */
+    private static double calculateFontSize (final Graphics2D gc, final FontCache fontCache, final String text, final double maxHeight, final double maxWidth, final double minimumFontSize)
+    {
+        double size = minimumFontSize;
+        double fittingSize = minimumFontSize;
+        while (size < maxHeight)
+        {
+            gc.setFont (fontCache.getFont ((int) size));
+            final Dimension textDims = getTextDims (gc, text);
+            final double width = textDims.getWidth ();
+            if (width > maxWidth)
+                break;
+            fittingSize = size;
+            size += 1.0;
+        }
+        return fittingSize;
+    }
+}
@@ -0,0 +1,451 @@
+// Written by Jürgen Moßgraber - mossgrabers.de
+// (c) 2017-2026
+// Licensed under LGPLv3 - http://www.gnu.org/licenses/lgpl-3.0.txt
+
+package de.mossgrabers.reaper.framework.midi;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.mossgrabers.framework.controller.hardware.BindType;
+import de.mossgrabers.framework.controller.hardware.IHwButton;
+import de.mossgrabers.framework.controller.hardware.IHwContinuousControl;
+import de.mossgrabers.framework.controller.hardware.IHwFader;
+import de.mossgrabers.framework.utils.ButtonEvent;
+import de.mossgrabers.reaper.framework.daw.HostImpl;
+import de.mossgrabers.reaper.ui.utils.LogModel;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Random;
+
+
+/**
+ * Tests that the dispatch tables of the MIDI input trigger the same controls as the maps which were
+ * used before: buttons bound to a specific value or to any value, touch and continuous controls and
+ * the removal of buttons. The previous implementation is kept in the test as the reference. The
+ * messages which are not matched are forwarded to the MIDI callback, the note messages always.
+ *
+ * @author Jürgen Moßgraber
+ */
+class MidiInputImplTest
+{
+    private static final int      NUM_CHANNELS = 3;
+    private static final int      NUM_CONTROLS = 12;
+
+    private final List<String>    events       = new ArrayList<> ();
+    private final MapDispatcher   reference    = new MapDispatcher ();
+    private final List<IHwButton> buttons      = new ArrayList<> ();
+    private MidiInputImpl         input;
+
+
+    @BeforeEach
+    void setup ()
+    {
+        final LogModel logModel = new LogModel ();
+        this.input = new MidiInputImpl (new HostImpl (logModel, null, null), null, new MidiConnection (logModel), null, new String [0]);
+        this.input.setMidiCallback ( (status, data1, data2) -> this.events.add ("callback " + status + " " + data1 + " " + data2));
+    }
+
+
+    @Test
+    void testButtonValues ()
+    {
+        final IHwButton anyValue = this.createButton ("any");
+        final IHwButton value0 = this.createButton ("value0");
+        final IHwButton value127 = this.createButton ("value127");
+        this.bind (anyValue, BindType.CC, 0, 10, -1);
+        this.bind (value0, BindType.CC, 0, 11, 0);
+        this.bind (value127, BindType.CC, 0, 11, 127);
+
+        // A button bound to any value is released with 0, buttons bound to a value are pressed
+        this.assertMessage (0xB0, 10, 127, "any DOWN 1.0");
+        this.assertMessage (0xB0, 10, 0, "any UP 0.0");
+        this.assertMessage (0xB0, 11, 0, "value0 DOWN 0.0");
+        this.assertMessage (0xB0, 11, 127, "value127 DOWN 1.0");
+        this.assertMessage (0xB0, 11, 64, "callback 176 11 64");
+
+        // The bound value must match, notes are forwarded as well
+        final IHwButton note = this.createButton ("note");
+        this.bind (note, BindType.NOTE, 1, 60, 100);
+        this.assertMessage (0x91, 60, 100, "note DOWN " + 100 / 127.0, "callback 145 60 100");
+        this.assertMessage (0x91, 60, 101, "callback 145 60 101");
+
+        // Bindings to all MPE channels
+        final IHwButton mpe = this.createButton ("mpe");
+        this.bind (mpe, BindType.NOTE, -1, 48, -1);
+        this.assertMessage (0x90, 48, 0, "callback 144 48 0");
+        this.assertMessage (0x9F, 48, 0, "mpe UP 0.0", "callback 159 48 0");
+        this.assertMessage (0x85, 48, 0, "mpe UP 0.0", "callback 133 48 0");
+
+        // The first channel is removed
+        this.unbind (mpe);
+        this.assertMessage (0x91, 48, 127, "callback 145 48 127");
+        this.assertMessage (0x92, 48, 127, "mpe DOWN 1.0", "callback 146 48 127");
+    }
+
+
+    @Test
+    void testRandomBindings ()
+    {
+        final Random random = new Random (4711);
+        final BindType [] buttonTypes =
+        {
+            BindType.CC,
+            BindType.NOTE
+        };
+
+        // Each channel and control gets one kind of binding, a button for any value is bound
+        // before buttons for specific values which is where the previous maps preferred it
+        for (int channel = 0; channel < NUM_CHANNELS; channel++)
+        {
+            for (int control = 0; control < NUM_CONTROLS; control++)
+            {
+                final BindType type = buttonTypes[random.nextInt (buttonTypes.length)];
+                final String name = channel + "/" + control;
+                switch (random.nextInt (6))
+                {
+                    case 0:
+                        this.bind (this.createButton ("any " + type + " " + name), type, channel, control, -1);
+                        break;
+                    case 1, 2:
+                        if (random.nextBoolean ())
+                            this.bind (this.createButton ("any " + type + " " + name), type, channel, control, -1);
+                        for (int i = random.nextInt (1, 6); i > 0; i--)
+                        {
+                            final int value = random.nextBoolean () ? 127 * random.nextInt (2) : random.nextInt (128);
+                            this.bind (this.createButton ("value " + value + " " + type + " " + name), type, channel, control, value);
+                        }
+                        break;
+                    case 3:
+                        this.bindTouch (this.createContinuous ("touch " + type + " " + name), type, channel, control);
+                        break;
+                    case 4:
+                        this.bindContinuous (this.createContinuous ("continuous " + name), BindType.CC, channel, control);
+                        break;
+                    default:
+                        // Unbound
+                        break;
+                }
+            }
+            if (random.nextBoolean ())
+                this.bindContinuous (this.createContinuous ("pitchbend " + channel), BindType.PITCHBEND, channel, 0);
+        }
+
+        this.sendRandomMessages (random);
+
+        // Remove some of the buttons
+        for (int i = 0; i < this.buttons.size () / 3; i++)
+            this.unbind (this.buttons.get (random.nextInt (this.buttons.size ())));
+        this.sendRandomMessages (random);
+    }
+
+
+    private void sendRandomMessages (final Random random)
+    {
+        final int [] commands =
+        {
+            0x80,
+            0x90,
+            0xB0,
+            0xE0,
+            0xD0
+        };
+
+        int matched = 0;
+        for (int i = 0; i < 5000; i++)
+        {
+            final int status = commands[random.nextInt (commands.length)] | random.nextInt (NUM_CHANNELS + 1);
+            final int data1 = random.nextInt (NUM_CONTROLS + 2);
+            final int data2 = random.nextBoolean () ? 127 * random.nextInt (2) : random.nextInt (128);
+
+            final List<String> expected = this.reference.handle (status, data1, data2);
+            this.events.clear ();
+            this.input.handleShortMessage (status, data1, data2);
+            assertEquals (expected, this.events, "Message " + Integer.toHexString (status) + " " + data1 + " " + data2);
+            if (!expected.isEmpty () && !expected.get (0).startsWith ("callback"))
+                matched++;
+        }
+        assertTrue (matched > 500, "Matched messages: " + matched);
+    }
+
+
+    private void assertMessage (final int status, final int data1, final int data2, final String... expected)
+    {
+        this.events.clear ();
+        this.input.handleShortMessage (status, data1, data2);
+        assertEquals (List.of (expected), this.events);
+        assertEquals (List.of (expected), this.reference.handle (status, data1, data2));
+    }
+
+
+    private void bind (final IHwButton button, final BindType type, final int channel, final int control, final int value)
+    {
+        if (value == -1)
+            this.input.bind (button, type, channel, control);
+        else
+            this.input.bind (button, type, channel, control, value);
+        this.reference.bind (button, type, channel, control, value);
+    }
+
+
+    private void unbind (final IHwButton button)
+    {
+        this.input.unbind (button);
+        this.reference.unbind (button);
+    }
+
+
+    private void bindTouch (final IHwContinuousControl control, final BindType type, final int channel, final int number)
+    {
+        this.input.bindTouch (control, type, channel, number);
+        this.reference.bindTouch (control, type, channel, number);
+    }
+
+
+    private void bindContinuous (final IHwFader control, final BindType type, final int channel, final int number)
+    {
+        this.input.bind (control, type, channel, number);
+        this.reference.bindContinuous (control, type, channel, number);
+    }
+
+
+    private IHwButton createButton (final String name)
+    {
+        final IHwButton button = this.createControl (IHwButton.class, name);
+        this.buttons.add (button);
+        return button;
+    }
+
+
+    private IHwFader createContinuous (final String name)
+    {
+        return this.createControl (IHwFader.class, name);
+    }
+
+
+    /**
+     * Create a control which records the calls of its trigger and value methods.
+     *
+     * @param clazz The interface of the control
+     * @param name The name of the control used in the recorded events
+     * @return The control
+     */
+    private <T> T createControl (final Class<T> clazz, final String name)
+    {
+        return clazz.cast (Proxy.newProxyInstance (clazz.getClassLoader (), new Class<?> []
+        {
+            clazz
+        }, (proxy, method, args) -> {
+            switch (method.getName ())
+            {
+                case "trigger", "triggerTouch", "handleValue":
+                    final StringBuilder event = new StringBuilder (name);
+                    for (final Object arg: args)
+                        event.append (' ').append (arg);
+                    this.events.add (event.toString ());
+                    return null;
+                case "isBound":
+                    return Boolean.TRUE;
+                case "toString":
+                    return name;
+                case "hashCode":
+                    return Integer.valueOf (System.identityHashCode (proxy));
+                case "equals":
+                    return Boolean.valueOf (proxy == args[0]);
+                default:
+                    final Class<?> type = method.getReturnType ();
+                    return type.isPrimitive () && type != void.class ? Array.get (Array.newInstance (type, 1), 0) : null;
+            }
+        }));
+    }
+
+
+    /**
+     * The previous dispatch of the MIDI input, which kept the bindings in maps.
+     */
+    private static class MapDispatcher
+    {
+        private final Map<Integer, Map<Integer, Map<Integer, IHwButton>>> ccButtonMatchers            = new HashMap<> ();
+        private final Map<Integer, Map<Integer, Map<Integer, IHwButton>>> noteButtonMatchers          = new HashMap<> ();
+        private final Map<Integer, Map<Integer, IHwContinuousControl>>    ccContinuousMatchers        = new HashMap<> ();
+        private final Map<Integer, IHwContinuousControl>                  pitchbendContinuousMatchers = new HashMap<> ();
+        private final Map<Integer, Map<Integer, IHwContinuousControl>>    ccTouchMatchers             = new HashMap<> ();
+        private final Map<Integer, Map<Integer, IHwContinuousControl>>    noteTouchMatchers           = new HashMap<> ();
+        private final List<String>                                        result                      = new ArrayList<> ();
+
+
+        void bind (final IHwButton button, final BindType type, final int channel, final int control, final int value)
+        {
+            if (channel == -1)
+            {
+                for (int chn = 1; chn < 16; chn++)
+                    this.bind (button, type, chn, control, value);
+                return;
+            }
+
+            final Map<Integer, Map<Integer, IHwButton>> controlMap = (type == BindType.CC ? this.ccButtonMatchers : this.noteButtonMatchers).computeIfAbsent (Integer.valueOf (channel), key -> new HashMap<> ());
+            controlMap.computeIfAbsent (Integer.valueOf (control), key -> new HashMap<> ()).put (Integer.valueOf (value), button);
+        }
+
+
+        void unbind (final IHwButton button)
+        {
+            if (!unbind (this.ccButtonMatchers, button))
+                unbind (this.noteButtonMatchers, button);
+        }
+
+
+        private static boolean unbind (final Map<Integer, Map<Integer, Map<Integer, IHwButton>>> matchers, final IHwButton button)
+        {
+            for (final Map<Integer, Map<Integer, IHwButton>> m: matchers.values ())
+            {
+                for (final Map<Integer, IHwButton> v: m.values ())
+                {
+                    if (v.values ().remove (button))
+                        return true;
+                }
+            }
+            return false;
+        }
+
+
+        void bindTouch (final IHwContinuousControl control, final BindType type, final int channel, final int number)
+        {
+            (type == BindType.CC ? this.ccTouchMatchers : this.noteTouchMatchers).computeIfAbsent (Integer.valueOf (channel), key -> new HashMap<> ()).put (Integer.valueOf (number), control);
+        }
+
+
+        void bindContinuous (final IHwContinuousControl control, final BindType type, final int channel, final int number)
+        {
+            if (type == BindType.PITCHBEND)
+                this.pitchbendContinuousMatchers.put (Integer.valueOf (channel), control);
+            else
+                this.ccContinuousMatchers.computeIfAbsent (Integer.valueOf (channel), key -> new HashMap<> ()).put (Integer.valueOf (number), control);
+        }
+
+
+        /**
+         * Handle a message like the previous implementation of the MIDI input.
+         *
+         * @param status The status byte
+         * @param data1 The first data byte
+         * @param data2 The second data byte
+         * @return The triggered controls and the forwarded message
+         */
+        List<String> handle (final int status, final int data1, final int data2)
+        {
+            this.result.clear ();
+            final int code = status & 0xF0;
+            final Integer channel = Integer.valueOf (status & 0xF);
+            final boolean isProcessed = switch (code)
+            {
+                case 0xB0 -> this.handleCC (channel, data1, data2);
+                case 0x80, 0x90 -> this.handleNote (channel, data1, data2, code == 0x80 || data2 == 0);
+                case 0xE0 -> this.handlePitchbend (channel, data1, data2);
+                default -> false;
+            };
+            if (!isProcessed || code == 0x80 || code == 0x90)
+                this.result.add ("callback " + status + " " + data1 + " " + data2);
+            return new ArrayList<> (this.result);
+        }
+
+
+        private boolean handleNote (final Integer channel, final int data1, final int data2, final boolean isNoteOff)
+        {
+            final Map<Integer, Map<Integer, IHwButton>> noteMap = this.noteButtonMatchers.get (channel);
+            if (noteMap != null)
+            {
+                final Map<Integer, IHwButton> valueMap = noteMap.get (Integer.valueOf (data1));
+                if (valueMap != null)
+                {
+                    for (final Entry<Integer, IHwButton> valueButtonPair: valueMap.entrySet ())
+                    {
+                        final int value = valueButtonPair.getKey ().intValue ();
+                        if (value == -1 || value == data2)
+                        {
+                            this.result.add (valueButtonPair.getValue () + " " + (isNoteOff ? ButtonEvent.UP : ButtonEvent.DOWN) + " " + data2 / 127.0);
+                            return true;
+                        }
+                    }
+                }
+            }
+
+            final Map<Integer, IHwContinuousControl> noteTouchMap = this.noteTouchMatchers.get (channel);
+            if (noteTouchMap != null)
+            {
+                final IHwContinuousControl ccButton = noteTouchMap.get (Integer.valueOf (data1));
+                if (ccButton != null)
+                {
+                    this.result.add (ccButton + " " + !isNoteOff);
+                    return true;
+                }
+            }
+            return false;
+        }
+
+
+        private boolean handleCC (final Integer channel, final int data1, final int data2)
+        {
+            final Map<Integer, Map<Integer, IHwButton>> ccButtonMap = this.ccButtonMatchers.get (channel);
+            if (ccButtonMap != null)
+            {
+                final Map<Integer, IHwButton> valueMap = ccButtonMap.get (Integer.valueOf (data1));
+                if (valueMap != null)
+                {
+                    for (final Entry<Integer, IHwButton> valueButtonPair: valueMap.entrySet ())
+                    {
+                        final int value = valueButtonPair.getKey ().intValue ();
+                        if (value == -1 || value == data2)
+                        {
+                            final ButtonEvent event = value == 0 || data2 > 0 ? ButtonEvent.DOWN : ButtonEvent.UP;
+                            this.result.add (valueButtonPair.getValue () + " " + event + " " + data2 / 127.0);
+                            return true;
+                        }
+                    }
+                }
+            }
+
+            final Map<Integer, IHwContinuousControl> ccTouchMap = this.ccTouchMatchers.get (channel);
+            if (ccTouchMap != null)
+            {
+                final IHwContinuousControl ccButton = ccTouchMap.get (Integer.valueOf (data1));
+                if (ccButton != null)
+                {
+                    this.result.add (ccButton + " " + (data2 > 0));
+                    return true;
+                }
+            }
+
+            final Map<Integer, IHwContinuousControl> ccContinuousMap = this.ccContinuousMatchers.get (channel);
+            if (ccContinuousMap != null)
+            {
+                final IHwContinuousControl ccContinuous = ccContinuousMap.get (Integer.valueOf (data1));
+                if (ccContinuous != null)
+                {
+                    this.result.add (ccContinuous + " " + data2 / 127.0);
+                    return true;
+                }
+            }
+            return false;
+        }
+
+
+        private boolean handlePitchbend (final Integer channel, final int data1, final int data2)
+        {
+            final IHwContinuousControl pbContinuous = this.pitchbendContinuousMatchers.get (channel);
+            if (pbContinuous == null)
+                return false;
+            this.result.add (pbContinuous + " " + (data2 * 128 + data1) / 16383.0);
+            return true;
+        }
+    }
+}
@@ -0,0 +1,173 @@
+// Written by Jürgen Moßgraber - mossgrabers.de
+// (c) 2017-2026
+// Licensed under LGPLv3 - http://www.gnu.org/licenses/lgpl-3.0.txt
+
+package de.mossgrabers.reaper.framework.osc;
+
+import de.mossgrabers.framework.osc.IOpenSoundControlClient;
+import de.mossgrabers.framework.osc.IOpenSoundControlMessage;
+
+import com.illposed.osc.OSCBadDataEvent;
+import com.illposed.osc.OSCBundle;
+import com.illposed.osc.OSCMessage;
+import com.illposed.osc.OSCPacket;
+import com.illposed.osc.OSCPacketEvent;
+import com.illposed.osc.OSCPacketListener;
+import com.illposed.osc.transport.OSCPortIn;
+
+import java.io.IOException;
+import java.net.DatagramSocket;
+import java.util.ArrayList;
+import java.util.List;
+
+
+/**
+ * Sends OSC messages with the client implementation over UDP to a local port and records the
+ * received messages in the order in which they arrived. Bundles are unpacked.
+ *
+ * @author Jürgen Moßgraber
+ */
+public class OpenSoundControlLoopback implements AutoCloseable
+{
+    private static final long                    TIMEOUT  = 5000;
+
+    private final List<IOpenSoundControlMessage> received = new ArrayList<> ();
+    private final List<Exception>                errors   = new ArrayList<> ();
+    private final OSCPortIn                      receiver;
+    private final OpenSoundControlClientImpl     client;
+
+
+    /**
+     * Constructor. Starts to listen on a free local port.
+     *
+     * @throws IOException Could not open the port
+     */
+    public OpenSoundControlLoopback () throws IOException
+    {
+        final int port = findFreePort ();
+        this.receiver = new OSCPortIn (port);
+        this.receiver.addPacketListener (new PacketListener ());
+        this.receiver.startListening ();
+
+        // The host is only used to report errors
+        this.client = new OpenSoundControlClientImpl (null, "127.0.0.1", port);
+    }
+
+
+    /**
+     * Get the client which sends to the local port.
+     *
+     * @return The client
+     */
+    public IOpenSoundControlClient getClient ()
+    {
+        return this.client;
+    }
+
+
+    /**
+     * Wait until the given number of messages was received and remove them.
+     *
+     * @param count The number of messages to wait for
+     * @return The received messages, might be less than count if the timeout elapsed
+     * @throws InterruptedException Interrupted while waiting
+     */
+    public List<IOpenSoundControlMessage> await (final int count) throws InterruptedException
+    {
+        final long end = System.currentTimeMillis () + TIMEOUT;
+        synchronized (this.received)
+        {
+            while (this.received.size () < count && System.currentTimeMillis () < end)
+                this.received.wait (10);
+
+            final List<IOpenSoundControlMessage> messages = new ArrayList<> (this.received.subList (0, Math.min (count, this.received.size ())));
+            this.received.subList (0, messages.size ()).clear ();
+            return messages;
+        }
+    }
+
+
+    /**
+     * Get the messages which were received but not yet removed with await.
+     *
+     * @return The messages
+     */
+    public List<IOpenSoundControlMessage> getPending ()
+    {
+        synchronized (this.received)
+        {
+            return new ArrayList<> (this.received);
+        }
+    }
+
+
+    /**
+     * Get the packets which could not be parsed.
+     *
+     * @return The parse errors
+     */
+    public List<Exception> getErrors ()
+    {
+        synchronized (this.received)
+        {
+            return new ArrayList<> (this.errors);
+        }
+    }
+
+
+    /** {@inheritDoc} */
+    @Override
+    public void close () throws IOException
+    {
+        this.client.close ();
+        this.receiver.stopListening ();
+        this.receiver.close ();
+    }
+
+
+    private static int findFreePort () throws IOException
+    {
+        try (final DatagramSocket socket = new DatagramSocket (0))
+        {
+            return socket.getLocalPort ();
+        }
+    }
+
+
+    private class PacketListener implements OSCPacketListener
+    {
+        /** {@inheritDoc} */
+        @Override
+        public void handlePacket (final OSCPacketEvent event)
+        {
+            synchronized (OpenSoundControlLoopback.this.received)
+            {
+                this.collectMessages (event.getPacket ());
+                OpenSoundControlLoopback.this.received.notifyAll ();
+            }
+        }
+
+
+        /** {@inheritDoc} */
+        @Override
+        public void handleBadData (final OSCBadDataEvent event)
+        {
+            synchronized (OpenSoundControlLoopback.this.received)
+            {
+                OpenSoundControlLoopback.this.errors.add (event.getException ());
+            }
+        }
+
+
+        private void collectMessages (final OSCPacket packet)
+        {
+            if (packet instanceof final OSCMessage osc)
+                OpenSoundControlLoopback.this.received.add (new OpenSoundControlMessageImpl (osc));
+            else if (packet instanceof final OSCBundle bundle)
+            {
+                for (final OSCPacket op: bundle.getPackets ())
+                    this.collectMessages (op);
+            }
+        }
+    }
+}
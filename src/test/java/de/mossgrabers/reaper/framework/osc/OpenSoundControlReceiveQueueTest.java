@@ -0,0 +1,150 @@
+// Written by Jürgen Moßgraber - mossgrabers.de
+// (c) 2017-2026
+// Licensed under LGPLv3 - http://www.gnu.org/licenses/lgpl-3.0.txt
+
+package de.mossgrabers.reaper.framework.osc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import de.mossgrabers.framework.osc.IOpenSoundControlMessage;
+import de.mossgrabers.reaper.ui.utils.LogModel;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.DatagramSocket;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+
+/**
+ * Tests the coalescing and the order of received OSC messages, directly and over a loopback
+ * connection.
+ *
+ * @author Jürgen Moßgraber
+ */
+class OpenSoundControlReceiveQueueTest
+{
+    private final OpenSoundControlReceiveQueue queue   = new OpenSoundControlReceiveQueue ();
+    private final List<String>                 handled = new ArrayList<> ();
+
+
+    @Test
+    void testFaderIsCoalesced ()
+    {
+        this.offer ("/track/1/volume", 0.1f, 0.2f, 0.3f);
+        this.offer ("/track/1/pan", 0.4f, 0.6f);
+        this.offer ("/device/param/2/value", 0.1f, 0.9f);
+        this.offer ("/tempo/raw", 100f, 120f);
+        this.queue.dispatch (this::handle);
+
+        assertEquals (List.of ("/track/1/volume 0.3", "/track/1/pan 0.6", "/device/param/2/value 0.9", "/tempo/raw 120.0"), this.handled);
+        assertEquals (5, this.queue.getStatistics ().coalesced ());
+    }
+
+
+    @Test
+    void testTriggersAreKept ()
+    {
+        this.offer ("/play", 1f, 0f);
+        this.offer ("/vkb_midi/1/drum/36", 1f, 0f, 1f, 0f);
+        this.offer ("/track/1/mute", 1f, 0f);
+        this.offer ("/tempo/+", 1f, 1f);
+        this.queue.dispatch (this::handle);
+
+        assertEquals (List.of ("/play 1.0", "/play 0.0", "/vkb_midi/1/drum/36 1.0", "/vkb_midi/1/drum/36 0.0", "/vkb_midi/1/drum/36 1.0", "/vkb_midi/1/drum/36 0.0", "/track/1/mute 1.0", "/track/1/mute 0.0", "/tempo/+ 1.0", "/tempo/+ 1.0"), this.handled);
+        assertEquals (0, this.queue.getStatistics ().coalesced ());
+    }
+
+
+    @Test
+    void testReleaseIsNotMerged ()
+    {
+        this.offer ("/track/1/volume", 0.5f, 0f, 0f, 0.2f, 0.3f);
+        this.queue.dispatch (this::handle);
+
+        assertEquals (List.of ("/track/1/volume 0.5", "/track/1/volume 0.3"), this.handled);
+    }
+
+
+    @Test
+    void testOrder ()
+    {
+        this.offer ("/track/1/volume", 0.1f);
+        this.offer ("/track/2/volume", 0.2f);
+        this.offer ("/track/1/volume", 0.3f);
+        this.offer ("/track/1/select", 1f);
+        this.offer ("/track/1/volume", 0.4f, 0.5f);
+        this.queue.dispatch (this::handle);
+
+        assertEquals (List.of ("/track/1/volume 0.1", "/track/2/volume 0.2", "/track/1/volume 0.3", "/track/1/select 1.0", "/track/1/volume 0.5"), this.handled);
+    }
+
+
+    @Test
+    void testLoopback () throws IOException, InterruptedException
+    {
+        final List<String> received = new ArrayList<> ();
+        final OpenSoundControlServerImpl server = new OpenSoundControlServerImpl (message -> received.add (format (message)), new LogModel ());
+        final int port = findFreePort ();
+        server.start (port);
+
+        // The host is only used to report errors
+        final OpenSoundControlClientImpl client = new OpenSoundControlClientImpl (null, "127.0.0.1", port);
+        try
+        {
+            final List<IOpenSoundControlMessage> messages = new ArrayList<> ();
+            for (int i = 1; i <= 10; i++)
+                messages.add (new OpenSoundControlMessageImpl ("/track/1/volume", List.of (Float.valueOf (i / 10f))));
+            messages.add (new OpenSoundControlMessageImpl ("/play", List.of (Float.valueOf (1))));
+            messages.add (new OpenSoundControlMessageImpl ("/play", List.of (Float.valueOf (0))));
+            messages.add (new OpenSoundControlMessageImpl ("/track/1/volume", List.of (Float.valueOf (0.5f))));
+            messages.add (new OpenSoundControlMessageImpl ("/track/1/volume", List.of (Float.valueOf (0))));
+            client.sendBundle (messages);
+
+            final long end = System.currentTimeMillis () + 5000;
+            while (server.getStatistics ().received () < messages.size () && System.currentTimeMillis () < end)
+                Thread.sleep (5);
+            server.dispatch ();
+        }
+        finally
+        {
+            client.close ();
+            server.close ();
+        }
+
+        assertEquals (List.of ("/track/1/volume 1.0", "/play 1.0", "/play 0.0", "/track/1/volume 0.5", "/track/1/volume 0.0"), received);
+        assertEquals (9, server.getStatistics ().coalesced ());
+        assertEquals (0, server.getStatistics ().dropped ());
+    }
+
+
+    private void offer (final String address, final float... values)
+    {
+        for (final float value: values)
+            this.queue.offer (new OpenSoundControlMessageImpl (address, List.of (Float.valueOf (value))), System.nanoTime ());
+    }
+
+
+    private void handle (final IOpenSoundControlMessage message)
+    {
+        this.handled.add (format (message));
+    }
+
+
+    private static String format (final IOpenSoundControlMessage message)
+    {
+        final Object [] values = message.getValues ();
+        return message.getAddress () + " " + (values.length == 1 ? values[0] : Arrays.toString (values));
+    }
+
+
+    private static int findFreePort () throws IOException
+    {
+        try (final DatagramSocket socket = new DatagramSocket (0))
+        {
+            return socket.getLocalPort ();
+        }
+    }
+}
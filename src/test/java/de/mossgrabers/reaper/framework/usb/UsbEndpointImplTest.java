@@ -0,0 +1,57 @@
+// Written by Jürgen Moßgraber - mossgrabers.de
+// (c) 2017-2026
+// Licensed under LGPLv3 - http://www.gnu.org/licenses/lgpl-3.0.txt
+
+package de.mossgrabers.reaper.framework.usb;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.mossgrabers.framework.daw.IHost;
+import de.mossgrabers.framework.usb.FakeUsbEndpoint;
+import de.mossgrabers.framework.usb.UsbTransferPipeline;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+
+/**
+ * Tests the parts of the end-point which do not require a device: after the end-point was cleared,
+ * e.g. since the device was released, transfers fail without calling libusb and a pipeline on top
+ * of it continues to work.
+ *
+ * @author Jürgen Moßgraber
+ */
+class UsbEndpointImplTest
+{
+    @Test
+    void testSendAfterClear () throws InterruptedException
+    {
+        final FakeUsbEndpoint fake = new FakeUsbEndpoint ();
+        final IHost host = fake.createHost ();
+        final UsbEndpointImpl endpoint = new UsbEndpointImpl (host, null, (byte) 0x01, true);
+
+        // No transfer is active, therefore clearing must not wait
+        final long start = System.nanoTime ();
+        endpoint.clear ();
+        assertTrue (System.nanoTime () - start < 1_000_000_000L);
+
+        final List<Integer> results = new ArrayList<> ();
+        endpoint.sendAsync (host.createMemoryBlock (4), length -> results.add (Integer.valueOf (length)), 1000);
+        assertEquals (List.of (Integer.valueOf (-1)), results);
+
+        final UsbTransferPipeline pipeline = new UsbTransferPipeline (host, endpoint, host.createMemoryBlock (2), 4, 2, 1000);
+        for (int i = 0; i < 3; i++)
+        {
+            pipeline.acquire ();
+            pipeline.submit ();
+        }
+        assertEquals (3, pipeline.getStatistics ().failedFrames ());
+        assertTrue (pipeline.close (100));
+
+        // A cleared end-point is not an error
+        assertTrue (fake.getErrors ().isEmpty (), fake.getErrors ()::toString);
+    }
+}
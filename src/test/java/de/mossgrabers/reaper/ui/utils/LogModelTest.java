@@ -0,0 +1,111 @@
+// Written by Jürgen Moßgraber - mossgrabers.de
+// (c) 2017-2026
+// Licensed under LGPLv3 - http://www.gnu.org/licenses/lgpl-3.0.txt
+
+package de.mossgrabers.reaper.ui.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.mossgrabers.framework.utils.TaskScheduler;
+import de.mossgrabers.framework.utils.TaskScheduler.Lane;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+
+/**
+ * Tests that the log file is written in order on the file lane and is rotated.
+ *
+ * @author Jürgen Moßgraber
+ */
+class LogModelTest
+{
+    @TempDir
+    Path folder;
+
+
+    @Test
+    void testWrittenOnFileLane () throws IOException, InterruptedException, ExecutionException, TimeoutException
+    {
+        final File file = this.folder.resolve ("test.log").toFile ();
+        final LogModel logModel = new LogModel ();
+        logModel.setLogFile (file);
+
+        // Block the file lane, the timer lane must still drain the messages
+        final CountDownLatch release = new CountDownLatch (1);
+        TaskScheduler.getInstance ().execute (Lane.FILE, () -> {
+            try
+            {
+                release.await (5, TimeUnit.SECONDS);
+            }
+            catch (final InterruptedException ex)
+            {
+                Thread.currentThread ().interrupt ();
+            }
+        });
+
+        for (int i = 0; i < 100; i++)
+            logModel.log ("Message " + i, i % 10 == 0);
+        waitFor (Lane.TIMER, 500);
+        assertFalse (file.exists ());
+
+        release.countDown ();
+        waitFor (Lane.FILE, 0);
+
+        final List<String> lines = Files.readAllLines (file.toPath (), StandardCharsets.UTF_8);
+        assertEquals (100, lines.size ());
+        for (int i = 0; i < lines.size (); i++)
+            assertTrue (lines.get (i).endsWith ((i % 10 == 0 ? " ERROR " : " INFO  ") + "Message " + i), lines.get (i));
+    }
+
+
+    @Test
+    void testRotation () throws InterruptedException, ExecutionException, TimeoutException
+    {
+        final File file = this.folder.resolve ("rotate.log").toFile ();
+        final LogModel logModel = new LogModel ();
+        logModel.setLogFile (file);
+
+        final String message = "x".repeat (1000);
+        for (int i = 0; i < 3; i++)
+        {
+            // Less than the capacity of the buffer, otherwise messages are dropped, and less than
+            // half of the maximum file size
+            for (int j = 0; j < LogModel.CAPACITY / 4; j++)
+                logModel.info (message);
+            waitFor (Lane.TIMER, 500);
+            waitFor (Lane.FILE, 0);
+        }
+
+        assertTrue (new File (file.getPath () + ".1").exists ());
+        assertTrue (file.length () <= LogModel.MAX_FILE_SIZE);
+    }
+
+
+    /**
+     * Wait until the tasks which were scheduled on a lane before the given delay has passed have
+     * been executed. The lanes in this test have only one thread.
+     *
+     * @param lane The lane
+     * @param delay The delay in milliseconds
+     */
+    private static void waitFor (final Lane lane, final long delay) throws InterruptedException, ExecutionException, TimeoutException
+    {
+        TaskScheduler.getInstance ().schedule (lane, () -> {
+            // Intentionally empty
+        }, delay).get (5, TimeUnit.SECONDS);
+    }
+}